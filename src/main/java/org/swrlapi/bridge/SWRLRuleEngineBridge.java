@@ -2,6 +2,9 @@ package org.swrlapi.bridge;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.semanticweb.owlapi.model.OWLAxiom;
+import org.swrlapi.builtins.SWRLBuiltInArgumentBlock;
+import org.swrlapi.builtins.SWRLBuiltInArgumentPatternIterator;
+import org.swrlapi.builtins.SWRLBuiltInBatchResult;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
 import org.swrlapi.core.IRIResolver;
 import org.swrlapi.exceptions.SWRLBuiltInException;
@@ -58,6 +61,46 @@ public interface SWRLRuleEngineBridge
       @NonNull String builtInName, int builtInIndex, boolean isInConsequent,
       @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException;
 
+  /**
+   * This method can be used by a target rule engine to invoke built-ins and consume their argument bindings one at a
+   * time. Built-ins that bind an argument to many values do not have their bindings copied into a list; the iterator
+   * reuses a single argument list, so a binding must be copied if it is kept after the iterator is advanced.
+   *
+   * @param ruleName       The name of the invoking rule
+   * @param builtInName    The name of the built-in to invoke
+   * @param builtInIndex   The 0-based index of the built-in in the rule
+   * @param isInConsequent Is the built-in in the rule consequent
+   * @param arguments      The arguments to the built-in
+   * @return An iterator over the argument bindings; it has none if the built-in evaluates to false
+   * @throws SWRLBuiltInException If the parameters are invalid or an error occurs during invocation
+   */
+  @NonNull SWRLBuiltInArgumentPatternIterator invokeSWRLBuiltInLazily(@NonNull String ruleName,
+      @NonNull String builtInName, int builtInIndex, boolean isInConsequent,
+      @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException;
+
+  /**
+   * This method can be used by a target rule engine to invoke a built-in on a block of binding tuples at once rather
+   * than once per tuple. Bound arguments are supplied as columns with one value per tuple, or as constants; unbound
+   * variables are constants. Built-ins with a native batch kernel are evaluated for the whole block; the others are
+   * invoked one tuple at a time. By default every tuple is invoked on its own through
+   * {@link #invokeSWRLBuiltInLazily}.
+   *
+   * @param ruleName       The name of the invoking rule
+   * @param builtInName    The name of the built-in to invoke
+   * @param builtInIndex   The 0-based index of the built-in in the rule
+   * @param isInConsequent Is the built-in in the rule consequent
+   * @param block          The argument tuples
+   * @return The tuples for which the built-in evaluates to true and the values bound to its unbound arguments
+   * @throws SWRLBuiltInException If the parameters are invalid or an error occurs during invocation
+   */
+  @NonNull default SWRLBuiltInBatchResult invokeSWRLBuiltInBatch(@NonNull String ruleName,
+      @NonNull String builtInName, int builtInIndex, boolean isInConsequent, @NonNull SWRLBuiltInArgumentBlock block)
+      throws SWRLBuiltInException
+  {
+    return SWRLBuiltInBatchResult.invokePerTuple(block, getSWRLBuiltInArgumentFactory(),
+        arguments -> invokeSWRLBuiltInLazily(ruleName, builtInName, builtInIndex, isInConsequent, arguments));
+  }
+
   /**
    * A target rule engine can create OWL axioms using the OWL factory supplied by the bridge.
    *
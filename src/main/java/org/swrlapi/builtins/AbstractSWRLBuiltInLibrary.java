@@ -20,6 +20,7 @@ import org.swrlapi.builtins.arguments.SQWRLCollectionVariableBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLAnnotationPropertyBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgumentCreator;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgumentList;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgumentType;
 import org.swrlapi.builtins.arguments.SWRLBuiltInInputArgumentHandler;
 import org.swrlapi.builtins.arguments.SWRLBuiltInResultArgumentHandler;
@@ -28,6 +29,7 @@ import org.swrlapi.builtins.arguments.SWRLClassExpressionBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLDataPropertyBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLDataPropertyExpressionBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLDatatypeBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLListBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLLiteralBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLMultiValueVariableBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLNamedIndividualBuiltInArgument;
@@ -56,11 +58,13 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -81,6 +85,9 @@ public abstract class AbstractSWRLBuiltInLibrary
   implements SWRLBuiltInLibrary, SWRLBuiltInInputArgumentHandler, SWRLBuiltInResultArgumentHandler,
   SWRLBuiltInArgumentCreator
 {
+  // Invocation patterns beyond this number are spilled to disk
+  protected static final int MAXIMUM_IN_MEMORY_INVOCATION_PATTERNS = 100000;
+
   @NonNull private final String prefix;
   @NonNull private final String namespace;
   @NonNull private final Set<@NonNull String> builtInNames;
@@ -92,7 +99,7 @@ public abstract class AbstractSWRLBuiltInLibrary
   @Nullable private SWRLBuiltInBridge invokingBridge;
   @NonNull private String invokingRuleName = "";
   @NonNull private Long invocationPatternID;
-  @NonNull private Map<@NonNull String, @NonNull Long> invocationPatternMap;
+  @NonNull private final SWRLBuiltInInvocationPatternMap<@NonNull Long> invocationPatternMap;
 
   private int invokingBuiltInIndex = -1;
   private boolean isInConsequent = false;
@@ -105,7 +112,8 @@ public abstract class AbstractSWRLBuiltInLibrary
     this.namespace = namespace;
     this.builtInNames = new HashSet<>(builtInNames);
     this.invocationPatternID = 0L;
-    this.invocationPatternMap = new HashMap<>();
+    this.invocationPatternMap = new SWRLBuiltInInvocationPatternMap<>(MAXIMUM_IN_MEMORY_INVOCATION_PATTERNS,
+      String::valueOf, Long::valueOf);
   }
 
   @NonNull public String getPrefix()
@@ -196,12 +204,19 @@ public abstract class AbstractSWRLBuiltInLibrary
       reset();
 
       this.invocationPatternID = 0L;
-      this.invocationPatternMap = new HashMap<>();
+      this.invocationPatternMap.close();
 
       this.invokingBridge = null;
     }
   }
 
+  @Override public void close()
+  {
+    synchronized (this) {
+      this.invocationPatternMap.close();
+    }
+  }
+
   @Override public boolean invokeBuiltInMethod(@NonNull Method method, @NonNull SWRLBuiltInBridge bridge,
     @NonNull String ruleName, @NonNull String prefix, @NonNull String builtInMethodName, int builtInIndex,
     boolean inConsequent, @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
@@ -244,6 +259,52 @@ public abstract class AbstractSWRLBuiltInLibrary
     return result;
   }
 
+  @Override public boolean invokeBuiltInBatchKernel(@NonNull SWRLBuiltInBridge bridge, @NonNull String ruleName,
+    @NonNull String prefix, @NonNull String builtInMethodName, int builtInIndex, boolean inConsequent,
+    @NonNull SWRLBuiltInArgumentBlock block, @NonNull SWRLBuiltInBatchResult result, @NonNull BitSet fallbackTuples)
+    throws SWRLBuiltInException
+  {
+    Optional<@NonNull SWRLBuiltInBatchKernel> kernel = getBuiltInBatchKernel(builtInMethodName);
+    String builtInName = prefix + ":" + builtInMethodName;
+
+    if (!kernel.isPresent())
+      return false;
+
+    synchronized (this) { // Kernels share the invocation context of built-in methods
+      this.invokingBridge = bridge;
+      this.invokingRuleName = ruleName;
+      this.invokingBuiltInIndex = builtInIndex;
+      this.isInConsequent = inConsequent;
+
+      try {
+        kernel.get().evaluate(block, result, fallbackTuples);
+      } catch (SWRLBuiltInException e) {
+        throw new SWRLBuiltInException(
+          "exception thrown by built-in " + builtInName + " in rule " + ruleName + ": " + e.getMessage(), e);
+      } catch (RuntimeException e) {
+        throw new SWRLBuiltInMethodRuntimeException(ruleName, builtInName, e.getMessage(), e);
+      } finally {
+        this.invokingBridge = null;
+        this.invokingRuleName = "";
+        this.invokingBuiltInIndex = -1;
+        this.isInConsequent = false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Libraries override this method to evaluate some of their built-ins over a block of argument tuples at once. Tuples
+   * of built-ins without a kernel are invoked one at a time.
+   *
+   * @param builtInMethodName The built-in name fragment
+   * @return The batch kernel for the built-in, if any
+   */
+  @NonNull protected Optional<@NonNull SWRLBuiltInBatchKernel> getBuiltInBatchKernel(@NonNull String builtInMethodName)
+  {
+    return Optional.<@NonNull SWRLBuiltInBatchKernel>empty();
+  }
+
   // Argument handling methods
 
   @Override public void checkNumberOfArgumentsAtLeastOne(@NonNull List<@NonNull SWRLBuiltInArgument> arguments)
@@ -1448,8 +1509,8 @@ public abstract class AbstractSWRLBuiltInLibrary
   /**
    * Take an bound Argument object with types ClassArgument, PropertyArgument, IndividualArgument, or LiteralArgument
    * and return it as a property value representation. Class, property and individual arguments are represented by their
-   * IRIs; data value objects are represented by the appropriate Java type. Primitive XSD datatypes that do not have a
-   * corresponding Java type are not yet supported.
+   * IRIs; data value objects are represented by the appropriate Java type; list arguments are represented by their
+   * lists. Primitive XSD datatypes that do not have a corresponding Java type are not yet supported.
    */
   @Override public Object getArgumentAsAPropertyValue(int argumentNumber,
     @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
@@ -1490,6 +1551,9 @@ public abstract class AbstractSWRLBuiltInLibrary
       else
         throw new SWRLBuiltInException(
           "literal with value " + literal.toString() + " not supported - strings and numeric literals only");
+    } else if (argument instanceof SWRLListBuiltInArgument) {
+      SWRLListBuiltInArgument listArgument = (SWRLListBuiltInArgument)argument;
+      return listArgument.getList();
     } else
       throw new SWRLBuiltInException("argument " + argument + " of unknown type " + argument.getClass());
   }
@@ -1664,6 +1728,11 @@ public abstract class AbstractSWRLBuiltInLibrary
     return getSWRLBuiltInArgumentFactory().getClassExpressionBuiltInArgument(ce);
   }
 
+  @NonNull @Override public SWRLListBuiltInArgument createListBuiltInArgument(@NonNull SWRLBuiltInArgumentList list)
+  {
+    return getSWRLBuiltInArgumentFactory().getListBuiltInArgument(list);
+  }
+
   @NonNull @Override public SWRLNamedIndividualBuiltInArgument createNamedIndividualBuiltInArgument(
     OWLNamedIndividual individual)
   {
@@ -1977,6 +2046,9 @@ public abstract class AbstractSWRLBuiltInLibrary
         SWRLLiteralBuiltInArgument literalBuiltInArgument = (SWRLLiteralBuiltInArgument)argument;
         message += "literal with value " + literalBuiltInArgument.getLiteral().getLiteral() + " and type "
           + literalBuiltInArgument.getLiteral().getDatatype();
+      } else if (argument instanceof SWRLListBuiltInArgument) {
+        SWRLListBuiltInArgument listArgument = (SWRLListBuiltInArgument)argument;
+        message += "list of length " + listArgument.getList().size();
       } else
         message += "unknown type " + argument.getClass();
     }
@@ -1988,7 +2060,7 @@ public abstract class AbstractSWRLBuiltInLibrary
    * combination.
    *
    * @param bridge       The built-in bridge invoking the built-in
-   * @param ruleName     The prefix of the rule invoking the built-in
+   * @param ruleName     The name of the rule invoking the built-in
    * @param builtInIndex The 0-based index of the built-in in the rule
    * @param inConsequent Is the built-in in the rule consequent
    * @param arguments    The arguments to the built-in
@@ -1999,21 +2071,42 @@ public abstract class AbstractSWRLBuiltInLibrary
     int builtInIndex, boolean inConsequent, @NonNull List<@NonNull SWRLBuiltInArgument> arguments)
     throws SWRLBuiltInException
   {
-    String pattern = "" + bridge.hashCode() + "." + ruleName + "." + builtInIndex + "." + inConsequent;
-    String result;
-
-    for (int i = 0; i < arguments.size(); i++)
-      pattern += "." + getArgumentAsAPropertyValue(i, arguments);
+    SWRLBuiltInInvocationPattern pattern = createSWRLBuiltInInvocationPattern(bridge, ruleName, builtInIndex,
+      inConsequent, arguments);
+    Optional<@NonNull Long> patternID = this.invocationPatternMap.get(pattern);
 
-    if (this.invocationPatternMap.containsKey(pattern))
-      result = this.invocationPatternMap.get(pattern).toString();
+    if (patternID.isPresent())
+      return patternID.get().toString();
     else {
-      this.invocationPatternMap.put(pattern, this.invocationPatternID);
-      result = this.invocationPatternID.toString();
-      this.invocationPatternID++;
+      long newPatternID = this.invocationPatternID++;
+      this.invocationPatternMap.put(pattern, newPatternID);
+      return Long.toString(newPatternID);
     }
+  }
 
-    return result;
+  /**
+   * Create a structural key that represents an invocation pattern for a built-in for a bridge/rule/built-in/arguments
+   * combination. Unlike {@link #createInvocationPattern(SWRLBuiltInBridge, String, int, boolean, List)} no string is
+   * built; equal invocations produce equal keys.
+   *
+   * @param bridge       The built-in bridge invoking the built-in
+   * @param ruleName     The name of the rule invoking the built-in
+   * @param builtInIndex The 0-based index of the built-in in the rule
+   * @param inConsequent Is the built-in in the rule consequent
+   * @param arguments    The arguments to the built-in
+   * @return A key for the invocation
+   * @throws SWRLBuiltInException If the parameters are invalid
+   */
+  @NonNull protected SWRLBuiltInInvocationPattern createSWRLBuiltInInvocationPattern(@NonNull SWRLBuiltInBridge bridge,
+    @NonNull String ruleName, int builtInIndex, boolean inConsequent,
+    @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
+  {
+    Object[] argumentValues = new Object[arguments.size()];
+
+    for (int i = 0; i < arguments.size(); i++)
+      argumentValues[i] = getArgumentAsAPropertyValue(i, arguments);
+
+    return new SWRLBuiltInInvocationPattern(bridge, ruleName, builtInIndex, inConsequent, argumentValues);
   }
 
   @NonNull @Override public SWRLLiteralBuiltInArgument createLeastNarrowNumericLiteralBuiltInArgument(double value,
@@ -0,0 +1,44 @@
+package org.swrlapi.builtins;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares that a built-in method computes its result from its bound arguments alone, so that the
+ * {@link org.swrlapi.builtins.SWRLBuiltInLibraryManager} may reuse the result of an earlier invocation with the same
+ * arguments instead of invoking the method again.
+ * <p>
+ * A deterministic built-in must not have side effects, such as creating OWL entities or adding to SQWRL collections,
+ * and must bind its unbound arguments the same way each time it is invoked with the same bound arguments. Built-ins
+ * whose result also depends on the ontology or on state set when their library is reset say so with
+ * {@link #validity()}.
+ *
+ * @see org.swrlapi.builtins.SWRLBuiltInLibraryManager#invokeSWRLBuiltIn
+ */
+@Documented @Retention(RetentionPolicy.RUNTIME) @Target(ElementType.METHOD) public @interface DeterministicSWRLBuiltIn
+{
+  /**
+   * @return How long a result of the built-in remains valid
+   */
+  Validity validity() default Validity.ALWAYS;
+
+  enum Validity
+  {
+    /**
+     * The result depends on the bound arguments only
+     */
+    ALWAYS,
+    /**
+     * The result also depends on the ontology, and is valid until the ontology or one of its imports changes
+     */
+    UNTIL_ONTOLOGY_CHANGE,
+    /**
+     * The result also depends on library state, and is valid until the library is reset; libraries are reset before
+     * each run of the rule engine, so ontology changes are also covered
+     */
+    UNTIL_LIBRARY_RESET
+  }
+}
@@ -0,0 +1,174 @@
+package org.swrlapi.builtins;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.IRI;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLLiteralBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLVariableBuiltInArgument;
+import org.swrlapi.factory.SWRLBuiltInArgumentFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A columnar block of argument tuples for a single built-in atom, passed to
+ * {@link SWRLBuiltInLibraryManager#invokeSWRLBuiltInBatch}. Each argument of the atom is either a column holding one
+ * bound value per tuple or a constant shared by every tuple. Unbound variables are always constants; the values bound
+ * to them are returned per tuple in a {@link SWRLBuiltInBatchResult}.
+ * <p>
+ * Arguments are added in order, so the <code>i</code>th call to {@link #addColumn} or {@link #addConstant} supplies
+ * argument <code>i</code> of the built-in.
+ *
+ * @see SWRLBuiltInBatchKernel
+ */
+public final class SWRLBuiltInArgumentBlock
+{
+  private final int numberOfTuples;
+  @NonNull private final List<@NonNull SWRLBuiltInArgument @NonNull []> columns = new ArrayList<>();
+  @NonNull private final List<@NonNull Boolean> isConstant = new ArrayList<>();
+
+  public SWRLBuiltInArgumentBlock(int numberOfTuples)
+  {
+    if (numberOfTuples < 0)
+      throw new IllegalArgumentException("negative number of tuples " + numberOfTuples);
+
+    this.numberOfTuples = numberOfTuples;
+  }
+
+  /**
+   * @param values The bound value of the next argument for each tuple
+   */
+  public void addColumn(@NonNull SWRLBuiltInArgument @NonNull [] values)
+  {
+    if (values.length != this.numberOfTuples)
+      throw new IllegalArgumentException(
+        "expecting " + this.numberOfTuples + " values for argument #" + this.columns.size() + ", got "
+          + values.length);
+
+    for (SWRLBuiltInArgument value : values)
+      if (isUnboundVariable(value))
+        throw new IllegalArgumentException(
+          "unbound variable in column for argument #" + this.columns.size() + "; unbound variables must be constants");
+
+    this.columns.add(values);
+    this.isConstant.add(false);
+  }
+
+  /**
+   * @param argument The next argument, shared by every tuple; may be an unbound variable
+   */
+  public void addConstant(@NonNull SWRLBuiltInArgument argument)
+  {
+    this.columns.add(new SWRLBuiltInArgument[] { argument });
+    this.isConstant.add(true);
+  }
+
+  public int getNumberOfTuples()
+  {
+    return this.numberOfTuples;
+  }
+
+  public int getNumberOfArguments()
+  {
+    return this.columns.size();
+  }
+
+  public boolean isConstant(int argumentIndex)
+  {
+    return this.isConstant.get(argumentIndex);
+  }
+
+  public boolean isUnbound(int argumentIndex)
+  {
+    return isConstant(argumentIndex) && isUnboundVariable(this.columns.get(argumentIndex)[0]);
+  }
+
+  @NonNull public SWRLBuiltInArgument getArgument(int argumentIndex, int tupleIndex)
+  {
+    SWRLBuiltInArgument[] column = this.columns.get(argumentIndex);
+
+    return isConstant(argumentIndex) ? column[0] : column[tupleIndex];
+  }
+
+  /**
+   * @return The indexes of the unbound arguments, in ascending order
+   */
+  @NonNull public int[] getUnboundArgumentIndexes()
+  {
+    int numberOfUnboundArguments = 0;
+
+    for (int argumentIndex = 0; argumentIndex < getNumberOfArguments(); argumentIndex++)
+      if (isUnbound(argumentIndex))
+        numberOfUnboundArguments++;
+
+    int[] unboundArgumentIndexes = new int[numberOfUnboundArguments];
+
+    for (int argumentIndex = 0, i = 0; argumentIndex < getNumberOfArguments(); argumentIndex++)
+      if (isUnbound(argumentIndex))
+        unboundArgumentIndexes[i++] = argumentIndex;
+
+    return unboundArgumentIndexes;
+  }
+
+  /**
+   * Batch kernels use this method to dispatch on datatype once per column rather than once per tuple.
+   *
+   * @param argumentIndex The argument index
+   * @return The datatype of the argument if it is a literal of the same datatype in every tuple
+   */
+  @NonNull public Optional<@NonNull IRI> getLiteralDatatype(int argumentIndex)
+  {
+    SWRLBuiltInArgument[] column = this.columns.get(argumentIndex);
+
+    if (column.length == 0 || !(column[0] instanceof SWRLLiteralBuiltInArgument))
+      return Optional.<@NonNull IRI>empty();
+
+    IRI datatypeIRI = ((SWRLLiteralBuiltInArgument)column[0]).getLiteral().getDatatype().getIRI();
+
+    for (int i = 1; i < column.length; i++)
+      if (!(column[i] instanceof SWRLLiteralBuiltInArgument) || !datatypeIRI
+        .equals(((SWRLLiteralBuiltInArgument)column[i]).getLiteral().getDatatype().getIRI()))
+        return Optional.<@NonNull IRI>empty();
+
+    return Optional.of(datatypeIRI);
+  }
+
+  /**
+   * @param argumentIndex The argument index
+   * @return True if the argument is a literal in every tuple
+   */
+  public boolean isLiteral(int argumentIndex)
+  {
+    for (SWRLBuiltInArgument argument : this.columns.get(argumentIndex))
+      if (!(argument instanceof SWRLLiteralBuiltInArgument))
+        return false;
+
+    return true;
+  }
+
+  /**
+   * Create the argument list of a tuple for invocation of the built-in method. Each unbound variable is copied because
+   * the invoked built-in attaches its result to the variable.
+   */
+  @NonNull List<@NonNull SWRLBuiltInArgument> createTuple(int tupleIndex,
+    @NonNull SWRLBuiltInArgumentFactory argumentFactory)
+  {
+    List<@NonNull SWRLBuiltInArgument> tuple = new ArrayList<>(getNumberOfArguments());
+
+    for (int argumentIndex = 0; argumentIndex < getNumberOfArguments(); argumentIndex++) {
+      SWRLBuiltInArgument argument = getArgument(argumentIndex, tupleIndex);
+
+      if (isUnboundVariable(argument))
+        tuple.add(argumentFactory.getUnboundVariableBuiltInArgument(((SWRLVariableBuiltInArgument)argument).getIRI()));
+      else
+        tuple.add(argument);
+    }
+    return tuple;
+  }
+
+  private static boolean isUnboundVariable(@NonNull SWRLBuiltInArgument argument)
+  {
+    return argument instanceof SWRLVariableBuiltInArgument && ((SWRLVariableBuiltInArgument)argument).isUnbound();
+  }
+}
@@ -0,0 +1,132 @@
+package org.swrlapi.builtins;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLMultiValueVariableBuiltInArgument;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A pull-based iterator over the argument patterns of a satisfied built-in invocation. There is one pattern for each
+ * combination of argument values for which the built-in evaluated to true.
+ * <p>
+ * The values of multi-value arguments are not expanded up front. Each call to {@link #next()} writes the next value of
+ * each multi-value argument into a single reused buffer, so iterating holds one pattern of the arity of the built-in
+ * at a time. The pattern returned by {@link #getArgumentPattern()} is only valid until the following call to
+ * {@link #next()}; callers that keep a pattern must copy it.
+ * <p>
+ * Duplicate patterns, which arise when a multi-value argument holds the same value more than once, are skipped. The
+ * values already seen are only recorded once a second pattern is requested, so single-pattern invocations do no
+ * deduplication.
+ *
+ * @see SWRLBuiltInLibraryManager#invokeSWRLBuiltInLazily
+ */
+public final class SWRLBuiltInArgumentPatternIterator
+{
+  private static final SWRLBuiltInArgumentPatternIterator EMPTY = new SWRLBuiltInArgumentPatternIterator(
+    Collections.<@NonNull SWRLBuiltInArgument>emptyList(), new int[0], 0);
+
+  @NonNull private final List<@NonNull SWRLBuiltInArgument> argumentPattern;
+  @NonNull private final int[] multiValueArgumentIndexes;
+  @NonNull private final List<@NonNull List<@NonNull SWRLBuiltInArgument>> multiValueArgumentValues;
+  private final int numberOfPatterns;
+  private int nextPatternIndex = 0;
+  @Nullable private Set<@NonNull Object> seenPatterns; // Created when a second pattern is requested
+
+  SWRLBuiltInArgumentPatternIterator(@NonNull List<@NonNull SWRLBuiltInArgument> arguments,
+    @NonNull int[] multiValueArgumentIndexes, int numberOfPatterns)
+  {
+    this.argumentPattern = new ArrayList<>(arguments);
+    this.multiValueArgumentIndexes = multiValueArgumentIndexes;
+    this.multiValueArgumentValues = new ArrayList<>(multiValueArgumentIndexes.length);
+    this.numberOfPatterns = numberOfPatterns;
+
+    for (int multiValueArgumentIndex : multiValueArgumentIndexes)
+      this.multiValueArgumentValues
+        .add(((SWRLMultiValueVariableBuiltInArgument)arguments.get(multiValueArgumentIndex)).getArguments());
+  }
+
+  /**
+   * @return An iterator for a built-in that evaluated to false
+   */
+  @NonNull public static SWRLBuiltInArgumentPatternIterator empty()
+  {
+    return EMPTY;
+  }
+
+  /**
+   * Advance to the next argument pattern.
+   *
+   * @return False if there are no more patterns
+   */
+  public boolean next()
+  {
+    while (this.nextPatternIndex < this.numberOfPatterns) {
+      int patternIndex = this.nextPatternIndex++;
+
+      for (int i = 0; i < this.multiValueArgumentIndexes.length; i++)
+        this.argumentPattern
+          .set(this.multiValueArgumentIndexes[i], this.multiValueArgumentValues.get(i).get(patternIndex));
+
+      if (isFirstOccurrence(patternIndex))
+        return true;
+    }
+    return false;
+  }
+
+  /**
+   * @return The current argument pattern, which is overwritten by the next call to {@link #next()}
+   */
+  @NonNull public List<@NonNull SWRLBuiltInArgument> getArgumentPattern()
+  {
+    return this.argumentPattern;
+  }
+
+  /**
+   * Copy the remaining patterns into a list. This undoes the memory savings of iterating, and is intended for callers
+   * that need all patterns at once.
+   *
+   * @return The remaining argument patterns
+   */
+  @NonNull public List<@NonNull List<@NonNull SWRLBuiltInArgument>> toList()
+  {
+    List<@NonNull List<@NonNull SWRLBuiltInArgument>> argumentPatterns = new ArrayList<>();
+
+    while (next())
+      argumentPatterns.add(new ArrayList<>(this.argumentPattern));
+
+    return argumentPatterns;
+  }
+
+  private boolean isFirstOccurrence(int patternIndex)
+  {
+    if (patternIndex == 0)
+      return true;
+
+    if (this.seenPatterns == null) {
+      this.seenPatterns = new HashSet<>();
+      this.seenPatterns.add(getMultiValues(0));
+    }
+    return this.seenPatterns.add(getMultiValues(patternIndex));
+  }
+
+  @NonNull private Object getMultiValues(int patternIndex)
+  {
+    if (this.multiValueArgumentIndexes.length == 1)
+      return this.multiValueArgumentValues.get(0).get(patternIndex);
+    else {
+      Object[] values = new Object[this.multiValueArgumentIndexes.length];
+
+      for (int i = 0; i < values.length; i++)
+        values[i] = this.multiValueArgumentValues.get(i).get(patternIndex);
+
+      return Arrays.asList(values);
+    }
+  }
+}
@@ -0,0 +1,29 @@
+package org.swrlapi.builtins;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.swrlapi.exceptions.SWRLBuiltInException;
+
+import java.util.BitSet;
+
+/**
+ * A native implementation of a built-in over a block of argument tuples. Built-in libraries supply kernels by
+ * overriding {@link AbstractSWRLBuiltInLibrary#getBuiltInBatchKernel}.
+ * <p>
+ * A kernel checks the arguments and dispatches on their datatypes once per block. It need not handle every tuple: the
+ * tuples it marks in <code>fallbackTuples</code> are invoked one at a time through the built-in method, which reports
+ * invalid arguments in the usual way. A kernel should therefore only evaluate tuples for which its result is identical
+ * to that of the built-in method.
+ *
+ * @see SWRLBuiltInLibraryManager#invokeSWRLBuiltInBatch
+ */
+public interface SWRLBuiltInBatchKernel
+{
+  /**
+   * @param block          The argument tuples
+   * @param result         The result to which a row is added for each evaluated tuple that satisfies the built-in
+   * @param fallbackTuples The tuples not evaluated by the kernel
+   * @throws SWRLBuiltInException If an error occurs during evaluation
+   */
+  void evaluate(@NonNull SWRLBuiltInArgumentBlock block, @NonNull SWRLBuiltInBatchResult result,
+    @NonNull BitSet fallbackTuples) throws SWRLBuiltInException;
+}
@@ -0,0 +1,219 @@
+package org.swrlapi.builtins;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.exceptions.SWRLBuiltInException;
+import org.swrlapi.factory.SWRLBuiltInArgumentFactory;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * The result of invoking a built-in on a {@link SWRLBuiltInArgumentBlock}. The selection holds the tuples for which the
+ * built-in evaluated to true. Each selected tuple has one or more rows, one for each combination of values bound to the
+ * unbound arguments of the block; a tuple has more than one row if the built-in binds an argument to many values.
+ * Output values are stored in columns, one for each unbound argument.
+ * <p>
+ * Rows are ordered by tuple.
+ *
+ * @see SWRLBuiltInLibraryManager#invokeSWRLBuiltInBatch
+ */
+public final class SWRLBuiltInBatchResult
+{
+  private static final int INITIAL_CAPACITY = 16;
+
+  @NonNull private final int[] outputArgumentIndexes;
+  @NonNull private final BitSet selection;
+  @NonNull private int[] rowTupleIndexes;
+  @NonNull private SWRLBuiltInArgument @NonNull [] @NonNull [] outputColumns;
+  private int numberOfRows = 0;
+
+  SWRLBuiltInBatchResult(int numberOfTuples, @NonNull int[] outputArgumentIndexes)
+  {
+    int initialCapacity = Math.max(1, Math.min(numberOfTuples, INITIAL_CAPACITY));
+
+    this.outputArgumentIndexes = outputArgumentIndexes;
+    this.selection = new BitSet(numberOfTuples);
+    this.rowTupleIndexes = new int[initialCapacity];
+    this.outputColumns = new SWRLBuiltInArgument[outputArgumentIndexes.length][initialCapacity];
+  }
+
+  /**
+   * Invoke a built-in on each tuple of a block in turn. Used where a block must be evaluated without batch kernels.
+   *
+   * @param block           The argument tuples
+   * @param argumentFactory The factory used to copy the unbound variables of each tuple
+   * @param invoker         Invokes the built-in on the arguments of a single tuple
+   * @return The tuples that satisfy the built-in and the values bound to its unbound arguments
+   * @throws SWRLBuiltInException If an exception occurs during invocation
+   */
+  @NonNull public static SWRLBuiltInBatchResult invokePerTuple(@NonNull SWRLBuiltInArgumentBlock block,
+    @NonNull SWRLBuiltInArgumentFactory argumentFactory, @NonNull TupleInvoker invoker) throws SWRLBuiltInException
+  {
+    int numberOfTuples = block.getNumberOfTuples();
+    SWRLBuiltInBatchResult result = new SWRLBuiltInBatchResult(numberOfTuples, block.getUnboundArgumentIndexes());
+    BitSet tuples = new BitSet(numberOfTuples);
+
+    tuples.set(0, numberOfTuples);
+    result.addTupleRows(block, tuples, argumentFactory, invoker);
+
+    return result;
+  }
+
+  /**
+   * @return The tuples for which the built-in evaluated to true
+   */
+  @NonNull public BitSet getSelection()
+  {
+    return this.selection;
+  }
+
+  /**
+   * @return The indexes of the arguments that have a value in each row, in ascending order
+   */
+  @NonNull public int[] getOutputArgumentIndexes()
+  {
+    return this.outputArgumentIndexes.clone();
+  }
+
+  public int getNumberOfRows()
+  {
+    return this.numberOfRows;
+  }
+
+  public int getTupleIndex(int row)
+  {
+    checkRow(row);
+
+    return this.rowTupleIndexes[row];
+  }
+
+  /**
+   * @param row           The row
+   * @param argumentIndex The index of an unbound argument of the block
+   * @return The value bound to the argument in the row
+   */
+  @NonNull public SWRLBuiltInArgument getOutputArgument(int row, int argumentIndex)
+  {
+    checkRow(row);
+
+    int outputIndex = Arrays.binarySearch(this.outputArgumentIndexes, argumentIndex);
+
+    if (outputIndex < 0)
+      throw new IllegalArgumentException("argument #" + argumentIndex + " is not an unbound argument of the block");
+
+    return this.outputColumns[outputIndex][row];
+  }
+
+  /**
+   * Record that the built-in evaluated to true for a tuple. Called by batch kernels, which must add the rows of each
+   * tuple together and in tuple order.
+   *
+   * @param tupleIndex      The tuple
+   * @param outputArguments The values bound to the unbound arguments of the block, in argument order
+   */
+  public void addRow(int tupleIndex, @NonNull SWRLBuiltInArgument... outputArguments)
+  {
+    if (outputArguments.length != this.outputArgumentIndexes.length)
+      throw new IllegalArgumentException(
+        "expecting " + this.outputArgumentIndexes.length + " output arguments, got " + outputArguments.length);
+
+    int row = allocateRow(tupleIndex);
+
+    for (int outputIndex = 0; outputIndex < outputArguments.length; outputIndex++)
+      this.outputColumns[outputIndex][row] = outputArguments[outputIndex];
+  }
+
+  /**
+   * Invoke a built-in on some tuples of a block one at a time, recording the argument patterns it returns.
+   */
+  void addTupleRows(@NonNull SWRLBuiltInArgumentBlock block, @NonNull BitSet tuples,
+    @NonNull SWRLBuiltInArgumentFactory argumentFactory, @NonNull TupleInvoker invoker) throws SWRLBuiltInException
+  {
+    for (int tupleIndex = tuples.nextSetBit(0); tupleIndex >= 0; tupleIndex = tuples.nextSetBit(tupleIndex + 1)) {
+      SWRLBuiltInArgumentPatternIterator argumentPatterns = invoker
+        .invoke(block.createTuple(tupleIndex, argumentFactory));
+
+      while (argumentPatterns.next())
+        addArgumentPattern(tupleIndex, argumentPatterns.getArgumentPattern());
+    }
+  }
+
+  /**
+   * Record an argument pattern returned by the built-in method for a tuple.
+   */
+  private void addArgumentPattern(int tupleIndex, @NonNull List<@NonNull SWRLBuiltInArgument> argumentPattern)
+  {
+    int row = allocateRow(tupleIndex);
+
+    for (int outputIndex = 0; outputIndex < this.outputArgumentIndexes.length; outputIndex++)
+      this.outputColumns[outputIndex][row] = argumentPattern.get(this.outputArgumentIndexes[outputIndex]);
+  }
+
+  /**
+   * Restore tuple order after rows from a batch kernel and from per-tuple invocation have been interleaved. The sort is
+   * stable so the rows of a tuple keep their order.
+   */
+  void sortRowsByTuple()
+  {
+    int maximumTupleIndex = -1;
+
+    for (int row = 0; row < this.numberOfRows; row++)
+      maximumTupleIndex = Math.max(maximumTupleIndex, this.rowTupleIndexes[row]);
+
+    int[] rowOffsets = new int[maximumTupleIndex + 2]; // Counting sort on tuple index
+
+    for (int row = 0; row < this.numberOfRows; row++)
+      rowOffsets[this.rowTupleIndexes[row] + 1]++;
+
+    for (int i = 1; i < rowOffsets.length; i++)
+      rowOffsets[i] += rowOffsets[i - 1];
+
+    int[] sortedRowTupleIndexes = new int[this.rowTupleIndexes.length];
+    SWRLBuiltInArgument[][] sortedOutputColumns = new SWRLBuiltInArgument[this.outputColumns.length][];
+
+    for (int outputIndex = 0; outputIndex < this.outputColumns.length; outputIndex++)
+      sortedOutputColumns[outputIndex] = new SWRLBuiltInArgument[this.rowTupleIndexes.length];
+
+    for (int row = 0; row < this.numberOfRows; row++) {
+      int sortedRow = rowOffsets[this.rowTupleIndexes[row]]++;
+
+      sortedRowTupleIndexes[sortedRow] = this.rowTupleIndexes[row];
+      for (int outputIndex = 0; outputIndex < this.outputColumns.length; outputIndex++)
+        sortedOutputColumns[outputIndex][sortedRow] = this.outputColumns[outputIndex][row];
+    }
+    this.rowTupleIndexes = sortedRowTupleIndexes;
+    this.outputColumns = sortedOutputColumns;
+  }
+
+  private int allocateRow(int tupleIndex)
+  {
+    if (this.numberOfRows == this.rowTupleIndexes.length) {
+      int capacity = this.rowTupleIndexes.length * 2;
+
+      this.rowTupleIndexes = Arrays.copyOf(this.rowTupleIndexes, capacity);
+      for (int outputIndex = 0; outputIndex < this.outputColumns.length; outputIndex++)
+        this.outputColumns[outputIndex] = Arrays.copyOf(this.outputColumns[outputIndex], capacity);
+    }
+    this.selection.set(tupleIndex);
+    this.rowTupleIndexes[this.numberOfRows] = tupleIndex;
+
+    return this.numberOfRows++;
+  }
+
+  private void checkRow(int row)
+  {
+    if (row < 0 || row >= this.numberOfRows)
+      throw new IndexOutOfBoundsException("row " + row + " of " + this.numberOfRows);
+  }
+
+  /**
+   * Invokes a built-in on the arguments of a single tuple.
+   */
+  @FunctionalInterface public interface TupleInvoker
+  {
+    @NonNull SWRLBuiltInArgumentPatternIterator invoke(@NonNull List<@NonNull SWRLBuiltInArgument> arguments)
+      throws SWRLBuiltInException;
+  }
+}
@@ -0,0 +1,113 @@
+package org.swrlapi.builtins;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.dataflow.qual.Deterministic;
+import org.checkerframework.dataflow.qual.SideEffectFree;
+
+import java.util.Arrays;
+
+/**
+ * A structural key identifying a built-in invocation: the invoking bridge, rule, built-in position and the values of
+ * the built-in's arguments. Argument values are those produced by
+ * {@link AbstractSWRLBuiltInLibrary#getArgumentAsAPropertyValue(int, java.util.List)}, so named arguments are
+ * represented by their IRI and literals by their Java value.
+ * <p>
+ * The hash code is computed once on creation. Bridges are compared by identity.
+ *
+ * @see AbstractSWRLBuiltInLibrary#createSWRLBuiltInInvocationPattern(SWRLBuiltInBridge, String, int, boolean,
+ * java.util.List)
+ * @see SWRLBuiltInInvocationPatternMap
+ */
+public final class SWRLBuiltInInvocationPattern
+{
+  @NonNull private final SWRLBuiltInBridge bridge;
+  @NonNull private final String ruleName;
+  private final int builtInIndex;
+  private final boolean inConsequent;
+  @NonNull private final Object[] argumentValues;
+  private final int hashCode;
+
+  public SWRLBuiltInInvocationPattern(@NonNull SWRLBuiltInBridge bridge, @NonNull String ruleName, int builtInIndex,
+    boolean inConsequent, @NonNull Object @NonNull ... argumentValues)
+  {
+    this.bridge = bridge;
+    this.ruleName = ruleName;
+    this.builtInIndex = builtInIndex;
+    this.inConsequent = inConsequent;
+    this.argumentValues = argumentValues.clone();
+    this.hashCode = computeHashCode();
+  }
+
+  @NonNull public SWRLBuiltInBridge getBridge()
+  {
+    return this.bridge;
+  }
+
+  @NonNull public String getRuleName()
+  {
+    return this.ruleName;
+  }
+
+  public int getBuiltInIndex()
+  {
+    return this.builtInIndex;
+  }
+
+  public boolean isInConsequent()
+  {
+    return this.inConsequent;
+  }
+
+  public int getNumberOfArgumentValues()
+  {
+    return this.argumentValues.length;
+  }
+
+  @NonNull public Object getArgumentValue(int argumentNumber)
+  {
+    return this.argumentValues[argumentNumber];
+  }
+
+  @SideEffectFree @Deterministic @Override public boolean equals(@Nullable Object o)
+  {
+    if (this == o)
+      return true;
+    if (o == null || getClass() != o.getClass())
+      return false;
+
+    SWRLBuiltInInvocationPattern that = (SWRLBuiltInInvocationPattern)o;
+
+    return this.hashCode == that.hashCode && this.bridge == that.bridge && this.builtInIndex == that.builtInIndex
+      && this.inConsequent == that.inConsequent && this.ruleName.equals(that.ruleName) && Arrays
+      .equals(this.argumentValues, that.argumentValues);
+  }
+
+  @SideEffectFree @Deterministic @Override public int hashCode()
+  {
+    return this.hashCode;
+  }
+
+  @NonNull @SideEffectFree @Override public String toString()
+  {
+    StringBuilder sb = new StringBuilder();
+
+    sb.append(System.identityHashCode(this.bridge)).append('.').append(this.ruleName).append('.')
+      .append(this.builtInIndex).append('.').append(this.inConsequent);
+    for (Object argumentValue : this.argumentValues)
+      sb.append('.').append(argumentValue);
+
+    return sb.toString();
+  }
+
+  private int computeHashCode()
+  {
+    int code = System.identityHashCode(this.bridge);
+    code = 31 * code + this.ruleName.hashCode();
+    code = 31 * code + this.builtInIndex;
+    code = 31 * code + (this.inConsequent ? 1 : 0);
+    code = 31 * code + Arrays.hashCode(this.argumentValues);
+
+    return code;
+  }
+}
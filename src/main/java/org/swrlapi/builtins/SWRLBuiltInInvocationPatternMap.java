@@ -0,0 +1,323 @@
+package org.swrlapi.builtins;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.swrlapi.exceptions.SWRLBuiltInLibraryException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * A memory-bounded map from built-in invocation patterns to values computed for them. Built-ins such as
+ * <code>swrlx:makeOWLIndividual</code> use it to return the same entity IRI for repeated invocations with the same
+ * arguments, and built-in libraries use it to number invocation patterns.
+ * <p>
+ * At most a fixed number of patterns are held in memory. When that number is exceeded the least recently used pattern
+ * is appended to a temporary spill file, and only its hash and file offset are kept in memory. Lookups check memory
+ * first and then the spill file, where values are stored in their string form. The spill file is created on first use
+ * and deleted when the map is closed or the JVM exits; a closed map may be used again.
+ * <p>
+ * Instances are not thread safe; each built-in library owns its maps and is invoked by one bridge at a time.
+ *
+ * @see SWRLBuiltInInvocationPattern
+ */
+public final class SWRLBuiltInInvocationPatternMap<V> implements AutoCloseable
+{
+  private static final int INITIAL_INDEX_CAPACITY = 1024;
+
+  private final int maximumInMemoryPatterns;
+  @NonNull private final Function<@NonNull V, @NonNull String> valueEncoder;
+  @NonNull private final Function<@NonNull String, @NonNull V> valueDecoder;
+  @NonNull private final LinkedHashMap<@NonNull SWRLBuiltInInvocationPattern, @NonNull V> inMemoryPatterns;
+  @NonNull private final Map<@NonNull SWRLBuiltInBridge, @NonNull Integer> bridgeIDs;
+
+  // Open-addressed index of spilled patterns: pattern hash and spill file offset plus one (zero marks a free slot)
+  @NonNull private int[] spilledHashes;
+  @NonNull private long[] spilledOffsets;
+  private int numberOfSpilledPatterns;
+
+  @Nullable private Path spillFile;
+  @Nullable private FileChannel spillChannel;
+  private long spillFileSize;
+
+  /**
+   * @param maximumInMemoryPatterns The number of patterns held in memory before patterns are spilled
+   * @param valueEncoder            Converts a value to the string form stored in the spill file
+   * @param valueDecoder            Converts the stored string form back to a value
+   */
+  public SWRLBuiltInInvocationPatternMap(int maximumInMemoryPatterns,
+    @NonNull Function<@NonNull V, @NonNull String> valueEncoder,
+    @NonNull Function<@NonNull String, @NonNull V> valueDecoder)
+  {
+    if (maximumInMemoryPatterns < 1)
+      throw new IllegalArgumentException("maximum number of in-memory patterns must be positive");
+
+    this.maximumInMemoryPatterns = maximumInMemoryPatterns;
+    this.valueEncoder = valueEncoder;
+    this.valueDecoder = valueDecoder;
+    this.inMemoryPatterns = new LinkedHashMap<@NonNull SWRLBuiltInInvocationPattern, @NonNull V>(16, 0.75f, true)
+    {
+      private static final long serialVersionUID = 1L;
+
+      @Override protected boolean removeEldestEntry(Map.Entry<SWRLBuiltInInvocationPattern, V> eldest)
+      {
+        if (size() > SWRLBuiltInInvocationPatternMap.this.maximumInMemoryPatterns) {
+          spill(eldest.getKey(), eldest.getValue());
+          return true;
+        } else
+          return false;
+      }
+    };
+    this.bridgeIDs = new IdentityHashMap<>();
+    this.spilledHashes = new int[INITIAL_INDEX_CAPACITY];
+    this.spilledOffsets = new long[INITIAL_INDEX_CAPACITY];
+  }
+
+  @NonNull public Optional<@NonNull V> get(@NonNull SWRLBuiltInInvocationPattern pattern)
+  {
+    V value = this.inMemoryPatterns.get(pattern);
+
+    if (value != null)
+      return Optional.of(value);
+    else if (this.numberOfSpilledPatterns == 0)
+      return Optional.<@NonNull V>empty();
+    else
+      return getSpilled(pattern);
+  }
+
+  /**
+   * Callers are expected to have checked that the pattern is absent with {@link #get(SWRLBuiltInInvocationPattern)}.
+   */
+  public void put(@NonNull SWRLBuiltInInvocationPattern pattern, @NonNull V value)
+  {
+    this.inMemoryPatterns.put(pattern, value);
+  }
+
+  public int size()
+  {
+    return this.inMemoryPatterns.size() + this.numberOfSpilledPatterns;
+  }
+
+  public int getNumberOfSpilledPatterns()
+  {
+    return this.numberOfSpilledPatterns;
+  }
+
+  public void clear()
+  {
+    this.inMemoryPatterns.clear();
+    this.bridgeIDs.clear();
+    this.spilledHashes = new int[INITIAL_INDEX_CAPACITY];
+    this.spilledOffsets = new long[INITIAL_INDEX_CAPACITY];
+    this.numberOfSpilledPatterns = 0;
+    this.spillFileSize = 0;
+
+    try {
+      if (this.spillChannel != null)
+        this.spillChannel.truncate(0);
+    } catch (IOException e) {
+      throw new SWRLBuiltInLibraryException("error truncating invocation pattern spill file " + this.spillFile, e);
+    }
+  }
+
+  /**
+   * Clear the map, close the spill file and delete it.
+   */
+  @Override public void close()
+  {
+    clear();
+
+    try {
+      if (this.spillChannel != null)
+        this.spillChannel.close();
+      if (this.spillFile != null)
+        Files.deleteIfExists(this.spillFile);
+    } catch (IOException e) {
+      throw new SWRLBuiltInLibraryException("error closing invocation pattern spill file " + this.spillFile, e);
+    } finally {
+      this.spillChannel = null;
+      this.spillFile = null;
+    }
+  }
+
+  private void spill(@NonNull SWRLBuiltInInvocationPattern pattern, @NonNull V value)
+  {
+    byte[] encodedPattern = encode(pattern);
+    byte[] encodedValue = this.valueEncoder.apply(value).getBytes(StandardCharsets.UTF_8);
+    ByteBuffer record = ByteBuffer.allocate(8 + encodedPattern.length + encodedValue.length);
+
+    record.putInt(encodedPattern.length).put(encodedPattern).putInt(encodedValue.length).put(encodedValue).flip();
+
+    try {
+      FileChannel channel = getSpillChannel();
+      long offset = this.spillFileSize;
+
+      while (record.hasRemaining())
+        this.spillFileSize += channel.write(record, this.spillFileSize);
+
+      addToIndex(pattern.hashCode(), offset);
+    } catch (IOException e) {
+      throw new SWRLBuiltInLibraryException("error writing invocation pattern spill file " + this.spillFile, e);
+    }
+  }
+
+  @NonNull private Optional<@NonNull V> getSpilled(@NonNull SWRLBuiltInInvocationPattern pattern)
+  {
+    int hash = pattern.hashCode();
+    int mask = this.spilledOffsets.length - 1;
+    byte[] encodedPattern = null;
+
+    try {
+      for (int slot = spread(hash) & mask; this.spilledOffsets[slot] != 0; slot = (slot + 1) & mask) {
+        if (this.spilledHashes[slot] == hash) {
+          if (encodedPattern == null)
+            encodedPattern = encode(pattern);
+          Optional<@NonNull V> value = readSpilled(this.spilledOffsets[slot] - 1, encodedPattern);
+          if (value.isPresent())
+            return value;
+        }
+      }
+    } catch (IOException e) {
+      throw new SWRLBuiltInLibraryException("error reading invocation pattern spill file " + this.spillFile, e);
+    }
+
+    return Optional.<@NonNull V>empty();
+  }
+
+  @NonNull private Optional<@NonNull V> readSpilled(long offset, byte[] encodedPattern) throws IOException
+  {
+    FileChannel channel = getSpillChannel();
+    ByteBuffer length = ByteBuffer.allocate(4);
+
+    readFully(channel, length, offset);
+    if (length.getInt(0) != encodedPattern.length)
+      return Optional.<@NonNull V>empty();
+
+    ByteBuffer spilledPattern = ByteBuffer.allocate(encodedPattern.length + 4);
+    readFully(channel, spilledPattern, offset + 4);
+    if (!Arrays.equals(Arrays.copyOf(spilledPattern.array(), encodedPattern.length), encodedPattern))
+      return Optional.<@NonNull V>empty();
+
+    ByteBuffer spilledValue = ByteBuffer.allocate(spilledPattern.getInt(encodedPattern.length));
+    readFully(channel, spilledValue, offset + 8 + encodedPattern.length);
+
+    return Optional.of(this.valueDecoder.apply(new String(spilledValue.array(), StandardCharsets.UTF_8)));
+  }
+
+  private void addToIndex(int hash, long offset)
+  {
+    if (2 * (this.numberOfSpilledPatterns + 1) > this.spilledOffsets.length)
+      growIndex();
+
+    insertIntoIndex(this.spilledHashes, this.spilledOffsets, hash, offset + 1);
+    this.numberOfSpilledPatterns++;
+  }
+
+  private void growIndex()
+  {
+    int[] hashes = new int[this.spilledHashes.length * 2];
+    long[] offsets = new long[this.spilledOffsets.length * 2];
+
+    for (int i = 0; i < this.spilledOffsets.length; i++)
+      if (this.spilledOffsets[i] != 0)
+        insertIntoIndex(hashes, offsets, this.spilledHashes[i], this.spilledOffsets[i]);
+
+    this.spilledHashes = hashes;
+    this.spilledOffsets = offsets;
+  }
+
+  private static void insertIntoIndex(int[] hashes, long[] offsets, int hash, long offsetPlusOne)
+  {
+    int mask = offsets.length - 1;
+    int slot = spread(hash) & mask;
+
+    while (offsets[slot] != 0)
+      slot = (slot + 1) & mask;
+
+    hashes[slot] = hash;
+    offsets[slot] = offsetPlusOne;
+  }
+
+  private static int spread(int hash)
+  {
+    return hash ^ (hash >>> 16);
+  }
+
+  /**
+   * Patterns are encoded by bridge, rule, built-in position and the class and string form of each argument value. Two
+   * patterns have the same encoding exactly when they are equal.
+   */
+  @NonNull private byte[] encode(@NonNull SWRLBuiltInInvocationPattern pattern)
+  {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeInt(getBridgeID(pattern.getBridge()));
+      out.writeUTF(pattern.getRuleName());
+      out.writeInt(pattern.getBuiltInIndex());
+      out.writeBoolean(pattern.isInConsequent());
+      out.writeInt(pattern.getNumberOfArgumentValues());
+      for (int i = 0; i < pattern.getNumberOfArgumentValues(); i++) {
+        Object argumentValue = pattern.getArgumentValue(i);
+        out.writeUTF(argumentValue.getClass().getName());
+        byte[] value = argumentValue.toString().getBytes(StandardCharsets.UTF_8);
+        out.writeInt(value.length);
+        out.write(value);
+      }
+    } catch (IOException e) {
+      throw new SWRLBuiltInLibraryException("error encoding invocation pattern " + pattern, e);
+    }
+
+    return bytes.toByteArray();
+  }
+
+  private int getBridgeID(@NonNull SWRLBuiltInBridge bridge)
+  {
+    Integer bridgeID = this.bridgeIDs.get(bridge);
+
+    if (bridgeID == null) {
+      bridgeID = this.bridgeIDs.size();
+      this.bridgeIDs.put(bridge, bridgeID);
+    }
+
+    return bridgeID;
+  }
+
+  @NonNull private FileChannel getSpillChannel() throws IOException
+  {
+    if (this.spillChannel == null) {
+      this.spillFile = Files.createTempFile("swrlapi-invocation-patterns", ".bin");
+      this.spillFile.toFile().deleteOnExit();
+      this.spillChannel = FileChannel
+        .open(this.spillFile, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+    }
+
+    return this.spillChannel;
+  }
+
+  private static void readFully(@NonNull FileChannel channel, @NonNull ByteBuffer buffer, long offset)
+    throws IOException
+  {
+    long position = offset;
+
+    while (buffer.hasRemaining()) {
+      int read = channel.read(buffer, position);
+      if (read < 0)
+        throw new IOException("unexpected end of spill file at offset " + position);
+      position += read;
+    }
+  }
+}
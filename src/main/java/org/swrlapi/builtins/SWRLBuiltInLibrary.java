@@ -6,6 +6,7 @@ import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
 import org.swrlapi.exceptions.SWRLBuiltInException;
 
 import java.lang.reflect.Method;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Set;
 
@@ -38,6 +39,14 @@ public interface SWRLBuiltInLibrary extends SWRLBuiltInContext
    */
   void reset();
 
+  /**
+   * Release any resources held by the library outside itself (e.g., ontology change listeners). The library is not
+   * invoked again once it is closed.
+   */
+  default void close()
+  {
+  }
+
   /**
    * Method to invoke a built-in in the library. Invoked by {@link SWRLBuiltInLibraryManager}.
    *
@@ -55,4 +64,29 @@ public interface SWRLBuiltInLibrary extends SWRLBuiltInContext
   boolean invokeBuiltInMethod(@NonNull Method method, @NonNull SWRLBuiltInBridge bridge, @NonNull String ruleName,
     @NonNull String prefix, @NonNull String builtInMethodName, int builtInIndex, boolean isInConsequent,
     @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException;
+
+  /**
+   * Method to invoke a built-in on a block of argument tuples using the batch kernel of the library, if it has one.
+   * Invoked by {@link SWRLBuiltInLibraryManager}.
+   *
+   * @param bridge            The built-in bridge
+   * @param ruleName          The invoking rule name
+   * @param prefix            The prefix of the built-in name
+   * @param builtInMethodName The built-in name fragment
+   * @param builtInIndex      The 0-based index of the built-in in the rule
+   * @param isInConsequent    Is the built-in in the rule consequent
+   * @param block             The argument tuples
+   * @param result            The result to which the kernel adds the satisfied tuples
+   * @param fallbackTuples    The tuples that the kernel did not evaluate
+   * @return False if the library has no batch kernel for the built-in, which by default it does not; the manager then
+   * invokes the built-in once per tuple
+   * @throws SWRLBuiltInException If the parameters are invalid or if there is an error during built-in invocation
+   */
+  default boolean invokeBuiltInBatchKernel(@NonNull SWRLBuiltInBridge bridge, @NonNull String ruleName,
+    @NonNull String prefix, @NonNull String builtInMethodName, int builtInIndex, boolean isInConsequent,
+    @NonNull SWRLBuiltInArgumentBlock block, @NonNull SWRLBuiltInBatchResult result, @NonNull BitSet fallbackTuples)
+    throws SWRLBuiltInException
+  {
+    return false;
+  }
 }
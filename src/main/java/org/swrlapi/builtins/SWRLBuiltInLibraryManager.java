@@ -1,71 +1,99 @@
 package org.swrlapi.builtins;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLOntologyChangeListener;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLMultiValueVariableBuiltInArgument;
-import org.swrlapi.exceptions.IncompatibleBuiltInMethodException;
-import org.swrlapi.exceptions.IncompatibleSWRLBuiltInClassException;
 import org.swrlapi.exceptions.SWRLBuiltInException;
 import org.swrlapi.exceptions.SWRLBuiltInLibraryException;
-import org.swrlapi.exceptions.UnresolvedSWRLBuiltInClassException;
 import org.swrlapi.exceptions.UnresolvedSWRLBuiltInMethodException;
+import org.swrlapi.factory.SWRLBuiltInArgumentFactory;
 
 import java.io.File;
 import java.io.IOException;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
 import java.net.URL;
 import java.net.URLClassLoader;
-import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.zip.ZipEntry;
 
 /**
  * This class manages the dynamic loading of SWRL built-in libraries and the invocation of built-ins in those libraries.
  * A library is identified by a prefix and this prefix is used to loadExternalSWRLBuiltInLibraries and dynamically
  * load a Java class implementing the built-ins in this library.
+ * <p>
+ * The metadata of the built-in libraries that ship with the SWRLAPI is held in the process-wide
+ * {@link org.swrlapi.builtins.SWRLBuiltInRegistry}. A manager records only the state of a single ontology and its
+ * rule engine: the library instances it has created, which are created on first use, and any external libraries it has
+ * loaded.
+ * <p>
+ * The results of built-ins declared {@link org.swrlapi.builtins.DeterministicSWRLBuiltIn} are memoized, with one
+ * bounded memo for each kind of validity. The memo of ontology-dependent built-ins is cleared when the ontology
+ * changes, and the memo of library-state-dependent built-ins when the libraries are reset. The listener that clears
+ * the memo is removed when the manager is closed.
  *
  * @see org.swrlapi.builtins.SWRLBuiltInLibrary
+ * @see org.swrlapi.builtins.SWRLBuiltInRegistry
  */
 public class SWRLBuiltInLibraryManager
 {
   private static final Logger log = LoggerFactory.getLogger(SWRLBuiltInLibraryManager.class);
 
-  private static final String SWRLBuiltInLibraryPackageBaseName = "org.swrlapi.builtins";
-  private static final String SWRLBuiltInLibraryImplementationClassName = "SWRLBuiltInLibraryImpl";
-  private static final String[] preCannedSWRLBuiltInLibraryPrefixNames = { "swrlb", "sqwrl", "swrlx", "swrlm", "abox",
-    "tbox", "rbox", "temporal" };
-  private static final Set<String> preCannedSWRLBuiltInLibraryPrefixes = new HashSet<>(
-    Arrays.asList(preCannedSWRLBuiltInLibraryPrefixNames));
+  private static final int MAXIMUM_MEMO_SIZE = 10000;
 
+  @NonNull private final SWRLBuiltInRegistry swrlBuiltInRegistry;
+
+  // Built-ins of external libraries loaded by this manager
   @NonNull private final Map<@NonNull IRI, @NonNull String> swrlBuiltInIRI2PrefixedName = new HashMap<>();
   @NonNull private final Map<@NonNull String, @NonNull IRI> swrlBuiltInPrefixedName2IRI = new HashMap<>();
 
   // Map of built-in library prefix name to SWRLBuiltInLibrary instance
   @NonNull private final Map<@NonNull String, @NonNull SWRLBuiltInLibrary> swrlBuiltInLibraryImplementations;
 
-  // Map of prefix:methodName to method implementation
+  // Map of prefix:methodName to method implementation for built-ins not resolved by the registry
   @NonNull private final Map<@NonNull String, @NonNull Method> swrlBuiltInMethods;
 
+  // Map of prefix:methodName to result validity for deterministic built-ins not resolved by the registry
+  @NonNull private final Map<@NonNull String, DeterministicSWRLBuiltIn.@NonNull Validity> swrlBuiltInResultValidities;
+
+  @NonNull private final Map<DeterministicSWRLBuiltIn.@NonNull Validity, @NonNull SWRLBuiltInResultMemo>
+    swrlBuiltInResultMemos;
+
+  // Clears the memo of ontology-dependent built-ins; added to the ontology manager of the first bridge that needs it
+  @NonNull private final OWLOntologyChangeListener ontologyChangeListener;
+  @Nullable private OWLOntologyManager listenedOntologyManager;
+
   public SWRLBuiltInLibraryManager()
   {
+    this(SWRLBuiltInRegistry.getInstance());
+  }
+
+  public SWRLBuiltInLibraryManager(@NonNull SWRLBuiltInRegistry swrlBuiltInRegistry)
+  {
+    this.swrlBuiltInRegistry = swrlBuiltInRegistry;
     this.swrlBuiltInLibraryImplementations = new HashMap<>();
     this.swrlBuiltInMethods = new HashMap<>();
+    this.swrlBuiltInResultValidities = new HashMap<>();
+    this.swrlBuiltInResultMemos = new EnumMap<>(DeterministicSWRLBuiltIn.Validity.class);
+
+    for (DeterministicSWRLBuiltIn.Validity validity : DeterministicSWRLBuiltIn.Validity.values())
+      this.swrlBuiltInResultMemos.put(validity, new SWRLBuiltInResultMemo(MAXIMUM_MEMO_SIZE));
 
-    loadInternalSWRLBuiltInLibraries(preCannedSWRLBuiltInLibraryPrefixes);
+    SWRLBuiltInResultMemo ontologyMemo = this.swrlBuiltInResultMemos
+      .get(DeterministicSWRLBuiltIn.Validity.UNTIL_ONTOLOGY_CHANGE);
+    this.ontologyChangeListener = changes -> ontologyMemo.clear();
   }
 
   public void loadExternalSWRLBuiltInLibraries(@NonNull File swrlBuiltInLibraryDirectory)
@@ -81,10 +109,10 @@ public class SWRLBuiltInLibraryManager
               "file:" + swrlBuiltInLibrarySubDirectory.getCanonicalPath());
             URLClassLoader classLoader = new URLClassLoader(new URL[] { swrlBuiltInLibrarySubDirectoryURL },
               this.getClass().getClassLoader());
-            SWRLBuiltInLibrary swrlBuiltInLibrary = instantiateSWRLBuiltInLibraryImplementation(
-              swrlBuiltInLibrarySubDirectoryName);
+            SWRLBuiltInLibrary swrlBuiltInLibrary = SWRLBuiltInRegistry.instantiateSWRLBuiltInLibraryImplementation(
+              SWRLBuiltInRegistry.resolveSWRLBuiltInLibraryImplementationClass(swrlBuiltInLibrarySubDirectoryName));
             String swrlBuiltInLibraryPrefix = swrlBuiltInLibrary.getPrefix();
-            if (preCannedSWRLBuiltInLibraryPrefixes.contains(swrlBuiltInLibraryPrefix)) {
+            if (this.swrlBuiltInRegistry.hasSWRLBuiltInLibrary(swrlBuiltInLibraryPrefix)) {
               log.warn("External built-in library prefix " + swrlBuiltInLibraryPrefix
                 + " collides with in-built library prefix");
             } else if (swrlBuiltInLibraryPrefix.equals(swrlBuiltInLibrarySubDirectoryName)) {
@@ -107,30 +135,24 @@ public class SWRLBuiltInLibraryManager
     }
   }
 
-  private void loadInternalSWRLBuiltInLibraries(Set<@NonNull String> swrlBuiltInLibraryPrefixes)
-  {
-    for (String swrlBuiltInLibraryPrefix : swrlBuiltInLibraryPrefixes) {
-      SWRLBuiltInLibrary swrlBuiltInLibrary = instantiateSWRLBuiltInLibraryImplementation(swrlBuiltInLibraryPrefix);
-
-      registerSWRLBuiltIns(swrlBuiltInLibrary.getPrefix(), swrlBuiltInLibrary.getNamespace(),
-        swrlBuiltInLibrary.getBuiltInNames());
-      this.swrlBuiltInLibraryImplementations.put(swrlBuiltInLibraryPrefix, swrlBuiltInLibrary);
-    }
-  }
-
   public boolean isSWRLBuiltInIRI(@NonNull IRI iri)
   {
-    return swrlBuiltInIRI2PrefixedName.containsKey(iri);
+    return this.swrlBuiltInRegistry.isSWRLBuiltInIRI(iri) || swrlBuiltInIRI2PrefixedName.containsKey(iri);
   }
 
   public boolean isSWRLBuiltIn(@NonNull String prefixedName)
   {
-    return swrlBuiltInPrefixedName2IRI.containsKey(prefixedName);
+    return this.swrlBuiltInRegistry.isSWRLBuiltIn(prefixedName) || swrlBuiltInPrefixedName2IRI
+      .containsKey(prefixedName);
   }
 
   public Optional<@NonNull IRI> swrlBuiltInPrefixedName2IRI(@NonNull String prefixedName)
   {
-    if (this.swrlBuiltInPrefixedName2IRI.containsKey(prefixedName))
+    Optional<@NonNull IRI> iri = this.swrlBuiltInRegistry.swrlBuiltInPrefixedName2IRI(prefixedName);
+
+    if (iri.isPresent())
+      return iri;
+    else if (this.swrlBuiltInPrefixedName2IRI.containsKey(prefixedName))
       return Optional.of(this.swrlBuiltInPrefixedName2IRI.get(prefixedName));
     else
       return Optional.empty();
@@ -138,7 +160,11 @@ public class SWRLBuiltInLibraryManager
 
   public Optional<@NonNull String> swrlBuiltInIRI2PrefixedName(@NonNull IRI iri)
   {
-    if (this.swrlBuiltInIRI2PrefixedName.containsKey(iri))
+    Optional<@NonNull String> prefixedName = this.swrlBuiltInRegistry.swrlBuiltInIRI2PrefixedName(iri);
+
+    if (prefixedName.isPresent())
+      return prefixedName;
+    else if (this.swrlBuiltInIRI2PrefixedName.containsKey(iri))
       return Optional.of(this.swrlBuiltInIRI2PrefixedName.get(iri));
     else
       return Optional.empty();
@@ -146,7 +172,13 @@ public class SWRLBuiltInLibraryManager
 
   @NonNull public Set<@NonNull IRI> getSWRLBuiltInIRIs()
   {
-    return Collections.unmodifiableSet(swrlBuiltInIRI2PrefixedName.keySet());
+    if (this.swrlBuiltInIRI2PrefixedName.isEmpty())
+      return this.swrlBuiltInRegistry.getSWRLBuiltInIRIs();
+    else {
+      Set<@NonNull IRI> swrlBuiltInIRIs = new HashSet<>(this.swrlBuiltInRegistry.getSWRLBuiltInIRIs());
+      swrlBuiltInIRIs.addAll(this.swrlBuiltInIRI2PrefixedName.keySet());
+      return Collections.unmodifiableSet(swrlBuiltInIRIs);
+    }
   }
 
   /**
@@ -159,6 +191,9 @@ public class SWRLBuiltInLibraryManager
    * combination of arguments that evaluates to true.
    * <p>
    * If the built-in evaluates to false, it will return an empty argument pattern list.
+   * <p>
+   * All patterns are copied into the returned list. Rule engines that consume the patterns one at a time should use
+   * {@link #invokeSWRLBuiltInLazily} instead.
    *
    * @param bridge                    The built-in bridge
    * @param ruleName                  The name of the invoking rule
@@ -172,16 +207,60 @@ public class SWRLBuiltInLibraryManager
   @NonNull public List<@NonNull List<@NonNull SWRLBuiltInArgument>> invokeSWRLBuiltIn(@NonNull SWRLBuiltInBridge bridge,
     @NonNull String ruleName, @NonNull String builtInMethodPrefixedName, int builtInIndex, boolean isInConsequent,
     @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
+  {
+    return invokeSWRLBuiltInLazily(bridge, ruleName, builtInMethodPrefixedName, builtInIndex, isInConsequent,
+      arguments).toList();
+  }
+
+  /**
+   * Invoke a SWRL built-in and return an iterator over its argument patterns. This method is called from the
+   * {@link org.swrlapi.bridge.SWRLRuleEngineBridge#invokeSWRLBuiltInLazily} method in the
+   * {@link org.swrlapi.bridge.SWRLRuleEngineBridge}. The patterns of built-ins that bind an argument to many values are
+   * generated one at a time, in a reused buffer, as the iterator is advanced.
+   * <p>
+   * If the built-in evaluates to false, the iterator has no patterns.
+   * <p>
+   * If the built-in is declared {@link org.swrlapi.builtins.DeterministicSWRLBuiltIn} and has been invoked with the
+   * same arguments before, the values it bound to its unbound arguments are replayed without invoking it.
+   *
+   * @param bridge                    The built-in bridge
+   * @param ruleName                  The name of the invoking rule
+   * @param builtInMethodPrefixedName The invoked built-in method
+   * @param builtInIndex              The 0-based index of the invoked built-in
+   * @param isInConsequent            If the built-in in the consequent?
+   * @param arguments                 The built-in arguments
+   * @return An iterator over the argument patterns of the built-in
+   * @throws SWRLBuiltInException If an exception occurs during invocation
+   */
+  @NonNull public SWRLBuiltInArgumentPatternIterator invokeSWRLBuiltInLazily(@NonNull SWRLBuiltInBridge bridge,
+    @NonNull String ruleName, @NonNull String builtInMethodPrefixedName, int builtInIndex, boolean isInConsequent,
+    @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     String prefix = getPrefixFromPrefixedName(builtInMethodPrefixedName);
     String builtInMethodName = getBuiltInMethodNameFromPrefixedName(builtInMethodPrefixedName);
-    SWRLBuiltInLibrary swrlBuiltInLibrary = getSWRLBuiltInLibraryImplementation(prefix);
+    SWRLBuiltInLibrary swrlBuiltInLibrary = getSWRLBuiltInLibraryImplementation(bridge, prefix);
     Method method = resolveSWRLBuiltInMethod(ruleName, swrlBuiltInLibrary, prefix, builtInMethodName);
-    List<@NonNull List<@NonNull SWRLBuiltInArgument>> argumentPatterns = new ArrayList<>();
+    Optional<@NonNull SWRLBuiltInResultMemo> memo = getSWRLBuiltInResultMemo(bridge, builtInMethodPrefixedName);
+    Optional<SWRLBuiltInResultMemo.@NonNull Key> memoKey = memo.isPresent() ?
+      SWRLBuiltInResultMemo.createKey(builtInMethodPrefixedName, arguments) :
+      Optional.<SWRLBuiltInResultMemo.@NonNull Key>empty();
+
+    if (memoKey.isPresent()) {
+      Optional<SWRLBuiltInResultMemo.@NonNull Entry> memoEntry = memo.get().get(memoKey.get());
+
+      if (memoEntry.isPresent()) {
+        if (memoEntry.get().replay(arguments))
+          return createArgumentPatternIterator(ruleName, builtInMethodPrefixedName, builtInIndex, arguments);
+        else
+          return SWRLBuiltInArgumentPatternIterator.empty();
+      }
+    }
 
-    if (swrlBuiltInLibrary
+    boolean isSatisfied = swrlBuiltInLibrary
       .invokeBuiltInMethod(method, bridge, ruleName, prefix, builtInMethodName, builtInIndex, isInConsequent,
-        arguments)) {
+        arguments);
+
+    if (isSatisfied) {
 
       if (hasUnboundArguments(arguments)) // Make sure the built-in has bound all of its arguments.
         throw new SWRLBuiltInException(
@@ -190,12 +269,107 @@ public class SWRLBuiltInLibraryManager
 
       processBoundArguments(arguments);
 
-      argumentPatterns.addAll(
-        generateBuiltInArgumentPattern(ruleName, builtInMethodPrefixedName, builtInIndex, arguments).stream()
-          .collect(Collectors.toList()));
+      if (memoKey.isPresent())
+        memo.get().put(memoKey.get(), true, arguments);
+
+      return createArgumentPatternIterator(ruleName, builtInMethodPrefixedName, builtInIndex, arguments);
+    } else {
+      if (memoKey.isPresent())
+        memo.get().put(memoKey.get(), false, arguments);
+
+      return SWRLBuiltInArgumentPatternIterator.empty();
     }
+  }
+
+  /**
+   * Invoke a SWRL built-in on a block of argument tuples. This method is called from the
+   * {@link org.swrlapi.bridge.SWRLRuleEngineBridge#invokeSWRLBuiltInBatch} method in the
+   * {@link org.swrlapi.bridge.SWRLRuleEngineBridge}.
+   * <p>
+   * The built-in name is resolved once for the block. If the library of the built-in has a
+   * {@link org.swrlapi.builtins.SWRLBuiltInBatchKernel} for it, the kernel evaluates the tuples it supports; the
+   * remaining tuples are invoked one at a time, as by {@link #invokeSWRLBuiltInLazily}.
+   *
+   * @param bridge                    The built-in bridge
+   * @param ruleName                  The name of the invoking rule
+   * @param builtInMethodPrefixedName The invoked built-in method
+   * @param builtInIndex              The 0-based index of the invoked built-in
+   * @param isInConsequent            If the built-in in the consequent?
+   * @param block                     The argument tuples
+   * @return The tuples that satisfy the built-in and the values bound to its unbound arguments
+   * @throws SWRLBuiltInException If an exception occurs during invocation
+   */
+  @NonNull public SWRLBuiltInBatchResult invokeSWRLBuiltInBatch(@NonNull SWRLBuiltInBridge bridge,
+    @NonNull String ruleName, @NonNull String builtInMethodPrefixedName, int builtInIndex, boolean isInConsequent,
+    @NonNull SWRLBuiltInArgumentBlock block) throws SWRLBuiltInException
+  {
+    String prefix = getPrefixFromPrefixedName(builtInMethodPrefixedName);
+    String builtInMethodName = getBuiltInMethodNameFromPrefixedName(builtInMethodPrefixedName);
+    SWRLBuiltInLibrary swrlBuiltInLibrary = getSWRLBuiltInLibraryImplementation(bridge, prefix);
+    int numberOfTuples = block.getNumberOfTuples();
+    SWRLBuiltInBatchResult result = new SWRLBuiltInBatchResult(numberOfTuples, block.getUnboundArgumentIndexes());
+    BitSet fallbackTuples = new BitSet(numberOfTuples);
+
+    resolveSWRLBuiltInMethod(ruleName, swrlBuiltInLibrary, prefix, builtInMethodName); // Fail early on unknown names
+
+    if (numberOfTuples == 0)
+      return result;
+
+    if (!swrlBuiltInLibrary
+      .invokeBuiltInBatchKernel(bridge, ruleName, prefix, builtInMethodName, builtInIndex, isInConsequent, block,
+        result, fallbackTuples))
+      fallbackTuples.set(0, numberOfTuples);
+
+    if (!fallbackTuples.isEmpty()) {
+      SWRLBuiltInArgumentFactory argumentFactory = bridge.getSWRLAPIOWLDataFactory().getSWRLBuiltInArgumentFactory();
+
+      result.addTupleRows(block, fallbackTuples, argumentFactory,
+        arguments -> invokeSWRLBuiltInLazily(bridge, ruleName, builtInMethodPrefixedName, builtInIndex, isInConsequent,
+          arguments));
+
+      if (fallbackTuples.cardinality() != numberOfTuples) // Kernel rows come first
+        result.sortRowsByTuple();
+    }
+    return result;
+  }
+
+  /**
+   * @return The number of invocations of deterministic built-ins answered from the memo
+   */
+  public long getNumberOfSWRLBuiltInMemoHits()
+  {
+    return this.swrlBuiltInResultMemos.values().stream().mapToLong(SWRLBuiltInResultMemo::getNumberOfHits).sum();
+  }
+
+  /**
+   * @return The number of invocations of deterministic built-ins not found in the memo
+   */
+  public long getNumberOfSWRLBuiltInMemoMisses()
+  {
+    return this.swrlBuiltInResultMemos.values().stream().mapToLong(SWRLBuiltInResultMemo::getNumberOfMisses).sum();
+  }
+
+  @NonNull private Optional<@NonNull SWRLBuiltInResultMemo> getSWRLBuiltInResultMemo(@NonNull SWRLBuiltInBridge bridge,
+    @NonNull String builtInMethodPrefixedName)
+  {
+    Optional<DeterministicSWRLBuiltIn.@NonNull Validity> validity = this.swrlBuiltInRegistry
+      .getSWRLBuiltInResultValidity(builtInMethodPrefixedName);
 
-    return argumentPatterns;
+    if (!validity.isPresent())
+      validity = Optional.ofNullable(this.swrlBuiltInResultValidities.get(builtInMethodPrefixedName));
+
+    if (!validity.isPresent())
+      return Optional.<@NonNull SWRLBuiltInResultMemo>empty();
+
+    SWRLBuiltInResultMemo memo = this.swrlBuiltInResultMemos.get(validity.get());
+
+    if (validity.get() == DeterministicSWRLBuiltIn.Validity.UNTIL_ONTOLOGY_CHANGE
+      && this.listenedOntologyManager == null) {
+      // Changes to other ontologies of the manager also clear the memo, which is safe
+      this.listenedOntologyManager = bridge.getOWLOntology().getOWLOntologyManager();
+      this.listenedOntologyManager.addOntologyChangeListener(this.ontologyChangeListener);
+    }
+    return Optional.of(memo);
   }
 
   private void processBoundArguments(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
@@ -211,18 +385,19 @@ public class SWRLBuiltInLibraryManager
     }
   }
 
-  @NonNull private SWRLBuiltInLibrary getSWRLBuiltInLibraryImplementation(@NonNull String prefix)
-    throws SWRLBuiltInLibraryException
+  @NonNull private SWRLBuiltInLibrary getSWRLBuiltInLibraryImplementation(@NonNull SWRLBuiltInBridge bridge,
+    @NonNull String prefix) throws SWRLBuiltInLibraryException
   {
-    if (this.swrlBuiltInLibraryImplementations.containsKey(prefix)) // Find the cached implementation
-      return this.swrlBuiltInLibraryImplementations.get(prefix);
-    else
-      throw new SWRLBuiltInLibraryException("could not find built-in library for prefix " + prefix);
+    SWRLBuiltInLibrary swrlBuiltInLibrary = this.swrlBuiltInLibraryImplementations.get(prefix);
+
+    if (swrlBuiltInLibrary == null) { // Libraries are created on first use and reset as if created eagerly
+      swrlBuiltInLibrary = this.swrlBuiltInRegistry.createSWRLBuiltInLibrary(prefix);
+      invokeBuiltInLibraryResetMethod(bridge, swrlBuiltInLibrary);
+      this.swrlBuiltInLibraryImplementations.put(prefix, swrlBuiltInLibrary);
+    }
+    return swrlBuiltInLibrary;
   }
 
-  /**
-   * Invoke the reset() method for each registered built-in library.
-   */
   private void invokeBuiltInLibraryResetMethod(@NonNull SWRLBuiltInBridge bridge, @NonNull SWRLBuiltInLibrary library)
     throws SWRLBuiltInLibraryException
   {
@@ -233,28 +408,52 @@ public class SWRLBuiltInLibraryManager
     }
   }
 
+  /**
+   * Invoke the reset() method of each library created by this manager. Libraries that have not been created yet have
+   * no state to reset.
+   */
   public void invokeAllBuiltInLibrariesResetMethod(@NonNull SWRLBuiltInBridge bridge) throws SWRLBuiltInLibraryException
   {
+    this.swrlBuiltInResultMemos.get(DeterministicSWRLBuiltIn.Validity.UNTIL_LIBRARY_RESET).clear();
+
     for (SWRLBuiltInLibrary library : this.swrlBuiltInLibraryImplementations.values())
       invokeBuiltInLibraryResetMethod(bridge, library);
   }
 
+  /**
+   * Close each library created by this manager and discard it, and stop listening for ontology changes. Libraries
+   * needed later are created again.
+   */
+  public void close()
+  {
+    for (SWRLBuiltInLibrary library : this.swrlBuiltInLibraryImplementations.values())
+      library.close();
+
+    this.swrlBuiltInLibraryImplementations.clear();
+
+    if (this.listenedOntologyManager != null) {
+      this.listenedOntologyManager.removeOntologyChangeListener(this.ontologyChangeListener);
+      this.listenedOntologyManager = null;
+    }
+    for (SWRLBuiltInResultMemo memo : this.swrlBuiltInResultMemos.values())
+      memo.clear();
+  }
+
   /**
    * This method is called with a list of built-in arguments. Some argument positions may contain multi-arguments,
    * indicating that there is more than one pattern. If the result has more than one multi-argument, each multi-argument
-   * must have the same number of elements.
+   * must have the same number of elements. The patterns are generated by the returned iterator as it is advanced.
    */
-  @NonNull private Set<@NonNull List<@NonNull SWRLBuiltInArgument>> generateBuiltInArgumentPattern(
-    @NonNull String ruleName, @NonNull String builtInName, int builtInIndex,
-    @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
+  @NonNull private SWRLBuiltInArgumentPatternIterator createArgumentPatternIterator(@NonNull String ruleName,
+    @NonNull String builtInName, int builtInIndex, @NonNull List<@NonNull SWRLBuiltInArgument> arguments)
+    throws SWRLBuiltInException
   {
-    List<@NonNull Integer> multiValueBuiltInArgumentIndexes = getMultiValueBuiltInArgumentIndexes(arguments);
-    Set<@NonNull List<@NonNull SWRLBuiltInArgument>> pattern = new HashSet<>();
+    int[] multiValueBuiltInArgumentIndexes = getMultiValueBuiltInArgumentIndexes(arguments);
 
-    if (multiValueBuiltInArgumentIndexes.isEmpty()) // No multi-arguments - generate a single pattern
-      pattern.add(arguments);
-    else { // Generate all possible patterns
-      int firstMultiValueBuiltInArgumentIndex = multiValueBuiltInArgumentIndexes.get(0); // Pick first multi-argument
+    if (multiValueBuiltInArgumentIndexes.length == 0) // No multi-arguments - generate a single pattern
+      return new SWRLBuiltInArgumentPatternIterator(arguments, multiValueBuiltInArgumentIndexes, 1);
+    else {
+      int firstMultiValueBuiltInArgumentIndex = multiValueBuiltInArgumentIndexes[0]; // Pick first multi-argument
       SWRLMultiValueVariableBuiltInArgument multiValueBuiltInArgument = getArgumentAsASWRLMultiValueBuiltInArgument(
         arguments, firstMultiValueBuiltInArgumentIndex);
       int numberOfArgumentsInMultiValueBuiltInArgument = multiValueBuiltInArgument.getNumberOfArguments();
@@ -264,8 +463,8 @@ public class SWRLBuiltInLibraryManager
           "empty multi-value argument for built-in " + builtInName + "(index " + builtInIndex + ") in rule "
             + ruleName);
 
-      for (int i = 1; i < multiValueBuiltInArgumentIndexes.size(); i++) {
-        int multiValueBuiltInArgumentIndex = multiValueBuiltInArgumentIndexes.get(i);
+      for (int i = 1; i < multiValueBuiltInArgumentIndexes.length; i++) {
+        int multiValueBuiltInArgumentIndex = multiValueBuiltInArgumentIndexes[i];
         multiValueBuiltInArgument = getArgumentAsASWRLMultiValueBuiltInArgument(arguments,
           multiValueBuiltInArgumentIndex);
         if (numberOfArgumentsInMultiValueBuiltInArgument != multiValueBuiltInArgument.getNumberOfArguments())
@@ -273,15 +472,9 @@ public class SWRLBuiltInLibraryManager
             "all multi-value arguments must have the same number of elements for built-in " + builtInName + "(index "
               + builtInIndex + ") in rule " + ruleName);
       }
-
-      for (int multiValueBuiltInArgumentArgumentIndex = 0; multiValueBuiltInArgumentArgumentIndex
-        < numberOfArgumentsInMultiValueBuiltInArgument; multiValueBuiltInArgumentArgumentIndex++) {
-        List<@NonNull SWRLBuiltInArgument> argumentsPattern = generateArgumentsPattern(arguments,
-          multiValueBuiltInArgumentArgumentIndex);
-        pattern.add(argumentsPattern);
-      }
+      return new SWRLBuiltInArgumentPatternIterator(arguments, multiValueBuiltInArgumentIndexes,
+        numberOfArgumentsInMultiValueBuiltInArgument);
     }
-    return pattern;
   }
 
   @NonNull private SWRLMultiValueVariableBuiltInArgument getArgumentAsASWRLMultiValueBuiltInArgument(
@@ -294,30 +487,19 @@ public class SWRLBuiltInLibraryManager
   }
 
   // Find indices of multi-arguments (if any) in a list of arguments.
-  @NonNull private List<@NonNull Integer> getMultiValueBuiltInArgumentIndexes(
-    @NonNull List<@NonNull SWRLBuiltInArgument> arguments)
+  @NonNull private int[] getMultiValueBuiltInArgumentIndexes(@NonNull List<@NonNull SWRLBuiltInArgument> arguments)
   {
-    List<@NonNull Integer> result = new ArrayList<>();
+    int numberOfMultiValueBuiltInArguments = 0;
 
-    for (int i = 0; i < arguments.size(); i++)
-      if (arguments.get(i) instanceof SWRLMultiValueVariableBuiltInArgument)
-        result.add(i);
+    for (SWRLBuiltInArgument argument : arguments)
+      if (argument instanceof SWRLMultiValueVariableBuiltInArgument)
+        numberOfMultiValueBuiltInArguments++;
 
-    return result;
-  }
+    int[] result = new int[numberOfMultiValueBuiltInArguments];
 
-  @NonNull private List<@NonNull SWRLBuiltInArgument> generateArgumentsPattern(
-    @NonNull List<@NonNull SWRLBuiltInArgument> arguments, int multiValueBuiltInArgumentArgumentIndex)
-  {
-    List<@NonNull SWRLBuiltInArgument> result = new ArrayList<>();
-
-    for (SWRLBuiltInArgument argument : arguments) {
-      if (argument instanceof SWRLMultiValueVariableBuiltInArgument) {
-        SWRLMultiValueVariableBuiltInArgument multiValueBuiltInArgument = (SWRLMultiValueVariableBuiltInArgument)argument;
-        result.add(multiValueBuiltInArgument.getArguments().get(multiValueBuiltInArgumentArgumentIndex));
-      } else
-        result.add(argument);
-    }
+    for (int i = 0, j = 0; i < arguments.size(); i++)
+      if (arguments.get(i) instanceof SWRLMultiValueVariableBuiltInArgument)
+        result[j++] = i;
 
     return result;
   }
@@ -325,6 +507,12 @@ public class SWRLBuiltInLibraryManager
   @NonNull private Method resolveSWRLBuiltInMethod(@NonNull String ruleName, @NonNull SWRLBuiltInLibrary library,
     @NonNull String prefix, @NonNull String builtInMethodName) throws UnresolvedSWRLBuiltInMethodException
   {
+    Optional<@NonNull Method> registeredMethod = this.swrlBuiltInRegistry
+      .getSWRLBuiltInMethod(prefix, builtInMethodName);
+
+    if (registeredMethod.isPresent())
+      return registeredMethod.get();
+
     String key = prefix + ":" + builtInMethodName;
 
     if (swrlBuiltInMethods.containsKey(key))
@@ -333,9 +521,12 @@ public class SWRLBuiltInLibraryManager
       try {
         Method method = library.getClass().getMethod(builtInMethodName, List.class);
 
-        checkSWRLBuiltInMethodSignature(ruleName, prefix, builtInMethodName, method); // Check signature of method
+        SWRLBuiltInRegistry
+          .checkSWRLBuiltInMethodSignature(ruleName, prefix, builtInMethodName, method); // Check signature of method
 
         swrlBuiltInMethods.put(key, method);
+        SWRLBuiltInRegistry.getSWRLBuiltInResultValidity(method)
+          .ifPresent(validity -> this.swrlBuiltInResultValidities.put(key, validity));
 
         return method;
       } catch (Exception e) {
@@ -345,63 +536,6 @@ public class SWRLBuiltInLibraryManager
     }
   }
 
-  @NonNull private SWRLBuiltInLibrary instantiateSWRLBuiltInLibraryImplementation(
-    @NonNull String swrlBuiltInLibraryPrefix) throws SWRLBuiltInLibraryException
-  {
-    Class<?> swrlBuiltInLibraryImplementationClass;
-    String swrlBuiltInLibraryImplementationClassName =
-      SWRLBuiltInLibraryPackageBaseName + "." + swrlBuiltInLibraryPrefix + "."
-        + SWRLBuiltInLibraryImplementationClassName;
-
-    try {
-      swrlBuiltInLibraryImplementationClass = Class.forName(swrlBuiltInLibraryImplementationClassName);
-    } catch (Exception e) {
-      throw new UnresolvedSWRLBuiltInClassException(swrlBuiltInLibraryImplementationClassName,
-        e.getMessage() != null ? e.getMessage() : "", e);
-    }
-
-    // Check implementation class for compatibility
-    checkSWRLBuiltInLibraryImplementationClassCompatibility(swrlBuiltInLibraryImplementationClassName,
-      swrlBuiltInLibraryImplementationClass);
-
-    try { // TODO Need to get constructor of library to catch exceptions it may throw
-      return (SWRLBuiltInLibrary)swrlBuiltInLibraryImplementationClass.getDeclaredConstructor().newInstance();
-    } catch (@NonNull InstantiationException | ExceptionInInitializerError | SecurityException | IllegalAccessException | NoSuchMethodException | InvocationTargetException e) {
-      throw new IncompatibleSWRLBuiltInClassException(swrlBuiltInLibraryImplementationClassName,
-        e.getMessage() != null ? e.getMessage() : "", e);
-    }
-  }
-
-  private void checkSWRLBuiltInMethodSignature(@NonNull String ruleName, @NonNull String prefix,
-    @NonNull String builtInURI, @NonNull Method method) throws IncompatibleBuiltInMethodException
-  {
-    if (method.getReturnType() != Boolean.TYPE)
-      throw new IncompatibleBuiltInMethodException(ruleName, prefix, builtInURI, "Java method must return a boolean");
-
-    Class<?>[] exceptionTypes = method.getExceptionTypes();
-
-    if ((exceptionTypes.length != 1) || (exceptionTypes[0] != SWRLBuiltInException.class))
-      throw new IncompatibleBuiltInMethodException(ruleName, prefix, builtInURI,
-        "Java method must throw a single exception of type BuiltInException");
-
-    Type[] parameterTypes = method.getGenericParameterTypes();
-
-    if ((parameterTypes.length != 1) || (!(parameterTypes[0] instanceof ParameterizedType)) || (
-      ((ParameterizedType)parameterTypes[0]).getRawType() != List.class) || (
-      ((ParameterizedType)parameterTypes[0]).getActualTypeArguments().length != 1) || (
-      ((ParameterizedType)parameterTypes[0]).getActualTypeArguments()[0] != SWRLBuiltInArgument.class))
-      throw new IncompatibleBuiltInMethodException(ruleName, prefix, builtInURI,
-        "Java built-in method implementation must accept a single List of SWRLBuiltInArgument objects");
-  }
-
-  private void checkSWRLBuiltInLibraryImplementationClassCompatibility(@NonNull String prefix, @NonNull Class<?> cls)
-    throws IncompatibleSWRLBuiltInClassException
-  {
-    if (!SWRLBuiltInLibrary.class.isAssignableFrom(cls))
-      throw new IncompatibleSWRLBuiltInClassException(cls.getName(),
-        "Java class does not extend " + SWRLBuiltInLibrary.class.getCanonicalName());
-  }
-
   private boolean hasUnboundArguments(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     for (SWRLBuiltInArgument argument : arguments)
@@ -411,27 +545,6 @@ public class SWRLBuiltInLibraryManager
     return false;
   }
 
-  @NonNull private Optional<String> extractSWRLBuiltInLibraryPrefixFromClassName(
-    @NonNull String swrlBuiltInLibraryImplementationClassName)
-  {
-    if (swrlBuiltInLibraryImplementationClassName.length() > (SWRLBuiltInLibraryPackageBaseName.length()
-      + SWRLBuiltInLibraryImplementationClassName.length())) {
-      String swrlBuiltInLibraryPrefix = swrlBuiltInLibraryImplementationClassName
-        .substring(SWRLBuiltInLibraryPackageBaseName.length(),
-          swrlBuiltInLibraryImplementationClassName.length() - SWRLBuiltInLibraryImplementationClassName.length());
-
-      if (isValidJavaIdentifier(swrlBuiltInLibraryPrefix))
-        return Optional.of(swrlBuiltInLibraryPrefix);
-      else {
-        log.warn("Invalid SWRL built-in library implementation prefix " + swrlBuiltInLibraryImplementationClassName);
-        return Optional.empty();
-      }
-    } else {
-      log.warn("Invalid SWRL built-in library implementation class name " + swrlBuiltInLibraryImplementationClassName);
-      return Optional.empty();
-    }
-  }
-
   private void registerSWRLBuiltIns(@NonNull String swrlBuiltInLibraryPrefix,
     @NonNull String swrlBuiltInLibraryNamespace, @NonNull Set<@NonNull String> builtInNames)
   {
@@ -458,15 +571,6 @@ public class SWRLBuiltInLibraryManager
       return ""; // No prefix - try the base built-ins package. Ordinarily, built-ins should not be located here.
   }
 
-  @NonNull private String getSWRLBuiltInLibraryImplementationClassName(@NonNull String prefix)
-  {
-    if (prefix.length() == 0)
-      return SWRLBuiltInLibraryPackageBaseName + SWRLBuiltInLibraryImplementationClassName;
-    else {
-      return SWRLBuiltInLibraryPackageBaseName + "." + prefix + "." + SWRLBuiltInLibraryImplementationClassName;
-    }
-  }
-
   @NonNull private String getBuiltInMethodNameFromPrefixedName(@NonNull String builtInPrefixedName)
   {
     if (!builtInPrefixedName.contains(":"))
@@ -474,34 +578,4 @@ public class SWRLBuiltInLibraryManager
     else
       return builtInPrefixedName.substring(builtInPrefixedName.indexOf(":") + 1, builtInPrefixedName.length());
   }
-
-  @NonNull private String getClassNameFromEntry(@NonNull ZipEntry entry)
-  {
-    StringBuilder className = new StringBuilder();
-    for (String part : entry.getName().split("/")) {
-      if (className.length() != 0)
-        className.append(".");
-      className.append(part);
-      if (part.endsWith(".class"))
-        className.setLength(className.length() - ".class".length());
-    }
-    return className.toString();
-  }
-
-  private static boolean isValidJavaIdentifier(@NonNull String s)
-  {
-    if (s == null || s.length() == 0)
-      return false;
-
-    char[] c = s.toCharArray();
-    if (!Character.isJavaIdentifierStart(c[0]))
-      return false;
-
-    for (int i = 1; i < c.length; i++) {
-      if (!Character.isJavaIdentifierPart(c[i]))
-        return false;
-    }
-
-    return true;
-  }
 }
@@ -0,0 +1,268 @@
+package org.swrlapi.builtins;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.IRI;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.exceptions.IncompatibleBuiltInMethodException;
+import org.swrlapi.exceptions.IncompatibleSWRLBuiltInClassException;
+import org.swrlapi.exceptions.SWRLBuiltInException;
+import org.swrlapi.exceptions.SWRLBuiltInLibraryException;
+import org.swrlapi.exceptions.UnresolvedSWRLBuiltInClassException;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * An immutable registry of the metadata of the SWRL built-in libraries that ship with the SWRLAPI. The libraries are
+ * loaded, checked, and their built-in methods resolved once per class loader, and the result is shared by the
+ * {@link org.swrlapi.builtins.SWRLBuiltInLibraryManager}s of all ontologies and rule engines.
+ * <p>
+ * The registry holds no library state. Each manager creates its own library instances from the library classes
+ * recorded here. A library that fails to load does not stop the others from loading: its failure is recorded and
+ * raised as a {@link SWRLBuiltInLibraryException} whenever a manager asks for that library.
+ *
+ * @see org.swrlapi.builtins.SWRLBuiltInLibraryManager
+ */
+public final class SWRLBuiltInRegistry
+{
+  private static final Logger log = LoggerFactory.getLogger(SWRLBuiltInRegistry.class);
+
+  static final String SWRLBuiltInLibraryPackageBaseName = "org.swrlapi.builtins";
+  static final String SWRLBuiltInLibraryImplementationClassName = "SWRLBuiltInLibraryImpl";
+  private static final String[] preCannedSWRLBuiltInLibraryPrefixNames = { "swrlb", "sqwrl", "swrlx", "swrlm", "abox",
+    "tbox", "rbox", "temporal" };
+
+  @NonNull private final Set<@NonNull String> swrlBuiltInLibraryPrefixes;
+  @NonNull private final Map<@NonNull String, @NonNull Class<? extends SWRLBuiltInLibrary>> swrlBuiltInLibraryClasses;
+  @NonNull private final Map<@NonNull IRI, @NonNull String> swrlBuiltInIRI2PrefixedName;
+  @NonNull private final Map<@NonNull String, @NonNull IRI> swrlBuiltInPrefixedName2IRI;
+  // Map of prefix:methodName to method implementation; built-ins whose methods fail to resolve are absent
+  @NonNull private final Map<@NonNull String, @NonNull Method> swrlBuiltInMethods;
+  // Map of prefix:methodName to the result validity of built-ins declared deterministic
+  @NonNull private final Map<@NonNull String, DeterministicSWRLBuiltIn.@NonNull Validity> swrlBuiltInResultValidities;
+  // Map of prefix to the reason the library could not be loaded
+  @NonNull private final Map<@NonNull String, @NonNull SWRLBuiltInLibraryException> swrlBuiltInLibraryLoadFailures;
+
+  SWRLBuiltInRegistry(@NonNull Set<@NonNull String> swrlBuiltInLibraryPrefixes)
+  {
+    Map<@NonNull String, @NonNull Class<? extends SWRLBuiltInLibrary>> swrlBuiltInLibraryClasses = new HashMap<>();
+    Map<@NonNull IRI, @NonNull String> swrlBuiltInIRI2PrefixedName = new HashMap<>();
+    Map<@NonNull String, @NonNull IRI> swrlBuiltInPrefixedName2IRI = new HashMap<>();
+    Map<@NonNull String, @NonNull Method> swrlBuiltInMethods = new HashMap<>();
+    Map<@NonNull String, DeterministicSWRLBuiltIn.@NonNull Validity> swrlBuiltInResultValidities = new HashMap<>();
+    Map<@NonNull String, @NonNull SWRLBuiltInLibraryException> swrlBuiltInLibraryLoadFailures = new HashMap<>();
+
+    for (String swrlBuiltInLibraryPrefix : swrlBuiltInLibraryPrefixes) {
+      Class<? extends SWRLBuiltInLibrary> swrlBuiltInLibraryClass;
+      String namespace, prefix;
+      Set<@NonNull String> builtInNames;
+
+      try {
+        swrlBuiltInLibraryClass = resolveSWRLBuiltInLibraryImplementationClass(swrlBuiltInLibraryPrefix);
+        // Library metadata is instance state, so read it from a throwaway instance
+        SWRLBuiltInLibrary swrlBuiltInLibrary = instantiateSWRLBuiltInLibraryImplementation(swrlBuiltInLibraryClass);
+        namespace = swrlBuiltInLibrary.getNamespace();
+        prefix = swrlBuiltInLibrary.getPrefix();
+        builtInNames = new LinkedHashSet<>(swrlBuiltInLibrary.getBuiltInNames());
+      } catch (SWRLBuiltInLibraryException e) {
+        log.warn("Could not load built-in library " + swrlBuiltInLibraryPrefix + ": " + e.getMessage());
+        swrlBuiltInLibraryLoadFailures.put(swrlBuiltInLibraryPrefix, e);
+        continue;
+      } catch (RuntimeException | LinkageError e) {
+        log.warn("Could not load built-in library " + swrlBuiltInLibraryPrefix + ": " + e.getMessage());
+        swrlBuiltInLibraryLoadFailures.put(swrlBuiltInLibraryPrefix, new SWRLBuiltInLibraryException(
+          "error loading built-in library " + swrlBuiltInLibraryPrefix + ": " + e.getMessage(), e));
+        continue;
+      }
+
+      for (String builtInName : builtInNames) {
+        IRI builtInIRI = IRI.create(namespace, builtInName);
+        String builtInPrefixedName = prefix + ":" + builtInName;
+
+        swrlBuiltInIRI2PrefixedName.put(builtInIRI, builtInPrefixedName);
+        swrlBuiltInPrefixedName2IRI.put(builtInPrefixedName, builtInIRI);
+
+        try {
+          Method method = swrlBuiltInLibraryClass.getMethod(builtInName, List.class);
+          checkSWRLBuiltInMethodSignature("", swrlBuiltInLibraryPrefix, builtInName, method);
+          swrlBuiltInMethods.put(swrlBuiltInLibraryPrefix + ":" + builtInName, method);
+          getSWRLBuiltInResultValidity(method)
+            .ifPresent(validity -> swrlBuiltInResultValidities.put(builtInPrefixedName, validity));
+        } catch (NoSuchMethodException | IncompatibleBuiltInMethodException e) {
+          // Reported with the invoking rule name if the built-in is ever invoked
+          log.debug("Built-in " + builtInPrefixedName + " has no valid implementation method: " + e.getMessage());
+        }
+      }
+      swrlBuiltInLibraryClasses.put(swrlBuiltInLibraryPrefix, swrlBuiltInLibraryClass);
+    }
+
+    this.swrlBuiltInLibraryPrefixes = Collections.unmodifiableSet(new LinkedHashSet<>(swrlBuiltInLibraryPrefixes));
+    this.swrlBuiltInLibraryClasses = Collections.unmodifiableMap(swrlBuiltInLibraryClasses);
+    this.swrlBuiltInIRI2PrefixedName = Collections.unmodifiableMap(swrlBuiltInIRI2PrefixedName);
+    this.swrlBuiltInPrefixedName2IRI = Collections.unmodifiableMap(swrlBuiltInPrefixedName2IRI);
+    this.swrlBuiltInMethods = Collections.unmodifiableMap(swrlBuiltInMethods);
+    this.swrlBuiltInResultValidities = Collections.unmodifiableMap(swrlBuiltInResultValidities);
+    this.swrlBuiltInLibraryLoadFailures = Collections.unmodifiableMap(swrlBuiltInLibraryLoadFailures);
+  }
+
+  /**
+   * @return The registry of the built-in libraries that ship with the SWRLAPI
+   */
+  @NonNull public static SWRLBuiltInRegistry getInstance()
+  {
+    return Holder.INSTANCE;
+  }
+
+  @NonNull public Set<@NonNull String> getSWRLBuiltInLibraryPrefixes()
+  {
+    return this.swrlBuiltInLibraryPrefixes;
+  }
+
+  public boolean hasSWRLBuiltInLibrary(@NonNull String prefix)
+  {
+    return this.swrlBuiltInLibraryClasses.containsKey(prefix);
+  }
+
+  public boolean isSWRLBuiltInIRI(@NonNull IRI iri)
+  {
+    return this.swrlBuiltInIRI2PrefixedName.containsKey(iri);
+  }
+
+  public boolean isSWRLBuiltIn(@NonNull String prefixedName)
+  {
+    return this.swrlBuiltInPrefixedName2IRI.containsKey(prefixedName);
+  }
+
+  @NonNull public Optional<@NonNull IRI> swrlBuiltInPrefixedName2IRI(@NonNull String prefixedName)
+  {
+    return Optional.ofNullable(this.swrlBuiltInPrefixedName2IRI.get(prefixedName));
+  }
+
+  @NonNull public Optional<@NonNull String> swrlBuiltInIRI2PrefixedName(@NonNull IRI iri)
+  {
+    return Optional.ofNullable(this.swrlBuiltInIRI2PrefixedName.get(iri));
+  }
+
+  @NonNull public Set<@NonNull IRI> getSWRLBuiltInIRIs()
+  {
+    return this.swrlBuiltInIRI2PrefixedName.keySet();
+  }
+
+  @NonNull Optional<@NonNull Method> getSWRLBuiltInMethod(@NonNull String prefix, @NonNull String builtInMethodName)
+  {
+    return Optional.ofNullable(this.swrlBuiltInMethods.get(prefix + ":" + builtInMethodName));
+  }
+
+  /**
+   * @param prefixedName The prefixed name of a built-in
+   * @return The validity of the results of the built-in, or empty if it is not declared deterministic
+   * @see DeterministicSWRLBuiltIn
+   */
+  @NonNull Optional<DeterministicSWRLBuiltIn.@NonNull Validity> getSWRLBuiltInResultValidity(
+    @NonNull String prefixedName)
+  {
+    return Optional.ofNullable(this.swrlBuiltInResultValidities.get(prefixedName));
+  }
+
+  /**
+   * @param prefix A built-in library prefix
+   * @return A new instance of the library, with its own state
+   * @throws SWRLBuiltInLibraryException If the prefix is not registered, the library failed to load, or the library
+   *                                     cannot be instantiated
+   */
+  @NonNull SWRLBuiltInLibrary createSWRLBuiltInLibrary(@NonNull String prefix) throws SWRLBuiltInLibraryException
+  {
+    Class<? extends SWRLBuiltInLibrary> swrlBuiltInLibraryClass = this.swrlBuiltInLibraryClasses.get(prefix);
+    SWRLBuiltInLibraryException loadFailure = this.swrlBuiltInLibraryLoadFailures.get(prefix);
+
+    if (swrlBuiltInLibraryClass != null)
+      return instantiateSWRLBuiltInLibraryImplementation(swrlBuiltInLibraryClass);
+    else if (loadFailure != null) // A fresh exception so each caller gets its own stack trace
+      throw new SWRLBuiltInLibraryException(
+        "could not load built-in library for prefix " + prefix + ": " + loadFailure.getMessage(), loadFailure);
+    else
+      throw new SWRLBuiltInLibraryException("could not find built-in library for prefix " + prefix);
+  }
+
+  @NonNull static Class<? extends SWRLBuiltInLibrary> resolveSWRLBuiltInLibraryImplementationClass(
+    @NonNull String swrlBuiltInLibraryPrefix) throws SWRLBuiltInLibraryException
+  {
+    Class<?> swrlBuiltInLibraryImplementationClass;
+    String swrlBuiltInLibraryImplementationClassName =
+      SWRLBuiltInLibraryPackageBaseName + "." + swrlBuiltInLibraryPrefix + "."
+        + SWRLBuiltInLibraryImplementationClassName;
+
+    try {
+      swrlBuiltInLibraryImplementationClass = Class.forName(swrlBuiltInLibraryImplementationClassName);
+    } catch (Exception e) {
+      throw new UnresolvedSWRLBuiltInClassException(swrlBuiltInLibraryImplementationClassName,
+        e.getMessage() != null ? e.getMessage() : "", e);
+    }
+
+    if (!SWRLBuiltInLibrary.class.isAssignableFrom(swrlBuiltInLibraryImplementationClass))
+      throw new IncompatibleSWRLBuiltInClassException(swrlBuiltInLibraryImplementationClass.getName(),
+        "Java class does not extend " + SWRLBuiltInLibrary.class.getCanonicalName());
+
+    return swrlBuiltInLibraryImplementationClass.asSubclass(SWRLBuiltInLibrary.class);
+  }
+
+  @NonNull static SWRLBuiltInLibrary instantiateSWRLBuiltInLibraryImplementation(
+    @NonNull Class<? extends SWRLBuiltInLibrary> swrlBuiltInLibraryClass) throws SWRLBuiltInLibraryException
+  {
+    try { // TODO Need to get constructor of library to catch exceptions it may throw
+      return swrlBuiltInLibraryClass.getDeclaredConstructor().newInstance();
+    } catch (@NonNull InstantiationException | ExceptionInInitializerError | SecurityException | IllegalAccessException | NoSuchMethodException | InvocationTargetException e) {
+      throw new IncompatibleSWRLBuiltInClassException(swrlBuiltInLibraryClass.getName(),
+        e.getMessage() != null ? e.getMessage() : "", e);
+    }
+  }
+
+  @NonNull static Optional<DeterministicSWRLBuiltIn.@NonNull Validity> getSWRLBuiltInResultValidity(
+    @NonNull Method method)
+  {
+    DeterministicSWRLBuiltIn annotation = method.getAnnotation(DeterministicSWRLBuiltIn.class);
+
+    return annotation != null ? Optional.of(annotation.validity()) : Optional.empty();
+  }
+
+  static void checkSWRLBuiltInMethodSignature(@NonNull String ruleName, @NonNull String prefix,
+    @NonNull String builtInURI, @NonNull Method method) throws IncompatibleBuiltInMethodException
+  {
+    if (method.getReturnType() != Boolean.TYPE)
+      throw new IncompatibleBuiltInMethodException(ruleName, prefix, builtInURI, "Java method must return a boolean");
+
+    Class<?>[] exceptionTypes = method.getExceptionTypes();
+
+    if ((exceptionTypes.length != 1) || (exceptionTypes[0] != SWRLBuiltInException.class))
+      throw new IncompatibleBuiltInMethodException(ruleName, prefix, builtInURI,
+        "Java method must throw a single exception of type BuiltInException");
+
+    Type[] parameterTypes = method.getGenericParameterTypes();
+
+    if ((parameterTypes.length != 1) || (!(parameterTypes[0] instanceof ParameterizedType)) || (
+      ((ParameterizedType)parameterTypes[0]).getRawType() != List.class) || (
+      ((ParameterizedType)parameterTypes[0]).getActualTypeArguments().length != 1) || (
+      ((ParameterizedType)parameterTypes[0]).getActualTypeArguments()[0] != SWRLBuiltInArgument.class))
+      throw new IncompatibleBuiltInMethodException(ruleName, prefix, builtInURI,
+        "Java built-in method implementation must accept a single List of SWRLBuiltInArgument objects");
+  }
+
+  private static class Holder
+  {
+    // Initialized on first use, and safely published by the class initialization lock
+    private static final SWRLBuiltInRegistry INSTANCE = new SWRLBuiltInRegistry(
+      new LinkedHashSet<>(Arrays.asList(preCannedSWRLBuiltInLibraryPrefixNames)));
+  }
+}
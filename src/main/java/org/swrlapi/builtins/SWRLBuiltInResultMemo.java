@@ -0,0 +1,175 @@
+package org.swrlapi.builtins;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLLiteralBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLNamedBuiltInArgument;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded memo of the results of invocations of {@link DeterministicSWRLBuiltIn}s.
+ * <p>
+ * An invocation is keyed by the prefixed name of the built-in and by each of its arguments: the literal or named
+ * entity of a bound argument, or a marker for an unbound variable. Invocations of the same built-in that leave
+ * different arguments unbound therefore have different keys. Invocations with any other kind of argument, such as a
+ * class expression or a SQWRL collection, are not memoized.
+ * <p>
+ * An entry records whether the built-in was satisfied and the values it bound to its unbound arguments, including
+ * multi-value arguments, so that a hit can be replayed into the argument patterns of a fresh invocation. When the
+ * memo is full it is cleared, which bounds its memory without the bookkeeping of a least recently used policy.
+ *
+ * @see SWRLBuiltInLibraryManager#invokeSWRLBuiltIn
+ */
+final class SWRLBuiltInResultMemo
+{
+  private static final Object UNBOUND = new Object();
+
+  private final int maximumSize;
+  @NonNull private final Map<@NonNull Key, @NonNull Entry> entries = new ConcurrentHashMap<>();
+  @NonNull private final LongAdder numberOfHits = new LongAdder();
+  @NonNull private final LongAdder numberOfMisses = new LongAdder();
+
+  public SWRLBuiltInResultMemo(int maximumSize)
+  {
+    if (maximumSize < 1)
+      throw new IllegalArgumentException("maximum memo size must be positive");
+
+    this.maximumSize = maximumSize;
+  }
+
+  /**
+   * @param builtInPrefixedName The prefixed name of the invoked built-in
+   * @param arguments           The arguments of the invocation
+   * @return A key for the invocation, or empty if it cannot be memoized
+   */
+  @NonNull public static Optional<@NonNull Key> createKey(@NonNull String builtInPrefixedName,
+    @NonNull List<@NonNull SWRLBuiltInArgument> arguments)
+  {
+    Object[] values = new Object[arguments.size()];
+
+    for (int argumentIndex = 0; argumentIndex < values.length; argumentIndex++) {
+      SWRLBuiltInArgument argument = arguments.get(argumentIndex);
+
+      if (argument.isVariable() && argument.asVariable().isUnbound())
+        values[argumentIndex] = UNBOUND;
+      else if (argument instanceof SWRLLiteralBuiltInArgument || argument instanceof SWRLNamedBuiltInArgument)
+        values[argumentIndex] = argument;
+      else
+        return Optional.<@NonNull Key>empty();
+    }
+    return Optional.of(new Key(builtInPrefixedName, values));
+  }
+
+  /**
+   * @param key An invocation key
+   * @return The recorded result of the invocation, if any; hits and misses are counted
+   */
+  @NonNull public Optional<@NonNull Entry> get(@NonNull Key key)
+  {
+    Entry entry = this.entries.get(key);
+
+    if (entry != null)
+      this.numberOfHits.increment();
+    else
+      this.numberOfMisses.increment();
+
+    return Optional.ofNullable(entry);
+  }
+
+  /**
+   * @param key         An invocation key
+   * @param isSatisfied The result of the built-in
+   * @param arguments   The arguments after the built-in bound its unbound arguments
+   */
+  public void put(@NonNull Key key, boolean isSatisfied, @NonNull List<@NonNull SWRLBuiltInArgument> arguments)
+  {
+    if (this.entries.size() >= this.maximumSize)
+      this.entries.clear();
+
+    this.entries.put(key, new Entry(isSatisfied, arguments.toArray(new SWRLBuiltInArgument[arguments.size()])));
+  }
+
+  public void clear()
+  {
+    this.entries.clear();
+  }
+
+  public long getNumberOfHits()
+  {
+    return this.numberOfHits.sum();
+  }
+
+  public long getNumberOfMisses()
+  {
+    return this.numberOfMisses.sum();
+  }
+
+  public static final class Key
+  {
+    @NonNull private final String builtInPrefixedName;
+    @NonNull private final Object[] values;
+    private final int hashCode;
+
+    private Key(@NonNull String builtInPrefixedName, @NonNull Object[] values)
+    {
+      this.builtInPrefixedName = builtInPrefixedName;
+      this.values = values;
+      this.hashCode = 31 * builtInPrefixedName.hashCode() + Arrays.hashCode(values);
+    }
+
+    @Override public boolean equals(@Nullable Object o)
+    {
+      if (this == o)
+        return true;
+      if (o == null || getClass() != o.getClass())
+        return false;
+
+      Key that = (Key)o;
+
+      return this.hashCode == that.hashCode && this.builtInPrefixedName.equals(that.builtInPrefixedName) && Arrays
+        .equals(this.values, that.values);
+    }
+
+    @Override public int hashCode()
+    {
+      return this.hashCode;
+    }
+  }
+
+  public static final class Entry
+  {
+    private final boolean isSatisfied;
+    @NonNull private final SWRLBuiltInArgument[] boundArguments;
+
+    private Entry(boolean isSatisfied, @NonNull SWRLBuiltInArgument[] boundArguments)
+    {
+      this.isSatisfied = isSatisfied;
+      this.boundArguments = boundArguments;
+    }
+
+    /**
+     * Bind the unbound arguments of an invocation with the same key to the values recorded for them.
+     *
+     * @param arguments The arguments of the invocation
+     * @return The result of the built-in
+     */
+    public boolean replay(@NonNull List<@NonNull SWRLBuiltInArgument> arguments)
+    {
+      if (this.isSatisfied)
+        for (int argumentIndex = 0; argumentIndex < this.boundArguments.length; argumentIndex++) {
+          SWRLBuiltInArgument argument = arguments.get(argumentIndex);
+
+          if (argument.isVariable() && argument.asVariable().isUnbound())
+            arguments.set(argumentIndex, this.boundArguments[argumentIndex]);
+        }
+      return this.isSatisfied;
+    }
+  }
+}
@@ -127,6 +127,15 @@ public interface SWRLBuiltInArgument extends SWRLDArgument
    */
   @NonNull SWRLDatatypeBuiltInArgument asSWRLDatatypeBuiltInArgument() throws SWRLBuiltInException;
 
+  /**
+   * @return The argument as a SWRL list built-in argument
+   * @throws SWRLBuiltInException If the argument is not a list; by default every argument is rejected
+   */
+  @NonNull default SWRLListBuiltInArgument asSWRLListBuiltInArgument() throws SWRLBuiltInException
+  {
+    throw new SWRLBuiltInException(getClass().getName() + " is not an " + SWRLListBuiltInArgument.class.getName());
+  }
+
   /**
    * @return True if the argument is a variable and was bound
    */
@@ -12,6 +12,7 @@ import org.semanticweb.owlapi.model.OWLLiteral;
 import org.semanticweb.owlapi.model.OWLNamedIndividual;
 import org.semanticweb.owlapi.model.OWLObjectProperty;
 import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
+import org.swrlapi.exceptions.SWRLAPIException;
 import org.swrlapi.literal.XSDDate;
 import org.swrlapi.literal.XSDDateTime;
 import org.swrlapi.literal.XSDDuration;
@@ -41,6 +42,17 @@ public interface SWRLBuiltInArgumentCreator
    */
   @NonNull SWRLClassExpressionBuiltInArgument createClassExpressionBuiltInArgument(@NonNull OWLClassExpression ce);
 
+  /**
+   * By default this method throws, so creators written before list arguments were added need not implement it.
+   *
+   * @param list A list of built-in arguments
+   * @return A list built-in argument
+   */
+  @NonNull default SWRLListBuiltInArgument createListBuiltInArgument(@NonNull SWRLBuiltInArgumentList list)
+  {
+    throw new SWRLAPIException("creator " + getClass().getName() + " does not support list built-in arguments");
+  }
+
   /**
    * @param individual An OWL individual
    * @return An individual built-in argument
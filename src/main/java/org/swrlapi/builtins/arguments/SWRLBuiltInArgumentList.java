@@ -0,0 +1,303 @@
+package org.swrlapi.builtins.arguments;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.dataflow.qual.Deterministic;
+import org.checkerframework.dataflow.qual.SideEffectFree;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * An immutable list of built-in arguments, used as the value of list built-in arguments.
+ * <p>
+ * Lists are singly linked and share structure: the rest of a list is an existing list, so {@link #getFirst()},
+ * {@link #getRest()} and {@link #size()} take constant time, and operations that produce a list share the longest
+ * suffix of an input that they can rather than copying it. Membership tests on longer lists use a hash index of the
+ * list's elements, which is built the first time it is needed.
+ *
+ * @see SWRLListBuiltInArgument
+ */
+public final class SWRLBuiltInArgumentList implements Iterable<@NonNull SWRLBuiltInArgument>, Serializable
+{
+  private static final long serialVersionUID = 1L;
+
+  @NonNull public static final SWRLBuiltInArgumentList EMPTY = new SWRLBuiltInArgumentList();
+
+  // Lists shorter than this are searched linearly rather than indexed
+  private static final int MINIMUM_INDEXED_SIZE = 8;
+
+  @Nullable private final SWRLBuiltInArgument first;
+  @Nullable private final SWRLBuiltInArgumentList rest;
+  private final int size;
+  @Nullable private transient volatile Set<@NonNull SWRLBuiltInArgument> index;
+  private int hashCode; // Zero until computed
+
+  private SWRLBuiltInArgumentList()
+  {
+    this.first = null;
+    this.rest = null;
+    this.size = 0;
+  }
+
+  private SWRLBuiltInArgumentList(@NonNull SWRLBuiltInArgument first, @NonNull SWRLBuiltInArgumentList rest)
+  {
+    this.first = first;
+    this.rest = rest;
+    this.size = rest.size + 1;
+  }
+
+  /**
+   * @param arguments A list of built-in arguments
+   * @return A list containing the arguments in order
+   */
+  @NonNull public static SWRLBuiltInArgumentList of(@NonNull List<@NonNull SWRLBuiltInArgument> arguments)
+  {
+    return prependAll(arguments, 0, arguments.size(), EMPTY);
+  }
+
+  /**
+   * @param argument A built-in argument
+   * @return A list with the argument as its first element and this list as its rest
+   */
+  @NonNull public SWRLBuiltInArgumentList prepend(@NonNull SWRLBuiltInArgument argument)
+  {
+    return new SWRLBuiltInArgumentList(argument, this);
+  }
+
+  @NonNull public Optional<@NonNull SWRLBuiltInArgument> getFirst()
+  {
+    return Optional.ofNullable(this.first);
+  }
+
+  @NonNull public Optional<@NonNull SWRLBuiltInArgumentList> getRest()
+  {
+    return Optional.ofNullable(this.rest);
+  }
+
+  public int size()
+  {
+    return this.size;
+  }
+
+  public boolean isEmpty()
+  {
+    return this.size == 0;
+  }
+
+  public boolean contains(@NonNull SWRLBuiltInArgument argument)
+  {
+    if (this.size < MINIMUM_INDEXED_SIZE) {
+      for (SWRLBuiltInArgument element : this)
+        if (element.equals(argument))
+          return true;
+      return false;
+    } else
+      return getIndex().contains(argument);
+  }
+
+  /**
+   * @param list A list
+   * @return This list followed by the list, which is shared rather than copied
+   */
+  @NonNull public SWRLBuiltInArgumentList concat(@NonNull SWRLBuiltInArgumentList list)
+  {
+    if (list.isEmpty())
+      return this;
+    else
+      return prependAll(toList(), 0, this.size, list);
+  }
+
+  /**
+   * @param fromIndex The 0-based index of the first element
+   * @param toIndex   The 0-based index after the last element
+   * @return The elements in the range, sharing the rest of this list if the range extends to its end
+   * @throws IndexOutOfBoundsException If the range is not within the list
+   */
+  @NonNull public SWRLBuiltInArgumentList subList(int fromIndex, int toIndex)
+  {
+    if (fromIndex < 0 || toIndex > this.size || fromIndex > toIndex)
+      throw new IndexOutOfBoundsException(
+        "range " + fromIndex + " to " + toIndex + " is not within a list of size " + this.size);
+
+    SWRLBuiltInArgumentList list = this;
+
+    for (int i = 0; i < fromIndex; i++)
+      list = list.rest;
+
+    if (toIndex == this.size)
+      return list;
+    else
+      return prependAll(list.toList(toIndex - fromIndex), 0, toIndex - fromIndex, EMPTY);
+  }
+
+  /**
+   * @param list A list
+   * @return The elements of this list that are in the list, in the order of this list
+   */
+  @NonNull public SWRLBuiltInArgumentList intersection(@NonNull SWRLBuiltInArgumentList list)
+  {
+    return filter(list, true);
+  }
+
+  /**
+   * @param list A list
+   * @return The elements of this list that are not in the list, in the order of this list
+   */
+  @NonNull public SWRLBuiltInArgumentList subtraction(@NonNull SWRLBuiltInArgumentList list)
+  {
+    return filter(list, false);
+  }
+
+  /**
+   * @return The distinct elements of the list, in order
+   */
+  @NonNull public Set<@NonNull SWRLBuiltInArgument> toSet()
+  {
+    return Collections.unmodifiableSet(new LinkedHashSet<>(toList()));
+  }
+
+  @NonNull public List<@NonNull SWRLBuiltInArgument> toList()
+  {
+    return toList(this.size);
+  }
+
+  @NonNull @Override public Iterator<@NonNull SWRLBuiltInArgument> iterator()
+  {
+    return new Iterator<@NonNull SWRLBuiltInArgument>()
+    {
+      @NonNull private SWRLBuiltInArgumentList list = SWRLBuiltInArgumentList.this;
+
+      @Override public boolean hasNext()
+      {
+        return !this.list.isEmpty();
+      }
+
+      @NonNull @Override public SWRLBuiltInArgument next()
+      {
+        if (this.list.isEmpty())
+          throw new NoSuchElementException();
+
+        SWRLBuiltInArgument element = this.list.first;
+        this.list = this.list.rest;
+
+        return element;
+      }
+    };
+  }
+
+  @SideEffectFree @Deterministic @Override public boolean equals(@Nullable Object o)
+  {
+    if (this == o)
+      return true;
+    if (o == null || getClass() != o.getClass())
+      return false;
+
+    SWRLBuiltInArgumentList that = (SWRLBuiltInArgumentList)o;
+
+    if (this.size != that.size || (this.hashCode != 0 && that.hashCode != 0 && this.hashCode != that.hashCode))
+      return false;
+
+    SWRLBuiltInArgumentList list1 = this, list2 = that;
+
+    while (list1 != list2 && !list1.isEmpty()) { // Shared suffixes are equal
+      if (!list1.first.equals(list2.first))
+        return false;
+      list1 = list1.rest;
+      list2 = list2.rest;
+    }
+    return true;
+  }
+
+  @SideEffectFree @Deterministic @Override public int hashCode()
+  {
+    int hashCode = this.hashCode;
+
+    if (hashCode == 0) { // Computed as List.hashCode() is
+      hashCode = 1;
+      for (SWRLBuiltInArgument element : this)
+        hashCode = 31 * hashCode + element.hashCode();
+      this.hashCode = hashCode;
+    }
+    return hashCode;
+  }
+
+  @NonNull @SideEffectFree @Override public String toString()
+  {
+    StringBuilder sb = new StringBuilder("(");
+
+    for (SWRLBuiltInArgument element : this) {
+      if (sb.length() > 1)
+        sb.append(", ");
+      sb.append(element);
+    }
+    return sb.append(")").toString();
+  }
+
+  @NonNull private List<@NonNull SWRLBuiltInArgument> toList(int numberOfElements)
+  {
+    List<@NonNull SWRLBuiltInArgument> elements = new ArrayList<>(numberOfElements);
+    SWRLBuiltInArgumentList list = this;
+
+    for (int i = 0; i < numberOfElements; i++) {
+      elements.add(list.first);
+      list = list.rest;
+    }
+    return elements;
+  }
+
+  @NonNull private SWRLBuiltInArgumentList filter(@NonNull SWRLBuiltInArgumentList list, boolean retainMembers)
+  {
+    List<@NonNull SWRLBuiltInArgument> elements = new ArrayList<>();
+    int lastRejected = -1, i = 0;
+
+    for (SWRLBuiltInArgument element : this) {
+      if (list.contains(element) == retainMembers)
+        elements.add(element);
+      else
+        lastRejected = i;
+      i++;
+    }
+
+    if (lastRejected == -1) // Nothing was removed
+      return this;
+    else {
+      SWRLBuiltInArgumentList retainedSuffix = subList(lastRejected + 1, this.size);
+      int numberOfCopiedElements = elements.size() - retainedSuffix.size();
+
+      return prependAll(elements, 0, numberOfCopiedElements, retainedSuffix);
+    }
+  }
+
+  @NonNull private Set<@NonNull SWRLBuiltInArgument> getIndex()
+  {
+    Set<@NonNull SWRLBuiltInArgument> index = this.index;
+
+    if (index == null) { // Building the index twice in a race is harmless
+      index = new HashSet<>(this.size * 4 / 3 + 1);
+      for (SWRLBuiltInArgument element : this)
+        index.add(element);
+      this.index = index;
+    }
+    return index;
+  }
+
+  @NonNull private static SWRLBuiltInArgumentList prependAll(@NonNull List<@NonNull SWRLBuiltInArgument> arguments,
+    int fromIndex, int toIndex, @NonNull SWRLBuiltInArgumentList rest)
+  {
+    SWRLBuiltInArgumentList list = rest;
+
+    for (int i = toIndex - 1; i >= fromIndex; i--)
+      list = new SWRLBuiltInArgumentList(arguments.get(i), list);
+
+    return list;
+  }
+}
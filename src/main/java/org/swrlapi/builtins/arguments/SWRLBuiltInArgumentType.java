@@ -21,6 +21,7 @@ public final class SWRLBuiltInArgumentType<E extends SWRLBuiltInArgument>
   @NonNull public static final SWRLBuiltInArgumentType<SWRLDataPropertyExpressionBuiltInArgument> DATA_PROPERTY_EXPRESSION;
   @NonNull public static final SWRLBuiltInArgumentType<SWRLAnnotationPropertyBuiltInArgument> ANNOTATION_PROPERTY;
   @NonNull public static final SWRLBuiltInArgumentType<SWRLDatatypeBuiltInArgument> DATATYPE;
+  @NonNull public static final SWRLBuiltInArgumentType<SWRLListBuiltInArgument> LIST;
 
   @NonNull public static final List<SWRLBuiltInArgumentType<?>> VALUES;
 
@@ -40,9 +41,10 @@ public final class SWRLBuiltInArgumentType<E extends SWRLBuiltInArgument>
     DATA_PROPERTY_EXPRESSION = new SWRLBuiltInArgumentType<>();
     ANNOTATION_PROPERTY = new SWRLBuiltInArgumentType<>();
     DATATYPE = new SWRLBuiltInArgumentType<>();
+    LIST = new SWRLBuiltInArgumentType<>();
     VALUES = Collections.unmodifiableList(Arrays.asList(
       new SWRLBuiltInArgumentType<?>[] { VARIABLE, MULTI_VALUE_VARIABLE, COLLECTION_VARIABLE, LITERAL, CLASS,
         CLASS_EXPRESSION, NAMED_INDIVIDUAL, OBJECT_PROPERTY, OBJECT_PROPERTY_EXPRESSION, DATA_PROPERTY,
-        DATA_PROPERTY_EXPRESSION, ANNOTATION_PROPERTY, DATATYPE }));
+        DATA_PROPERTY_EXPRESSION, ANNOTATION_PROPERTY, DATATYPE, LIST }));
   }
 }
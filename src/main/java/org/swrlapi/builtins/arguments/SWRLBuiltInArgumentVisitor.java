@@ -1,6 +1,7 @@
 package org.swrlapi.builtins.arguments;
 
 import android.annotation.NonNull;
+import org.swrlapi.exceptions.SWRLAPIException;
 
 /**
  * @see org.swrlapi.builtins.arguments.SWRLBuiltInArgument
@@ -33,4 +34,14 @@ public interface SWRLBuiltInArgumentVisitor
   void visit(@NonNull SQWRLCollectionVariableBuiltInArgument argument);
 
   void visit(@NonNull SWRLMultiValueVariableBuiltInArgument argument);
+
+  /**
+   * By default this method throws, so visitors written before list arguments were added need not implement it.
+   *
+   * @param argument A list built-in argument
+   */
+  default void visit(@NonNull SWRLListBuiltInArgument argument)
+  {
+    throw new SWRLAPIException("visitor " + getClass().getName() + " does not support list built-in arguments");
+  }
 }
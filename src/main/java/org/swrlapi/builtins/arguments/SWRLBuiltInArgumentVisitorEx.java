@@ -1,6 +1,7 @@
 package org.swrlapi.builtins.arguments;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.swrlapi.exceptions.SWRLAPIException;
 
 /**
  * @see org.swrlapi.builtins.arguments.SWRLBuiltInArgument
@@ -32,5 +33,16 @@ public interface SWRLBuiltInArgumentVisitorEx<T>
 
   @NonNull T visit(@NonNull SWRLMultiValueVariableBuiltInArgument argument);
 
+  /**
+   * By default this method throws, so visitors written before list arguments were added need not implement it.
+   *
+   * @param argument A list built-in argument
+   * @return The result of visiting the argument
+   */
+  @NonNull default T visit(@NonNull SWRLListBuiltInArgument argument)
+  {
+    throw new SWRLAPIException("visitor " + getClass().getName() + " does not support list built-in arguments");
+  }
+
   @NonNull T visit(@NonNull SQWRLCollectionVariableBuiltInArgument argument);
 }
@@ -0,0 +1,17 @@
+package org.swrlapi.builtins.arguments;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Interface representing list arguments to SWRL built-ins. List arguments are created by the list built-ins of the
+ * core SWRL built-in library, which also accept individuals that head <code>rdf:List</code> structures in an ontology.
+ *
+ * @see SWRLBuiltInArgumentList
+ */
+public interface SWRLListBuiltInArgument extends SWRLBuiltInArgument
+{
+  /**
+   * @return The list
+   */
+  @NonNull SWRLBuiltInArgumentList getList();
+}
@@ -0,0 +1,154 @@
+package org.swrlapi.builtins.sqwrl;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.semanticweb.owlapi.model.OWLDatatype;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLLiteralBuiltInArgument;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Running aggregate state for a SQWRL collection, updated as elements are added to it so that aggregates over the
+ * collection can be answered without iterating over it.
+ * <p>
+ * The state is kept for the least general case each aggregate can answer. The sum is kept only while every element is
+ * numeric, and the least and greatest elements only while every element is a literal and no two distinct elements
+ * compare as equal. Otherwise the corresponding accessor returns empty and callers compute the aggregate from the
+ * collection, which also reports any error in the way the built-in always has.
+ * <p>
+ * A version is incremented on every change so that results derived from the collection can be checked for staleness.
+ *
+ * @see SWRLBuiltInLibraryImpl
+ */
+final class SQWRLCollectionAggregates
+{
+  private long version;
+  @Nullable private BigDecimal sum = BigDecimal.ZERO;
+  @Nullable private SWRLBuiltInArgument least, greatest;
+  private boolean isOrdered = true;
+  // One element of each numeric datatype in the collection; together they determine the datatype of the sum
+  @NonNull private final Map<@NonNull OWLDatatype, @NonNull SWRLBuiltInArgument> numericDatatypeElements =
+    new LinkedHashMap<>();
+
+  @Nullable private SQWRLCollectionAggregates operand1, operand2;
+  private long operand1Version, operand2Version;
+
+  /**
+   * @param element      The element added to the collection
+   * @param numericValue The numeric value of the element, or null if it is not a comparable numeric literal
+   */
+  void add(@NonNull SWRLBuiltInArgument element, @Nullable BigDecimal numericValue)
+  {
+    this.version++;
+
+    if (this.sum != null) {
+      if (numericValue != null) {
+        this.sum = this.sum.add(numericValue);
+        this.numericDatatypeElements
+          .putIfAbsent(((SWRLLiteralBuiltInArgument)element).getLiteral().getDatatype(), element);
+      } else
+        this.sum = null;
+    }
+
+    if (this.isOrdered) {
+      if (!(element instanceof SWRLLiteralBuiltInArgument))
+        this.isOrdered = false;
+      else if (this.least == null || this.greatest == null) {
+        this.least = element;
+        this.greatest = element;
+      } else
+        updateExtremes(element, this.least, this.greatest);
+    }
+  }
+
+  long getVersion()
+  {
+    return this.version;
+  }
+
+  /**
+   * @return The sum of the elements, or empty if the collection has an element that is not numeric
+   */
+  @NonNull Optional<@NonNull BigDecimal> getSum()
+  {
+    return Optional.ofNullable(this.sum);
+  }
+
+  /**
+   * @return One element of each numeric datatype in the collection, for determining the datatype of the sum
+   */
+  @NonNull List<@NonNull SWRLBuiltInArgument> getNumericDatatypeElements()
+  {
+    return new ArrayList<>(this.numericDatatypeElements.values());
+  }
+
+  /**
+   * @return The first least element in the collection's order, or empty if it cannot be determined incrementally
+   */
+  @NonNull Optional<@NonNull SWRLBuiltInArgument> getLeast()
+  {
+    return this.isOrdered ? Optional.ofNullable(this.least) : Optional.<@NonNull SWRLBuiltInArgument>empty();
+  }
+
+  /**
+   * @return The last greatest element in the collection's order, or empty if it cannot be determined incrementally
+   */
+  @NonNull Optional<@NonNull SWRLBuiltInArgument> getGreatest()
+  {
+    return this.isOrdered ? Optional.ofNullable(this.greatest) : Optional.<@NonNull SWRLBuiltInArgument>empty();
+  }
+
+  /**
+   * Record that the collection is the result of an operation on two collections at their current versions.
+   */
+  void setOperands(@NonNull SQWRLCollectionAggregates operand1, @NonNull SQWRLCollectionAggregates operand2)
+  {
+    this.operand1 = operand1;
+    this.operand1Version = operand1.getVersion();
+    this.operand2 = operand2;
+    this.operand2Version = operand2.getVersion();
+  }
+
+  boolean isOperationResult()
+  {
+    return this.operand1 != null;
+  }
+
+  /**
+   * @return True if the collection is the result of an operation on the two collections at their current versions
+   */
+  boolean hasOperands(@NonNull SQWRLCollectionAggregates operand1, @NonNull SQWRLCollectionAggregates operand2)
+  {
+    return this.operand1 == operand1 && this.operand1Version == operand1.getVersion() && this.operand2 == operand2
+      && this.operand2Version == operand2.getVersion();
+  }
+
+  /**
+   * A sorted list yields the first of several least elements and the last of several greatest ones. Distinct elements
+   * that compare as equal make that choice depend on the collection's iteration order, so they are left to the sort.
+   */
+  private void updateExtremes(@NonNull SWRLBuiltInArgument element, @NonNull SWRLBuiltInArgument least,
+    @NonNull SWRLBuiltInArgument greatest)
+  {
+    try {
+      int leastComparison = element.compareTo(least), greatestComparison = element.compareTo(greatest);
+
+      if ((leastComparison == 0 && !element.equals(least)) || (greatestComparison == 0 && !element.equals(greatest)))
+        this.isOrdered = false;
+      else {
+        if (leastComparison < 0)
+          this.least = element;
+        if (greatestComparison > 0)
+          this.greatest = element;
+      }
+    } catch (RuntimeException e) { // Elements that cannot be compared fail when the collection is sorted instead
+      this.isOrdered = false;
+    }
+  }
+}
@@ -1,6 +1,7 @@
 package org.swrlapi.builtins.sqwrl;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.SWRLArgument;
 import org.swrlapi.builtins.AbstractSWRLBuiltInLibrary;
@@ -13,6 +14,7 @@ import org.swrlapi.sqwrl.values.*;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.*;
+import java.util.function.BinaryOperator;
 
 /**
  * Implementation library for SQWRL built-ins.
@@ -48,6 +50,11 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
 
   @NonNull private final Set<@NonNull String> setKeys, bagKeys;
 
+  /**
+   * Running aggregates of collections, keyed by collection identity and built on first use
+   */
+  @NonNull private final Map<@NonNull Collection<@NonNull SWRLBuiltInArgument>, @NonNull SQWRLCollectionAggregates> collectionAggregatesMap;
+
   public SWRLBuiltInLibraryImpl()
   {
     super(PREFIX, NAMESPACE, new HashSet<>(Arrays.asList(BUILT_IN_NAMES)));
@@ -56,6 +63,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     this.collectionGroupElementNumbersMap = new HashMap<>();
     this.setKeys = new HashSet<>();
     this.bagKeys = new HashSet<>();
+    this.collectionAggregatesMap = new IdentityHashMap<>();
   }
 
   @Override public void reset()
@@ -64,6 +72,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     this.collectionGroupElementNumbersMap.clear();
     this.setKeys.clear();
     this.bagKeys.clear();
+    this.collectionAggregatesMap.clear();
   }
 
   /**
@@ -285,7 +294,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     else
       set = createSet(queryName, collectionName, collectionGroupKey);
 
-    set.add(element);
+    addCollectionElement(set, element);
 
     if (isUnboundArgument(resultCollectionArgumentNumber, arguments)) {
       SWRLVariableBuiltInArgument variableArgument = arguments.get(resultCollectionArgumentNumber).asVariable();
@@ -321,7 +330,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     else
       bag = createBag(queryName, collectionName, collectionGroupKey);
 
-    bag.add(element);
+    addCollectionElement(bag, element);
 
     if (isUnboundArgument(resultCollectionArgumentNumber, arguments)) {
       SWRLVariableBuiltInArgument variableArgument = arguments.get(resultCollectionArgumentNumber).asVariable();
@@ -540,14 +549,11 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       if (collection.isEmpty())
         return false;
       else {
-        BigDecimal sumValue = BigDecimal.ZERO;
-        for (SWRLBuiltInArgument element : collection) {
-          checkThatElementIsComparable(element);
-          BigDecimal value = getArgumentAsADecimal(element);
-          sumValue = sumValue.add(value);
-        }
-        SWRLBuiltInArgument resultArgument = createLeastNarrowNumericLiteralBuiltInArgument(sumValue,
-          new ArrayList<>(collection));
+        SQWRLCollectionAggregates aggregates = getCollectionAggregates(collection);
+        Optional<@NonNull BigDecimal> sumValue = aggregates.getSum();
+        SWRLBuiltInArgument resultArgument = sumValue.isPresent() ?
+          createLeastNarrowNumericLiteralBuiltInArgument(sumValue.get(), aggregates.getNumericDatatypeElements()) :
+          createLeastNarrowNumericLiteralBuiltInArgument(sum(collection), new ArrayList<>(collection));
 
         return processResultArgument(arguments, resultArgumentNumber, resultArgument);
       }
@@ -593,15 +599,13 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       if (collection.isEmpty())
         return false;
       else {
-        BigDecimal sumValue = BigDecimal.ZERO;
-        for (SWRLBuiltInArgument element : collection) {
-          checkThatElementIsComparable(element);
-          BigDecimal value = getArgumentAsADecimal(element);
-          sumValue = sumValue.add(value);
-        }
-        BigDecimal avgValue = sumValue.divide(BigDecimal.valueOf(collection.size()));
-        SWRLBuiltInArgument resultArgument = createLeastNarrowNumericLiteralBuiltInArgument(avgValue,
-          new ArrayList<>(collection));
+        SQWRLCollectionAggregates aggregates = getCollectionAggregates(collection);
+        Optional<@NonNull BigDecimal> sumValue = aggregates.getSum();
+        BigDecimal avgValue = (sumValue.isPresent() ? sumValue.get() : sum(collection))
+          .divide(BigDecimal.valueOf(collection.size()));
+        SWRLBuiltInArgument resultArgument = sumValue.isPresent() ?
+          createLeastNarrowNumericLiteralBuiltInArgument(avgValue, aggregates.getNumericDatatypeElements()) :
+          createLeastNarrowNumericLiteralBuiltInArgument(avgValue, new ArrayList<>(collection));
 
         return processResultArgument(arguments, resultArgumentNumber, resultArgument);
       }
@@ -711,8 +715,14 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     if (getIsInConsequent())
       return true; // Post processed - ignore
     else {
-      List<@NonNull SWRLBuiltInArgument> sortedList = getSortedListInSingleOperandCollectionOperation(arguments,
+      Collection<SWRLBuiltInArgument> collection = getCollectionInSingleCollectionOperation(arguments,
         sourceCollectionArgumentNumber, numberOfCoreArguments);
+      Optional<@NonNull SWRLBuiltInArgument> greatestElement = getCollectionAggregates(collection).getGreatest();
+
+      if (greatestElement.isPresent())
+        return processResultArgument(arguments, resultArgumentNumber, greatestElement.get());
+
+      List<@NonNull SWRLBuiltInArgument> sortedList = getSortedList(collection);
 
       if (!sortedList.isEmpty()) {
         SWRLBuiltInArgument greatest = sortedList.get(sortedList.size() - 1);
@@ -760,8 +770,14 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     if (getIsInConsequent())
       return true; // Post processed - ignore
     else {
-      List<@NonNull SWRLBuiltInArgument> sortedList = getSortedListInSingleOperandCollectionOperation(arguments,
+      Collection<SWRLBuiltInArgument> collection = getCollectionInSingleCollectionOperation(arguments,
         sourceCollectionArgumentNumber, numberOfCoreArguments);
+      Optional<@NonNull SWRLBuiltInArgument> leastElement = getCollectionAggregates(collection).getLeast();
+
+      if (leastElement.isPresent())
+        return processResultArgument(arguments, resultArgumentNumber, leastElement.get());
+
+      List<@NonNull SWRLBuiltInArgument> sortedList = getSortedList(collection);
 
       if (!sortedList.isEmpty()) {
         SWRLBuiltInArgument least = sortedList.get(resultArgumentNumber);
@@ -1263,12 +1279,13 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       collection2NumberOfGroupElements);
     Collection<SWRLBuiltInArgument> collection1 = getCollection(queryName, collection1Name, collection1GroupKey);
     Collection<SWRLBuiltInArgument> collection2 = getCollection(queryName, collection2Name, collection2GroupKey);
-    Collection<SWRLBuiltInArgument> intersection = new HashSet<>(collection1);
 
-    intersection.retainAll(collection2);
-
-    if (!isCollection(queryName, resultCollectionName, resultCollectionGroupKey))
-      recordCollection(queryName, resultCollectionName, resultCollectionGroupKey, intersection);
+    recordCollectionOperationResult(queryName, resultCollectionName, resultCollectionGroupKey, collection1,
+      collection2, (c1, c2) -> {
+        Collection<SWRLBuiltInArgument> intersection = new HashSet<>(c1);
+        intersection.retainAll(c2);
+        return intersection;
+      });
 
     if (isUnboundArgument(resultCollectionArgumentNumber, arguments)) {
       SWRLVariableBuiltInArgument variableArgument = arguments.get(resultCollectionArgumentNumber).asVariable();
@@ -1308,12 +1325,13 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       resultCollectionArgumentNumber, numberOfCoreArguments, 0, resultCollectionNumberOfGroupElements);
     Collection<SWRLBuiltInArgument> collection1 = getCollection(queryName, collection1Name, collection1GroupKey);
     Collection<SWRLBuiltInArgument> collection2 = getCollection(queryName, collection2Name, collection2GroupKey);
-    List<@NonNull SWRLBuiltInArgument> resultCollection = new ArrayList<>(collection1);
 
-    resultCollection.addAll(collection2);
-
-    if (!isCollectionRecorded(resultCollectionName, resultCollectionGroupKey))
-      recordCollection(queryName, resultCollectionName, resultCollectionGroupKey, resultCollection);
+    recordCollectionOperationResult(queryName, resultCollectionName, resultCollectionGroupKey, collection1,
+      collection2, (c1, c2) -> {
+        List<@NonNull SWRLBuiltInArgument> resultCollection = new ArrayList<>(c1);
+        resultCollection.addAll(c2);
+        return resultCollection;
+      });
 
     if (isUnboundArgument(resultCollectionArgumentNumber, arguments)) {
       SWRLVariableBuiltInArgument variableArgument = arguments.get(resultCollectionArgumentNumber).asVariable();
@@ -1353,12 +1371,13 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       resultCollectionArgumentNumber, numberOfCoreArguments, 0, resultCollectionNumberOfGroupElements);
     Collection<SWRLBuiltInArgument> collection1 = getCollection(queryName, collection1Name, collection1GroupKey);
     Collection<SWRLBuiltInArgument> collection2 = getCollection(queryName, collection2Name, collection2GroupKey);
-    Set<@NonNull SWRLBuiltInArgument> union = new HashSet<>(collection1);
 
-    union.addAll(collection2);
-
-    if (!isCollection(queryName, resultCollectionName, resultCollectionGroupKey))
-      recordCollection(queryName, resultCollectionName, resultCollectionGroupKey, union);
+    recordCollectionOperationResult(queryName, resultCollectionName, resultCollectionGroupKey, collection1,
+      collection2, (c1, c2) -> {
+        Set<@NonNull SWRLBuiltInArgument> union = new HashSet<>(c1);
+        union.addAll(c2);
+        return union;
+      });
 
     if (isUnboundArgument(resultCollectionArgumentNumber, arguments)) {
       SWRLVariableBuiltInArgument variableArgument = arguments.get(resultCollectionArgumentNumber).asVariable();
@@ -1398,12 +1417,13 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       collection2NumberOfGroupElements);
     Collection<SWRLBuiltInArgument> collection1 = getCollection(queryName, collection1Name, collection1GroupKey);
     Collection<SWRLBuiltInArgument> collection2 = getCollection(queryName, collection2Name, collection2GroupKey);
-    Collection<SWRLBuiltInArgument> difference = new HashSet<>(collection1);
 
-    difference.removeAll(collection2);
-
-    if (!isCollection(queryName, resultCollectionName, resultCollectionGroupKey))
-      recordCollection(queryName, resultCollectionName, resultCollectionGroupKey, difference);
+    recordCollectionOperationResult(queryName, resultCollectionName, resultCollectionGroupKey, collection1,
+      collection2, (c1, c2) -> {
+        Collection<SWRLBuiltInArgument> difference = new HashSet<>(c1);
+        difference.removeAll(c2);
+        return difference;
+      });
 
     if (isUnboundArgument(resultCollectionArgumentNumber, arguments)) {
       SWRLVariableBuiltInArgument variableArgument = arguments.get(resultCollectionArgumentNumber).asVariable();
@@ -1720,13 +1740,109 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   @NonNull private List<@NonNull SWRLBuiltInArgument> getSortedList(@NonNull String queryName,
     @NonNull String collectionName, @NonNull String collectionGroupKey) throws SWRLBuiltInException
   {
-    Collection<SWRLBuiltInArgument> collection = getCollection(queryName, collectionName, collectionGroupKey);
+    return getSortedList(getCollection(queryName, collectionName, collectionGroupKey));
+  }
+
+  @NonNull private List<@NonNull SWRLBuiltInArgument> getSortedList(
+    @NonNull Collection<@NonNull SWRLBuiltInArgument> collection)
+  {
     List<@NonNull SWRLBuiltInArgument> result = new ArrayList<>(collection);
     Collections.sort(result); // TODO See if we can be clever (though types not necessarily comparable)
 
     return result;
   }
 
+  /**
+   * The sum of a collection computed element by element, which fails on the first element that is not numeric.
+   */
+  @NonNull private BigDecimal sum(@NonNull Collection<@NonNull SWRLBuiltInArgument> collection)
+    throws SWRLBuiltInException
+  {
+    BigDecimal sumValue = BigDecimal.ZERO;
+
+    for (SWRLBuiltInArgument element : collection) {
+      checkThatElementIsComparable(element);
+      BigDecimal value = getArgumentAsADecimal(element);
+      sumValue = sumValue.add(value);
+    }
+    return sumValue;
+  }
+
+  /**
+   * A two-collection operation is evaluated once for each binding of its query body, but its result is recorded only
+   * once per group. The result is therefore computed only if it has not been recorded, or if either operand has changed
+   * since it was.
+   */
+  private void recordCollectionOperationResult(@NonNull String queryName, @NonNull String resultCollectionName,
+    @NonNull String resultCollectionGroupKey, @NonNull Collection<@NonNull SWRLBuiltInArgument> collection1,
+    @NonNull Collection<@NonNull SWRLBuiltInArgument> collection2,
+    @NonNull BinaryOperator<@NonNull Collection<@NonNull SWRLBuiltInArgument>> operation) throws SWRLBuiltInException
+  {
+    SQWRLCollectionAggregates collection1Aggregates = getCollectionAggregates(collection1);
+    SQWRLCollectionAggregates collection2Aggregates = getCollectionAggregates(collection2);
+
+    if (!isCollection(queryName, resultCollectionName, resultCollectionGroupKey)) {
+      Collection<@NonNull SWRLBuiltInArgument> resultCollection = operation.apply(collection1, collection2);
+      recordCollection(queryName, resultCollectionName, resultCollectionGroupKey, resultCollection);
+      getCollectionAggregates(resultCollection).setOperands(collection1Aggregates, collection2Aggregates);
+    } else {
+      Collection<@NonNull SWRLBuiltInArgument> resultCollection = getCollection(queryName, resultCollectionName,
+        resultCollectionGroupKey);
+      SQWRLCollectionAggregates resultAggregates = getCollectionAggregates(resultCollection);
+
+      if (resultAggregates.isOperationResult() && !resultAggregates
+        .hasOperands(collection1Aggregates, collection2Aggregates)) {
+        resultCollection.clear();
+        resultCollection.addAll(operation.apply(collection1, collection2));
+        this.collectionAggregatesMap.remove(resultCollection); // Results derived from it see a new identity
+        getCollectionAggregates(resultCollection).setOperands(collection1Aggregates, collection2Aggregates);
+      }
+    }
+  }
+
+  private void addCollectionElement(@NonNull Collection<@NonNull SWRLBuiltInArgument> collection,
+    @NonNull SWRLBuiltInArgument element) throws SWRLBuiltInException
+  {
+    SQWRLCollectionAggregates aggregates = this.collectionAggregatesMap.get(collection);
+
+    if (collection.add(element) && aggregates != null) // Aggregates not yet built will include the element
+      aggregates.add(element, getNumericValue(element));
+  }
+
+  @NonNull private SQWRLCollectionAggregates getCollectionAggregates(
+    @NonNull Collection<@NonNull SWRLBuiltInArgument> collection) throws SWRLBuiltInException
+  {
+    SQWRLCollectionAggregates aggregates = this.collectionAggregatesMap.get(collection);
+
+    if (aggregates == null) {
+      aggregates = new SQWRLCollectionAggregates();
+      for (SWRLBuiltInArgument element : collection)
+        aggregates.add(element, getNumericValue(element));
+      this.collectionAggregatesMap.put(collection, aggregates);
+    }
+    return aggregates;
+  }
+
+  /**
+   * @return The value of a comparable numeric literal, or null for any other element
+   */
+  @Nullable private BigDecimal getNumericValue(@NonNull SWRLBuiltInArgument element) throws SWRLBuiltInException
+  {
+    if (element instanceof SWRLLiteralBuiltInArgument) {
+      SWRLLiteralBuiltInArgument literalArgument = (SWRLLiteralBuiltInArgument)element;
+      SQWRLLiteralResultValue literal = getSQWRLResultValueFactory().getLiteralValue(literalArgument.getLiteral());
+
+      if (literal.isComparable() && literal.isNumeric()) {
+        try {
+          return getArgumentAsADecimal(element);
+        } catch (SWRLBuiltInException e) {
+          return null; // Reported when the collection's sum is computed element by element
+        }
+      }
+    }
+    return null;
+  }
+
   @NonNull private List<@NonNull SWRLBuiltInArgument> createBag(@NonNull String queryName,
     @NonNull String collectionName, @NonNull String collectionGroupKey) throws SWRLBuiltInException
   {
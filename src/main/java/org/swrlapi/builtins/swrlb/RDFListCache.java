@@ -0,0 +1,170 @@
+package org.swrlapi.builtins.swrlb;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyChangeListener;
+import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgumentCreator;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgumentList;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The decoded <code>rdf:List</code> structures of an ontology and its imports, keyed by the IRI of the individual at
+ * the head of each list.
+ * <p>
+ * A list is a chain of named individuals, each with one <code>rdf:first</code> and one <code>rdf:rest</code>
+ * assertion, that ends at <code>rdf:nil</code>. An element asserted with <code>rdf:first</code> as an object property
+ * is an individual; one asserted with it as a data property is a literal. Each list is decoded once, and every suffix
+ * of it is cached along with it, so lists that share a tail in the ontology share it when decoded too. The cache is
+ * cleared when an <code>rdf:first</code> or <code>rdf:rest</code> assertion or an import of the ontology changes.
+ * <p>
+ * Instances are not thread safe; each built-in library owns its cache and is invoked by one bridge at a time.
+ */
+final class RDFListCache implements OWLOntologyChangeListener, AutoCloseable
+{
+  private static final IRI RDF_FIRST = OWLRDFVocabulary.RDF_FIRST.getIRI();
+  private static final IRI RDF_REST = OWLRDFVocabulary.RDF_REST.getIRI();
+  private static final IRI RDF_NIL = OWLRDFVocabulary.RDF_NIL.getIRI();
+
+  @NonNull private final OWLOntology ontology;
+  @NonNull private final SWRLBuiltInArgumentCreator argumentCreator;
+  @NonNull private final Map<@NonNull IRI, @NonNull SWRLBuiltInArgumentList> lists;
+
+  RDFListCache(@NonNull OWLOntology ontology, @NonNull SWRLBuiltInArgumentCreator argumentCreator)
+  {
+    this.ontology = ontology;
+    this.argumentCreator = argumentCreator;
+    this.lists = new HashMap<>();
+
+    this.ontology.getOWLOntologyManager().addOntologyChangeListener(this);
+  }
+
+  @NonNull OWLOntology getOntology()
+  {
+    return this.ontology;
+  }
+
+  /**
+   * @return The number of cached lists, including suffixes
+   */
+  int size()
+  {
+    return this.lists.size();
+  }
+
+  /**
+   * @param individualIRI The IRI of an individual
+   * @return The list headed by the individual, or empty if it does not head a well-formed list
+   */
+  @NonNull Optional<@NonNull SWRLBuiltInArgumentList> getList(@NonNull IRI individualIRI)
+  {
+    List<@NonNull IRI> nodeIRIs = new ArrayList<>();
+    List<@NonNull SWRLBuiltInArgument> elements = new ArrayList<>();
+    Set<@NonNull IRI> visitedNodeIRIs = new HashSet<>();
+    Set<@NonNull OWLOntology> importsClosure = this.ontology.getImportsClosure();
+    IRI nodeIRI = individualIRI;
+    SWRLBuiltInArgumentList list = getCachedList(nodeIRI);
+
+    while (list == null) { // Follow rdf:rest to the end of the list or to a list that is already decoded
+      OWLNamedIndividual node = getOWLNamedIndividual(nodeIRI);
+      SWRLBuiltInArgument element = null;
+      IRI restIRI = null;
+
+      for (OWLOntology o : importsClosure) {
+        for (OWLObjectPropertyAssertionAxiom axiom : o.getObjectPropertyAssertionAxioms(node)) {
+          if (axiom.getProperty().isAnonymous() || axiom.getObject().isAnonymous())
+            continue;
+
+          IRI propertyIRI = axiom.getProperty().asOWLObjectProperty().getIRI();
+
+          if (propertyIRI.equals(RDF_FIRST))
+            element = this.argumentCreator
+              .createNamedIndividualBuiltInArgument(axiom.getObject().asOWLNamedIndividual());
+          else if (propertyIRI.equals(RDF_REST))
+            restIRI = axiom.getObject().asOWLNamedIndividual().getIRI();
+        }
+        for (OWLDataPropertyAssertionAxiom axiom : o.getDataPropertyAssertionAxioms(node))
+          if (axiom.getProperty().asOWLDataProperty().getIRI().equals(RDF_FIRST))
+            element = this.argumentCreator.createLiteralBuiltInArgument(axiom.getObject());
+      }
+
+      visitedNodeIRIs.add(nodeIRI);
+      if (element == null || restIRI == null || visitedNodeIRIs.contains(restIRI)) // Not a list, or a cyclic one
+        return Optional.<@NonNull SWRLBuiltInArgumentList>empty();
+
+      nodeIRIs.add(nodeIRI);
+      elements.add(element);
+      nodeIRI = restIRI;
+      list = getCachedList(nodeIRI);
+    }
+
+    for (int i = nodeIRIs.size() - 1; i >= 0; i--) {
+      list = list.prepend(elements.get(i));
+      this.lists.put(nodeIRIs.get(i), list);
+    }
+    return Optional.of(list);
+  }
+
+  @Override public void ontologiesChanged(@Nonnull List<? extends OWLOntologyChange> changes)
+  {
+    Set<@NonNull OWLOntology> importsClosure = this.ontology.getImportsClosure();
+
+    for (OWLOntologyChange change : changes) {
+      if (!importsClosure.contains(change.getOntology()))
+        continue;
+
+      if (change.isImportChange() || change.isAxiomChange() && isListAssertion(change.getAxiom())) {
+        this.lists.clear();
+        return;
+      }
+    }
+  }
+
+  @Override public void close()
+  {
+    this.ontology.getOWLOntologyManager().removeOntologyChangeListener(this);
+  }
+
+  @NonNull private OWLNamedIndividual getOWLNamedIndividual(@NonNull IRI individualIRI)
+  {
+    return this.ontology.getOWLOntologyManager().getOWLDataFactory().getOWLNamedIndividual(individualIRI);
+  }
+
+  @Nullable private SWRLBuiltInArgumentList getCachedList(@NonNull IRI nodeIRI)
+  {
+    return nodeIRI.equals(RDF_NIL) ? SWRLBuiltInArgumentList.EMPTY : this.lists.get(nodeIRI);
+  }
+
+  private static boolean isListAssertion(@NonNull OWLAxiom axiom)
+  {
+    if (axiom instanceof OWLObjectPropertyAssertionAxiom) {
+      OWLObjectPropertyAssertionAxiom objectPropertyAssertionAxiom = (OWLObjectPropertyAssertionAxiom)axiom;
+
+      if (objectPropertyAssertionAxiom.getProperty().isAnonymous())
+        return false;
+
+      IRI propertyIRI = objectPropertyAssertionAxiom.getProperty().asOWLObjectProperty().getIRI();
+
+      return propertyIRI.equals(RDF_FIRST) || propertyIRI.equals(RDF_REST);
+    } else if (axiom instanceof OWLDataPropertyAssertionAxiom)
+      return ((OWLDataPropertyAssertionAxiom)axiom).getProperty().asOWLDataProperty().getIRI().equals(RDF_FIRST);
+    else
+      return false;
+  }
+}
@@ -5,13 +5,22 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.vocab.XSDVocabulary;
 import org.swrlapi.builtins.AbstractSWRLBuiltInLibrary;
+import org.swrlapi.builtins.DeterministicSWRLBuiltIn;
+import org.swrlapi.builtins.SWRLBuiltInArgumentBlock;
+import org.swrlapi.builtins.SWRLBuiltInBatchKernel;
+import org.swrlapi.builtins.SWRLBuiltInBatchResult;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgumentList;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgumentType;
 import org.swrlapi.builtins.arguments.SWRLLiteralBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLMultiValueVariableBuiltInArgument;
 import org.swrlapi.exceptions.InvalidSWRLBuiltInArgumentException;
 import org.swrlapi.exceptions.InvalidSWRLBuiltInNameException;
 import org.swrlapi.exceptions.SWRLBuiltInException;
+import org.swrlapi.exceptions.SWRLBuiltInLibraryException;
 import org.swrlapi.exceptions.SWRLBuiltInNotImplementedException;
 import org.swrlapi.literal.OWLLiteralComparator;
 import org.swrlapi.literal.XSDDate;
@@ -25,12 +34,15 @@ import java.math.BigInteger;
 import java.math.MathContext;
 import java.math.RoundingMode;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Calendar;
 import java.util.GregorianCalendar;
 import java.util.HashSet;
 import java.util.List;
-import java.util.StringTokenizer;
+import java.util.Optional;
 import java.util.TimeZone;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
@@ -39,7 +51,8 @@ import java.util.regex.PatternSyntaxException;
  * Implementations library for the core SWRL built-in methods. These built-ins are defined <a
  * href="http://www.daml.org/2004/04/swrl/builtins.html">here</a>.
  * <p>
- * Built-ins for lists and URIs not yet implemented.
+ * Built-ins for URIs are not yet implemented. The list built-ins operate on list arguments, which they create, and on
+ * individuals that head <code>rdf:List</code> structures in the ontology.
  */
 public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
 {
@@ -84,6 +97,17 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
 
   private static final MathContext mathContext = new MathContext(100);
 
+  // Integral datatypes handled natively by batch kernels, from narrowest to widest, with their ranges
+  private static final List<@NonNull IRI> INTEGRAL_DATATYPES = Arrays
+    .asList(XSDVocabulary.BYTE.getIRI(), XSDVocabulary.SHORT.getIRI(), XSDVocabulary.INT.getIRI(),
+      XSDVocabulary.LONG.getIRI());
+  private static final long[] INTEGRAL_MINIMUMS = { Byte.MIN_VALUE, Short.MIN_VALUE, Integer.MIN_VALUE,
+    Long.MIN_VALUE };
+  private static final long[] INTEGRAL_MAXIMUMS = { Byte.MAX_VALUE, Short.MAX_VALUE, Integer.MAX_VALUE,
+    Long.MAX_VALUE };
+
+  @Nullable private RDFListCache rdfListCache; // Built on first use for the invoking bridge's ontology
+
   public SWRLBuiltInLibraryImpl()
   {
     super(PREFIX, NAMESPACE, new HashSet<>(Arrays.asList(BUILT_IN_NAMES)));
@@ -93,6 +117,56 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
   }
 
+  @Override public void close()
+  {
+    if (this.rdfListCache != null) {
+      this.rdfListCache.close();
+      this.rdfListCache = null;
+    }
+    super.close();
+  }
+
+  @NonNull @Override protected Optional<@NonNull SWRLBuiltInBatchKernel> getBuiltInBatchKernel(
+    @NonNull String builtInMethodName)
+  {
+    switch (builtInMethodName) {
+    case "equal":
+      return Optional.of((block, result, fallbackTuples) -> compareBatch(block, result, fallbackTuples, c -> c == 0));
+    case "notEqual":
+      return Optional.of((block, result, fallbackTuples) -> compareBatch(block, result, fallbackTuples, c -> c != 0));
+    case "lessThan":
+      return Optional.of((block, result, fallbackTuples) -> compareBatch(block, result, fallbackTuples, c -> c < 0));
+    case "lessThanOrEqual":
+      return Optional.of((block, result, fallbackTuples) -> compareBatch(block, result, fallbackTuples, c -> c <= 0));
+    case "greaterThan":
+      return Optional.of((block, result, fallbackTuples) -> compareBatch(block, result, fallbackTuples, c -> c > 0));
+    case "greaterThanOrEqual":
+      return Optional.of((block, result, fallbackTuples) -> compareBatch(block, result, fallbackTuples, c -> c >= 0));
+    case "add":
+      return Optional
+        .of((block, result, fallbackTuples) -> mathOperationBatch(SWRLB_ADD, block, result, fallbackTuples));
+    case "subtract":
+      return Optional
+        .of((block, result, fallbackTuples) -> mathOperationBatch(SWRLB_SUBTRACT, block, result, fallbackTuples));
+    case "multiply":
+      return Optional
+        .of((block, result, fallbackTuples) -> mathOperationBatch(SWRLB_MULTIPLY, block, result, fallbackTuples));
+    case "stringConcat":
+      return Optional.of(this::stringConcatBatch);
+    case "upperCase":
+      return Optional.of((block, result, fallbackTuples) -> stringOperationBatch(block, result, fallbackTuples,
+        s -> createLiteralBuiltInArgument(StringKernels.upperCase(s))));
+    case "lowerCase":
+      return Optional.of((block, result, fallbackTuples) -> stringOperationBatch(block, result, fallbackTuples,
+        s -> createLiteralBuiltInArgument(StringKernels.lowerCase(s))));
+    case "stringLength":
+      return Optional.of((block, result, fallbackTuples) -> stringOperationBatch(block, result, fallbackTuples,
+        s -> createLiteralBuiltInArgument(BigInteger.valueOf(s.length()))));
+    default:
+      return Optional.<@NonNull SWRLBuiltInBatchKernel>empty();
+    }
+  }
+
   // Built-ins for comparison, defined in Section 8.1. of http://www.daml.org/2004/04/swrl/builtins.html.
 
   /**
@@ -254,6 +328,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean add(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsAtLeast(2, arguments.size());
@@ -266,6 +341,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean subtract(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(3, arguments.size());
@@ -278,6 +354,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean multiply(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsAtLeast(2, arguments.size());
@@ -290,6 +367,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean divide(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(3, arguments.size());
@@ -302,6 +380,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean integerDivide(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(3, arguments.size());
@@ -314,6 +393,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean mod(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(3, arguments.size());
@@ -326,6 +406,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean pow(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(3, arguments.size());
@@ -338,6 +419,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean unaryPlus(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
@@ -350,6 +432,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean unaryMinus(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
@@ -362,6 +445,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean abs(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
@@ -374,6 +458,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean ceiling(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
@@ -386,6 +471,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean floor(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
@@ -398,6 +484,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean round(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
@@ -410,6 +497,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean roundHalfToEven(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
@@ -422,6 +510,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean sin(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
@@ -434,6 +523,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean cos(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
@@ -446,6 +536,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean tan(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
@@ -498,8 +589,8 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     checkNumberOfArgumentsEqualTo(2, arguments.size());
     checkForUnboundArguments(arguments);
 
-    argument1 = getArgumentAsAString(0, arguments);
-    argument2 = getArgumentAsAString(1, arguments);
+    argument1 = getStringArgument(0, arguments);
+    argument2 = getStringArgument(1, arguments);
 
     return argument1.equalsIgnoreCase(argument2);
   }
@@ -509,18 +600,18 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean stringConcat(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
-    String operationResult = "";
-
     checkNumberOfArgumentsAtLeast(2, arguments.size());
 
-    for (int argumentNumber = 1; argumentNumber < arguments.size(); argumentNumber++) { // Exception thrown if argument
+    String[] operands = new String[arguments.size() - 1];
+
+    for (int argumentNumber = 1; argumentNumber < arguments.size(); argumentNumber++) // Exception thrown if argument
       // is not a literal.
-      operationResult = operationResult.concat(getArgumentAsAnOWLLiteral(argumentNumber, arguments).getLiteral());
-    }
+      operands[argumentNumber - 1] = getArgumentAsAnOWLLiteral(argumentNumber, arguments).getLiteral();
 
-    return processResultArgument(arguments, 0, operationResult);
+    return processStringResultArgument(arguments, 0, StringKernels.concat(operands));
   }
 
   /**
@@ -528,6 +619,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean substring(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     String argument2, operationResult;
@@ -536,7 +628,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     checkNumberOfArgumentsAtLeast(3, arguments.size());
     checkNumberOfArgumentsAtMost(4, arguments.size());
 
-    argument2 = getArgumentAsAString(1, arguments);
+    argument2 = getStringArgument(1, arguments);
     startIndex = convertArgumentToAnInt(2, arguments);
 
     if (arguments.size() == 4) {
@@ -545,7 +637,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     } else
       operationResult = argument2.substring(startIndex);
 
-    return processResultArgument(arguments, 0, operationResult);
+    return processStringResultArgument(arguments, 0, operationResult);
   }
 
   /**
@@ -553,11 +645,12 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean stringLength(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    String argument2 = getArgumentAsAString(1, arguments);
+    String argument2 = getStringArgument(1, arguments);
     BigInteger operationResult = BigInteger.valueOf(argument2.length());
 
     return processResultArgument(arguments, 0, operationResult);
@@ -568,14 +661,15 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean upperCase(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    String argument2 = getArgumentAsAString(1, arguments);
-    String operationResult = argument2.toUpperCase();
+    String argument2 = getStringArgument(1, arguments);
+    String operationResult = StringKernels.upperCase(argument2);
 
-    return processResultArgument(arguments, 0, operationResult);
+    return processStringResultArgument(arguments, 0, operationResult);
   }
 
   /**
@@ -583,14 +677,15 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean lowerCase(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    String argument2 = getArgumentAsAString(1, arguments);
-    String operationResult = argument2.toLowerCase();
+    String argument2 = getStringArgument(1, arguments);
+    String operationResult = StringKernels.lowerCase(argument2);
 
-    return processResultArgument(arguments, 0, operationResult);
+    return processStringResultArgument(arguments, 0, operationResult);
   }
 
   /**
@@ -602,10 +697,10 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    String argument1 = getArgumentAsAString(0, arguments);
-    String argument2 = getArgumentAsAString(1, arguments);
+    String argument1 = getStringArgument(0, arguments);
+    String argument2 = getStringArgument(1, arguments);
 
-    return argument1.lastIndexOf(argument2) != -1;
+    return argument1.contains(argument2);
   }
 
   /**
@@ -617,10 +712,10 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    String argument1 = getArgumentAsAString(0, arguments);
-    String argument2 = getArgumentAsAString(1, arguments);
+    String argument1 = getStringArgument(0, arguments);
+    String argument2 = getStringArgument(1, arguments);
 
-    return argument1.toLowerCase().lastIndexOf(argument2.toLowerCase()) != -1;
+    return StringKernels.containsIgnoreCase(argument1, argument2);
   }
 
   /**
@@ -632,8 +727,8 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    String argument1 = getArgumentAsAString(0, arguments);
-    String argument2 = getArgumentAsAString(1, arguments);
+    String argument1 = getStringArgument(0, arguments);
+    String argument2 = getStringArgument(1, arguments);
 
     return argument1.startsWith(argument2);
   }
@@ -647,32 +742,30 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    String argument1 = getArgumentAsAString(0, arguments);
-    String argument2 = getArgumentAsAString(1, arguments);
+    String argument1 = getStringArgument(0, arguments);
+    String argument2 = getStringArgument(1, arguments);
 
     return argument1.endsWith(argument2);
   }
 
-  // TODO This is not correct. See http://www.w3.org/TR/xpath-functions/#func-translate
-
   /**
+   * Translates characters as XPath's <code>fn:translate</code> does.
+   *
    * @param arguments The built-in arguments
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean translate(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(4, arguments.size());
 
-    String argument2 = getArgumentAsAString(1, arguments);
-    String argument3 = getArgumentAsAString(2, arguments);
-    String argument4 = getArgumentAsAString(3, arguments);
-    @Nullable String operationResult = argument2.replace(argument3, argument4);
+    String argument2 = getStringArgument(1, arguments);
+    String argument3 = getStringArgument(2, arguments);
+    String argument4 = getStringArgument(3, arguments);
+    String operationResult = StringKernels.translate(argument2, argument3, argument4);
 
-    if (operationResult != null)
-      return processResultArgument(arguments, 0, operationResult);
-    else
-      return false;
+    return processStringResultArgument(arguments, 0, operationResult);
   }
 
   /**
@@ -680,16 +773,17 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean substringAfter(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(3, arguments.size());
 
-    String argument2 = getArgumentAsAString(1, arguments);
-    String argument3 = getArgumentAsAString(2, arguments);
+    String argument2 = getStringArgument(1, arguments);
+    String argument3 = getStringArgument(2, arguments);
     @Nullable String operationResult = substringAfter(argument2, argument3);
 
     if (operationResult != null)
-      return processResultArgument(arguments, 0, operationResult);
+      return processStringResultArgument(arguments, 0, operationResult);
     else
       return false;
   }
@@ -699,16 +793,17 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean substringBefore(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(3, arguments.size());
 
-    String argument2 = getArgumentAsAString(1, arguments);
-    String argument3 = getArgumentAsAString(2, arguments);
+    String argument2 = getStringArgument(1, arguments);
+    String argument3 = getStringArgument(2, arguments);
     @Nullable String operationResult = substringBefore(argument2, argument3);
 
     if (operationResult != null)
-      return processResultArgument(arguments, 0, operationResult);
+      return processStringResultArgument(arguments, 0, operationResult);
     else
       return false;
   }
@@ -722,8 +817,8 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    String argument1 = getArgumentAsAString(0, arguments);
-    String argument2 = getArgumentAsAString(1, arguments);
+    String argument1 = getStringArgument(0, arguments);
+    String argument2 = getStringArgument(1, arguments);
 
     try {
       return Pattern.matches(argument2, argument1);
@@ -738,19 +833,20 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean replace(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(4, arguments.size());
 
-    String input = getArgumentAsAString(1, arguments);
-    String regex = getArgumentAsAString(2, arguments);
-    String replacement = getArgumentAsAString(3, arguments);
+    String input = getStringArgument(1, arguments);
+    String regex = getStringArgument(2, arguments);
+    String replacement = getStringArgument(3, arguments);
 
     Pattern p = Pattern.compile(regex);
     Matcher m = p.matcher(input);
     String operationResult = m.replaceAll(replacement);
 
-    return processResultArgument(arguments, 0, operationResult);
+    return processStringResultArgument(arguments, 0, operationResult);
   }
 
   /**
@@ -758,17 +854,15 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean normalizeSpace(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    String input = getArgumentAsAString(1, arguments);
+    String input = getStringArgument(1, arguments);
+    String operationResult = StringKernels.normalizeSpace(input);
 
-    Pattern p = Pattern.compile("\\s+");
-    Matcher m = p.matcher(input);
-    String operationResult = m.replaceAll(" ").trim();
-
-    return processResultArgument(arguments, 0, operationResult);
+    return processStringResultArgument(arguments, 0, operationResult);
   }
 
   /**
@@ -776,6 +870,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean tokenize(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     if (!isUnboundArgument(0, arguments))
@@ -784,17 +879,14 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     checkNumberOfArgumentsEqualTo(3, arguments.size());
     checkForUnboundNonFirstArguments(arguments);
 
-    String inputString = getArgumentAsAString(1, arguments);
-    String delimeters = getArgumentAsAString(2, arguments);
-    StringTokenizer tokenizer = new StringTokenizer(inputString.trim(), delimeters);
+    String inputString = getStringArgument(1, arguments);
+    String delimeters = getStringArgument(2, arguments);
 
     IRI variableIRI = arguments.get(0).asVariable().getIRI();
     SWRLMultiValueVariableBuiltInArgument multiValueBuiltInArgument = createSWRLMultiValueVariableBuiltInArgument(
       variableIRI);
-    while (tokenizer.hasMoreTokens()) {
-      String token = tokenizer.nextToken();
+    for (String token : StringKernels.tokenize(inputString, delimeters))
       multiValueBuiltInArgument.addArgument(createLiteralBuiltInArgument(token));
-    }
 
     arguments.get(0).asVariable().setBuiltInResult(multiValueBuiltInArgument);
 
@@ -808,6 +900,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean yearMonthDuration(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(3, arguments.size());
@@ -826,7 +919,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @param arguments The built-in arguments
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
-   */ public boolean dayTimeDuration(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
+   */
+  @DeterministicSWRLBuiltIn
+  public boolean dayTimeDuration(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(5, arguments.size());
     int days = convertArgumentToAnInt(1, arguments);
@@ -848,6 +943,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean dateTime(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(8, arguments.size());
@@ -877,6 +973,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean date(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(5, arguments.size());
@@ -902,6 +999,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean time(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(5, arguments.size());
@@ -920,6 +1018,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean addYearMonthDurations(@NonNull List<@NonNull SWRLBuiltInArgument> arguments)
     throws SWRLBuiltInException
   {
@@ -940,6 +1039,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean subtractYearMonthDurations(@NonNull List<@NonNull SWRLBuiltInArgument> arguments)
     throws SWRLBuiltInException
   {
@@ -957,6 +1057,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean multiplyYearMonthDuration(@NonNull List<@NonNull SWRLBuiltInArgument> arguments)
     throws SWRLBuiltInException
   {
@@ -974,6 +1075,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean divideYearMonthDuration(@NonNull List<@NonNull SWRLBuiltInArgument> arguments)
     throws SWRLBuiltInException
   {
@@ -991,6 +1093,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean addDayTimeDurations(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     org.apache.axis.types.Duration operationDuration = new org.apache.axis.types.Duration();
@@ -1010,6 +1113,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean subtractDayTimeDurations(@NonNull List<@NonNull SWRLBuiltInArgument> arguments)
     throws SWRLBuiltInException
   {
@@ -1027,6 +1131,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean multiplyDayTimeDuration(@NonNull List<@NonNull SWRLBuiltInArgument> arguments)
     throws SWRLBuiltInException
   {
@@ -1044,6 +1149,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean divideDayTimeDuration(@NonNull List<@NonNull SWRLBuiltInArgument> arguments)
     throws SWRLBuiltInException
   {
@@ -1061,6 +1167,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean subtractDates(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(3, arguments.size());
@@ -1077,6 +1184,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean subtractTimes(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(3, arguments.size());
@@ -1093,6 +1201,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean addYearMonthDurationToDateTime(@NonNull List<@NonNull SWRLBuiltInArgument> arguments)
     throws SWRLBuiltInException
   {
@@ -1110,6 +1219,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean subtractYearMonthDurationFromDateTime(@NonNull List<@NonNull SWRLBuiltInArgument> arguments)
     throws SWRLBuiltInException
   {
@@ -1127,6 +1237,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean addDayTimeDurationToDateTime(@NonNull List<@NonNull SWRLBuiltInArgument> arguments)
     throws SWRLBuiltInException
   {
@@ -1144,6 +1255,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean subtractDayTimeDurationFromDateTime(@NonNull List<@NonNull SWRLBuiltInArgument> arguments)
     throws SWRLBuiltInException
   {
@@ -1161,6 +1273,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean addYearMonthDurationToDate(@NonNull List<@NonNull SWRLBuiltInArgument> arguments)
     throws SWRLBuiltInException
   {
@@ -1178,6 +1291,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean subtractYearMonthDurationFromDate(@NonNull List<@NonNull SWRLBuiltInArgument> arguments)
     throws SWRLBuiltInException
   {
@@ -1195,6 +1309,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean addDayTimeDurationToDate(@NonNull List<@NonNull SWRLBuiltInArgument> arguments)
     throws SWRLBuiltInException
   {
@@ -1212,6 +1327,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean subtractDayTimeDurationFromDate(@NonNull List<@NonNull SWRLBuiltInArgument> arguments)
     throws SWRLBuiltInException
   {
@@ -1229,6 +1345,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean addDayTimeDurationToTime(@NonNull List<@NonNull SWRLBuiltInArgument> arguments)
     throws SWRLBuiltInException
   {
@@ -1246,6 +1363,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean subtractDayTimeDurationFromTime(@NonNull List<@NonNull SWRLBuiltInArgument> arguments)
     throws SWRLBuiltInException
   {
@@ -1263,6 +1381,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean subtractDateTimesYieldingYearMonthDuration(@NonNull List<@NonNull SWRLBuiltInArgument> arguments)
     throws SWRLBuiltInException
   {
@@ -1279,6 +1398,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn
   public boolean subtractDateTimesYieldingDayTimeDuration(@NonNull List<@NonNull SWRLBuiltInArgument> arguments)
     throws SWRLBuiltInException
   {
@@ -1312,16 +1432,26 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     throw new SWRLBuiltInNotImplementedException();
   }
 
-  // Built-ins for Lists
+  // Built-ins for Lists. A list argument may be an rdf:List in the ontology, so their results are only valid until the
+  // ontology changes.
 
   /**
    * @param arguments The built-in arguments
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn(validity = DeterministicSWRLBuiltIn.Validity.UNTIL_ONTOLOGY_CHANGE)
   public boolean listConcat(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
-    throw new SWRLBuiltInNotImplementedException();
+    checkNumberOfArgumentsAtLeast(3, arguments.size());
+
+    SWRLBuiltInArgumentList operationResult = getArgumentAsAList(arguments.size() - 1, arguments);
+
+    // Concatenate from the right so that each step copies only its left list
+    for (int argumentNumber = arguments.size() - 2; argumentNumber >= 1; argumentNumber--)
+      operationResult = getArgumentAsAList(argumentNumber, arguments).concat(operationResult);
+
+    return processListResultArgument(arguments, 0, operationResult);
   }
 
   /**
@@ -1329,9 +1459,15 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn(validity = DeterministicSWRLBuiltIn.Validity.UNTIL_ONTOLOGY_CHANGE)
   public boolean listIntersection(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
-    throw new SWRLBuiltInNotImplementedException();
+    checkNumberOfArgumentsEqualTo(3, arguments.size());
+
+    SWRLBuiltInArgumentList argument2 = getArgumentAsAList(1, arguments);
+    SWRLBuiltInArgumentList argument3 = getArgumentAsAList(2, arguments);
+
+    return processListResultArgument(arguments, 0, argument2.intersection(argument3));
   }
 
   /**
@@ -1339,9 +1475,15 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn(validity = DeterministicSWRLBuiltIn.Validity.UNTIL_ONTOLOGY_CHANGE)
   public boolean listSubtraction(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
-    throw new SWRLBuiltInNotImplementedException();
+    checkNumberOfArgumentsEqualTo(3, arguments.size());
+
+    SWRLBuiltInArgumentList argument2 = getArgumentAsAList(1, arguments);
+    SWRLBuiltInArgumentList argument3 = getArgumentAsAList(2, arguments);
+
+    return processListResultArgument(arguments, 0, argument2.subtraction(argument3));
   }
 
   /**
@@ -1349,9 +1491,17 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
-  public boolean member(List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
+  @DeterministicSWRLBuiltIn(validity = DeterministicSWRLBuiltIn.Validity.UNTIL_ONTOLOGY_CHANGE)
+  public boolean member(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
-    throw new SWRLBuiltInNotImplementedException();
+    checkNumberOfArgumentsEqualTo(2, arguments.size());
+
+    SWRLBuiltInArgumentList argument2 = getArgumentAsAList(1, arguments);
+
+    if (isUnboundArgument(0, arguments))
+      return processResultArgument(arguments, 0, argument2.toSet());
+    else
+      return argument2.contains(arguments.get(0));
   }
 
   /**
@@ -1359,9 +1509,15 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
-  public boolean length(List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
+  @DeterministicSWRLBuiltIn(validity = DeterministicSWRLBuiltIn.Validity.UNTIL_ONTOLOGY_CHANGE)
+  public boolean length(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
-    throw new SWRLBuiltInNotImplementedException();
+    checkNumberOfArgumentsEqualTo(2, arguments.size());
+
+    SWRLBuiltInArgumentList argument2 = getArgumentAsAList(1, arguments);
+    BigInteger operationResult = BigInteger.valueOf(argument2.size());
+
+    return processResultArgument(arguments, 0, operationResult);
   }
 
   /**
@@ -1369,9 +1525,14 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
-  public boolean first(List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
+  @DeterministicSWRLBuiltIn(validity = DeterministicSWRLBuiltIn.Validity.UNTIL_ONTOLOGY_CHANGE)
+  public boolean first(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
-    throw new SWRLBuiltInNotImplementedException();
+    checkNumberOfArgumentsEqualTo(2, arguments.size());
+
+    Optional<@NonNull SWRLBuiltInArgument> operationResult = getArgumentAsAList(1, arguments).getFirst();
+
+    return operationResult.isPresent() && processResultArgument(arguments, 0, operationResult.get());
   }
 
   /**
@@ -1379,19 +1540,37 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
-  public boolean rest(List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
+  @DeterministicSWRLBuiltIn(validity = DeterministicSWRLBuiltIn.Validity.UNTIL_ONTOLOGY_CHANGE)
+  public boolean rest(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
-    throw new SWRLBuiltInNotImplementedException();
+    checkNumberOfArgumentsEqualTo(2, arguments.size());
+
+    Optional<@NonNull SWRLBuiltInArgumentList> operationResult = getArgumentAsAList(1, arguments).getRest();
+
+    return operationResult.isPresent() && processListResultArgument(arguments, 0, operationResult.get());
   }
 
   /**
+   * The elements of the second argument from the 1-based position given by the third argument, up to the number of
+   * elements given by the optional fourth argument. As with XPath's <code>fn:subsequence</code>, positions outside the
+   * list select no elements.
+   *
    * @param arguments The built-in arguments
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
-  public boolean sublist(List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
+  @DeterministicSWRLBuiltIn(validity = DeterministicSWRLBuiltIn.Validity.UNTIL_ONTOLOGY_CHANGE)
+  public boolean sublist(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
-    throw new SWRLBuiltInNotImplementedException();
+    checkNumberOfArgumentsInRange(3, 4, arguments.size());
+
+    SWRLBuiltInArgumentList argument2 = getArgumentAsAList(1, arguments);
+    long start = getArgumentAsAnInt(2, arguments) - 1L;
+    long end = arguments.size() == 4 ? start + getArgumentAsAnInt(3, arguments) : argument2.size();
+    int fromIndex = (int)Math.min(Math.max(start, 0), argument2.size());
+    int toIndex = (int)Math.min(Math.max(end, fromIndex), argument2.size());
+
+    return processListResultArgument(arguments, 0, argument2.subList(fromIndex, toIndex));
   }
 
   /**
@@ -1399,13 +1578,287 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
-  public boolean empty(List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
+  @DeterministicSWRLBuiltIn(validity = DeterministicSWRLBuiltIn.Validity.UNTIL_ONTOLOGY_CHANGE)
+  public boolean empty(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
-    throw new SWRLBuiltInNotImplementedException();
+    checkNumberOfArgumentsEqualTo(1, arguments.size());
+
+    if (isUnboundArgument(0, arguments))
+      return processListResultArgument(arguments, 0, SWRLBuiltInArgumentList.EMPTY);
+    else
+      return getArgumentAsAList(0, arguments).isEmpty();
+  }
+
+  /**
+   * A list argument is either a list created by a list built-in or an individual at the head of an
+   * <code>rdf:List</code> in the ontology.
+   */
+  @NonNull private SWRLBuiltInArgumentList getArgumentAsAList(int argumentNumber,
+    @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
+  {
+    checkThatArgumentIsBound(argumentNumber, arguments);
+
+    SWRLBuiltInArgument argument = arguments.get(argumentNumber);
+
+    if (argument.getSWRLBuiltInArgumentType() == SWRLBuiltInArgumentType.LIST)
+      return argument.asSWRLListBuiltInArgument().getList();
+    else if (argument.getSWRLBuiltInArgumentType() == SWRLBuiltInArgumentType.NAMED_INDIVIDUAL) {
+      Optional<@NonNull SWRLBuiltInArgumentList> list = getRDFListCache()
+        .getList(argument.asSWRLNamedIndividualBuiltInArgument().getIRI());
+
+      if (list.isPresent())
+        return list.get();
+    }
+    throw new InvalidSWRLBuiltInArgumentException(argumentNumber, makeInvalidArgumentTypeMessage(argument, "list"));
+  }
+
+  private boolean processListResultArgument(@NonNull List<@NonNull SWRLBuiltInArgument> arguments,
+    int resultArgumentNumber, @NonNull SWRLBuiltInArgumentList resultList) throws SWRLBuiltInException
+  {
+    if (isUnboundArgument(resultArgumentNumber, arguments))
+      return processResultArgument(arguments, resultArgumentNumber, createListBuiltInArgument(resultList));
+    else
+      return getArgumentAsAList(resultArgumentNumber, arguments).equals(resultList);
+  }
+
+  /**
+   * The cache is rebuilt when the library is invoked for a different ontology, and is otherwise kept up to date by
+   * ontology change events.
+   */
+  @NonNull private RDFListCache getRDFListCache() throws SWRLBuiltInLibraryException
+  {
+    OWLOntology ontology = getBuiltInBridge().getOWLOntology();
+
+    if (this.rdfListCache == null || this.rdfListCache.getOntology() != ontology) {
+      if (this.rdfListCache != null)
+        this.rdfListCache.close();
+      this.rdfListCache = new RDFListCache(ontology, this);
+    }
+
+    return this.rdfListCache;
+  }
+
+  // Batch kernels. Each handles the common case of its built-in natively and leaves other tuples to the method.
+
+  // Compares two columns of integral or of string literals
+  private void compareBatch(@NonNull SWRLBuiltInArgumentBlock block, @NonNull SWRLBuiltInBatchResult result,
+    @NonNull BitSet fallbackTuples, @NonNull IntPredicate comparison)
+  {
+    int numberOfTuples = block.getNumberOfTuples();
+    Optional<@NonNull IRI> datatype1 = block.getNumberOfArguments() == 2 ?
+      block.getLiteralDatatype(0) :
+      Optional.<@NonNull IRI>empty();
+    Optional<@NonNull IRI> datatype2 = block.getNumberOfArguments() == 2 ?
+      block.getLiteralDatatype(1) :
+      Optional.<@NonNull IRI>empty();
+
+    if (!datatype1.isPresent() || !datatype2.isPresent())
+      fallbackTuples.set(0, numberOfTuples);
+    else if (INTEGRAL_DATATYPES.contains(datatype1.get()) && INTEGRAL_DATATYPES.contains(datatype2.get())) {
+      long[] values1 = getIntegralValues(block, 0, fallbackTuples);
+      long[] values2 = getIntegralValues(block, 1, fallbackTuples);
+
+      for (int tupleIndex = 0; tupleIndex < numberOfTuples; tupleIndex++)
+        if (!fallbackTuples.get(tupleIndex) && comparison.test(Long.compare(values1[tupleIndex], values2[tupleIndex])))
+          result.addRow(tupleIndex);
+    } else if (XSDVocabulary.STRING.getIRI().equals(datatype1.get()) && XSDVocabulary.STRING.getIRI()
+      .equals(datatype2.get())) {
+      for (int tupleIndex = 0; tupleIndex < numberOfTuples; tupleIndex++)
+        if (comparison.test(getLexicalForm(block, 0, tupleIndex).compareTo(getLexicalForm(block, 1, tupleIndex))))
+          result.addRow(tupleIndex);
+    } else
+      fallbackTuples.set(0, numberOfTuples);
+  }
+
+  // Binds the first argument to the result of adding, subtracting or multiplying columns of integral literals. Results
+  // have the widest datatype of the operands; tuples whose result does not fit in a long are left to the method.
+  private void mathOperationBatch(@NonNull String builtInName, @NonNull SWRLBuiltInArgumentBlock block,
+    @NonNull SWRLBuiltInBatchResult result, @NonNull BitSet fallbackTuples)
+  {
+    int numberOfTuples = block.getNumberOfTuples();
+    int numberOfArguments = block.getNumberOfArguments();
+    boolean hasValidNumberOfArguments = builtInName.equals(SWRLB_SUBTRACT) ?
+      numberOfArguments == 3 :
+      numberOfArguments >= 2;
+    long[][] operands = new long[Math.max(0, numberOfArguments - 1)][];
+    int widestDatatypeIndex = 0;
+
+    if (!hasValidNumberOfArguments || !block.isUnbound(0)) {
+      fallbackTuples.set(0, numberOfTuples);
+      return;
+    }
+
+    for (int argumentIndex = 1; argumentIndex < numberOfArguments; argumentIndex++) {
+      Optional<@NonNull IRI> datatype = block.getLiteralDatatype(argumentIndex);
+      int datatypeIndex = datatype.isPresent() ? INTEGRAL_DATATYPES.indexOf(datatype.get()) : -1;
+
+      if (datatypeIndex == -1) {
+        fallbackTuples.set(0, numberOfTuples);
+        return;
+      }
+      widestDatatypeIndex = Math.max(widestDatatypeIndex, datatypeIndex);
+      operands[argumentIndex - 1] = getIntegralValues(block, argumentIndex, fallbackTuples);
+    }
+
+    for (int tupleIndex = 0; tupleIndex < numberOfTuples; tupleIndex++) {
+      if (fallbackTuples.get(tupleIndex))
+        continue;
+
+      try {
+        long operationResult;
+
+        if (builtInName.equals(SWRLB_SUBTRACT))
+          operationResult = Math.subtractExact(operands[0][tupleIndex], operands[1][tupleIndex]);
+        else if (builtInName.equals(SWRLB_ADD)) {
+          operationResult = 0;
+          for (long[] operand : operands)
+            operationResult = Math.addExact(operationResult, operand[tupleIndex]);
+        } else {
+          operationResult = 1;
+          for (long[] operand : operands)
+            operationResult = Math.multiplyExact(operationResult, operand[tupleIndex]);
+        }
+        result.addRow(tupleIndex, createIntegralLiteralBuiltInArgument(operationResult, widestDatatypeIndex));
+      } catch (ArithmeticException e) { // Overflow
+        fallbackTuples.set(tupleIndex);
+      }
+    }
+  }
+
+  private void stringConcatBatch(@NonNull SWRLBuiltInArgumentBlock block, @NonNull SWRLBuiltInBatchResult result,
+    @NonNull BitSet fallbackTuples)
+  {
+    int numberOfTuples = block.getNumberOfTuples();
+    int numberOfArguments = block.getNumberOfArguments();
+
+    if (numberOfArguments < 2 || !block.isUnbound(0)) {
+      fallbackTuples.set(0, numberOfTuples);
+      return;
+    }
+
+    for (int argumentIndex = 1; argumentIndex < numberOfArguments; argumentIndex++)
+      if (!block.isLiteral(argumentIndex)) {
+        fallbackTuples.set(0, numberOfTuples);
+        return;
+      }
+
+    StringBuilder operationResult = new StringBuilder();
+
+    for (int tupleIndex = 0; tupleIndex < numberOfTuples; tupleIndex++) {
+      operationResult.setLength(0);
+      for (int argumentIndex = 1; argumentIndex < numberOfArguments; argumentIndex++)
+        operationResult.append(getLexicalForm(block, argumentIndex, tupleIndex));
+      result.addRow(tupleIndex, createLiteralBuiltInArgument(operationResult.toString()));
+    }
+  }
+
+  // Binds the first argument to a function of a column of string literals
+  private void stringOperationBatch(@NonNull SWRLBuiltInArgumentBlock block, @NonNull SWRLBuiltInBatchResult result,
+    @NonNull BitSet fallbackTuples, @NonNull Function<@NonNull String, @NonNull SWRLBuiltInArgument> operation)
+  {
+    int numberOfTuples = block.getNumberOfTuples();
+
+    if (block.getNumberOfArguments() != 2 || !block.isUnbound(0) || !block.getLiteralDatatype(1)
+      .equals(Optional.of(XSDVocabulary.STRING.getIRI()))) {
+      fallbackTuples.set(0, numberOfTuples);
+      return;
+    }
+
+    for (int tupleIndex = 0; tupleIndex < numberOfTuples; tupleIndex++)
+      result.addRow(tupleIndex, operation.apply(getLexicalForm(block, 1, tupleIndex)));
+  }
+
+  // Parses a column of integral literals of one datatype. Values outside the range of the datatype, or that do not
+  // parse, are marked for fallback so that the built-in method reports them.
+  @NonNull private long[] getIntegralValues(@NonNull SWRLBuiltInArgumentBlock block, int argumentIndex,
+    @NonNull BitSet fallbackTuples)
+  {
+    int numberOfTuples = block.getNumberOfTuples();
+    long[] values = new long[numberOfTuples];
+
+    if (block.isConstant(argumentIndex)) {
+      if (numberOfTuples > 0 && parseIntegralValue(block.getArgument(argumentIndex, 0), values, 0))
+        Arrays.fill(values, values[0]);
+      else
+        fallbackTuples.set(0, numberOfTuples);
+    } else {
+      for (int tupleIndex = 0; tupleIndex < numberOfTuples; tupleIndex++)
+        if (!parseIntegralValue(block.getArgument(argumentIndex, tupleIndex), values, tupleIndex))
+          fallbackTuples.set(tupleIndex);
+    }
+    return values;
+  }
+
+  private static boolean parseIntegralValue(@NonNull SWRLBuiltInArgument argument, @NonNull long[] values, int index)
+  {
+    OWLLiteral literal = ((SWRLLiteralBuiltInArgument)argument).getLiteral();
+    int datatypeIndex = INTEGRAL_DATATYPES.indexOf(literal.getDatatype().getIRI());
+
+    try {
+      values[index] = Long.parseLong(literal.getLiteral());
+
+      return values[index] >= INTEGRAL_MINIMUMS[datatypeIndex] && values[index] <= INTEGRAL_MAXIMUMS[datatypeIndex];
+    } catch (NumberFormatException e) {
+      return false;
+    }
+  }
+
+  @NonNull private SWRLLiteralBuiltInArgument createIntegralLiteralBuiltInArgument(long value, int datatypeIndex)
+  {
+    switch (datatypeIndex) {
+    case 0:
+      return createLiteralBuiltInArgument((byte)value);
+    case 1:
+      return createLiteralBuiltInArgument((short)value);
+    case 2:
+      return createLiteralBuiltInArgument((int)value);
+    default:
+      return createLiteralBuiltInArgument(value);
+    }
+  }
+
+  @NonNull private static String getLexicalForm(@NonNull SWRLBuiltInArgumentBlock block, int argumentIndex,
+    int tupleIndex)
+  {
+    return ((SWRLLiteralBuiltInArgument)block.getArgument(argumentIndex, tupleIndex)).getLiteral().getLiteral();
   }
 
   // Private methods
 
+  // The lexical form of an xsd:string argument is read from its literal directly; other arguments are left to
+  // getArgumentAsAString, which reports them
+  @NonNull private String getStringArgument(int argumentNumber, @NonNull List<@NonNull SWRLBuiltInArgument> arguments)
+    throws SWRLBuiltInException
+  {
+    checkArgumentNumber(argumentNumber, arguments);
+
+    SWRLBuiltInArgument argument = arguments.get(argumentNumber);
+
+    if (argument instanceof SWRLLiteralBuiltInArgument) {
+      OWLLiteral literal = ((SWRLLiteralBuiltInArgument)argument).getLiteral();
+
+      if (literal.getDatatype().isString())
+        return literal.getLiteral();
+    }
+    return getArgumentAsAString(argumentNumber, arguments);
+  }
+
+  // A string result is compared with a bound xsd:string argument by lexical form, without creating a literal for it
+  private boolean processStringResultArgument(@NonNull List<@NonNull SWRLBuiltInArgument> arguments,
+    int resultArgumentNumber, @NonNull String operationResult) throws SWRLBuiltInException
+  {
+    if (!isUnboundArgument(resultArgumentNumber, arguments)) {
+      SWRLBuiltInArgument argument = arguments.get(resultArgumentNumber);
+
+      if (argument instanceof SWRLLiteralBuiltInArgument) {
+        OWLLiteral literal = ((SWRLLiteralBuiltInArgument)argument).getLiteral();
+
+        return literal.getDatatype().isString() && literal.getLiteral().equals(operationResult);
+      }
+    }
+    return processResultArgument(arguments, resultArgumentNumber, operationResult);
+  }
+
   private int compareTwoNumericArguments(@NonNull List<@NonNull SWRLBuiltInArgument> arguments)
     throws SWRLBuiltInException
   {
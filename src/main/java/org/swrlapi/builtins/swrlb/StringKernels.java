@@ -0,0 +1,254 @@
+package org.swrlapi.builtins.swrlb;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The string functions of the swrlb string built-ins.
+ * <p>
+ * Each function reads its inputs by index and copies characters at most once, into a result sized in advance. A
+ * function whose result is equal to its input returns the input itself. Case mapping and case-insensitive matching
+ * work on ASCII characters directly and fall back to locale-independent Unicode case mapping for other characters.
+ */
+final class StringKernels
+{
+  private static final int ASCII_LIMIT = 0x80;
+  private static final int ASCII_CASE_OFFSET = 'a' - 'A';
+
+  private StringKernels()
+  {
+  }
+
+  /**
+   * @param strings The strings to concatenate
+   * @return The strings in order
+   */
+  @NonNull static String concat(@NonNull String[] strings)
+  {
+    int length = 0;
+
+    for (String s : strings)
+      length += s.length();
+
+    StringBuilder sb = new StringBuilder(length);
+
+    for (String s : strings)
+      sb.append(s);
+
+    return sb.toString();
+  }
+
+  @NonNull static String upperCase(@NonNull String s)
+  {
+    return changeCase(s, true);
+  }
+
+  @NonNull static String lowerCase(@NonNull String s)
+  {
+    return changeCase(s, false);
+  }
+
+  /**
+   * @param s         A string
+   * @param substring A string to search for
+   * @return True if the string contains the substring when case is ignored
+   */
+  static boolean containsIgnoreCase(@NonNull String s, @NonNull String substring)
+  {
+    int substringLength = substring.length();
+
+    if (substringLength == 0)
+      return true;
+    if (!isASCII(s) || !isASCII(substring))
+      return s.toLowerCase(Locale.ROOT).contains(substring.toLowerCase(Locale.ROOT));
+
+    char first = toLowerCaseASCII(substring.charAt(0));
+    int lastStart = s.length() - substringLength;
+
+    for (int start = 0; start <= lastStart; start++) {
+      if (toLowerCaseASCII(s.charAt(start)) != first)
+        continue;
+
+      int i = 1;
+
+      while (i < substringLength && toLowerCaseASCII(s.charAt(start + i)) == toLowerCaseASCII(substring.charAt(i)))
+        i++;
+
+      if (i == substringLength)
+        return true;
+    }
+    return false;
+  }
+
+  /**
+   * As XPath's <code>fn:translate</code>: each character of the string that occurs in the map string is replaced by the
+   * character at the same position in the translation string, or removed if the translation string is shorter. The
+   * first occurrence of a character in the map string determines its replacement.
+   *
+   * @param s                 A string
+   * @param mapString         The characters to replace
+   * @param translationString The replacement characters
+   * @return The translated string
+   */
+  @NonNull static String translate(@NonNull String s, @NonNull String mapString, @NonNull String translationString)
+  {
+    boolean bmpOnly = !hasSurrogates(mapString) && !hasSurrogates(translationString);
+    @Nullable StringBuilder sb = null; // Created at the first character that changes
+    int i = 0;
+
+    while (i < s.length()) {
+      int c = s.codePointAt(i);
+      int mapIndex = bmpOnly ? mapString.indexOf(c) : codePointIndexOf(mapString, c);
+
+      if (mapIndex != -1) {
+        if (sb == null)
+          sb = new StringBuilder(s.length()).append(s, 0, i);
+        if (bmpOnly) {
+          if (mapIndex < translationString.length())
+            sb.append(translationString.charAt(mapIndex));
+        } else if (mapIndex < translationString.codePointCount(0, translationString.length()))
+          sb.appendCodePoint(translationString.codePointAt(translationString.offsetByCodePoints(0, mapIndex)));
+      } else if (sb != null)
+        sb.appendCodePoint(c);
+
+      i += Character.charCount(c);
+    }
+    return sb == null ? s : sb.toString();
+  }
+
+  /**
+   * @param s A string
+   * @return The string with leading and trailing whitespace, as {@link String#trim()} defines it, removed and other
+   * runs of whitespace replaced by a space
+   */
+  @NonNull static String normalizeSpace(@NonNull String s)
+  {
+    int start = 0, end = s.length();
+
+    while (start < end && s.charAt(start) <= ' ')
+      start++;
+    while (end > start && s.charAt(end - 1) <= ' ')
+      end--;
+
+    int i = start;
+
+    while (i < end && (!isWhitespace(s.charAt(i)) || s.charAt(i) == ' ' && !isWhitespace(s.charAt(i + 1))))
+      i++;
+
+    if (i == end) // Nothing to collapse
+      return start == 0 && end == s.length() ? s : s.substring(start, end);
+
+    StringBuilder sb = new StringBuilder(end - start).append(s, start, i);
+    boolean inWhitespace = false;
+
+    for (; i < end; i++) {
+      char c = s.charAt(i);
+
+      if (isWhitespace(c))
+        inWhitespace = true;
+      else {
+        if (inWhitespace)
+          sb.append(' ');
+        sb.append(c);
+        inWhitespace = false;
+      }
+    }
+    return sb.toString();
+  }
+
+  /**
+   * The tokens of a string, which are separated by runs of delimiter characters, as a {@link java.util.StringTokenizer}
+   * finds them in the string with its leading and trailing whitespace removed.
+   *
+   * @param s          A string
+   * @param delimiters The delimiter characters
+   * @return The tokens
+   */
+  @NonNull static List<@NonNull String> tokenize(@NonNull String s, @NonNull String delimiters)
+  {
+    List<@NonNull String> tokens = new ArrayList<>();
+    int start = 0, end = s.length();
+
+    while (start < end && s.charAt(start) <= ' ')
+      start++;
+    while (end > start && s.charAt(end - 1) <= ' ')
+      end--;
+
+    int tokenStart = -1;
+
+    for (int i = start; i < end; i++) {
+      if (delimiters.indexOf(s.charAt(i)) != -1) {
+        if (tokenStart != -1) {
+          tokens.add(s.substring(tokenStart, i));
+          tokenStart = -1;
+        }
+      } else if (tokenStart == -1)
+        tokenStart = i;
+    }
+    if (tokenStart != -1)
+      tokens.add(s.substring(tokenStart, end));
+
+    return tokens;
+  }
+
+  @NonNull private static String changeCase(@NonNull String s, boolean toUpperCase)
+  {
+    char from = toUpperCase ? 'a' : 'A', to = toUpperCase ? 'z' : 'Z';
+    int offset = toUpperCase ? -ASCII_CASE_OFFSET : ASCII_CASE_OFFSET;
+    @Nullable char[] chars = null; // Created at the first character that changes
+
+    for (int i = 0; i < s.length(); i++) {
+      char c = s.charAt(i);
+
+      if (c >= ASCII_LIMIT)
+        return toUpperCase ? s.toUpperCase(Locale.ROOT) : s.toLowerCase(Locale.ROOT);
+      else if (c >= from && c <= to) {
+        if (chars == null)
+          chars = s.toCharArray();
+        chars[i] = (char)(c + offset);
+      }
+    }
+    return chars == null ? s : new String(chars);
+  }
+
+  private static char toLowerCaseASCII(char c)
+  {
+    return c >= 'A' && c <= 'Z' ? (char)(c + ASCII_CASE_OFFSET) : c;
+  }
+
+  private static boolean isASCII(@NonNull String s)
+  {
+    for (int i = 0; i < s.length(); i++)
+      if (s.charAt(i) >= ASCII_LIMIT)
+        return false;
+
+    return true;
+  }
+
+  private static boolean hasSurrogates(@NonNull String s)
+  {
+    for (int i = 0; i < s.length(); i++)
+      if (Character.isSurrogate(s.charAt(i)))
+        return true;
+
+    return false;
+  }
+
+  // The position of a code point in a string, counted in code points
+  private static int codePointIndexOf(@NonNull String s, int codePoint)
+  {
+    int charIndex = s.indexOf(codePoint);
+
+    return charIndex == -1 ? -1 : s.codePointCount(0, charIndex);
+  }
+
+  // The whitespace characters of the regular expression \s
+  private static boolean isWhitespace(char c)
+  {
+    return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+  }
+}
@@ -1,18 +1,20 @@
 package org.swrlapi.builtins.swrlx;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLClass;
 import org.semanticweb.owlapi.model.OWLDeclarationAxiom;
 import org.semanticweb.owlapi.model.OWLNamedIndividual;
 import org.swrlapi.builtins.AbstractSWRLBuiltInLibrary;
+import org.swrlapi.builtins.SWRLBuiltInInvocationPattern;
+import org.swrlapi.builtins.SWRLBuiltInInvocationPatternMap;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
 import org.swrlapi.exceptions.SWRLBuiltInException;
 
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Optional;
 
 /**
  * Implementations library for SWRL Extensions built-ins.
@@ -26,21 +28,23 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   private static final String[] BUILT_IN_NAMES = { "makeOWLClass", "makeOWLIndividual", "makeOWLThing",
     "createOWLThing", "invokeSWRLBuiltIn" };
 
-  @NonNull private final Map<@NonNull String, @NonNull OWLClass> classInvocationMap;
-  @NonNull private final Map<@NonNull String, @NonNull OWLNamedIndividual> individualInvocationMap;
+  @NonNull private final SWRLBuiltInInvocationPatternMap<@NonNull IRI> classInvocationMap;
+  @NonNull private final SWRLBuiltInInvocationPatternMap<@NonNull IRI> individualInvocationMap;
 
   public SWRLBuiltInLibraryImpl()
   {
     super(PREFIX, NAMESPACE, new HashSet<>(Arrays.asList(BUILT_IN_NAMES)));
 
-    this.classInvocationMap = new HashMap<>();
-    this.individualInvocationMap = new HashMap<>();
+    this.classInvocationMap = new SWRLBuiltInInvocationPatternMap<>(MAXIMUM_IN_MEMORY_INVOCATION_PATTERNS,
+      IRI::toString, IRI::create);
+    this.individualInvocationMap = new SWRLBuiltInInvocationPatternMap<>(MAXIMUM_IN_MEMORY_INVOCATION_PATTERNS,
+      IRI::toString, IRI::create);
   }
 
   @Override public void reset()
   {
-    this.classInvocationMap.clear();
-    this.individualInvocationMap.clear();
+    this.classInvocationMap.close(); // Deletes any spill files
+    this.individualInvocationMap.close();
   }
 
   /**
@@ -56,17 +60,18 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     checkNumberOfArgumentsAtLeast(2, arguments.size());
 
     if (isUnboundArgument(0, arguments)) {
-      String createInvocationPattern = createInvocationPattern(getBuiltInBridge(), getInvokingRuleName(),
-        getInvokingBuiltInIndex(), getIsInConsequent(), arguments.subList(1, arguments.size()));
+      SWRLBuiltInInvocationPattern invocationPattern = createSWRLBuiltInInvocationPattern(getBuiltInBridge(),
+        getInvokingRuleName(), getInvokingBuiltInIndex(), getIsInConsequent(), arguments.subList(1, arguments.size()));
+      Optional<@NonNull IRI> classIRI = this.classInvocationMap.get(invocationPattern);
       OWLClass cls;
 
-      if (this.classInvocationMap.containsKey(createInvocationPattern)) {
-        cls = this.classInvocationMap.get(createInvocationPattern);
+      if (classIRI.isPresent()) {
+        cls = getSWRLAPIOWLDataFactory().getOWLClass(classIRI.get());
       } else {
         cls = getSWRLAPIOWLDataFactory().getInjectedOWLClass();
         OWLDeclarationAxiom declarationAxiom = getSWRLAPIOWLDataFactory().getOWLClassDeclarationAxiom(cls);
         getBuiltInBridge().injectOWLAxiom(declarationAxiom);
-        this.classInvocationMap.put(createInvocationPattern, cls);
+        this.classInvocationMap.put(invocationPattern, cls.getIRI());
       }
       arguments.get(0).asVariable().setBuiltInResult(createClassBuiltInArgument(cls)); // Bind result to first parameter
     }
@@ -82,22 +87,23 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
-  private boolean makeOWLIndividual(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
+  public boolean makeOWLIndividual(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsAtLeast(2, arguments.size());
 
     if (isUnboundArgument(0, arguments)) {
       OWLNamedIndividual individual;
-      String createInvocationPattern = createInvocationPattern(getBuiltInBridge(), getInvokingRuleName(),
-        getInvokingBuiltInIndex(), getIsInConsequent(), arguments.subList(1, arguments.size()));
+      SWRLBuiltInInvocationPattern invocationPattern = createSWRLBuiltInInvocationPattern(getBuiltInBridge(),
+        getInvokingRuleName(), getInvokingBuiltInIndex(), getIsInConsequent(), arguments.subList(1, arguments.size()));
+      Optional<@NonNull IRI> individualIRI = this.individualInvocationMap.get(invocationPattern);
 
-      if (this.individualInvocationMap.containsKey(createInvocationPattern))
-        individual = this.individualInvocationMap.get(createInvocationPattern);
+      if (individualIRI.isPresent())
+        individual = getSWRLAPIOWLDataFactory().getOWLNamedIndividual(individualIRI.get());
       else {
         individual = getSWRLAPIOWLDataFactory().getInjectedOWLNamedIndividual();
         OWLDeclarationAxiom declarationAxiom = getSWRLAPIOWLDataFactory().getOWLIndividualDeclarationAxiom(individual);
         getBuiltInBridge().injectOWLAxiom(declarationAxiom);
-        this.individualInvocationMap.put(createInvocationPattern, individual);
+        this.individualInvocationMap.put(invocationPattern, individual.getIRI());
       }
       arguments.get(0).asVariable()
         .setBuiltInResult(createNamedIndividualBuiltInArgument(individual)); // Bind result to the first parameter
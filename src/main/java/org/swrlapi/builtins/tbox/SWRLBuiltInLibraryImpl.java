@@ -23,6 +23,7 @@ import org.semanticweb.owlapi.model.OWLObjectPropertyRangeAxiom;
 import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
 import org.semanticweb.owlapi.model.parameters.Imports;
 import org.swrlapi.builtins.AbstractSWRLBuiltInLibrary;
+import org.swrlapi.builtins.DeterministicSWRLBuiltIn;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgumentType;
 import org.swrlapi.builtins.arguments.SWRLMultiValueVariableBuiltInArgument;
@@ -57,6 +58,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
   }
 
+  @DeterministicSWRLBuiltIn(validity = DeterministicSWRLBuiltIn.Validity.UNTIL_ONTOLOGY_CHANGE)
   public boolean cd(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(1, arguments.size());
@@ -89,6 +91,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     }
   }
 
+  @DeterministicSWRLBuiltIn(validity = DeterministicSWRLBuiltIn.Validity.UNTIL_ONTOLOGY_CHANGE)
   public boolean opd(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(1, arguments.size());
@@ -121,6 +124,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     }
   }
 
+  @DeterministicSWRLBuiltIn(validity = DeterministicSWRLBuiltIn.Validity.UNTIL_ONTOLOGY_CHANGE)
   public boolean dpd(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(1, arguments.size());
@@ -153,6 +157,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     }
   }
 
+  @DeterministicSWRLBuiltIn(validity = DeterministicSWRLBuiltIn.Validity.UNTIL_ONTOLOGY_CHANGE)
   public boolean apd(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(1, arguments.size());
@@ -185,6 +190,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     }
   }
 
+  @DeterministicSWRLBuiltIn(validity = DeterministicSWRLBuiltIn.Validity.UNTIL_ONTOLOGY_CHANGE)
   public boolean dd(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(1, arguments.size());
@@ -217,6 +223,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     }
   }
 
+  @DeterministicSWRLBuiltIn(validity = DeterministicSWRLBuiltIn.Validity.UNTIL_ONTOLOGY_CHANGE)
   public boolean sca(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
@@ -252,6 +259,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     }
   }
 
+  @DeterministicSWRLBuiltIn(validity = DeterministicSWRLBuiltIn.Validity.UNTIL_ONTOLOGY_CHANGE)
   public boolean eca(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
@@ -288,6 +296,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     }
   }
 
+  @DeterministicSWRLBuiltIn(validity = DeterministicSWRLBuiltIn.Validity.UNTIL_ONTOLOGY_CHANGE)
   public boolean dca(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
@@ -324,6 +333,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     }
   }
 
+  @DeterministicSWRLBuiltIn(validity = DeterministicSWRLBuiltIn.Validity.UNTIL_ONTOLOGY_CHANGE)
   public boolean fopa(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(1, arguments.size());
@@ -356,6 +366,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     }
   }
 
+  @DeterministicSWRLBuiltIn(validity = DeterministicSWRLBuiltIn.Validity.UNTIL_ONTOLOGY_CHANGE)
   public boolean ifopa(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(1, arguments.size());
@@ -388,6 +399,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     }
   }
 
+  @DeterministicSWRLBuiltIn(validity = DeterministicSWRLBuiltIn.Validity.UNTIL_ONTOLOGY_CHANGE)
   public boolean fdpa(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(1, arguments.size());
@@ -420,6 +432,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     }
   }
 
+  @DeterministicSWRLBuiltIn(validity = DeterministicSWRLBuiltIn.Validity.UNTIL_ONTOLOGY_CHANGE)
   public boolean opda(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
@@ -455,6 +468,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     }
   }
 
+  @DeterministicSWRLBuiltIn(validity = DeterministicSWRLBuiltIn.Validity.UNTIL_ONTOLOGY_CHANGE)
   public boolean opra(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
@@ -490,6 +504,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     }
   }
 
+  @DeterministicSWRLBuiltIn(validity = DeterministicSWRLBuiltIn.Validity.UNTIL_ONTOLOGY_CHANGE)
   public boolean dpda(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
@@ -525,21 +540,25 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     }
   }
 
+  @DeterministicSWRLBuiltIn(validity = DeterministicSWRLBuiltIn.Validity.UNTIL_ONTOLOGY_CHANGE)
   public boolean dpra(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     throw new SWRLBuiltInNotImplementedException("tbox:dpra built-in not implemented");
   }
 
+  @DeterministicSWRLBuiltIn(validity = DeterministicSWRLBuiltIn.Validity.UNTIL_ONTOLOGY_CHANGE)
   public boolean dua(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     throw new SWRLBuiltInNotImplementedException("tbox:dua built-in not implemented");
   }
 
+  @DeterministicSWRLBuiltIn(validity = DeterministicSWRLBuiltIn.Validity.UNTIL_ONTOLOGY_CHANGE)
   public boolean dda(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     throw new SWRLBuiltInNotImplementedException("tbox:dda built-in not implemented");
   }
 
+  @DeterministicSWRLBuiltIn(validity = DeterministicSWRLBuiltIn.Validity.UNTIL_ONTOLOGY_CHANGE)
   public boolean hka(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     throw new SWRLBuiltInNotImplementedException("tbox:hka axiom not implemented");
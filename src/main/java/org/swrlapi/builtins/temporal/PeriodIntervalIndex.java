@@ -0,0 +1,200 @@
+package org.swrlapi.builtins.temporal;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.IRI;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * A sorted-endpoint index over the periods of the temporal individuals of an ontology at one granularity. It is used
+ * to find the partners of an Allen relation without testing every pair.
+ * <p>
+ * Periods are held as start and finish granule counts, with two permutations that order them by start and by finish.
+ * A relation with one side fixed restricts the partner's start and finish to ranges. The smaller of the two ranges is
+ * found by binary search and scanned, and each candidate is checked against the other range. Callers check the
+ * relation itself on the candidates, so the ranges only need to contain every partner.
+ *
+ * @see ValidTimeIndex
+ */
+final class PeriodIntervalIndex
+{
+  private final int granularity;
+  @NonNull private final ValidTimeIndex validTimeIndex; // The index the periods were read from, at this version
+  private final long validTimeIndexVersion;
+  @NonNull private final IRI[] individualIRIs;
+  @NonNull private final long[] starts, finishes;
+  @NonNull private final int[] byStart, byFinish; // Period numbers ordered by start and by finish
+  @NonNull private final long[] sortedStarts, sortedFinishes;
+
+  PeriodIntervalIndex(int granularity, @NonNull ValidTimeIndex validTimeIndex,
+    @NonNull List<@NonNull IRI> individualIRIs, @NonNull List<@NonNull Period> periods) throws TemporalException
+  {
+    int numberOfPeriods = periods.size();
+
+    this.granularity = granularity;
+    this.validTimeIndex = validTimeIndex;
+    this.validTimeIndexVersion = validTimeIndex.getVersion();
+    this.individualIRIs = individualIRIs.toArray(new IRI[numberOfPeriods]);
+    this.starts = new long[numberOfPeriods];
+    this.finishes = new long[numberOfPeriods];
+
+    for (int i = 0; i < numberOfPeriods; i++) {
+      this.starts[i] = periods.get(i).getStartGranuleCount(granularity);
+      this.finishes[i] = periods.get(i).getFinishGranuleCount(granularity);
+    }
+
+    this.byStart = IntStream.range(0, numberOfPeriods).boxed()
+      .sorted(Comparator.comparingLong(i -> this.starts[i])).mapToInt(Integer::intValue).toArray();
+    this.byFinish = IntStream.range(0, numberOfPeriods).boxed()
+      .sorted(Comparator.comparingLong(i -> this.finishes[i])).mapToInt(Integer::intValue).toArray();
+    this.sortedStarts = IntStream.of(this.byStart).mapToLong(i -> this.starts[i]).toArray();
+    this.sortedFinishes = IntStream.of(this.byFinish).mapToLong(i -> this.finishes[i]).toArray();
+  }
+
+  int getGranularity()
+  {
+    return this.granularity;
+  }
+
+  /**
+   * The versions of different valid-time indexes are unrelated, so an index built for a replaced valid-time index is
+   * stale whatever its version.
+   *
+   * @return True if this index was built from the current version of the given valid-time index
+   */
+  boolean isBuiltFrom(@NonNull ValidTimeIndex validTimeIndex)
+  {
+    return this.validTimeIndex == validTimeIndex && this.validTimeIndexVersion == validTimeIndex.getVersion();
+  }
+
+  int size()
+  {
+    return this.individualIRIs.length;
+  }
+
+  @NonNull IRI getIndividualIRI(int periodNumber)
+  {
+    return this.individualIRIs[periodNumber];
+  }
+
+  @NonNull Period getPeriod(@NonNull Temporal temporal, int periodNumber) throws TemporalException
+  {
+    return new Period(temporal, this.starts[periodNumber], this.finishes[periodNumber], this.granularity);
+  }
+
+  /**
+   * Supply the number of every period that may stand in the given relation to the bound period, with the candidate
+   * as the first operand. Relations are the temporal built-in names used by {@link SWRLBuiltInLibraryImpl}.
+   */
+  void findCandidates(@NonNull String relation, @NonNull Period bound, @NonNull IntConsumer consumer)
+    throws TemporalException
+  {
+    long s = bound.getStartGranuleCount(this.granularity), f = bound.getFinishGranuleCount(this.granularity);
+
+    switch (relation) {
+    case SWRLBuiltInLibraryImpl.TemporalBefore:
+      findCandidates(Long.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, s - 1, consumer);
+      break;
+    case SWRLBuiltInLibraryImpl.TemporalAfter:
+      findCandidates(f + 1, Long.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE, consumer);
+      break;
+    case SWRLBuiltInLibraryImpl.TemporalEquals:
+      findCandidates(s, s, f, f, consumer);
+      break;
+    case SWRLBuiltInLibraryImpl.TemporalMeets:
+      findCandidates(Long.MIN_VALUE, Long.MAX_VALUE, s - 1, s - 1, consumer);
+      break;
+    case SWRLBuiltInLibraryImpl.TemporalMetBy:
+      findCandidates(f + 1, f + 1, Long.MIN_VALUE, Long.MAX_VALUE, consumer);
+      break;
+    case SWRLBuiltInLibraryImpl.TemporalOverlaps:
+      findCandidates(Long.MIN_VALUE, s, s, f, consumer);
+      break;
+    case SWRLBuiltInLibraryImpl.TemporalOverlappedBy:
+      findCandidates(s, f, f, Long.MAX_VALUE, consumer);
+      break;
+    case SWRLBuiltInLibraryImpl.TemporalContains:
+      findCandidates(Long.MIN_VALUE, s, f, Long.MAX_VALUE, consumer);
+      break;
+    case SWRLBuiltInLibraryImpl.TemporalDuring:
+      findCandidates(s, f, s, f, consumer);
+      break;
+    case SWRLBuiltInLibraryImpl.TemporalStarts:
+      findCandidates(s, s, Long.MIN_VALUE, f - 1, consumer);
+      break;
+    case SWRLBuiltInLibraryImpl.TemporalStartedBy:
+      findCandidates(s, s, f + 1, Long.MAX_VALUE, consumer);
+      break;
+    case SWRLBuiltInLibraryImpl.TemporalFinishes:
+      findCandidates(Long.MIN_VALUE, s - 1, f, f, consumer);
+      break;
+    case SWRLBuiltInLibraryImpl.TemporalFinishedBy:
+      findCandidates(s + 1, Long.MAX_VALUE, f, f, consumer);
+      break;
+    case SWRLBuiltInLibraryImpl.TemporalIntersects:
+      findCandidates(Long.MIN_VALUE, f, s, Long.MAX_VALUE, consumer);
+      break;
+    default:
+      throw new TemporalException("internal error - unknown temporal operator " + relation);
+    }
+  }
+
+  private void findCandidates(long startLow, long startHigh, long finishLow, long finishHigh,
+    @NonNull IntConsumer consumer)
+  {
+    int startFrom = lowerBound(this.sortedStarts, startLow), startTo = upperBound(this.sortedStarts, startHigh);
+    int finishFrom = lowerBound(this.sortedFinishes, finishLow), finishTo = upperBound(this.sortedFinishes,
+      finishHigh);
+
+    if (startTo - startFrom <= finishTo - finishFrom) {
+      for (int i = startFrom; i < startTo; i++) {
+        int periodNumber = this.byStart[i];
+        if (this.finishes[periodNumber] >= finishLow && this.finishes[periodNumber] <= finishHigh)
+          consumer.accept(periodNumber);
+      }
+    } else {
+      for (int i = finishFrom; i < finishTo; i++) {
+        int periodNumber = this.byFinish[i];
+        if (this.starts[periodNumber] >= startLow && this.starts[periodNumber] <= startHigh)
+          consumer.accept(periodNumber);
+      }
+    }
+  }
+
+  /**
+   * @return The index of the first value that is not less than the key
+   */
+  private static int lowerBound(@NonNull long[] sortedValues, long key)
+  {
+    int low = 0, high = sortedValues.length;
+
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (sortedValues[middle] < key)
+        low = middle + 1;
+      else
+        high = middle;
+    }
+    return low;
+  }
+
+  /**
+   * @return The index of the first value that is greater than the key
+   */
+  private static int upperBound(@NonNull long[] sortedValues, long key)
+  {
+    int low = 0, high = sortedValues.length;
+
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (sortedValues[middle] <= key)
+        low = middle + 1;
+      else
+        high = middle;
+    }
+    return low;
+  }
+}
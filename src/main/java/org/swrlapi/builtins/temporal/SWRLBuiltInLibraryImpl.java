@@ -1,15 +1,14 @@
 package org.swrlapi.builtins.temporal;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.semanticweb.owlapi.model.IRI;
-import org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom;
-import org.semanticweb.owlapi.model.OWLIndividual;
-import org.semanticweb.owlapi.model.OWLLiteral;
-import org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
 import org.swrlapi.builtins.AbstractSWRLBuiltInLibrary;
-import org.swrlapi.builtins.SWRLBuiltInBridge;
+import org.swrlapi.builtins.DeterministicSWRLBuiltIn;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLLiteralBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLMultiValueVariableBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLNamedIndividualBuiltInArgument;
 import org.swrlapi.exceptions.InvalidSWRLBuiltInArgumentException;
 import org.swrlapi.exceptions.SWRLBuiltInException;
@@ -18,10 +17,13 @@ import org.swrlapi.literal.XSDDate;
 import org.swrlapi.literal.XSDDateTime;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
 
 /**
  * Implementation library for SWRL temporal built-ins.
@@ -30,7 +32,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
 {
   private static final String PREFIX = "temporal";
 
-  private static final String NAMESPACE = "http://swrl.stanford.edu/ontologies/built-ins/3.3/temporal.owl#";
+  static final String NAMESPACE = "http://swrl.stanford.edu/ontologies/built-ins/3.3/temporal.owl#";
 
   private static final String[] BUILT_IN_NAMES = { "notEquals", "notIntersects", "notStarts", "overlappedBy",
     "contains", "equals", "intersects", "finishedBy", "notDurationLessThanOrEqualTo", "notStartedBy", "notFinishedBy",
@@ -40,31 +42,35 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     "notDurationGreaterThanOrEqualTo", "add", "finishes", "notAfter", "durationEqualTo", "overlaps",
     "durationGreaterThan", "durationLessThan", "after", "notMetBy" };
 
-  private static final String TemporalEquals = PREFIX + ":" + "equals";
-  private static final String TemporalAfter = PREFIX + ":" + "after";
-  private static final String TemporalBefore = PREFIX + ":" + "before";
-  private static final String TemporalMeets = PREFIX + ":" + "meets";
-  private static final String TemporalMetBy = PREFIX + ":" + "metBy";
-  private static final String TemporalOverlaps = PREFIX + ":" + "overlaps";
-  private static final String TemporalOverlappedBy = PREFIX + ":" + "overlappedBy";
-  private static final String TemporalContains = PREFIX + ":" + "contains";
-  private static final String TemporalDuring = PREFIX + ":" + "during";
-  private static final String TemporalStarts = PREFIX + ":" + "starts";
-  private static final String TemporalStartedBy = PREFIX + ":" + "startedBy";
-  private static final String TemporalFinishes = PREFIX + ":" + "finishes";
-  private static final String TemporalFinishedBy = PREFIX + ":" + "finishedBy";
-  private static final String TemporalIntersects = PREFIX + ":" + "intersects";
-
-  private static final String ExtendedPropositionClassName = NAMESPACE + "ExtendedProposition";
-  private static final String ValidInstantClassName = NAMESPACE + "ValidInstant";
-  private static final String ValidPeriodClassName = NAMESPACE + "ValidPeriod";
-  private static final String GranularityClassName = NAMESPACE + "Granularity";
-  private static final String HasValidTimePropertyName = NAMESPACE + "hasValidTime";
-  private static final String HasTimePropertyName = NAMESPACE + "hasTime";
-  private static final String HasStartTimePropertyName = NAMESPACE + "hasStartTime";
-  private static final String HasFinishTimePropertyName = NAMESPACE + "hasFinishTime";
+  static final String TemporalEquals = PREFIX + ":" + "equals";
+  static final String TemporalAfter = PREFIX + ":" + "after";
+  static final String TemporalBefore = PREFIX + ":" + "before";
+  static final String TemporalMeets = PREFIX + ":" + "meets";
+  static final String TemporalMetBy = PREFIX + ":" + "metBy";
+  static final String TemporalOverlaps = PREFIX + ":" + "overlaps";
+  static final String TemporalOverlappedBy = PREFIX + ":" + "overlappedBy";
+  static final String TemporalContains = PREFIX + ":" + "contains";
+  static final String TemporalDuring = PREFIX + ":" + "during";
+  static final String TemporalStarts = PREFIX + ":" + "starts";
+  static final String TemporalStartedBy = PREFIX + ":" + "startedBy";
+  static final String TemporalFinishes = PREFIX + ":" + "finishes";
+  static final String TemporalFinishedBy = PREFIX + ":" + "finishedBy";
+  static final String TemporalIntersects = PREFIX + ":" + "intersects";
+
+  static final String ExtendedPropositionClassName = NAMESPACE + "ExtendedProposition";
+  static final String ValidInstantClassName = NAMESPACE + "ValidInstant";
+  static final String ValidPeriodClassName = NAMESPACE + "ValidPeriod";
+  static final String GranularityClassName = NAMESPACE + "Granularity";
+  static final String HasValidTimePropertyName = NAMESPACE + "hasValidTime";
+  static final String HasTimePropertyName = NAMESPACE + "hasTime";
+  static final String HasStartTimePropertyName = NAMESPACE + "hasStartTime";
+  static final String HasFinishTimePropertyName = NAMESPACE + "hasFinishTime";
 
   @NonNull private final Temporal temporal;
+  @Nullable private ValidTimeIndex validTimeIndex; // Built on first use for the invoking bridge's ontology
+  // Interval indexes by granularity, built on first use and discarded when the valid-time index changes
+  @Nullable private final PeriodIntervalIndex[] periodIntervalIndexes = new PeriodIntervalIndex[
+    Temporal.NUMBER_OF_GRANULARITIES];
 
   public SWRLBuiltInLibraryImpl()
   {
@@ -77,6 +83,13 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   @Override public void reset() throws SWRLBuiltInLibraryException
   {
     this.temporal.setNow();
+    closeValidTimeIndex(); // Periods given relative to now have moved
+  }
+
+  @Override public void close()
+  {
+    closeValidTimeIndex();
+    super.close();
   }
 
   /**
@@ -226,7 +239,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    */
   public boolean notIntersects(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
-    return !temporalOperation(TemporalIntersects, arguments);
+    return temporalOperation(TemporalIntersects, true, arguments);
   }
 
   /**
@@ -236,7 +249,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    */
   public boolean notEquals(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
-    return !temporalOperation(TemporalEquals, arguments);
+    return temporalOperation(TemporalEquals, true, arguments);
   }
 
   /**
@@ -246,7 +259,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    */
   public boolean notBefore(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
-    return !temporalOperation(TemporalBefore, arguments);
+    return temporalOperation(TemporalBefore, true, arguments);
   }
 
   /**
@@ -256,7 +269,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    */
   public boolean notAfter(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
-    return !temporalOperation(TemporalAfter, arguments);
+    return temporalOperation(TemporalAfter, true, arguments);
   }
 
   /**
@@ -266,7 +279,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    */
   public boolean notMeets(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
-    return !temporalOperation(TemporalMeets, arguments);
+    return temporalOperation(TemporalMeets, true, arguments);
   }
 
   /**
@@ -276,7 +289,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    */
   public boolean notMetBy(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
-    return !temporalOperation(TemporalMetBy, arguments);
+    return temporalOperation(TemporalMetBy, true, arguments);
   }
 
   /**
@@ -286,7 +299,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    */
   public boolean notOverlaps(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
-    return !temporalOperation(TemporalOverlaps, arguments);
+    return temporalOperation(TemporalOverlaps, true, arguments);
   }
 
   /**
@@ -296,7 +309,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    */
   public boolean notOverlappedBy(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
-    return !temporalOperation(TemporalOverlappedBy, arguments);
+    return temporalOperation(TemporalOverlappedBy, true, arguments);
   }
 
   /**
@@ -306,7 +319,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    */
   public boolean notContains(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
-    return !temporalOperation(TemporalContains, arguments);
+    return temporalOperation(TemporalContains, true, arguments);
   }
 
   /**
@@ -316,7 +329,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    */
   public boolean notDuring(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
-    return !temporalOperation(TemporalDuring, arguments);
+    return temporalOperation(TemporalDuring, true, arguments);
   }
 
   /**
@@ -326,7 +339,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    */
   public boolean notStarts(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
-    return !temporalOperation(TemporalStarts, arguments);
+    return temporalOperation(TemporalStarts, true, arguments);
   }
 
   /**
@@ -336,7 +349,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    */
   public boolean notStartedBy(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
-    return !temporalOperation(TemporalStartedBy, arguments);
+    return temporalOperation(TemporalStartedBy, true, arguments);
   }
 
   /**
@@ -346,7 +359,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    */
   public boolean notFinishes(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
-    return !temporalOperation(TemporalFinishes, arguments);
+    return temporalOperation(TemporalFinishes, true, arguments);
   }
 
   /**
@@ -356,7 +369,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    */
   public boolean notFinishedBy(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
-    return !temporalOperation(TemporalFinishedBy, arguments);
+    return temporalOperation(TemporalFinishedBy, true, arguments);
   }
 
   /**
@@ -422,6 +435,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn(validity = DeterministicSWRLBuiltIn.Validity.UNTIL_LIBRARY_RESET)
   public boolean duration(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     long operationResult;
@@ -580,6 +594,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @DeterministicSWRLBuiltIn(validity = DeterministicSWRLBuiltIn.Validity.UNTIL_LIBRARY_RESET)
   public boolean add(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(4, arguments.size());
@@ -609,8 +624,23 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
 
   private boolean temporalOperation(@NonNull String operation, @NonNull List<@NonNull SWRLBuiltInArgument> arguments)
     throws SWRLBuiltInException
+  {
+    return temporalOperation(operation, false, arguments);
+  }
+
+  /**
+   * If either or both of the first two arguments are unbound, they are bound to the temporal individuals that stand
+   * (or, if negated, do not stand) in the relation, found through the interval index rather than by testing every
+   * pair.
+   */
+  private boolean temporalOperation(@NonNull String operation, boolean negated,
+    @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsInRange(2, 4, arguments.size());
+
+    if (isUnboundArgument(0, arguments) || isUnboundArgument(1, arguments))
+      return temporalJoin(operation, negated, arguments);
+
     checkForUnboundArguments(arguments);
 
     try {
@@ -625,43 +655,167 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
         getTwoInstantArgumentsAsAPeriod(1, 2, arguments, granularity) :
         getArgumentAsAPeriod(1, arguments, granularity);
 
-      switch (operation) {
-      case TemporalEquals:
-        return p1.equals(p2, granularity);
-      case TemporalBefore:
-        return p1.before(p2, granularity);
-      case TemporalAfter:
-        return p1.after(p2, granularity);
-      case TemporalMeets:
-        return p1.meets(p2, granularity);
-      case TemporalMetBy:
-        return p1.met_by(p2, granularity);
-      case TemporalOverlaps:
-        return p1.overlaps(p2, granularity);
-      case TemporalOverlappedBy:
-        return p1.overlapped_by(p2, granularity);
-      case TemporalContains:
-        return p1.contains(p2, granularity);
-      case TemporalDuring:
-        return p1.during(p2, granularity);
-      case TemporalStarts:
-        return p1.starts(p2, granularity);
-      case TemporalStartedBy:
-        return p1.started_by(p2, granularity);
-      case TemporalFinishes:
-        return p1.finishes(p2, granularity);
-      case TemporalFinishedBy:
-        return p1.finished_by(p2, granularity);
-      case TemporalIntersects:
-        return p1.intersects(p2, granularity);
-      default:
-        throw new SWRLBuiltInException("internal error - unknown temporal operator " + operation);
+      return negated != evaluateTemporalOperation(operation, p1, p2, granularity);
+    } catch (TemporalException e) {
+      throw new SWRLBuiltInException(e.getMessage() == null ? "" : e.getMessage(), e);
+    }
+  }
+
+  private boolean temporalJoin(@NonNull String operation, boolean negated,
+    @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
+  {
+    int numberOfArguments = arguments.size();
+
+    if (numberOfArguments > 3 || (numberOfArguments == 3 && !isBuiltInArgumentAGranularity(2, arguments)))
+      throw new SWRLBuiltInException(
+        "unbound arguments to " + operation + " are supported only with two period arguments and an optional "
+          + "granularity");
+
+    try {
+      int granularity = numberOfArguments == 3 ? getBuiltInArgumentAsAGranularity(2, arguments) : Temporal.FINEST;
+      PeriodIntervalIndex index = getPeriodIntervalIndex(granularity);
+      Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments =
+        createOutputMultiValueArguments(arguments);
+
+      if (isUnboundArgument(0, arguments) && isUnboundArgument(1, arguments)) {
+        for (int periodNumber = 0; periodNumber < index.size(); periodNumber++) {
+          Period p2 = index.getPeriod(this.temporal, periodNumber);
+          for (int partnerNumber : findPartners(index, operation, negated, p2, true)) {
+            outputMultiValueArguments.get(0).addArgument(createPeriodIndividualBuiltInArgument(index, partnerNumber));
+            outputMultiValueArguments.get(1).addArgument(createPeriodIndividualBuiltInArgument(index, periodNumber));
+          }
+        }
+      } else {
+        boolean partnerIsFirst = isUnboundArgument(0, arguments);
+        Period bound = getArgumentAsAPeriod(partnerIsFirst ? 1 : 0, arguments, granularity);
+        SWRLMultiValueVariableBuiltInArgument partners = outputMultiValueArguments.get(partnerIsFirst ? 0 : 1);
+
+        for (int partnerNumber : findPartners(index, operation, negated, bound, partnerIsFirst))
+          partners.addArgument(createPeriodIndividualBuiltInArgument(index, partnerNumber));
       }
+
+      return processResultMultiValueArguments(arguments, outputMultiValueArguments);
     } catch (TemporalException e) {
       throw new SWRLBuiltInException(e.getMessage() == null ? "" : e.getMessage(), e);
     }
   }
 
+  /**
+   * @return The numbers of the indexed periods that stand in the relation to the bound period, as its first operand if
+   * partnerIsFirst is true and as its second otherwise, or that do not if negated is true
+   */
+  @NonNull private int[] findPartners(@NonNull PeriodIntervalIndex index, @NonNull String operation, boolean negated,
+    @NonNull Period bound, boolean partnerIsFirst) throws SWRLBuiltInException, TemporalException
+  {
+    IntStream.Builder candidates = IntStream.builder();
+    boolean[] isPartner = new boolean[negated ? index.size() : 0];
+    IntStream.Builder partners = IntStream.builder();
+
+    index.findCandidates(partnerIsFirst ? operation : getInverseTemporalOperation(operation), bound,
+      candidates::add);
+
+    for (int candidateNumber : candidates.build().toArray()) {
+      Period candidate = index.getPeriod(this.temporal, candidateNumber);
+      boolean holds = partnerIsFirst ?
+        evaluateTemporalOperation(operation, candidate, bound, index.getGranularity()) :
+        evaluateTemporalOperation(operation, bound, candidate, index.getGranularity());
+      if (holds && negated)
+        isPartner[candidateNumber] = true;
+      else if (holds)
+        partners.add(candidateNumber);
+    }
+
+    if (negated) { // Every period that is not a positive match is a partner
+      for (int periodNumber = 0; periodNumber < index.size(); periodNumber++)
+        if (!isPartner[periodNumber])
+          partners.add(periodNumber);
+    }
+
+    return partners.build().toArray();
+  }
+
+  /**
+   * @return The relation that holds between periods p2 and p1 whenever the given relation holds between p1 and p2
+   */
+  @NonNull private static String getInverseTemporalOperation(@NonNull String operation) throws SWRLBuiltInException
+  {
+    switch (operation) {
+    case TemporalEquals:
+    case TemporalIntersects:
+      return operation;
+    case TemporalBefore:
+      return TemporalAfter;
+    case TemporalAfter:
+      return TemporalBefore;
+    case TemporalMeets:
+      return TemporalMetBy;
+    case TemporalMetBy:
+      return TemporalMeets;
+    case TemporalOverlaps:
+      return TemporalOverlappedBy;
+    case TemporalOverlappedBy:
+      return TemporalOverlaps;
+    case TemporalContains:
+      return TemporalDuring;
+    case TemporalDuring:
+      return TemporalContains;
+    case TemporalStarts:
+      return TemporalStartedBy;
+    case TemporalStartedBy:
+      return TemporalStarts;
+    case TemporalFinishes:
+      return TemporalFinishedBy;
+    case TemporalFinishedBy:
+      return TemporalFinishes;
+    default:
+      throw new SWRLBuiltInException("internal error - unknown temporal operator " + operation);
+    }
+  }
+
+  private static boolean evaluateTemporalOperation(@NonNull String operation, @NonNull Period p1, @NonNull Period p2,
+    int granularity) throws SWRLBuiltInException, TemporalException
+  {
+    switch (operation) {
+    case TemporalEquals:
+      return p1.equals(p2, granularity);
+    case TemporalBefore:
+      return p1.before(p2, granularity);
+    case TemporalAfter:
+      return p1.after(p2, granularity);
+    case TemporalMeets:
+      return p1.meets(p2, granularity);
+    case TemporalMetBy:
+      return p1.met_by(p2, granularity);
+    case TemporalOverlaps:
+      return p1.overlaps(p2, granularity);
+    case TemporalOverlappedBy:
+      return p1.overlapped_by(p2, granularity);
+    case TemporalContains:
+      return p1.contains(p2, granularity);
+    case TemporalDuring:
+      return p1.during(p2, granularity);
+    case TemporalStarts:
+      return p1.starts(p2, granularity);
+    case TemporalStartedBy:
+      return p1.started_by(p2, granularity);
+    case TemporalFinishes:
+      return p1.finishes(p2, granularity);
+    case TemporalFinishedBy:
+      return p1.finished_by(p2, granularity);
+    case TemporalIntersects:
+      return p1.intersects(p2, granularity);
+    default:
+      throw new SWRLBuiltInException("internal error - unknown temporal operator " + operation);
+    }
+  }
+
+  @NonNull private SWRLBuiltInArgument createPeriodIndividualBuiltInArgument(@NonNull PeriodIntervalIndex index,
+    int periodNumber) throws SWRLBuiltInException
+  {
+    return createNamedIndividualBuiltInArgument(
+      getSWRLAPIOWLDataFactory().getOWLNamedIndividual(index.getIndividualIRI(periodNumber)));
+  }
+
   @NonNull private Period getTwoInstantArgumentsAsAPeriod(int firstArgumentNumber, int secondArgumentNumber,
     @NonNull List<@NonNull SWRLBuiltInArgument> arguments, int granularity)
     throws SWRLBuiltInException, TemporalException
@@ -697,14 +851,10 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       return new Period(this.temporal, datetimeString, datetimeString, granularity);
     } else if (isArgumentAnOWLNamedIndividual(argumentNumber, arguments)) {
       IRI individualIRI = getArgumentAsANamedIndividualIRI(argumentNumber, arguments);
-      if (isOWLIndividualOfType(individualIRI, createIRI(ValidInstantClassName))) {
-        Instant instant = validInstantIndividual2Instant(individualIRI, granularity);
-        return new Period(this.temporal, instant, granularity);
-      } else if (isOWLIndividualOfType(individualIRI, createIRI(ValidPeriodClassName))) {
-        return validPeriodIndividual2Period(individualIRI, granularity);
-      } else if (isOWLIndividualOfType(individualIRI, createIRI(ExtendedPropositionClassName))) {
-        return extendedPropositionIndividual2Period(individualIRI, granularity);
-      } else
+      Optional<@NonNull Period> period = individual2Period(individualIRI, granularity);
+      if (period.isPresent())
+        return period.get();
+      else
         throw new InvalidSWRLBuiltInArgumentException(argumentNumber,
           "individual " + individualIRI + " is not a " + ValidInstantClassName + " or " + ValidPeriodClassName + " or "
             + ExtendedPropositionClassName);
@@ -714,6 +864,24 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
           + ExtendedPropositionClassName + " individual, got " + arguments.get(argumentNumber));
   }
 
+  /**
+   * @return The period of a valid instant, valid period, or extended proposition individual, or empty if the individual
+   * is none of these
+   */
+  @NonNull private Optional<@NonNull Period> individual2Period(@NonNull IRI individualIRI, int granularity)
+    throws SWRLBuiltInException, TemporalException
+  {
+    if (isOWLIndividualOfType(individualIRI, createIRI(ValidInstantClassName))) {
+      Instant instant = validInstantIndividual2Instant(individualIRI, granularity);
+      return Optional.of(new Period(this.temporal, instant, granularity));
+    } else if (isOWLIndividualOfType(individualIRI, createIRI(ValidPeriodClassName)))
+      return Optional.of(validPeriodIndividual2Period(individualIRI, granularity));
+    else if (isOWLIndividualOfType(individualIRI, createIRI(ExtendedPropositionClassName)))
+      return Optional.of(extendedPropositionIndividual2Period(individualIRI, granularity));
+    else
+      return Optional.<@NonNull Period>empty();
+  }
+
   @NonNull private Instant getArgumentAsAnInstant(int argumentNumber,
     @NonNull List<@NonNull SWRLBuiltInArgument> arguments, int granularity)
     throws SWRLBuiltInException, TemporalException
@@ -759,7 +927,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       IRI individualIRI = individualArgument.getIRI();
       String fullName = individualIRI.toString();
       String granularityName;
-      if (isOWLIndividualOfType(individualIRI, createIRI(GranularityClassName))) {
+      if (isGranularityIndividual(individualIRI)) {
         int hashIndex = fullName.indexOf('#');
         if (hashIndex == -1)
           granularityName = fullName;
@@ -782,7 +950,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       return Temporal.isValidGranularityString(granularityName);
     } else if (isArgumentAnOWLNamedIndividual(argumentNumber, arguments)) {
       IRI individualIRI = getArgumentAsANamedIndividualIRI(argumentNumber, arguments);
-      return isOWLIndividualOfType(individualIRI, createIRI(GranularityClassName));
+      return isGranularityIndividual(individualIRI);
     } else
       return false;
   }
@@ -790,28 +958,31 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   @NonNull private Instant validInstantIndividual2Instant(@NonNull IRI individualIRI, int granularity)
     throws SWRLBuiltInException, TemporalException
   {
-    String datetimeString = getDataPropertyValueAsAString(getBuiltInBridge(), individualIRI,
-      createIRI(HasTimePropertyName));
+    Optional<@NonNull Instant> instant = getValidTimeIndex().getInstant(individualIRI, granularity);
 
-    return new Instant(this.temporal, datetimeString, granularity);
+    if (instant.isPresent())
+      return instant.get();
+    else
+      throw new SWRLBuiltInException("no " + HasTimePropertyName + " value for valid instant " + individualIRI);
   }
 
   @NonNull private Period validPeriodIndividual2Period(@NonNull IRI individualIRI, int granularity)
     throws SWRLBuiltInException, TemporalException
   {
-    String startDatetimeString = getDataPropertyValueAsAString(getBuiltInBridge(), individualIRI,
-      createIRI(HasStartTimePropertyName));
-    String finishDatetimeString = getDataPropertyValueAsAString(getBuiltInBridge(), individualIRI,
-      createIRI(HasFinishTimePropertyName));
+    Optional<@NonNull Period> period = getValidTimeIndex().getPeriod(individualIRI, granularity);
 
-    return new Period(this.temporal, startDatetimeString, finishDatetimeString, granularity);
+    if (period.isPresent())
+      return period.get();
+    else
+      throw new SWRLBuiltInException(
+        "no " + HasStartTimePropertyName + " and " + HasFinishTimePropertyName + " values for valid period "
+          + individualIRI);
   }
 
   @NonNull private Period extendedPropositionIndividual2Period(@NonNull IRI extendedPropositionIRI, int granularity)
     throws SWRLBuiltInException, TemporalException
   {
-    IRI validTimeIRI = getObjectPropertyValueAsIRI(getBuiltInBridge(), extendedPropositionIRI,
-      createIRI(HasValidTimePropertyName));
+    IRI validTimeIRI = getValidTimeIRI(extendedPropositionIRI);
 
     if (isOWLIndividualOfType(validTimeIRI, createIRI(ValidPeriodClassName)))
       return validPeriodIndividual2Period(validTimeIRI, granularity);
@@ -822,8 +993,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   @NonNull private Instant extendedPropositionIndividual2Instant(@NonNull IRI extendedPropositionIRI, int granularity)
     throws SWRLBuiltInException, TemporalException
   {
-    IRI validTimeIRI = getObjectPropertyValueAsIRI(getBuiltInBridge(), extendedPropositionIRI,
-      createIRI(HasValidTimePropertyName));
+    IRI validTimeIRI = getValidTimeIRI(extendedPropositionIRI);
 
     if (isOWLIndividualOfType(validTimeIRI, createIRI(ValidInstantClassName)))
       return validInstantIndividual2Instant(validTimeIRI, granularity);
@@ -832,30 +1002,96 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
         "expecting valid instant value for extended proposition " + extendedPropositionIRI);
   }
 
-  @NonNull private IRI getObjectPropertyValueAsIRI(@NonNull SWRLBuiltInBridge bridge, @NonNull IRI individualIRI,
-    @NonNull IRI propertyIRI)
+  @NonNull private IRI getValidTimeIRI(@NonNull IRI extendedPropositionIRI) throws SWRLBuiltInException
   {
-    Set<@NonNull OWLObjectPropertyAssertionAxiom> axioms = new HashSet<>(); // TODO Get assertions for this individual/property
-    OWLObjectPropertyAssertionAxiom axiom = axioms.toArray(new OWLObjectPropertyAssertionAxiom[0])[0];
-    OWLIndividual subject = axiom.getObject();
+    Optional<@NonNull IRI> validTimeIRI = getValidTimeIndex().getValidTime(extendedPropositionIRI);
 
-    return subject.asOWLNamedIndividual().getIRI();
+    if (validTimeIRI.isPresent())
+      return validTimeIRI.get();
+    else
+      throw new SWRLBuiltInException(
+        "no " + HasValidTimePropertyName + " value for extended proposition " + extendedPropositionIRI);
   }
 
   private boolean isOWLIndividualOfType(@NonNull IRI individualIRI, @NonNull IRI classIRI)
     throws SWRLBuiltInLibraryException
   {
-    return true; // TODO Implement isOWLIndividualOfType
+    return getValidTimeIndex().isOfType(individualIRI, classIRI);
   }
 
-  @NonNull private String getDataPropertyValueAsAString(@NonNull SWRLBuiltInBridge bridge, @NonNull IRI individualIRI,
-    @NonNull IRI propertyIRI)
+  /**
+   * Granularity individuals are defined in the temporal ontology, which rule ontologies need not import, so an
+   * individual in the temporal namespace named after a granularity is accepted without an asserted type.
+   */
+  private boolean isGranularityIndividual(@NonNull IRI individualIRI) throws SWRLBuiltInException
   {
-    Set<@NonNull OWLDataPropertyAssertionAxiom> axioms = new HashSet<>(); // TODO Get assertions for this individual/property
-    OWLDataPropertyAssertionAxiom axiom = axioms.toArray(new OWLDataPropertyAssertionAxiom[0])[0];
-    OWLLiteral value = axiom.getObject();
+    String fullName = individualIRI.toString();
 
-    return value.toString();
+    return isOWLIndividualOfType(individualIRI, createIRI(GranularityClassName)) || (fullName.startsWith(NAMESPACE)
+      && Temporal.isValidGranularityString(fullName.substring(NAMESPACE.length())));
+  }
+
+  /**
+   * The index is built on first use after the library is reset, rebuilt when the library is invoked for a different
+   * ontology, and is otherwise kept up to date by ontology change events.
+   */
+  @NonNull private ValidTimeIndex getValidTimeIndex() throws SWRLBuiltInLibraryException
+  {
+    OWLOntology ontology = getBuiltInBridge().getOWLOntology();
+
+    if (this.validTimeIndex == null || this.validTimeIndex.getOntology() != ontology) {
+      closeValidTimeIndex();
+      this.validTimeIndex = new ValidTimeIndex(this.temporal, ontology);
+    }
+
+    return this.validTimeIndex;
+  }
+
+  /**
+   * Stop the valid-time index listening for ontology changes and discard it and the interval indexes built from it
+   */
+  private void closeValidTimeIndex()
+  {
+    if (this.validTimeIndex != null) {
+      this.validTimeIndex.close();
+      this.validTimeIndex = null;
+    }
+    Arrays.fill(this.periodIntervalIndexes, null);
+  }
+
+  /**
+   * The interval index for a granularity covers every temporal individual with a period. It is rebuilt when the
+   * valid-time index has been replaced or has changed since it was built. Individuals whose valid times cannot be
+   * resolved are left out.
+   */
+  @NonNull private PeriodIntervalIndex getPeriodIntervalIndex(int granularity) throws SWRLBuiltInLibraryException
+  {
+    ValidTimeIndex validTimeIndex = getValidTimeIndex();
+    PeriodIntervalIndex periodIntervalIndex = this.periodIntervalIndexes[granularity];
+
+    if (periodIntervalIndex == null || !periodIntervalIndex.isBuiltFrom(validTimeIndex)) {
+      List<@NonNull IRI> individualIRIs = new ArrayList<>();
+      List<@NonNull Period> periods = new ArrayList<>();
+
+      for (IRI individualIRI : validTimeIndex.getTemporalIndividualIRIs()) {
+        try {
+          Optional<@NonNull Period> period = individual2Period(individualIRI, granularity);
+          if (period.isPresent()) {
+            individualIRIs.add(individualIRI);
+            periods.add(period.get());
+          }
+        } catch (SWRLBuiltInException | TemporalException e) {
+          // An individual with a missing or malformed valid time cannot stand in any relation
+        }
+      }
+      try {
+        periodIntervalIndex = new PeriodIntervalIndex(granularity, validTimeIndex, individualIRIs, periods);
+      } catch (TemporalException e) {
+        throw new SWRLBuiltInLibraryException("error building interval index: " + e.getMessage(), e);
+      }
+      this.periodIntervalIndexes[granularity] = periodIntervalIndex;
+    }
+    return periodIntervalIndex;
   }
 
   private long convertArgumentToALong(int argumentNumber, @NonNull List<@NonNull SWRLBuiltInArgument> arguments)
@@ -0,0 +1,314 @@
+package org.swrlapi.builtins.temporal;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyChangeListener;
+import org.semanticweb.owlapi.model.parameters.Imports;
+
+import javax.annotation.Nonnull;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * A per-individual index of the temporal ontology's valid-time assertions: the <code>ValidInstant</code>,
+ * <code>ValidPeriod</code>, <code>ExtendedProposition</code> and <code>Granularity</code> types of each individual,
+ * and its <code>hasTime</code>, <code>hasStartTime</code>, <code>hasFinishTime</code> and <code>hasValidTime</code>
+ * values.
+ * <p>
+ * The index is built with a single pass over the assertions of an ontology and its imports. After that it is kept up
+ * to date by listening for ontology changes; the entry of each individual whose temporal assertions change is rebuilt.
+ * Datetime values are parsed at most once per granularity. Later lookups construct the requested {@link Instant} or
+ * {@link Period} from the stored granule counts. The value <code>now</code> is never cached because it moves whenever
+ * the library is reset.
+ * <p>
+ * Instances are not thread safe; each built-in library owns its index and is invoked by one bridge at a time. The
+ * library closes its index, which stops it listening, when it is reset or closed.
+ */
+final class ValidTimeIndex implements OWLOntologyChangeListener, AutoCloseable
+{
+  private static final IRI HAS_VALID_TIME = IRI.create(SWRLBuiltInLibraryImpl.HasValidTimePropertyName);
+  private static final IRI HAS_TIME = IRI.create(SWRLBuiltInLibraryImpl.HasTimePropertyName);
+  private static final IRI HAS_START_TIME = IRI.create(SWRLBuiltInLibraryImpl.HasStartTimePropertyName);
+  private static final IRI HAS_FINISH_TIME = IRI.create(SWRLBuiltInLibraryImpl.HasFinishTimePropertyName);
+
+  private static final String NOW = "now";
+
+  // Temporal classes, indexed by their bit in an entry's type mask
+  private static final int VALID_INSTANT_BIT = 0, VALID_PERIOD_BIT = 1, EXTENDED_PROPOSITION_BIT = 2;
+  private static final IRI[] TEMPORAL_CLASS_IRIS = { IRI.create(SWRLBuiltInLibraryImpl.ValidInstantClassName),
+    IRI.create(SWRLBuiltInLibraryImpl.ValidPeriodClassName),
+    IRI.create(SWRLBuiltInLibraryImpl.ExtendedPropositionClassName),
+    IRI.create(SWRLBuiltInLibraryImpl.GranularityClassName) };
+
+  @NonNull private final Temporal temporal;
+  @NonNull private final OWLOntology ontology;
+  @NonNull private final Map<@NonNull IRI, @NonNull ValidTimeEntry> entries;
+  private long version; // Incremented whenever an entry changes
+
+  ValidTimeIndex(@NonNull Temporal temporal, @NonNull OWLOntology ontology)
+  {
+    this.temporal = temporal;
+    this.ontology = ontology;
+    this.entries = new HashMap<>();
+
+    build();
+
+    this.ontology.getOWLOntologyManager().addOntologyChangeListener(this);
+  }
+
+  @NonNull OWLOntology getOntology()
+  {
+    return this.ontology;
+  }
+
+  /**
+   * @return The number of individuals with at least one temporal type or valid-time value
+   */
+  int size()
+  {
+    return this.entries.size();
+  }
+
+  /**
+   * @return A number that changes whenever the indexed valid times change
+   */
+  long getVersion()
+  {
+    return this.version;
+  }
+
+  /**
+   * @return The individuals that are valid instants, valid periods or extended propositions
+   */
+  @NonNull List<@NonNull IRI> getTemporalIndividualIRIs()
+  {
+    int temporalTypes = (1 << VALID_INSTANT_BIT) | (1 << VALID_PERIOD_BIT) | (1 << EXTENDED_PROPOSITION_BIT);
+
+    return this.entries.entrySet().stream().filter(e -> (e.getValue().types & temporalTypes) != 0)
+      .map(Map.Entry::getKey).collect(Collectors.toList());
+  }
+
+  boolean isOfType(@NonNull IRI individualIRI, @NonNull IRI classIRI)
+  {
+    ValidTimeEntry entry = this.entries.get(individualIRI);
+    int classBit = getClassBit(classIRI);
+
+    return entry != null && classBit != -1 && (entry.types & (1 << classBit)) != 0;
+  }
+
+  @NonNull Optional<@NonNull IRI> getValidTime(@NonNull IRI individualIRI)
+  {
+    ValidTimeEntry entry = this.entries.get(individualIRI);
+
+    return entry == null ? Optional.<@NonNull IRI>empty() : Optional.ofNullable(entry.validTimeIRI);
+  }
+
+  /**
+   * @return The <code>hasTime</code> value of an individual at the given granularity
+   */
+  @NonNull Optional<@NonNull Instant> getInstant(@NonNull IRI individualIRI, int granularity)
+    throws TemporalException
+  {
+    ValidTimeEntry entry = this.entries.get(individualIRI);
+
+    if (entry == null || entry.time == null)
+      return Optional.<@NonNull Instant>empty();
+    else if (isNow(entry.time))
+      return Optional.of(new Instant(this.temporal, entry.time, granularity));
+
+    Temporal.checkGranularity(granularity);
+
+    if ((entry.parsedInstantGranularities & (1 << granularity)) == 0) {
+      if (entry.timeGranuleCounts == null)
+        entry.timeGranuleCounts = new long[Temporal.NUMBER_OF_GRANULARITIES];
+      entry.timeGranuleCounts[granularity] = new Instant(this.temporal, entry.time, granularity)
+        .getGranuleCount(granularity);
+      entry.parsedInstantGranularities |= 1 << granularity;
+    }
+
+    return Optional.of(new Instant(this.temporal, entry.timeGranuleCounts[granularity], granularity));
+  }
+
+  /**
+   * @return The <code>hasStartTime</code> and <code>hasFinishTime</code> values of an individual at the given
+   * granularity
+   */
+  @NonNull Optional<@NonNull Period> getPeriod(@NonNull IRI individualIRI, int granularity) throws TemporalException
+  {
+    ValidTimeEntry entry = this.entries.get(individualIRI);
+
+    if (entry == null || entry.startTime == null || entry.finishTime == null)
+      return Optional.<@NonNull Period>empty();
+    else if (isNow(entry.startTime) || isNow(entry.finishTime))
+      return Optional.of(new Period(this.temporal, entry.startTime, entry.finishTime, granularity));
+
+    Temporal.checkGranularity(granularity);
+
+    if ((entry.parsedPeriodGranularities & (1 << granularity)) == 0) {
+      Period period = new Period(this.temporal, entry.startTime, entry.finishTime, granularity);
+      if (entry.startGranuleCounts == null || entry.finishGranuleCounts == null) {
+        entry.startGranuleCounts = new long[Temporal.NUMBER_OF_GRANULARITIES];
+        entry.finishGranuleCounts = new long[Temporal.NUMBER_OF_GRANULARITIES];
+      }
+      entry.startGranuleCounts[granularity] = period.getStartGranuleCount(granularity);
+      entry.finishGranuleCounts[granularity] = period.getFinishGranuleCount(granularity);
+      entry.parsedPeriodGranularities |= 1 << granularity;
+    }
+
+    return Optional.of(new Period(this.temporal, entry.startGranuleCounts[granularity],
+      entry.finishGranuleCounts[granularity], granularity));
+  }
+
+  @Override public void ontologiesChanged(@Nonnull List<? extends OWLOntologyChange> changes)
+  {
+    Set<@NonNull OWLOntology> importsClosure = this.ontology.getImportsClosure();
+    Set<@NonNull OWLNamedIndividual> changedIndividuals = new HashSet<>();
+
+    for (OWLOntologyChange change : changes) {
+      if (!importsClosure.contains(change.getOntology()))
+        continue;
+
+      if (change.isImportChange()) { // The set of indexed ontologies changed
+        this.entries.clear();
+        build();
+        this.version++;
+        return;
+      } else if (change.isAxiomChange()) {
+        OWLNamedIndividual individual = getIndexedSubject(change.getAxiom());
+        if (individual != null)
+          changedIndividuals.add(individual);
+      }
+    }
+
+    for (OWLNamedIndividual individual : changedIndividuals)
+      rebuild(individual, importsClosure);
+
+    if (!changedIndividuals.isEmpty())
+      this.version++;
+  }
+
+  @Override public void close()
+  {
+    this.ontology.getOWLOntologyManager().removeOntologyChangeListener(this);
+  }
+
+  private void build()
+  {
+    for (OWLClassAssertionAxiom axiom : this.ontology.getAxioms(AxiomType.CLASS_ASSERTION, Imports.INCLUDED))
+      add(axiom);
+
+    for (OWLDataPropertyAssertionAxiom axiom : this.ontology
+      .getAxioms(AxiomType.DATA_PROPERTY_ASSERTION, Imports.INCLUDED))
+      add(axiom);
+
+    for (OWLObjectPropertyAssertionAxiom axiom : this.ontology
+      .getAxioms(AxiomType.OBJECT_PROPERTY_ASSERTION, Imports.INCLUDED))
+      add(axiom);
+  }
+
+  private void rebuild(@NonNull OWLNamedIndividual individual, @NonNull Set<@NonNull OWLOntology> importsClosure)
+  {
+    this.entries.remove(individual.getIRI());
+
+    for (OWLOntology o : importsClosure) {
+      for (OWLClassAssertionAxiom axiom : o.getClassAssertionAxioms(individual))
+        add(axiom);
+      for (OWLDataPropertyAssertionAxiom axiom : o.getDataPropertyAssertionAxioms(individual))
+        add(axiom);
+      for (OWLObjectPropertyAssertionAxiom axiom : o.getObjectPropertyAssertionAxioms(individual))
+        add(axiom);
+    }
+  }
+
+  private void add(@NonNull OWLAxiom axiom)
+  {
+    OWLNamedIndividual individual = getIndexedSubject(axiom);
+
+    if (individual == null)
+      return;
+
+    ValidTimeEntry entry = this.entries.computeIfAbsent(individual.getIRI(), i -> new ValidTimeEntry());
+
+    if (axiom instanceof OWLClassAssertionAxiom) {
+      entry.types |= 1 << getClassBit(((OWLClassAssertionAxiom)axiom).getClassExpression().asOWLClass().getIRI());
+    } else if (axiom instanceof OWLDataPropertyAssertionAxiom) {
+      OWLDataPropertyAssertionAxiom dataPropertyAssertionAxiom = (OWLDataPropertyAssertionAxiom)axiom;
+      IRI propertyIRI = dataPropertyAssertionAxiom.getProperty().asOWLDataProperty().getIRI();
+      String value = dataPropertyAssertionAxiom.getObject().getLiteral();
+
+      if (propertyIRI.equals(HAS_TIME))
+        entry.time = value;
+      else if (propertyIRI.equals(HAS_START_TIME))
+        entry.startTime = value;
+      else
+        entry.finishTime = value;
+    } else
+      entry.validTimeIRI = ((OWLObjectPropertyAssertionAxiom)axiom).getObject().asOWLNamedIndividual().getIRI();
+  }
+
+  /**
+   * @return The subject of an assertion that this index records, or null if the axiom is not one of them
+   */
+  @Nullable private static OWLNamedIndividual getIndexedSubject(@NonNull OWLAxiom axiom)
+  {
+    if (axiom instanceof OWLClassAssertionAxiom) {
+      OWLClassAssertionAxiom classAssertionAxiom = (OWLClassAssertionAxiom)axiom;
+      if (classAssertionAxiom.getIndividual().isNamed() && !classAssertionAxiom.getClassExpression().isAnonymous()
+        && getClassBit(classAssertionAxiom.getClassExpression().asOWLClass().getIRI()) != -1)
+        return classAssertionAxiom.getIndividual().asOWLNamedIndividual();
+    } else if (axiom instanceof OWLDataPropertyAssertionAxiom) {
+      OWLDataPropertyAssertionAxiom dataPropertyAssertionAxiom = (OWLDataPropertyAssertionAxiom)axiom;
+      IRI propertyIRI = dataPropertyAssertionAxiom.getProperty().isAnonymous() ?
+        null :
+        dataPropertyAssertionAxiom.getProperty().asOWLDataProperty().getIRI();
+      if (dataPropertyAssertionAxiom.getSubject().isNamed() && propertyIRI != null && (propertyIRI.equals(HAS_TIME)
+        || propertyIRI.equals(HAS_START_TIME) || propertyIRI.equals(HAS_FINISH_TIME)))
+        return dataPropertyAssertionAxiom.getSubject().asOWLNamedIndividual();
+    } else if (axiom instanceof OWLObjectPropertyAssertionAxiom) {
+      OWLObjectPropertyAssertionAxiom objectPropertyAssertionAxiom = (OWLObjectPropertyAssertionAxiom)axiom;
+      if (objectPropertyAssertionAxiom.getSubject().isNamed() && objectPropertyAssertionAxiom.getObject().isNamed()
+        && !objectPropertyAssertionAxiom.getProperty().isAnonymous() && objectPropertyAssertionAxiom.getProperty()
+        .asOWLObjectProperty().getIRI().equals(HAS_VALID_TIME))
+        return objectPropertyAssertionAxiom.getSubject().asOWLNamedIndividual();
+    }
+    return null;
+  }
+
+  private static int getClassBit(@NonNull IRI classIRI)
+  {
+    for (int i = 0; i < TEMPORAL_CLASS_IRIS.length; i++)
+      if (TEMPORAL_CLASS_IRIS[i].equals(classIRI))
+        return i;
+    return -1;
+  }
+
+  private static boolean isNow(@NonNull String datetimeString)
+  {
+    return datetimeString.trim().equals(NOW);
+  }
+
+  private static class ValidTimeEntry
+  {
+    private int types; // Bit mask over TEMPORAL_CLASS_IRIS
+    @Nullable private String time, startTime, finishTime;
+    @Nullable private IRI validTimeIRI;
+
+    // Granule counts at each granularity, allocated and filled in on the first request for that granularity
+    @Nullable private long[] timeGranuleCounts, startGranuleCounts, finishGranuleCounts;
+    private int parsedInstantGranularities, parsedPeriodGranularities; // Bit masks over granularities
+  }
+}
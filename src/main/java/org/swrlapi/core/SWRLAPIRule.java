@@ -65,6 +65,16 @@ public interface SWRLAPIRule extends SWRLRule
    */
   @NonNull List<@NonNull SWRLAtom> getHeadAtoms();
 
+  /**
+   * The body atoms ordered for evaluation: non-built-in atoms by estimated cost, with each side-effect-free filter
+   * built-in placed as soon as its arguments are bound. Other built-ins keep their relative order after the
+   * non-built-in atoms. Before the rule's ontology has been processed this is the order returned by
+   * {@link #getBodyAtoms()}.
+   *
+   * @return A list of SWRL atoms
+   */
+  @NonNull List<@NonNull SWRLAtom> getBodyAtomsInEvaluationOrder();
+
   /**
    * @return A list of atoms
    */
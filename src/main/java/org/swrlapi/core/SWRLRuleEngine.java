@@ -252,4 +252,12 @@ public interface SWRLRuleEngine
    * @return The underlying OWL ontology
    */
   @NonNull SWRLAPIOWLOntology getSWRLAPIOWLOntology();
+
+  /**
+   * Release the ontology change listeners and built-in libraries held by the engine. The engine should not be used
+   * after it is closed.
+   */
+  default void close()
+  {
+  }
 }
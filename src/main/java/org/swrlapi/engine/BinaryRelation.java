@@ -0,0 +1,224 @@
+package org.swrlapi.engine;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.semanticweb.owlapi.model.OWLIndividual;
+import org.semanticweb.owlapi.model.OWLObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * The assertions of an OWL property, or of <code>differentFrom</code>, split into the generations used by
+ * semi-naive evaluation. Each generation is indexed by subject and by object so that an atom with either argument
+ * bound is matched without a scan. Individuals are stored as their representatives in the
+ * {@link IndividualEquality} of the fact base, and values passed in are mapped to their representatives.
+ *
+ * @see UnaryRelation
+ * @see SemiNaiveSWRLRuleEngine
+ */
+final class BinaryRelation
+{
+  @NonNull private final IndividualEquality equality;
+  @NonNull private final Index all = new Index();
+  @NonNull private Index delta = new Index();
+  @NonNull private Index next = new Index();
+
+  BinaryRelation(@NonNull IndividualEquality equality)
+  {
+    this.equality = equality;
+  }
+
+  boolean assertFact(@NonNull OWLObject subjectValue, @NonNull OWLObject objectValue)
+  {
+    OWLObject subject = this.equality.getRepresentative(subjectValue);
+    OWLObject object = this.equality.getRepresentative(objectValue);
+
+    if (this.all.add(subject, object)) {
+      this.delta.add(subject, object);
+      return true;
+    } else
+      return false;
+  }
+
+  /**
+   * @return True if the fact is new; it becomes visible when the relation advances
+   */
+  boolean inferFact(@NonNull OWLObject subjectValue, @NonNull OWLObject objectValue)
+  {
+    OWLObject subject = this.equality.getRepresentative(subjectValue);
+    OWLObject object = this.equality.getRepresentative(objectValue);
+
+    return !this.all.contains(subject, object) && this.next.add(subject, object);
+  }
+
+  boolean contains(@NonNull OWLObject subjectValue, @NonNull OWLObject objectValue, @NonNull FactView view)
+  {
+    OWLObject subject = this.equality.getRepresentative(subjectValue);
+    OWLObject object = this.equality.getRepresentative(objectValue);
+
+    switch (view) {
+    case DELTA:
+      return this.delta.contains(subject, object);
+    case OLD:
+      return this.all.contains(subject, object) && !this.delta.contains(subject, object);
+    default:
+      return this.all.contains(subject, object);
+    }
+  }
+
+  /**
+   * @return The objects to scan for a subject; those of {@link FactView#OLD} must be checked with {@link #isExcluded}
+   */
+  @NonNull Set<@NonNull OWLObject> getObjects(@NonNull OWLObject subject, @NonNull FactView view)
+  {
+    return getIndex(view).subjectIndex.getOrDefault(this.equality.getRepresentative(subject), Collections.emptySet());
+  }
+
+  /**
+   * @return The subjects to scan for an object; those of {@link FactView#OLD} must be checked with {@link #isExcluded}
+   */
+  @NonNull Set<@NonNull OWLObject> getSubjects(@NonNull OWLObject object, @NonNull FactView view)
+  {
+    return getIndex(view).objectIndex.getOrDefault(this.equality.getRepresentative(object), Collections.emptySet());
+  }
+
+  /**
+   * @return The objects of each subject to scan for a view
+   */
+  @NonNull Map<@NonNull OWLObject, @NonNull Set<@NonNull OWLObject>> getFacts(@NonNull FactView view)
+  {
+    return getIndex(view).subjectIndex;
+  }
+
+  boolean isExcluded(@NonNull OWLObject subject, @NonNull OWLObject object, @NonNull FactView view)
+  {
+    return view == FactView.OLD && this.delta
+      .contains(this.equality.getRepresentative(subject), this.equality.getRepresentative(object));
+  }
+
+  boolean hasDelta()
+  {
+    return this.delta.size != 0;
+  }
+
+  /**
+   * Replace absorbed representatives by their current representatives. The rewritten facts are inferred, so they
+   * become new when the relation advances.
+   *
+   * @param absorbedIndividuals  Individuals that are no longer representatives
+   * @param reflexiveFactHandler If not null, receives each fact whose subject and object become equal, which is then
+   *                             dropped
+   */
+  void rewrite(@NonNull Set<@NonNull OWLIndividual> absorbedIndividuals,
+    @Nullable BiConsumer<@NonNull OWLObject, @NonNull OWLObject> reflexiveFactHandler)
+  {
+    List<@NonNull OWLObject[]> facts = new ArrayList<>();
+
+    for (OWLIndividual individual : absorbedIndividuals) {
+      this.all.remove(individual, facts);
+      this.next.remove(individual, facts);
+      this.delta.remove(individual, null);
+    }
+
+    for (OWLObject[] fact : facts) {
+      OWLObject subject = this.equality.getRepresentative(fact[0]);
+      OWLObject object = this.equality.getRepresentative(fact[1]);
+      if (reflexiveFactHandler != null && subject.equals(object))
+        reflexiveFactHandler.accept(fact[0], fact[1]);
+      else
+        inferFact(subject, object);
+    }
+  }
+
+  /**
+   * Make the facts inferred in the current round visible, as the delta of the next round.
+   *
+   * @return True if any facts were inferred
+   */
+  boolean advance()
+  {
+    for (Map.Entry<@NonNull OWLObject, @NonNull Set<@NonNull OWLObject>> entry : this.next.subjectIndex.entrySet())
+      for (OWLObject object : entry.getValue())
+        this.all.add(entry.getKey(), object);
+
+    this.delta = this.next;
+    this.next = new Index();
+
+    return this.delta.size != 0;
+  }
+
+  int size()
+  {
+    return this.all.size;
+  }
+
+  @NonNull private Index getIndex(@NonNull FactView view)
+  {
+    return view == FactView.DELTA ? this.delta : this.all;
+  }
+
+  private static final class Index
+  {
+    @NonNull private final Map<@NonNull OWLObject, @NonNull Set<@NonNull OWLObject>> subjectIndex = new HashMap<>();
+    @NonNull private final Map<@NonNull OWLObject, @NonNull Set<@NonNull OWLObject>> objectIndex = new HashMap<>();
+    private int size;
+
+    private boolean add(@NonNull OWLObject subject, @NonNull OWLObject object)
+    {
+      if (this.subjectIndex.computeIfAbsent(subject, s -> new HashSet<>()).add(object)) {
+        this.objectIndex.computeIfAbsent(object, o -> new HashSet<>()).add(subject);
+        this.size++;
+        return true;
+      } else
+        return false;
+    }
+
+    private boolean contains(@NonNull OWLObject subject, @NonNull OWLObject object)
+    {
+      Set<@NonNull OWLObject> objects = this.subjectIndex.get(subject);
+
+      return objects != null && objects.contains(object);
+    }
+
+    /**
+     * Remove the facts with a value as subject or object, adding them to a list if one is given.
+     */
+    private void remove(@NonNull OWLObject value, @Nullable List<@NonNull OWLObject[]> removedFacts)
+    {
+      Set<@NonNull OWLObject> objects = this.subjectIndex.remove(value);
+      if (objects != null)
+        for (OWLObject object : objects) {
+          removeFromIndex(this.objectIndex, object, value);
+          if (removedFacts != null)
+            removedFacts.add(new OWLObject[] { value, object });
+        }
+
+      Set<@NonNull OWLObject> subjects = this.objectIndex.remove(value);
+      if (subjects != null)
+        for (OWLObject subject : subjects) {
+          removeFromIndex(this.subjectIndex, subject, value);
+          if (removedFacts != null)
+            removedFacts.add(new OWLObject[] { subject, value });
+        }
+    }
+
+    private void removeFromIndex(@NonNull Map<@NonNull OWLObject, @NonNull Set<@NonNull OWLObject>> index,
+      @NonNull OWLObject key, @NonNull OWLObject value)
+    {
+      Set<@NonNull OWLObject> values = index.get(key);
+
+      if (values != null && values.remove(value)) {
+        this.size--;
+        if (values.isEmpty())
+          index.remove(key);
+      }
+    }
+  }
+}
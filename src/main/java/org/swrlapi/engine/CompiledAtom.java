@@ -0,0 +1,613 @@
+package org.swrlapi.engine;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLDatatype;
+import org.semanticweb.owlapi.model.OWLIndividual;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.swrlapi.bridge.SWRLRuleEngineBridge;
+import org.swrlapi.builtins.SWRLBuiltInArgumentPatternIterator;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLLiteralBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLNamedIndividualBuiltInArgument;
+import org.swrlapi.exceptions.SWRLBuiltInException;
+import org.swrlapi.exceptions.TargetSWRLRuleEngineException;
+import org.swrlapi.factory.SWRLBuiltInArgumentFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * An atom of a rule or query compiled for evaluation by a {@link SemiNaiveSWRLRuleEngine}. In a body an atom extends
+ * the bindings of the atoms before it; in a head it infers a fact from the bindings of the body.
+ * <p>
+ * Bindings are held in an array indexed by variable slot. An atom binds its unbound variables in place for each match,
+ * calls its continuation, and unbinds them again before returning.
+ * <p>
+ * Facts are stored over the representatives of equal individuals. Rules are evaluated over representatives only; the
+ * atoms of a query bind a variable matched against a fact to each individual equal to the stored one, so that query
+ * results name every individual.
+ *
+ * @see CompiledRule
+ */
+abstract class CompiledAtom
+{
+  /**
+   * Continues evaluation of a body with the bindings made so far.
+   */
+  interface Continuation
+  {
+    void proceed() throws SWRLBuiltInException;
+  }
+
+  @NonNull private final List<@NonNull Term> terms;
+  @Nullable private final IndividualEquality expandingEquality; // Set for query atoms
+
+  private CompiledAtom(@NonNull List<@NonNull Term> terms, @Nullable IndividualEquality expandingEquality)
+  {
+    this.terms = terms;
+    this.expandingEquality = expandingEquality;
+  }
+
+  /**
+   * Call the continuation once for each match of the atom that is consistent with the bindings.
+   *
+   * @param bindings     The bindings, which are extended in place for each match
+   * @param view         The facts to match against; only used by atoms that match facts
+   * @param continuation The rest of the body
+   * @throws SWRLBuiltInException If a built-in fails
+   */
+  abstract void match(@NonNull OWLObject[] bindings, @NonNull FactView view, @NonNull Continuation continuation)
+    throws SWRLBuiltInException;
+
+  /**
+   * Infer the fact of a head atom from the bindings of its body.
+   *
+   * @return The corresponding OWL axiom if the fact is new
+   * @throws SWRLBuiltInException If a head built-in fails
+   */
+  @NonNull abstract Optional<@NonNull OWLAxiom> infer(@NonNull OWLObject[] bindings,
+    @NonNull OWLDataFactory dataFactory) throws SWRLBuiltInException;
+
+  /**
+   * @return True if the atom is matched against a fact table, and so can be the delta atom of a semi-naive round
+   */
+  boolean isFactAtom()
+  {
+    return false;
+  }
+
+  /**
+   * @return True if the fact table of the atom has facts that are new in the current round
+   */
+  boolean hasDelta()
+  {
+    return false;
+  }
+
+  /**
+   * @return True if the atom is a built-in, which may bind its unbound arguments
+   */
+  boolean isBuiltInAtom()
+  {
+    return false;
+  }
+
+  boolean usesVariable(int slot)
+  {
+    for (Term term : this.terms)
+      if (term.getSlot() == slot)
+        return true;
+
+    return false;
+  }
+
+  @NonNull List<@NonNull Term> getTerms()
+  {
+    return this.terms;
+  }
+
+  /**
+   * Bind a slot to a value taken from a fact and continue; a query atom continues once for each individual equal to
+   * the value. The caller unbinds the slot.
+   */
+  void bind(@NonNull OWLObject[] bindings, int slot, @NonNull OWLObject value, @NonNull Continuation continuation)
+    throws SWRLBuiltInException
+  {
+    if (this.expandingEquality == null) {
+      bindings[slot] = value;
+      continuation.proceed();
+    } else
+      for (OWLObject equalValue : this.expandingEquality.getEqualValues(value)) {
+        bindings[slot] = equalValue;
+        continuation.proceed();
+      }
+  }
+
+  /**
+   * @param expandingEquality The equality of the fact base for an atom of a query body; null otherwise
+   */
+  @NonNull static CompiledAtom createClassAtom(@NonNull OWLClass cls, @NonNull UnaryRelation relation,
+    @NonNull Term term, @Nullable IndividualEquality expandingEquality)
+  {
+    return new ClassAtom(cls, relation, term, expandingEquality);
+  }
+
+  @NonNull static CompiledAtom createObjectPropertyAtom(@NonNull OWLObjectProperty property,
+    @NonNull BinaryRelation relation, @NonNull Term subject, @NonNull Term object,
+    @Nullable IndividualEquality expandingEquality)
+  {
+    return new BinaryAtom(BinaryAtomType.OBJECT_PROPERTY, property, relation, null, subject, object,
+      expandingEquality);
+  }
+
+  @NonNull static CompiledAtom createDataPropertyAtom(@NonNull OWLDataProperty property,
+    @NonNull BinaryRelation relation, @NonNull Term subject, @NonNull Term object,
+    @Nullable IndividualEquality expandingEquality)
+  {
+    return new BinaryAtom(BinaryAtomType.DATA_PROPERTY, property, relation, null, subject, object,
+      expandingEquality);
+  }
+
+  @NonNull static CompiledAtom createSameIndividualAtom(@NonNull IndividualEquality equality, @NonNull Term subject,
+    @NonNull Term object, boolean isQueryAtom)
+  {
+    return new SameIndividualAtom(equality, subject, object, isQueryAtom);
+  }
+
+  @NonNull static CompiledAtom createDifferentIndividualsAtom(@NonNull FactBase factBase, @NonNull Term subject,
+    @NonNull Term object, @Nullable IndividualEquality expandingEquality)
+  {
+    return new BinaryAtom(BinaryAtomType.DIFFERENT_INDIVIDUALS, null, factBase.getDifferentIndividualsRelation(),
+      factBase, subject, object, expandingEquality);
+  }
+
+  @NonNull static CompiledAtom createDatatypeAtom(@NonNull OWLDatatype datatype, @NonNull Term term)
+  {
+    return new DatatypeAtom(datatype, term);
+  }
+
+  @NonNull static CompiledAtom createBuiltInAtom(@NonNull SWRLRuleEngineBridge bridge, @NonNull String ruleName,
+    @NonNull String builtInName, int builtInIndex, boolean isInConsequent, @NonNull List<@NonNull Term> terms,
+    @NonNull Map<@NonNull Integer, @NonNull IRI> variableIRIs,
+    @NonNull Map<@NonNull Integer, @NonNull String> variableNames)
+  {
+    return new BuiltInAtom(bridge, ruleName, builtInName, builtInIndex, isInConsequent, terms, variableIRIs,
+      variableNames);
+  }
+
+  @NonNull private static OWLIndividual getIndividual(@Nullable OWLObject value)
+  {
+    if (value instanceof OWLIndividual)
+      return (OWLIndividual)value;
+    else
+      throw new TargetSWRLRuleEngineException("expecting an individual in rule head, got " + value);
+  }
+
+  @NonNull private static OWLLiteral getLiteral(@Nullable OWLObject value)
+  {
+    if (value instanceof OWLLiteral)
+      return (OWLLiteral)value;
+    else
+      throw new TargetSWRLRuleEngineException("expecting a literal in rule head, got " + value);
+  }
+
+  private static final class ClassAtom extends CompiledAtom
+  {
+    @NonNull private final OWLClass cls;
+    @NonNull private final UnaryRelation relation;
+    @NonNull private final Term term;
+
+    private ClassAtom(@NonNull OWLClass cls, @NonNull UnaryRelation relation, @NonNull Term term,
+      @Nullable IndividualEquality expandingEquality)
+    {
+      super(Collections.singletonList(term), expandingEquality);
+      this.cls = cls;
+      this.relation = relation;
+      this.term = term;
+    }
+
+    @Override void match(@NonNull OWLObject[] bindings, @NonNull FactView view, @NonNull Continuation continuation)
+      throws SWRLBuiltInException
+    {
+      OWLObject value = this.term.getValue(bindings);
+
+      if (value != null) {
+        if (this.relation.contains(value, view))
+          continuation.proceed();
+      } else {
+        int slot = this.term.getSlot();
+        for (OWLObject member : this.relation.getMembers(view)) {
+          if (!this.relation.isExcluded(member, view))
+            bind(bindings, slot, member, continuation);
+        }
+        bindings[slot] = null;
+      }
+    }
+
+    @NonNull @Override Optional<@NonNull OWLAxiom> infer(@NonNull OWLObject[] bindings,
+      @NonNull OWLDataFactory dataFactory)
+    {
+      OWLIndividual individual = getIndividual(this.term.getValue(bindings));
+
+      if (this.relation.inferFact(individual))
+        return Optional.of(dataFactory.getOWLClassAssertionAxiom(this.cls, individual));
+      else
+        return Optional.<@NonNull OWLAxiom>empty();
+    }
+
+    @Override boolean isFactAtom()
+    {
+      return true;
+    }
+
+    @Override boolean hasDelta()
+    {
+      return this.relation.hasDelta();
+    }
+  }
+
+  private enum BinaryAtomType
+  {
+    OBJECT_PROPERTY, DATA_PROPERTY, DIFFERENT_INDIVIDUALS
+  }
+
+  private static final class BinaryAtom extends CompiledAtom
+  {
+    @NonNull private final BinaryAtomType type;
+    @Nullable private final OWLObject property;
+    @NonNull private final BinaryRelation relation;
+    @Nullable private final FactBase factBase; // For differentFrom, whose inferred facts are checked for clashes
+    @NonNull private final Term subject, object;
+
+    private BinaryAtom(@NonNull BinaryAtomType type, @Nullable OWLObject property, @NonNull BinaryRelation relation,
+      @Nullable FactBase factBase, @NonNull Term subject, @NonNull Term object,
+      @Nullable IndividualEquality expandingEquality)
+    {
+      super(Arrays.asList(subject, object), expandingEquality);
+      this.type = type;
+      this.property = property;
+      this.relation = relation;
+      this.factBase = factBase;
+      this.subject = subject;
+      this.object = object;
+    }
+
+    @Override void match(@NonNull OWLObject[] bindings, @NonNull FactView view, @NonNull Continuation continuation)
+      throws SWRLBuiltInException
+    {
+      OWLObject subjectValue = this.subject.getValue(bindings), objectValue = this.object.getValue(bindings);
+
+      if (subjectValue != null && objectValue != null) {
+        if (this.relation.contains(subjectValue, objectValue, view))
+          continuation.proceed();
+      } else if (subjectValue != null) {
+        int slot = this.object.getSlot();
+        for (OWLObject value : this.relation.getObjects(subjectValue, view)) {
+          if (!this.relation.isExcluded(subjectValue, value, view))
+            bind(bindings, slot, value, continuation);
+        }
+        bindings[slot] = null;
+      } else if (objectValue != null) {
+        int slot = this.subject.getSlot();
+        for (OWLObject value : this.relation.getSubjects(objectValue, view)) {
+          if (!this.relation.isExcluded(value, objectValue, view))
+            bind(bindings, slot, value, continuation);
+        }
+        bindings[slot] = null;
+      } else
+        matchAll(bindings, view, continuation);
+    }
+
+    private void matchAll(@NonNull OWLObject[] bindings, @NonNull FactView view, @NonNull Continuation continuation)
+      throws SWRLBuiltInException
+    {
+      int subjectSlot = this.subject.getSlot(), objectSlot = this.object.getSlot();
+
+      for (Map.Entry<@NonNull OWLObject, @NonNull Set<@NonNull OWLObject>> facts : this.relation.getFacts(view)
+        .entrySet()) {
+        OWLObject subjectValue = facts.getKey();
+        for (OWLObject objectValue : facts.getValue()) {
+          if (this.relation.isExcluded(subjectValue, objectValue, view) || (subjectSlot == objectSlot
+            && !subjectValue.equals(objectValue)))
+            continue;
+          if (subjectSlot == objectSlot)
+            bind(bindings, subjectSlot, subjectValue, continuation);
+          else
+            bind(bindings, subjectSlot, subjectValue, () -> bind(bindings, objectSlot, objectValue, continuation));
+        }
+      }
+      bindings[subjectSlot] = null;
+      bindings[objectSlot] = null;
+    }
+
+    @NonNull @Override Optional<@NonNull OWLAxiom> infer(@NonNull OWLObject[] bindings,
+      @NonNull OWLDataFactory dataFactory)
+    {
+      OWLIndividual subjectIndividual = getIndividual(this.subject.getValue(bindings));
+      OWLObject objectValue = this.object.getValue(bindings);
+
+      switch (this.type) {
+      case OBJECT_PROPERTY: {
+        OWLIndividual objectIndividual = getIndividual(objectValue);
+        if (this.relation.inferFact(subjectIndividual, objectIndividual))
+          return Optional.of(dataFactory
+            .getOWLObjectPropertyAssertionAxiom((OWLObjectProperty)this.property, subjectIndividual, objectIndividual));
+        break;
+      }
+      case DATA_PROPERTY: {
+        OWLLiteral literal = getLiteral(objectValue);
+        if (this.relation.inferFact(subjectIndividual, literal))
+          return Optional.of(
+            dataFactory.getOWLDataPropertyAssertionAxiom((OWLDataProperty)this.property, subjectIndividual, literal));
+        break;
+      }
+      case DIFFERENT_INDIVIDUALS: {
+        OWLIndividual objectIndividual = getIndividual(objectValue);
+        if (this.factBase != null && this.factBase.addDifferentIndividuals(subjectIndividual, objectIndividual, true))
+          return Optional.of(dataFactory.getOWLDifferentIndividualsAxiom(subjectIndividual, objectIndividual));
+        break;
+      }
+      }
+      return Optional.<@NonNull OWLAxiom>empty();
+    }
+
+    @Override boolean isFactAtom()
+    {
+      return true;
+    }
+
+    @Override boolean hasDelta()
+    {
+      return this.relation.hasDelta();
+    }
+  }
+
+  /**
+   * A <code>sameAs</code> atom, which is matched against the equality of the fact base rather than a relation. In a
+   * rule an argument bound to an individual binds the other argument to its representative; in a query, to each
+   * individual equal to it. A head atom merges the individuals, whose facts are rewritten when the fact base next
+   * advances.
+   */
+  private static final class SameIndividualAtom extends CompiledAtom
+  {
+    @NonNull private final IndividualEquality equality;
+    @NonNull private final Term subject, object;
+
+    private SameIndividualAtom(@NonNull IndividualEquality equality, @NonNull Term subject, @NonNull Term object,
+      boolean isQueryAtom)
+    {
+      super(Arrays.asList(subject, object), isQueryAtom ? equality : null);
+      this.equality = equality;
+      this.subject = subject;
+      this.object = object;
+    }
+
+    @Override void match(@NonNull OWLObject[] bindings, @NonNull FactView view, @NonNull Continuation continuation)
+      throws SWRLBuiltInException
+    {
+      OWLObject subjectValue = this.subject.getValue(bindings), objectValue = this.object.getValue(bindings);
+      int subjectSlot = this.subject.getSlot(), objectSlot = this.object.getSlot();
+
+      if (subjectValue != null && objectValue != null) {
+        if (this.equality.isSame(subjectValue, objectValue))
+          continuation.proceed();
+      } else if (subjectValue != null) {
+        bind(bindings, objectSlot, this.equality.getRepresentative(subjectValue), continuation);
+        bindings[objectSlot] = null;
+      } else if (objectValue != null) {
+        bind(bindings, subjectSlot, this.equality.getRepresentative(objectValue), continuation);
+        bindings[subjectSlot] = null;
+      } else {
+        for (OWLIndividual representative : this.equality.getNonTrivialRepresentatives()) {
+          if (subjectSlot == objectSlot)
+            bind(bindings, subjectSlot, representative, continuation);
+          else
+            bind(bindings, subjectSlot, representative,
+              () -> bind(bindings, objectSlot, representative, continuation));
+        }
+        bindings[subjectSlot] = null;
+        bindings[objectSlot] = null;
+      }
+    }
+
+    @NonNull @Override Optional<@NonNull OWLAxiom> infer(@NonNull OWLObject[] bindings,
+      @NonNull OWLDataFactory dataFactory)
+    {
+      OWLIndividual subjectIndividual = getIndividual(this.subject.getValue(bindings));
+      OWLIndividual objectIndividual = getIndividual(this.object.getValue(bindings));
+
+      if (this.equality.merge(subjectIndividual, objectIndividual))
+        return Optional.of(dataFactory.getOWLSameIndividualAxiom(subjectIndividual, objectIndividual));
+      else
+        return Optional.<@NonNull OWLAxiom>empty();
+    }
+  }
+
+  private static final class DatatypeAtom extends CompiledAtom
+  {
+    @NonNull private final OWLDatatype datatype;
+    @NonNull private final Term term;
+
+    private DatatypeAtom(@NonNull OWLDatatype datatype, @NonNull Term term)
+    {
+      super(Collections.singletonList(term), null);
+      this.datatype = datatype;
+      this.term = term;
+    }
+
+    @Override void match(@NonNull OWLObject[] bindings, @NonNull FactView view, @NonNull Continuation continuation)
+      throws SWRLBuiltInException
+    {
+      OWLObject value = this.term.getValue(bindings);
+
+      if (value == null)
+        throw new TargetSWRLRuleEngineException(
+          "argument of data range atom " + this.datatype + " must be bound before it is evaluated");
+
+      if (value instanceof OWLLiteral && (this.datatype.isTopDatatype() || ((OWLLiteral)value).getDatatype()
+        .equals(this.datatype)))
+        continuation.proceed();
+    }
+
+    @NonNull @Override Optional<@NonNull OWLAxiom> infer(@NonNull OWLObject[] bindings,
+      @NonNull OWLDataFactory dataFactory)
+    {
+      throw new TargetSWRLRuleEngineException("data range atom " + this.datatype + " cannot be used in a rule head");
+    }
+  }
+
+  private static final class BuiltInAtom extends CompiledAtom
+  {
+    @NonNull private final SWRLRuleEngineBridge bridge;
+    @NonNull private final SWRLBuiltInArgumentFactory argumentFactory;
+    @NonNull private final String ruleName, builtInName;
+    private final int builtInIndex;
+    private final boolean isInConsequent;
+    @NonNull private final Map<@NonNull Integer, @NonNull IRI> variableIRIs;
+    @NonNull private final Map<@NonNull Integer, @NonNull String> variableNames;
+
+    private BuiltInAtom(@NonNull SWRLRuleEngineBridge bridge, @NonNull String ruleName, @NonNull String builtInName,
+      int builtInIndex, boolean isInConsequent, @NonNull List<@NonNull Term> terms,
+      @NonNull Map<@NonNull Integer, @NonNull IRI> variableIRIs,
+      @NonNull Map<@NonNull Integer, @NonNull String> variableNames)
+    {
+      super(terms, null);
+      this.bridge = bridge;
+      this.argumentFactory = bridge.getSWRLBuiltInArgumentFactory();
+      this.ruleName = ruleName;
+      this.builtInName = builtInName;
+      this.builtInIndex = builtInIndex;
+      this.isInConsequent = isInConsequent;
+      this.variableIRIs = variableIRIs;
+      this.variableNames = variableNames;
+    }
+
+    /**
+     * Invoke the built-in and call the continuation once for each binding of its unbound arguments that it returns.
+     * Multi-value results are expanded one argument list at a time as the bridge's pattern iterator is advanced.
+     */
+    @Override void match(@NonNull OWLObject[] bindings, @NonNull FactView view, @NonNull Continuation continuation)
+      throws SWRLBuiltInException
+    {
+      List<@NonNull Term> terms = getTerms();
+      boolean[] isUnbound = new boolean[terms.size()];
+      boolean hasUnboundArguments = false;
+
+      for (int argumentIndex = 0; argumentIndex < terms.size(); argumentIndex++) {
+        isUnbound[argumentIndex] = terms.get(argumentIndex).getValue(bindings) == null;
+        hasUnboundArguments |= isUnbound[argumentIndex];
+      }
+
+      SWRLBuiltInArgumentPatternIterator argumentPatterns = invoke(bindings);
+
+      if (!hasUnboundArguments) {
+        if (argumentPatterns.next())
+          continuation.proceed();
+      } else {
+        while (argumentPatterns.next()) {
+          if (bindPattern(bindings, argumentPatterns.getArgumentPattern(), isUnbound))
+            continuation.proceed();
+          for (int argumentIndex = 0; argumentIndex < isUnbound.length; argumentIndex++)
+            if (isUnbound[argumentIndex])
+              bindings[terms.get(argumentIndex).getSlot()] = null;
+        }
+      }
+    }
+
+    @NonNull @Override Optional<@NonNull OWLAxiom> infer(@NonNull OWLObject[] bindings,
+      @NonNull OWLDataFactory dataFactory) throws SWRLBuiltInException
+    {
+      invoke(bindings);
+
+      return Optional.<@NonNull OWLAxiom>empty();
+    }
+
+    @Override boolean isBuiltInAtom()
+    {
+      return true;
+    }
+
+    @NonNull private SWRLBuiltInArgumentPatternIterator invoke(@NonNull OWLObject[] bindings)
+      throws SWRLBuiltInException
+    {
+      List<@NonNull Term> terms = getTerms();
+      // The bridge replaces bound arguments in this list, so a new one is needed for each invocation
+      List<@NonNull SWRLBuiltInArgument> arguments = new ArrayList<>(terms.size());
+
+      for (int argumentIndex = 0; argumentIndex < terms.size(); argumentIndex++) {
+        Term term = terms.get(argumentIndex);
+        OWLObject value = term.getValue(bindings);
+
+        if (value == null)
+          arguments.add(this.argumentFactory.getUnboundVariableBuiltInArgument(this.variableIRIs.get(term.getSlot())));
+        else
+          arguments.add(createArgument(value, term.isVariable() ? this.variableNames.get(term.getSlot()) : null));
+      }
+      return this.bridge
+        .invokeSWRLBuiltInLazily(this.ruleName, this.builtInName, this.builtInIndex, this.isInConsequent, arguments);
+    }
+
+    private boolean bindPattern(@NonNull OWLObject[] bindings,
+      @NonNull List<@NonNull SWRLBuiltInArgument> argumentPattern, boolean[] isUnbound)
+    {
+      List<@NonNull Term> terms = getTerms();
+
+      for (int argumentIndex = 0; argumentIndex < isUnbound.length; argumentIndex++) {
+        if (isUnbound[argumentIndex]) {
+          int slot = terms.get(argumentIndex).getSlot();
+          OWLObject value = getValue(argumentPattern.get(argumentIndex));
+          if (bindings[slot] == null)
+            bindings[slot] = value;
+          else if (!bindings[slot].equals(value)) // A variable that occurs more than once must be bound consistently
+            return false;
+        }
+      }
+      return true;
+    }
+
+    @NonNull private SWRLBuiltInArgument createArgument(@NonNull OWLObject value, @Nullable String variableName)
+      throws SWRLBuiltInException
+    {
+      SWRLBuiltInArgument argument;
+
+      if (value instanceof SWRLBuiltInArgument)
+        return (SWRLBuiltInArgument)value; // Shared with other bindings, so it is passed as is
+      else if (value instanceof OWLNamedIndividual)
+        argument = this.argumentFactory.getNamedIndividualBuiltInArgument((OWLNamedIndividual)value);
+      else if (value instanceof OWLLiteral)
+        argument = this.argumentFactory.getLiteralBuiltInArgument((OWLLiteral)value);
+      else
+        throw new SWRLBuiltInException(
+          "value " + value + " cannot be passed to built-in " + this.builtInName + " in rule " + this.ruleName);
+
+      if (variableName != null)
+        argument.setBoundVariableName(variableName);
+
+      return argument;
+    }
+
+    @NonNull private static OWLObject getValue(@NonNull SWRLBuiltInArgument argument)
+    {
+      if (argument instanceof SWRLNamedIndividualBuiltInArgument)
+        return ((SWRLNamedIndividualBuiltInArgument)argument).getOWLNamedIndividual();
+      else if (argument instanceof SWRLLiteralBuiltInArgument)
+        return ((SWRLLiteralBuiltInArgument)argument).getLiteral();
+      else
+        return argument;
+    }
+  }
+}
@@ -0,0 +1,182 @@
+package org.swrlapi.engine;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.swrlapi.exceptions.SWRLBuiltInException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A SWRL rule or SQWRL query compiled for evaluation by a {@link SemiNaiveSWRLRuleEngine}.
+ * <p>
+ * In a semi-naive round a rule is evaluated once for each body atom whose relation has new facts. That atom, the delta
+ * atom, is matched against the new facts only. The fact atoms before it are matched against the facts that are not
+ * new and those after it against all facts, so that each combination of facts is joined once. The delta atom is
+ * evaluated first unless a preceding built-in shares one of its variables, since it is usually the most selective.
+ * <p>
+ * A SQWRL query that builds collections is evaluated in two stages. The first stage, which excludes the built-ins that
+ * use collection results, builds the collections. The second stage extends each distinct binding of the first stage,
+ * restricted to the variables used by the rest of the query, with those built-ins.
+ *
+ * @see RuleCompiler
+ */
+final class CompiledRule
+{
+  /**
+   * Handles a complete binding of a body.
+   */
+  interface SolutionHandler
+  {
+    void handle(@NonNull OWLObject[] bindings) throws SWRLBuiltInException;
+  }
+
+  @NonNull private final String name;
+  @NonNull private final CompiledAtom[] bodyAtoms;
+  @NonNull private final CompiledAtom[] collectionAtoms;
+  @NonNull private final List<@NonNull CompiledAtom> headAtoms;
+  private final int numberOfVariables;
+  private final boolean hasFactAtoms;
+
+  // For each delta atom position, the order in which to evaluate the body and the view to match each atom against
+  @NonNull private final CompiledAtom[][] deltaEvaluationOrders;
+  @NonNull private final FactView[][] deltaEvaluationViews;
+  @NonNull private final FactView[] allViews;
+  // The slots used after the first stage of a query with collections
+  @NonNull private final boolean[] isCollectionStageSlot;
+
+  CompiledRule(@NonNull String name, @NonNull List<@NonNull CompiledAtom> bodyAtoms,
+    @NonNull List<@NonNull CompiledAtom> collectionAtoms, @NonNull List<@NonNull CompiledAtom> headAtoms,
+    int numberOfVariables)
+  {
+    this.name = name;
+    this.bodyAtoms = bodyAtoms.toArray(new CompiledAtom[bodyAtoms.size()]);
+    this.collectionAtoms = collectionAtoms.toArray(new CompiledAtom[collectionAtoms.size()]);
+    this.headAtoms = Collections.unmodifiableList(new ArrayList<>(headAtoms));
+    this.numberOfVariables = numberOfVariables;
+    this.hasFactAtoms = bodyAtoms.stream().anyMatch(CompiledAtom::isFactAtom);
+    this.deltaEvaluationOrders = new CompiledAtom[this.bodyAtoms.length][];
+    this.deltaEvaluationViews = new FactView[this.bodyAtoms.length][];
+    this.allViews = new FactView[Math.max(this.bodyAtoms.length, this.collectionAtoms.length)];
+    this.isCollectionStageSlot = new boolean[numberOfVariables];
+
+    Arrays.fill(this.allViews, FactView.ALL);
+
+    for (int deltaAtomIndex = 0; deltaAtomIndex < this.bodyAtoms.length; deltaAtomIndex++)
+      if (this.bodyAtoms[deltaAtomIndex].isFactAtom())
+        createDeltaEvaluationOrder(deltaAtomIndex);
+
+    for (int slot = 0; slot < numberOfVariables; slot++)
+      for (CompiledAtom atom : this.collectionAtoms)
+        this.isCollectionStageSlot[slot] |= atom.usesVariable(slot);
+    for (int slot = 0; slot < numberOfVariables; slot++)
+      for (CompiledAtom atom : this.headAtoms)
+        this.isCollectionStageSlot[slot] |= atom.usesVariable(slot);
+  }
+
+  @NonNull String getName()
+  {
+    return this.name;
+  }
+
+  @NonNull List<@NonNull CompiledAtom> getHeadAtoms()
+  {
+    return this.headAtoms;
+  }
+
+  boolean hasFactAtoms()
+  {
+    return this.hasFactAtoms;
+  }
+
+  /**
+   * Evaluate the body once for each body atom with new facts, matching that atom against the new facts only.
+   */
+  void evaluateDelta(@NonNull SolutionHandler handler) throws SWRLBuiltInException
+  {
+    for (int deltaAtomIndex = 0; deltaAtomIndex < this.bodyAtoms.length; deltaAtomIndex++)
+      if (this.bodyAtoms[deltaAtomIndex].isFactAtom() && this.bodyAtoms[deltaAtomIndex].hasDelta())
+        match(this.deltaEvaluationOrders[deltaAtomIndex], this.deltaEvaluationViews[deltaAtomIndex], 0,
+          new OWLObject[this.numberOfVariables], handler);
+  }
+
+  /**
+   * Evaluate the body against all facts.
+   */
+  void evaluate(@NonNull SolutionHandler handler) throws SWRLBuiltInException
+  {
+    if (this.collectionAtoms.length == 0)
+      match(this.bodyAtoms, this.allViews, 0, new OWLObject[this.numberOfVariables], handler);
+    else {
+      Set<@NonNull List<OWLObject>> collectionStageBindings = new LinkedHashSet<>();
+
+      match(this.bodyAtoms, this.allViews, 0, new OWLObject[this.numberOfVariables],
+        bindings -> collectionStageBindings.add(Arrays.asList(projectOntoCollectionStage(bindings))));
+
+      for (List<OWLObject> bindings : collectionStageBindings)
+        match(this.collectionAtoms, this.allViews, 0, bindings.toArray(new OWLObject[this.numberOfVariables]),
+          handler);
+    }
+  }
+
+  private void match(@NonNull CompiledAtom[] atoms, @NonNull FactView[] views, int atomIndex,
+    @NonNull OWLObject[] bindings, @NonNull SolutionHandler handler) throws SWRLBuiltInException
+  {
+    if (atomIndex == atoms.length)
+      handler.handle(bindings);
+    else
+      atoms[atomIndex].match(bindings, views[atomIndex], () -> match(atoms, views, atomIndex + 1, bindings, handler));
+  }
+
+  @NonNull private OWLObject[] projectOntoCollectionStage(@NonNull OWLObject[] bindings)
+  {
+    OWLObject[] projectedBindings = new OWLObject[this.numberOfVariables];
+
+    for (int slot = 0; slot < this.numberOfVariables; slot++)
+      if (this.isCollectionStageSlot[slot])
+        projectedBindings[slot] = bindings[slot];
+
+    return projectedBindings;
+  }
+
+  private void createDeltaEvaluationOrder(int deltaAtomIndex)
+  {
+    CompiledAtom deltaAtom = this.bodyAtoms[deltaAtomIndex];
+    List<@NonNull CompiledAtom> order = new ArrayList<>(this.bodyAtoms.length);
+    List<@NonNull FactView> views = new ArrayList<>(this.bodyAtoms.length);
+    boolean isDeltaAtomFirst = true;
+
+    for (int atomIndex = 0; atomIndex < deltaAtomIndex; atomIndex++)
+      if (this.bodyAtoms[atomIndex].isBuiltInAtom() && sharesVariable(this.bodyAtoms[atomIndex], deltaAtom))
+        isDeltaAtomFirst = false;
+
+    if (isDeltaAtomFirst) {
+      order.add(deltaAtom);
+      views.add(FactView.DELTA);
+    }
+    for (int atomIndex = 0; atomIndex < this.bodyAtoms.length; atomIndex++) {
+      if (atomIndex == deltaAtomIndex && isDeltaAtomFirst)
+        continue;
+      order.add(this.bodyAtoms[atomIndex]);
+      if (atomIndex == deltaAtomIndex)
+        views.add(FactView.DELTA);
+      else
+        views.add(atomIndex < deltaAtomIndex ? FactView.OLD : FactView.ALL);
+    }
+    this.deltaEvaluationOrders[deltaAtomIndex] = order.toArray(new CompiledAtom[order.size()]);
+    this.deltaEvaluationViews[deltaAtomIndex] = views.toArray(new FactView[views.size()]);
+  }
+
+  private static boolean sharesVariable(@NonNull CompiledAtom atom1, @NonNull CompiledAtom atom2)
+  {
+    for (Term term : atom2.getTerms())
+      if (term.isVariable() && atom1.usesVariable(term.getSlot()))
+        return true;
+
+    return false;
+  }
+}
@@ -0,0 +1,147 @@
+package org.swrlapi.engine;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLIndividual;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.swrlapi.owl2rl.OWL2RLInconsistency;
+import org.swrlapi.owl2rl.OWL2RLNames;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The fact tables of a {@link SemiNaiveSWRLRuleEngine}: one relation for each OWL class and property, plus a relation
+ * for <code>differentFrom</code>. Relations are created on first use, so that a rule can hold on to the relations of
+ * its atoms before any facts about them are known.
+ * <p>
+ * <code>sameAs</code> is not stored as facts. Equal individuals are merged in an {@link IndividualEquality} and every
+ * relation stores their representatives, so facts about equal individuals are joined without <code>sameAs</code>
+ * replacement rules. Individuals asserted or inferred to be both the same and different are recorded as
+ * <code>eq-diff1</code> inconsistencies.
+ */
+final class FactBase
+{
+  @NonNull private final IndividualEquality equality = new IndividualEquality();
+  @NonNull private final Map<@NonNull OWLClass, @NonNull UnaryRelation> classRelations = new HashMap<>();
+  @NonNull private final Map<@NonNull OWLObjectProperty, @NonNull BinaryRelation> objectPropertyRelations =
+    new HashMap<>();
+  @NonNull private final Map<@NonNull OWLDataProperty, @NonNull BinaryRelation> dataPropertyRelations = new HashMap<>();
+  @NonNull private final BinaryRelation differentIndividualsRelation = new BinaryRelation(this.equality);
+  @NonNull private final Set<@NonNull OWL2RLInconsistency> inconsistencies = new LinkedHashSet<>();
+
+  @NonNull UnaryRelation getClassRelation(@NonNull OWLClass cls)
+  {
+    return this.classRelations.computeIfAbsent(cls, c -> new UnaryRelation(this.equality));
+  }
+
+  @NonNull BinaryRelation getObjectPropertyRelation(@NonNull OWLObjectProperty property)
+  {
+    return this.objectPropertyRelations.computeIfAbsent(property, p -> new BinaryRelation(this.equality));
+  }
+
+  @NonNull BinaryRelation getDataPropertyRelation(@NonNull OWLDataProperty property)
+  {
+    return this.dataPropertyRelations.computeIfAbsent(property, p -> new BinaryRelation(this.equality));
+  }
+
+  @NonNull BinaryRelation getDifferentIndividualsRelation()
+  {
+    return this.differentIndividualsRelation;
+  }
+
+  @NonNull IndividualEquality getEquality()
+  {
+    return this.equality;
+  }
+
+  /**
+   * Record that two individuals are different, in both directions.
+   *
+   * @param isInferred True if the fact is inferred in the current round rather than asserted
+   * @return True if the fact is new
+   */
+  boolean addDifferentIndividuals(@NonNull OWLIndividual individual1, @NonNull OWLIndividual individual2,
+    boolean isInferred)
+  {
+    if (this.equality.isSame(individual1, individual2)) {
+      addDifferentIndividualsClash(individual1, individual2);
+      return false;
+    } else if (isInferred) {
+      boolean isNew = this.differentIndividualsRelation.inferFact(individual1, individual2);
+      return this.differentIndividualsRelation.inferFact(individual2, individual1) || isNew;
+    } else {
+      boolean isNew = this.differentIndividualsRelation.assertFact(individual1, individual2);
+      return this.differentIndividualsRelation.assertFact(individual2, individual1) || isNew;
+    }
+  }
+
+  /**
+   * @return The individuals found to be both the same and different
+   */
+  @NonNull Set<@NonNull OWL2RLInconsistency> getInconsistencies()
+  {
+    return Collections.unmodifiableSet(this.inconsistencies);
+  }
+
+  /**
+   * Rewrite the facts of the individuals merged during the current round and advance every relation to the next
+   * round of semi-naive evaluation.
+   *
+   * @return True if any relation has new facts, in which case another round is needed
+   */
+  boolean advance()
+  {
+    Set<@NonNull OWLIndividual> absorbedIndividuals = this.equality.takeAbsorbedIndividuals();
+    boolean hasNewFacts = false;
+
+    if (!absorbedIndividuals.isEmpty()) {
+      for (UnaryRelation relation : this.classRelations.values())
+        relation.rewrite(absorbedIndividuals);
+      for (BinaryRelation relation : this.objectPropertyRelations.values())
+        relation.rewrite(absorbedIndividuals, null);
+      for (BinaryRelation relation : this.dataPropertyRelations.values())
+        relation.rewrite(absorbedIndividuals, null);
+      this.differentIndividualsRelation.rewrite(absorbedIndividuals, this::addDifferentIndividualsClash);
+    }
+
+    for (UnaryRelation relation : this.classRelations.values())
+      hasNewFacts |= relation.advance();
+    for (BinaryRelation relation : this.objectPropertyRelations.values())
+      hasNewFacts |= relation.advance();
+    for (BinaryRelation relation : this.dataPropertyRelations.values())
+      hasNewFacts |= relation.advance();
+    hasNewFacts |= this.differentIndividualsRelation.advance();
+
+    return hasNewFacts;
+  }
+
+  int getNumberOfFacts()
+  {
+    int numberOfFacts = this.differentIndividualsRelation.size();
+
+    for (UnaryRelation relation : this.classRelations.values())
+      numberOfFacts += relation.size();
+    for (BinaryRelation relation : this.objectPropertyRelations.values())
+      numberOfFacts += relation.size();
+    for (BinaryRelation relation : this.dataPropertyRelations.values())
+      numberOfFacts += relation.size();
+
+    return numberOfFacts;
+  }
+
+  private void addDifferentIndividualsClash(@NonNull OWLObject individual1, @NonNull OWLObject individual2)
+  {
+    OWLIndividual first = (OWLIndividual)individual1, second = (OWLIndividual)individual2;
+
+    this.inconsistencies.add(new OWL2RLInconsistency(OWL2RLNames.OWL2RLRule.EQ_DIFF1, Collections.emptyList(),
+      first.compareTo(second) <= 0 ? Arrays.asList(first, second) : Arrays.asList(second, first),
+      Collections.emptyList(), Collections.emptyList()));
+  }
+}
@@ -0,0 +1,25 @@
+package org.swrlapi.engine;
+
+/**
+ * The facts of a relation that an atom is matched against during a round of semi-naive evaluation.
+ *
+ * @see UnaryRelation
+ * @see BinaryRelation
+ */
+enum FactView
+{
+  /**
+   * Every fact known at the start of the round
+   */
+  ALL,
+
+  /**
+   * The facts first derived in the previous round, or asserted since the last run
+   */
+  DELTA,
+
+  /**
+   * Every fact known at the start of the round except those in {@link #DELTA}
+   */
+  OLD
+}
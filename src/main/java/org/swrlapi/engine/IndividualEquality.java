@@ -0,0 +1,87 @@
+package org.swrlapi.engine;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.OWLIndividual;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.swrlapi.owl2rl.EqualityPartition;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The <code>sameAs</code> layer of a {@link FactBase}. Equal individuals are kept in a union-find partition, and the
+ * relations of the fact base store facts over the representatives of their individuals only, so a clique of equal
+ * individuals costs one fact per fact about any of them rather than one per member.
+ * <p>
+ * When two classes are merged the absorbed representative is recorded. Its facts are rewritten to the surviving
+ * representative when the fact base next advances, which makes the rewritten facts part of the next delta.
+ */
+final class IndividualEquality
+{
+  @NonNull private final EqualityPartition<@NonNull OWLIndividual> partition = new EqualityPartition<>();
+  @NonNull private Set<@NonNull OWLIndividual> absorbedIndividuals = new LinkedHashSet<>();
+
+  /**
+   * @return The representative of an individual; any other value is returned as is
+   */
+  @NonNull OWLObject getRepresentative(@NonNull OWLObject value)
+  {
+    if (value instanceof OWLIndividual && !this.partition.isEmpty())
+      return this.partition.find((OWLIndividual)value);
+    else
+      return value;
+  }
+
+  /**
+   * @return The individuals equal to an individual, including itself; any other value on its own
+   */
+  @NonNull List<? extends @NonNull OWLObject> getEqualValues(@NonNull OWLObject value)
+  {
+    if (value instanceof OWLIndividual && !this.partition.isEmpty())
+      return this.partition.getMembers((OWLIndividual)value);
+    else
+      return Collections.singletonList(value);
+  }
+
+  boolean isSame(@NonNull OWLObject value1, @NonNull OWLObject value2)
+  {
+    return getRepresentative(value1).equals(getRepresentative(value2));
+  }
+
+  /**
+   * @return True if the individuals were not already known to be the same
+   */
+  boolean merge(@NonNull OWLIndividual individual1, @NonNull OWLIndividual individual2)
+  {
+    Optional<@NonNull OWLIndividual> absorbedIndividual = this.partition.union(individual1, individual2);
+
+    absorbedIndividual.ifPresent(this.absorbedIndividuals::add);
+
+    return absorbedIndividual.isPresent();
+  }
+
+  /**
+   * @return The representatives of the classes with more than one member, as a copy that can be iterated while
+   * individuals are merged
+   */
+  @NonNull List<@NonNull OWLIndividual> getNonTrivialRepresentatives()
+  {
+    return new ArrayList<>(this.partition.getNonTrivialRepresentatives());
+  }
+
+  /**
+   * @return The representatives absorbed since the last call, whose facts must be rewritten
+   */
+  @NonNull Set<@NonNull OWLIndividual> takeAbsorbedIndividuals()
+  {
+    Set<@NonNull OWLIndividual> individuals = this.absorbedIndividuals;
+
+    this.absorbedIndividuals = new LinkedHashSet<>();
+
+    return individuals;
+  }
+}
@@ -0,0 +1,190 @@
+package org.swrlapi.engine;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataPropertyExpression;
+import org.semanticweb.owlapi.model.OWLDataRange;
+import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
+import org.semanticweb.owlapi.model.SWRLArgument;
+import org.semanticweb.owlapi.model.SWRLAtom;
+import org.semanticweb.owlapi.model.SWRLClassAtom;
+import org.semanticweb.owlapi.model.SWRLDataPropertyAtom;
+import org.semanticweb.owlapi.model.SWRLDataRangeAtom;
+import org.semanticweb.owlapi.model.SWRLDifferentIndividualsAtom;
+import org.semanticweb.owlapi.model.SWRLIndividualArgument;
+import org.semanticweb.owlapi.model.SWRLLiteralArgument;
+import org.semanticweb.owlapi.model.SWRLObjectPropertyAtom;
+import org.semanticweb.owlapi.model.SWRLSameIndividualAtom;
+import org.semanticweb.owlapi.model.SWRLVariable;
+import org.swrlapi.bridge.SWRLRuleEngineBridge;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLVariableBuiltInArgument;
+import org.swrlapi.core.SWRLAPIBuiltInAtom;
+import org.swrlapi.exceptions.TargetSWRLRuleEngineNotImplementedFeatureException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiles the atoms of a SWRL rule or SQWRL query into {@link CompiledAtom}s that refer directly to the relations of
+ * a {@link FactBase}. Each variable of the rule is given a slot in its bindings array.
+ * <p>
+ * Built-ins are numbered from left to right through the body and then the head, as SQWRL queries number them, so that
+ * a built-in is invoked with the same index whichever order its body is evaluated in.
+ * <p>
+ * The body atoms of a query bind their variables to every individual equal to a matched one, so that query results
+ * name each individual; rules are evaluated over the representatives of equal individuals only.
+ *
+ * @see CompiledRule
+ */
+final class RuleCompiler
+{
+  @NonNull private final FactBase factBase;
+  @NonNull private final SWRLRuleEngineBridge bridge;
+  @NonNull private final String ruleName;
+  private final boolean isQuery;
+  @NonNull private final Map<@NonNull SWRLAtom, @NonNull Integer> builtInIndexes = new IdentityHashMap<>();
+  @NonNull private final Map<@NonNull IRI, @NonNull Integer> variableSlots = new HashMap<>();
+  @NonNull private final Map<@NonNull Integer, @NonNull IRI> variableIRIs = new HashMap<>();
+  @NonNull private final Map<@NonNull Integer, @NonNull String> variableNames = new HashMap<>();
+
+  RuleCompiler(@NonNull FactBase factBase, @NonNull SWRLRuleEngineBridge bridge, @NonNull String ruleName,
+    boolean isQuery, @NonNull List<@NonNull SWRLAtom> bodyAtoms, @NonNull List<@NonNull SWRLAtom> headAtoms)
+  {
+    this.factBase = factBase;
+    this.bridge = bridge;
+    this.ruleName = ruleName;
+    this.isQuery = isQuery;
+
+    for (SWRLAtom atom : bodyAtoms)
+      if (atom instanceof SWRLAPIBuiltInAtom)
+        this.builtInIndexes.put(atom, this.builtInIndexes.size());
+    for (SWRLAtom atom : headAtoms)
+      if (atom instanceof SWRLAPIBuiltInAtom)
+        this.builtInIndexes.put(atom, this.builtInIndexes.size());
+  }
+
+  /**
+   * @param atoms          Atoms of the body or head of the rule
+   * @param isInConsequent True if the atoms are head atoms
+   * @return The compiled atoms, in the same order
+   * @throws TargetSWRLRuleEngineNotImplementedFeatureException If an atom is not supported by the engine
+   */
+  @NonNull List<@NonNull CompiledAtom> compile(@NonNull List<@NonNull SWRLAtom> atoms, boolean isInConsequent)
+  {
+    List<@NonNull CompiledAtom> compiledAtoms = new ArrayList<>(atoms.size());
+
+    for (SWRLAtom atom : atoms)
+      compiledAtoms.add(compile(atom, isInConsequent));
+
+    return compiledAtoms;
+  }
+
+  int getNumberOfVariables()
+  {
+    return this.variableSlots.size();
+  }
+
+  @NonNull private CompiledAtom compile(@NonNull SWRLAtom atom, boolean isInConsequent)
+  {
+    boolean isQueryAtom = this.isQuery && !isInConsequent;
+    IndividualEquality expandingEquality = isQueryAtom ? this.factBase.getEquality() : null;
+
+    if (atom instanceof SWRLAPIBuiltInAtom)
+      return compileBuiltInAtom((SWRLAPIBuiltInAtom)atom, isInConsequent);
+    else if (atom instanceof SWRLClassAtom) {
+      SWRLClassAtom classAtom = (SWRLClassAtom)atom;
+      OWLClassExpression classExpression = classAtom.getPredicate();
+      if (classExpression.isAnonymous())
+        throw notImplemented("class expression " + classExpression);
+      return CompiledAtom.createClassAtom(classExpression.asOWLClass(),
+        this.factBase.getClassRelation(classExpression.asOWLClass()), createTerm(classAtom.getArgument()),
+        expandingEquality);
+    } else if (atom instanceof SWRLObjectPropertyAtom) {
+      SWRLObjectPropertyAtom propertyAtom = (SWRLObjectPropertyAtom)atom;
+      OWLObjectPropertyExpression property = propertyAtom.getPredicate().getSimplified();
+      Term subject = createTerm(propertyAtom.getFirstArgument()), object = createTerm(propertyAtom.getSecondArgument());
+      if (property.isAnonymous()) // An inverse property; swap the arguments
+        return CompiledAtom.createObjectPropertyAtom(property.getNamedProperty(),
+          this.factBase.getObjectPropertyRelation(property.getNamedProperty()), object, subject, expandingEquality);
+      else
+        return CompiledAtom.createObjectPropertyAtom(property.asOWLObjectProperty(),
+          this.factBase.getObjectPropertyRelation(property.asOWLObjectProperty()), subject, object,
+          expandingEquality);
+    } else if (atom instanceof SWRLDataPropertyAtom) {
+      SWRLDataPropertyAtom propertyAtom = (SWRLDataPropertyAtom)atom;
+      OWLDataPropertyExpression property = propertyAtom.getPredicate();
+      return CompiledAtom.createDataPropertyAtom(property.asOWLDataProperty(),
+        this.factBase.getDataPropertyRelation(property.asOWLDataProperty()),
+        createTerm(propertyAtom.getFirstArgument()), createTerm(propertyAtom.getSecondArgument()), expandingEquality);
+    } else if (atom instanceof SWRLSameIndividualAtom) {
+      SWRLSameIndividualAtom sameIndividualAtom = (SWRLSameIndividualAtom)atom;
+      return CompiledAtom.createSameIndividualAtom(this.factBase.getEquality(),
+        createTerm(sameIndividualAtom.getFirstArgument()), createTerm(sameIndividualAtom.getSecondArgument()),
+        isQueryAtom);
+    } else if (atom instanceof SWRLDifferentIndividualsAtom) {
+      SWRLDifferentIndividualsAtom differentIndividualsAtom = (SWRLDifferentIndividualsAtom)atom;
+      return CompiledAtom.createDifferentIndividualsAtom(this.factBase,
+        createTerm(differentIndividualsAtom.getFirstArgument()),
+        createTerm(differentIndividualsAtom.getSecondArgument()), expandingEquality);
+    } else if (atom instanceof SWRLDataRangeAtom) {
+      SWRLDataRangeAtom dataRangeAtom = (SWRLDataRangeAtom)atom;
+      OWLDataRange dataRange = dataRangeAtom.getPredicate();
+      if (!dataRange.isDatatype())
+        throw notImplemented("data range " + dataRange);
+      return CompiledAtom.createDatatypeAtom(dataRange.asOWLDatatype(), createTerm(dataRangeAtom.getArgument()));
+    } else
+      throw notImplemented("atom " + atom);
+  }
+
+  @NonNull private CompiledAtom compileBuiltInAtom(@NonNull SWRLAPIBuiltInAtom builtInAtom, boolean isInConsequent)
+  {
+    List<@NonNull Term> terms = new ArrayList<>();
+
+    for (SWRLBuiltInArgument argument : builtInAtom.getBuiltInArguments()) {
+      if (argument instanceof SWRLVariableBuiltInArgument) {
+        SWRLVariableBuiltInArgument variableArgument = (SWRLVariableBuiltInArgument)argument;
+        Term term = createVariableTerm(variableArgument.getIRI());
+        this.variableNames.putIfAbsent(term.getSlot(), variableArgument.getVariableName());
+        terms.add(term);
+      } else
+        terms.add(Term.createConstant(argument));
+    }
+    return CompiledAtom.createBuiltInAtom(this.bridge, this.ruleName, builtInAtom.getBuiltInPrefixedName(),
+      this.builtInIndexes.get(builtInAtom), isInConsequent, terms, this.variableIRIs, this.variableNames);
+  }
+
+  @NonNull private Term createTerm(@NonNull SWRLArgument argument)
+  {
+    if (argument instanceof SWRLVariable)
+      return createVariableTerm(((SWRLVariable)argument).getIRI());
+    else if (argument instanceof SWRLIndividualArgument)
+      return Term.createConstant(((SWRLIndividualArgument)argument).getIndividual());
+    else if (argument instanceof SWRLLiteralArgument)
+      return Term.createConstant(((SWRLLiteralArgument)argument).getLiteral());
+    else
+      throw notImplemented("argument " + argument);
+  }
+
+  @NonNull private Term createVariableTerm(@NonNull IRI variableIRI)
+  {
+    Integer slot = this.variableSlots.get(variableIRI);
+
+    if (slot == null) {
+      slot = this.variableSlots.size();
+      this.variableSlots.put(variableIRI, slot);
+      this.variableIRIs.put(slot, variableIRI);
+    }
+    return Term.createVariable(slot);
+  }
+
+  @NonNull private TargetSWRLRuleEngineNotImplementedFeatureException notImplemented(@NonNull String feature)
+  {
+    return new TargetSWRLRuleEngineNotImplementedFeatureException(
+      "unsupported " + feature + " in rule " + this.ruleName);
+  }
+}
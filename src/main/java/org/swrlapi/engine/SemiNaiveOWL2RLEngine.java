@@ -0,0 +1,40 @@
+package org.swrlapi.engine;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.swrlapi.owl2rl.AbstractOWL2RLEngine;
+import org.swrlapi.owl2rl.OWL2RLMaterializer;
+import org.swrlapi.owl2rl.OWL2RLPersistenceLayer;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The OWL 2 RL engine of a {@link SemiNaiveSWRLRuleEngine}. The rules supported by its {@link OWL2RLMaterializer}
+ * can be switched on and off; the rules that the materializer applies together are grouped.
+ */
+final class SemiNaiveOWL2RLEngine extends AbstractOWL2RLEngine
+{
+  SemiNaiveOWL2RLEngine(@NonNull OWL2RLPersistenceLayer persistenceLayer)
+  {
+    super(persistenceLayer, getUnsupportedRules(OWL2RLMaterializer.getSupportedRules()),
+      EnumSet.noneOf(OWL2RLRule.class), getGroupedRuleSets());
+  }
+
+  @NonNull private static Set<OWL2RLRule> getUnsupportedRules(@NonNull Set<OWL2RLRule> supportedRules)
+  {
+    Set<OWL2RLRule> unsupportedRules = EnumSet.allOf(OWL2RLRule.class);
+    unsupportedRules.removeAll(supportedRules);
+
+    return unsupportedRules;
+  }
+
+  @NonNull private static Set<@NonNull Set<OWL2RLRule>> getGroupedRuleSets()
+  {
+    return new HashSet<>(Arrays.asList(
+      EnumSet.of(OWL2RLRule.EQ_SYM, OWL2RLRule.EQ_TRANS, OWL2RLRule.EQ_REP_S, OWL2RLRule.EQ_REP_P,
+        OWL2RLRule.EQ_REP_O), EnumSet.of(OWL2RLRule.CAX_EQC1, OWL2RLRule.CAX_EQC2),
+      EnumSet.of(OWL2RLRule.PRP_EQP1, OWL2RLRule.PRP_EQP2), EnumSet.of(OWL2RLRule.PRP_INV1, OWL2RLRule.PRP_INV2)));
+  }
+}
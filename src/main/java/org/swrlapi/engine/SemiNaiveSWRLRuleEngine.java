@@ -0,0 +1,343 @@
+package org.swrlapi.engine;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLDifferentIndividualsAxiom;
+import org.semanticweb.owlapi.model.OWLIndividual;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLSameIndividualAxiom;
+import org.semanticweb.owlapi.model.SWRLAtom;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+import org.semanticweb.owlapi.reasoner.structural.StructuralReasonerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.swrlapi.bridge.SWRLRuleEngineBridge;
+import org.swrlapi.bridge.TargetSWRLRuleEngine;
+import org.swrlapi.core.SWRLAPIBuiltInAtom;
+import org.swrlapi.core.SWRLAPIRule;
+import org.swrlapi.exceptions.SWRLBuiltInException;
+import org.swrlapi.exceptions.TargetSWRLRuleEngineException;
+import org.swrlapi.exceptions.TargetSWRLRuleEngineNotImplementedFeatureException;
+import org.swrlapi.factory.SWRLAPIInternalFactory;
+import org.swrlapi.owl2rl.OWL2RLEngine;
+import org.swrlapi.owl2rl.OWL2RLInconsistency;
+import org.swrlapi.owl2rl.OWL2RLMaterializer;
+import org.swrlapi.sqwrl.SQWRLQuery;
+
+import javax.swing.Icon;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * A pure-Java forward-chaining SWRL rule engine that needs no external rule engine.
+ * <p>
+ * Class, object property, data property and <code>differentFrom</code> assertions are held in hash-indexed fact
+ * tables. <code>sameAs</code> is handled by merging equal individuals in a union-find partition: facts are stored
+ * over the representatives of equal individuals, rules are evaluated over those representatives, and queries report
+ * every equal individual (see {@link FactBase}).
+ * <p>
+ * Rules are evaluated bottom-up to a fixpoint using semi-naive evaluation: after the first round a rule is only
+ * re-evaluated for the facts inferred in the previous round. Built-ins are invoked through the
+ * {@link SWRLRuleEngineBridge}, which also expands multi-value results into one binding each. SQWRL queries are
+ * evaluated once the rules have reached a fixpoint, and their head built-ins fill in each query's result through its
+ * {@link org.swrlapi.sqwrl.SQWRLResultGenerator}.
+ * <p>
+ * OWL 2 RL entailments are computed by an {@link OWL2RLMaterializer}, which is run to a fixpoint before the rules and
+ * again whenever the rules infer new axioms. Facts it infers are added to the fact tables, and the inconsistencies it
+ * detects are logged.
+ *
+ * @see SemiNaiveSWRLRuleEngineCreator
+ * @see CompiledRule
+ */
+final class SemiNaiveSWRLRuleEngine implements TargetSWRLRuleEngine
+{
+  private static final Logger log = LoggerFactory.getLogger(SemiNaiveSWRLRuleEngine.class);
+
+  private static final String VERSION = "1.0";
+
+  @NonNull private final SWRLRuleEngineBridge bridge;
+  @NonNull private final OWLDataFactory dataFactory;
+  @NonNull private final OWL2RLEngine owl2RLEngine;
+  @NonNull private final List<@NonNull CompiledRule> rules = new ArrayList<>();
+  @NonNull private final List<@NonNull CompiledRule> queries = new ArrayList<>();
+  @NonNull private final Set<@NonNull OWLAxiom> definedOWLAxioms = new HashSet<>();
+  @NonNull private final Set<@NonNull OWLAxiom> inferredOWLAxioms = new HashSet<>();
+
+  @NonNull private FactBase factBase = new FactBase();
+  @NonNull private OWL2RLMaterializer materializer;
+  private int numberOfReportedInconsistencies;
+  private int numberOfReportedEqualityInconsistencies;
+  private int numberOfEvaluatedRules; // Rules defined since the last run have not yet been evaluated against all facts
+  @Nullable private OWLReasoner owlReasoner;
+
+  SemiNaiveSWRLRuleEngine(@NonNull SWRLRuleEngineBridge bridge)
+  {
+    this.bridge = bridge;
+    this.dataFactory = bridge.getSWRLAPIOWLDataFactory();
+    this.owl2RLEngine = new SemiNaiveOWL2RLEngine(bridge.getOWL2RLPersistenceLayer());
+    this.materializer = createMaterializer();
+  }
+
+  @Override public void defineOWLAxiom(@NonNull OWLAxiom axiom) throws TargetSWRLRuleEngineException
+  {
+    this.owlReasoner = null;
+
+    if (axiom instanceof SWRLAPIRule)
+      defineSWRLRule((SWRLAPIRule)axiom);
+    else {
+      this.definedOWLAxioms.add(axiom);
+      this.materializer.addAxiom(axiom);
+      assertOWLAxiom(axiom);
+    }
+  }
+
+  @Override public void defineSQWRLQuery(@NonNull SQWRLQuery query) throws TargetSWRLRuleEngineException
+  {
+    if (!query.isActive())
+      return;
+
+    List<@NonNull SWRLAtom> bodyAtoms, collectionAtoms;
+
+    if (query.hasSQWRLCollections()) {
+      bodyAtoms = query.getSQWRLPhase1BodyAtoms();
+      collectionAtoms = query.getSQWRLPhase2BodyAtoms().stream()
+        .filter(atom -> atom instanceof SWRLAPIBuiltInAtom && ((SWRLAPIBuiltInAtom)atom).usesSQWRLCollectionResults())
+        .collect(Collectors.toList());
+    } else {
+      bodyAtoms = query.getBodyAtoms();
+      collectionAtoms = Collections.emptyList();
+    }
+
+    RuleCompiler compiler = new RuleCompiler(this.factBase, this.bridge, query.getQueryName(), true,
+      query.getBodyAtoms(), query.getHeadAtoms());
+    List<@NonNull CompiledAtom> compiledBodyAtoms = compiler.compile(bodyAtoms, false);
+    List<@NonNull CompiledAtom> compiledCollectionAtoms = compiler.compile(collectionAtoms, false);
+    List<@NonNull CompiledAtom> compiledHeadAtoms = compiler.compile(query.getHeadAtoms(), true);
+
+    this.queries.add(new CompiledRule(query.getQueryName(), compiledBodyAtoms, compiledCollectionAtoms,
+      compiledHeadAtoms, compiler.getNumberOfVariables()));
+  }
+
+  @Override public void runRuleEngine() throws TargetSWRLRuleEngineException
+  {
+    this.owlReasoner = null;
+
+    try {
+      boolean isFirstRound = true;
+      do {
+        this.materializer.materialize(this::inferOWL2RLAxiom);
+        logInconsistencies();
+        do {
+          for (int ruleIndex = 0; ruleIndex < this.rules.size(); ruleIndex++) {
+            CompiledRule rule = this.rules.get(ruleIndex);
+            if (isFirstRound && (ruleIndex >= this.numberOfEvaluatedRules || !rule.hasFactAtoms()))
+              rule.evaluate(bindings -> inferHead(rule, bindings));
+            else
+              rule.evaluateDelta(bindings -> inferHead(rule, bindings));
+          }
+          this.numberOfEvaluatedRules = this.rules.size();
+          isFirstRound = false;
+        } while (this.factBase.advance());
+      } while (this.materializer.hasPendingAxioms()); // Axioms inferred by rules may have OWL 2 RL consequences
+      logInconsistencies();
+
+      for (CompiledRule query : this.queries)
+        query.evaluate(bindings -> inferHead(query, bindings));
+    } catch (SWRLBuiltInException e) {
+      throw new TargetSWRLRuleEngineException(
+        "error running rule engine: " + (e.getMessage() != null ? e.getMessage() : ""), e);
+    }
+  }
+
+  @Override public void resetRuleEngine() throws TargetSWRLRuleEngineException
+  {
+    this.factBase = new FactBase();
+    this.materializer = createMaterializer();
+    this.numberOfReportedInconsistencies = 0;
+    this.numberOfReportedEqualityInconsistencies = 0;
+    this.rules.clear();
+    this.queries.clear();
+    this.definedOWLAxioms.clear();
+    this.inferredOWLAxioms.clear();
+    this.numberOfEvaluatedRules = 0;
+    this.owlReasoner = null;
+  }
+
+  @NonNull @Override public String getTargetRuleEngineName()
+  {
+    return SemiNaiveSWRLRuleEngineCreator.RULE_ENGINE_NAME;
+  }
+
+  @NonNull @Override public String getTargetRuleEngineVersion()
+  {
+    return VERSION;
+  }
+
+  @NonNull @Override public Icon getTargetRuleEngineIcon()
+  {
+    return SWRLAPIInternalFactory.getOWL2RLReasonerIcon();
+  }
+
+  /**
+   * @return A structural reasoner over the asserted axioms and the axioms inferred by the last run
+   */
+  @NonNull @Override public OWLReasoner getOWLReasoner()
+  {
+    if (this.owlReasoner == null) {
+      Set<@NonNull OWLAxiom> axioms = new HashSet<>(this.definedOWLAxioms);
+      axioms.addAll(this.inferredOWLAxioms);
+      try {
+        this.owlReasoner = new StructuralReasonerFactory()
+          .createNonBufferingReasoner(OWLManager.createOWLOntologyManager().createOntology(axioms));
+      } catch (OWLOntologyCreationException e) {
+        throw new TargetSWRLRuleEngineException(
+          "error creating OWL reasoner: " + (e.getMessage() != null ? e.getMessage() : ""), e);
+      }
+    }
+    return this.owlReasoner;
+  }
+
+  @NonNull @Override public OWL2RLEngine getOWL2RLEngine()
+  {
+    return this.owl2RLEngine;
+  }
+
+  /**
+   * @return The number of facts in the fact tables, including those inferred by rules
+   */
+  int getNumberOfFacts()
+  {
+    return this.factBase.getNumberOfFacts();
+  }
+
+  private void defineSWRLRule(@NonNull SWRLAPIRule rule)
+  {
+    if (rule.isSQWRLQuery() || !rule.isActive()) // Queries are defined through defineSQWRLQuery
+      return;
+
+    try {
+      RuleCompiler compiler = new RuleCompiler(this.factBase, this.bridge, rule.getRuleName(), false,
+        rule.getBodyAtoms(), rule.getHeadAtoms());
+      List<@NonNull CompiledAtom> bodyAtoms = compiler.compile(rule.getBodyAtomsInEvaluationOrder(), false);
+      List<@NonNull CompiledAtom> headAtoms = compiler.compile(rule.getHeadAtoms(), true);
+
+      this.rules.add(new CompiledRule(rule.getRuleName(), bodyAtoms, Collections.emptyList(), headAtoms,
+        compiler.getNumberOfVariables()));
+    } catch (TargetSWRLRuleEngineNotImplementedFeatureException e) {
+      log.warn("Ignoring rule " + rule.getRuleName() + ": " + e.getMessage());
+    }
+  }
+
+  @NonNull private OWL2RLMaterializer createMaterializer()
+  {
+    return new OWL2RLMaterializer(this.dataFactory, this.owl2RLEngine.getEnabledRules());
+  }
+
+  /**
+   * Add the facts of an asserted or inferred axiom to the fact tables.
+   */
+  private void assertOWLAxiom(@NonNull OWLAxiom axiom)
+  {
+    if (axiom instanceof OWLClassAssertionAxiom)
+      defineClassAssertion((OWLClassAssertionAxiom)axiom);
+    else if (axiom instanceof OWLObjectPropertyAssertionAxiom)
+      defineObjectPropertyAssertion((OWLObjectPropertyAssertionAxiom)axiom);
+    else if (axiom instanceof OWLDataPropertyAssertionAxiom)
+      defineDataPropertyAssertion((OWLDataPropertyAssertionAxiom)axiom);
+    else if (axiom instanceof OWLSameIndividualAxiom)
+      defineSameIndividuals(((OWLSameIndividualAxiom)axiom).getIndividualsAsList());
+    else if (axiom instanceof OWLDifferentIndividualsAxiom)
+      defineDifferentIndividuals(((OWLDifferentIndividualsAxiom)axiom).getIndividualsAsList());
+  }
+
+  private void inferOWL2RLAxiom(@NonNull OWLAxiom axiom)
+  {
+    this.inferredOWLAxioms.add(axiom);
+    assertOWLAxiom(axiom);
+    this.bridge.inferOWLAxiom(axiom);
+  }
+
+  private void logInconsistencies()
+  {
+    Set<@NonNull OWL2RLInconsistency> inconsistencies = this.materializer.getInconsistencies();
+
+    if (inconsistencies.size() > this.numberOfReportedInconsistencies) {
+      inconsistencies.stream().skip(this.numberOfReportedInconsistencies)
+        .forEach(inconsistency -> log.warn("OWL 2 RL inconsistency: " + inconsistency));
+      this.numberOfReportedInconsistencies = inconsistencies.size();
+    }
+
+    Set<@NonNull OWL2RLInconsistency> equalityInconsistencies = this.factBase.getInconsistencies();
+
+    if (equalityInconsistencies.size() > this.numberOfReportedEqualityInconsistencies) {
+      equalityInconsistencies.stream().skip(this.numberOfReportedEqualityInconsistencies)
+        .forEach(inconsistency -> log.warn("Individuals are both the same and different: " + inconsistency));
+      this.numberOfReportedEqualityInconsistencies = equalityInconsistencies.size();
+    }
+  }
+
+  private void defineClassAssertion(@NonNull OWLClassAssertionAxiom axiom)
+  {
+    OWLClassExpression classExpression = axiom.getClassExpression();
+
+    if (!classExpression.isAnonymous())
+      this.factBase.getClassRelation(classExpression.asOWLClass()).assertFact(axiom.getIndividual());
+  }
+
+  private void defineObjectPropertyAssertion(@NonNull OWLObjectPropertyAssertionAxiom axiom)
+  {
+    OWLObjectPropertyExpression property = axiom.getProperty().getSimplified();
+
+    if (property.isAnonymous()) // An inverse property
+      this.factBase.getObjectPropertyRelation(property.getNamedProperty())
+        .assertFact(axiom.getObject(), axiom.getSubject());
+    else
+      this.factBase.getObjectPropertyRelation(property.asOWLObjectProperty())
+        .assertFact(axiom.getSubject(), axiom.getObject());
+  }
+
+  private void defineDataPropertyAssertion(@NonNull OWLDataPropertyAssertionAxiom axiom)
+  {
+    this.factBase.getDataPropertyRelation(axiom.getProperty().asOWLDataProperty())
+      .assertFact(axiom.getSubject(), axiom.getObject());
+  }
+
+  private void defineSameIndividuals(@NonNull List<@NonNull OWLIndividual> individuals)
+  {
+    for (int i = 1; i < individuals.size(); i++)
+      this.factBase.getEquality().merge(individuals.get(0), individuals.get(i));
+  }
+
+  private void defineDifferentIndividuals(@NonNull List<@NonNull OWLIndividual> individuals)
+  {
+    for (int i = 0; i < individuals.size(); i++)
+      for (int j = i + 1; j < individuals.size(); j++)
+        this.factBase.addDifferentIndividuals(individuals.get(i), individuals.get(j), false);
+  }
+
+  private void inferHead(@NonNull CompiledRule rule, @NonNull OWLObject[] bindings) throws SWRLBuiltInException
+  {
+    for (CompiledAtom headAtom : rule.getHeadAtoms()) {
+      Optional<@NonNull OWLAxiom> axiom = headAtom.infer(bindings, this.dataFactory);
+      if (axiom.isPresent()) {
+        this.inferredOWLAxioms.add(axiom.get());
+        this.materializer.addAxiom(axiom.get());
+        this.bridge.inferOWLAxiom(axiom.get());
+      }
+    }
+  }
+}
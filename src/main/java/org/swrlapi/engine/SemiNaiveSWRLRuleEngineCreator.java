@@ -0,0 +1,30 @@
+package org.swrlapi.engine;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.swrlapi.bridge.SWRLRuleEngineBridge;
+import org.swrlapi.bridge.TargetSWRLRuleEngine;
+import org.swrlapi.bridge.TargetSWRLRuleEngineCreator;
+import org.swrlapi.exceptions.TargetSWRLRuleEngineException;
+
+/**
+ * Creates the in-tree semi-naive forward-chaining rule engine. The engine is always registered with the SWRLAPI
+ * factory, after any external rule engine found on the class path, so it is the default only if no other engine is
+ * available. It can be requested explicitly by {@link #RULE_ENGINE_NAME}.
+ *
+ * @see org.swrlapi.factory.SWRLAPIFactory#createSWRLRuleEngine(String, org.semanticweb.owlapi.model.OWLOntology)
+ */
+public class SemiNaiveSWRLRuleEngineCreator implements TargetSWRLRuleEngineCreator
+{
+  @NonNull public static final String RULE_ENGINE_NAME = "SemiNaive";
+
+  @NonNull @Override public TargetSWRLRuleEngine create(@NonNull SWRLRuleEngineBridge bridge)
+    throws TargetSWRLRuleEngineException
+  {
+    return new SemiNaiveSWRLRuleEngine(bridge);
+  }
+
+  @NonNull @Override public String getRuleEngineName()
+  {
+    return RULE_ENGINE_NAME;
+  }
+}
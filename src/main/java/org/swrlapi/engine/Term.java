@@ -0,0 +1,55 @@
+package org.swrlapi.engine;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.semanticweb.owlapi.model.OWLObject;
+
+/**
+ * An argument of a compiled atom: either a constant or a variable, which is given a slot in the bindings array of
+ * its rule.
+ * <p>
+ * Individuals and literals are represented by their OWLAPI objects so that they can be matched against the fact
+ * tables. Other values, such as the classes, properties and collections passed to and from built-ins, are represented
+ * by their built-in arguments.
+ *
+ * @see CompiledRule
+ */
+final class Term
+{
+  private final int slot;
+  @Nullable private final OWLObject constant;
+
+  private Term(int slot, @Nullable OWLObject constant)
+  {
+    this.slot = slot;
+    this.constant = constant;
+  }
+
+  @NonNull static Term createVariable(int slot)
+  {
+    return new Term(slot, null);
+  }
+
+  @NonNull static Term createConstant(@NonNull OWLObject constant)
+  {
+    return new Term(-1, constant);
+  }
+
+  boolean isVariable()
+  {
+    return this.slot != -1;
+  }
+
+  int getSlot()
+  {
+    return this.slot;
+  }
+
+  /**
+   * @return The value of the term, or null if it is an unbound variable
+   */
+  @Nullable OWLObject getValue(@NonNull OWLObject[] bindings)
+  {
+    return this.slot == -1 ? this.constant : bindings[this.slot];
+  }
+}
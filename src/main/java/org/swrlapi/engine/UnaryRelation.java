@@ -0,0 +1,116 @@
+package org.swrlapi.engine;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.OWLIndividual;
+import org.semanticweb.owlapi.model.OWLObject;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The members of an OWL class, split into the generations used by semi-naive evaluation. Facts inferred during a
+ * round are held back until {@link #advance()} so that every rule in a round sees the same facts. Individuals are
+ * stored as their representatives in the {@link IndividualEquality} of the fact base.
+ *
+ * @see SemiNaiveSWRLRuleEngine
+ */
+final class UnaryRelation
+{
+  @NonNull private final IndividualEquality equality;
+  @NonNull private final Set<@NonNull OWLObject> all = new HashSet<>();
+  @NonNull private Set<@NonNull OWLObject> delta = new HashSet<>();
+  @NonNull private Set<@NonNull OWLObject> next = new HashSet<>();
+
+  UnaryRelation(@NonNull IndividualEquality equality)
+  {
+    this.equality = equality;
+  }
+
+  boolean assertFact(@NonNull OWLObject value)
+  {
+    OWLObject member = this.equality.getRepresentative(value);
+
+    if (this.all.add(member)) {
+      this.delta.add(member);
+      return true;
+    } else
+      return false;
+  }
+
+  /**
+   * @return True if the fact is new; it becomes visible when the relation advances
+   */
+  boolean inferFact(@NonNull OWLObject value)
+  {
+    OWLObject member = this.equality.getRepresentative(value);
+
+    return !this.all.contains(member) && this.next.add(member);
+  }
+
+  boolean contains(@NonNull OWLObject value, @NonNull FactView view)
+  {
+    OWLObject member = this.equality.getRepresentative(value);
+
+    switch (view) {
+    case DELTA:
+      return this.delta.contains(member);
+    case OLD:
+      return this.all.contains(member) && !this.delta.contains(member);
+    default:
+      return this.all.contains(member);
+    }
+  }
+
+  /**
+   * @return The members to scan for a view; members of {@link FactView#OLD} must be checked with {@link #isExcluded}
+   */
+  @NonNull Set<@NonNull OWLObject> getMembers(@NonNull FactView view)
+  {
+    return view == FactView.DELTA ? this.delta : this.all;
+  }
+
+  boolean isExcluded(@NonNull OWLObject member, @NonNull FactView view)
+  {
+    return view == FactView.OLD && this.delta.contains(member);
+  }
+
+  boolean hasDelta()
+  {
+    return !this.delta.isEmpty();
+  }
+
+  /**
+   * Replace absorbed representatives by their current representatives. The rewritten facts are inferred, so they
+   * become new when the relation advances.
+   */
+  void rewrite(@NonNull Set<@NonNull OWLIndividual> absorbedIndividuals)
+  {
+    for (OWLIndividual individual : absorbedIndividuals) {
+      boolean isMember = this.all.remove(individual);
+      isMember |= this.next.remove(individual);
+      if (isMember) {
+        this.delta.remove(individual);
+        inferFact(individual);
+      }
+    }
+  }
+
+  /**
+   * Make the facts inferred in the current round visible, as the delta of the next round.
+   *
+   * @return True if any facts were inferred
+   */
+  boolean advance()
+  {
+    this.all.addAll(this.next);
+    this.delta = this.next;
+    this.next = new HashSet<>();
+
+    return !this.delta.isEmpty();
+  }
+
+  int size()
+  {
+    return this.all.size();
+  }
+}
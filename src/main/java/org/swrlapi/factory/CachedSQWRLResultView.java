@@ -0,0 +1,309 @@
+package org.swrlapi.factory;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.swrlapi.sqwrl.SQWRLResult;
+import org.swrlapi.sqwrl.exceptions.SQWRLException;
+import org.swrlapi.sqwrl.exceptions.SQWRLInvalidColumnTypeException;
+import org.swrlapi.sqwrl.exceptions.SQWRLResultStateException;
+import org.swrlapi.sqwrl.values.SQWRLAnnotationPropertyResultValue;
+import org.swrlapi.sqwrl.values.SQWRLClassExpressionResultValue;
+import org.swrlapi.sqwrl.values.SQWRLClassResultValue;
+import org.swrlapi.sqwrl.values.SQWRLDataPropertyResultValue;
+import org.swrlapi.sqwrl.values.SQWRLDataRangeResultValue;
+import org.swrlapi.sqwrl.values.SQWRLLiteralResultValue;
+import org.swrlapi.sqwrl.values.SQWRLNamedIndividualResultValue;
+import org.swrlapi.sqwrl.values.SQWRLObjectPropertyResultValue;
+import org.swrlapi.sqwrl.values.SQWRLPropertyResultValue;
+import org.swrlapi.sqwrl.values.SQWRLResultValue;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A read-only view of a prepared SQWRL result with a cursor of its own, so that several views of the same result can
+ * be iterated independently. A prepared result cannot be modified, so creating a view costs no copying.
+ *
+ * @see SQWRLResultCache
+ */
+final class CachedSQWRLResultView implements SQWRLResult
+{
+  @NonNull private final DefaultSQWRLResultManager result;
+  private final int numberOfRows;
+  private int currentRowIndex = -1;
+
+  CachedSQWRLResultView(@NonNull DefaultSQWRLResultManager result) throws SQWRLException
+  {
+    this.result = result;
+    this.numberOfRows = result.getNumberOfRows();
+  }
+
+  @Override public int getNumberOfColumns() throws SQWRLException
+  {
+    return this.result.getNumberOfColumns();
+  }
+
+  @NonNull @Override public List<@NonNull String> getColumnNames() throws SQWRLException
+  {
+    return this.result.getColumnNames();
+  }
+
+  @NonNull @Override public String getColumnName(int columnIndex) throws SQWRLException
+  {
+    return this.result.getColumnName(columnIndex);
+  }
+
+  @Override public boolean isEmpty()
+  {
+    return this.numberOfRows == 0;
+  }
+
+  @Override public int getNumberOfRows()
+  {
+    return this.numberOfRows;
+  }
+
+  @Override public void reset()
+  {
+    this.currentRowIndex = -1;
+  }
+
+  @Override public boolean next()
+  {
+    if (this.currentRowIndex < this.numberOfRows)
+      this.currentRowIndex++;
+
+    return this.currentRowIndex < this.numberOfRows;
+  }
+
+  @NonNull @Override public List<@NonNull SQWRLResultValue> getRow() throws SQWRLException
+  {
+    throwExceptionIfNotOnRow();
+
+    return Collections.unmodifiableList(this.result.getRow(this.currentRowIndex));
+  }
+
+  /**
+   * @return The rows of the result, independent of the position of this view's cursor
+   */
+  @NonNull List<@NonNull List<@NonNull SQWRLResultValue>> getRows() throws SQWRLException
+  {
+    return this.result.getRows();
+  }
+
+  @NonNull @Override public SQWRLResultValue getValue(@NonNull String columnName) throws SQWRLException
+  {
+    return getValue(this.result.getColumnIndex(columnName));
+  }
+
+  @NonNull @Override public SQWRLResultValue getValue(int columnIndex) throws SQWRLException
+  {
+    throwExceptionIfNotOnRow();
+
+    return this.result.getValue(columnIndex, this.currentRowIndex);
+  }
+
+  @NonNull @Override public SQWRLResultValue getValue(int columnIndex, int rowIndex) throws SQWRLException
+  {
+    return this.result.getValue(columnIndex, rowIndex);
+  }
+
+  @NonNull @Override public List<@NonNull SQWRLResultValue> getColumn(@NonNull String columnName)
+    throws SQWRLException
+  {
+    return Collections.unmodifiableList(this.result.getColumn(columnName));
+  }
+
+  @NonNull @Override public List<@NonNull SQWRLResultValue> getColumn(int columnIndex) throws SQWRLException
+  {
+    return Collections.unmodifiableList(this.result.getColumn(columnIndex));
+  }
+
+  @NonNull @Override public SQWRLClassResultValue getClass(@NonNull String columnName) throws SQWRLException
+  {
+    return getClass(this.result.getColumnIndex(columnName));
+  }
+
+  @NonNull @Override public SQWRLClassResultValue getClass(int columnIndex) throws SQWRLException
+  {
+    return (SQWRLClassResultValue)getValue(columnIndex, SQWRLClassResultValue.class, "class");
+  }
+
+  @NonNull @Override public SQWRLClassExpressionResultValue getClassExpression(@NonNull String columnName)
+    throws SQWRLException
+  {
+    return getClassExpression(this.result.getColumnIndex(columnName));
+  }
+
+  @NonNull @Override public SQWRLClassExpressionResultValue getClassExpression(int columnIndex) throws SQWRLException
+  {
+    return (SQWRLClassExpressionResultValue)getValue(columnIndex, SQWRLClassExpressionResultValue.class,
+      "class expression");
+  }
+
+  @NonNull @Override public SQWRLNamedIndividualResultValue getNamedIndividual(@NonNull String columnName)
+    throws SQWRLException
+  {
+    return getNamedIndividual(this.result.getColumnIndex(columnName));
+  }
+
+  @NonNull @Override public SQWRLNamedIndividualResultValue getNamedIndividual(int columnIndex) throws SQWRLException
+  {
+    return (SQWRLNamedIndividualResultValue)getValue(columnIndex, SQWRLNamedIndividualResultValue.class,
+      "named individual");
+  }
+
+  @NonNull @Override public SQWRLObjectPropertyResultValue getObjectProperty(@NonNull String columnName)
+    throws SQWRLException
+  {
+    return getObjectProperty(this.result.getColumnIndex(columnName));
+  }
+
+  @NonNull @Override public SQWRLObjectPropertyResultValue getObjectProperty(int columnIndex) throws SQWRLException
+  {
+    return (SQWRLObjectPropertyResultValue)getValue(columnIndex, SQWRLObjectPropertyResultValue.class,
+      "OWL object property");
+  }
+
+  @NonNull @Override public SQWRLDataPropertyResultValue getDataProperty(@NonNull String columnName)
+    throws SQWRLException
+  {
+    return getDataProperty(this.result.getColumnIndex(columnName));
+  }
+
+  @NonNull @Override public SQWRLDataPropertyResultValue getDataProperty(int columnIndex) throws SQWRLException
+  {
+    return (SQWRLDataPropertyResultValue)getValue(columnIndex, SQWRLDataPropertyResultValue.class,
+      "OWL data property");
+  }
+
+  @NonNull @Override public SQWRLAnnotationPropertyResultValue getAnnotationProperty(@NonNull String columnName)
+    throws SQWRLException
+  {
+    return getAnnotationProperty(this.result.getColumnIndex(columnName));
+  }
+
+  @NonNull @Override public SQWRLAnnotationPropertyResultValue getAnnotationProperty(int columnIndex)
+    throws SQWRLException
+  {
+    return (SQWRLAnnotationPropertyResultValue)getValue(columnIndex, SQWRLAnnotationPropertyResultValue.class,
+      "OWL annotation property");
+  }
+
+  @NonNull @Override public SQWRLDataRangeResultValue getDataRange(@NonNull String columnName) throws SQWRLException
+  {
+    return getDataRange(this.result.getColumnIndex(columnName));
+  }
+
+  @NonNull @Override public SQWRLDataRangeResultValue getDataRange(int columnIndex) throws SQWRLException
+  {
+    return (SQWRLDataRangeResultValue)getValue(columnIndex, SQWRLDataRangeResultValue.class, "OWL data range");
+  }
+
+  @NonNull @Override public SQWRLLiteralResultValue getLiteral(@NonNull String columnName) throws SQWRLException
+  {
+    return getLiteral(this.result.getColumnIndex(columnName));
+  }
+
+  @NonNull @Override public SQWRLLiteralResultValue getLiteral(int columnIndex) throws SQWRLException
+  {
+    return (SQWRLLiteralResultValue)getValue(columnIndex, SQWRLLiteralResultValue.class, "literal");
+  }
+
+  @Override public boolean hasClassValue(@NonNull String columnName) throws SQWRLException
+  {
+    return getValue(columnName) instanceof SQWRLClassResultValue;
+  }
+
+  @Override public boolean hasClassValue(int columnIndex) throws SQWRLException
+  {
+    return getValue(columnIndex) instanceof SQWRLClassResultValue;
+  }
+
+  @Override public boolean hasClassExpressionValue(@NonNull String columnName) throws SQWRLException
+  {
+    return getValue(columnName) instanceof SQWRLClassExpressionResultValue;
+  }
+
+  @Override public boolean hasClassExpressionValue(int columnIndex) throws SQWRLException
+  {
+    return getValue(columnIndex) instanceof SQWRLClassExpressionResultValue;
+  }
+
+  @Override public boolean hasNamedIndividualValue(@NonNull String columnName) throws SQWRLException
+  {
+    return getValue(columnName) instanceof SQWRLNamedIndividualResultValue;
+  }
+
+  @Override public boolean hasNamedIndividualValue(int columnIndex) throws SQWRLException
+  {
+    return getValue(columnIndex) instanceof SQWRLNamedIndividualResultValue;
+  }
+
+  @Override public boolean hasObjectPropertyValue(@NonNull String columnName) throws SQWRLException
+  {
+    return getValue(columnName) instanceof SQWRLObjectPropertyResultValue;
+  }
+
+  @Override public boolean hasObjectPropertyValue(int columnIndex) throws SQWRLException
+  {
+    return getValue(columnIndex) instanceof SQWRLObjectPropertyResultValue;
+  }
+
+  @Override public boolean hasDataPropertyValue(@NonNull String columnName) throws SQWRLException
+  {
+    return getValue(columnName) instanceof SQWRLDataPropertyResultValue;
+  }
+
+  @Override public boolean hasDataPropertyValue(int columnIndex) throws SQWRLException
+  {
+    return getValue(columnIndex) instanceof SQWRLDataPropertyResultValue;
+  }
+
+  @Override public boolean hasAnnotationPropertyValue(@NonNull String columnName) throws SQWRLException
+  {
+    return getValue(columnName) instanceof SQWRLAnnotationPropertyResultValue;
+  }
+
+  @Override public boolean hasAnnotationPropertyValue(int columnIndex) throws SQWRLException
+  {
+    return getValue(columnIndex) instanceof SQWRLPropertyResultValue;
+  }
+
+  @Override public boolean hasDataRangeValue(@NonNull String columnName) throws SQWRLException
+  {
+    return getValue(columnName) instanceof SQWRLDataRangeResultValue;
+  }
+
+  @Override public boolean hasDataRangeValue(int columnIndex) throws SQWRLException
+  {
+    return getValue(columnIndex) instanceof SQWRLDataRangeResultValue;
+  }
+
+  @Override public boolean hasLiteralValue(@NonNull String columnName) throws SQWRLException
+  {
+    return getValue(columnName) instanceof SQWRLLiteralResultValue;
+  }
+
+  @Override public boolean hasLiteralValue(int columnIndex) throws SQWRLException
+  {
+    return getValue(columnIndex) instanceof SQWRLLiteralResultValue;
+  }
+
+  @NonNull private SQWRLResultValue getValue(int columnIndex, @NonNull Class<? extends SQWRLResultValue> valueClass,
+    @NonNull String typeName) throws SQWRLException
+  {
+    SQWRLResultValue value = getValue(columnIndex);
+
+    if (!valueClass.isInstance(value))
+      throw new SQWRLInvalidColumnTypeException(
+        "expecting " + typeName + " type for column " + this.result.getColumnName(columnIndex));
+
+    return value;
+  }
+
+  private void throwExceptionIfNotOnRow() throws SQWRLException
+  {
+    if (this.currentRowIndex < 0 || this.currentRowIndex >= this.numberOfRows)
+      throw new SQWRLResultStateException("attempt to get data outside the rows of the result");
+  }
+}
@@ -0,0 +1,144 @@
+package org.swrlapi.factory;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+/**
+ * A bounded, thread-safe table of canonical instances of immutable literal values, keyed by lexical form and datatype,
+ * so that a factory asked for many equal values can return one instance rather than a copy for each request.
+ * <p>
+ * The values of both booleans and of integers from {@link #MINIMUM_SMALL_INTEGER} to {@link #MAXIMUM_SMALL_INTEGER}
+ * are built when the table is created. Other values are held in a direct-mapped table: a value replaces whichever
+ * entry occupies its slot, so the table keeps recently created values without the bookkeeping of a least recently used
+ * list, and never grows beyond its capacity. Values with long lexical forms are not held, since they are unlikely to
+ * recur. Entries are immutable, so readers need no locking; a value that loses a race to be stored is simply not
+ * canonical. Since cached values are equal to the values they replace, equality is unaffected.
+ * <p>
+ * Only lookups in the direct-mapped table are counted as hits or misses. Booleans and small integers are always
+ * canonical, so counting them would only inflate the hit rate.
+ *
+ * @param <V> The type of value
+ */
+final class CanonicalValueCache<V>
+{
+  public static final int MINIMUM_SMALL_INTEGER = -128;
+  public static final int MAXIMUM_SMALL_INTEGER = 1023;
+  public static final int DEFAULT_CAPACITY = 1 << 14;
+  public static final int MAXIMUM_LEXICAL_FORM_LENGTH = 64;
+
+  @NonNull private final V falseValue;
+  @NonNull private final V trueValue;
+  @NonNull private final Object[] smallIntegerValues;
+  @NonNull private final Entry[] entries;
+  private final int mask;
+  @NonNull private final LongAdder numberOfHits = new LongAdder();
+  @NonNull private final LongAdder numberOfMisses = new LongAdder();
+
+  /**
+   * @param capacity            The number of slots in the table, which must be a power of two
+   * @param falseValue          The value of false
+   * @param trueValue           The value of true
+   * @param smallIntegerCreator Creates the values of small integers
+   */
+  public CanonicalValueCache(int capacity, @NonNull V falseValue, @NonNull V trueValue,
+    @NonNull IntFunction<@NonNull V> smallIntegerCreator)
+  {
+    if (capacity < 1 || Integer.bitCount(capacity) != 1)
+      throw new IllegalArgumentException("cache capacity must be a power of two");
+
+    this.falseValue = falseValue;
+    this.trueValue = trueValue;
+    this.smallIntegerValues = new Object[MAXIMUM_SMALL_INTEGER - MINIMUM_SMALL_INTEGER + 1];
+    this.entries = new Entry[capacity];
+    this.mask = capacity - 1;
+
+    for (int i = MINIMUM_SMALL_INTEGER; i <= MAXIMUM_SMALL_INTEGER; i++)
+      this.smallIntegerValues[i - MINIMUM_SMALL_INTEGER] = smallIntegerCreator.apply(i);
+  }
+
+  public static boolean isSmallInteger(long value)
+  {
+    return value >= MINIMUM_SMALL_INTEGER && value <= MAXIMUM_SMALL_INTEGER;
+  }
+
+  @NonNull public V getBoolean(boolean value)
+  {
+    return value ? this.trueValue : this.falseValue;
+  }
+
+  /**
+   * @param value An integer for which {@link #isSmallInteger(long)} is true
+   * @return The value of the integer
+   */
+  @SuppressWarnings("unchecked") @NonNull public V getSmallInteger(int value)
+  {
+    return (V)this.smallIntegerValues[value - MINIMUM_SMALL_INTEGER];
+  }
+
+  /**
+   * @param lexicalForm The lexical form of a value
+   * @param datatype    The datatype of the value, which must have value-based equality
+   * @return The canonical value, or null if there is none; hits and misses are counted
+   */
+  @SuppressWarnings("unchecked") @Nullable public V get(@NonNull String lexicalForm, @NonNull Object datatype)
+  {
+    Entry entry = lexicalForm.length() > MAXIMUM_LEXICAL_FORM_LENGTH ?
+      null :
+      this.entries[getSlot(lexicalForm, datatype)];
+
+    if (entry != null && entry.lexicalForm.equals(lexicalForm) && entry.datatype.equals(datatype)) {
+      this.numberOfHits.increment();
+      return (V)entry.value;
+    } else {
+      this.numberOfMisses.increment();
+      return null;
+    }
+  }
+
+  /**
+   * Make a value canonical, replacing the value in its slot.
+   *
+   * @return The value
+   */
+  @NonNull public V add(@NonNull String lexicalForm, @NonNull Object datatype, @NonNull V value)
+  {
+    if (lexicalForm.length() <= MAXIMUM_LEXICAL_FORM_LENGTH)
+      this.entries[getSlot(lexicalForm, datatype)] = new Entry(lexicalForm, datatype, value);
+
+    return value;
+  }
+
+  public long getNumberOfHits()
+  {
+    return this.numberOfHits.sum();
+  }
+
+  public long getNumberOfMisses()
+  {
+    return this.numberOfMisses.sum();
+  }
+
+  private int getSlot(@NonNull String lexicalForm, @NonNull Object datatype)
+  {
+    int hash = 31 * lexicalForm.hashCode() + datatype.hashCode();
+
+    return (hash ^ (hash >>> 16)) & this.mask;
+  }
+
+  private static final class Entry
+  {
+    @NonNull private final String lexicalForm;
+    @NonNull private final Object datatype;
+    @NonNull private final Object value;
+
+    public Entry(@NonNull String lexicalForm, @NonNull Object datatype, @NonNull Object value)
+    {
+      this.lexicalForm = lexicalForm;
+      this.datatype = datatype;
+      this.value = value;
+    }
+  }
+}
@@ -10,8 +10,16 @@ import org.swrlapi.literal.XSDTime;
 
 import java.net.URI;
 
+/**
+ * Literals are made canonical by a cache shared by all instances of this factory, so equal requests return the same
+ * {@link Literal}.
+ *
+ * @see CanonicalValueCache
+ */
 class DefaultLiteralFactory implements LiteralFactory
 {
+  @NonNull private static final CanonicalValueCache<@NonNull Literal> literalCache = createLiteralCache();
+
   @NonNull private final OWLLiteralFactory owlLiteralFactory;
 
   public DefaultLiteralFactory()
@@ -21,67 +29,104 @@ class DefaultLiteralFactory implements LiteralFactory
 
   @NonNull @Override public Literal getLiteral(byte b)
   {
-    return SWRLAPIInternalFactory.createLiteral(getOWLLiteralFactory().getOWLLiteral(b));
+    return getCanonicalLiteral(getOWLLiteralFactory().getOWLLiteral(b));
   }
 
   @NonNull @Override public Literal getLiteral(short s)
   {
-    return SWRLAPIInternalFactory.createLiteral(getOWLLiteralFactory().getOWLLiteral(s));
+    return getCanonicalLiteral(getOWLLiteralFactory().getOWLLiteral(s));
   }
 
   @NonNull @Override public Literal getLiteral(float value)
   {
-    return SWRLAPIInternalFactory.createLiteral(getOWLLiteralFactory().getOWLLiteral(value));
+    return getCanonicalLiteral(getOWLLiteralFactory().getOWLLiteral(value));
   }
 
   @NonNull @Override public Literal getLiteral(int value)
   {
-    return SWRLAPIInternalFactory.createLiteral(getOWLLiteralFactory().getOWLLiteral(value));
+    if (CanonicalValueCache.isSmallInteger(value))
+      return literalCache.getSmallInteger(value);
+    else
+      return getCanonicalLiteral(getOWLLiteralFactory().getOWLLiteral(value));
   }
 
   @NonNull @Override public Literal getLiteral(double value)
   {
-    return SWRLAPIInternalFactory.createLiteral(getOWLLiteralFactory().getOWLLiteral(value));
+    return getCanonicalLiteral(getOWLLiteralFactory().getOWLLiteral(value));
   }
 
   @NonNull @Override public Literal getLiteral(@NonNull String value)
   {
-    return SWRLAPIInternalFactory.createLiteral(getOWLLiteralFactory().getOWLLiteral(value));
+    return getCanonicalLiteral(getOWLLiteralFactory().getOWLLiteral(value));
   }
 
   @NonNull @Override public Literal getLiteral(boolean value)
   {
-    return SWRLAPIInternalFactory.createLiteral(getOWLLiteralFactory().getOWLLiteral(value));
+    return literalCache.getBoolean(value);
   }
 
   @NonNull @Override public Literal getLiteral(@NonNull URI uri)
   {
-    return SWRLAPIInternalFactory.createLiteral(getOWLLiteralFactory().getOWLLiteral(uri));
+    return getCanonicalLiteral(getOWLLiteralFactory().getOWLLiteral(uri));
   }
 
   @NonNull @Override public Literal getLiteral(@NonNull XSDDate date)
   {
-    return SWRLAPIInternalFactory.createLiteral(getOWLLiteralFactory().getOWLLiteral(date));
+    return getCanonicalLiteral(getOWLLiteralFactory().getOWLLiteral(date));
   }
 
   @NonNull @Override public Literal getLiteral(@NonNull XSDTime time)
   {
-    return SWRLAPIInternalFactory.createLiteral(getOWLLiteralFactory().getOWLLiteral(time));
+    return getCanonicalLiteral(getOWLLiteralFactory().getOWLLiteral(time));
   }
 
   @NonNull @Override public Literal getLiteral(@NonNull XSDDateTime datetime)
   {
-    return SWRLAPIInternalFactory.createLiteral(getOWLLiteralFactory().getOWLLiteral(datetime));
+    return getCanonicalLiteral(getOWLLiteralFactory().getOWLLiteral(datetime));
   }
 
   @NonNull @Override public Literal getLiteral(@NonNull XSDDuration duration)
   {
-    return SWRLAPIInternalFactory.createLiteral(getOWLLiteralFactory().getOWLLiteral(duration));
+    return getCanonicalLiteral(getOWLLiteralFactory().getOWLLiteral(duration));
   }
 
   @NonNull @Override public Literal getLiteral(@NonNull OWLLiteral literal)
   {
-    return SWRLAPIInternalFactory.createLiteral(literal);
+    return getCanonicalLiteral(literal);
+  }
+
+  @Override public long getNumberOfLiteralCacheHits()
+  {
+    return literalCache.getNumberOfHits();
+  }
+
+  @Override public long getNumberOfLiteralCacheMisses()
+  {
+    return literalCache.getNumberOfMisses();
+  }
+
+  @NonNull private Literal getCanonicalLiteral(@NonNull OWLLiteral owlLiteral)
+  {
+    if (owlLiteral.hasLang()) // Language tags are not part of the key
+      return SWRLAPIInternalFactory.createLiteral(owlLiteral);
+
+    Literal literal = literalCache.get(owlLiteral.getLiteral(), owlLiteral.getDatatype());
+
+    if (literal != null)
+      return literal;
+    else
+      return literalCache
+        .add(owlLiteral.getLiteral(), owlLiteral.getDatatype(), SWRLAPIInternalFactory.createLiteral(owlLiteral));
+  }
+
+  @NonNull private static CanonicalValueCache<@NonNull Literal> createLiteralCache()
+  {
+    OWLLiteralFactory owlLiteralFactory = SWRLAPIInternalFactory.createOWLLiteralFactory();
+
+    return new CanonicalValueCache<>(CanonicalValueCache.DEFAULT_CAPACITY,
+      SWRLAPIInternalFactory.createLiteral(owlLiteralFactory.getOWLLiteral(false)),
+      SWRLAPIInternalFactory.createLiteral(owlLiteralFactory.getOWLLiteral(true)),
+      i -> SWRLAPIInternalFactory.createLiteral(owlLiteralFactory.getOWLLiteral(i)));
   }
 
   @NonNull private OWLLiteralFactory getOWLLiteralFactory()
@@ -16,8 +16,16 @@ import java.math.BigInteger;
 import java.net.URI;
 import java.util.List;
 
+/**
+ * Literals are made canonical by a cache shared by all instances of this factory, so equal requests return the same
+ * {@link OWLLiteral}.
+ *
+ * @see CanonicalValueCache
+ */
 class DefaultOWLLiteralFactory implements OWLLiteralFactory
 {
+  @NonNull private static final CanonicalValueCache<@NonNull OWLLiteral> owlLiteralCache = createOWLLiteralCache();
+
   @NonNull private final OWLDatatypeFactory datatypeFactory;
 
   public DefaultOWLLiteralFactory()
@@ -27,83 +35,86 @@ class DefaultOWLLiteralFactory implements OWLLiteralFactory
 
   @NonNull @Override public OWLLiteral getOWLLiteral(byte b)
   {
-    return new OWLLiteralImpl("" + b, "", getOWLDatatypeFactory().getByteDatatype());
+    return getCanonicalOWLLiteral(Byte.toString(b), getOWLDatatypeFactory().getByteDatatype());
   }
 
   @NonNull @Override public OWLLiteral getOWLLiteral(short s)
   {
-    return new OWLLiteralImpl("" + s, "", getOWLDatatypeFactory().getShortDatatype());
+    return getCanonicalOWLLiteral(Short.toString(s), getOWLDatatypeFactory().getShortDatatype());
   }
 
   @NonNull @Override public OWLLiteral getOWLLiteral(int i)
   {
-    return new OWLLiteralImpl("" + i, "", getOWLDatatypeFactory().getIntDatatype());
+    if (CanonicalValueCache.isSmallInteger(i))
+      return owlLiteralCache.getSmallInteger(i);
+    else
+      return getCanonicalOWLLiteral(Integer.toString(i), getOWLDatatypeFactory().getIntDatatype());
   }
 
   @NonNull @Override public OWLLiteral getOWLLiteral(long l)
   {
-    return new OWLLiteralImpl("" + l, "", getOWLDatatypeFactory().getLongDatatype());
+    return getCanonicalOWLLiteral(Long.toString(l), getOWLDatatypeFactory().getLongDatatype());
   }
 
   @NonNull @Override public OWLLiteral getOWLLiteral(float f)
   {
-    return new OWLLiteralImpl("" + f, "", getOWLDatatypeFactory().getFloatDatatype());
+    return getCanonicalOWLLiteral(Float.toString(f), getOWLDatatypeFactory().getFloatDatatype());
   }
 
   @NonNull @Override public OWLLiteral getOWLLiteral(double d)
   {
-    return new OWLLiteralImpl("" + d, "", getOWLDatatypeFactory().getDoubleDatatype());
+    return getCanonicalOWLLiteral(Double.toString(d), getOWLDatatypeFactory().getDoubleDatatype());
   }
 
   @NonNull @Override public OWLLiteral getOWLLiteral(@NonNull BigDecimal d)
   {
-    return new OWLLiteralImpl("" + d, "", getOWLDatatypeFactory().getDecimalDatatype());
+    return getCanonicalOWLLiteral(d.toPlainString(), getOWLDatatypeFactory().getDecimalDatatype());
   }
 
   @NonNull @Override public OWLLiteral getOWLLiteral(@NonNull BigInteger i)
   {
-    return new OWLLiteralImpl("" + i, "", getOWLDatatypeFactory().getIntegerDatatype());
+    return getCanonicalOWLLiteral(i.toString(), getOWLDatatypeFactory().getIntegerDatatype());
   }
 
   @NonNull @Override public OWLLiteral getOWLLiteral(@NonNull String s)
   {
-    return new OWLLiteralImpl(s, "", getOWLDatatypeFactory().getStringDatatype());
+    return getCanonicalOWLLiteral(s, getOWLDatatypeFactory().getStringDatatype());
   }
 
   @NonNull @Override public OWLLiteral getOWLLiteral(boolean b)
   {
-    return new OWLLiteralImpl("" + b, "", getOWLDatatypeFactory().getBooleanDatatype());
+    return owlLiteralCache.getBoolean(b);
   }
 
   @NonNull @Override public OWLLiteral getOWLLiteral(URI uri)
   {
-    return new OWLLiteralImpl("" + uri, "", getOWLDatatypeFactory().getURIDatatype());
+    return getCanonicalOWLLiteral("" + uri, getOWLDatatypeFactory().getURIDatatype());
   }
 
   @NonNull @Override public OWLLiteral getOWLLiteral(@NonNull XSDDate date)
   {
-    return new OWLLiteralImpl(date.getContent(), "", getOWLDatatypeFactory().getDateDatatype());
+    return getCanonicalOWLLiteral(date.getContent(), getOWLDatatypeFactory().getDateDatatype());
   }
 
   @NonNull @Override public OWLLiteral getOWLLiteral(@NonNull XSDTime time)
   {
-    return new OWLLiteralImpl(time.getContent(), "", getOWLDatatypeFactory().getTimeDatatype());
+    return getCanonicalOWLLiteral(time.getContent(), getOWLDatatypeFactory().getTimeDatatype());
   }
 
   @NonNull @Override public OWLLiteral getOWLLiteral(@NonNull XSDDateTime datetime)
   {
-    return new OWLLiteralImpl(datetime.getContent(), "", getOWLDatatypeFactory().getDateTimeDatatype());
+    return getCanonicalOWLLiteral(datetime.getContent(), getOWLDatatypeFactory().getDateTimeDatatype());
   }
 
   @NonNull @Override public OWLLiteral getOWLLiteral(@NonNull XSDDuration duration)
   {
-    return new OWLLiteralImpl(duration.getContent(), "", getOWLDatatypeFactory().getDurationDatatype());
+    return getCanonicalOWLLiteral(duration.getContent(), getOWLDatatypeFactory().getDurationDatatype());
   }
 
   @NonNull @Override public OWLLiteral getOWLLiteral(@NonNull String literal, @NonNull OWLDatatype datatype)
   {
     validateOWLLiteral(literal, datatype);
-    return new OWLLiteralImpl(literal, "", datatype);
+    return getCanonicalOWLLiteral(literal, datatype);
   }
 
   @NonNull @Override public OWLLiteral createLeastNarrowNumericOWLLiteral(double value,
@@ -188,6 +199,37 @@ class DefaultOWLLiteralFactory implements OWLLiteralFactory
     return literal.getDatatype().isDouble();
   }
 
+  @Override public long getNumberOfOWLLiteralCacheHits()
+  {
+    return owlLiteralCache.getNumberOfHits();
+  }
+
+  @Override public long getNumberOfOWLLiteralCacheMisses()
+  {
+    return owlLiteralCache.getNumberOfMisses();
+  }
+
+  @NonNull private OWLLiteral getCanonicalOWLLiteral(@NonNull String lexicalForm, @NonNull OWLDatatype datatype)
+  {
+    OWLLiteral literal = owlLiteralCache.get(lexicalForm, datatype);
+
+    if (literal != null)
+      return literal;
+    else
+      return owlLiteralCache.add(lexicalForm, datatype, new OWLLiteralImpl(lexicalForm, "", datatype));
+  }
+
+  @NonNull private static CanonicalValueCache<@NonNull OWLLiteral> createOWLLiteralCache()
+  {
+    OWLDatatypeFactory datatypeFactory = SWRLAPIInternalFactory.createOWLDatatypeFactory();
+    OWLDatatype booleanDatatype = datatypeFactory.getBooleanDatatype();
+    OWLDatatype intDatatype = datatypeFactory.getIntDatatype();
+
+    return new CanonicalValueCache<>(CanonicalValueCache.DEFAULT_CAPACITY,
+      new OWLLiteralImpl("false", "", booleanDatatype), new OWLLiteralImpl("true", "", booleanDatatype),
+      i -> new OWLLiteralImpl(Integer.toString(i), "", intDatatype));
+  }
+
   private void validateOWLLiteral(@NonNull String literal, @NonNull OWLDatatype datatype)
   {
     if (!OWLLiteralValidator.isValid(literal, datatype))
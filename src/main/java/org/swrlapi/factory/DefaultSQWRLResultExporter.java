@@ -0,0 +1,501 @@
+package org.swrlapi.factory;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.dataflow.qual.Deterministic;
+import org.checkerframework.dataflow.qual.SideEffectFree;
+import org.swrlapi.sqwrl.SQWRLResult;
+import org.swrlapi.sqwrl.SQWRLResultExporter;
+import org.swrlapi.sqwrl.exceptions.SQWRLException;
+import org.swrlapi.sqwrl.values.SQWRLResultValue;
+import org.swrlapi.sqwrl.values.SQWRLResultValueType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Writes results by reading rows directly from the storage of results produced by the SWRLAPI, or by cell for other
+ * implementations of {@link SQWRLResult}. Cell text is taken from strings already held by the result values and encoded
+ * as UTF-8 straight into a byte buffer, so no string is created per cell.
+ *
+ * @see org.swrlapi.sqwrl.SQWRLResultExporter
+ */
+class DefaultSQWRLResultExporter implements SQWRLResultExporter
+{
+  private static final int BUFFER_SIZE = 1 << 16;
+  private static final int MAPPED_REGION_SIZE = 1 << 24;
+  private static final int MAXIMUM_DICTIONARY_SIZE = 1 << 16; // Values per column
+
+  private static final byte[] BINARY_MAGIC = { 'S', 'Q', 'R', 'B' };
+  private static final byte BINARY_VERSION = 1;
+
+  // Binary cell codes
+  private static final int NEW_DICTIONARY_VALUE = 0;
+  private static final int INLINE_VALUE = 1;
+  private static final int FIRST_DICTIONARY_REFERENCE = 2;
+
+  @Override public void export(@NonNull SQWRLResult result, @NonNull Format format, @NonNull OutputStream outputStream)
+    throws SQWRLException, IOException
+  {
+    export(result, format, Channels.newChannel(outputStream));
+    outputStream.flush();
+  }
+
+  @Override public void export(@NonNull SQWRLResult result, @NonNull Format format,
+    @NonNull WritableByteChannel channel) throws SQWRLException, IOException
+  {
+    ByteSink sink = new ChannelByteSink(channel);
+
+    write(result, format, sink);
+    sink.finish();
+  }
+
+  @Override public void exportMapped(@NonNull SQWRLResult result, @NonNull Format format, @NonNull Path file)
+    throws SQWRLException, IOException
+  {
+    try (FileChannel channel = FileChannel
+      .open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING)) {
+      ByteSink sink = new MappedByteSink(channel);
+
+      write(result, format, sink);
+      sink.finish();
+    }
+  }
+
+  private void write(@NonNull SQWRLResult result, @NonNull Format format, @NonNull ByteSink sink)
+    throws SQWRLException, IOException
+  {
+    switch (format) {
+    case CSV:
+      writeDelimited(result, getCells(result), ',', sink);
+      break;
+    case TSV:
+      writeDelimited(result, getCells(result), '\t', sink);
+      break;
+    case BINARY:
+      writeBinary(result, getCells(result), sink);
+      break;
+    default:
+      throw new IllegalArgumentException("unknown export format " + format);
+    }
+  }
+
+  private void writeDelimited(@NonNull SQWRLResult result, @NonNull Cells cells, char delimiter,
+    @NonNull ByteSink sink) throws SQWRLException, IOException
+  {
+    int numberOfColumns = result.getNumberOfColumns();
+
+    for (int columnIndex = 0; columnIndex < numberOfColumns; columnIndex++) {
+      if (columnIndex != 0)
+        sink.put((byte)delimiter);
+      writeField(result.getColumnName(columnIndex), delimiter, sink);
+    }
+    sink.put((byte)'\r');
+    sink.put((byte)'\n');
+
+    for (int rowIndex = 0; rowIndex < cells.getNumberOfRows(); rowIndex++) {
+      for (int columnIndex = 0; columnIndex < numberOfColumns; columnIndex++) {
+        if (columnIndex != 0)
+          sink.put((byte)delimiter);
+        writeField(getText(cells.getValue(rowIndex, columnIndex)), delimiter, sink);
+      }
+      sink.put((byte)'\r');
+      sink.put((byte)'\n');
+    }
+  }
+
+  private void writeField(@NonNull String text, char delimiter, @NonNull ByteSink sink) throws IOException
+  {
+    boolean isQuoted = false;
+
+    for (int i = 0; i < text.length() && !isQuoted; i++) {
+      char c = text.charAt(i);
+      isQuoted = c == delimiter || c == '"' || c == '\r' || c == '\n';
+    }
+
+    if (isQuoted) {
+      sink.put((byte)'"');
+      sink.putUTF8(text, true);
+      sink.put((byte)'"');
+    } else
+      sink.putUTF8(text, false);
+  }
+
+  private void writeBinary(@NonNull SQWRLResult result, @NonNull Cells cells, @NonNull ByteSink sink)
+    throws SQWRLException, IOException
+  {
+    int numberOfColumns = result.getNumberOfColumns();
+    List<@NonNull ColumnDictionary> columnDictionaries = new ArrayList<>(numberOfColumns);
+    Map<@NonNull String, @NonNull Integer> datatypeDictionary = new HashMap<>();
+
+    for (byte b : BINARY_MAGIC)
+      sink.put(b);
+    sink.put(BINARY_VERSION);
+
+    sink.putVarint(numberOfColumns);
+    for (int columnIndex = 0; columnIndex < numberOfColumns; columnIndex++) {
+      sink.putString(result.getColumnName(columnIndex));
+      columnDictionaries.add(new ColumnDictionary());
+    }
+
+    sink.putVarint(cells.getNumberOfRows());
+    for (int rowIndex = 0; rowIndex < cells.getNumberOfRows(); rowIndex++) {
+      for (int columnIndex = 0; columnIndex < numberOfColumns; columnIndex++) {
+        SQWRLResultValue value = cells.getValue(rowIndex, columnIndex);
+        ColumnDictionary columnDictionary = columnDictionaries.get(columnIndex);
+        String text = getText(value);
+        SQWRLResultValueType<?> type = getType(value);
+        String datatype = value.isLiteral() ? value.asLiteralResult().getDatatypePrefixedName() : "";
+        int entry = columnDictionary.find(text, type, datatype);
+
+        if (entry >= 0)
+          sink.putVarint(FIRST_DICTIONARY_REFERENCE + entry);
+        else {
+          sink.putVarint(columnDictionary.add(text, type, datatype) ? NEW_DICTIONARY_VALUE : INLINE_VALUE);
+          sink.put((byte)SQWRLResultValueType.VALUES.indexOf(type));
+          if (type == SQWRLResultValueType.LITERAL) {
+            Integer datatypeEntry = datatypeDictionary.get(datatype);
+
+            if (datatypeEntry != null)
+              sink.putVarint(datatypeEntry + 1);
+            else {
+              datatypeDictionary.put(datatype, datatypeDictionary.size());
+              sink.putVarint(0);
+              sink.putString(datatype);
+            }
+          }
+          sink.putString(text);
+        }
+      }
+    }
+  }
+
+  /**
+   * @return The text of a value, which is held by the value rather than created for the caller
+   */
+  @NonNull private static String getText(@NonNull SQWRLResultValue value) throws SQWRLException
+  {
+    if (value.isLiteral())
+      return value.asLiteralResult().getValue();
+    else if (value.isEntity())
+      return value.asEntityResult().getPrefixedName();
+    else if (value.isExpression())
+      return value.asExpressionResult().getRendering();
+    else
+      return value.toString();
+  }
+
+  @NonNull private static SQWRLResultValueType<?> getType(@NonNull SQWRLResultValue value)
+  {
+    if (value.isLiteral())
+      return SQWRLResultValueType.LITERAL;
+    else if (value.isClass())
+      return SQWRLResultValueType.CLASS;
+    else if (value.isClassExpression())
+      return SQWRLResultValueType.CLASS_EXPRESSION;
+    else if (value.isNamedIndividual())
+      return SQWRLResultValueType.NAMED_INDIVIDUAL;
+    else if (value.isIndividual())
+      return SQWRLResultValueType.INDIVIDUAL;
+    else if (value.isObjectProperty())
+      return SQWRLResultValueType.OBJECT_PROPERTY;
+    else if (value.isObjectPropertyExpression())
+      return SQWRLResultValueType.OBJECT_PROPERTY_EXPRESSION;
+    else if (value.isDataProperty())
+      return SQWRLResultValueType.DATA_PROPERTY;
+    else if (value.isDataPropertyExpression())
+      return SQWRLResultValueType.DATA_PROPERTY_EXPRESSION;
+    else if (value.isAnnotationProperty())
+      return SQWRLResultValueType.ANNOTATION_PROPERTY;
+    else if (value.isDatatype())
+      return SQWRLResultValueType.DATATYPE;
+    else
+      return SQWRLResultValueType.DATA_RANGE;
+  }
+
+  @NonNull private static Cells getCells(@NonNull SQWRLResult result) throws SQWRLException
+  {
+    if (result instanceof DefaultSQWRLResultManager)
+      return new RowCells(((DefaultSQWRLResultManager)result).getRows());
+    else if (result instanceof CachedSQWRLResultView)
+      return new RowCells(((CachedSQWRLResultView)result).getRows());
+    else {
+      int numberOfRows = result.getNumberOfRows();
+
+      return new Cells()
+      {
+        @Override public int getNumberOfRows()
+        {
+          return numberOfRows;
+        }
+
+        @NonNull @Override public SQWRLResultValue getValue(int rowIndex, int columnIndex) throws SQWRLException
+        {
+          return result.getValue(columnIndex, rowIndex);
+        }
+      };
+    }
+  }
+
+  private interface Cells
+  {
+    int getNumberOfRows();
+
+    @NonNull SQWRLResultValue getValue(int rowIndex, int columnIndex) throws SQWRLException;
+  }
+
+  private static class RowCells implements Cells
+  {
+    @NonNull private final List<@NonNull List<@NonNull SQWRLResultValue>> rows;
+
+    public RowCells(@NonNull List<@NonNull List<@NonNull SQWRLResultValue>> rows)
+    {
+      this.rows = rows;
+    }
+
+    @Override public int getNumberOfRows()
+    {
+      return this.rows.size();
+    }
+
+    @NonNull @Override public SQWRLResultValue getValue(int rowIndex, int columnIndex)
+    {
+      return this.rows.get(rowIndex).get(columnIndex);
+    }
+  }
+
+  /**
+   * The values written to a column of a binary export. Values are keyed by text, type and datatype, since values of
+   * different types may have the same text.
+   */
+  private static class ColumnDictionary
+  {
+    @NonNull private final Map<@NonNull DictionaryKey, @NonNull Integer> entries = new HashMap<>();
+
+    public int find(@NonNull String text, @NonNull SQWRLResultValueType<?> type, @NonNull String datatype)
+    {
+      Integer entry = this.entries.get(new DictionaryKey(text, type, datatype));
+
+      return entry != null ? entry : -1;
+    }
+
+    /**
+     * @return True if the value was added, or false if the dictionary is full
+     */
+    public boolean add(@NonNull String text, @NonNull SQWRLResultValueType<?> type, @NonNull String datatype)
+    {
+      if (this.entries.size() == MAXIMUM_DICTIONARY_SIZE)
+        return false;
+
+      this.entries.put(new DictionaryKey(text, type, datatype), this.entries.size());
+
+      return true;
+    }
+  }
+
+  private static class DictionaryKey
+  {
+    @NonNull private final String text;
+    @NonNull private final SQWRLResultValueType<?> type;
+    @NonNull private final String datatype;
+
+    public DictionaryKey(@NonNull String text, @NonNull SQWRLResultValueType<?> type, @NonNull String datatype)
+    {
+      this.text = text;
+      this.type = type;
+      this.datatype = datatype;
+    }
+
+    @SideEffectFree @Deterministic @Override public boolean equals(@Nullable Object o)
+    {
+      if (this == o)
+        return true;
+      if (o == null || getClass() != o.getClass())
+        return false;
+
+      DictionaryKey that = (DictionaryKey)o;
+
+      return this.type == that.type && this.text.equals(that.text) && this.datatype.equals(that.datatype);
+    }
+
+    @SideEffectFree @Deterministic @Override public int hashCode()
+    {
+      return Objects.hash(this.text, this.type, this.datatype);
+    }
+  }
+
+  /**
+   * A byte buffer that is drained when full.
+   */
+  private abstract static class ByteSink
+  {
+    @NonNull protected ByteBuffer buffer;
+
+    protected ByteSink(@NonNull ByteBuffer buffer)
+    {
+      this.buffer = buffer;
+    }
+
+    /**
+     * Make room in the buffer.
+     */
+    protected abstract void drain() throws IOException;
+
+    /**
+     * Write out the remaining contents of the buffer.
+     */
+    public abstract void finish() throws IOException;
+
+    public void put(byte b) throws IOException
+    {
+      if (!this.buffer.hasRemaining())
+        drain();
+      this.buffer.put(b);
+    }
+
+    /**
+     * Write an unsigned LEB128 variable-length integer.
+     */
+    public void putVarint(int value) throws IOException
+    {
+      int remaining = value;
+
+      while ((remaining & ~0x7F) != 0) {
+        put((byte)((remaining & 0x7F) | 0x80));
+        remaining >>>= 7;
+      }
+      put((byte)remaining);
+    }
+
+    /**
+     * Write a length-prefixed UTF-8 string.
+     */
+    public void putString(@NonNull String s) throws IOException
+    {
+      putVarint(getUTF8Length(s));
+      putUTF8(s, false);
+    }
+
+    /**
+     * Write a string as UTF-8, doubling double quotes if requested. An unpaired surrogate is written as '?', as
+     * {@link String#getBytes(java.nio.charset.Charset)} does.
+     */
+    public void putUTF8(@NonNull String s, boolean doubleQuotes) throws IOException
+    {
+      int length = s.length();
+
+      for (int i = 0; i < length; i++) {
+        char c = s.charAt(i);
+
+        if (c < 0x80) {
+          put((byte)c);
+          if (c == '"' && doubleQuotes)
+            put((byte)'"');
+        } else if (c < 0x800) {
+          put((byte)(0xC0 | (c >> 6)));
+          put((byte)(0x80 | (c & 0x3F)));
+        } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+          int codePoint = Character.toCodePoint(c, s.charAt(++i));
+          put((byte)(0xF0 | (codePoint >> 18)));
+          put((byte)(0x80 | ((codePoint >> 12) & 0x3F)));
+          put((byte)(0x80 | ((codePoint >> 6) & 0x3F)));
+          put((byte)(0x80 | (codePoint & 0x3F)));
+        } else if (Character.isSurrogate(c))
+          put((byte)'?');
+        else {
+          put((byte)(0xE0 | (c >> 12)));
+          put((byte)(0x80 | ((c >> 6) & 0x3F)));
+          put((byte)(0x80 | (c & 0x3F)));
+        }
+      }
+    }
+
+    private static int getUTF8Length(@NonNull String s)
+    {
+      int length = s.length();
+      int utf8Length = 0;
+
+      for (int i = 0; i < length; i++) {
+        char c = s.charAt(i);
+
+        if (c < 0x80)
+          utf8Length++;
+        else if (c < 0x800)
+          utf8Length += 2;
+        else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+          utf8Length += 4;
+          i++;
+        } else if (Character.isSurrogate(c))
+          utf8Length++;
+        else
+          utf8Length += 3;
+      }
+      return utf8Length;
+    }
+  }
+
+  private static class ChannelByteSink extends ByteSink
+  {
+    @NonNull private final WritableByteChannel channel;
+
+    public ChannelByteSink(@NonNull WritableByteChannel channel)
+    {
+      super(ByteBuffer.allocate(BUFFER_SIZE));
+      this.channel = channel;
+    }
+
+    @Override protected void drain() throws IOException
+    {
+      this.buffer.flip();
+      while (this.buffer.hasRemaining())
+        this.channel.write(this.buffer);
+      this.buffer.clear();
+    }
+
+    @Override public void finish() throws IOException
+    {
+      drain();
+    }
+  }
+
+  /**
+   * Writes through successive memory-mapped regions of a file, which is truncated to the bytes written on finishing.
+   */
+  private static class MappedByteSink extends ByteSink
+  {
+    @NonNull private final FileChannel channel;
+    private long regionStart = 0;
+
+    public MappedByteSink(@NonNull FileChannel channel) throws IOException
+    {
+      super(channel.map(FileChannel.MapMode.READ_WRITE, 0, MAPPED_REGION_SIZE));
+      this.channel = channel;
+    }
+
+    @Override protected void drain() throws IOException
+    {
+      this.regionStart += this.buffer.position();
+      this.buffer = this.channel.map(FileChannel.MapMode.READ_WRITE, this.regionStart, MAPPED_REGION_SIZE);
+    }
+
+    @Override public void finish() throws IOException
+    {
+      long length = this.regionStart + this.buffer.position();
+
+      this.buffer = ByteBuffer.allocate(0);
+      this.channel.truncate(length);
+    }
+  }
+}
@@ -361,6 +361,31 @@ class DefaultSQWRLResultManager implements SQWRLResultManager, Serializable
     return this.rows.get(this.currentRowIndex);
   }
 
+  /**
+   * @param rowIndex The index of a row
+   * @return The row, independent of the position of the result's cursor
+   */
+  @NonNull List<@NonNull SQWRLResultValue> getRow(int rowIndex) throws SQWRLException
+  {
+    throwExceptionIfNotConfigured();
+    throwExceptionIfNotPrepared();
+
+    checkRowIndex(rowIndex);
+
+    return this.rows.get(rowIndex);
+  }
+
+  /**
+   * @return The rows of the result, independent of the position of the result's cursor
+   */
+  @NonNull List<@NonNull List<@NonNull SQWRLResultValue>> getRows() throws SQWRLException
+  {
+    throwExceptionIfNotConfigured();
+    throwExceptionIfNotPrepared();
+
+    return Collections.unmodifiableList(this.rows);
+  }
+
   @Override public SQWRLResultValue getValue(@NonNull String columnName) throws SQWRLException
   {
     throwExceptionIfNotConfigured();
@@ -669,7 +694,7 @@ class DefaultSQWRLResultManager implements SQWRLResultManager, Serializable
     this.sliceSize = sliceSize;
   }
 
-  private int getColumnIndex(@NonNull String columnName) throws SQWRLException
+  int getColumnIndex(@NonNull String columnName) throws SQWRLException
   {
     checkColumnName(columnName);
 
@@ -40,8 +40,17 @@ import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+/**
+ * Literal values are made canonical by a cache shared by all instances of this factory, so equal requests return the
+ * same value.
+ *
+ * @see CanonicalValueCache
+ */
 public class DefaultSQWRLResultValueFactory implements SQWRLResultValueFactory
 {
+  @NonNull private static final CanonicalValueCache<@NonNull SQWRLLiteralResultValue> literalValueCache =
+    createLiteralValueCache();
+
   @NonNull private final IRIResolver iriResolver;
   @NonNull private final OWLLiteralFactory owlLiteralFactory;
 
@@ -175,91 +184,81 @@ public class DefaultSQWRLResultValueFactory implements SQWRLResultValueFactory
 
   @NonNull @Override public SQWRLLiteralResultValue getLiteralValue(byte b)
   {
-    return new DefaultSQWRLLiteralResultValue(getOWLLiteralFactory().getOWLLiteral(b),
-      XSDVocabulary.BYTE.getPrefixedName());
+    return getCanonicalLiteralValue(getOWLLiteralFactory().getOWLLiteral(b), XSDVocabulary.BYTE.getPrefixedName());
   }
 
   @NonNull @Override public SQWRLLiteralResultValue getLiteralValue(short s)
   {
-    return new DefaultSQWRLLiteralResultValue(getOWLLiteralFactory().getOWLLiteral(s),
-      XSDVocabulary.SHORT.getPrefixedName());
+    return getCanonicalLiteralValue(getOWLLiteralFactory().getOWLLiteral(s), XSDVocabulary.SHORT.getPrefixedName());
   }
 
   @NonNull @Override public SQWRLLiteralResultValue getLiteralValue(int i)
   {
-    return new DefaultSQWRLLiteralResultValue(getOWLLiteralFactory().getOWLLiteral(i),
-      XSDVocabulary.INT.getPrefixedName());
+    if (CanonicalValueCache.isSmallInteger(i))
+      return literalValueCache.getSmallInteger(i);
+    else
+      return getCanonicalLiteralValue(getOWLLiteralFactory().getOWLLiteral(i), XSDVocabulary.INT.getPrefixedName());
   }
 
   @NonNull @Override public SQWRLLiteralResultValue getLiteralValue(long l)
   {
-    return new DefaultSQWRLLiteralResultValue(getOWLLiteralFactory().getOWLLiteral(l),
-      XSDVocabulary.LONG.getPrefixedName());
+    return getCanonicalLiteralValue(getOWLLiteralFactory().getOWLLiteral(l), XSDVocabulary.LONG.getPrefixedName());
   }
 
   @NonNull @Override public SQWRLLiteralResultValue getLiteralValue(float f)
   {
-    return new DefaultSQWRLLiteralResultValue(getOWLLiteralFactory().getOWLLiteral(f),
-      XSDVocabulary.FLOAT.getPrefixedName());
+    return getCanonicalLiteralValue(getOWLLiteralFactory().getOWLLiteral(f), XSDVocabulary.FLOAT.getPrefixedName());
   }
 
   @NonNull @Override public SQWRLLiteralResultValue getLiteralValue(double d)
   {
-    return new DefaultSQWRLLiteralResultValue(getOWLLiteralFactory().getOWLLiteral(d),
-      XSDVocabulary.DOUBLE.getPrefixedName());
+    return getCanonicalLiteralValue(getOWLLiteralFactory().getOWLLiteral(d), XSDVocabulary.DOUBLE.getPrefixedName());
   }
 
   @NonNull @Override public SQWRLLiteralResultValue getLiteralValue(@NonNull String s)
   {
-    return new DefaultSQWRLLiteralResultValue(getOWLLiteralFactory().getOWLLiteral(s),
-      XSDVocabulary.STRING.getPrefixedName());
+    return getCanonicalLiteralValue(getOWLLiteralFactory().getOWLLiteral(s), XSDVocabulary.STRING.getPrefixedName());
   }
 
   @NonNull @Override public SQWRLLiteralResultValue getLiteralValue(@NonNull BigDecimal d)
   {
-    return new DefaultSQWRLLiteralResultValue(getOWLLiteralFactory().getOWLLiteral(d),
-      XSDVocabulary.DECIMAL.getPrefixedName());
+    return getCanonicalLiteralValue(getOWLLiteralFactory().getOWLLiteral(d), XSDVocabulary.DECIMAL.getPrefixedName());
   }
 
   @NonNull @Override public SQWRLLiteralResultValue getLiteralValue(@NonNull BigInteger i)
   {
-    return new DefaultSQWRLLiteralResultValue(getOWLLiteralFactory().getOWLLiteral(i),
-      XSDVocabulary.INTEGER.getPrefixedName());
+    return getCanonicalLiteralValue(getOWLLiteralFactory().getOWLLiteral(i), XSDVocabulary.INTEGER.getPrefixedName());
   }
 
   @NonNull @Override public SQWRLLiteralResultValue getLiteralValue(boolean b)
   {
-    return new DefaultSQWRLLiteralResultValue(getOWLLiteralFactory().getOWLLiteral(b),
-      XSDVocabulary.BOOLEAN.getPrefixedName());
+    return literalValueCache.getBoolean(b);
   }
 
   @NonNull @Override public SQWRLLiteralResultValue getLiteralValue(@NonNull URI uri)
   {
-    return new DefaultSQWRLLiteralResultValue(getOWLLiteralFactory().getOWLLiteral(uri),
-      XSDVocabulary.ANY_URI.getPrefixedName());
+    return getCanonicalLiteralValue(getOWLLiteralFactory().getOWLLiteral(uri), XSDVocabulary.ANY_URI.getPrefixedName());
   }
 
   @NonNull @Override public SQWRLLiteralResultValue getLiteralValue(@NonNull XSDTime time)
   {
-    return new DefaultSQWRLLiteralResultValue(getOWLLiteralFactory().getOWLLiteral(time),
-      XSDVocabulary.TIME.getPrefixedName());
+    return getCanonicalLiteralValue(getOWLLiteralFactory().getOWLLiteral(time), XSDVocabulary.TIME.getPrefixedName());
   }
 
   @NonNull @Override public SQWRLLiteralResultValue getLiteralValue(@NonNull XSDDate date)
   {
-    return new DefaultSQWRLLiteralResultValue(getOWLLiteralFactory().getOWLLiteral(date),
-      XSDVocabulary.DATE.getPrefixedName());
+    return getCanonicalLiteralValue(getOWLLiteralFactory().getOWLLiteral(date), XSDVocabulary.DATE.getPrefixedName());
   }
 
   @NonNull @Override public SQWRLLiteralResultValue getLiteralValue(@NonNull XSDDateTime dateTime)
   {
-    return new DefaultSQWRLLiteralResultValue(getOWLLiteralFactory().getOWLLiteral(dateTime),
+    return getCanonicalLiteralValue(getOWLLiteralFactory().getOWLLiteral(dateTime),
       XSDVocabulary.DATE_TIME.getPrefixedName());
   }
 
   @NonNull @Override public SQWRLLiteralResultValue getLiteralValue(@NonNull XSDDuration duration)
   {
-    return new DefaultSQWRLLiteralResultValue(getOWLLiteralFactory().getOWLLiteral(duration),
+    return getCanonicalLiteralValue(getOWLLiteralFactory().getOWLLiteral(duration),
       XSDVocabulary.DURATION.getPrefixedName());
   }
 
@@ -267,7 +266,7 @@ public class DefaultSQWRLResultValueFactory implements SQWRLResultValueFactory
   {
     IRI datatypeIRI = literal.getDatatype().getIRI();
 
-    return new DefaultSQWRLLiteralResultValue(literal, iri2PrefixedName(datatypeIRI));
+    return getCanonicalLiteralValue(literal, iri2PrefixedName(datatypeIRI));
   }
 
   @NonNull @Override public SQWRLLiteralResultValue createLeastNarrowNumericLiteralValue(double value,
@@ -281,6 +280,47 @@ public class DefaultSQWRLResultValueFactory implements SQWRLResultValueFactory
     return getLiteralValue(literal);
   }
 
+  @Override public long getNumberOfLiteralValueCacheHits()
+  {
+    return literalValueCache.getNumberOfHits();
+  }
+
+  @Override public long getNumberOfLiteralValueCacheMisses()
+  {
+    return literalValueCache.getNumberOfMisses();
+  }
+
+  /**
+   * Values are keyed by lexical form and datatype, so a cached value is only used if its datatype has the same prefixed
+   * name under this factory's IRI resolver.
+   */
+  @NonNull private SQWRLLiteralResultValue getCanonicalLiteralValue(@NonNull OWLLiteral literal,
+    @NonNull String datatypePrefixedName)
+  {
+    if (literal.hasLang()) // Language tags are not part of the key
+      return new DefaultSQWRLLiteralResultValue(literal, datatypePrefixedName);
+
+    SQWRLLiteralResultValue value = literalValueCache.get(literal.getLiteral(), literal.getDatatype());
+
+    if (value != null && value.getDatatypePrefixedName().equals(datatypePrefixedName))
+      return value;
+    else
+      return literalValueCache.add(literal.getLiteral(), literal.getDatatype(),
+        new DefaultSQWRLLiteralResultValue(literal, datatypePrefixedName));
+  }
+
+  @NonNull private static CanonicalValueCache<@NonNull SQWRLLiteralResultValue> createLiteralValueCache()
+  {
+    OWLLiteralFactory owlLiteralFactory = SWRLAPIInternalFactory.createOWLLiteralFactory();
+    String booleanPrefixedName = XSDVocabulary.BOOLEAN.getPrefixedName();
+    String intPrefixedName = XSDVocabulary.INT.getPrefixedName();
+
+    return new CanonicalValueCache<>(CanonicalValueCache.DEFAULT_CAPACITY,
+      new DefaultSQWRLLiteralResultValue(owlLiteralFactory.getOWLLiteral(false), booleanPrefixedName),
+      new DefaultSQWRLLiteralResultValue(owlLiteralFactory.getOWLLiteral(true), booleanPrefixedName),
+      i -> new DefaultSQWRLLiteralResultValue(owlLiteralFactory.getOWLLiteral(i), intPrefixedName));
+  }
+
   @NonNull private String iri2PrefixedName(IRI iri)
   {
     Optional<@NonNull String> prefixedName = this.iriResolver.iri2PrefixedName(iri);
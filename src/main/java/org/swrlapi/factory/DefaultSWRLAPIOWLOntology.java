@@ -1,6 +1,7 @@
 package org.swrlapi.factory;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.semanticweb.owlapi.model.AxiomType;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAnnotation;
@@ -76,6 +77,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.swrlapi.builtins.SWRLBuiltInLibraryManager;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgumentType;
 import org.swrlapi.builtins.arguments.SWRLVariableBuiltInArgument;
 import org.swrlapi.core.IRIResolver;
 import org.swrlapi.core.SWRLAPIOWLOntology;
@@ -85,6 +87,7 @@ import org.swrlapi.exceptions.SWRLAPIException;
 import org.swrlapi.exceptions.SWRLAPIInternalException;
 import org.swrlapi.exceptions.SWRLBuiltInException;
 import org.swrlapi.exceptions.SWRLRuleException;
+import org.swrlapi.parser.SWRLParseCache;
 import org.swrlapi.parser.SWRLParseException;
 import org.swrlapi.parser.SWRLParser;
 import org.swrlapi.sqwrl.SQWRLQuery;
@@ -118,6 +121,7 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
   @NonNull private final IRIResolver iriResolver;
   @NonNull private final SWRLBuiltInLibraryManager swrlBuiltInLibraryManager;
   @NonNull private final SWRLAPIOWLDataFactory swrlapiOWLDataFactory;
+  @NonNull private final SWRLParseCache swrlParseCache; // Shared by all parsers created for this ontology
 
   @NonNull private final Map<@NonNull String, @NonNull SWRLAPIRule> swrlRules; // Rules and queries extracted from ontology
   @NonNull private final Map<@NonNull String, @NonNull SWRLRule> owlapiRules; // All SWRL rules in supplied ontology
@@ -134,6 +138,8 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
 
   @NonNull private final Set<SWRLRuleEngineModel> swrlRuleEngineModels;
 
+  @Nullable private SWRLAPIOntologyStatistics statistics; // Computed on first use after each reset
+
   private boolean hasOntologyChanged = true; // Ensure initial processing
   private boolean eventFreezeMode = false; // When set to true ontology change events are ignored
 
@@ -143,6 +149,7 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
     this.iriResolver = iriResolver;
     this.swrlapiOWLDataFactory = SWRLAPIInternalFactory.createSWRLAPIOWLDataFactory(this.iriResolver);
     this.swrlBuiltInLibraryManager = SWRLAPIInternalFactory.createSWRLBuiltInLibraryManager();
+    this.swrlParseCache = new SWRLParseCache();
 
     this.swrlRules = new HashMap<>();
     this.owlapiRules = new HashMap<>();
@@ -164,10 +171,45 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
   }
 
   @Override public void processOntology() throws SWRLBuiltInException
+  {
+    processOntology(Optional.<@NonNull SWRLAPIOntologySnapshot>empty(),
+      Optional.<@NonNull SWRLAPIOntologySnapshot>empty());
+  }
+
+  /**
+   * Process the ontology, reusing the rule conversions recorded in a snapshot where they still apply. The conversions
+   * of all rules are recorded in the returned snapshot.
+   *
+   * @param snapshot    A snapshot taken from the same source document, if any
+   * @param contentHash The content hash of the source document combined with the axioms of the ontology and its
+   *                    imports closure
+   * @return A snapshot of the processed ontology
+   * @throws SWRLBuiltInException If an error occurs during processing
+   */
+  @NonNull SWRLAPIOntologySnapshot processOntology(@NonNull Optional<@NonNull SWRLAPIOntologySnapshot> snapshot,
+    @NonNull byte[] contentHash) throws SWRLBuiltInException
+  {
+    SWRLAPIOntologySnapshot newSnapshot = new SWRLAPIOntologySnapshot(contentHash, getOWLAxiomCount());
+
+    processOntology(snapshot, Optional.of(newSnapshot));
+
+    return newSnapshot;
+  }
+
+  /**
+   * @return The number of axioms in the ontology and its imports, which identifies the ontology in a snapshot
+   */
+  int getOWLAxiomCount()
+  {
+    return this.ontology.getAxiomCount(Imports.INCLUDED);
+  }
+
+  private void processOntology(@NonNull Optional<@NonNull SWRLAPIOntologySnapshot> snapshot,
+    @NonNull Optional<@NonNull SWRLAPIOntologySnapshot> newSnapshot) throws SWRLBuiltInException
   {
     reset(); // Will reset hasOntologyChanged
     this.iriResolver.updatePrefixes(this.ontology);
-    processSWRLRulesAndSQWRLQueries();
+    processSWRLRulesAndSQWRLQueries(snapshot, newSnapshot);
     processOWLAxioms();
     notifyRegisteredRuleEngineModels();
   }
@@ -188,6 +230,10 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
     this.dataPropertyDeclarationAxioms.clear();
     this.annotationPropertyDeclarationAxioms.clear();
 
+    this.swrlParseCache.invalidate(); // Prefixes and auto-generated prefixed names may change
+
+    this.statistics = null;
+
     this.hasOntologyChanged = false;
   }
 
@@ -284,7 +330,8 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
     return new HashSet<>(this.swrlRules.values());
   }
 
-  private void processSWRLRulesAndSQWRLQueries() throws SWRLBuiltInException
+  private void processSWRLRulesAndSQWRLQueries(@NonNull Optional<@NonNull SWRLAPIOntologySnapshot> snapshot,
+    @NonNull Optional<@NonNull SWRLAPIOntologySnapshot> newSnapshot) throws SWRLBuiltInException
   {
     int ruleNameIndex = 0;
 
@@ -298,7 +345,8 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
       String comment = getRuleComment(owlapiRule);
       String finalRuleName = ruleName.isPresent() ? ruleName.get() : "S" + ++ruleNameIndex;
 
-      SWRLAPIRule swrlapiRule = convertOWLAPIRule2SWRLAPIRule(owlapiRule, finalRuleName, comment, isActive);
+      SWRLAPIRule swrlapiRule = convertOWLAPIRule2SWRLAPIRule(owlapiRule, finalRuleName, comment, isActive, snapshot,
+        newSnapshot);
 
       this.swrlRules.put(finalRuleName, swrlapiRule);
       this.owlapiRules.put(finalRuleName, owlapiRule);
@@ -336,7 +384,7 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
 
   @NonNull @Override public SWRLParser createSWRLParser()
   {
-    return new SWRLParser(this);
+    return new SWRLParser(this, this.swrlParseCache);
   }
 
   @NonNull @Override public SWRLAutoCompleter createSWRLAutoCompleter()
@@ -601,52 +649,194 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
   /**
    * We take an OWLAPI {@link org.semanticweb.owlapi.model.SWRLRule} object and for every OWLAPI
    * {@link org.semanticweb.owlapi.model.SWRLBuiltInAtom} in it we create a SWRLAPI
-   * {@link org.swrlapi.core.SWRLAPIBuiltInAtom}; all other atoms remain the same.
+   * {@link org.swrlapi.core.SWRLAPIBuiltInAtom}; all other atoms remain the same. If a snapshot records the built-in
+   * atoms of an identical rule they are recreated from the recorded prefixed names and argument types, without
+   * resolving built-in names or looking up arguments in the signature of the ontology.
    *
    * @see org.semanticweb.owlapi.model.SWRLRule
    * @see org.swrlapi.core.SWRLAPIRule
    */
   @NonNull private SWRLAPIRule convertOWLAPIRule2SWRLAPIRule(@NonNull SWRLRule owlapiRule, @NonNull String ruleName,
     @NonNull String comment, boolean isActive) throws SWRLBuiltInException
+  {
+    return convertOWLAPIRule2SWRLAPIRule(owlapiRule, ruleName, comment, isActive,
+      Optional.<@NonNull SWRLAPIOntologySnapshot>empty(), Optional.<@NonNull SWRLAPIOntologySnapshot>empty());
+  }
+
+  /**
+   * Convert an OWLAPI rule, reusing and recording built-in atom conversions in the supplied snapshots.
+   *
+   * @see #convertOWLAPIRule2SWRLAPIRule(SWRLRule, String, String, boolean)
+   */
+  @NonNull private SWRLAPIRule convertOWLAPIRule2SWRLAPIRule(@NonNull SWRLRule owlapiRule, @NonNull String ruleName,
+    @NonNull String comment, boolean isActive, @NonNull Optional<@NonNull SWRLAPIOntologySnapshot> snapshot,
+    @NonNull Optional<@NonNull SWRLAPIOntologySnapshot> newSnapshot) throws SWRLBuiltInException
   {
     List<@NonNull SWRLAtom> owlapiBodyAtoms = new ArrayList<>(owlapiRule.getBody());
     List<@NonNull SWRLAtom> owlapiHeadAtoms = new ArrayList<>(owlapiRule.getHead());
-    List<@NonNull SWRLAtom> swrlapiBodyAtoms = new ArrayList<>();
-    List<@NonNull SWRLAtom> swrlapiHeadAtoms = new ArrayList<>();
+    Optional<SWRLAPIOntologySnapshot.@NonNull RuleEntry> ruleEntry = snapshot
+      .flatMap(s -> s.getRuleEntry(ruleName, owlapiRule.hashCode()));
+    Optional<@NonNull List<@NonNull SWRLAtom>> restoredBodyAtoms = ruleEntry
+      .flatMap(e -> restoreSWRLAtoms(ruleName, owlapiBodyAtoms, e.getBodyAtomEntries()));
+    Optional<@NonNull List<@NonNull SWRLAtom>> restoredHeadAtoms = ruleEntry
+      .flatMap(e -> restoreSWRLAtoms(ruleName, owlapiHeadAtoms, e.getHeadAtomEntries()));
+    List<@NonNull SWRLAtom> swrlapiBodyAtoms;
+    List<@NonNull SWRLAtom> swrlapiHeadAtoms;
+
+    if (restoredBodyAtoms.isPresent() && restoredHeadAtoms.isPresent()) {
+      swrlapiBodyAtoms = restoredBodyAtoms.get();
+      swrlapiHeadAtoms = restoredHeadAtoms.get();
+    } else {
+      swrlapiBodyAtoms = convertOWLAPIAtoms2SWRLAPIAtoms(ruleName, owlapiBodyAtoms, true);
+      swrlapiHeadAtoms = convertOWLAPIAtoms2SWRLAPIAtoms(ruleName, owlapiHeadAtoms, false);
+    }
 
-    for (SWRLAtom atom : owlapiBodyAtoms) {
+    if (newSnapshot.isPresent())
+      newSnapshot.get().recordRule(ruleName, owlapiRule.hashCode(), swrlapiBodyAtoms, swrlapiHeadAtoms);
+
+    SWRLAPIRule swrlapiRule = SWRLAPIInternalFactory
+      .createSWRLAPIRule(ruleName, swrlapiBodyAtoms, swrlapiHeadAtoms, comment, isActive);
+
+    if (swrlapiRule instanceof DefaultSWRLAPIRule)
+      ((DefaultSWRLAPIRule)swrlapiRule).orderBodyAtoms(getSWRLAPIOntologyStatistics());
+
+    return swrlapiRule;
+  }
+
+  @NonNull private SWRLAPIOntologyStatistics getSWRLAPIOntologyStatistics()
+  {
+    if (this.statistics == null)
+      this.statistics = SWRLAPIOntologyStatistics.create(this.ontology);
+
+    return this.statistics;
+  }
+
+  @NonNull private List<@NonNull SWRLAtom> convertOWLAPIAtoms2SWRLAPIAtoms(@NonNull String ruleName,
+    @NonNull List<@NonNull SWRLAtom> owlapiAtoms, boolean isBody) throws SWRLBuiltInException
+  {
+    List<@NonNull SWRLAtom> swrlapiAtoms = new ArrayList<>();
+
+    for (SWRLAtom atom : owlapiAtoms) {
       if (isSWRLBuiltInAtom(atom)) {
         SWRLBuiltInAtom builtInAtom = (SWRLBuiltInAtom)atom;
         IRI builtInIRI = builtInAtom.getPredicate();
-        Optional<String> knownBuiltInPrefixedName = this.swrlBuiltInLibraryManager
-          .swrlBuiltInIRI2PrefixedName(builtInIRI);
         // Even if we do not have an implementation for a built-in we must process it
-        String builtInPrefixedName = knownBuiltInPrefixedName.orElseGet(() -> iri2PrefixedName(builtInIRI));
+        String builtInPrefixedName = isBody ?
+          this.swrlBuiltInLibraryManager.swrlBuiltInIRI2PrefixedName(builtInIRI)
+            .orElseGet(() -> iri2PrefixedName(builtInIRI)) :
+          iri2PrefixedName(builtInIRI);
         List<@NonNull SWRLDArgument> swrlDArguments = builtInAtom.getArguments();
         List<@NonNull SWRLBuiltInArgument> swrlBuiltInArguments = convertSWRLDArguments2SWRLBuiltInArguments(
           swrlDArguments);
         SWRLBuiltInAtom swrlapiBuiltInAtom = getSWRLAPIOWLDataFactory()
           .getSWRLAPIBuiltInAtom(ruleName, builtInIRI, builtInPrefixedName, swrlBuiltInArguments);
-        swrlapiBodyAtoms.add(swrlapiBuiltInAtom);
+        swrlapiAtoms.add(swrlapiBuiltInAtom);
       } else
-        swrlapiBodyAtoms.add(atom); // Only built-in atoms are converted; other atoms remain the same
+        swrlapiAtoms.add(atom); // Only built-in atoms are converted; other atoms remain the same
     }
+    return swrlapiAtoms;
+  }
+
+  /**
+   * Recreate the converted atoms of a rule from its snapshot entries. Each built-in argument is created with its
+   * recorded type.
+   *
+   * @return The converted atoms, or empty if the entries do not match the atoms
+   */
+  @NonNull private Optional<@NonNull List<@NonNull SWRLAtom>> restoreSWRLAtoms(@NonNull String ruleName,
+    @NonNull List<@NonNull SWRLAtom> owlapiAtoms,
+    @NonNull List<@NonNull Optional<SWRLAPIOntologySnapshot.@NonNull BuiltInAtomEntry>> atomEntries)
+  {
+    if (owlapiAtoms.size() != atomEntries.size())
+      return Optional.<@NonNull List<@NonNull SWRLAtom>>empty();
+
+    List<@NonNull SWRLAtom> swrlapiAtoms = new ArrayList<>(owlapiAtoms.size());
+
+    for (int atomIndex = 0; atomIndex < owlapiAtoms.size(); atomIndex++) {
+      SWRLAtom atom = owlapiAtoms.get(atomIndex);
+      Optional<SWRLAPIOntologySnapshot.@NonNull BuiltInAtomEntry> atomEntry = atomEntries.get(atomIndex);
+
+      if (!atomEntry.isPresent()) {
+        if (isSWRLBuiltInAtom(atom))
+          return Optional.<@NonNull List<@NonNull SWRLAtom>>empty();
+        swrlapiAtoms.add(atom);
+      } else {
+        if (!(atom instanceof SWRLBuiltInAtom))
+          return Optional.<@NonNull List<@NonNull SWRLAtom>>empty();
 
-    for (SWRLAtom atom : owlapiHeadAtoms) {
-      if (isSWRLBuiltInAtom(atom)) {
         SWRLBuiltInAtom builtInAtom = (SWRLBuiltInAtom)atom;
         IRI builtInIRI = builtInAtom.getPredicate();
-        String builtInPrefixedName = iri2PrefixedName(builtInIRI);
         List<@NonNull SWRLDArgument> swrlDArguments = builtInAtom.getArguments();
-        List<@NonNull SWRLBuiltInArgument> swrlBuiltInArguments = convertSWRLDArguments2SWRLBuiltInArguments(
-          swrlDArguments);
-        SWRLBuiltInAtom swrlapiBuiltInAtom = getSWRLAPIOWLDataFactory()
-          .getSWRLAPIBuiltInAtom(ruleName, builtInIRI, builtInPrefixedName, swrlBuiltInArguments);
-        swrlapiHeadAtoms.add(swrlapiBuiltInAtom);
-      } else
-        swrlapiHeadAtoms.add(atom); // Only built-in atoms are converted; other atoms remain the same
+
+        if (!builtInIRI.toString().equals(atomEntry.get().getBuiltInIRI())
+          || swrlDArguments.size() != atomEntry.get().getNumberOfArguments())
+          return Optional.<@NonNull List<@NonNull SWRLAtom>>empty();
+
+        List<@NonNull SWRLBuiltInArgument> swrlBuiltInArguments = new ArrayList<>(swrlDArguments.size());
+        for (int argumentNumber = 0; argumentNumber < swrlDArguments.size(); argumentNumber++) {
+          Optional<@NonNull SWRLBuiltInArgument> swrlBuiltInArgument = restoreSWRLBuiltInArgument(
+            swrlDArguments.get(argumentNumber), atomEntry.get().getArgumentType(argumentNumber));
+          if (!swrlBuiltInArgument.isPresent())
+            return Optional.<@NonNull List<@NonNull SWRLAtom>>empty();
+          swrlBuiltInArguments.add(swrlBuiltInArgument.get());
+        }
+        swrlapiAtoms.add(getSWRLAPIOWLDataFactory()
+          .getSWRLAPIBuiltInAtom(ruleName, builtInIRI, atomEntry.get().getBuiltInPrefixedName(),
+            swrlBuiltInArguments));
+      }
     }
-    return SWRLAPIInternalFactory.createSWRLAPIRule(ruleName, swrlapiBodyAtoms, swrlapiHeadAtoms, comment, isActive);
+    return Optional.of(swrlapiAtoms);
+  }
+
+  /**
+   * Create a built-in argument of a type recorded in a snapshot. A snapshot is only used for an ontology whose content
+   * hash covers the same axioms in the ontology and its imports (see {@link SWRLAPIOntologySnapshot}), so conversion
+   * would produce the recorded type and the signature is not consulted. Only the types produced by
+   * {@link #convertSWRLDArgument2SWRLBuiltInArgument(SWRLDArgument)} are recreated.
+   */
+  @NonNull private Optional<@NonNull SWRLBuiltInArgument> restoreSWRLBuiltInArgument(
+    @NonNull SWRLDArgument swrlDArgument, @NonNull Optional<@NonNull SWRLBuiltInArgumentType<?>> argumentType)
+  {
+    if (!argumentType.isPresent())
+      return Optional.<@NonNull SWRLBuiltInArgument>empty();
+
+    IRI iri;
+    if (swrlDArgument instanceof SWRLVariable)
+      iri = ((SWRLVariable)swrlDArgument).getIRI();
+    else if (swrlDArgument instanceof SWRLLiteralArgument) {
+      OWLLiteral literal = ((SWRLLiteralArgument)swrlDArgument).getLiteral();
+      if (argumentType.get() == SWRLBuiltInArgumentType.LITERAL)
+        return Optional.of(getSWRLBuiltInArgumentFactory().getLiteralBuiltInArgument(literal));
+      else if (!isURI(literal.getDatatype()))
+        return Optional.<@NonNull SWRLBuiltInArgument>empty();
+      iri = IRI.create(literal.getLiteral());
+    } else
+      return Optional.<@NonNull SWRLBuiltInArgument>empty();
+
+    if (argumentType.get() == SWRLBuiltInArgumentType.VARIABLE)
+      return swrlDArgument instanceof SWRLVariable ?
+        Optional.of(getSWRLBuiltInArgumentFactory().getVariableBuiltInArgument(iri)) :
+        Optional.<@NonNull SWRLBuiltInArgument>empty();
+    else if (argumentType.get() == SWRLBuiltInArgumentType.CLASS)
+      return Optional.of(getSWRLBuiltInArgumentFactory()
+        .getCanonicalClassBuiltInArgument(getOWLDataFactory().getOWLClass(iri)));
+    else if (argumentType.get() == SWRLBuiltInArgumentType.NAMED_INDIVIDUAL)
+      return Optional.of(getSWRLBuiltInArgumentFactory()
+        .getCanonicalNamedIndividualBuiltInArgument(getOWLDataFactory().getOWLNamedIndividual(iri)));
+    else if (argumentType.get() == SWRLBuiltInArgumentType.OBJECT_PROPERTY)
+      return Optional.of(getSWRLBuiltInArgumentFactory()
+        .getCanonicalObjectPropertyBuiltInArgument(getOWLDataFactory().getOWLObjectProperty(iri)));
+    else if (argumentType.get() == SWRLBuiltInArgumentType.DATA_PROPERTY)
+      return Optional.of(getSWRLBuiltInArgumentFactory()
+        .getCanonicalDataPropertyBuiltInArgument(getOWLDataFactory().getOWLDataProperty(iri)));
+    else if (argumentType.get() == SWRLBuiltInArgumentType.ANNOTATION_PROPERTY)
+      return Optional.of(getSWRLBuiltInArgumentFactory()
+        .getCanonicalAnnotationPropertyBuiltInArgument(getOWLDataFactory().getOWLAnnotationProperty(iri)));
+    else if (argumentType.get() == SWRLBuiltInArgumentType.DATATYPE)
+      return Optional.of(getSWRLBuiltInArgumentFactory()
+        .getCanonicalDatatypeBuiltInArgument(getOWLDataFactory().getOWLDatatype(iri)));
+    else
+      return Optional.<@NonNull SWRLBuiltInArgument>empty();
   }
 
   /**
@@ -714,27 +904,27 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
     if (isOWLClass(iri)) {
       OWLClass cls = getOWLDataFactory().getOWLClass(iri);
 
-      return getSWRLBuiltInArgumentFactory().getClassBuiltInArgument(cls);
+      return getSWRLBuiltInArgumentFactory().getCanonicalClassBuiltInArgument(cls);
     } else if (getOWLOntology().containsIndividualInSignature(iri, Imports.INCLUDED)) {
       OWLNamedIndividual individual = getOWLDataFactory().getOWLNamedIndividual(iri);
 
-      return getSWRLBuiltInArgumentFactory().getNamedIndividualBuiltInArgument(individual);
+      return getSWRLBuiltInArgumentFactory().getCanonicalNamedIndividualBuiltInArgument(individual);
     } else if (getOWLOntology().containsObjectPropertyInSignature(iri, Imports.INCLUDED)) {
       OWLObjectProperty property = getOWLDataFactory().getOWLObjectProperty(iri);
 
-      return getSWRLBuiltInArgumentFactory().getObjectPropertyBuiltInArgument(property);
+      return getSWRLBuiltInArgumentFactory().getCanonicalObjectPropertyBuiltInArgument(property);
     } else if (getOWLOntology().containsDataPropertyInSignature(iri, Imports.INCLUDED)) {
       OWLDataProperty property = getOWLDataFactory().getOWLDataProperty(iri);
 
-      return getSWRLBuiltInArgumentFactory().getDataPropertyBuiltInArgument(property);
+      return getSWRLBuiltInArgumentFactory().getCanonicalDataPropertyBuiltInArgument(property);
     } else if (getOWLOntology().containsAnnotationPropertyInSignature(iri, Imports.INCLUDED)) {
       OWLAnnotationProperty property = getOWLDataFactory().getOWLAnnotationProperty(iri);
 
-      return getSWRLBuiltInArgumentFactory().getAnnotationPropertyBuiltInArgument(property);
+      return getSWRLBuiltInArgumentFactory().getCanonicalAnnotationPropertyBuiltInArgument(property);
     } else if (getOWLOntology().containsDatatypeInSignature(iri, Imports.INCLUDED)) {
       OWLDatatype datatype = getOWLDataFactory().getOWLDatatype(iri);
 
-      return getSWRLBuiltInArgumentFactory().getDatatypeBuiltInArgument(datatype);
+      return getSWRLBuiltInArgumentFactory().getCanonicalDatatypeBuiltInArgument(datatype);
     } else {
       IRI variableIRI = swrlVariable.getIRI();
       SWRLVariableBuiltInArgument argument = getSWRLBuiltInArgumentFactory().getVariableBuiltInArgument(variableIRI);
@@ -782,22 +972,22 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
       IRI iri = IRI.create(literal.getLiteral());
       if (isOWLClass(iri)) {
         OWLClass cls = getOWLDataFactory().getOWLClass(iri);
-        return getSWRLBuiltInArgumentFactory().getClassBuiltInArgument(cls);
+        return getSWRLBuiltInArgumentFactory().getCanonicalClassBuiltInArgument(cls);
       } else if (getOWLOntology().containsIndividualInSignature(iri)) {
         OWLNamedIndividual individual = getOWLDataFactory().getOWLNamedIndividual(iri);
-        return getSWRLBuiltInArgumentFactory().getNamedIndividualBuiltInArgument(individual);
+        return getSWRLBuiltInArgumentFactory().getCanonicalNamedIndividualBuiltInArgument(individual);
       } else if (getOWLOntology().containsObjectPropertyInSignature(iri)) {
         OWLObjectProperty property = getOWLDataFactory().getOWLObjectProperty(iri);
-        return getSWRLBuiltInArgumentFactory().getObjectPropertyBuiltInArgument(property);
+        return getSWRLBuiltInArgumentFactory().getCanonicalObjectPropertyBuiltInArgument(property);
       } else if (getOWLOntology().containsDataPropertyInSignature(iri)) {
         OWLDataProperty property = getOWLDataFactory().getOWLDataProperty(iri);
-        return getSWRLBuiltInArgumentFactory().getDataPropertyBuiltInArgument(property);
+        return getSWRLBuiltInArgumentFactory().getCanonicalDataPropertyBuiltInArgument(property);
       } else if (getOWLOntology().containsAnnotationPropertyInSignature(iri)) {
         OWLAnnotationProperty property = getOWLDataFactory().getOWLAnnotationProperty(iri);
-        return getSWRLBuiltInArgumentFactory().getAnnotationPropertyBuiltInArgument(property);
+        return getSWRLBuiltInArgumentFactory().getCanonicalAnnotationPropertyBuiltInArgument(property);
       } else if (getOWLOntology().containsDatatypeInSignature(iri)) {
         OWLDatatype datatype = getOWLDataFactory().getOWLDatatype(iri);
-        return getSWRLBuiltInArgumentFactory().getDatatypeBuiltInArgument(datatype);
+        return getSWRLBuiltInArgumentFactory().getCanonicalDatatypeBuiltInArgument(datatype);
       } else {
         return getSWRLBuiltInArgumentFactory().getLiteralBuiltInArgument(literal);
       }
@@ -1427,6 +1617,7 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
   @Override public void ontologiesChanged(@Nonnull List<? extends OWLOntologyChange> list) throws OWLException
   {
     this.hasOntologyChanged = true;
+    this.swrlParseCache.invalidate();
 
     if (!eventFreezeMode) {
       try {
@@ -5,7 +5,6 @@ import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.SWRLArgument;
 import org.semanticweb.owlapi.model.SWRLAtom;
 import org.semanticweb.owlapi.model.SWRLBuiltInAtom;
-import org.semanticweb.owlapi.model.SWRLClassAtom;
 import org.semanticweb.owlapi.model.SWRLVariable;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
 import org.swrlapi.core.SWRLAPIBuiltInAtom;
@@ -29,6 +28,7 @@ public class DefaultSWRLAPIRule extends SWRLRuleImpl implements SWRLAPIRule
   @NonNull private final String comment;
   @NonNull private final List<@NonNull SWRLAtom> bodyAtoms;
   @NonNull private final List<@NonNull SWRLAtom> headAtoms;
+  @NonNull private List<@NonNull SWRLAtom> bodyAtomsInEvaluationOrder;
   @NonNull private boolean active;
 
   public DefaultSWRLAPIRule(@NonNull String ruleName, @NonNull List<? extends @NonNull SWRLAtom> bodyAtoms,
@@ -41,6 +41,7 @@ public class DefaultSWRLAPIRule extends SWRLRuleImpl implements SWRLAPIRule
     this.comment = comment;
     this.bodyAtoms = new ArrayList<>(bodyAtoms);
     this.headAtoms = new ArrayList<>(headAtoms);
+    this.bodyAtomsInEvaluationOrder = this.bodyAtoms;
     processBodyAtoms(bodyAtoms);
   }
 
@@ -80,6 +81,20 @@ public class DefaultSWRLAPIRule extends SWRLRuleImpl implements SWRLAPIRule
     return this.bodyAtoms;
   }
 
+  @NonNull @Override public List<@NonNull SWRLAtom> getBodyAtomsInEvaluationOrder()
+  {
+    return this.bodyAtomsInEvaluationOrder;
+  }
+
+  /**
+   * Order the body atoms for evaluation using the cardinality statistics of the rule's ontology. Must be called after
+   * {@link #processBodyAtoms(List)} has determined which built-in arguments are unbound.
+   */
+  void orderBodyAtoms(@NonNull SWRLAPIOntologyStatistics statistics)
+  {
+    this.bodyAtomsInEvaluationOrder = new SWRLRuleBodyAtomOrderer(statistics).order(this.bodyAtoms);
+  }
+
   @NonNull @Override public List<@NonNull SWRLAtom> getNonBuiltInAtomsFromBody()
   {
     return getNonBuiltInAtoms(getBodyAtoms());
@@ -158,29 +173,6 @@ public class DefaultSWRLAPIRule extends SWRLRuleImpl implements SWRLAPIRule
     }
   }
 
-  /**
-   * Reorganize body non-built atoms so that class atoms appear firsts, followed by other atom types.
-   */
-  @NonNull private static List<@NonNull SWRLAtom> reorganizeBodyNonBuiltInAtoms(
-    @NonNull List<@NonNull SWRLAtom> bodyNonBuiltInAtoms)
-  {
-    List<@NonNull SWRLAtom> bodyClassAtoms = new ArrayList<>();
-    List<@NonNull SWRLAtom> bodyNonClassNonBuiltInAtoms = new ArrayList<>();
-    List<@NonNull SWRLAtom> result = new ArrayList<>();
-
-    for (SWRLAtom atom : bodyNonBuiltInAtoms) {
-      if (atom instanceof SWRLClassAtom)
-        bodyClassAtoms.add(atom);
-      else
-        bodyNonClassNonBuiltInAtoms.add(atom);
-    }
-
-    result.addAll(bodyClassAtoms); // We arrange the class atoms first
-    result.addAll(bodyNonClassNonBuiltInAtoms); // Followed by other non built-in atoms
-
-    return result;
-  }
-
   @NonNull private List<@NonNull SWRLAPIBuiltInAtom> getBuiltInAtoms(@NonNull List<@NonNull SWRLAtom> atoms)
   {
     List<@NonNull SWRLAPIBuiltInAtom> result = new ArrayList<>();
@@ -18,6 +18,12 @@ class DefaultSWRLAnnotationPropertyBuiltInArgument extends DefaultSWRLNamedBuilt
     super(property);
   }
 
+  DefaultSWRLAnnotationPropertyBuiltInArgument(@NonNull OWLAnnotationProperty property,
+    @NonNull SWRLBuiltInArgumentTable table, int entityID)
+  {
+    super(property, table, entityID);
+  }
+
   @NonNull @Override public SWRLBuiltInArgumentType<?> getSWRLBuiltInArgumentType()
   {
     return SWRLBuiltInArgumentType.ANNOTATION_PROPERTY;
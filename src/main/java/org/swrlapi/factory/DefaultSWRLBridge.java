@@ -9,6 +9,9 @@ import org.semanticweb.owlapi.model.parameters.Imports;
 import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
 import org.swrlapi.bridge.SWRLBridge;
 import org.swrlapi.bridge.TargetSWRLRuleEngine;
+import org.swrlapi.builtins.SWRLBuiltInArgumentBlock;
+import org.swrlapi.builtins.SWRLBuiltInArgumentPatternIterator;
+import org.swrlapi.builtins.SWRLBuiltInBatchResult;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
 import org.swrlapi.core.IRIResolver;
 import org.swrlapi.core.SWRLAPIOWLOntology;
@@ -150,6 +153,22 @@ public class DefaultSWRLBridge implements SWRLBridge
       .invokeSWRLBuiltIn(this, ruleName, builtInName, builtInIndex, isInConsequent, arguments);
   }
 
+  @NonNull @Override public SWRLBuiltInArgumentPatternIterator invokeSWRLBuiltInLazily(@NonNull String ruleName,
+    @NonNull String builtInName, int builtInIndex, boolean isInConsequent,
+    @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
+  {
+    return this.swrlapiOWLOntology.getSWRLBuiltInLibraryManager()
+      .invokeSWRLBuiltInLazily(this, ruleName, builtInName, builtInIndex, isInConsequent, arguments);
+  }
+
+  @NonNull @Override public SWRLBuiltInBatchResult invokeSWRLBuiltInBatch(@NonNull String ruleName,
+    @NonNull String builtInName, int builtInIndex, boolean isInConsequent, @NonNull SWRLBuiltInArgumentBlock block)
+    throws SWRLBuiltInException
+  {
+    return this.swrlapiOWLOntology.getSWRLBuiltInLibraryManager()
+      .invokeSWRLBuiltInBatch(this, ruleName, builtInName, builtInIndex, isInConsequent, block);
+  }
+
   public boolean isOWLClass(@NonNull IRI iri)
   {
     return getOWLOntology().containsClassInSignature(iri, Imports.INCLUDED) || iri
@@ -25,6 +25,7 @@ import org.swrlapi.builtins.arguments.SWRLClassExpressionBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLDataPropertyBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLDataPropertyExpressionBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLDatatypeBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLListBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLLiteralBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLMultiValueVariableBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLNamedBuiltInArgument;
@@ -149,6 +150,11 @@ abstract class DefaultSWRLBuiltInArgument implements SWRLBuiltInArgument
     throw new SWRLBuiltInException(getClass().getName() + " is not an " + SWRLDatatypeBuiltInArgument.class.getName());
   }
 
+  @NonNull @Override public SWRLListBuiltInArgument asSWRLListBuiltInArgument() throws SWRLBuiltInException
+  {
+    throw new SWRLBuiltInException(getClass().getName() + " is not an " + SWRLListBuiltInArgument.class.getName());
+  }
+
   @NonNull @Override public SWRLAnnotationPropertyBuiltInArgument asSWRLAnnotationPropertyBuiltInArgument()
     throws SWRLBuiltInException
   {
@@ -15,11 +15,13 @@ import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
 import org.swrlapi.builtins.arguments.SQWRLCollectionVariableBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLAnnotationPropertyBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgumentList;
 import org.swrlapi.builtins.arguments.SWRLClassBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLClassExpressionBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLDataPropertyBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLDataPropertyExpressionBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLDatatypeBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLListBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLLiteralBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLMultiValueVariableBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLNamedIndividualBuiltInArgument;
@@ -42,11 +44,13 @@ class DefaultSWRLBuiltInArgumentFactory implements SWRLBuiltInArgumentFactory
 {
   @NonNull private final IRIResolver iriResolver;
   @NonNull private final OWLLiteralFactory owlLiteralFactory;
+  @NonNull private final SWRLBuiltInArgumentTable argumentTable;
 
   public DefaultSWRLBuiltInArgumentFactory(@NonNull IRIResolver iriResolver)
   {
     this.iriResolver = iriResolver;
     this.owlLiteralFactory = SWRLAPIInternalFactory.createOWLLiteralFactory();
+    this.argumentTable = new SWRLBuiltInArgumentTable();
   }
 
   @NonNull @Override public SWRLVariableBuiltInArgument getUnboundVariableBuiltInArgument(@NonNull IRI variableIRI)
@@ -74,6 +78,11 @@ class DefaultSWRLBuiltInArgumentFactory implements SWRLBuiltInArgumentFactory
       return new DefaultSWRLClassBuiltInArgument(ce.asOWLClass());
   }
 
+  @NonNull @Override public SWRLListBuiltInArgument getListBuiltInArgument(@NonNull SWRLBuiltInArgumentList list)
+  {
+    return new DefaultSWRLListBuiltInArgument(list);
+  }
+
   @NonNull @Override public SWRLObjectPropertyBuiltInArgument getObjectPropertyBuiltInArgument(
     @NonNull OWLObjectProperty property)
   {
@@ -121,6 +130,47 @@ class DefaultSWRLBuiltInArgumentFactory implements SWRLBuiltInArgumentFactory
     return new DefaultSWRLNamedIndividualBuiltInArgument(individual);
   }
 
+  @NonNull @Override public SWRLClassBuiltInArgument getCanonicalClassBuiltInArgument(@NonNull OWLClass cls)
+  {
+    return this.argumentTable.intern(cls, DefaultSWRLClassBuiltInArgument.class,
+      id -> new DefaultSWRLClassBuiltInArgument(cls, this.argumentTable, id));
+  }
+
+  @NonNull @Override public SWRLNamedIndividualBuiltInArgument getCanonicalNamedIndividualBuiltInArgument(
+    @NonNull OWLNamedIndividual individual)
+  {
+    return this.argumentTable.intern(individual, DefaultSWRLNamedIndividualBuiltInArgument.class,
+      id -> new DefaultSWRLNamedIndividualBuiltInArgument(individual, this.argumentTable, id));
+  }
+
+  @NonNull @Override public SWRLObjectPropertyBuiltInArgument getCanonicalObjectPropertyBuiltInArgument(
+    @NonNull OWLObjectProperty property)
+  {
+    return this.argumentTable.intern(property, DefaultSWRLObjectPropertyBuiltInArgument.class,
+      id -> new DefaultSWRLObjectPropertyBuiltInArgument(property, this.argumentTable, id));
+  }
+
+  @NonNull @Override public SWRLDataPropertyBuiltInArgument getCanonicalDataPropertyBuiltInArgument(
+    @NonNull OWLDataProperty property)
+  {
+    return this.argumentTable.intern(property, DefaultSWRLDataPropertyBuiltInArgument.class,
+      id -> new DefaultSWRLDataPropertyBuiltInArgument(property, this.argumentTable, id));
+  }
+
+  @NonNull @Override public SWRLAnnotationPropertyBuiltInArgument getCanonicalAnnotationPropertyBuiltInArgument(
+    @NonNull OWLAnnotationProperty property)
+  {
+    return this.argumentTable.intern(property, DefaultSWRLAnnotationPropertyBuiltInArgument.class,
+      id -> new DefaultSWRLAnnotationPropertyBuiltInArgument(property, this.argumentTable, id));
+  }
+
+  @NonNull @Override public SWRLDatatypeBuiltInArgument getCanonicalDatatypeBuiltInArgument(
+    @NonNull OWLDatatype datatype)
+  {
+    return this.argumentTable.intern(datatype, DefaultSWRLDatatypeBuiltInArgument.class,
+      id -> new DefaultSWRLDatatypeBuiltInArgument(datatype, this.argumentTable, id));
+  }
+
   @NonNull @Override public SWRLLiteralBuiltInArgument getLiteralBuiltInArgument(@NonNull OWLLiteral literal)
   {
     return new DefaultSWRLLiteralBuiltInArgument(literal);
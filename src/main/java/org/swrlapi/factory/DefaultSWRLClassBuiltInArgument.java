@@ -19,6 +19,11 @@ class DefaultSWRLClassBuiltInArgument extends DefaultSWRLNamedBuiltInArgument im
     super(cls);
   }
 
+  DefaultSWRLClassBuiltInArgument(@NonNull OWLClass cls, @NonNull SWRLBuiltInArgumentTable table, int entityID)
+  {
+    super(cls, table, entityID);
+  }
+
   @NonNull @Override public OWLClass getOWLClass()
   {
     return getOWLEntity().asOWLClass();
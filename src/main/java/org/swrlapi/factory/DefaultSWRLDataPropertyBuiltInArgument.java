@@ -19,6 +19,12 @@ class DefaultSWRLDataPropertyBuiltInArgument extends DefaultSWRLNamedBuiltInArgu
     super(property);
   }
 
+  DefaultSWRLDataPropertyBuiltInArgument(@NonNull OWLDataProperty property,
+    @NonNull SWRLBuiltInArgumentTable table, int entityID)
+  {
+    super(property, table, entityID);
+  }
+
   @NonNull @Override public SWRLBuiltInArgumentType<?> getSWRLBuiltInArgumentType()
   {
     return SWRLBuiltInArgumentType.DATA_PROPERTY;
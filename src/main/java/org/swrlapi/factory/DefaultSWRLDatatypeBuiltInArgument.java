@@ -17,6 +17,12 @@ class DefaultSWRLDatatypeBuiltInArgument extends DefaultSWRLNamedBuiltInArgument
     super(datatype);
   }
 
+  DefaultSWRLDatatypeBuiltInArgument(@NonNull OWLDatatype datatype,
+    @NonNull SWRLBuiltInArgumentTable table, int entityID)
+  {
+    super(datatype, table, entityID);
+  }
+
   @NonNull @Override public SWRLBuiltInArgumentType<?> getSWRLBuiltInArgumentType()
   {
     return SWRLBuiltInArgumentType.DATATYPE;
@@ -0,0 +1,71 @@
+package org.swrlapi.factory;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.dataflow.qual.Deterministic;
+import org.checkerframework.dataflow.qual.SideEffectFree;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgumentList;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgumentType;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgumentVisitor;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgumentVisitorEx;
+import org.swrlapi.builtins.arguments.SWRLListBuiltInArgument;
+import org.swrlapi.exceptions.SWRLBuiltInException;
+
+class DefaultSWRLListBuiltInArgument extends DefaultSWRLBuiltInArgument implements SWRLListBuiltInArgument
+{
+  private static final long serialVersionUID = 1L;
+
+  @NonNull private final SWRLBuiltInArgumentList list;
+
+  public DefaultSWRLListBuiltInArgument(@NonNull SWRLBuiltInArgumentList list)
+  {
+    this.list = list;
+  }
+
+  @NonNull @Override public SWRLBuiltInArgumentType<?> getSWRLBuiltInArgumentType()
+  {
+    return SWRLBuiltInArgumentType.LIST;
+  }
+
+  @NonNull @Override public SWRLBuiltInArgumentList getList()
+  {
+    return this.list;
+  }
+
+  @NonNull @Override public SWRLListBuiltInArgument asSWRLListBuiltInArgument() throws SWRLBuiltInException
+  {
+    return this;
+  }
+
+  @SideEffectFree @Deterministic @Override public boolean equals(@Nullable Object o)
+  {
+    if (this == o)
+      return true;
+    if (o == null || getClass() != o.getClass())
+      return false;
+
+    DefaultSWRLListBuiltInArgument that = (DefaultSWRLListBuiltInArgument)o;
+
+    return this.list.equals(that.list);
+  }
+
+  @SideEffectFree @Deterministic @Override public int hashCode()
+  {
+    return this.list.hashCode();
+  }
+
+  @NonNull @Override public <@NonNull T> T accept(@NonNull SWRLBuiltInArgumentVisitorEx<@NonNull T> visitor)
+  {
+    return visitor.visit(this);
+  }
+
+  @Override public void accept(@NonNull SWRLBuiltInArgumentVisitor visitor)
+  {
+    visitor.visit(this);
+  }
+
+  @NonNull @SideEffectFree @Override public String toString()
+  {
+    return this.list.toString();
+  }
+}
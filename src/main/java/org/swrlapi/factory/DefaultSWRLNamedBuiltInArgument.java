@@ -13,6 +13,7 @@ import org.semanticweb.owlapi.model.OWLObjectVisitorEx;
 import org.semanticweb.owlapi.model.SWRLObjectVisitor;
 import org.semanticweb.owlapi.model.SWRLObjectVisitorEx;
 import org.swrlapi.builtins.arguments.SWRLNamedBuiltInArgument;
+import org.swrlapi.exceptions.SWRLAPIException;
 
 import java.util.Collections;
 import java.util.Objects;
@@ -22,11 +23,29 @@ abstract class DefaultSWRLNamedBuiltInArgument extends DefaultSWRLBuiltInArgumen
 {
   private static final long serialVersionUID = 1L;
 
+  private static final int NO_ENTITY_ID = -1;
+
   @NonNull private final OWLEntity entity;
+  @Nullable private final transient SWRLBuiltInArgumentTable table;
+  private final int entityID;
 
   protected DefaultSWRLNamedBuiltInArgument(@NonNull OWLEntity entity)
   {
     this.entity = entity;
+    this.table = null;
+    this.entityID = NO_ENTITY_ID;
+  }
+
+  /**
+   * Creates the canonical argument for an entity in a {@link SWRLBuiltInArgumentTable}. Canonical arguments are shared
+   * so cannot record a bound variable name.
+   */
+  protected DefaultSWRLNamedBuiltInArgument(@NonNull OWLEntity entity, @NonNull SWRLBuiltInArgumentTable table,
+    int entityID)
+  {
+    this.entity = entity;
+    this.table = table;
+    this.entityID = entityID;
   }
 
   @NonNull OWLEntity getOWLEntity()
@@ -34,6 +53,25 @@ abstract class DefaultSWRLNamedBuiltInArgument extends DefaultSWRLBuiltInArgumen
     return this.entity;
   }
 
+  boolean isCanonical()
+  {
+    return this.table != null;
+  }
+
+  int getEntityID()
+  {
+    return this.entityID;
+  }
+
+  @Override public void setBoundVariableName(@NonNull String boundVariableName)
+  {
+    if (isCanonical())
+      throw new SWRLAPIException("canonical built-in argument " + this.entity.getIRI()
+        + " is shared and cannot be bound to variable " + boundVariableName);
+
+    super.setBoundVariableName(boundVariableName);
+  }
+
   @NonNull @Override public IRI getIRI()
   {
     return this.entity.getIRI();
@@ -68,8 +106,10 @@ abstract class DefaultSWRLNamedBuiltInArgument extends DefaultSWRLBuiltInArgumen
 
     DefaultSWRLNamedBuiltInArgument that = (DefaultSWRLNamedBuiltInArgument)o;
 
-    return Objects.equals(entity, that.entity);
-
+    if (this.table != null && this.table == that.table)
+      return this.entityID == that.entityID;
+    else
+      return Objects.equals(entity, that.entity);
   }
 
   @SideEffectFree @Deterministic @Override public int hashCode()
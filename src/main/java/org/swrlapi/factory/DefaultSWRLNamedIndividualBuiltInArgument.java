@@ -18,6 +18,12 @@ class DefaultSWRLNamedIndividualBuiltInArgument extends DefaultSWRLNamedBuiltInA
     super(individual);
   }
 
+  DefaultSWRLNamedIndividualBuiltInArgument(@NonNull OWLNamedIndividual individual,
+    @NonNull SWRLBuiltInArgumentTable table, int entityID)
+  {
+    super(individual, table, entityID);
+  }
+
   @NonNull @Override public SWRLBuiltInArgumentType<?> getSWRLBuiltInArgumentType()
   {
     return SWRLBuiltInArgumentType.NAMED_INDIVIDUAL;
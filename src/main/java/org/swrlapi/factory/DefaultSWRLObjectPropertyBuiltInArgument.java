@@ -19,6 +19,12 @@ class DefaultSWRLObjectPropertyBuiltInArgument extends DefaultSWRLNamedBuiltInAr
     super(property);
   }
 
+  DefaultSWRLObjectPropertyBuiltInArgument(@NonNull OWLObjectProperty property,
+    @NonNull SWRLBuiltInArgumentTable table, int entityID)
+  {
+    super(property, table, entityID);
+  }
+
   @NonNull @Override public SWRLBuiltInArgumentType<?> getSWRLBuiltInArgumentType()
   {
     return SWRLBuiltInArgumentType.OBJECT_PROPERTY;
@@ -1,12 +1,17 @@
 package org.swrlapi.factory;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.apibinding.OWLManager;
 import org.semanticweb.owlapi.model.AddAxiom;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.RemoveAxiom;
+import org.semanticweb.owlapi.model.SWRLRule;
+import org.semanticweb.owlapi.model.parameters.Imports;
 import org.semanticweb.owlapi.reasoner.OWLReasoner;
 import org.swrlapi.bridge.SWRLRuleEngineBridgeController;
 import org.swrlapi.bridge.TargetSWRLRuleEngine;
@@ -21,6 +26,7 @@ import org.swrlapi.exceptions.SWRLRuleEngineException;
 import org.swrlapi.exceptions.SWRLRuleException;
 import org.swrlapi.exceptions.TargetSWRLRuleEngineException;
 import org.swrlapi.owl2rl.OWL2RLEngine;
+import org.swrlapi.owl2rl.OWL2RLNames.OWL2RLRule;
 import org.swrlapi.parser.SWRLParseException;
 import org.swrlapi.parser.SWRLParser;
 import org.swrlapi.sqwrl.SQWRLQuery;
@@ -32,14 +38,44 @@ import org.swrlapi.ui.model.SWRLAutoCompleter;
 
 import javax.swing.*;
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * This class provides an implementation of some of the core functionality required by a SWRL rule engine.
+ * <p>
+ * After a first call to {@link #infer()}, later calls only export and run the rules whose inputs may have changed.
+ * The asserted axioms are compared with those seen by the previous call, together with the axioms it wrote back to
+ * the ontology. If only class, object property and data property assertions were added, a
+ * {@link SWRLRuleDependencyGraph} selects the rules that read an affected predicate, and only those rules, the schema
+ * axioms and the assertions of the predicates they need are exported. Rules are monotonic and the earlier inferences
+ * are already in the ontology, so the remaining rules would infer nothing new. Any other change, such as an added or
+ * removed rule or schema axiom or a rule that was activated or deactivated, leads to a full export.
+ * <p>
+ * The results of {@link #runSQWRLQuery(String)} are kept in a {@link SQWRLResultCache}. A query is only run again if
+ * the ontology changed in a way that may affect its result or if the activation state of the rules changed;
+ * otherwise the caller gets a read-only view of the previous result. The cache listens for ontology changes until the
+ * engine is closed.
+ * <p>
+ * {@link #runSQWRLQueries(int)} applies the rules once in this engine and then partitions the queries across worker
+ * sessions. Each session is a separate engine with its own target rule engine, bridge and built-in libraries, so that
+ * the result generators and the SQWRL collections of a query are only ever touched by one session. A session works on
+ * its own copy of the ontology, so built-ins that read the ontology never read the shared one from a worker thread.
+ * The sessions are kept between calls, up to the number last asked for, and their copies are brought up to date on the
+ * calling thread before each call. They share the OWL axioms and inferences of this engine, which are immutable, and
+ * are closed with the engine.
  */
 class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
 {
@@ -48,6 +84,21 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
   @NonNull private final SWRLBuiltInBridgeController builtInBridgeController;
   @NonNull private final SWRLRuleEngineBridgeController ruleEngineBridgeController;
 
+  // The asserted axioms and active rules seen by the last call to infer() and the inferred axioms it wrote back to the
+  // ontology. Rules compare equal whatever their activation, so the names of the active rules are kept separately.
+  @NonNull private final Set<@NonNull OWLAxiom> inferenceBaselineAxioms = new HashSet<>();
+  @NonNull private final Set<@NonNull String> inferenceBaselineActiveRuleNames = new HashSet<>();
+  @NonNull private final Set<@NonNull OWLAxiom> inferenceWrittenAxioms = new HashSet<>();
+  private boolean hasInferenceBaseline = false;
+
+  @NonNull private final SQWRLResultCache sqwrlResultCache;
+
+  // The sessions used by runSQWRLQueries(int), each over its own copy of the ontology, and the results of the queries
+  // they ran since the last reset
+  @NonNull private final List<@NonNull DefaultSWRLRuleAndQueryEngine> querySessions = new ArrayList<>();
+  @NonNull private final Map<@NonNull String, @NonNull SQWRLResult> partitionedSQWRLResults =
+    new ConcurrentHashMap<>();
+
   public DefaultSWRLRuleAndQueryEngine(@NonNull SWRLAPIOWLOntology swrlapiOWLOntology,
     @NonNull TargetSWRLRuleEngine targetSWRLRuleEngine,
     @NonNull SWRLRuleEngineBridgeController ruleEngineBridgeController,
@@ -57,6 +108,9 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
     this.targetSWRLRuleEngine = targetSWRLRuleEngine;
     this.builtInBridgeController = builtInBridgeController;
     this.ruleEngineBridgeController = ruleEngineBridgeController;
+    this.sqwrlResultCache = new SQWRLResultCache(swrlapiOWLOntology.getOWLOntology());
+
+    swrlapiOWLOntology.getOWLOntologyManager().addOntologyChangeListener(this.sqwrlResultCache);
   }
 
   @Override public void importAssertedOWLAxioms() throws SWRLRuleEngineException
@@ -106,17 +160,51 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
 
   @Override public void infer() throws SWRLRuleEngineException
   {
-    importAssertedOWLAxioms(); // Import will call reset()
+    reset();
+
+    Set<@NonNull OWLAxiom> axioms = new HashSet<>(this.swrlapiOWLOntology.getOWLAxioms());
+    Set<@NonNull String> activeRuleNames = getActiveSWRLRuleNames();
+    Optional<@NonNull Set<@NonNull OWLAxiom>> affectedAxioms =
+      this.hasInferenceBaseline && activeRuleNames.equals(this.inferenceBaselineActiveRuleNames) ?
+        selectAffectedOWLAxioms(axioms) :
+        Optional.<@NonNull Set<@NonNull OWLAxiom>>empty();
+
+    try {
+      exportOWLAxioms2TargetRuleEngine(affectedAxioms.orElse(axioms)); // OWL axioms include SWRL rules
+    } catch (SWRLAPIException e) {
+      throw new SWRLRuleEngineException(
+        "error exporting knowledge to rule engine: " + (e.getMessage() != null ? e.getMessage() : ""), e);
+    }
     run();
     exportInferredOWLAxioms();
+
+    this.inferenceBaselineAxioms.clear();
+    this.inferenceBaselineAxioms.addAll(axioms);
+    this.inferenceBaselineActiveRuleNames.clear();
+    this.inferenceBaselineActiveRuleNames.addAll(activeRuleNames);
+    this.inferenceWrittenAxioms.clear();
+    this.inferenceWrittenAxioms.addAll(this.builtInBridgeController.getInjectedOWLAxioms());
+    this.inferenceWrittenAxioms.addAll(this.ruleEngineBridgeController.getInferredOWLAxioms());
+    this.hasInferenceBaseline = true;
   }
 
   @NonNull @Override public SQWRLResult runSQWRLQuery(@NonNull String queryName) throws SQWRLException
   {
     try {
+      Optional<@NonNull SQWRLResult> cachedResult = this.sqwrlResultCache
+        .get(queryName, getActiveSWRLRuleNames(), getOWL2RLEngine().getEnabledRules());
+
+      if (cachedResult.isPresent())
+        return cachedResult.get();
+
+      long version = this.sqwrlResultCache.getVersion();
       importSQWRLQueryAndOWLAxioms(queryName);
       run();
-      return getSQWRLResult(queryName);
+      SQWRLResult result = getSQWRLResult(queryName);
+      this.sqwrlResultCache.put(queryName, version, getActiveSWRLRuleNames(), getOWL2RLEngine().getEnabledRules(),
+        getQueryDependencies(queryName), result);
+
+      return result;
     } catch (SWRLAPIException | SWRLBuiltInException e) {
       throw new SQWRLException("error running SQWRL queries: " + (e.getMessage() != null ? e.getMessage() : ""), e);
     }
@@ -138,6 +226,66 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
     }
   }
 
+  @Override public void runSQWRLQueries(int numberOfThreads) throws SQWRLException
+  {
+    List<@NonNull List<@NonNull String>> partitions;
+    List<@NonNull List<@NonNull SQWRLQuery>> partitionQueries = new ArrayList<>();
+    Set<@NonNull OWLAxiom> sharedAxioms = new HashSet<>();
+
+    try {
+      reset();
+      partitions = partitionSQWRLQueries(numberOfThreads);
+
+      if (partitions.size() < 2) {
+        runSQWRLQueries();
+        return;
+      }
+
+      exportOWLAxioms2TargetRuleEngine(this.swrlapiOWLOntology.getOWLAxioms()); // Apply the rules once
+      run();
+
+      this.swrlapiOWLOntology.getOWLAxioms().stream().filter(axiom -> !(axiom instanceof SWRLRule))
+        .forEach(sharedAxioms::add);
+      sharedAxioms.addAll(this.builtInBridgeController.getInjectedOWLAxioms());
+      sharedAxioms.addAll(this.ruleEngineBridgeController.getInferredOWLAxioms());
+
+      Set<@NonNull OWLAxiom> ontologyAxioms = getOWLOntology().getAxioms(Imports.INCLUDED);
+      resizeQuerySessions(partitions.size());
+
+      for (int sessionIndex = 0; sessionIndex < partitions.size(); sessionIndex++) // Sessions read their copies here
+        partitionQueries.add(this.querySessions.get(sessionIndex)
+          .resetQuerySession(ontologyAxioms, getOWL2RLEngine().getEnabledRules(), partitions.get(sessionIndex)));
+    } catch (SWRLAPIException e) {
+      throw new SQWRLException("error processing SQWRL queries: " + (e.getMessage() != null ? e.getMessage() : ""), e);
+    }
+
+    Map<@NonNull String, @NonNull DefaultSWRLRuleAndQueryEngine> query2Session = new HashMap<>();
+    for (int sessionIndex = 0; sessionIndex < partitions.size(); sessionIndex++)
+      for (String queryName : partitions.get(sessionIndex))
+        query2Session.put(queryName, this.querySessions.get(sessionIndex));
+
+    Set<@NonNull OWLAxiom> unmodifiableSharedAxioms = Collections.unmodifiableSet(sharedAxioms);
+    ForkJoinPool pool = new ForkJoinPool(partitions.size());
+    try {
+      pool.submit(() -> IntStream.range(0, partitions.size()).parallel().forEach(
+        sessionIndex -> this.querySessions.get(sessionIndex).runSQWRLQueryPartition(unmodifiableSharedAxioms,
+          partitionQueries.get(sessionIndex)))).get();
+      pool.submit(() -> query2Session.entrySet().parallelStream().forEach(entry -> this.partitionedSQWRLResults
+        .put(entry.getKey(), entry.getValue().prepareSQWRLResult(entry.getKey())))).get();
+    } catch (ExecutionException e) {
+      this.partitionedSQWRLResults.clear();
+      Throwable cause = e.getCause() != null ? e.getCause() : e;
+      throw new SQWRLException(
+        "error running SQWRL queries: " + (cause.getMessage() != null ? cause.getMessage() : ""), cause);
+    } catch (InterruptedException e) {
+      this.partitionedSQWRLResults.clear();
+      Thread.currentThread().interrupt();
+      throw new SQWRLException("interrupted while running SQWRL queries", e);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
   @Override public SQWRLQuery createSQWRLQuery(@NonNull String queryName, @NonNull String queryText)
     throws SWRLParseException, SQWRLException
   {
@@ -158,7 +306,19 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
 
   @NonNull @Override public SQWRLResult getSQWRLResult(@NonNull String queryName) throws SQWRLException
   {
-    return this.swrlapiOWLOntology.getSQWRLResult(queryName);
+    SQWRLResult result = this.partitionedSQWRLResults.get(queryName);
+
+    return result != null ? result : this.swrlapiOWLOntology.getSQWRLResult(queryName);
+  }
+
+  @Override public long getNumberOfSQWRLResultCacheHits()
+  {
+    return this.sqwrlResultCache.getNumberOfHits();
+  }
+
+  @Override public long getNumberOfSQWRLResultCacheMisses()
+  {
+    return this.sqwrlResultCache.getNumberOfMisses();
   }
 
   @NonNull @Override public Set<@NonNull SQWRLQuery> getSQWRLQueries()
@@ -342,6 +502,7 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
   {
     this.swrlapiOWLOntology.getSWRLBuiltInLibraryManager()
       .loadExternalSWRLBuiltInLibraries(swrlBuiltInLibraryDirectory);
+    this.sqwrlResultCache.clear(); // Built-ins may have been replaced
   }
 
   @NonNull @Override public Icon getRuleEngineIcon()
@@ -364,8 +525,20 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
     return this.swrlapiOWLOntology;
   }
 
+  @Override public void close()
+  {
+    resizeQuerySessions(0);
+    getOWLOntologyManager().removeOntologyChangeListener(this.sqwrlResultCache);
+    this.swrlapiOWLOntology.getSWRLBuiltInLibraryManager().close();
+  }
+
   private void reset()
   {
+    if (getOWL2RLEngine().hasRuleSelectionChanged()) // The previous inferences may not hold
+      this.hasInferenceBaseline = false;
+
+    this.partitionedSQWRLResults.clear();
+
     try {
       getTargetSWRLRuleEngine().resetRuleEngine(); // Reset the target rule engine
       getBuiltInBridgeController().reset();
@@ -377,6 +550,132 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
     }
   }
 
+  /**
+   * @return The names of the queries of the ontology, dealt round-robin into at most the given number of partitions
+   */
+  @NonNull private List<@NonNull List<@NonNull String>> partitionSQWRLQueries(int numberOfPartitions)
+  {
+    List<@NonNull String> queryNames = new ArrayList<>(this.swrlapiOWLOntology.getSQWRLQueryNames());
+    List<@NonNull List<@NonNull String>> partitions = new ArrayList<>();
+
+    Collections.sort(queryNames);
+
+    for (int partitionIndex = 0; partitionIndex < Math.min(numberOfPartitions, queryNames.size()); partitionIndex++)
+      partitions.add(new ArrayList<>());
+
+    for (int queryIndex = 0; queryIndex < queryNames.size(); queryIndex++)
+      partitions.get(queryIndex % partitions.size()).add(queryNames.get(queryIndex));
+
+    return partitions;
+  }
+
+  /**
+   * Create query sessions, each over an empty copy of the ontology, or close the surplus ones, so that there are the
+   * given number of sessions.
+   */
+  private void resizeQuerySessions(int numberOfSessions) throws SWRLRuleEngineException
+  {
+    while (this.querySessions.size() > numberOfSessions)
+      this.querySessions.remove(this.querySessions.size() - 1).close();
+
+    while (this.querySessions.size() < numberOfSessions) {
+      SQWRLQueryEngine queryEngine;
+
+      try {
+        queryEngine = SWRLAPIFactory
+          .createSQWRLQueryEngine(getTargetQueryEngineName(), OWLManager.createOWLOntologyManager().createOntology());
+      } catch (OWLOntologyCreationException e) {
+        throw new SWRLRuleEngineException(
+          "error creating query session: " + (e.getMessage() != null ? e.getMessage() : ""), e);
+      }
+
+      if (!(queryEngine instanceof DefaultSWRLRuleAndQueryEngine)) {
+        queryEngine.close();
+        throw new SWRLRuleEngineException("cannot create query session for " + getTargetQueryEngineName());
+      }
+      this.querySessions.add((DefaultSWRLRuleAndQueryEngine)queryEngine);
+    }
+  }
+
+  /**
+   * Bring the copy of the ontology of a query session up to date, reset the session with the OWL 2 RL rule selection
+   * of the engine that owns it, and activate its share of the queries. This reads the ontology, so it is not done in
+   * parallel.
+   *
+   * @param ontologyAxioms The axioms of the ontology of the engine that owns the session
+   * @return The queries of the session to run
+   */
+  @NonNull private List<@NonNull SQWRLQuery> resetQuerySession(@NonNull Set<@NonNull OWLAxiom> ontologyAxioms,
+    @NonNull Set<OWL2RLRule> enabledOWL2RLRules, @NonNull List<@NonNull String> queryNames)
+  {
+    OWLOntology ontology = getOWLOntology();
+    Set<@NonNull OWLAxiom> copiedAxioms = ontology.getAxioms();
+    List<@NonNull OWLOntologyChange> changes = new ArrayList<>();
+
+    for (OWLAxiom axiom : copiedAxioms)
+      if (!ontologyAxioms.contains(axiom))
+        changes.add(new RemoveAxiom(ontology, axiom));
+    for (OWLAxiom axiom : ontologyAxioms)
+      if (!copiedAxioms.contains(axiom))
+        changes.add(new AddAxiom(ontology, axiom));
+
+    if (!changes.isEmpty())
+      getOWLOntologyManager().applyChanges(changes);
+
+    Set<OWL2RLRule> rulesToDisable = new HashSet<>(getOWL2RLEngine().getEnabledRules());
+    Set<OWL2RLRule> rulesToEnable = new HashSet<>(enabledOWL2RLRules);
+
+    rulesToDisable.removeAll(enabledOWL2RLRules);
+    rulesToEnable.removeAll(getOWL2RLEngine().getEnabledRules());
+
+    if (!rulesToDisable.isEmpty())
+      getOWL2RLEngine().disableRules(rulesToDisable.toArray(new OWL2RLRule[rulesToDisable.size()]));
+    if (!rulesToEnable.isEmpty())
+      getOWL2RLEngine().enableRules(rulesToEnable.toArray(new OWL2RLRule[rulesToEnable.size()]));
+
+    reset();
+
+    List<@NonNull SQWRLQuery> queries = new ArrayList<>();
+
+    for (SQWRLQuery query : this.swrlapiOWLOntology.getSQWRLQueries()) {
+      query.setActive(queryNames.contains(query.getQueryName()));
+      if (query.isActive())
+        queries.add(query);
+    }
+    return queries;
+  }
+
+  /**
+   * Run a partition of the queries in a query session, on the shared OWL axioms and inferences. The rules have already
+   * been applied by the engine that owns the session, so they are not exported again.
+   */
+  private void runSQWRLQueryPartition(@NonNull Set<@NonNull OWLAxiom> sharedAxioms,
+    @NonNull List<@NonNull SQWRLQuery> queries)
+  {
+    try {
+      exportOWLAxioms2TargetRuleEngine(sharedAxioms);
+
+      for (SQWRLQuery query : queries)
+        exportSQWRLQuery2TargetRuleEngine(query);
+
+      run();
+    } catch (SWRLBuiltInException e) {
+      throw new SWRLRuleEngineException(
+        "error running SQWRL queries: " + (e.getMessage() != null ? e.getMessage() : ""), e);
+    }
+  }
+
+  @NonNull private SQWRLResult prepareSQWRLResult(@NonNull String queryName)
+  {
+    try {
+      return getSQWRLResult(queryName); // Prepares the result
+    } catch (SQWRLException e) {
+      throw new SWRLRuleEngineException(
+        "error preparing result of SQWRL query " + queryName + ": " + (e.getMessage() != null ? e.getMessage() : ""),
+        e);
+    }
+  }
+
   private void exportSQWRLQuery2TargetRuleEngine(@NonNull String activeQueryName)
     throws SWRLRuleEngineException, TargetSWRLRuleEngineException, SWRLBuiltInException
   {
@@ -409,6 +708,84 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
     return this.targetSWRLRuleEngine;
   }
 
+  /**
+   * @param axioms The asserted axioms
+   * @return The rules affected by the changes since the last call to {@link #infer()}, ordered by stratum, followed
+   * by the schema axioms and the assertions of the changed predicates and of the predicates the rules and OWL 2 RL
+   * entailments need; empty if all axioms must be exported
+   */
+  @NonNull private Optional<@NonNull Set<@NonNull OWLAxiom>> selectAffectedOWLAxioms(
+    @NonNull Set<@NonNull OWLAxiom> axioms)
+  {
+    Set<@NonNull IRI> changedPredicates = new HashSet<>();
+    List<@NonNull SWRLAPIRule> rules = new ArrayList<>();
+
+    for (OWLAxiom axiom : axioms) {
+      if (axiom instanceof SWRLAPIRule && ((SWRLAPIRule)axiom).isActive() && !((SWRLAPIRule)axiom).isSQWRLQuery())
+        rules.add((SWRLAPIRule)axiom);
+
+      if (axiom.isLogicalAxiom() && !this.inferenceBaselineAxioms.contains(axiom) && !this.inferenceWrittenAxioms
+        .contains(axiom)) {
+        Optional<@NonNull IRI> predicate = SWRLRuleDependencyGraph.getAssertedPredicate(axiom);
+        if (!predicate.isPresent()) // A rule, schema, equality or anonymous class axiom was added
+          return Optional.<@NonNull Set<@NonNull OWLAxiom>>empty();
+        changedPredicates.add(predicate.get());
+      }
+    }
+
+    for (OWLAxiom axiom : this.inferenceBaselineAxioms) { // Removed assertions cannot lead to new inferences
+      if (axiom.isLogicalAxiom() && !axioms.contains(axiom) && !SWRLRuleDependencyGraph.getAssertedPredicate(axiom)
+        .isPresent())
+        return Optional.<@NonNull Set<@NonNull OWLAxiom>>empty();
+    }
+
+    SWRLRuleDependencyGraph dependencyGraph = new SWRLRuleDependencyGraph(rules, axioms);
+    Optional<@NonNull List<@NonNull SWRLAPIRule>> affectedRules = dependencyGraph.getAffectedRules(changedPredicates);
+
+    if (!affectedRules.isPresent())
+      return Optional.<@NonNull Set<@NonNull OWLAxiom>>empty();
+
+    Set<@NonNull IRI> inputPredicates = dependencyGraph.getInputPredicates(changedPredicates, affectedRules.get());
+    Set<@NonNull OWLAxiom> affectedAxioms = new LinkedHashSet<>(affectedRules.get());
+
+    for (OWLAxiom axiom : axioms) {
+      if (!(axiom instanceof SWRLAPIRule)) {
+        Optional<@NonNull IRI> predicate = SWRLRuleDependencyGraph.getAssertedPredicate(axiom);
+        if (!predicate.isPresent() || inputPredicates.contains(predicate.get()))
+          affectedAxioms.add(axiom);
+      }
+    }
+    return Optional.of(affectedAxioms);
+  }
+
+  /**
+   * @return The names of the active rules, excluding SQWRL queries
+   */
+  @NonNull private Set<@NonNull String> getActiveSWRLRuleNames()
+  {
+    return this.swrlapiOWLOntology.getSWRLRules().stream().filter(rule -> rule.isActive() && !rule.isSQWRLQuery())
+      .map(SWRLAPIRule::getRuleName).collect(Collectors.toSet());
+  }
+
+  /**
+   * @return The predicates the result of a query depends on, or empty if they are not known
+   */
+  @NonNull private Optional<@NonNull Set<@NonNull IRI>> getQueryDependencies(@NonNull String queryName)
+    throws SWRLRuleException
+  {
+    Optional<@NonNull SWRLAPIRule> query = this.swrlapiOWLOntology.getSWRLRule(queryName);
+
+    if (!query.isPresent())
+      return Optional.<@NonNull Set<@NonNull IRI>>empty();
+
+    List<@NonNull SWRLAPIRule> rules = this.swrlapiOWLOntology.getSWRLRules().stream()
+      .filter(rule -> rule.isActive() && !rule.isSQWRLQuery()).collect(Collectors.toList());
+
+    SWRLRuleDependencyGraph graph = new SWRLRuleDependencyGraph(rules, this.swrlapiOWLOntology.getOWLAxioms());
+
+    return graph.getQueryDependencies(query.get());
+  }
+
   private void exportOWLAxioms2TargetRuleEngine(@NonNull Set<@NonNull OWLAxiom> axioms)
     throws SWRLRuleEngineException, TargetSWRLRuleEngineException
   {
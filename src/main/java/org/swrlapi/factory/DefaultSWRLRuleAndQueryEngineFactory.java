@@ -9,6 +9,7 @@ import org.swrlapi.core.IRIResolver;
 import org.swrlapi.core.SWRLAPIOWLOntology;
 import org.swrlapi.core.SWRLRuleEngine;
 import org.swrlapi.core.SWRLRuleEngineManager;
+import org.swrlapi.engine.SemiNaiveSWRLRuleEngineCreator;
 import org.swrlapi.exceptions.InvalidSWRLRuleEngineNameException;
 import org.swrlapi.exceptions.NoRegisteredSWRLRuleEnginesException;
 import org.swrlapi.exceptions.SWRLRuleEngineException;
@@ -119,6 +120,9 @@ public class DefaultSWRLRuleAndQueryEngineFactory implements SWRLRuleAndQueryEng
     Optional<@NonNull TargetSWRLRuleEngineCreator> ruleEngineCreator = getDroolsSWRLRuleEngineCreator();
 
     ruleEngineCreator.ifPresent(this.ruleEngineManager::registerRuleEngine);
+
+    // Registered after Drools so that it is only the default when Drools is not on the class path
+    this.ruleEngineManager.registerRuleEngine(new SemiNaiveSWRLRuleEngineCreator());
   }
 
   private Optional<@NonNull TargetSWRLRuleEngineCreator> getDroolsSWRLRuleEngineCreator()
@@ -39,6 +39,7 @@ import org.swrlapi.builtins.arguments.SWRLClassExpressionBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLDataPropertyBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLDataPropertyExpressionBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLDatatypeBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLListBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLLiteralBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLMultiValueVariableBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLNamedIndividualBuiltInArgument;
@@ -521,6 +522,18 @@ class DefaultSWRLRuleAndQueryRenderer implements SWRLRuleRenderer, SQWRLQueryRen
     return argument.getVariableName();
   }
 
+  @NonNull @Override public String visit(@NonNull SWRLListBuiltInArgument argument)
+  {
+    StringBuilder sb = new StringBuilder("(");
+
+    for (SWRLBuiltInArgument element : argument.getList()) {
+      if (sb.length() > 1)
+        sb.append(", ");
+      sb.append(element.accept((SWRLBuiltInArgumentVisitorEx<String>)this));
+    }
+    return sb.append(")").toString();
+  }
+
   @NonNull private String visit(@NonNull OWLLiteral literal)
   {
     OWLDatatype datatype = literal.getDatatype();
@@ -44,4 +44,15 @@ public interface LiteralFactory
   @NonNull Literal getLiteral(@NonNull XSDDuration duration);
 
   @NonNull Literal getLiteral(@NonNull OWLLiteral literal);
+
+  /**
+   * @return The number of requests answered with an existing canonical literal, not counting booleans and small
+   * integers, whose literals are always canonical
+   */
+  long getNumberOfLiteralCacheHits();
+
+  /**
+   * @return The number of requests for which a new literal was created
+   */
+  long getNumberOfLiteralCacheMisses();
 }
@@ -63,4 +63,15 @@ public interface OWLLiteralFactory
   @NonNull OWLLiteral getOWLLiteral(@NonNull String literal, @NonNull OWLDatatype datatype);
 
   @NonNull OWLLiteral createLeastNarrowNumericOWLLiteral(double value, @NonNull List<@NonNull OWLLiteral> inputLiterals);
+
+  /**
+   * @return The number of requests answered with an existing canonical literal, not counting booleans and small
+   * integers, whose literals are always canonical
+   */
+  long getNumberOfOWLLiteralCacheHits();
+
+  /**
+   * @return The number of requests for which a new literal was created
+   */
+  long getNumberOfOWLLiteralCacheMisses();
 }
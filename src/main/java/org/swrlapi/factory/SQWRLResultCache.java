@@ -0,0 +1,176 @@
+package org.swrlapi.factory;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotationAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLDeclarationAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyChangeListener;
+import org.swrlapi.owl2rl.OWL2RLNames.OWL2RLRule;
+import org.swrlapi.sqwrl.SQWRLResult;
+import org.swrlapi.sqwrl.exceptions.SQWRLException;
+
+import javax.annotation.Nonnull;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A cache of prepared SQWRL query results, stamped with the version of the ontology they were computed from.
+ * <p>
+ * The version is a counter that is incremented by every batch of ontology changes. Each change to a class, object
+ * property or data property assertion records the version in which the facts of its predicate last changed. A change
+ * to any other axiom but a declaration or annotation assertion, such as a rule, a query or a schema axiom, records a
+ * schema version. A result remains valid until the schema changes or one of the predicates it depends on changes, and
+ * only while the set of active rules and the set of enabled OWL 2 RL rules are those it was computed with. A result
+ * whose dependencies are not known is invalidated by any change to an assertion.
+ * <p>
+ * Hits return a {@link CachedSQWRLResultView} of the cached result, so callers polling the same query do not share a
+ * cursor.
+ *
+ * @see DefaultSWRLRuleAndQueryEngine#runSQWRLQuery(String)
+ * @see SWRLRuleDependencyGraph#getQueryDependencies(org.swrlapi.core.SWRLAPIRule)
+ */
+final class SQWRLResultCache implements OWLOntologyChangeListener
+{
+  @NonNull private final OWLOntology ontology;
+  @NonNull private final Map<@NonNull String, @NonNull Entry> entries = new HashMap<>();
+  @NonNull private final Map<@NonNull IRI, @NonNull Long> predicateVersions = new HashMap<>();
+  private long version = 0; // Incremented by each batch of changes to the ontology or its imports
+  private long schemaVersion = 0;
+  private long assertionVersion = 0;
+  private long numberOfHits = 0, numberOfMisses = 0;
+
+  public SQWRLResultCache(@NonNull OWLOntology ontology)
+  {
+    this.ontology = ontology;
+  }
+
+  /**
+   * @return The current version of the ontology; a result computed now should be stored with this version
+   */
+  public long getVersion()
+  {
+    return this.version;
+  }
+
+  /**
+   * @param queryName          The name of a query
+   * @param activeRuleNames    The names of the currently active rules, excluding SQWRL queries
+   * @param enabledOWL2RLRules The currently enabled OWL 2 RL rules
+   * @return A view of the cached result, if it is still valid; hits and misses are counted
+   */
+  @NonNull public Optional<@NonNull SQWRLResult> get(@NonNull String queryName,
+    @NonNull Set<@NonNull String> activeRuleNames, @NonNull Set<OWL2RLRule> enabledOWL2RLRules) throws SQWRLException
+  {
+    Entry entry = this.entries.get(queryName);
+
+    if (entry != null && isValid(entry, activeRuleNames, enabledOWL2RLRules)) {
+      this.numberOfHits++;
+      return Optional.of(new CachedSQWRLResultView(entry.result));
+    } else {
+      this.entries.remove(queryName);
+      this.numberOfMisses++;
+      return Optional.<@NonNull SQWRLResult>empty();
+    }
+  }
+
+  /**
+   * @param queryName          The name of the query
+   * @param version            The version of the ontology when the query was run
+   * @param activeRuleNames    The names of the rules that were active when the query was run
+   * @param enabledOWL2RLRules The OWL 2 RL rules that were enabled when the query was run
+   * @param dependencies       The predicates the result depends on, or empty if they are not known
+   * @param result             The prepared result; results of other implementations are not cached
+   */
+  public void put(@NonNull String queryName, long version, @NonNull Set<@NonNull String> activeRuleNames,
+    @NonNull Set<OWL2RLRule> enabledOWL2RLRules, @NonNull Optional<@NonNull Set<@NonNull IRI>> dependencies,
+    @NonNull SQWRLResult result)
+  {
+    if (result instanceof DefaultSQWRLResultManager)
+      this.entries.put(queryName,
+        new Entry((DefaultSQWRLResultManager)result, version, activeRuleNames, enabledOWL2RLRules, dependencies));
+  }
+
+  public void clear()
+  {
+    this.entries.clear();
+  }
+
+  public long getNumberOfHits()
+  {
+    return this.numberOfHits;
+  }
+
+  public long getNumberOfMisses()
+  {
+    return this.numberOfMisses;
+  }
+
+  @Override public void ontologiesChanged(@Nonnull List<? extends OWLOntologyChange> changes)
+  {
+    Set<@NonNull OWLOntology> ontologies = this.ontology.getImportsClosure();
+    boolean isVersionIncremented = false;
+
+    for (OWLOntologyChange change : changes) {
+      if (!ontologies.contains(change.getOntology()))
+        continue;
+
+      if (!isVersionIncremented) {
+        this.version++;
+        isVersionIncremented = true;
+      }
+
+      if (change.isAxiomChange()) {
+        OWLAxiom axiom = change.getAxiom();
+        Optional<@NonNull IRI> predicate = SWRLRuleDependencyGraph.getAssertedPredicate(axiom);
+
+        if (predicate.isPresent()) {
+          this.predicateVersions.put(predicate.get(), this.version);
+          this.assertionVersion = this.version;
+        } else if (axiom instanceof OWLAnnotationAssertionAxiom) // Only visible to built-ins that read the ontology
+          this.assertionVersion = this.version;
+        else if (!(axiom instanceof OWLDeclarationAxiom))
+          this.schemaVersion = this.version;
+      } else // An import or ontology ID change
+        this.schemaVersion = this.version;
+    }
+  }
+
+  private boolean isValid(@NonNull Entry entry, @NonNull Set<@NonNull String> activeRuleNames,
+    @NonNull Set<OWL2RLRule> enabledOWL2RLRules)
+  {
+    if (!entry.activeRuleNames.equals(activeRuleNames) || !entry.enabledOWL2RLRules.equals(enabledOWL2RLRules)
+      || this.schemaVersion > entry.version)
+      return false;
+    else if (!entry.dependencies.isPresent())
+      return this.assertionVersion <= entry.version;
+    else
+      return entry.dependencies.get().stream()
+        .allMatch(predicate -> this.predicateVersions.getOrDefault(predicate, 0L) <= entry.version);
+  }
+
+  private static final class Entry
+  {
+    @NonNull private final DefaultSQWRLResultManager result;
+    private final long version;
+    @NonNull private final Set<@NonNull String> activeRuleNames;
+    @NonNull private final Set<OWL2RLRule> enabledOWL2RLRules;
+    @NonNull private final Optional<@NonNull Set<@NonNull IRI>> dependencies;
+
+    Entry(@NonNull DefaultSQWRLResultManager result, long version, @NonNull Set<@NonNull String> activeRuleNames,
+      @NonNull Set<OWL2RLRule> enabledOWL2RLRules, @NonNull Optional<@NonNull Set<@NonNull IRI>> dependencies)
+    {
+      this.result = result;
+      this.version = version;
+      this.activeRuleNames = new HashSet<>(activeRuleNames);
+      this.enabledOWL2RLRules = new HashSet<>(enabledOWL2RLRules);
+      this.dependencies = dependencies;
+    }
+  }
+}
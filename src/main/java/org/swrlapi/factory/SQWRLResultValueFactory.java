@@ -110,4 +110,15 @@ public interface SQWRLResultValueFactory
 
   @NonNull SQWRLLiteralResultValue createLeastNarrowNumericLiteralValue(double value,
     @NonNull List<@NonNull SQWRLLiteralResultValue> inputResultValues);
+
+  /**
+   * @return The number of requests answered with an existing canonical literal value, not counting booleans and
+   * small integers, whose values are always canonical
+   */
+  long getNumberOfLiteralValueCacheHits();
+
+  /**
+   * @return The number of requests for which a new literal value was created
+   */
+  long getNumberOfLiteralValueCacheMisses();
 }
@@ -6,6 +6,7 @@ import org.swrlapi.core.IRIResolver;
 import org.swrlapi.core.SWRLRuleEngine;
 import org.swrlapi.exceptions.SWRLRuleEngineException;
 import org.swrlapi.sqwrl.SQWRLQueryEngine;
+import org.swrlapi.sqwrl.SQWRLResultExporter;
 import org.swrlapi.ui.dialog.SWRLRuleEngineDialogManager;
 import org.swrlapi.ui.model.FileBackedSQWRLQueryEngineModel;
 import org.swrlapi.ui.model.FileBackedSWRLRuleEngineModel;
@@ -49,6 +50,19 @@ public class SWRLAPIFactory
     return swrlRuleAndQueryEngineFactory.createSWRLRuleEngine(ontology, iriResolver);
   }
 
+  /**
+   * @param ruleEngineName The name of a registered rule engine
+   * @param ontology       An OWL ontology
+   * @return A SWRL rule engine
+   * @throws SWRLRuleEngineException If an error occurs during rule engine creation
+   */
+  @NonNull public static SWRLRuleEngine createSWRLRuleEngine(@NonNull String ruleEngineName,
+    @NonNull OWLOntology ontology) throws SWRLRuleEngineException
+  {
+    IRIResolver iriResolver = createIRIResolver();
+    return swrlRuleAndQueryEngineFactory.createSWRLRuleEngine(ruleEngineName, ontology, iriResolver);
+  }
+
   /**
    * @param ontology An OWL ontology
    * @return A SQWRL query engine
@@ -73,6 +87,27 @@ public class SWRLAPIFactory
     return swrlRuleAndQueryEngineFactory.createSQWRLQueryEngine(ontology, iriResolver);
   }
 
+  /**
+   * @param queryEngineName The name of a registered rule engine
+   * @param ontology        An OWL ontology
+   * @return A SQWRL query engine
+   * @throws SWRLRuleEngineException If an error occurs during query engine creation
+   */
+  @NonNull public static SQWRLQueryEngine createSQWRLQueryEngine(@NonNull String queryEngineName,
+    @NonNull OWLOntology ontology) throws SWRLRuleEngineException
+  {
+    IRIResolver iriResolver = createIRIResolver();
+    return swrlRuleAndQueryEngineFactory.createSQWRLQueryEngine(queryEngineName, ontology, iriResolver);
+  }
+
+  /**
+   * @return A SQWRL result exporter
+   */
+  @NonNull public static SQWRLResultExporter createSQWRLResultExporter()
+  {
+    return new DefaultSQWRLResultExporter();
+  }
+
   /**
    * @return An IRI resolver
    */
@@ -7,8 +7,11 @@ import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
 import org.semanticweb.owlapi.model.SWRLAtom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.swrlapi.bridge.SWRLBridge;
 import org.swrlapi.builtins.SWRLBuiltInLibraryManager;
+import org.swrlapi.builtins.SWRLBuiltInRegistry;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
 import org.swrlapi.core.IRIResolver;
 import org.swrlapi.core.SWRLAPIBuiltInAtom;
@@ -36,8 +39,11 @@ import org.swrlapi.ui.model.SWRLRulesAndSQWRLQueriesTableModel;
 
 import javax.swing.*;
 import java.io.File;
+import java.io.IOException;
 import java.net.URL;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * @see SWRLRuleAndQueryEngineFactory
@@ -47,6 +53,8 @@ import java.util.List;
  */
 public class SWRLAPIInternalFactory
 {
+  private static final Logger log = LoggerFactory.getLogger(SWRLAPIInternalFactory.class);
+
   @NonNull private static final String SQWRL_ICON_NAME = "SQWRL.gif";
   @NonNull private static final String OWL2RL_ICON_NAME = "OWL2RL.gif";
 
@@ -64,7 +72,7 @@ public class SWRLAPIInternalFactory
 
   @NonNull public static SWRLBuiltInLibraryManager createSWRLBuiltInLibraryManager()
   {
-    return new SWRLBuiltInLibraryManager();
+    return new SWRLBuiltInLibraryManager(SWRLBuiltInRegistry.getInstance());
   }
 
   /**
@@ -269,6 +277,40 @@ public class SWRLAPIInternalFactory
     return swrlapiowlOntology;
   }
 
+  /**
+   * Create a {@link org.swrlapi.core.SWRLAPIOWLOntology} from an OWLAPI-based
+   * {@link org.semanticweb.owlapi.model.OWLOntology}, reusing the rule and query processing recorded in a snapshot.
+   * If the snapshot file does not exist or was taken from a different source document the ontology is fully processed
+   * and a new snapshot is written.
+   *
+   * @param ontology     An OWLAPI-based ontology
+   * @param iriResolver  An IRI resolver
+   * @param snapshotFile A snapshot file
+   * @param contentHash  The content hash of the document the ontology was loaded from (see
+   *                     {@link SWRLAPIOntologySnapshot#contentHash(java.nio.file.Path)})
+   * @return A SWRLAPI-based wrapper of an OWL ontology
+   * @throws SQWRLException If a SQWRL error occurs during ontology processing
+   */
+  @NonNull public static SWRLAPIOWLOntology createSWRLAPIOntology(@NonNull OWLOntology ontology,
+    @NonNull IRIResolver iriResolver, @NonNull Path snapshotFile, @NonNull byte[] contentHash)
+    throws SWRLBuiltInException
+  {
+    DefaultSWRLAPIOWLOntology swrlapiowlOntology = new DefaultSWRLAPIOWLOntology(ontology, iriResolver);
+    byte[] closureContentHash = SWRLAPIOntologySnapshot.contentHash(contentHash, ontology);
+    Optional<@NonNull SWRLAPIOntologySnapshot> snapshot = SWRLAPIOntologySnapshot
+      .read(snapshotFile, closureContentHash, swrlapiowlOntology.getOWLAxiomCount());
+    SWRLAPIOntologySnapshot newSnapshot = swrlapiowlOntology.processOntology(snapshot, closureContentHash);
+
+    if (!snapshot.isPresent() || snapshot.get().getNumberOfRules() != newSnapshot.getNumberOfRules()) {
+      try {
+        newSnapshot.write(snapshotFile);
+      } catch (IOException e) {
+        log.warn("Could not write snapshot " + snapshotFile + ": " + e.getMessage());
+      }
+    }
+    return swrlapiowlOntology;
+  }
+
   /**
    * Create a {@link org.swrlapi.core.SWRLAPIOWLOntology} from an OWLAPI-based
    * {@link org.semanticweb.owlapi.model.OWLOntology}.
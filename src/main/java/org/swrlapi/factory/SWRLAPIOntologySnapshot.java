@@ -0,0 +1,449 @@
+package org.swrlapi.factory;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.SWRLAtom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgumentType;
+import org.swrlapi.core.SWRLAPIBuiltInAtom;
+import org.swrlapi.exceptions.SWRLAPIException;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * A binary snapshot of the built-in atom conversions of the rules and queries extracted by a
+ * {@link org.swrlapi.core.SWRLAPIOWLOntology} from its OWL ontology, used to skip rule conversion when the same source
+ * document is loaded again.
+ * <p>
+ * Converting an OWLAPI rule to a SWRLAPI rule resolves the prefixed name of each built-in and looks up every built-in
+ * argument in the signature of the ontology and its imports. A snapshot records the outcome of this work for each rule:
+ * the built-in IRI and prefixed name of each built-in atom and the type of each of its arguments. All strings are
+ * dictionary encoded in a single string table. The OWL ontology itself, including its axioms and OWLAPI rules, is
+ * still loaded by the OWLAPI and is not part of the snapshot.
+ * <p>
+ * A snapshot is keyed by a content hash of the source document (see {@link #contentHash(Path)}) combined with the
+ * axioms of the ontology and its imports closure, and records the axiom count of the ontology it was taken from. It is
+ * only used if both match the ontology being processed. This single check covers the signature the recorded argument
+ * types were derived from, so restored arguments are not looked up again; each snapshot rule is only checked against
+ * the OWLAPI rule it replaces. Any mismatch falls back to a full conversion.
+ *
+ * @see org.swrlapi.factory.SWRLAPIInternalFactory#createSWRLAPIOntology(org.semanticweb.owlapi.model.OWLOntology,
+ * org.swrlapi.core.IRIResolver, Path, byte[])
+ */
+public class SWRLAPIOntologySnapshot
+{
+  private static final Logger log = LoggerFactory.getLogger(SWRLAPIOntologySnapshot.class);
+
+  private static final int MAGIC = 0x53575253; // "SWRS"
+  private static final int VERSION = 1;
+  private static final String CONTENT_HASH_ALGORITHM = "SHA-256";
+
+  @NonNull private final byte[] contentHash;
+  private final int axiomCount;
+  @NonNull private final Map<@NonNull String, @NonNull RuleEntry> ruleEntries;
+
+  SWRLAPIOntologySnapshot(@NonNull byte[] contentHash, int axiomCount)
+  {
+    this.contentHash = contentHash.clone();
+    this.axiomCount = axiomCount;
+    this.ruleEntries = new HashMap<>();
+  }
+
+  /**
+   * @param sourceDocument The document an ontology is loaded from
+   * @return A content hash of the document
+   * @throws IOException If the document cannot be read
+   */
+  @NonNull public static byte[] contentHash(@NonNull Path sourceDocument) throws IOException
+  {
+    MessageDigest digest = createContentDigest();
+
+    try (InputStream is = new DigestInputStream(Files.newInputStream(sourceDocument), digest)) {
+      byte[] buffer = new byte[64 * 1024];
+      while (is.read(buffer) != -1) {
+        // Reading updates the digest
+      }
+    }
+    return digest.digest();
+  }
+
+  /**
+   * Combine the content hash of the source document of an ontology with its axioms and its imports closure, so that a
+   * snapshot is not reused after the ontology is changed in memory or an imported document changes. The ontology
+   * contributes its axiom count and an order-independent hash of its axioms; each imported ontology also contributes
+   * its ID.
+   *
+   * @param documentContentHash The content hash of the source document of the ontology
+   * @param ontology            The ontology loaded from the document
+   * @return A content hash of the document and the imports closure of the ontology
+   */
+  @NonNull static byte[] contentHash(@NonNull byte[] documentContentHash, @NonNull OWLOntology ontology)
+  {
+    MessageDigest digest = createContentDigest();
+    List<@NonNull OWLOntology> importedOntologies = ontology.getImports().stream()
+      .sorted(Comparator.comparing(importedOntology -> importedOntology.getOntologyID().toString()))
+      .collect(Collectors.toList());
+
+    digest.update(documentContentHash);
+    updateContentDigest(digest, ontology);
+    for (OWLOntology importedOntology : importedOntologies) {
+      digest.update(importedOntology.getOntologyID().toString().getBytes(StandardCharsets.UTF_8));
+      updateContentDigest(digest, importedOntology);
+    }
+    return digest.digest();
+  }
+
+  private static void updateContentDigest(@NonNull MessageDigest digest, @NonNull OWLOntology ontology)
+  {
+    ByteBuffer buffer = ByteBuffer.allocate(2 * Integer.BYTES);
+    int axiomsHashCode = 0;
+
+    for (OWLAxiom axiom : ontology.getAxioms())
+      axiomsHashCode += axiom.hashCode();
+
+    buffer.putInt(ontology.getAxiomCount()).putInt(axiomsHashCode);
+    digest.update(buffer.array());
+  }
+
+  /**
+   * @param snapshotFile A snapshot file
+   * @param contentHash  The content hash of the ontology being processed (see
+   *                     {@link #contentHash(byte[], OWLOntology)})
+   * @param axiomCount   The axiom count of the ontology being processed
+   * @return The snapshot, or empty if there is no usable snapshot for the ontology
+   */
+  @NonNull static Optional<@NonNull SWRLAPIOntologySnapshot> read(@NonNull Path snapshotFile,
+    @NonNull byte[] contentHash, int axiomCount)
+  {
+    try (FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+      ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+      if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+        log.warn("Ignoring snapshot " + snapshotFile + " with unknown format");
+        return Optional.<@NonNull SWRLAPIOntologySnapshot>empty();
+      }
+
+      byte[] snapshotContentHash = new byte[buffer.getInt()];
+      buffer.get(snapshotContentHash);
+      int snapshotAxiomCount = buffer.getInt();
+
+      if (!Arrays.equals(snapshotContentHash, contentHash) || snapshotAxiomCount != axiomCount) {
+        log.info("Snapshot " + snapshotFile + " does not match ontology; performing full load");
+        return Optional.<@NonNull SWRLAPIOntologySnapshot>empty();
+      }
+
+      String[] strings = new String[buffer.getInt()];
+      for (int i = 0; i < strings.length; i++)
+        strings[i] = readString(buffer);
+
+      SWRLAPIOntologySnapshot snapshot = new SWRLAPIOntologySnapshot(contentHash, axiomCount);
+      int numberOfRules = buffer.getInt();
+      for (int i = 0; i < numberOfRules; i++) {
+        String ruleName = strings[buffer.getInt()];
+        int owlapiRuleHashCode = buffer.getInt();
+        List<@NonNull Optional<@NonNull BuiltInAtomEntry>> bodyAtomEntries = readAtomEntries(buffer, strings);
+        List<@NonNull Optional<@NonNull BuiltInAtomEntry>> headAtomEntries = readAtomEntries(buffer, strings);
+
+        snapshot.ruleEntries.put(ruleName, new RuleEntry(owlapiRuleHashCode, bodyAtomEntries, headAtomEntries));
+      }
+      return Optional.of(snapshot);
+    } catch (NoSuchFileException e) {
+      return Optional.<@NonNull SWRLAPIOntologySnapshot>empty();
+    } catch (IOException | BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException e) {
+      log.warn("Ignoring unreadable snapshot " + snapshotFile + ": " + e.getMessage());
+      return Optional.<@NonNull SWRLAPIOntologySnapshot>empty();
+    }
+  }
+
+  /**
+   * Write the snapshot. The file is replaced atomically where the file system supports it, so a concurrent reader never
+   * sees a partially written snapshot.
+   *
+   * @param snapshotFile The snapshot file
+   * @throws IOException If the snapshot cannot be written
+   */
+  void write(@NonNull Path snapshotFile) throws IOException
+  {
+    Path directory = snapshotFile.toAbsolutePath().getParent();
+    Path temporaryFile = Files.createTempFile(directory, snapshotFile.getFileName().toString(), ".tmp");
+
+    try {
+      try (OutputStream os = Files.newOutputStream(temporaryFile);
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os))) {
+        StringTable stringTable = new StringTable();
+
+        for (Map.Entry<@NonNull String, @NonNull RuleEntry> e : this.ruleEntries.entrySet()) {
+          stringTable.id(e.getKey());
+          e.getValue().internStrings(stringTable);
+        }
+
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(this.contentHash.length);
+        out.write(this.contentHash);
+        out.writeInt(this.axiomCount);
+
+        out.writeInt(stringTable.strings.size());
+        for (String s : stringTable.strings)
+          writeString(out, s);
+
+        out.writeInt(this.ruleEntries.size());
+        for (Map.Entry<@NonNull String, @NonNull RuleEntry> e : this.ruleEntries.entrySet()) {
+          out.writeInt(stringTable.id(e.getKey()));
+          out.writeInt(e.getValue().owlapiRuleHashCode);
+          writeAtomEntries(out, stringTable, e.getValue().bodyAtomEntries);
+          writeAtomEntries(out, stringTable, e.getValue().headAtomEntries);
+        }
+      }
+      try {
+        Files.move(temporaryFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temporaryFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(temporaryFile);
+    }
+  }
+
+  /**
+   * Record the converted atoms of a rule. The atom lists must be parallel to the body and head atoms of the OWLAPI
+   * rule, in the iteration order of the rule.
+   */
+  void recordRule(@NonNull String ruleName, int owlapiRuleHashCode, @NonNull List<@NonNull SWRLAtom> bodyAtoms,
+    @NonNull List<@NonNull SWRLAtom> headAtoms)
+  {
+    this.ruleEntries.put(ruleName,
+      new RuleEntry(owlapiRuleHashCode, createAtomEntries(bodyAtoms), createAtomEntries(headAtoms)));
+  }
+
+  /**
+   * @return The recorded rule, or empty if none was recorded under the name for an identical OWLAPI rule
+   */
+  @NonNull Optional<@NonNull RuleEntry> getRuleEntry(@NonNull String ruleName, int owlapiRuleHashCode)
+  {
+    RuleEntry ruleEntry = this.ruleEntries.get(ruleName);
+
+    if (ruleEntry != null && ruleEntry.owlapiRuleHashCode == owlapiRuleHashCode)
+      return Optional.of(ruleEntry);
+    else
+      return Optional.<@NonNull RuleEntry>empty();
+  }
+
+  int getNumberOfRules()
+  {
+    return this.ruleEntries.size();
+  }
+
+  @NonNull private static MessageDigest createContentDigest()
+  {
+    try {
+      return MessageDigest.getInstance(CONTENT_HASH_ALGORITHM);
+    } catch (NoSuchAlgorithmException e) {
+      throw new SWRLAPIException("no " + CONTENT_HASH_ALGORITHM + " implementation available", e);
+    }
+  }
+
+  @NonNull private static List<@NonNull Optional<@NonNull BuiltInAtomEntry>> createAtomEntries(
+    @NonNull List<@NonNull SWRLAtom> atoms)
+  {
+    List<@NonNull Optional<@NonNull BuiltInAtomEntry>> atomEntries = new ArrayList<>(atoms.size());
+
+    for (SWRLAtom atom : atoms) {
+      if (atom instanceof SWRLAPIBuiltInAtom) {
+        SWRLAPIBuiltInAtom builtInAtom = (SWRLAPIBuiltInAtom)atom;
+        List<@NonNull SWRLBuiltInArgument> arguments = builtInAtom.getBuiltInArguments();
+        byte[] argumentTypes = new byte[arguments.size()];
+
+        for (int i = 0; i < arguments.size(); i++)
+          argumentTypes[i] = (byte)SWRLBuiltInArgumentType.VALUES
+            .indexOf(arguments.get(i).getSWRLBuiltInArgumentType());
+
+        atomEntries.add(Optional.of(
+          new BuiltInAtomEntry(builtInAtom.getBuiltInIRI().toString(), builtInAtom.getBuiltInPrefixedName(),
+            argumentTypes)));
+      } else
+        atomEntries.add(Optional.<@NonNull BuiltInAtomEntry>empty());
+    }
+    return atomEntries;
+  }
+
+  @NonNull private static List<@NonNull Optional<@NonNull BuiltInAtomEntry>> readAtomEntries(
+    @NonNull ByteBuffer buffer, @NonNull String[] strings)
+  {
+    int numberOfAtoms = buffer.getInt();
+    List<@NonNull Optional<@NonNull BuiltInAtomEntry>> atomEntries = new ArrayList<>(numberOfAtoms);
+
+    for (int i = 0; i < numberOfAtoms; i++) {
+      if (buffer.get() != 0) {
+        String builtInIRI = strings[buffer.getInt()];
+        String builtInPrefixedName = strings[buffer.getInt()];
+        byte[] argumentTypes = new byte[buffer.getInt()];
+        buffer.get(argumentTypes);
+        atomEntries.add(Optional.of(new BuiltInAtomEntry(builtInIRI, builtInPrefixedName, argumentTypes)));
+      } else
+        atomEntries.add(Optional.<@NonNull BuiltInAtomEntry>empty());
+    }
+    return atomEntries;
+  }
+
+  private static void writeAtomEntries(@NonNull DataOutputStream out, @NonNull StringTable stringTable,
+    @NonNull List<@NonNull Optional<@NonNull BuiltInAtomEntry>> atomEntries) throws IOException
+  {
+    out.writeInt(atomEntries.size());
+    for (Optional<@NonNull BuiltInAtomEntry> atomEntry : atomEntries) {
+      if (atomEntry.isPresent()) {
+        out.writeByte(1);
+        out.writeInt(stringTable.id(atomEntry.get().builtInIRI));
+        out.writeInt(stringTable.id(atomEntry.get().builtInPrefixedName));
+        out.writeInt(atomEntry.get().argumentTypes.length);
+        out.write(atomEntry.get().argumentTypes);
+      } else
+        out.writeByte(0);
+    }
+  }
+
+  @NonNull private static String readString(@NonNull ByteBuffer buffer)
+  {
+    byte[] bytes = new byte[buffer.getInt()];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static void writeString(@NonNull DataOutputStream out, @NonNull String s) throws IOException
+  {
+    byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  /**
+   * The recorded atoms of a rule, parallel to the body and head atoms of the OWLAPI rule; non-built-in atoms are
+   * unchanged by conversion and so are recorded as empty.
+   */
+  static class RuleEntry
+  {
+    private final int owlapiRuleHashCode;
+    @NonNull private final List<@NonNull Optional<@NonNull BuiltInAtomEntry>> bodyAtomEntries;
+    @NonNull private final List<@NonNull Optional<@NonNull BuiltInAtomEntry>> headAtomEntries;
+
+    RuleEntry(int owlapiRuleHashCode, @NonNull List<@NonNull Optional<@NonNull BuiltInAtomEntry>> bodyAtomEntries,
+      @NonNull List<@NonNull Optional<@NonNull BuiltInAtomEntry>> headAtomEntries)
+    {
+      this.owlapiRuleHashCode = owlapiRuleHashCode;
+      this.bodyAtomEntries = Collections.unmodifiableList(bodyAtomEntries);
+      this.headAtomEntries = Collections.unmodifiableList(headAtomEntries);
+    }
+
+    @NonNull List<@NonNull Optional<@NonNull BuiltInAtomEntry>> getBodyAtomEntries()
+    {
+      return this.bodyAtomEntries;
+    }
+
+    @NonNull List<@NonNull Optional<@NonNull BuiltInAtomEntry>> getHeadAtomEntries()
+    {
+      return this.headAtomEntries;
+    }
+
+    private void internStrings(@NonNull StringTable stringTable)
+    {
+      for (List<@NonNull Optional<@NonNull BuiltInAtomEntry>> atomEntries : Arrays
+        .asList(this.bodyAtomEntries, this.headAtomEntries)) {
+        for (Optional<@NonNull BuiltInAtomEntry> atomEntry : atomEntries) {
+          if (atomEntry.isPresent()) {
+            stringTable.id(atomEntry.get().builtInIRI);
+            stringTable.id(atomEntry.get().builtInPrefixedName);
+          }
+        }
+      }
+    }
+  }
+
+  static class BuiltInAtomEntry
+  {
+    @NonNull private final String builtInIRI;
+    @NonNull private final String builtInPrefixedName;
+    @NonNull private final byte[] argumentTypes;
+
+    BuiltInAtomEntry(@NonNull String builtInIRI, @NonNull String builtInPrefixedName, @NonNull byte[] argumentTypes)
+    {
+      this.builtInIRI = builtInIRI;
+      this.builtInPrefixedName = builtInPrefixedName;
+      this.argumentTypes = argumentTypes;
+    }
+
+    @NonNull String getBuiltInIRI()
+    {
+      return this.builtInIRI;
+    }
+
+    @NonNull String getBuiltInPrefixedName()
+    {
+      return this.builtInPrefixedName;
+    }
+
+    int getNumberOfArguments()
+    {
+      return this.argumentTypes.length;
+    }
+
+    /**
+     * @return The argument type, or empty if the recorded type is unknown to this version
+     */
+    @NonNull Optional<@NonNull SWRLBuiltInArgumentType<?>> getArgumentType(int argumentNumber)
+    {
+      int typeIndex = this.argumentTypes[argumentNumber];
+
+      if (typeIndex >= 0 && typeIndex < SWRLBuiltInArgumentType.VALUES.size())
+        return Optional.of(SWRLBuiltInArgumentType.VALUES.get(typeIndex));
+      else
+        return Optional.<@NonNull SWRLBuiltInArgumentType<?>>empty();
+    }
+  }
+
+  private static class StringTable
+  {
+    @NonNull private final List<@NonNull String> strings = new ArrayList<>();
+    @NonNull private final Map<@NonNull String, @NonNull Integer> ids = new HashMap<>();
+
+    int id(@NonNull String s)
+    {
+      Integer id = this.ids.get(s);
+
+      if (id == null) {
+        id = this.strings.size();
+        this.strings.add(s);
+        this.ids.put(s, id);
+      }
+      return id;
+    }
+  }
+}
@@ -0,0 +1,137 @@
+package org.swrlapi.factory;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.parameters.Imports;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cardinality statistics for the asserted ABox of an ontology and its imports. These statistics are instances per
+ * class, plus assertions and distinct subjects and objects per property. They are used to estimate the cost of rule
+ * body atoms.
+ *
+ * @see SWRLRuleBodyAtomOrderer
+ */
+final class SWRLAPIOntologyStatistics
+{
+  @NonNull private final Map<@NonNull OWLClass, @NonNull Integer> classInstanceCounts;
+  @NonNull private final Map<@NonNull OWLEntity, @NonNull PropertyStatistics> propertyStatistics;
+  private final int numberOfIndividuals;
+
+  private SWRLAPIOntologyStatistics(@NonNull Map<@NonNull OWLClass, @NonNull Integer> classInstanceCounts,
+    @NonNull Map<@NonNull OWLEntity, @NonNull PropertyStatistics> propertyStatistics, int numberOfIndividuals)
+  {
+    this.classInstanceCounts = classInstanceCounts;
+    this.propertyStatistics = propertyStatistics;
+    this.numberOfIndividuals = numberOfIndividuals;
+  }
+
+  @NonNull public static SWRLAPIOntologyStatistics create(@NonNull OWLOntology ontology)
+  {
+    Map<@NonNull OWLClass, @NonNull Integer> classInstanceCounts = new HashMap<>();
+    Map<@NonNull OWLEntity, @NonNull PropertyStatisticsBuilder> builders = new HashMap<>();
+
+    for (OWLClassAssertionAxiom axiom : ontology.getAxioms(AxiomType.CLASS_ASSERTION, Imports.INCLUDED)) {
+      if (!axiom.getClassExpression().isAnonymous())
+        classInstanceCounts.merge(axiom.getClassExpression().asOWLClass(), 1, Integer::sum);
+    }
+
+    for (OWLObjectPropertyAssertionAxiom axiom : ontology
+      .getAxioms(AxiomType.OBJECT_PROPERTY_ASSERTION, Imports.INCLUDED)) {
+      if (!axiom.getProperty().isAnonymous())
+        builders.computeIfAbsent(axiom.getProperty().asOWLObjectProperty(), p -> new PropertyStatisticsBuilder())
+          .add(axiom.getSubject(), axiom.getObject());
+    }
+
+    for (OWLDataPropertyAssertionAxiom axiom : ontology
+      .getAxioms(AxiomType.DATA_PROPERTY_ASSERTION, Imports.INCLUDED)) {
+      if (!axiom.getProperty().isAnonymous())
+        builders.computeIfAbsent(axiom.getProperty().asOWLDataProperty(), p -> new PropertyStatisticsBuilder())
+          .add(axiom.getSubject(), axiom.getObject());
+    }
+
+    Map<@NonNull OWLEntity, @NonNull PropertyStatistics> propertyStatistics = new HashMap<>();
+    builders.forEach((property, builder) -> propertyStatistics.put(property, builder.build()));
+
+    return new SWRLAPIOntologyStatistics(classInstanceCounts, propertyStatistics,
+      ontology.getIndividualsInSignature(Imports.INCLUDED).size());
+  }
+
+  public int getNumberOfIndividuals()
+  {
+    return this.numberOfIndividuals;
+  }
+
+  public int getNumberOfInstances(@NonNull OWLClass cls)
+  {
+    if (cls.isOWLThing())
+      return this.numberOfIndividuals;
+    else
+      return this.classInstanceCounts.getOrDefault(cls, 0);
+  }
+
+  public int getNumberOfAssertions(@NonNull OWLEntity property)
+  {
+    PropertyStatistics statistics = this.propertyStatistics.get(property);
+
+    return statistics == null ? 0 : statistics.numberOfAssertions;
+  }
+
+  public int getNumberOfDistinctSubjects(@NonNull OWLEntity property)
+  {
+    PropertyStatistics statistics = this.propertyStatistics.get(property);
+
+    return statistics == null ? 0 : statistics.numberOfDistinctSubjects;
+  }
+
+  public int getNumberOfDistinctObjects(@NonNull OWLEntity property)
+  {
+    PropertyStatistics statistics = this.propertyStatistics.get(property);
+
+    return statistics == null ? 0 : statistics.numberOfDistinctObjects;
+  }
+
+  private static class PropertyStatistics
+  {
+    private final int numberOfAssertions;
+    private final int numberOfDistinctSubjects;
+    private final int numberOfDistinctObjects;
+
+    PropertyStatistics(int numberOfAssertions, int numberOfDistinctSubjects, int numberOfDistinctObjects)
+    {
+      this.numberOfAssertions = numberOfAssertions;
+      this.numberOfDistinctSubjects = numberOfDistinctSubjects;
+      this.numberOfDistinctObjects = numberOfDistinctObjects;
+    }
+  }
+
+  private static class PropertyStatisticsBuilder
+  {
+    @NonNull private final Set<@NonNull OWLObject> subjects = new HashSet<>();
+    @NonNull private final Set<@NonNull OWLObject> objects = new HashSet<>();
+    private int numberOfAssertions;
+
+    void add(@NonNull OWLObject subject, @NonNull OWLObject object)
+    {
+      this.subjects.add(subject);
+      this.objects.add(object);
+      this.numberOfAssertions++;
+    }
+
+    @NonNull PropertyStatistics build()
+    {
+      return new PropertyStatistics(this.numberOfAssertions, this.subjects.size(), this.objects.size());
+    }
+  }
+}
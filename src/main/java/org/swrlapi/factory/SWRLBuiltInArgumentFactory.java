@@ -15,11 +15,13 @@ import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
 import org.swrlapi.builtins.arguments.SQWRLCollectionVariableBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLAnnotationPropertyBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgumentList;
 import org.swrlapi.builtins.arguments.SWRLClassBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLClassExpressionBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLDataPropertyBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLDataPropertyExpressionBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLDatatypeBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLListBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLLiteralBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLMultiValueVariableBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLNamedIndividualBuiltInArgument;
@@ -67,6 +69,17 @@ public interface SWRLBuiltInArgumentFactory
    */
   @NonNull SWRLClassExpressionBuiltInArgument getClassExpressionBuiltInArgument(@NonNull OWLClassExpression ce);
 
+  /**
+   * By default this method returns the SWRLAPI's own list argument implementation.
+   *
+   * @param list A list of built-in arguments
+   * @return A list built-in argument
+   */
+  @NonNull default SWRLListBuiltInArgument getListBuiltInArgument(@NonNull SWRLBuiltInArgumentList list)
+  {
+    return new DefaultSWRLListBuiltInArgument(list);
+  }
+
   /**
    * @param individual An OWL individual
    * @return A built-in argument
@@ -112,6 +125,76 @@ public interface SWRLBuiltInArgumentFactory
    */
   @NonNull SWRLDatatypeBuiltInArgument getDatatypeBuiltInArgument(@NonNull OWLDatatype datatype);
 
+  /**
+   * Canonical arguments are interned per factory, so every call with the same class returns the same instance and
+   * canonical arguments compare by a small integer ID rather than by IRI. They are created when rules are converted or
+   * parsed and are shared, so {@link SWRLBuiltInArgument#setBoundVariableName(String)} may not be called on them; use
+   * {@link #getClassBuiltInArgument(OWLClass)} for arguments that will be bound.
+   * <p>
+   * By default this method returns an argument from {@link #getClassBuiltInArgument(OWLClass)}, which is not interned.
+   *
+   * @param cls An OWL class
+   * @return The canonical built-in argument for the class
+   */
+  @NonNull default SWRLClassBuiltInArgument getCanonicalClassBuiltInArgument(@NonNull OWLClass cls)
+  {
+    return getClassBuiltInArgument(cls);
+  }
+
+  /**
+   * @param individual An OWL named individual
+   * @return The canonical built-in argument for the individual
+   * @see #getCanonicalClassBuiltInArgument(OWLClass)
+   */
+  @NonNull default SWRLNamedIndividualBuiltInArgument getCanonicalNamedIndividualBuiltInArgument(
+    @NonNull OWLNamedIndividual individual)
+  {
+    return getNamedIndividualBuiltInArgument(individual);
+  }
+
+  /**
+   * @param property An OWL object property
+   * @return The canonical built-in argument for the property
+   * @see #getCanonicalClassBuiltInArgument(OWLClass)
+   */
+  @NonNull default SWRLObjectPropertyBuiltInArgument getCanonicalObjectPropertyBuiltInArgument(
+    @NonNull OWLObjectProperty property)
+  {
+    return getObjectPropertyBuiltInArgument(property);
+  }
+
+  /**
+   * @param property An OWL data property
+   * @return The canonical built-in argument for the property
+   * @see #getCanonicalClassBuiltInArgument(OWLClass)
+   */
+  @NonNull default SWRLDataPropertyBuiltInArgument getCanonicalDataPropertyBuiltInArgument(
+    @NonNull OWLDataProperty property)
+  {
+    return getDataPropertyBuiltInArgument(property);
+  }
+
+  /**
+   * @param property An OWL annotation property
+   * @return The canonical built-in argument for the property
+   * @see #getCanonicalClassBuiltInArgument(OWLClass)
+   */
+  @NonNull default SWRLAnnotationPropertyBuiltInArgument getCanonicalAnnotationPropertyBuiltInArgument(
+    @NonNull OWLAnnotationProperty property)
+  {
+    return getAnnotationPropertyBuiltInArgument(property);
+  }
+
+  /**
+   * @param datatype An OWL datatype
+   * @return The canonical built-in argument for the datatype
+   * @see #getCanonicalClassBuiltInArgument(OWLClass)
+   */
+  @NonNull default SWRLDatatypeBuiltInArgument getCanonicalDatatypeBuiltInArgument(@NonNull OWLDatatype datatype)
+  {
+    return getDatatypeBuiltInArgument(datatype);
+  }
+
   /**
    * @param literal An OWL literal
    * @return A built-in argument
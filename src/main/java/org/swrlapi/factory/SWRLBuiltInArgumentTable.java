@@ -0,0 +1,53 @@
+package org.swrlapi.factory;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.OWLEntity;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Flyweight table mapping each OWL entity used as a built-in argument to a small integer ID and a single canonical
+ * {@link DefaultSWRLNamedBuiltInArgument}. Arguments interned in the same table compare by ID, so equality checks on
+ * rule and built-in arguments do not need to compare IRIs.
+ * <p>
+ * One table is held by each {@link DefaultSWRLBuiltInArgumentFactory}, and so by each SWRLAPI ontology.
+ *
+ * @see SWRLBuiltInArgumentFactory#getCanonicalClassBuiltInArgument(org.semanticweb.owlapi.model.OWLClass)
+ */
+final class SWRLBuiltInArgumentTable
+{
+  @NonNull private final ConcurrentMap<@NonNull OWLEntity, @NonNull DefaultSWRLNamedBuiltInArgument> arguments;
+  @NonNull private final AtomicInteger nextEntityID;
+
+  public SWRLBuiltInArgumentTable()
+  {
+    this.arguments = new ConcurrentHashMap<>();
+    this.nextEntityID = new AtomicInteger();
+  }
+
+  /**
+   * @param entity          An OWL entity
+   * @param argumentClass   The argument class for the entity's type
+   * @param argumentCreator Creates the canonical argument given the entity's newly assigned ID
+   * @return The canonical argument for the entity
+   */
+  @NonNull <T extends DefaultSWRLNamedBuiltInArgument> T intern(@NonNull OWLEntity entity,
+    @NonNull Class<T> argumentClass, @NonNull IntFunction<@NonNull T> argumentCreator)
+  {
+    DefaultSWRLNamedBuiltInArgument argument = this.arguments.get(entity);
+
+    if (argument == null)
+      argument = this.arguments
+        .computeIfAbsent(entity, e -> argumentCreator.apply(this.nextEntityID.getAndIncrement()));
+
+    return argumentClass.cast(argument);
+  }
+
+  public int getNumberOfEntities()
+  {
+    return this.arguments.size();
+  }
+}
@@ -0,0 +1,201 @@
+package org.swrlapi.factory;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLPropertyExpression;
+import org.semanticweb.owlapi.model.SWRLArgument;
+import org.semanticweb.owlapi.model.SWRLAtom;
+import org.semanticweb.owlapi.model.SWRLBinaryAtom;
+import org.semanticweb.owlapi.model.SWRLClassAtom;
+import org.semanticweb.owlapi.model.SWRLDataPropertyAtom;
+import org.semanticweb.owlapi.model.SWRLObjectPropertyAtom;
+import org.semanticweb.owlapi.model.SWRLVariable;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.core.SWRLAPIBuiltInAtom;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Orders the body atoms of a rule for evaluation by a rule engine.
+ * <p>
+ * Non-built-in atoms are ordered greedily. At each step the atom with the smallest estimated number of bindings is
+ * chosen. The estimate uses {@link SWRLAPIOntologyStatistics} and the variables bound by the atoms placed so far. Each
+ * pure filter built-in is placed immediately after the atom that binds its last input variable. A pure filter is a
+ * side-effect-free built-in whose variable arguments are all bound.
+ * <p>
+ * All other built-ins follow the non-built-in atoms in their original relative order, so built-ins that bind
+ * arguments, SQWRL built-ins and built-ins with side effects see the same bindings as before. The same holds for
+ * filters that depend on a variable bound by one of those built-ins.
+ *
+ * @see DefaultSWRLAPIRule#getBodyAtomsInEvaluationOrder()
+ */
+final class SWRLRuleBodyAtomOrderer
+{
+  // Libraries whose built-ins have no side effects and can be evaluated as soon as their arguments are bound
+  private static final Set<@NonNull String> PURE_BUILT_IN_PREFIXES = Collections
+    .unmodifiableSet(new HashSet<>(Arrays.asList("swrlb", "swrlm", "temporal", "tbox", "abox", "rbox")));
+
+  @NonNull private final SWRLAPIOntologyStatistics statistics;
+
+  public SWRLRuleBodyAtomOrderer(@NonNull SWRLAPIOntologyStatistics statistics)
+  {
+    this.statistics = statistics;
+  }
+
+  @NonNull public List<@NonNull SWRLAtom> order(@NonNull List<@NonNull SWRLAtom> bodyAtoms)
+  {
+    List<@NonNull SWRLAtom> orderedAtoms = new ArrayList<>(bodyAtoms.size());
+    List<@NonNull SWRLAtom> remainingNonBuiltInAtoms = new ArrayList<>();
+    List<@NonNull SWRLAPIBuiltInAtom> pendingFilterAtoms = new ArrayList<>();
+    Set<@NonNull SWRLAtom> placedAtoms = Collections.newSetFromMap(new IdentityHashMap<>());
+    Set<@NonNull IRI> boundVariableIRIs = new HashSet<>();
+
+    for (SWRLAtom atom : bodyAtoms) {
+      if (!(atom instanceof SWRLAPIBuiltInAtom))
+        remainingNonBuiltInAtoms.add(atom);
+      else if (isPureFilter((SWRLAPIBuiltInAtom)atom))
+        pendingFilterAtoms.add((SWRLAPIBuiltInAtom)atom);
+    }
+
+    placeReadyFilterAtoms(pendingFilterAtoms, boundVariableIRIs, orderedAtoms, placedAtoms);
+
+    while (!remainingNonBuiltInAtoms.isEmpty()) {
+      SWRLAtom cheapestAtom = remainingNonBuiltInAtoms.get(0);
+      double cheapestCost = estimateBindings(cheapestAtom, boundVariableIRIs);
+
+      for (SWRLAtom atom : remainingNonBuiltInAtoms) {
+        double cost = estimateBindings(atom, boundVariableIRIs);
+        if (cost < cheapestCost) {
+          cheapestAtom = atom;
+          cheapestCost = cost;
+        }
+      }
+
+      remainingNonBuiltInAtoms.remove(cheapestAtom);
+      orderedAtoms.add(cheapestAtom);
+      placedAtoms.add(cheapestAtom);
+      boundVariableIRIs.addAll(getVariableIRIs(cheapestAtom));
+      placeReadyFilterAtoms(pendingFilterAtoms, boundVariableIRIs, orderedAtoms, placedAtoms);
+    }
+
+    for (SWRLAtom atom : bodyAtoms) { // Remaining built-ins keep their relative order
+      if (!placedAtoms.contains(atom))
+        orderedAtoms.add(atom);
+    }
+
+    return orderedAtoms;
+  }
+
+  /**
+   * Estimate the number of bindings produced per incoming binding when the atom is evaluated with the given variables
+   * already bound. Values below one indicate that the atom filters.
+   */
+  private double estimateBindings(@NonNull SWRLAtom atom, @NonNull Set<@NonNull IRI> boundVariableIRIs)
+  {
+    double numberOfIndividuals = Math.max(this.statistics.getNumberOfIndividuals(), 1);
+
+    if (atom instanceof SWRLClassAtom) {
+      SWRLClassAtom classAtom = (SWRLClassAtom)atom;
+      OWLClassExpression ce = classAtom.getPredicate();
+      double numberOfInstances = ce.isAnonymous() ?
+        numberOfIndividuals :
+        this.statistics.getNumberOfInstances(ce.asOWLClass());
+
+      return isBound(classAtom.getArgument(), boundVariableIRIs) ?
+        numberOfInstances / numberOfIndividuals :
+        numberOfInstances;
+    } else if (atom instanceof SWRLObjectPropertyAtom || atom instanceof SWRLDataPropertyAtom) {
+      SWRLBinaryAtom<?, ?> propertyAtom = (SWRLBinaryAtom<?, ?>)atom;
+      OWLPropertyExpression propertyExpression = (OWLPropertyExpression)propertyAtom.getPredicate();
+      boolean subjectBound = isBound(propertyAtom.getFirstArgument(), boundVariableIRIs);
+      boolean objectBound = isBound(propertyAtom.getSecondArgument(), boundVariableIRIs);
+      double numberOfAssertions, distinctSubjects, distinctObjects;
+
+      if (propertyExpression.isAnonymous()) {
+        numberOfAssertions = distinctSubjects = distinctObjects = numberOfIndividuals;
+      } else {
+        OWLEntity property = (OWLEntity)propertyExpression; // Named properties are entities
+        numberOfAssertions = this.statistics.getNumberOfAssertions(property);
+        distinctSubjects = Math.max(this.statistics.getNumberOfDistinctSubjects(property), 1);
+        distinctObjects = Math.max(this.statistics.getNumberOfDistinctObjects(property), 1);
+      }
+
+      if (subjectBound && objectBound)
+        return numberOfAssertions / (distinctSubjects * distinctObjects);
+      else if (subjectBound)
+        return numberOfAssertions / distinctSubjects;
+      else if (objectBound)
+        return numberOfAssertions / distinctObjects;
+      else
+        return numberOfAssertions;
+    } else { // Same as, different from and data range atoms range over all individuals for each unbound variable
+      int numberOfUnboundVariables = 0;
+      for (IRI variableIRI : getVariableIRIs(atom))
+        if (!boundVariableIRIs.contains(variableIRI))
+          numberOfUnboundVariables++;
+
+      return Math.pow(numberOfIndividuals, numberOfUnboundVariables);
+    }
+  }
+
+  private void placeReadyFilterAtoms(@NonNull List<@NonNull SWRLAPIBuiltInAtom> pendingFilterAtoms,
+    @NonNull Set<@NonNull IRI> boundVariableIRIs, @NonNull List<@NonNull SWRLAtom> orderedAtoms,
+    @NonNull Set<@NonNull SWRLAtom> placedAtoms)
+  {
+    Iterator<@NonNull SWRLAPIBuiltInAtom> iterator = pendingFilterAtoms.iterator();
+
+    while (iterator.hasNext()) {
+      SWRLAPIBuiltInAtom filterAtom = iterator.next();
+      if (boundVariableIRIs.containsAll(getVariableIRIs(filterAtom))) {
+        orderedAtoms.add(filterAtom);
+        placedAtoms.add(filterAtom);
+        iterator.remove();
+      }
+    }
+  }
+
+  private static boolean isPureFilter(@NonNull SWRLAPIBuiltInAtom builtInAtom)
+  {
+    String prefixedName = builtInAtom.getBuiltInPrefixedName();
+    int colonIndex = prefixedName.indexOf(':');
+
+    if (colonIndex == -1 || !PURE_BUILT_IN_PREFIXES.contains(prefixedName.substring(0, colonIndex)))
+      return false;
+
+    for (SWRLBuiltInArgument argument : builtInAtom.getBuiltInArguments()) {
+      if (argument.isVariable() && argument.asVariable().isUnbound())
+        return false;
+    }
+    return true;
+  }
+
+  private static boolean isBound(@NonNull SWRLArgument argument, @NonNull Set<@NonNull IRI> boundVariableIRIs)
+  {
+    return !(argument instanceof SWRLVariable) || boundVariableIRIs.contains(((SWRLVariable)argument).getIRI());
+  }
+
+  @NonNull private static Set<@NonNull IRI> getVariableIRIs(@NonNull SWRLAtom atom)
+  {
+    Set<@NonNull IRI> variableIRIs = new HashSet<>();
+
+    if (atom instanceof SWRLAPIBuiltInAtom) {
+      for (SWRLBuiltInArgument argument : ((SWRLAPIBuiltInAtom)atom).getBuiltInArguments())
+        if (argument.isVariable())
+          variableIRIs.add(argument.asVariable().getIRI());
+    } else {
+      for (SWRLArgument argument : atom.getAllArguments())
+        if (argument instanceof SWRLVariable)
+          variableIRIs.add(((SWRLVariable)argument).getIRI());
+    }
+    return variableIRIs;
+  }
+}
@@ -0,0 +1,437 @@
+package org.swrlapi.factory;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.ClassExpressionType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLDataPropertyExpression;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.SWRLAtom;
+import org.semanticweb.owlapi.model.SWRLClassAtom;
+import org.semanticweb.owlapi.model.SWRLDataPropertyAtom;
+import org.semanticweb.owlapi.model.SWRLDataRangeAtom;
+import org.semanticweb.owlapi.model.SWRLDifferentIndividualsAtom;
+import org.semanticweb.owlapi.model.SWRLObjectPropertyAtom;
+import org.semanticweb.owlapi.model.SWRLSameIndividualAtom;
+import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
+import org.swrlapi.core.SWRLAPIBuiltInAtom;
+import org.swrlapi.core.SWRLAPIRule;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * A dependency graph over the predicates of a set of SWRL rules, used to find the rules that must be re-run when the
+ * asserted facts of some predicates change.
+ * <p>
+ * The predicates are named classes, object and data properties, <code>owl:sameAs</code> and
+ * <code>owl:differentFrom</code>. Each rule adds an edge from every predicate in its body to every predicate in its
+ * head. OWL 2 RL entailments are approximated by linking all predicates in the signature of each schema axiom in both
+ * directions, and axioms that can entail <code>owl:sameAs</code>, such as functional property axioms, also link their
+ * predicates to <code>owl:sameAs</code>. The graph is condensed into its strongly connected components, and each
+ * component is given a stratum one higher than that of any component it depends on.
+ * <p>
+ * A change to <code>owl:sameAs</code> may affect the facts of every predicate, so no selective execution is possible
+ * when it is affected. The same holds for rules with anonymous class atoms or built-ins outside the <code>swrlb</code>,
+ * <code>swrlm</code> and <code>sqwrl</code> libraries, whose inputs cannot be determined from their atoms.
+ *
+ * @see DefaultSWRLRuleAndQueryEngine#infer()
+ */
+final class SWRLRuleDependencyGraph
+{
+  // Libraries whose built-ins compute their results from their arguments only
+  private static final Set<@NonNull String> ARGUMENT_ONLY_BUILT_IN_PREFIXES = Collections
+    .unmodifiableSet(new HashSet<>(Arrays.asList("swrlb", "swrlm", "sqwrl")));
+
+  private static final Set<@NonNull AxiomType<?>> SAME_AS_ENTAILING_AXIOM_TYPES = Collections.unmodifiableSet(
+    new HashSet<>(Arrays.asList(AxiomType.FUNCTIONAL_OBJECT_PROPERTY, AxiomType.INVERSE_FUNCTIONAL_OBJECT_PROPERTY,
+      AxiomType.FUNCTIONAL_DATA_PROPERTY, AxiomType.HAS_KEY)));
+
+  private static final Set<@NonNull ClassExpressionType> SAME_AS_ENTAILING_CLASS_EXPRESSION_TYPES = Collections
+    .unmodifiableSet(EnumSet
+      .of(ClassExpressionType.OBJECT_MAX_CARDINALITY, ClassExpressionType.OBJECT_EXACT_CARDINALITY,
+        ClassExpressionType.DATA_MAX_CARDINALITY, ClassExpressionType.DATA_EXACT_CARDINALITY));
+
+  static final IRI SAME_AS = OWLRDFVocabulary.OWL_SAME_AS.getIRI();
+  static final IRI DIFFERENT_FROM = OWLRDFVocabulary.OWL_DIFFERENT_FROM.getIRI();
+
+  @NonNull private final Map<@NonNull SWRLAPIRule, @NonNull RulePredicates> rulePredicates = new LinkedHashMap<>();
+  @NonNull private final Map<@NonNull IRI, @NonNull Integer> predicateIndexes = new HashMap<>();
+  @NonNull private final List<@NonNull Set<@NonNull Integer>> successors = new ArrayList<>();
+  @NonNull private final List<@NonNull Set<@NonNull Integer>> predecessors = new ArrayList<>();
+  @NonNull private final List<@NonNull Set<@NonNull Integer>> schemaNeighbours = new ArrayList<>();
+  @NonNull private final List<@NonNull IRI> predicates = new ArrayList<>();
+  private final boolean hasOpaqueRules;
+
+  // Components are numbered in reverse topological order, so the inputs of a component have higher numbers
+  @NonNull private final int[] components;
+  @NonNull private final List<@NonNull Set<@NonNull Integer>> componentSuccessors = new ArrayList<>();
+  @NonNull private final int[] componentStrata;
+
+  /**
+   * @param rules   The active rules to be run
+   * @param axioms  The OWL axioms the rules are run against; only schema axioms are used
+   */
+  public SWRLRuleDependencyGraph(@NonNull Collection<@NonNull SWRLAPIRule> rules,
+    @NonNull Collection<@NonNull OWLAxiom> axioms)
+  {
+    boolean hasOpaqueRules = false;
+
+    for (SWRLAPIRule rule : rules) {
+      Optional<@NonNull Set<@NonNull IRI>> bodyPredicates = getPredicates(rule.getBodyAtoms());
+      Optional<@NonNull Set<@NonNull IRI>> headPredicates = getPredicates(rule.getHeadAtoms());
+
+      if (bodyPredicates.isPresent() && headPredicates.isPresent()) {
+        this.rulePredicates.put(rule, new RulePredicates(bodyPredicates.get(), headPredicates.get()));
+        headPredicates.get().forEach(this::getPredicateIndex);
+        for (IRI bodyPredicate : bodyPredicates.get()) {
+          int bodyPredicateIndex = getPredicateIndex(bodyPredicate);
+          for (IRI headPredicate : headPredicates.get())
+            addEdge(bodyPredicateIndex, getPredicateIndex(headPredicate));
+        }
+      } else
+        hasOpaqueRules = true;
+    }
+    this.hasOpaqueRules = hasOpaqueRules;
+
+    for (OWLAxiom axiom : axioms) {
+      if (axiom.isOfType(AxiomType.TBoxAndRBoxAxiomTypes))
+        addSchemaAxiom(axiom);
+    }
+
+    this.components = new int[this.predicates.size()];
+    int numberOfComponents = findComponents();
+    this.componentStrata = new int[numberOfComponents];
+
+    for (int component = 0; component < numberOfComponents; component++)
+      this.componentSuccessors.add(new HashSet<>());
+    for (int predicate = 0; predicate < this.predicates.size(); predicate++)
+      for (int successor : this.successors.get(predicate))
+        if (this.components[successor] != this.components[predicate])
+          this.componentSuccessors.get(this.components[predicate]).add(this.components[successor]);
+
+    for (int component = numberOfComponents - 1; component >= 0; component--)
+      for (int successor : this.componentSuccessors.get(component))
+        this.componentStrata[successor] = Math
+          .max(this.componentStrata[successor], this.componentStrata[component] + 1);
+  }
+
+  /**
+   * @param axiom An OWL axiom
+   * @return The predicate of a class, object property or data property assertion of a named entity; empty for any
+   * other axiom
+   */
+  @NonNull public static Optional<@NonNull IRI> getAssertedPredicate(@NonNull OWLAxiom axiom)
+  {
+    if (axiom instanceof OWLClassAssertionAxiom) {
+      OWLClassExpression classExpression = ((OWLClassAssertionAxiom)axiom).getClassExpression();
+      return classExpression.isAnonymous() ?
+        Optional.<@NonNull IRI>empty() :
+        Optional.of(classExpression.asOWLClass().getIRI());
+    } else if (axiom instanceof OWLObjectPropertyAssertionAxiom)
+      return Optional.of(((OWLObjectPropertyAssertionAxiom)axiom).getProperty().getNamedProperty().getIRI());
+    else if (axiom instanceof OWLDataPropertyAssertionAxiom)
+      return Optional.of(((OWLDataPropertyAssertionAxiom)axiom).getProperty().asOWLDataProperty().getIRI());
+    else
+      return Optional.<@NonNull IRI>empty();
+  }
+
+  /**
+   * @param predicate A predicate
+   * @return The stratum of the predicate; predicates that appear in no rule or schema axiom are in stratum 0
+   */
+  public int getStratum(@NonNull IRI predicate)
+  {
+    Integer index = this.predicateIndexes.get(predicate);
+
+    return index == null ? 0 : this.componentStrata[this.components[index]];
+  }
+
+  /**
+   * @param rule A rule
+   * @return The highest stratum of the predicates in the rule's head
+   */
+  public int getStratum(@NonNull SWRLAPIRule rule)
+  {
+    RulePredicates predicates = this.rulePredicates.get(rule);
+
+    return predicates == null ? 0 : predicates.head.stream().mapToInt(this::getStratum).max().orElse(0);
+  }
+
+  /**
+   * @param changedPredicates The predicates whose asserted facts changed
+   * @return The rules that read a predicate affected by the change, ordered by stratum, or empty if all rules must be
+   * run
+   */
+  @NonNull public Optional<@NonNull List<@NonNull SWRLAPIRule>> getAffectedRules(
+    @NonNull Set<@NonNull IRI> changedPredicates)
+  {
+    if (this.hasOpaqueRules || changedPredicates.contains(SAME_AS))
+      return Optional.<@NonNull List<@NonNull SWRLAPIRule>>empty();
+
+    boolean[] affectedComponents = new boolean[this.componentStrata.length];
+
+    for (IRI predicate : changedPredicates) {
+      Integer index = this.predicateIndexes.get(predicate);
+      if (index != null)
+        affectedComponents[this.components[index]] = true;
+    }
+
+    for (int component = affectedComponents.length - 1; component >= 0; component--)
+      if (affectedComponents[component])
+        for (int successor : this.componentSuccessors.get(component))
+          affectedComponents[successor] = true;
+
+    Integer sameAsIndex = this.predicateIndexes.get(SAME_AS);
+    if (sameAsIndex != null && affectedComponents[this.components[sameAsIndex]])
+      return Optional.<@NonNull List<@NonNull SWRLAPIRule>>empty();
+
+    List<@NonNull SWRLAPIRule> affectedRules = new ArrayList<>();
+
+    this.rulePredicates.forEach((rule, predicates) -> {
+      if (predicates.body.stream().anyMatch(p -> affectedComponents[this.components[this.predicateIndexes.get(p)]]))
+        affectedRules.add(rule);
+    });
+    affectedRules.sort(Comparator.comparingInt(this::getStratum));
+
+    return Optional.of(affectedRules);
+  }
+
+  /**
+   * The facts of a changed predicate are needed even if no rule reads it, because OWL 2 RL entailments of the new facts
+   * may combine them with existing facts of the same predicate or of predicates linked to it by schema axioms. The
+   * same holds for the facts the rules derive, so the predicates in their heads are included too.
+   *
+   * @param changedPredicates The predicates whose asserted facts changed
+   * @param rules             Rules from this graph
+   * @return The predicates whose facts are needed to recompute the consequences of the change: the changed predicates,
+   * those in the bodies and heads of the rules, and those linked to any of them by schema axioms
+   */
+  @NonNull public Set<@NonNull IRI> getInputPredicates(@NonNull Set<@NonNull IRI> changedPredicates,
+    @NonNull Collection<@NonNull SWRLAPIRule> rules)
+  {
+    Set<@NonNull IRI> inputPredicates = new HashSet<>(changedPredicates);
+    Set<@NonNull Integer> visitedPredicates = new HashSet<>();
+    Deque<@NonNull Integer> pendingPredicates = new ArrayDeque<>();
+
+    for (SWRLAPIRule rule : rules) {
+      RulePredicates predicates = this.rulePredicates.get(rule);
+      if (predicates != null) {
+        inputPredicates.addAll(predicates.body);
+        inputPredicates.addAll(predicates.head);
+      }
+    }
+
+    for (IRI predicate : inputPredicates) {
+      Integer index = this.predicateIndexes.get(predicate);
+      if (index != null && visitedPredicates.add(index))
+        pendingPredicates.add(index);
+    }
+
+    while (!pendingPredicates.isEmpty())
+      for (int neighbour : this.schemaNeighbours.get(pendingPredicates.remove()))
+        if (visitedPredicates.add(neighbour))
+          pendingPredicates.add(neighbour);
+
+    visitedPredicates.stream().map(this.predicates::get).forEach(inputPredicates::add);
+
+    return inputPredicates;
+  }
+
+  /**
+   * @param query A SQWRL query
+   * @return The predicates whose facts can change the result of the query: those in its body and every predicate they
+   * depend on; empty if the result may depend on any predicate
+   */
+  @NonNull public Optional<@NonNull Set<@NonNull IRI>> getQueryDependencies(@NonNull SWRLAPIRule query)
+  {
+    Optional<@NonNull Set<@NonNull IRI>> bodyPredicates = getPredicates(query.getBodyAtoms());
+
+    if (this.hasOpaqueRules || !bodyPredicates.isPresent())
+      return Optional.<@NonNull Set<@NonNull IRI>>empty();
+
+    Set<@NonNull IRI> dependencies = new HashSet<>(bodyPredicates.get());
+    Deque<@NonNull Integer> pendingPredicates = new ArrayDeque<>();
+
+    for (IRI predicate : bodyPredicates.get()) {
+      Integer index = this.predicateIndexes.get(predicate);
+      if (index != null)
+        pendingPredicates.add(index);
+    }
+
+    while (!pendingPredicates.isEmpty())
+      for (int predecessor : this.predecessors.get(pendingPredicates.remove()))
+        if (dependencies.add(this.predicates.get(predecessor)))
+          pendingPredicates.add(predecessor);
+
+    if (dependencies.contains(SAME_AS)) // Equal individuals share the facts of every predicate
+      return Optional.<@NonNull Set<@NonNull IRI>>empty();
+
+    return Optional.of(dependencies);
+  }
+
+  private void addEdge(int predicate, int successor)
+  {
+    this.successors.get(predicate).add(successor);
+    this.predecessors.get(successor).add(predicate);
+  }
+
+  private void addSchemaAxiom(@NonNull OWLAxiom axiom)
+  {
+    List<@NonNull IRI> signature = new ArrayList<>();
+
+    axiom.getClassesInSignature().stream().map(OWLEntity::getIRI).forEach(signature::add);
+    axiom.getObjectPropertiesInSignature().stream().map(OWLEntity::getIRI).forEach(signature::add);
+    axiom.getDataPropertiesInSignature().stream().map(OWLEntity::getIRI).forEach(signature::add);
+
+    if (SAME_AS_ENTAILING_AXIOM_TYPES.contains(axiom.getAxiomType()) || axiom.getNestedClassExpressions().stream()
+      .anyMatch(ce -> SAME_AS_ENTAILING_CLASS_EXPRESSION_TYPES.contains(ce.getClassExpressionType())))
+      signature.add(SAME_AS);
+
+    for (int i = 1; i < signature.size(); i++) { // A chain of links in both directions puts them in one component
+      int previous = getPredicateIndex(signature.get(i - 1)), current = getPredicateIndex(signature.get(i));
+      addEdge(previous, current);
+      addEdge(current, previous);
+      this.schemaNeighbours.get(previous).add(current);
+      this.schemaNeighbours.get(current).add(previous);
+    }
+  }
+
+  /**
+   * @return The predicates of the atoms, or empty if an atom's inputs or outputs cannot be determined
+   */
+  @NonNull private static Optional<@NonNull Set<@NonNull IRI>> getPredicates(@NonNull List<@NonNull SWRLAtom> atoms)
+  {
+    Set<@NonNull IRI> predicates = new HashSet<>();
+
+    for (SWRLAtom atom : atoms) {
+      if (atom instanceof SWRLClassAtom) {
+        OWLClassExpression classExpression = ((SWRLClassAtom)atom).getPredicate();
+        if (classExpression.isAnonymous())
+          return Optional.<@NonNull Set<@NonNull IRI>>empty();
+        predicates.add(classExpression.asOWLClass().getIRI());
+      } else if (atom instanceof SWRLObjectPropertyAtom)
+        predicates.add(((SWRLObjectPropertyAtom)atom).getPredicate().getNamedProperty().getIRI());
+      else if (atom instanceof SWRLDataPropertyAtom) {
+        OWLDataPropertyExpression property = ((SWRLDataPropertyAtom)atom).getPredicate();
+        predicates.add(property.asOWLDataProperty().getIRI());
+      } else if (atom instanceof SWRLSameIndividualAtom)
+        predicates.add(SAME_AS);
+      else if (atom instanceof SWRLDifferentIndividualsAtom)
+        predicates.add(DIFFERENT_FROM);
+      else if (atom instanceof SWRLAPIBuiltInAtom) {
+        String prefixedName = ((SWRLAPIBuiltInAtom)atom).getBuiltInPrefixedName();
+        int colonIndex = prefixedName.indexOf(':');
+        if (colonIndex == -1 || !ARGUMENT_ONLY_BUILT_IN_PREFIXES.contains(prefixedName.substring(0, colonIndex)))
+          return Optional.<@NonNull Set<@NonNull IRI>>empty();
+      } else if (!(atom instanceof SWRLDataRangeAtom))
+        return Optional.<@NonNull Set<@NonNull IRI>>empty();
+    }
+    return Optional.of(predicates);
+  }
+
+  private int getPredicateIndex(@NonNull IRI predicate)
+  {
+    Integer index = this.predicateIndexes.get(predicate);
+
+    if (index == null) {
+      index = this.predicates.size();
+      this.predicateIndexes.put(predicate, index);
+      this.predicates.add(predicate);
+      this.successors.add(new HashSet<>());
+      this.predecessors.add(new HashSet<>());
+      this.schemaNeighbours.add(new HashSet<>());
+    }
+    return index;
+  }
+
+  /**
+   * Find the strongly connected components with an iterative version of Tarjan's algorithm.
+   *
+   * @return The number of components
+   */
+  private int findComponents()
+  {
+    int numberOfPredicates = this.predicates.size(), numberOfComponents = 0, nextIndex = 0;
+    int[] indexes = new int[numberOfPredicates], lowLinks = new int[numberOfPredicates];
+    boolean[] isOnStack = new boolean[numberOfPredicates];
+    List<@NonNull Iterator<@NonNull Integer>> successorIterators = new ArrayList<>(numberOfPredicates);
+    Deque<@NonNull Integer> stack = new ArrayDeque<>(), callStack = new ArrayDeque<>();
+
+    Arrays.fill(indexes, -1);
+    for (int predicate = 0; predicate < numberOfPredicates; predicate++)
+      successorIterators.add(this.successors.get(predicate).iterator());
+
+    for (int root = 0; root < numberOfPredicates; root++) {
+      if (indexes[root] != -1)
+        continue;
+
+      indexes[root] = lowLinks[root] = nextIndex++;
+      stack.push(root);
+      isOnStack[root] = true;
+      callStack.push(root);
+
+      while (!callStack.isEmpty()) {
+        int predicate = callStack.peek();
+        Iterator<@NonNull Integer> successorIterator = successorIterators.get(predicate);
+
+        if (successorIterator.hasNext()) {
+          int successor = successorIterator.next();
+          if (indexes[successor] == -1) {
+            indexes[successor] = lowLinks[successor] = nextIndex++;
+            stack.push(successor);
+            isOnStack[successor] = true;
+            callStack.push(successor);
+          } else if (isOnStack[successor])
+            lowLinks[predicate] = Math.min(lowLinks[predicate], indexes[successor]);
+        } else {
+          callStack.pop();
+          if (!callStack.isEmpty())
+            lowLinks[callStack.peek()] = Math.min(lowLinks[callStack.peek()], lowLinks[predicate]);
+          if (lowLinks[predicate] == indexes[predicate]) {
+            int member;
+            do {
+              member = stack.pop();
+              isOnStack[member] = false;
+              this.components[member] = numberOfComponents;
+            } while (member != predicate);
+            numberOfComponents++;
+          }
+        }
+      }
+    }
+    return numberOfComponents;
+  }
+
+  private static final class RulePredicates
+  {
+    @NonNull private final Set<@NonNull IRI> body;
+    @NonNull private final Set<@NonNull IRI> head;
+
+    RulePredicates(@NonNull Set<@NonNull IRI> body, @NonNull Set<@NonNull IRI> head)
+    {
+      this.body = body;
+      this.head = head;
+    }
+  }
+}
@@ -1,66 +1,495 @@
 package org.swrlapi.literal;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLDatatype;
 import org.semanticweb.owlapi.vocab.XSDVocabulary;
 
-import java.math.BigDecimal;
-import java.math.BigInteger;
-import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * A basic OWL literal validator that deals with a set of core datatypes
+ * <p>
+ * Literals are checked by scanners for the XSD lexical grammars of these datatypes, so validation neither throws nor
+ * allocates.
  */
 public class OWLLiteralValidator
 {
+  private enum CoreDatatype
+  {
+    DECIMAL, INTEGER, BYTE, SHORT, INT, LONG, FLOAT, DOUBLE, BOOLEAN, ANY_URI, TIME, DATE_TIME, DATE, DURATION
+  }
+
+  @NonNull private static final Map<@NonNull IRI, @NonNull CoreDatatype> coreDatatypes = new HashMap<>();
+
+  static {
+    coreDatatypes.put(XSDVocabulary.DECIMAL.getIRI(), CoreDatatype.DECIMAL);
+    coreDatatypes.put(XSDVocabulary.INTEGER.getIRI(), CoreDatatype.INTEGER);
+    coreDatatypes.put(XSDVocabulary.BYTE.getIRI(), CoreDatatype.BYTE);
+    coreDatatypes.put(XSDVocabulary.SHORT.getIRI(), CoreDatatype.SHORT);
+    coreDatatypes.put(XSDVocabulary.INT.getIRI(), CoreDatatype.INT);
+    coreDatatypes.put(XSDVocabulary.LONG.getIRI(), CoreDatatype.LONG);
+    coreDatatypes.put(XSDVocabulary.FLOAT.getIRI(), CoreDatatype.FLOAT);
+    coreDatatypes.put(XSDVocabulary.DOUBLE.getIRI(), CoreDatatype.DOUBLE);
+    coreDatatypes.put(XSDVocabulary.BOOLEAN.getIRI(), CoreDatatype.BOOLEAN);
+    coreDatatypes.put(XSDVocabulary.ANY_URI.getIRI(), CoreDatatype.ANY_URI);
+    coreDatatypes.put(XSDVocabulary.TIME.getIRI(), CoreDatatype.TIME);
+    coreDatatypes.put(XSDVocabulary.DATE_TIME.getIRI(), CoreDatatype.DATE_TIME);
+    coreDatatypes.put(XSDVocabulary.DATE.getIRI(), CoreDatatype.DATE);
+    coreDatatypes.put(XSDVocabulary.DURATION.getIRI(), CoreDatatype.DURATION);
+  }
+
   public static boolean isValid(@NonNull String literal, @NonNull OWLDatatype datatype)
   {
-    try {
-      if (datatype.getIRI().equals(XSDVocabulary.DECIMAL.getIRI())) {
-        new BigDecimal(literal);
-        return true;
-      } else if (datatype.getIRI().equals(XSDVocabulary.INTEGER.getIRI())) {
-        new BigInteger(literal);
-        return true;
-      } else if (datatype.getIRI().equals(XSDVocabulary.BYTE.getIRI())) {
-        Byte.parseByte(literal);
-        return true;
-      } else if (datatype.getIRI().equals(XSDVocabulary.SHORT.getIRI())) {
-        Short.parseShort(literal);
-        return true;
-      } else if (datatype.getIRI().equals(XSDVocabulary.INT.getIRI())) {
-        Integer.parseInt(literal);
-        return true;
-      } else if (datatype.getIRI().equals(XSDVocabulary.LONG.getIRI())) {
-        Long.parseLong(literal);
-        return true;
-      } else if (datatype.getIRI().equals(XSDVocabulary.FLOAT.getIRI())) {
-        Float.parseFloat(literal);
-        return true;
-      } else if (datatype.getIRI().equals(XSDVocabulary.DOUBLE.getIRI())) {
-        Double.parseDouble(literal);
-        return true;
-      } else if (datatype.getIRI().equals(XSDVocabulary.BOOLEAN.getIRI())) {
-        return (literal.equalsIgnoreCase("true") || literal.equalsIgnoreCase("false"));
-      } else if (datatype.getIRI().equals(XSDVocabulary.ANY_URI.getIRI())) {
-        URI.create(literal);
-        return true;
-      } else if (datatype.getIRI().equals(XSDVocabulary.TIME.getIRI())) {
-        new XSDTime(literal);
-        return true;
-      } else if (datatype.getIRI().equals(XSDVocabulary.DATE_TIME.getIRI())) {
-        new XSDDateTime(literal);
-        return true;
-      } else if (datatype.getIRI().equals(XSDVocabulary.DATE.getIRI())) {
-        new XSDDate(literal);
-        return true;
-      } else if (datatype.getIRI().equals(XSDVocabulary.DURATION.getIRI())) {
-        new XSDDuration(literal);
-        return true;
-      } else // We do not validate types we do not know about
-        return true;
-    } catch (IllegalArgumentException e) { // NumberFormatException (thrown by BigDecimal and BigInteger constructors) a subclass
+    return scan(literal, datatype);
+  }
+
+  private static boolean scan(@NonNull String literal, @NonNull OWLDatatype datatype)
+  {
+    CoreDatatype coreDatatype = coreDatatypes.get(datatype.getIRI());
+
+    if (coreDatatype == null) // We do not validate types we do not know about
+      return true;
+
+    switch (coreDatatype) {
+    case DECIMAL:
+      return scanDecimal(literal);
+    case INTEGER:
+      return scanInteger(literal, Long.MIN_VALUE, Long.MAX_VALUE, true);
+    case BYTE:
+      return scanInteger(literal, Byte.MIN_VALUE, Byte.MAX_VALUE, false);
+    case SHORT:
+      return scanInteger(literal, Short.MIN_VALUE, Short.MAX_VALUE, false);
+    case INT:
+      return scanInteger(literal, Integer.MIN_VALUE, Integer.MAX_VALUE, false);
+    case LONG:
+      return scanInteger(literal, Long.MIN_VALUE, Long.MAX_VALUE, false);
+    case FLOAT:
+    case DOUBLE:
+      return scanFloatingPoint(literal);
+    case BOOLEAN:
+      return scanBoolean(literal);
+    case ANY_URI:
+      return scanURI(literal);
+    case TIME:
+      return scanTime(literal);
+    case DATE_TIME:
+      return scanDateTime(literal);
+    case DATE:
+      return scanDate(literal);
+    case DURATION:
+      return scanDuration(literal);
+    default:
+      return true;
+    }
+  }
+
+  /**
+   * <code>[+-]?[0-9]+</code>, within the range of the datatype unless it is unbounded.
+   */
+  private static boolean scanInteger(@NonNull String literal, long minimum, long maximum, boolean isUnbounded)
+  {
+    int length = literal.length();
+    int i = 0;
+    boolean isNegative = false;
+
+    if (i < length && (literal.charAt(i) == '+' || literal.charAt(i) == '-'))
+      isNegative = literal.charAt(i++) == '-';
+
+    if (i == length)
+      return false;
+
+    long result = 0; // Accumulated negatively so that Long.MIN_VALUE can be represented
+    boolean isLong = true;
+
+    for (; i < length; i++) {
+      int digit = literal.charAt(i) - '0';
+
+      if (digit < 0 || digit > 9)
+        return false;
+
+      if (isLong) {
+        if (result < (Long.MIN_VALUE + digit) / 10)
+          isLong = false;
+        else
+          result = result * 10 - digit;
+      }
+    }
+
+    if (!isNegative) {
+      if (result == Long.MIN_VALUE)
+        isLong = false;
+      result = -result;
+    }
+
+    return isLong ? result >= minimum && result <= maximum : isUnbounded;
+  }
+
+  /**
+   * <code>[+-]?([0-9]+(\.[0-9]*)?|\.[0-9]+)</code>
+   */
+  private static boolean scanDecimal(@NonNull String literal)
+  {
+    return scanUnsignedDecimal(literal, skipSign(literal, 0)) == literal.length();
+  }
+
+  /**
+   * A decimal with an optional exponent (<code>[eE][+-]?[0-9]+</code>), or <code>[+-]?INF</code> or <code>NaN</code>.
+   * The forms <code>[+-]?Infinity</code> produced by {@link Double#toString()} are also accepted.
+   */
+  private static boolean scanFloatingPoint(@NonNull String literal)
+  {
+    int length = literal.length();
+    int start = skipSign(literal, 0);
+
+    if (literal.startsWith("INF", start) && start + 3 == length)
+      return true;
+    else if (literal.startsWith("Infinity", start) && start + 8 == length)
+      return true;
+    else if (start == 0 && literal.equals("NaN"))
+      return true;
+
+    int i = scanUnsignedDecimal(literal, start);
+
+    if (i != -1 && i < length && (literal.charAt(i) == 'e' || literal.charAt(i) == 'E')) {
+      int exponentStart = skipSign(literal, i + 1);
+      i = skipDigits(literal, exponentStart);
+      if (i == exponentStart)
+        return false;
+    }
+    return i == length;
+  }
+
+  private static boolean scanBoolean(@NonNull String literal)
+  {
+    return literal.equalsIgnoreCase("true") || literal.equalsIgnoreCase("false");
+  }
+
+  /**
+   * Checks the characters of a URI reference as {@link java.net.URI} does: reserved, unreserved and non-ASCII
+   * characters other than spaces and controls, <code>%</code> escapes, a single fragment separator, and a well-formed
+   * scheme if there is one. The structure of the authority is not checked.
+   */
+  private static boolean scanURI(@NonNull String literal)
+  {
+    int length = literal.length();
+    boolean isInFragment = false;
+    int schemeEnd = -1;
+
+    for (int i = 0; i < length; i++) {
+      char c = literal.charAt(i);
+
+      if (c == ':' && schemeEnd == -1 && !isInFragment)
+        schemeEnd = i;
+      else if (c == '/' || c == '?')
+        schemeEnd = schemeEnd == -1 ? length : schemeEnd;
+
+      if (c == '#') {
+        if (isInFragment)
+          return false;
+        isInFragment = true;
+        schemeEnd = schemeEnd == -1 ? length : schemeEnd;
+      } else if (c == '%') {
+        if (i + 2 >= length || !isHexDigit(literal.charAt(i + 1)) || !isHexDigit(literal.charAt(i + 2)))
+          return false;
+        i += 2;
+      } else if (c < 0x80) {
+        if (!isLetterOrDigit(c) && "-_.!~*'();/?:@&=+$,[]".indexOf(c) == -1)
+          return false;
+      } else if (Character.isSpaceChar(c) || Character.isISOControl(c))
+        return false;
+    }
+
+    if (schemeEnd != -1 && schemeEnd != length) {
+      if (schemeEnd == 0 || !isLetter(literal.charAt(0)))
+        return false;
+      for (int i = 1; i < schemeEnd; i++) {
+        char c = literal.charAt(i);
+        if (!isLetterOrDigit(c) && c != '+' && c != '-' && c != '.')
+          return false;
+      }
+      if (schemeEnd + 1 == length || literal.charAt(schemeEnd + 1) == '#') // Empty scheme-specific part
+        return false;
+    }
+    return true;
+  }
+
+  /**
+   * <code>hh:mm:ss(\.s+)?</code> followed by an optional timezone.
+   */
+  private static boolean scanTime(@NonNull String literal)
+  {
+    int i = scanTimeOfDay(literal, 0);
+
+    return i != -1 && scanTimezone(literal, i) == literal.length();
+  }
+
+  /**
+   * A date and a time of day separated by <code>T</code>, followed by an optional timezone.
+   */
+  private static boolean scanDateTime(@NonNull String literal)
+  {
+    int i = scanDateOfYear(literal);
+
+    if (i == -1 || i == literal.length() || literal.charAt(i) != 'T')
+      return false;
+
+    i = scanTimeOfDay(literal, i + 1);
+
+    return i != -1 && scanTimezone(literal, i) == literal.length();
+  }
+
+  /**
+   * <code>-?yyyy-mm-dd</code> followed by an optional timezone.
+   */
+  private static boolean scanDate(@NonNull String literal)
+  {
+    int i = scanDateOfYear(literal);
+
+    return i != -1 && scanTimezone(literal, i) == literal.length();
+  }
+
+  /**
+   * <code>-?P</code> followed by years, months and days, then optionally by <code>T</code> and hours, minutes and
+   * seconds. Each component is optional, but they must appear in this order, at least one must be present, and at
+   * least one must follow <code>T</code>. Only seconds may have a fraction.
+   */
+  private static boolean scanDuration(@NonNull String literal)
+  {
+    int length = literal.length();
+    int i = literal.startsWith("-") ? 1 : 0;
+
+    if (i == length || literal.charAt(i++) != 'P')
       return false;
+
+    int nextComponent = 0;
+    boolean isInTime = false;
+    boolean hasComponent = false;
+
+    while (i < length) {
+      if (literal.charAt(i) == 'T') {
+        if (isInTime || i + 1 == length)
+          return false;
+        isInTime = true;
+        nextComponent = 3;
+        i++;
+        continue;
+      }
+
+      int digitsStart = i;
+      i = skipDigits(literal, i);
+      if (i == digitsStart)
+        return false;
+      int fractionStart = -1;
+
+      if (i < length && literal.charAt(i) == '.') {
+        fractionStart = i + 1;
+        i = skipDigits(literal, fractionStart);
+        if (i == fractionStart)
+          return false;
+      }
+
+      if (i == length)
+        return false;
+
+      int component = (isInTime ? "   HMS" : "YMD").indexOf(literal.charAt(i++));
+
+      if (component < nextComponent || (fractionStart != -1 && component != 5))
+        return false;
+
+      nextComponent = component + 1;
+      hasComponent = true;
+    }
+
+    return hasComponent;
+  }
+
+  /**
+   * @return The index following the date, or -1 if there is no valid date at the start of the literal
+   */
+  private static int scanDateOfYear(@NonNull String literal)
+  {
+    int length = literal.length();
+    int yearStart = literal.startsWith("-") ? 1 : 0;
+    int yearEnd = skipDigits(literal, yearStart);
+    int digits = yearEnd - yearStart;
+
+    if (digits < 4 || (digits > 4 && literal.charAt(yearStart) == '0'))
+      return -1;
+
+    if (yearEnd + 6 > length || literal.charAt(yearEnd) != '-' || literal.charAt(yearEnd + 3) != '-')
+      return -1;
+
+    int month = parseTwoDigits(literal, yearEnd + 1);
+    int day = parseTwoDigits(literal, yearEnd + 4);
+    long year = parseSaturated(literal, yearStart, yearEnd);
+
+    if (yearStart == 1)
+      year = -year;
+
+    if (month < 1 || month > 12 || day < 1 || day > getDaysInMonth(year, month))
+      return -1;
+
+    return yearEnd + 6;
+  }
+
+  /**
+   * @return The index following the time, or -1 if there is no valid time at the index
+   */
+  private static int scanTimeOfDay(@NonNull String literal, int start)
+  {
+    int length = literal.length();
+
+    if (start + 8 > length || literal.charAt(start + 2) != ':' || literal.charAt(start + 5) != ':')
+      return -1;
+
+    int hour = parseTwoDigits(literal, start);
+    int minute = parseTwoDigits(literal, start + 3);
+    int second = parseTwoDigits(literal, start + 6);
+    int i = start + 8;
+    boolean isFractionZero = true;
+
+    if (i < length && literal.charAt(i) == '.') {
+      int fractionStart = i + 1;
+      i = skipDigits(literal, fractionStart);
+      if (i == fractionStart)
+        return -1;
+      for (int f = fractionStart; f < i && isFractionZero; f++)
+        isFractionZero = literal.charAt(f) == '0';
+    }
+
+    if (hour < 0 || minute < 0 || minute > 59 || second < 0 || second > 59)
+      return -1;
+
+    if (hour > 23 && (hour != 24 || minute != 0 || second != 0 || !isFractionZero))
+      return -1;
+
+    return i;
+  }
+
+  /**
+   * Scan an optional timezone: <code>Z</code> or <code>[+-]hh:mm</code> with an offset of at most 14 hours.
+   *
+   * @return The index following the timezone, or -1 if a timezone at the index is invalid
+   */
+  private static int scanTimezone(@NonNull String literal, int start)
+  {
+    int length = literal.length();
+
+    if (start == length)
+      return start;
+
+    char c = literal.charAt(start);
+
+    if (c == 'Z')
+      return start + 1;
+
+    if ((c != '+' && c != '-') || start + 6 > length || literal.charAt(start + 3) != ':')
+      return -1;
+
+    int hours = parseTwoDigits(literal, start + 1);
+    int minutes = parseTwoDigits(literal, start + 4);
+
+    if (hours < 0 || minutes < 0 || minutes > 59 || hours > 14 || (hours == 14 && minutes != 0))
+      return -1;
+
+    return start + 6;
+  }
+
+  /**
+   * @return The index following an unsigned decimal at the index, or -1 if there is none
+   */
+  private static int scanUnsignedDecimal(@NonNull String literal, int start)
+  {
+    int i = skipDigits(literal, start);
+    int digits = i - start;
+
+    if (i < literal.length() && literal.charAt(i) == '.') {
+      int fractionStart = i + 1;
+      i = skipDigits(literal, fractionStart);
+      digits += i - fractionStart;
+    }
+    return digits == 0 ? -1 : i;
+  }
+
+  private static int skipSign(@NonNull String literal, int start)
+  {
+    return start < literal.length() && (literal.charAt(start) == '+' || literal.charAt(start) == '-') ?
+      start + 1 :
+      start;
+  }
+
+  private static int skipDigits(@NonNull String literal, int start)
+  {
+    int i = start;
+
+    while (i < literal.length() && isDigit(literal.charAt(i)))
+      i++;
+
+    return i;
+  }
+
+  /**
+   * @return The value of two digits at the index, or -1 if they are not digits
+   */
+  private static int parseTwoDigits(@NonNull String literal, int start)
+  {
+    char c1 = literal.charAt(start);
+    char c2 = literal.charAt(start + 1);
+
+    return isDigit(c1) && isDigit(c2) ? 10 * (c1 - '0') + (c2 - '0') : -1;
+  }
+
+  /**
+   * @return The value of a run of digits, or Long.MAX_VALUE if it is too large for a long
+   */
+  private static long parseSaturated(@NonNull String literal, int start, int end)
+  {
+    long result = 0;
+
+    for (int i = start; i < end; i++) {
+      int digit = literal.charAt(i) - '0';
+
+      if (result > (Long.MAX_VALUE - digit) / 10)
+        return Long.MAX_VALUE;
+      result = result * 10 + digit;
     }
+    return result;
+  }
+
+  private static int getDaysInMonth(long year, int month)
+  {
+    switch (month) {
+    case 2:
+      return year % 4 == 0 && (year % 100 != 0 || year % 400 == 0) ? 29 : 28;
+    case 4:
+    case 6:
+    case 9:
+    case 11:
+      return 30;
+    default:
+      return 31;
+    }
+  }
+
+  private static boolean isDigit(char c)
+  {
+    return c >= '0' && c <= '9';
+  }
+
+  private static boolean isLetter(char c)
+  {
+    return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+  }
+
+  private static boolean isLetterOrDigit(char c)
+  {
+    return isLetter(c) || isDigit(c);
+  }
+
+  private static boolean isHexDigit(char c)
+  {
+    return isDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
   }
 }
@@ -0,0 +1,123 @@
+package org.swrlapi.owl2rl;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A union-find partition of elements into equivalence classes, used to reason with <code>owl:sameAs</code>. Each class
+ * has a canonical representative. Classes are merged by size and paths are compressed on lookup, so a sequence of
+ * merges and lookups takes close to constant time per operation. Elements that have never been merged are not stored.
+ *
+ * @param <T> The type of the elements
+ */
+public final class EqualityPartition<T>
+{
+  @NonNull private final Map<@NonNull T, @NonNull T> parents = new HashMap<>(); // Only elements that are not roots
+  @NonNull private final Map<@NonNull T, @NonNull List<@NonNull T>> members = new HashMap<>(); // Only non-trivial roots
+
+  /**
+   * @param element An element
+   * @return The representative of the element's equivalence class
+   */
+  @NonNull public T find(@NonNull T element)
+  {
+    T root = element, parent;
+
+    while ((parent = this.parents.get(root)) != null)
+      root = parent;
+
+    T current = element;
+    while (!current.equals(root)) {
+      T next = this.parents.get(current);
+      this.parents.put(current, root);
+      current = next;
+    }
+    return root;
+  }
+
+  /**
+   * @param element1 An element
+   * @param element2 An element
+   * @return True if the elements are in the same equivalence class
+   */
+  public boolean isSame(@NonNull T element1, @NonNull T element2)
+  {
+    return find(element1).equals(find(element2));
+  }
+
+  /**
+   * Merge the equivalence classes of two elements. The representative of the larger class represents the merged class.
+   *
+   * @param element1 An element
+   * @param element2 An element
+   * @return The former representative of the class that was absorbed, or empty if the elements were already in the
+   * same class
+   */
+  @NonNull public Optional<@NonNull T> union(@NonNull T element1, @NonNull T element2)
+  {
+    T root1 = find(element1), root2 = find(element2);
+
+    if (root1.equals(root2))
+      return Optional.empty();
+
+    List<@NonNull T> members1 = getOrCreateMembers(root1), members2 = getOrCreateMembers(root2);
+    T winner = members1.size() >= members2.size() ? root1 : root2;
+    T loser = winner == root1 ? root2 : root1;
+    List<@NonNull T> loserMembers = this.members.remove(loser);
+
+    this.members.get(winner).addAll(loserMembers);
+    this.parents.put(loser, winner);
+
+    return Optional.of(loser);
+  }
+
+  /**
+   * @param element An element
+   * @return The members of the element's equivalence class, including the element
+   */
+  @NonNull public List<@NonNull T> getMembers(@NonNull T element)
+  {
+    T root = find(element);
+    List<@NonNull T> rootMembers = this.members.get(root);
+
+    return rootMembers != null ? Collections.unmodifiableList(rootMembers) : Collections.singletonList(root);
+  }
+
+  /**
+   * @return The representatives of the equivalence classes with more than one member
+   */
+  @NonNull public Set<@NonNull T> getNonTrivialRepresentatives()
+  {
+    return Collections.unmodifiableSet(this.members.keySet());
+  }
+
+  /**
+   * @return True if no elements have been merged
+   */
+  public boolean isEmpty()
+  {
+    return this.parents.isEmpty();
+  }
+
+  public void clear()
+  {
+    this.parents.clear();
+    this.members.clear();
+  }
+
+  @NonNull private List<@NonNull T> getOrCreateMembers(@NonNull T root)
+  {
+    return this.members.computeIfAbsent(root, r -> {
+      List<@NonNull T> rootMembers = new ArrayList<>();
+      rootMembers.add(r);
+      return rootMembers;
+    });
+  }
+}
@@ -0,0 +1,102 @@
+package org.swrlapi.owl2rl;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.swrlapi.exceptions.SWRLAPIInternalException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * An inconsistency detected by an OWL 2 RL rule whose conclusion is <code>false</code>. The arguments of the
+ * inconsistency are those given for the rule by {@link OWL2RLInconsistencyDescription}.
+ *
+ * @see OWL2RLMaterializer
+ */
+public class OWL2RLInconsistency
+{
+  @NonNull private final OWL2RLNames.OWL2RLRule rule;
+  @NonNull private final List<@NonNull OWLClass> classes;
+  @NonNull private final List<@NonNull OWLIndividual> individuals;
+  @NonNull private final List<@NonNull OWLObjectProperty> objectProperties;
+  @NonNull private final List<@NonNull OWLDataProperty> dataProperties;
+
+  public OWL2RLInconsistency(@NonNull OWL2RLNames.OWL2RLRule rule, @NonNull List<@NonNull OWLClass> classes,
+    @NonNull List<@NonNull OWLIndividual> individuals, @NonNull List<@NonNull OWLObjectProperty> objectProperties,
+    @NonNull List<@NonNull OWLDataProperty> dataProperties)
+  {
+    Optional<OWL2RLInconsistencyDescription.@NonNull OWL2RLRuleArguments> arguments = OWL2RLInconsistencyDescription
+      .getRuleArguments(rule.toString());
+
+    if (!arguments.isPresent())
+      throw new SWRLAPIInternalException("no inconsistency description for OWL 2 RL rule " + rule);
+
+    if (arguments.get().getNumberOfClassArguments() != classes.size()
+      || arguments.get().getNumberOfIndividualArguments() != individuals.size()
+      || arguments.get().getNumberOfObjectPropertyArguments() != objectProperties.size()
+      || arguments.get().getNumberOfDataPropertyArguments() != dataProperties.size())
+      throw new SWRLAPIInternalException("arguments do not match inconsistency description for OWL 2 RL rule " + rule);
+
+    this.rule = rule;
+    this.classes = Collections.unmodifiableList(new ArrayList<>(classes));
+    this.individuals = Collections.unmodifiableList(new ArrayList<>(individuals));
+    this.objectProperties = Collections.unmodifiableList(new ArrayList<>(objectProperties));
+    this.dataProperties = Collections.unmodifiableList(new ArrayList<>(dataProperties));
+  }
+
+  @NonNull public OWL2RLNames.OWL2RLRule getRule()
+  {
+    return this.rule;
+  }
+
+  @NonNull public List<@NonNull OWLClass> getClasses()
+  {
+    return this.classes;
+  }
+
+  @NonNull public List<@NonNull OWLIndividual> getIndividuals()
+  {
+    return this.individuals;
+  }
+
+  @NonNull public List<@NonNull OWLObjectProperty> getObjectProperties()
+  {
+    return this.objectProperties;
+  }
+
+  @NonNull public List<@NonNull OWLDataProperty> getDataProperties()
+  {
+    return this.dataProperties;
+  }
+
+  @Override public boolean equals(@Nullable Object o)
+  {
+    if (this == o)
+      return true;
+    if (o == null || getClass() != o.getClass())
+      return false;
+
+    OWL2RLInconsistency that = (OWL2RLInconsistency)o;
+
+    return this.rule == that.rule && this.classes.equals(that.classes) && this.individuals.equals(that.individuals)
+      && this.objectProperties.equals(that.objectProperties) && this.dataProperties.equals(that.dataProperties);
+  }
+
+  @Override public int hashCode()
+  {
+    return Objects.hash(this.rule, this.classes, this.individuals, this.objectProperties, this.dataProperties);
+  }
+
+  @NonNull @Override public String toString()
+  {
+    return this.rule + "(classes=" + this.classes + ", individuals=" + this.individuals + ", objectProperties="
+      + this.objectProperties + ", dataProperties=" + this.dataProperties + ")";
+  }
+}
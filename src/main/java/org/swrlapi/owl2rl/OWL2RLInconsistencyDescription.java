@@ -17,6 +17,10 @@ public class OWL2RLInconsistencyDescription
     createArgumentDescription(OWL2RLNames.OWL2RLRule.PRP_PDW.toString(), 0, 2, 2, 0);
     createArgumentDescription(OWL2RLNames.OWL2RLRule.PRP_ASYP.toString(), 0, 2, 1, 0);
     createArgumentDescription(OWL2RLNames.OWL2RLRule.CAX_DW.toString(), 2, 1, 0, 0);
+    createArgumentDescription(OWL2RLNames.OWL2RLRule.CAX_ADC.toString(), 2, 1, 0, 0);
+    createArgumentDescription(OWL2RLNames.OWL2RLRule.CLS_COM.toString(), 2, 1, 0, 0);
+    createArgumentDescription(OWL2RLNames.OWL2RLRule.CLS_NOTHING2.toString(), 0, 1, 0, 0);
+    createArgumentDescription(OWL2RLNames.OWL2RLRule.PRP_IRP.toString(), 0, 1, 1, 0);
   }
 
   public static boolean hasInconsistencyRuleArgumentsDescription(@NonNull String owl2RLRuleName)
@@ -0,0 +1,662 @@
+package org.swrlapi.owl2rl;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLDifferentIndividualsAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLIndividual;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
+import org.semanticweb.owlapi.model.OWLSameIndividualAxiom;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Materializes the OWL 2 RL entailments of a set of OWL axioms natively, without a target rule engine.
+ * <p>
+ * Rather than evaluating the enabled rules one at a time, the materializer compiles them into join plans over indexed
+ * fact tables:
+ * <ul>
+ * <li>The schema is compiled by {@link OWL2RLSchema}. <code>cax-sco</code>, <code>cax-eqc</code>,
+ * <code>prp-spo1</code> and <code>prp-eqp</code> are applied through precomputed closures of the class and property
+ * hierarchies.</li>
+ * <li>Each new fact is taken from an agenda and joined once with the facts already known, so the rules are evaluated
+ * semi-naively. For a transitive property (<code>prp-trp</code>) each new edge is joined with the edges before and
+ * after it, which maintains the transitive closure incrementally.</li>
+ * <li>Equality (<code>eq-sym</code>, <code>eq-trans</code> and <code>eq-rep-s/p/o</code>) is handled with an
+ * {@link EqualityPartition}. Facts are stored over the representatives of their individuals and are only expanded to
+ * all equal individuals when inferred axioms are reported.</li>
+ * </ul>
+ * Inferred axioms are passed to a consumer such as {@link org.swrlapi.bridge.SWRLRuleEngineBridge#inferOWLAxiom}.
+ * Rules whose conclusion is false are recorded as {@link OWL2RLInconsistency}s.
+ * <p>
+ * Axioms can be added between calls to {@link #materialize(Consumer)}; only the consequences of the new axioms are
+ * computed unless the schema has changed. The two directions of <code>cax-eqc</code>, <code>prp-eqp</code> and
+ * <code>prp-inv</code> are enabled by the first rule of each pair, and equality replacement by <code>eq-rep-s</code>.
+ */
+public final class OWL2RLMaterializer
+{
+  @NonNull private static final Set<OWL2RLNames.OWL2RLRule> SUPPORTED_RULES = Collections.unmodifiableSet(EnumSet
+    .of(OWL2RLNames.OWL2RLRule.EQ_SYM, OWL2RLNames.OWL2RLRule.EQ_TRANS, OWL2RLNames.OWL2RLRule.EQ_REP_S,
+      OWL2RLNames.OWL2RLRule.EQ_REP_P, OWL2RLNames.OWL2RLRule.EQ_REP_O, OWL2RLNames.OWL2RLRule.EQ_DIFF1,
+      OWL2RLNames.OWL2RLRule.PRP_DOM, OWL2RLNames.OWL2RLRule.PRP_RNG, OWL2RLNames.OWL2RLRule.PRP_FP,
+      OWL2RLNames.OWL2RLRule.PRP_IFP, OWL2RLNames.OWL2RLRule.PRP_IRP, OWL2RLNames.OWL2RLRule.PRP_SYMP,
+      OWL2RLNames.OWL2RLRule.PRP_ASYP, OWL2RLNames.OWL2RLRule.PRP_TRP, OWL2RLNames.OWL2RLRule.PRP_SPO1,
+      OWL2RLNames.OWL2RLRule.PRP_EQP1, OWL2RLNames.OWL2RLRule.PRP_EQP2, OWL2RLNames.OWL2RLRule.PRP_PDW,
+      OWL2RLNames.OWL2RLRule.PRP_INV1, OWL2RLNames.OWL2RLRule.PRP_INV2, OWL2RLNames.OWL2RLRule.CLS_NOTHING2,
+      OWL2RLNames.OWL2RLRule.CLS_INT1, OWL2RLNames.OWL2RLRule.CLS_INT2, OWL2RLNames.OWL2RLRule.CLS_UNI,
+      OWL2RLNames.OWL2RLRule.CLS_COM, OWL2RLNames.OWL2RLRule.CLS_SFV1, OWL2RLNames.OWL2RLRule.CLS_SFV2,
+      OWL2RLNames.OWL2RLRule.CLS_AVF, OWL2RLNames.OWL2RLRule.CLS_HV1, OWL2RLNames.OWL2RLRule.CLS_HV2,
+      OWL2RLNames.OWL2RLRule.CAX_SCO, OWL2RLNames.OWL2RLRule.CAX_EQC1, OWL2RLNames.OWL2RLRule.CAX_EQC2,
+      OWL2RLNames.OWL2RLRule.CAX_DW, OWL2RLNames.OWL2RLRule.CAX_ADC, OWL2RLNames.OWL2RLRule.SCM_SCO,
+      OWL2RLNames.OWL2RLRule.SCM_EQC1, OWL2RLNames.OWL2RLRule.SCM_SPO, OWL2RLNames.OWL2RLRule.SCM_EQP1));
+
+  private enum FactType
+  {
+    CLASS, OBJECT_PROPERTY, DATA_PROPERTY, SAME_INDIVIDUAL, DIFFERENT_INDIVIDUALS
+  }
+
+  private static final class Fact
+  {
+    @NonNull private final FactType type;
+    @Nullable private final OWLEntity predicate;
+    @NonNull private final OWLIndividual subject;
+    @Nullable private final OWLObject object;
+    private final boolean isSuperClassClosed; // The superclasses of a class fact have already been inferred
+
+    private Fact(@NonNull FactType type, @Nullable OWLEntity predicate, @NonNull OWLIndividual subject,
+      @Nullable OWLObject object, boolean isSuperClassClosed)
+    {
+      this.type = type;
+      this.predicate = predicate;
+      this.subject = subject;
+      this.object = object;
+      this.isSuperClassClosed = isSuperClassClosed;
+    }
+  }
+
+  /**
+   * The assertions of one object property, indexed by subject and by object.
+   */
+  private static final class ObjectPropertyFacts
+  {
+    @NonNull private final Map<@NonNull OWLIndividual, @NonNull Set<@NonNull OWLIndividual>> objects = new HashMap<>();
+    @NonNull private final Map<@NonNull OWLIndividual, @NonNull Set<@NonNull OWLIndividual>> subjects = new HashMap<>();
+
+    private boolean add(@NonNull OWLIndividual subject, @NonNull OWLIndividual object)
+    {
+      if (this.objects.computeIfAbsent(subject, s -> new HashSet<>()).add(object)) {
+        this.subjects.computeIfAbsent(object, o -> new HashSet<>()).add(subject);
+        return true;
+      } else
+        return false;
+    }
+
+    private boolean contains(@NonNull OWLIndividual subject, @NonNull OWLIndividual object)
+    {
+      Set<@NonNull OWLIndividual> subjectObjects = this.objects.get(subject);
+
+      return subjectObjects != null && subjectObjects.contains(object);
+    }
+
+    @NonNull private Set<@NonNull OWLIndividual> getObjects(@NonNull OWLIndividual subject)
+    {
+      return this.objects.getOrDefault(subject, Collections.emptySet());
+    }
+
+    @NonNull private Set<@NonNull OWLIndividual> getSubjects(@NonNull OWLIndividual object)
+    {
+      return this.subjects.getOrDefault(object, Collections.emptySet());
+    }
+
+    @NonNull private Set<@NonNull OWLIndividual> removeSubject(@NonNull OWLIndividual subject)
+    {
+      Set<@NonNull OWLIndividual> subjectObjects = this.objects.remove(subject);
+
+      if (subjectObjects == null)
+        return Collections.emptySet();
+
+      for (OWLIndividual object : subjectObjects)
+        this.subjects.get(object).remove(subject);
+
+      return subjectObjects;
+    }
+
+    @NonNull private Set<@NonNull OWLIndividual> removeObject(@NonNull OWLIndividual object)
+    {
+      Set<@NonNull OWLIndividual> objectSubjects = this.subjects.remove(object);
+
+      if (objectSubjects == null)
+        return Collections.emptySet();
+
+      for (OWLIndividual subject : objectSubjects)
+        this.objects.get(subject).remove(object);
+
+      return objectSubjects;
+    }
+  }
+
+  @NonNull private final OWLDataFactory dataFactory;
+  @NonNull private final Set<OWL2RLNames.OWL2RLRule> enabledRules;
+  private final boolean isEqualityEnabled;
+
+  @NonNull private final Set<@NonNull OWLAxiom> schemaAxioms = new HashSet<>();
+  @NonNull private OWL2RLSchema schema;
+  private boolean hasSchemaChanged;
+
+  // Facts, stored over the representatives of their individuals
+  @NonNull private final Map<@NonNull OWLClass, @NonNull Set<@NonNull OWLIndividual>> classMembers = new HashMap<>();
+  @NonNull private final Map<@NonNull OWLIndividual, @NonNull Set<@NonNull OWLClass>> individualClasses
+    = new HashMap<>();
+  @NonNull private final Map<@NonNull OWLObjectProperty, @NonNull ObjectPropertyFacts> objectPropertyFacts
+    = new HashMap<>();
+  @NonNull private final Map<@NonNull OWLDataProperty, @NonNull Map<@NonNull OWLIndividual, @NonNull Set<@NonNull
+    OWLLiteral>>> dataPropertyFacts = new HashMap<>();
+  @NonNull private final Map<@NonNull OWLIndividual, @NonNull Set<@NonNull OWLIndividual>> differentIndividuals
+    = new HashMap<>();
+  @NonNull private final EqualityPartition<@NonNull OWLIndividual> sameIndividuals = new EqualityPartition<>();
+
+  @NonNull private final Deque<@NonNull Fact> agenda = new ArrayDeque<>();
+  @NonNull private final List<@NonNull Fact> unreportedFacts = new ArrayList<>();
+  @NonNull private final Set<@NonNull OWLIndividual> mergedIndividuals = new HashSet<>();
+  @NonNull private final Set<@NonNull OWLAxiom> derivedAxioms = new LinkedHashSet<>();
+  @NonNull private final Set<@NonNull OWLAxiom> knownAxioms = new HashSet<>(); // Added axioms are never reported
+  @NonNull private final Set<@NonNull OWLAxiom> reportedAxioms = new HashSet<>();
+  @NonNull private final Set<@NonNull OWL2RLInconsistency> inconsistencies = new LinkedHashSet<>();
+
+  /**
+   * @param dataFactory  The factory used to create inferred axioms
+   * @param enabledRules The OWL 2 RL rules to apply; unsupported rules are ignored
+   */
+  public OWL2RLMaterializer(@NonNull OWLDataFactory dataFactory, @NonNull Set<OWL2RLNames.OWL2RLRule> enabledRules)
+  {
+    this.dataFactory = dataFactory;
+    this.enabledRules = EnumSet.noneOf(OWL2RLNames.OWL2RLRule.class);
+    this.enabledRules.addAll(enabledRules);
+    this.enabledRules.retainAll(SUPPORTED_RULES);
+    this.isEqualityEnabled = this.enabledRules.contains(OWL2RLNames.OWL2RLRule.EQ_REP_S);
+    this.schema = new OWL2RLSchema(Collections.emptySet(), this.enabledRules);
+  }
+
+  /**
+   * @return The OWL 2 RL rules that the materializer implements
+   */
+  @NonNull public static Set<OWL2RLNames.OWL2RLRule> getSupportedRules()
+  {
+    return SUPPORTED_RULES;
+  }
+
+  /**
+   * Add an asserted or otherwise inferred axiom. Axioms added to the materializer are never reported as inferred.
+   *
+   * @param axiom An OWL axiom
+   */
+  public void addAxiom(@NonNull OWLAxiom axiom)
+  {
+    if (!this.knownAxioms.add(axiom))
+      return;
+
+    if (axiom.isOfType(AxiomType.TBoxAndRBoxAxiomTypes)) {
+      this.schemaAxioms.add(axiom);
+      this.hasSchemaChanged = true;
+    } else if (axiom instanceof OWLClassAssertionAxiom) {
+      OWLClassAssertionAxiom classAssertionAxiom = (OWLClassAssertionAxiom)axiom;
+      if (!classAssertionAxiom.getClassExpression().isAnonymous())
+        addClassFact(classAssertionAxiom.getClassExpression().asOWLClass(), classAssertionAxiom.getIndividual(),
+          false);
+    } else if (axiom instanceof OWLObjectPropertyAssertionAxiom) {
+      OWLObjectPropertyAssertionAxiom propertyAssertionAxiom = (OWLObjectPropertyAssertionAxiom)axiom;
+      OWLObjectPropertyExpression property = propertyAssertionAxiom.getProperty().getSimplified();
+      if (property.isAnonymous()) // An inverse property
+        addObjectPropertyFact(property.getNamedProperty(), propertyAssertionAxiom.getObject(),
+          propertyAssertionAxiom.getSubject());
+      else
+        addObjectPropertyFact(property.asOWLObjectProperty(), propertyAssertionAxiom.getSubject(),
+          propertyAssertionAxiom.getObject());
+    } else if (axiom instanceof OWLDataPropertyAssertionAxiom) {
+      OWLDataPropertyAssertionAxiom propertyAssertionAxiom = (OWLDataPropertyAssertionAxiom)axiom;
+      addDataPropertyFact(propertyAssertionAxiom.getProperty().asOWLDataProperty(),
+        propertyAssertionAxiom.getSubject(), propertyAssertionAxiom.getObject());
+    } else if (axiom instanceof OWLSameIndividualAxiom) {
+      List<@NonNull OWLIndividual> individuals = ((OWLSameIndividualAxiom)axiom).getIndividualsAsList();
+      for (int i = 1; i < individuals.size(); i++)
+        addSameIndividualFact(individuals.get(0), individuals.get(i));
+    } else if (axiom instanceof OWLDifferentIndividualsAxiom) {
+      List<@NonNull OWLIndividual> individuals = ((OWLDifferentIndividualsAxiom)axiom).getIndividualsAsList();
+      for (int i = 0; i < individuals.size(); i++)
+        for (int j = i + 1; j < individuals.size(); j++)
+          this.agenda.add(new Fact(FactType.DIFFERENT_INDIVIDUALS, null, individuals.get(i), individuals.get(j),
+            false));
+    }
+  }
+
+  /**
+   * @param axioms OWL axioms
+   * @see #addAxiom(OWLAxiom)
+   */
+  public void addAxioms(@NonNull Collection<@NonNull ? extends OWLAxiom> axioms)
+  {
+    for (OWLAxiom axiom : axioms)
+      addAxiom(axiom);
+  }
+
+  /**
+   * @return True if axioms have been added since the last call to {@link #materialize(Consumer)}
+   */
+  public boolean hasPendingAxioms()
+  {
+    return this.hasSchemaChanged || !this.agenda.isEmpty();
+  }
+
+  /**
+   * Apply the enabled rules to a fixpoint and report the axioms inferred since the last call.
+   *
+   * @param inferredAxiomConsumer Receives each inferred axiom once
+   */
+  public void materialize(@NonNull Consumer<@NonNull OWLAxiom> inferredAxiomConsumer)
+  {
+    if (this.hasSchemaChanged) {
+      this.schema = new OWL2RLSchema(this.schemaAxioms, this.enabledRules);
+      this.hasSchemaChanged = false;
+      deriveSchemaAxioms();
+      reapplyRules();
+    }
+
+    while (!this.agenda.isEmpty())
+      apply(this.agenda.poll());
+
+    report(inferredAxiomConsumer);
+  }
+
+  /**
+   * @return The inconsistencies found so far
+   */
+  @NonNull public Set<@NonNull OWL2RLInconsistency> getInconsistencies()
+  {
+    return Collections.unmodifiableSet(this.inconsistencies);
+  }
+
+  private void apply(@NonNull Fact fact)
+  {
+    switch (fact.type) {
+    case CLASS:
+      if (isRepresentative(fact.subject))
+        applyClassRules((OWLClass)fact.predicate, fact.subject, fact.isSuperClassClosed);
+      break;
+    case OBJECT_PROPERTY:
+      if (isRepresentative(fact.subject) && isRepresentative((OWLIndividual)fact.object))
+        applyObjectPropertyRules((OWLObjectProperty)fact.predicate, fact.subject, (OWLIndividual)fact.object);
+      break;
+    case DATA_PROPERTY:
+      if (isRepresentative(fact.subject))
+        applyDataPropertyRules((OWLDataProperty)fact.predicate, fact.subject, (OWLLiteral)fact.object);
+      break;
+    case SAME_INDIVIDUAL:
+      merge(fact.subject, (OWLIndividual)fact.object);
+      break;
+    case DIFFERENT_INDIVIDUALS:
+      addDifferentIndividuals(fact.subject, (OWLIndividual)fact.object);
+      break;
+    }
+  }
+
+  private void applyClassRules(@NonNull OWLClass cls, @NonNull OWLIndividual individual, boolean isSuperClassClosed)
+  {
+    if (cls.isOWLNothing() && isEnabled(OWL2RLNames.OWL2RLRule.CLS_NOTHING2))
+      addInconsistency(OWL2RLNames.OWL2RLRule.CLS_NOTHING2, Collections.emptyList(),
+        Collections.singletonList(individual), Collections.emptyList());
+
+    if (!isSuperClassClosed)
+      for (OWLClass superClass : this.schema.getSuperClasses(cls))
+        addClassFact(superClass, individual, true);
+
+    for (OWL2RLSchema.Conjunction conjunction : this.schema.getConjunctionsByOperand(cls))
+      if (conjunction.operands.stream().allMatch(operand -> isMember(operand, individual)))
+        addClassFact(conjunction.conjunctionClass, individual, false);
+
+    for (OWL2RLSchema.Restriction restriction : this.schema.getHasValueByClass(cls))
+      addObjectPropertyFact(restriction.property, individual, restriction.value);
+
+    for (OWL2RLSchema.Restriction restriction : this.schema.getAllValuesFromByClass(cls))
+      for (OWLIndividual object : getObjectPropertyFacts(restriction.property).getObjects(individual))
+        addClassFact(restriction.filler, object, false);
+
+    for (OWL2RLSchema.Restriction restriction : this.schema.getSomeValuesFromByFiller(cls))
+      for (OWLIndividual subject : getObjectPropertyFacts(restriction.property).getSubjects(individual))
+        addClassFact(restriction.restrictedClass, subject, false);
+
+    for (Map.Entry<@NonNull OWLClass, OWL2RLNames.OWL2RLRule> disjointClass : this.schema.getDisjointClasses(cls)
+      .entrySet())
+      if (isMember(disjointClass.getKey(), individual))
+        addInconsistency(disjointClass.getValue(), orderedPair(cls, disjointClass.getKey()),
+          Collections.singletonList(individual), Collections.emptyList());
+  }
+
+  private void applyObjectPropertyRules(@NonNull OWLObjectProperty property, @NonNull OWLIndividual subject,
+    @NonNull OWLIndividual object)
+  {
+    ObjectPropertyFacts facts = getObjectPropertyFacts(property);
+
+    for (OWLClass domain : this.schema.getObjectPropertyDomains(property))
+      addClassFact(domain, subject, false);
+
+    for (OWLClass range : this.schema.getObjectPropertyRanges(property))
+      addClassFact(range, object, false);
+
+    if (this.schema.hasCharacteristic(OWL2RLNames.OWL2RLRule.PRP_SYMP, property))
+      addObjectPropertyFact(property, object, subject);
+
+    if (this.schema.hasCharacteristic(OWL2RLNames.OWL2RLRule.PRP_TRP, property)) {
+      for (OWLIndividual next : new ArrayList<>(facts.getObjects(object)))
+        addObjectPropertyFact(property, subject, next);
+      for (OWLIndividual previous : new ArrayList<>(facts.getSubjects(subject)))
+        addObjectPropertyFact(property, previous, object);
+    }
+
+    for (OWLObjectProperty superProperty : this.schema.getSuperObjectProperties(property))
+      addObjectPropertyFact(superProperty, subject, object);
+
+    for (OWLObjectProperty inverseProperty : this.schema.getInverseObjectProperties(property))
+      addObjectPropertyFact(inverseProperty, object, subject);
+
+    if (this.schema.hasCharacteristic(OWL2RLNames.OWL2RLRule.PRP_FP, property))
+      for (OWLIndividual otherObject : facts.getObjects(subject))
+        if (!otherObject.equals(object))
+          addSameIndividualFact(object, otherObject);
+
+    if (this.schema.hasCharacteristic(OWL2RLNames.OWL2RLRule.PRP_IFP, property))
+      for (OWLIndividual otherSubject : facts.getSubjects(object))
+        if (!otherSubject.equals(subject))
+          addSameIndividualFact(subject, otherSubject);
+
+    if (this.schema.hasCharacteristic(OWL2RLNames.OWL2RLRule.PRP_IRP, property) && subject.equals(object))
+      addInconsistency(OWL2RLNames.OWL2RLRule.PRP_IRP, Collections.emptyList(), Collections.singletonList(subject),
+        Collections.singletonList(property));
+
+    if (this.schema.hasCharacteristic(OWL2RLNames.OWL2RLRule.PRP_ASYP, property) && facts.contains(object, subject))
+      addInconsistency(OWL2RLNames.OWL2RLRule.PRP_ASYP, Collections.emptyList(), orderedPair(subject, object),
+        Collections.singletonList(property));
+
+    for (OWLObjectProperty disjointProperty : this.schema.getDisjointObjectProperties(property))
+      if (getObjectPropertyFacts(disjointProperty).contains(subject, object))
+        addInconsistency(OWL2RLNames.OWL2RLRule.PRP_PDW, Collections.emptyList(), listOf(subject, object),
+          orderedPair(property, disjointProperty));
+
+    for (OWL2RLSchema.Restriction restriction : this.schema.getSomeValuesFromByProperty(property))
+      if (restriction.filler == null || isMember(restriction.filler, object))
+        addClassFact(restriction.restrictedClass, subject, false);
+
+    for (OWL2RLSchema.Restriction restriction : this.schema.getHasValueByProperty(property))
+      if (this.sameIndividuals.find(restriction.value).equals(object))
+        addClassFact(restriction.restrictedClass, subject, false);
+
+    for (OWL2RLSchema.Restriction restriction : this.schema.getAllValuesFromByProperty(property))
+      if (isMember(restriction.restrictedClass, subject))
+        addClassFact(restriction.filler, object, false);
+  }
+
+  private void applyDataPropertyRules(@NonNull OWLDataProperty property, @NonNull OWLIndividual subject,
+    @NonNull OWLLiteral value)
+  {
+    for (OWLClass domain : this.schema.getDataPropertyDomains(property))
+      addClassFact(domain, subject, false);
+
+    for (OWLDataProperty superProperty : this.schema.getSuperDataProperties(property))
+      addDataPropertyFact(superProperty, subject, value);
+  }
+
+  /**
+   * Merge the equivalence classes of two individuals and move the facts of the absorbed representative to the
+   * surviving one. Moved facts are new to the surviving representative and so are joined again.
+   */
+  private void merge(@NonNull OWLIndividual individual1, @NonNull OWLIndividual individual2)
+  {
+    Optional<@NonNull OWLIndividual> absorbed = this.sameIndividuals.union(individual1, individual2);
+
+    if (!absorbed.isPresent())
+      return;
+
+    OWLIndividual loser = absorbed.get(), winner = this.sameIndividuals.find(loser);
+
+    this.mergedIndividuals.add(winner);
+
+    Set<@NonNull OWLClass> classes = this.individualClasses.remove(loser);
+    if (classes != null)
+      for (OWLClass cls : classes) {
+        this.classMembers.get(cls).remove(loser);
+        addClassFact(cls, winner, false);
+      }
+
+    this.objectPropertyFacts.forEach((property, facts) -> {
+      for (OWLIndividual object : facts.removeSubject(loser))
+        addObjectPropertyFact(property, winner, object.equals(loser) ? winner : object);
+      for (OWLIndividual subject : facts.removeObject(loser))
+        addObjectPropertyFact(property, subject, winner);
+    });
+
+    this.dataPropertyFacts.forEach((property, facts) -> {
+      Set<@NonNull OWLLiteral> values = facts.remove(loser);
+      if (values != null)
+        for (OWLLiteral value : values)
+          addDataPropertyFact(property, winner, value);
+    });
+
+    Set<@NonNull OWLIndividual> different = this.differentIndividuals.remove(loser);
+    if (different != null)
+      for (OWLIndividual individual : different) {
+        Set<@NonNull OWLIndividual> otherDifferent = this.differentIndividuals.get(individual);
+        if (otherDifferent != null)
+          otherDifferent.remove(loser);
+        addDifferentIndividuals(winner, individual);
+      }
+  }
+
+  private void addDifferentIndividuals(@NonNull OWLIndividual individual1, @NonNull OWLIndividual individual2)
+  {
+    OWLIndividual representative1 = this.sameIndividuals.find(individual1);
+    OWLIndividual representative2 = this.sameIndividuals.find(individual2);
+
+    if (representative1.equals(representative2)) {
+      if (isEnabled(OWL2RLNames.OWL2RLRule.EQ_DIFF1))
+        addInconsistency(OWL2RLNames.OWL2RLRule.EQ_DIFF1, Collections.emptyList(),
+          orderedPair(individual1, individual2), Collections.emptyList());
+    } else {
+      this.differentIndividuals.computeIfAbsent(representative1, i -> new HashSet<>()).add(representative2);
+      this.differentIndividuals.computeIfAbsent(representative2, i -> new HashSet<>()).add(representative1);
+    }
+  }
+
+  private void addClassFact(@NonNull OWLClass cls, @NonNull OWLIndividual individual, boolean isSuperClassClosed)
+  {
+    OWLIndividual representative = this.sameIndividuals.find(individual);
+
+    if (this.classMembers.computeIfAbsent(cls, c -> new HashSet<>()).add(representative)) {
+      this.individualClasses.computeIfAbsent(representative, i -> new HashSet<>()).add(cls);
+      addFact(new Fact(FactType.CLASS, cls, representative, null, isSuperClassClosed));
+    }
+  }
+
+  private void addObjectPropertyFact(@NonNull OWLObjectProperty property, @NonNull OWLIndividual subject,
+    @NonNull OWLIndividual object)
+  {
+    OWLIndividual subjectRepresentative = this.sameIndividuals.find(subject);
+    OWLIndividual objectRepresentative = this.sameIndividuals.find(object);
+
+    if (getObjectPropertyFacts(property).add(subjectRepresentative, objectRepresentative))
+      addFact(new Fact(FactType.OBJECT_PROPERTY, property, subjectRepresentative, objectRepresentative, false));
+  }
+
+  private void addDataPropertyFact(@NonNull OWLDataProperty property, @NonNull OWLIndividual subject,
+    @NonNull OWLLiteral value)
+  {
+    OWLIndividual representative = this.sameIndividuals.find(subject);
+
+    if (this.dataPropertyFacts.computeIfAbsent(property, p -> new HashMap<>())
+      .computeIfAbsent(representative, s -> new HashSet<>()).add(value))
+      addFact(new Fact(FactType.DATA_PROPERTY, property, representative, value, false));
+  }
+
+  private void addSameIndividualFact(@NonNull OWLIndividual individual1, @NonNull OWLIndividual individual2)
+  {
+    if (this.isEqualityEnabled)
+      this.agenda.add(new Fact(FactType.SAME_INDIVIDUAL, null, individual1, individual2, false));
+    else
+      this.derivedAxioms.add(this.dataFactory.getOWLSameIndividualAxiom(individual1, individual2));
+  }
+
+  private void addFact(@NonNull Fact fact)
+  {
+    this.agenda.add(fact);
+    this.unreportedFacts.add(fact);
+  }
+
+  /**
+   * Join every fact again after the schema has changed.
+   */
+  private void reapplyRules()
+  {
+    this.classMembers.forEach((cls, individuals) -> individuals
+      .forEach(individual -> this.agenda.add(new Fact(FactType.CLASS, cls, individual, null, false))));
+    this.objectPropertyFacts.forEach((property, facts) -> facts.objects.forEach((subject, objects) -> objects
+      .forEach(object -> this.agenda.add(new Fact(FactType.OBJECT_PROPERTY, property, subject, object, false)))));
+    this.dataPropertyFacts.forEach((property, facts) -> facts.forEach((subject, values) -> values
+      .forEach(value -> this.agenda.add(new Fact(FactType.DATA_PROPERTY, property, subject, value, false)))));
+  }
+
+  private void deriveSchemaAxioms()
+  {
+    this.schema.getSchemaSuperClassClosure().forEach((subClass, superClasses) -> superClasses.forEach(
+      superClass -> this.derivedAxioms.add(this.dataFactory.getOWLSubClassOfAxiom(subClass, superClass))));
+    this.schema.getSchemaSuperObjectPropertyClosure().forEach((subProperty, superProperties) -> superProperties
+      .forEach(superProperty -> this.derivedAxioms
+        .add(this.dataFactory.getOWLSubObjectPropertyOfAxiom(subProperty, superProperty))));
+  }
+
+  /**
+   * Report the facts added since the last report, expanded to all individuals equal to their representatives, and
+   * the facts of representatives whose equivalence classes have grown.
+   */
+  private void report(@NonNull Consumer<@NonNull OWLAxiom> inferredAxiomConsumer)
+  {
+    for (Fact fact : this.unreportedFacts)
+      if (isRepresentative(fact.subject) && (!(fact.object instanceof OWLIndividual) || isRepresentative(
+        (OWLIndividual)fact.object)))
+        reportFact(fact.type, fact.predicate, fact.subject, fact.object, inferredAxiomConsumer);
+    this.unreportedFacts.clear();
+
+    for (OWLIndividual individual : this.mergedIndividuals)
+      if (isRepresentative(individual)) {
+        reportAxiom(
+          this.dataFactory.getOWLSameIndividualAxiom(new HashSet<>(this.sameIndividuals.getMembers(individual))),
+          inferredAxiomConsumer);
+        for (OWLClass cls : this.individualClasses.getOrDefault(individual, Collections.emptySet()))
+          reportFact(FactType.CLASS, cls, individual, null, inferredAxiomConsumer);
+        this.objectPropertyFacts.forEach((property, facts) -> {
+          for (OWLIndividual object : facts.getObjects(individual))
+            reportFact(FactType.OBJECT_PROPERTY, property, individual, object, inferredAxiomConsumer);
+          for (OWLIndividual subject : facts.getSubjects(individual))
+            reportFact(FactType.OBJECT_PROPERTY, property, subject, individual, inferredAxiomConsumer);
+        });
+        this.dataPropertyFacts.forEach((property, facts) -> {
+          for (OWLLiteral value : facts.getOrDefault(individual, Collections.emptySet()))
+            reportFact(FactType.DATA_PROPERTY, property, individual, value, inferredAxiomConsumer);
+        });
+      }
+    this.mergedIndividuals.clear();
+
+    for (OWLAxiom axiom : this.derivedAxioms)
+      reportAxiom(axiom, inferredAxiomConsumer);
+    this.derivedAxioms.clear();
+  }
+
+  private void reportFact(@NonNull FactType type, @Nullable OWLEntity predicate, @NonNull OWLIndividual subject,
+    @Nullable OWLObject object, @NonNull Consumer<@NonNull OWLAxiom> inferredAxiomConsumer)
+  {
+    for (OWLIndividual subjectMember : this.sameIndividuals.getMembers(subject)) {
+      if (type == FactType.CLASS)
+        reportAxiom(this.dataFactory.getOWLClassAssertionAxiom((OWLClass)predicate, subjectMember),
+          inferredAxiomConsumer);
+      else if (type == FactType.DATA_PROPERTY)
+        reportAxiom(this.dataFactory
+            .getOWLDataPropertyAssertionAxiom((OWLDataProperty)predicate, subjectMember, (OWLLiteral)object),
+          inferredAxiomConsumer);
+      else if (type == FactType.OBJECT_PROPERTY)
+        for (OWLIndividual objectMember : this.sameIndividuals.getMembers((OWLIndividual)object))
+          reportAxiom(this.dataFactory
+              .getOWLObjectPropertyAssertionAxiom((OWLObjectProperty)predicate, subjectMember, objectMember),
+            inferredAxiomConsumer);
+    }
+  }
+
+  private void reportAxiom(@NonNull OWLAxiom axiom, @NonNull Consumer<@NonNull OWLAxiom> inferredAxiomConsumer)
+  {
+    if (!this.knownAxioms.contains(axiom) && this.reportedAxioms.add(axiom))
+      inferredAxiomConsumer.accept(axiom);
+  }
+
+  private void addInconsistency(OWL2RLNames.OWL2RLRule rule, @NonNull List<@NonNull OWLClass> classes,
+    @NonNull List<@NonNull OWLIndividual> individuals, @NonNull List<@NonNull OWLObjectProperty> objectProperties)
+  {
+    this.inconsistencies
+      .add(new OWL2RLInconsistency(rule, classes, individuals, objectProperties, Collections.emptyList()));
+  }
+
+  @NonNull private ObjectPropertyFacts getObjectPropertyFacts(@NonNull OWLObjectProperty property)
+  {
+    return this.objectPropertyFacts.computeIfAbsent(property, p -> new ObjectPropertyFacts());
+  }
+
+  private boolean isMember(@NonNull OWLClass cls, @NonNull OWLIndividual representative)
+  {
+    Set<@NonNull OWLIndividual> members = this.classMembers.get(cls);
+
+    return members != null && members.contains(representative);
+  }
+
+  private boolean isRepresentative(@NonNull OWLIndividual individual)
+  {
+    return this.sameIndividuals.find(individual).equals(individual);
+  }
+
+  private boolean isEnabled(OWL2RLNames.OWL2RLRule rule)
+  {
+    return this.enabledRules.contains(rule);
+  }
+
+  @SafeVarargs @NonNull private static <T> List<@NonNull T> listOf(@NonNull T... elements)
+  {
+    return Collections.unmodifiableList(Arrays.asList(elements));
+  }
+
+  /**
+   * Order the arguments of a symmetric inconsistency, which is found from both of its facts.
+   */
+  @NonNull private static <T extends OWLObject> List<@NonNull T> orderedPair(@NonNull T object1, @NonNull T object2)
+  {
+    return object1.compareTo(object2) <= 0 ? listOf(object1, object2) : listOf(object2, object1);
+  }
+}
@@ -0,0 +1,520 @@
+package org.swrlapi.owl2rl;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLDataPropertyDomainAxiom;
+import org.semanticweb.owlapi.model.OWLDataPropertyExpression;
+import org.semanticweb.owlapi.model.OWLDisjointClassesAxiom;
+import org.semanticweb.owlapi.model.OWLDisjointObjectPropertiesAxiom;
+import org.semanticweb.owlapi.model.OWLEquivalentClassesAxiom;
+import org.semanticweb.owlapi.model.OWLEquivalentDataPropertiesAxiom;
+import org.semanticweb.owlapi.model.OWLEquivalentObjectPropertiesAxiom;
+import org.semanticweb.owlapi.model.OWLFunctionalObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLIndividual;
+import org.semanticweb.owlapi.model.OWLInverseFunctionalObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLInverseObjectPropertiesAxiom;
+import org.semanticweb.owlapi.model.OWLAsymmetricObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLIrreflexiveObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLObjectAllValuesFrom;
+import org.semanticweb.owlapi.model.OWLObjectComplementOf;
+import org.semanticweb.owlapi.model.OWLObjectHasValue;
+import org.semanticweb.owlapi.model.OWLObjectIntersectionOf;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLObjectPropertyDomainAxiom;
+import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
+import org.semanticweb.owlapi.model.OWLObjectPropertyRangeAxiom;
+import org.semanticweb.owlapi.model.OWLObjectSomeValuesFrom;
+import org.semanticweb.owlapi.model.OWLObjectUnionOf;
+import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
+import org.semanticweb.owlapi.model.OWLSubDataPropertyOfAxiom;
+import org.semanticweb.owlapi.model.OWLSubObjectPropertyOfAxiom;
+import org.semanticweb.owlapi.model.OWLSymmetricObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLTransitiveObjectPropertyAxiom;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The schema (TBox and RBox) axioms of an ontology compiled into the lookup tables used by an
+ * {@link OWL2RLMaterializer}. Only the parts of the schema used by enabled OWL 2 RL rules are compiled.
+ * <p>
+ * The subclass and subproperty hierarchies are closed transitively when the schema is compiled, so that
+ * <code>cax-sco</code> and <code>prp-spo1</code> each need a single lookup per fact rather than one rule application
+ * per step up the hierarchy.
+ */
+final class OWL2RLSchema
+{
+  /**
+   * A property restriction: a filler class or value and the class it implies or is implied by.
+   */
+  static final class Restriction
+  {
+    @NonNull final OWLObjectProperty property;
+    @Nullable final OWLClass filler; // null for a value restriction or an owl:Thing filler
+    @Nullable final OWLIndividual value;
+    @NonNull final OWLClass restrictedClass;
+
+    Restriction(@NonNull OWLObjectProperty property, @Nullable OWLClass filler, @Nullable OWLIndividual value,
+      @NonNull OWLClass restrictedClass)
+    {
+      this.property = property;
+      this.filler = filler;
+      this.value = value;
+      this.restrictedClass = restrictedClass;
+    }
+  }
+
+  /**
+   * A named class equivalent to, or implied by, the intersection of named classes.
+   */
+  static final class Conjunction
+  {
+    @NonNull final OWLClass conjunctionClass;
+    @NonNull final List<@NonNull OWLClass> operands;
+
+    Conjunction(@NonNull OWLClass conjunctionClass, @NonNull List<@NonNull OWLClass> operands)
+    {
+      this.conjunctionClass = conjunctionClass;
+      this.operands = operands;
+    }
+  }
+
+  @NonNull private final Set<OWL2RLNames.OWL2RLRule> enabledRules;
+
+  // Transitive closures, excluding each class or property itself
+  @NonNull private final Map<@NonNull OWLClass, @NonNull Set<@NonNull OWLClass>> superClasses = new HashMap<>();
+  @NonNull private final Map<@NonNull OWLObjectProperty, @NonNull Set<@NonNull OWLObjectProperty>> superObjectProperties
+    = new HashMap<>();
+  @NonNull private final Map<@NonNull OWLDataProperty, @NonNull Set<@NonNull OWLDataProperty>> superDataProperties
+    = new HashMap<>();
+  // Asserted hierarchies for the scm-* rules
+  @NonNull private final Map<@NonNull OWLClass, @NonNull Set<@NonNull OWLClass>> schemaSuperClasses = new HashMap<>();
+  @NonNull private final Map<@NonNull OWLObjectProperty, @NonNull Set<@NonNull OWLObjectProperty>>
+    schemaSuperObjectProperties = new HashMap<>();
+
+  @NonNull private final Map<@NonNull OWLClass, @NonNull List<@NonNull Conjunction>> conjunctionsByOperand
+    = new HashMap<>();
+  @NonNull private final Map<@NonNull OWLObjectProperty, @NonNull List<@NonNull Restriction>> someValuesFromByProperty
+    = new HashMap<>();
+  @NonNull private final Map<@NonNull OWLClass, @NonNull List<@NonNull Restriction>> someValuesFromByFiller
+    = new HashMap<>();
+  @NonNull private final Map<@NonNull OWLObjectProperty, @NonNull List<@NonNull Restriction>> allValuesFromByProperty
+    = new HashMap<>();
+  @NonNull private final Map<@NonNull OWLClass, @NonNull List<@NonNull Restriction>> allValuesFromByClass
+    = new HashMap<>();
+  @NonNull private final Map<@NonNull OWLObjectProperty, @NonNull List<@NonNull Restriction>> hasValueByProperty
+    = new HashMap<>();
+  @NonNull private final Map<@NonNull OWLClass, @NonNull List<@NonNull Restriction>> hasValueByClass = new HashMap<>();
+  @NonNull private final Map<@NonNull OWLClass, @NonNull Map<@NonNull OWLClass, OWL2RLNames.OWL2RLRule>> disjointClasses
+    = new HashMap<>();
+
+  @NonNull private final Map<@NonNull OWLObjectProperty, @NonNull Set<@NonNull OWLObjectProperty>>
+    inverseObjectProperties = new HashMap<>();
+  @NonNull private final Map<@NonNull OWLObjectProperty, @NonNull Set<@NonNull OWLObjectProperty>>
+    disjointObjectProperties = new HashMap<>();
+  @NonNull private final Map<@NonNull OWLObjectProperty, @NonNull Set<@NonNull OWLClass>> objectPropertyDomains
+    = new HashMap<>();
+  @NonNull private final Map<@NonNull OWLObjectProperty, @NonNull Set<@NonNull OWLClass>> objectPropertyRanges
+    = new HashMap<>();
+  @NonNull private final Map<@NonNull OWLDataProperty, @NonNull Set<@NonNull OWLClass>> dataPropertyDomains
+    = new HashMap<>();
+  @NonNull private final Map<OWL2RLNames.OWL2RLRule, @NonNull Set<@NonNull OWLObjectProperty>> propertyCharacteristics
+    = new EnumMap<>(OWL2RLNames.OWL2RLRule.class);
+
+  OWL2RLSchema(@NonNull Collection<@NonNull OWLAxiom> axioms, @NonNull Set<OWL2RLNames.OWL2RLRule> enabledRules)
+  {
+    this.enabledRules = enabledRules;
+
+    for (OWLAxiom axiom : axioms)
+      compile(axiom);
+
+    close(this.superClasses);
+    close(this.superObjectProperties);
+    close(this.superDataProperties);
+  }
+
+  @NonNull Set<@NonNull OWLClass> getSuperClasses(@NonNull OWLClass cls)
+  {
+    return this.superClasses.getOrDefault(cls, Collections.emptySet());
+  }
+
+  @NonNull Set<@NonNull OWLObjectProperty> getSuperObjectProperties(@NonNull OWLObjectProperty property)
+  {
+    return this.superObjectProperties.getOrDefault(property, Collections.emptySet());
+  }
+
+  @NonNull Set<@NonNull OWLDataProperty> getSuperDataProperties(@NonNull OWLDataProperty property)
+  {
+    return this.superDataProperties.getOrDefault(property, Collections.emptySet());
+  }
+
+  @NonNull List<@NonNull Conjunction> getConjunctionsByOperand(@NonNull OWLClass operand)
+  {
+    return this.conjunctionsByOperand.getOrDefault(operand, Collections.emptyList());
+  }
+
+  @NonNull List<@NonNull Restriction> getSomeValuesFromByProperty(@NonNull OWLObjectProperty property)
+  {
+    return this.someValuesFromByProperty.getOrDefault(property, Collections.emptyList());
+  }
+
+  @NonNull List<@NonNull Restriction> getSomeValuesFromByFiller(@NonNull OWLClass filler)
+  {
+    return this.someValuesFromByFiller.getOrDefault(filler, Collections.emptyList());
+  }
+
+  @NonNull List<@NonNull Restriction> getAllValuesFromByProperty(@NonNull OWLObjectProperty property)
+  {
+    return this.allValuesFromByProperty.getOrDefault(property, Collections.emptyList());
+  }
+
+  @NonNull List<@NonNull Restriction> getAllValuesFromByClass(@NonNull OWLClass cls)
+  {
+    return this.allValuesFromByClass.getOrDefault(cls, Collections.emptyList());
+  }
+
+  @NonNull List<@NonNull Restriction> getHasValueByProperty(@NonNull OWLObjectProperty property)
+  {
+    return this.hasValueByProperty.getOrDefault(property, Collections.emptyList());
+  }
+
+  @NonNull List<@NonNull Restriction> getHasValueByClass(@NonNull OWLClass cls)
+  {
+    return this.hasValueByClass.getOrDefault(cls, Collections.emptyList());
+  }
+
+  /**
+   * @return The classes disjoint with the class, each with the rule that detects an individual in both
+   */
+  @NonNull Map<@NonNull OWLClass, OWL2RLNames.OWL2RLRule> getDisjointClasses(@NonNull OWLClass cls)
+  {
+    return this.disjointClasses.getOrDefault(cls, Collections.emptyMap());
+  }
+
+  @NonNull Set<@NonNull OWLObjectProperty> getInverseObjectProperties(@NonNull OWLObjectProperty property)
+  {
+    return this.inverseObjectProperties.getOrDefault(property, Collections.emptySet());
+  }
+
+  @NonNull Set<@NonNull OWLObjectProperty> getDisjointObjectProperties(@NonNull OWLObjectProperty property)
+  {
+    return this.disjointObjectProperties.getOrDefault(property, Collections.emptySet());
+  }
+
+  @NonNull Set<@NonNull OWLClass> getObjectPropertyDomains(@NonNull OWLObjectProperty property)
+  {
+    return this.objectPropertyDomains.getOrDefault(property, Collections.emptySet());
+  }
+
+  @NonNull Set<@NonNull OWLClass> getObjectPropertyRanges(@NonNull OWLObjectProperty property)
+  {
+    return this.objectPropertyRanges.getOrDefault(property, Collections.emptySet());
+  }
+
+  @NonNull Set<@NonNull OWLClass> getDataPropertyDomains(@NonNull OWLDataProperty property)
+  {
+    return this.dataPropertyDomains.getOrDefault(property, Collections.emptySet());
+  }
+
+  /**
+   * @param characteristicRule One of <code>prp-symp</code>, <code>prp-trp</code>, <code>prp-fp</code>,
+   *                           <code>prp-ifp</code>, <code>prp-irp</code> or <code>prp-asyp</code>
+   * @param property           An object property
+   * @return True if the property has the characteristic and the rule for it is enabled
+   */
+  boolean hasCharacteristic(OWL2RLNames.OWL2RLRule characteristicRule, @NonNull OWLObjectProperty property)
+  {
+    Set<@NonNull OWLObjectProperty> properties = this.propertyCharacteristics.get(characteristicRule);
+
+    return properties != null && properties.contains(property);
+  }
+
+  /**
+   * @return The transitive closure of the asserted subclass hierarchy, for <code>scm-sco</code>
+   */
+  @NonNull Map<@NonNull OWLClass, @NonNull Set<@NonNull OWLClass>> getSchemaSuperClassClosure()
+  {
+    Map<@NonNull OWLClass, @NonNull Set<@NonNull OWLClass>> closure = copy(this.schemaSuperClasses);
+    close(closure);
+    return closure;
+  }
+
+  /**
+   * @return The transitive closure of the asserted subproperty hierarchy, for <code>scm-spo</code>
+   */
+  @NonNull Map<@NonNull OWLObjectProperty, @NonNull Set<@NonNull OWLObjectProperty>>
+  getSchemaSuperObjectPropertyClosure()
+  {
+    Map<@NonNull OWLObjectProperty, @NonNull Set<@NonNull OWLObjectProperty>> closure = copy(
+      this.schemaSuperObjectProperties);
+    close(closure);
+    return closure;
+  }
+
+  private void compile(@NonNull OWLAxiom axiom)
+  {
+    if (axiom instanceof OWLSubClassOfAxiom) {
+      OWLSubClassOfAxiom subClassOfAxiom = (OWLSubClassOfAxiom)axiom;
+      compileSubClassOf(subClassOfAxiom.getSubClass(), subClassOfAxiom.getSuperClass(), OWL2RLNames.OWL2RLRule.CAX_SCO);
+      if (!subClassOfAxiom.getSubClass().isAnonymous() && !subClassOfAxiom.getSuperClass().isAnonymous()
+        && isEnabled(OWL2RLNames.OWL2RLRule.SCM_SCO))
+        add(this.schemaSuperClasses, subClassOfAxiom.getSubClass().asOWLClass(),
+          subClassOfAxiom.getSuperClass().asOWLClass());
+    } else if (axiom instanceof OWLEquivalentClassesAxiom) {
+      List<@NonNull OWLClassExpression> classExpressions = ((OWLEquivalentClassesAxiom)axiom)
+        .getClassExpressionsAsList();
+      for (OWLClassExpression classExpression1 : classExpressions)
+        for (OWLClassExpression classExpression2 : classExpressions)
+          if (!classExpression1.equals(classExpression2)) {
+            compileSubClassOf(classExpression1, classExpression2, OWL2RLNames.OWL2RLRule.CAX_EQC1);
+            if (!classExpression1.isAnonymous() && !classExpression2.isAnonymous() && isEnabled(
+              OWL2RLNames.OWL2RLRule.SCM_EQC1))
+              add(this.schemaSuperClasses, classExpression1.asOWLClass(), classExpression2.asOWLClass());
+          }
+    } else if (axiom instanceof OWLDisjointClassesAxiom) {
+      List<@NonNull OWLClassExpression> classExpressions = ((OWLDisjointClassesAxiom)axiom)
+        .getClassExpressionsAsList();
+      OWL2RLNames.OWL2RLRule rule = classExpressions.size() == 2 ?
+        OWL2RLNames.OWL2RLRule.CAX_DW :
+        OWL2RLNames.OWL2RLRule.CAX_ADC;
+      if (isEnabled(rule))
+        for (OWLClassExpression classExpression1 : classExpressions)
+          for (OWLClassExpression classExpression2 : classExpressions)
+            if (!classExpression1.equals(classExpression2) && !classExpression1.isAnonymous() && !classExpression2
+              .isAnonymous())
+              this.disjointClasses.computeIfAbsent(classExpression1.asOWLClass(), c -> new HashMap<>())
+                .put(classExpression2.asOWLClass(), rule);
+    } else if (axiom instanceof OWLSubObjectPropertyOfAxiom) {
+      OWLSubObjectPropertyOfAxiom subPropertyAxiom = (OWLSubObjectPropertyOfAxiom)axiom;
+      if (isNamed(subPropertyAxiom.getSubProperty()) && isNamed(subPropertyAxiom.getSuperProperty())) {
+        OWLObjectProperty subProperty = subPropertyAxiom.getSubProperty().asOWLObjectProperty();
+        OWLObjectProperty superProperty = subPropertyAxiom.getSuperProperty().asOWLObjectProperty();
+        if (isEnabled(OWL2RLNames.OWL2RLRule.PRP_SPO1))
+          add(this.superObjectProperties, subProperty, superProperty);
+        if (isEnabled(OWL2RLNames.OWL2RLRule.SCM_SPO))
+          add(this.schemaSuperObjectProperties, subProperty, superProperty);
+      }
+    } else if (axiom instanceof OWLEquivalentObjectPropertiesAxiom) {
+      for (OWLObjectPropertyExpression property1 : ((OWLEquivalentObjectPropertiesAxiom)axiom).getProperties())
+        for (OWLObjectPropertyExpression property2 : ((OWLEquivalentObjectPropertiesAxiom)axiom).getProperties())
+          if (!property1.equals(property2) && isNamed(property1) && isNamed(property2)) {
+            if (isEnabled(OWL2RLNames.OWL2RLRule.PRP_EQP1))
+              add(this.superObjectProperties, property1.asOWLObjectProperty(), property2.asOWLObjectProperty());
+            if (isEnabled(OWL2RLNames.OWL2RLRule.SCM_EQP1))
+              add(this.schemaSuperObjectProperties, property1.asOWLObjectProperty(), property2.asOWLObjectProperty());
+          }
+    } else if (axiom instanceof OWLInverseObjectPropertiesAxiom) {
+      OWLInverseObjectPropertiesAxiom inverseAxiom = (OWLInverseObjectPropertiesAxiom)axiom;
+      if (isEnabled(OWL2RLNames.OWL2RLRule.PRP_INV1) && isNamed(inverseAxiom.getFirstProperty()) && isNamed(
+        inverseAxiom.getSecondProperty())) {
+        OWLObjectProperty property1 = inverseAxiom.getFirstProperty().asOWLObjectProperty();
+        OWLObjectProperty property2 = inverseAxiom.getSecondProperty().asOWLObjectProperty();
+        add(this.inverseObjectProperties, property1, property2);
+        add(this.inverseObjectProperties, property2, property1);
+      }
+    } else if (axiom instanceof OWLDisjointObjectPropertiesAxiom) {
+      List<@NonNull OWLObjectPropertyExpression> properties = new ArrayList<>(
+        ((OWLDisjointObjectPropertiesAxiom)axiom).getProperties());
+      if (properties.size() == 2 && isEnabled(OWL2RLNames.OWL2RLRule.PRP_PDW) && isNamed(properties.get(0)) && isNamed(
+        properties.get(1))) {
+        add(this.disjointObjectProperties, properties.get(0).asOWLObjectProperty(),
+          properties.get(1).asOWLObjectProperty());
+        add(this.disjointObjectProperties, properties.get(1).asOWLObjectProperty(),
+          properties.get(0).asOWLObjectProperty());
+      }
+    } else if (axiom instanceof OWLObjectPropertyDomainAxiom) {
+      OWLObjectPropertyDomainAxiom domainAxiom = (OWLObjectPropertyDomainAxiom)axiom;
+      if (isEnabled(OWL2RLNames.OWL2RLRule.PRP_DOM) && isNamed(domainAxiom.getProperty()) && !domainAxiom.getDomain()
+        .isAnonymous())
+        add(this.objectPropertyDomains, domainAxiom.getProperty().asOWLObjectProperty(),
+          domainAxiom.getDomain().asOWLClass());
+    } else if (axiom instanceof OWLObjectPropertyRangeAxiom) {
+      OWLObjectPropertyRangeAxiom rangeAxiom = (OWLObjectPropertyRangeAxiom)axiom;
+      if (isEnabled(OWL2RLNames.OWL2RLRule.PRP_RNG) && isNamed(rangeAxiom.getProperty()) && !rangeAxiom.getRange()
+        .isAnonymous())
+        add(this.objectPropertyRanges, rangeAxiom.getProperty().asOWLObjectProperty(),
+          rangeAxiom.getRange().asOWLClass());
+    } else if (axiom instanceof OWLSymmetricObjectPropertyAxiom)
+      addCharacteristic(OWL2RLNames.OWL2RLRule.PRP_SYMP, ((OWLSymmetricObjectPropertyAxiom)axiom).getProperty());
+    else if (axiom instanceof OWLTransitiveObjectPropertyAxiom)
+      addCharacteristic(OWL2RLNames.OWL2RLRule.PRP_TRP, ((OWLTransitiveObjectPropertyAxiom)axiom).getProperty());
+    else if (axiom instanceof OWLFunctionalObjectPropertyAxiom)
+      addCharacteristic(OWL2RLNames.OWL2RLRule.PRP_FP, ((OWLFunctionalObjectPropertyAxiom)axiom).getProperty());
+    else if (axiom instanceof OWLInverseFunctionalObjectPropertyAxiom)
+      addCharacteristic(OWL2RLNames.OWL2RLRule.PRP_IFP, ((OWLInverseFunctionalObjectPropertyAxiom)axiom).getProperty());
+    else if (axiom instanceof OWLIrreflexiveObjectPropertyAxiom)
+      addCharacteristic(OWL2RLNames.OWL2RLRule.PRP_IRP, ((OWLIrreflexiveObjectPropertyAxiom)axiom).getProperty());
+    else if (axiom instanceof OWLAsymmetricObjectPropertyAxiom)
+      addCharacteristic(OWL2RLNames.OWL2RLRule.PRP_ASYP, ((OWLAsymmetricObjectPropertyAxiom)axiom).getProperty());
+    else if (axiom instanceof OWLSubDataPropertyOfAxiom) {
+      OWLSubDataPropertyOfAxiom subPropertyAxiom = (OWLSubDataPropertyOfAxiom)axiom;
+      if (isEnabled(OWL2RLNames.OWL2RLRule.PRP_SPO1))
+        add(this.superDataProperties, subPropertyAxiom.getSubProperty().asOWLDataProperty(),
+          subPropertyAxiom.getSuperProperty().asOWLDataProperty());
+    } else if (axiom instanceof OWLEquivalentDataPropertiesAxiom) {
+      if (isEnabled(OWL2RLNames.OWL2RLRule.PRP_EQP1))
+        for (OWLDataPropertyExpression property1 : ((OWLEquivalentDataPropertiesAxiom)axiom).getProperties())
+          for (OWLDataPropertyExpression property2 : ((OWLEquivalentDataPropertiesAxiom)axiom).getProperties())
+            if (!property1.equals(property2))
+              add(this.superDataProperties, property1.asOWLDataProperty(), property2.asOWLDataProperty());
+    } else if (axiom instanceof OWLDataPropertyDomainAxiom) {
+      OWLDataPropertyDomainAxiom domainAxiom = (OWLDataPropertyDomainAxiom)axiom;
+      if (isEnabled(OWL2RLNames.OWL2RLRule.PRP_DOM) && !domainAxiom.getDomain().isAnonymous())
+        add(this.dataPropertyDomains, domainAxiom.getProperty().asOWLDataProperty(),
+          domainAxiom.getDomain().asOWLClass());
+    }
+  }
+
+  /**
+   * Compile <code>subClass</code> &sube; <code>superClass</code> for the rules that apply to the forms of its class
+   * expressions. A subclass relation between named classes is compiled for <code>namedRule</code>.
+   */
+  private void compileSubClassOf(@NonNull OWLClassExpression subClass, @NonNull OWLClassExpression superClass,
+    OWL2RLNames.OWL2RLRule namedRule)
+  {
+    if (subClass instanceof OWLObjectUnionOf) { // cls-uni
+      if (isEnabled(OWL2RLNames.OWL2RLRule.CLS_UNI))
+        for (OWLClassExpression operand : ((OWLObjectUnionOf)subClass).getOperands())
+          compileSubClassOf(operand, superClass, namedRule);
+    } else if (!subClass.isAnonymous()) {
+      OWLClass cls = subClass.asOWLClass();
+      if (!superClass.isAnonymous()) {
+        if (isEnabled(namedRule) && !cls.equals(superClass))
+          add(this.superClasses, cls, superClass.asOWLClass());
+      } else if (superClass instanceof OWLObjectIntersectionOf) { // cls-int2
+        if (isEnabled(OWL2RLNames.OWL2RLRule.CLS_INT2))
+          for (OWLClassExpression operand : ((OWLObjectIntersectionOf)superClass).getOperands())
+            compileSubClassOf(cls, operand, OWL2RLNames.OWL2RLRule.CLS_INT2);
+      } else if (superClass instanceof OWLObjectHasValue) { // cls-hv1
+        OWLObjectHasValue hasValue = (OWLObjectHasValue)superClass;
+        if (isEnabled(OWL2RLNames.OWL2RLRule.CLS_HV1) && isNamed(hasValue.getProperty()))
+          this.hasValueByClass.computeIfAbsent(cls, c -> new ArrayList<>())
+            .add(new Restriction(hasValue.getProperty().asOWLObjectProperty(), null, hasValue.getFiller(), cls));
+      } else if (superClass instanceof OWLObjectAllValuesFrom) { // cls-avf
+        OWLObjectAllValuesFrom allValuesFrom = (OWLObjectAllValuesFrom)superClass;
+        if (isEnabled(OWL2RLNames.OWL2RLRule.CLS_AVF) && isNamed(allValuesFrom.getProperty()) && !allValuesFrom
+          .getFiller().isAnonymous()) {
+          Restriction restriction = new Restriction(allValuesFrom.getProperty().asOWLObjectProperty(),
+            allValuesFrom.getFiller().asOWLClass(), null, cls);
+          this.allValuesFromByClass.computeIfAbsent(cls, c -> new ArrayList<>()).add(restriction);
+          this.allValuesFromByProperty.computeIfAbsent(restriction.property, p -> new ArrayList<>()).add(restriction);
+        }
+      } else if (superClass instanceof OWLObjectComplementOf) { // cls-com
+        OWLClassExpression complement = ((OWLObjectComplementOf)superClass).getOperand();
+        if (isEnabled(OWL2RLNames.OWL2RLRule.CLS_COM) && !complement.isAnonymous()) {
+          this.disjointClasses.computeIfAbsent(cls, c -> new HashMap<>())
+            .put(complement.asOWLClass(), OWL2RLNames.OWL2RLRule.CLS_COM);
+          this.disjointClasses.computeIfAbsent(complement.asOWLClass(), c -> new HashMap<>())
+            .put(cls, OWL2RLNames.OWL2RLRule.CLS_COM);
+        }
+      }
+    } else if (!superClass.isAnonymous()) {
+      OWLClass cls = superClass.asOWLClass();
+      if (subClass instanceof OWLObjectIntersectionOf) { // cls-int1
+        List<@NonNull OWLClass> operands = new ArrayList<>();
+        for (OWLClassExpression operand : ((OWLObjectIntersectionOf)subClass).getOperands())
+          if (!operand.isAnonymous())
+            operands.add(operand.asOWLClass());
+        if (isEnabled(OWL2RLNames.OWL2RLRule.CLS_INT1) && operands.size() == ((OWLObjectIntersectionOf)subClass)
+          .getOperands().size()) {
+          Conjunction conjunction = new Conjunction(cls, operands);
+          for (OWLClass operand : operands)
+            this.conjunctionsByOperand.computeIfAbsent(operand, o -> new ArrayList<>()).add(conjunction);
+        }
+      } else if (subClass instanceof OWLObjectSomeValuesFrom) { // cls-svf1 and cls-svf2
+        OWLObjectSomeValuesFrom someValuesFrom = (OWLObjectSomeValuesFrom)subClass;
+        OWLClassExpression filler = someValuesFrom.getFiller();
+        if (isNamed(someValuesFrom.getProperty()) && !filler.isAnonymous()) {
+          OWLObjectProperty property = someValuesFrom.getProperty().asOWLObjectProperty();
+          if (filler.isOWLThing() && isEnabled(OWL2RLNames.OWL2RLRule.CLS_SFV2))
+            this.someValuesFromByProperty.computeIfAbsent(property, p -> new ArrayList<>())
+              .add(new Restriction(property, null, null, cls));
+          else if (!filler.isOWLThing() && isEnabled(OWL2RLNames.OWL2RLRule.CLS_SFV1)) {
+            Restriction restriction = new Restriction(property, filler.asOWLClass(), null, cls);
+            this.someValuesFromByProperty.computeIfAbsent(property, p -> new ArrayList<>()).add(restriction);
+            this.someValuesFromByFiller.computeIfAbsent(filler.asOWLClass(), f -> new ArrayList<>()).add(restriction);
+          }
+        }
+      } else if (subClass instanceof OWLObjectHasValue) { // cls-hv2
+        OWLObjectHasValue hasValue = (OWLObjectHasValue)subClass;
+        if (isEnabled(OWL2RLNames.OWL2RLRule.CLS_HV2) && isNamed(hasValue.getProperty()))
+          this.hasValueByProperty.computeIfAbsent(hasValue.getProperty().asOWLObjectProperty(), p -> new ArrayList<>())
+            .add(new Restriction(hasValue.getProperty().asOWLObjectProperty(), null, hasValue.getFiller(), cls));
+      }
+    }
+  }
+
+  private void addCharacteristic(OWL2RLNames.OWL2RLRule characteristicRule,
+    @NonNull OWLObjectPropertyExpression property)
+  {
+    if (isEnabled(characteristicRule) && isNamed(property))
+      this.propertyCharacteristics.computeIfAbsent(characteristicRule, r -> new HashSet<>())
+        .add(property.asOWLObjectProperty());
+  }
+
+  private boolean isEnabled(OWL2RLNames.OWL2RLRule rule)
+  {
+    return this.enabledRules.contains(rule);
+  }
+
+  private static boolean isNamed(@NonNull OWLObjectPropertyExpression property)
+  {
+    return !property.isAnonymous();
+  }
+
+  private static <T> void add(@NonNull Map<@NonNull T, @NonNull Set<@NonNull T>> map, @NonNull T key,
+    @NonNull T value)
+  {
+    map.computeIfAbsent(key, k -> new HashSet<>()).add(value);
+  }
+
+  @NonNull private static <T> Map<@NonNull T, @NonNull Set<@NonNull T>> copy(
+    @NonNull Map<@NonNull T, @NonNull Set<@NonNull T>> map)
+  {
+    Map<@NonNull T, @NonNull Set<@NonNull T>> copy = new HashMap<>();
+
+    map.forEach((key, values) -> copy.put(key, new HashSet<>(values)));
+
+    return copy;
+  }
+
+  /**
+   * Replace each key's successors with all nodes reachable from it, excluding the key itself.
+   */
+  private static <T> void close(@NonNull Map<@NonNull T, @NonNull Set<@NonNull T>> graph)
+  {
+    Map<@NonNull T, @NonNull Set<@NonNull T>> closure = new HashMap<>();
+
+    for (T start : graph.keySet()) {
+      Set<@NonNull T> reachable = new HashSet<>();
+      Deque<@NonNull T> stack = new ArrayDeque<>(graph.get(start));
+
+      while (!stack.isEmpty()) {
+        T node = stack.pop();
+        if (!node.equals(start) && reachable.add(node)) {
+          Set<@NonNull T> successors = closure.get(node);
+          if (successors != null) // Already closed, so no need to search below it
+            reachable.addAll(successors);
+          else
+            stack.addAll(graph.getOrDefault(node, Collections.emptySet()));
+        }
+      }
+      reachable.remove(start); // Reachable through a cycle
+      closure.put(start, reachable);
+    }
+    graph.putAll(closure);
+  }
+}
@@ -0,0 +1,278 @@
+package org.swrlapi.parser;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.dataflow.qual.Deterministic;
+import org.checkerframework.dataflow.qual.SideEffectFree;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.SWRLAtom;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A bounded cache of parse outcomes shared by the {@link org.swrlapi.parser.SWRLParser}s of a
+ * {@link org.swrlapi.core.SWRLAPIOWLOntology}.
+ * <p>
+ * Parse outcomes are keyed by normalized rule text (see {@link org.swrlapi.parser.SWRLTokenizer#normalize}), parse
+ * mode, and the signature version of the cache. A successful non-interactive parse records the head and body atoms of
+ * the rule; a failed parse records the error so that it can be reported again without re-parsing. The cache also
+ * memoizes the prefixed name to IRI resolutions and entity kind lookups performed by
+ * {@link org.swrlapi.parser.SWRLParserSupport}.
+ * <p>
+ * Parse outcomes depend on the ontology signature, its prefixes, and the available built-ins. The owning ontology must
+ * call {@link #invalidate()} whenever any of these may have changed. Invalidation advances the signature version and
+ * discards all cached entries. Because an ontology is not always listening for changes, parsers also check the number
+ * of non-rule axioms in the ontology before each parse (see {@link #invalidateIfAxiomCountChanged(int)}).
+ *
+ * @see org.swrlapi.parser.SWRLParser
+ * @see org.swrlapi.parser.SWRLParserSupport
+ */
+public class SWRLParseCache
+{
+  public static final int DEFAULT_MAXIMUM_NUMBER_OF_PARSES = 1000;
+
+  // Entity kinds recorded by the parser support
+  static final int CLASS = 0;
+  static final int NAMED_INDIVIDUAL = 1;
+  static final int OBJECT_PROPERTY = 2;
+  static final int DATA_PROPERTY = 3;
+  static final int ANNOTATION_PROPERTY = 4;
+  static final int DATATYPE = 5;
+  static final int BUILT_IN = 6;
+
+  private static final int KNOWN_KINDS_SHIFT = 8;
+
+  private final int maximumNumberOfParses;
+  @NonNull private final Map<@NonNull ParseKey, @NonNull CachedParse> parses;
+  @NonNull private final Map<@NonNull String, @NonNull IRI> prefixedName2IRI;
+  // Low bits hold the kinds of a short name; the bits above KNOWN_KINDS_SHIFT record which kinds have been checked
+  @NonNull private final Map<@NonNull String, @NonNull Integer> entityKinds;
+
+  private long signatureVersion = 0;
+  private int axiomCount = -1;
+  private long hitCount = 0;
+  private long missCount = 0;
+
+  public SWRLParseCache()
+  {
+    this(DEFAULT_MAXIMUM_NUMBER_OF_PARSES);
+  }
+
+  public SWRLParseCache(int maximumNumberOfParses)
+  {
+    this.maximumNumberOfParses = maximumNumberOfParses;
+    this.parses = new BoundedMap<>(maximumNumberOfParses);
+    this.prefixedName2IRI = new BoundedMap<>(10 * maximumNumberOfParses);
+    this.entityKinds = new BoundedMap<>(10 * maximumNumberOfParses);
+  }
+
+  /**
+   * Discard all cached entries and advance the signature version.
+   */
+  public synchronized void invalidate()
+  {
+    this.signatureVersion++;
+    this.parses.clear();
+    this.prefixedName2IRI.clear();
+    this.entityKinds.clear();
+  }
+
+  /**
+   * Invalidate the cache if an axiom count of the ontology differs from the count seen at the previous check.
+   *
+   * @param axiomCount The current axiom count
+   */
+  public synchronized void invalidateIfAxiomCountChanged(int axiomCount)
+  {
+    if (axiomCount != this.axiomCount) {
+      invalidate();
+      this.axiomCount = axiomCount;
+    }
+  }
+
+  public synchronized long getSignatureVersion()
+  {
+    return this.signatureVersion;
+  }
+
+  public int getMaximumNumberOfParses()
+  {
+    return this.maximumNumberOfParses;
+  }
+
+  public synchronized long getHitCount()
+  {
+    return this.hitCount;
+  }
+
+  public synchronized long getMissCount()
+  {
+    return this.missCount;
+  }
+
+  @NonNull synchronized Optional<@NonNull CachedParse> getParse(@NonNull String normalizedRuleText,
+    boolean interactiveParseOnly)
+  {
+    CachedParse parse = this.parses.get(new ParseKey(normalizedRuleText, interactiveParseOnly, this.signatureVersion));
+
+    if (parse != null) {
+      this.hitCount++;
+      return Optional.of(parse);
+    } else {
+      this.missCount++;
+      return Optional.<@NonNull CachedParse>empty();
+    }
+  }
+
+  /**
+   * A parse that started before an invalidation is not recorded.
+   */
+  synchronized void putParse(@NonNull String normalizedRuleText, boolean interactiveParseOnly, long signatureVersion,
+    @NonNull CachedParse parse)
+  {
+    if (signatureVersion == this.signatureVersion)
+      this.parses.put(new ParseKey(normalizedRuleText, interactiveParseOnly, signatureVersion), parse);
+  }
+
+  @NonNull synchronized Optional<@NonNull IRI> getIRI(@NonNull String prefixedName)
+  {
+    return Optional.ofNullable(this.prefixedName2IRI.get(prefixedName));
+  }
+
+  synchronized void putIRI(@NonNull String prefixedName, @NonNull IRI iri)
+  {
+    this.prefixedName2IRI.put(prefixedName, iri);
+  }
+
+  @NonNull synchronized Optional<@NonNull Boolean> isEntityKind(@NonNull String shortName, int entityKind)
+  {
+    Integer kinds = this.entityKinds.get(shortName);
+
+    if (kinds == null || (kinds & (1 << (entityKind + KNOWN_KINDS_SHIFT))) == 0)
+      return Optional.<@NonNull Boolean>empty();
+    else
+      return Optional.of((kinds & (1 << entityKind)) != 0);
+  }
+
+  synchronized void putEntityKind(@NonNull String shortName, int entityKind, boolean isEntityKind)
+  {
+    Integer kinds = this.entityKinds.get(shortName);
+    int newKinds = (kinds == null ? 0 : kinds) | (1 << (entityKind + KNOWN_KINDS_SHIFT));
+
+    if (isEntityKind)
+      newKinds |= (1 << entityKind);
+
+    this.entityKinds.put(shortName, newKinds);
+  }
+
+  /**
+   * The recorded outcome of a parse. Either a parse error, or, for a non-interactive parse, the head and body atoms of
+   * the parsed rule.
+   */
+  static class CachedParse
+  {
+    @NonNull private final Optional<@NonNull Set<@NonNull SWRLAtom>> head;
+    @NonNull private final Optional<@NonNull Set<@NonNull SWRLAtom>> body;
+    @NonNull private final Optional<@NonNull String> errorMessage;
+    private final boolean isIncomplete;
+
+    private CachedParse(@NonNull Optional<@NonNull Set<@NonNull SWRLAtom>> head,
+      @NonNull Optional<@NonNull Set<@NonNull SWRLAtom>> body, @NonNull Optional<@NonNull String> errorMessage,
+      boolean isIncomplete)
+    {
+      this.head = head;
+      this.body = body;
+      this.errorMessage = errorMessage;
+      this.isIncomplete = isIncomplete;
+    }
+
+    @NonNull static CachedParse success(@NonNull Optional<@NonNull Set<@NonNull SWRLAtom>> head,
+      @NonNull Optional<@NonNull Set<@NonNull SWRLAtom>> body)
+    {
+      return new CachedParse(head.map(Collections::unmodifiableSet), body.map(Collections::unmodifiableSet),
+        Optional.<@NonNull String>empty(), false);
+    }
+
+    @NonNull static CachedParse failure(@NonNull SWRLParseException e)
+    {
+      return new CachedParse(Optional.<@NonNull Set<@NonNull SWRLAtom>>empty(),
+        Optional.<@NonNull Set<@NonNull SWRLAtom>>empty(), Optional.of(e.getMessage() == null ? "" : e.getMessage()),
+        e instanceof SWRLIncompleteRuleException);
+    }
+
+    @NonNull Optional<@NonNull Set<@NonNull SWRLAtom>> getHead()
+    {
+      return this.head;
+    }
+
+    @NonNull Optional<@NonNull Set<@NonNull SWRLAtom>> getBody()
+    {
+      return this.body;
+    }
+
+    void rethrowIfFailed() throws SWRLParseException
+    {
+      if (this.errorMessage.isPresent()) {
+        if (this.isIncomplete)
+          throw new SWRLIncompleteRuleException(this.errorMessage.get());
+        else
+          throw new SWRLParseException(this.errorMessage.get());
+      }
+    }
+  }
+
+  private static class ParseKey
+  {
+    @NonNull private final String normalizedRuleText;
+    private final boolean interactiveParseOnly;
+    private final long signatureVersion;
+
+    public ParseKey(@NonNull String normalizedRuleText, boolean interactiveParseOnly, long signatureVersion)
+    {
+      this.normalizedRuleText = normalizedRuleText;
+      this.interactiveParseOnly = interactiveParseOnly;
+      this.signatureVersion = signatureVersion;
+    }
+
+    @SideEffectFree @Deterministic @Override public boolean equals(@Nullable Object o)
+    {
+      if (this == o)
+        return true;
+      if (o == null || getClass() != o.getClass())
+        return false;
+
+      ParseKey that = (ParseKey)o;
+
+      return this.interactiveParseOnly == that.interactiveParseOnly && this.signatureVersion == that.signatureVersion
+        && this.normalizedRuleText.equals(that.normalizedRuleText);
+    }
+
+    @SideEffectFree @Deterministic @Override public int hashCode()
+    {
+      return Objects.hash(this.normalizedRuleText, this.interactiveParseOnly, this.signatureVersion);
+    }
+  }
+
+  private static class BoundedMap<K, V> extends LinkedHashMap<K, V>
+  {
+    private static final long serialVersionUID = 1L;
+
+    private final int maximumSize;
+
+    public BoundedMap(int maximumSize)
+    {
+      super(16, 0.75f, true); // Access order, so the least recently used entry is evicted first
+      this.maximumSize = maximumSize;
+    }
+
+    @Override protected boolean removeEldestEntry(Map.Entry<K, V> eldest)
+    {
+      return size() > this.maximumSize;
+    }
+  }
+}
@@ -0,0 +1,115 @@
+package org.swrlapi.parser;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The parser state at the end of each atom of the rule text last checked with
+ * {@link org.swrlapi.parser.SWRLParser#parseSWRLRuleIncrementally(String, SWRLParseCheckpoints)}. When the text is
+ * edited, parsing resumes from the last atom that ends before the first changed character, so only the edited atom and
+ * those following it are tokenized and parsed again.
+ * <p>
+ * Checkpoints are discarded when they are used with a different parse cache or after the cache has been invalidated.
+ * This class is not thread safe; an editor should confine it to the thread on which it validates rules.
+ *
+ * @see org.swrlapi.parser.SWRLParser
+ */
+public class SWRLParseCheckpoints
+{
+  @NonNull static final Checkpoint START = new Checkpoint(0, false, Collections.<@NonNull String>emptySet());
+
+  @NonNull private final List<@NonNull Checkpoint> checkpoints = new ArrayList<>();
+  @NonNull private String ruleText = "";
+  @Nullable private SWRLParseCache swrlParseCache;
+  private long signatureVersion = -1;
+
+  /**
+   * @return The number of atoms whose end state is recorded
+   */
+  public int getNumberOfCheckpoints()
+  {
+    return this.checkpoints.size();
+  }
+
+  public void clear()
+  {
+    this.checkpoints.clear();
+    this.ruleText = "";
+    this.swrlParseCache = null;
+  }
+
+  /**
+   * Find the checkpoint from which to parse new rule text and discard the checkpoints after it.
+   */
+  @NonNull Checkpoint resume(@NonNull String ruleText, @NonNull SWRLParseCache swrlParseCache, long signatureVersion)
+  {
+    if (swrlParseCache != this.swrlParseCache || signatureVersion != this.signatureVersion) {
+      this.checkpoints.clear();
+      this.swrlParseCache = swrlParseCache;
+      this.signatureVersion = signatureVersion;
+    }
+
+    int commonPrefixLength = 0;
+    int maximumCommonPrefixLength = Math.min(ruleText.length(), this.ruleText.length());
+
+    while (commonPrefixLength < maximumCommonPrefixLength
+      && ruleText.charAt(commonPrefixLength) == this.ruleText.charAt(commonPrefixLength))
+      commonPrefixLength++;
+
+    int i = this.checkpoints.size();
+
+    while (i > 0 && this.checkpoints.get(i - 1).getOffset() > commonPrefixLength)
+      i--;
+
+    this.checkpoints.subList(i, this.checkpoints.size()).clear();
+    this.ruleText = ruleText;
+
+    return i == 0 ? START : this.checkpoints.get(i - 1);
+  }
+
+  void add(int offset, boolean isInHead, @NonNull Set<@NonNull String> variables)
+  {
+    this.checkpoints.add(new Checkpoint(offset, isInHead, new HashSet<>(variables)));
+  }
+
+  /**
+   * The parser state following an atom.
+   */
+  static class Checkpoint
+  {
+    private final int offset;
+    private final boolean isInHead;
+    @NonNull private final Set<@NonNull String> variables;
+
+    private Checkpoint(int offset, boolean isInHead, @NonNull Set<@NonNull String> variables)
+    {
+      this.offset = offset;
+      this.isInHead = isInHead;
+      this.variables = variables;
+    }
+
+    /**
+     * @return The index in the rule text following the atom
+     */
+    int getOffset()
+    {
+      return this.offset;
+    }
+
+    boolean isInHead()
+    {
+      return this.isInHead;
+    }
+
+    @NonNull Set<@NonNull String> getVariables()
+    {
+      return this.variables;
+    }
+  }
+}
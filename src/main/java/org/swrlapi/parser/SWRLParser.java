@@ -33,12 +33,18 @@ import java.util.Set;
  * <code>interactiveParseOnly</code> argument is <code>true</code>, only checking is performed - no SWRL rules are
  * created; if it is false, a {@link org.semanticweb.owlapi.model.SWRLRule} object is created.
  * <p>
+ * Parse outcomes are recorded in a {@link org.swrlapi.parser.SWRLParseCache}, which is typically shared by all parsers
+ * of an ontology, so that unchanged rule text is not re-parsed. Editors that check a rule as it is typed can instead
+ * use {@link #parseSWRLRuleIncrementally(String, SWRLParseCheckpoints)}, which only parses from the edited atom onward.
+ * <p>
  * The parser does not yet parse OWL class expressions and only supports a basic form of data range atoms.
  *
  * @see org.semanticweb.owlapi.model.SWRLRule
  * @see org.swrlapi.parser.SWRLTokenizer
  * @see org.swrlapi.parser.SWRLToken
  * @see org.swrlapi.parser.SWRLParserSupport
+ * @see org.swrlapi.parser.SWRLParseCache
+ * @see org.swrlapi.parser.SWRLParseCheckpoints
  * @see org.swrlapi.parser.SWRLParseException
  * @see org.swrlapi.parser.SWRLIncompleteRuleException
  */
@@ -52,10 +58,21 @@ public class SWRLParser
   private static final String DIFFERENT_FROM_PREDICATE = "differentFrom";
 
   @NonNull private final SWRLParserSupport swrlParserSupport;
+  @NonNull private final SWRLParseCache swrlParseCache;
 
   public SWRLParser(@NonNull SWRLAPIOWLOntology swrlapiOWLOntology)
   {
-    this.swrlParserSupport = new SWRLParserSupport(swrlapiOWLOntology);
+    this(swrlapiOWLOntology, new SWRLParseCache());
+  }
+
+  /**
+   * @param swrlapiOWLOntology The ontology against which rules are parsed
+   * @param swrlParseCache     A parse cache shared by the parsers of the ontology
+   */
+  public SWRLParser(@NonNull SWRLAPIOWLOntology swrlapiOWLOntology, @NonNull SWRLParseCache swrlParseCache)
+  {
+    this.swrlParserSupport = new SWRLParserSupport(swrlapiOWLOntology, swrlParseCache);
+    this.swrlParseCache = swrlParseCache;
   }
 
   /**
@@ -69,14 +86,88 @@ public class SWRLParser
   public Optional<@NonNull SWRLRule> parseSWRLRule(@NonNull String ruleText, boolean interactiveParseOnly,
     @NonNull String ruleName, @NonNull String comment) throws SWRLParseException
   {
-    SWRLTokenizer tokenizer = new SWRLTokenizer(ruleText.trim(), interactiveParseOnly);
+    String normalizedRuleText = SWRLTokenizer.normalize(ruleText);
+
+    this.swrlParseCache.invalidateIfAxiomCountChanged(this.swrlParserSupport.getNonSWRLRuleOWLAxiomCount());
+
+    Optional<SWRLParseCache.@NonNull CachedParse> cachedParse = this.swrlParseCache
+      .getParse(normalizedRuleText, interactiveParseOnly);
+    SWRLParseCache.CachedParse parse;
+
+    if (cachedParse.isPresent())
+      parse = cachedParse.get();
+    else {
+      long signatureVersion = this.swrlParseCache.getSignatureVersion();
+      try {
+        parse = parseSWRLRuleAtoms(normalizedRuleText, interactiveParseOnly);
+      } catch (SWRLParseException e) {
+        parse = SWRLParseCache.CachedParse.failure(e);
+      }
+      this.swrlParseCache.putParse(normalizedRuleText, interactiveParseOnly, signatureVersion, parse);
+    }
+
+    parse.rethrowIfFailed();
+
+    if (!interactiveParseOnly)
+      return Optional.of(
+        this.swrlParserSupport.createSWRLRule(ruleName, parse.getHead().get(), parse.getBody().get(), comment, true));
+    else
+      return Optional.<@NonNull SWRLRule>empty();
+  }
+
+  /**
+   * Check a rule in interactive parse mode, as {@link #parseSWRLRule(String, boolean, String, String)} does with
+   * <code>interactiveParseOnly</code> true. Parsing resumes from the state recorded in the checkpoints at the end of
+   * the last atom that precedes the first character at which the rule text differs from the text previously checked
+   * with them, and the checkpoints are updated with the atoms that follow.
+   *
+   * @param ruleText    The rule text
+   * @param checkpoints The checkpoints of the previous version of the rule text
+   * @throws SWRLParseException If the rule has an error or, as a {@link SWRLIncompleteRuleException}, is incomplete
+   */
+  public void parseSWRLRuleIncrementally(@NonNull String ruleText, @NonNull SWRLParseCheckpoints checkpoints)
+    throws SWRLParseException
+  {
+    this.swrlParseCache.invalidateIfAxiomCountChanged(this.swrlParserSupport.getNonSWRLRuleOWLAxiomCount());
+
+    SWRLParseCheckpoints.Checkpoint checkpoint = checkpoints
+      .resume(ruleText, this.swrlParseCache, this.swrlParseCache.getSignatureVersion());
+    SWRLTokenizer tokenizer = new SWRLTokenizer(ruleText.substring(checkpoint.getOffset()), true);
+
+    for (String variableName : checkpoint.getVariables())
+      tokenizer.addVariable(variableName);
+
+    if (checkpoint != SWRLParseCheckpoints.START && !tokenizer.hasMoreTokens())
+      return; // The text ends with a complete atom
+
+    parseSWRLRuleAtoms(tokenizer, checkpoint, Optional.of(checkpoints));
+  }
+
+  /**
+   * Parse the head and body atoms of a rule. No atoms are created in interactive parse mode.
+   */
+  @NonNull private SWRLParseCache.CachedParse parseSWRLRuleAtoms(@NonNull String ruleText,
+    boolean interactiveParseOnly) throws SWRLParseException
+  {
+    return parseSWRLRuleAtoms(new SWRLTokenizer(ruleText, interactiveParseOnly), SWRLParseCheckpoints.START,
+      Optional.<@NonNull SWRLParseCheckpoints>empty());
+  }
+
+  /**
+   * Parse atoms from the state at a checkpoint, recording a checkpoint after each atom if requested.
+   */
+  @NonNull private SWRLParseCache.CachedParse parseSWRLRuleAtoms(@NonNull SWRLTokenizer tokenizer,
+    SWRLParseCheckpoints.@NonNull Checkpoint checkpoint, @NonNull Optional<@NonNull SWRLParseCheckpoints> checkpoints)
+    throws SWRLParseException
+  {
     Optional<Set<SWRLAtom>> head = !tokenizer.isInteractiveParseOnly() ?
       Optional.of(this.swrlParserSupport.createSWRLHeadAtomList()) :
       Optional.<Set<SWRLAtom>>empty();
     Optional<Set<SWRLAtom>> body = !tokenizer.isInteractiveParseOnly() ?
       Optional.of(this.swrlParserSupport.createSWRLBodyAtomList()) :
       Optional.<Set<SWRLAtom>>empty();
-    boolean atLeastOneAtom = false, justProcessedAtom = false, isInHead = false;
+    boolean atLeastOneAtom = checkpoint != SWRLParseCheckpoints.START;
+    boolean justProcessedAtom = atLeastOneAtom, isInHead = checkpoint.isInHead();
     String message;
 
     if (!tokenizer.isInteractiveParseOnly() && !tokenizer.hasMoreTokens())
@@ -114,6 +205,9 @@ public class SWRLParser
         String shortName = currentToken.getValue();
         Optional<? extends @NonNull SWRLAtom> atom = parseSWRLAtom(shortName, tokenizer, isInHead);
         atLeastOneAtom = true;
+        if (checkpoints.isPresent())
+          checkpoints.get()
+            .add(checkpoint.getOffset() + tokenizer.getConsumedInputLength(), isInHead, tokenizer.getVariables());
         if (!tokenizer.isInteractiveParseOnly()) {
           if (isInHead)
             head.get().add(atom.get());
@@ -125,6 +219,9 @@ public class SWRLParser
           .getShortNameFromIRI(currentToken.getValue(), tokenizer.isInteractiveParseOnly());
         Optional<? extends @NonNull SWRLAtom> atom = parseSWRLAtom(shortName, tokenizer, isInHead);
         atLeastOneAtom = true;
+        if (checkpoints.isPresent())
+          checkpoints.get()
+            .add(checkpoint.getOffset() + tokenizer.getConsumedInputLength(), isInHead, tokenizer.getVariables());
         if (!tokenizer.isInteractiveParseOnly()) {
           if (isInHead)
             head.get().add(atom.get());
@@ -136,12 +233,10 @@ public class SWRLParser
       justProcessedAtom = true;
     } while (tokenizer.hasMoreTokens());
 
-    if (!tokenizer.isInteractiveParseOnly()) {
-      if (!atLeastOneAtom)
-        throw new SWRLParseException("Incomplete - no antecedent or consequent");
-      return Optional.of(this.swrlParserSupport.createSWRLRule(ruleName, head.get(), body.get(), comment, true));
-    } else
-      return Optional.<@NonNull SWRLRule>empty();
+    if (!tokenizer.isInteractiveParseOnly() && !atLeastOneAtom)
+      throw new SWRLParseException("Incomplete - no antecedent or consequent");
+
+    return SWRLParseCache.CachedParse.success(head, body);
   }
 
   /**
@@ -1,6 +1,7 @@
 package org.swrlapi.parser;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.AxiomType;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAnnotation;
 import org.semanticweb.owlapi.model.OWLAnnotationProperty;
@@ -50,6 +51,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.BooleanSupplier;
 
 /**
  * Provides support methods used by the {@link org.swrlapi.parser.SWRLParser}.
@@ -61,10 +63,12 @@ class SWRLParserSupport
   private static final Logger log = LoggerFactory.getLogger(SWRLParserSupport.class);
 
   @NonNull private final SWRLAPIOWLOntology swrlapiOWLOntology;
+  @NonNull private final SWRLParseCache swrlParseCache;
 
-  public SWRLParserSupport(@NonNull SWRLAPIOWLOntology swrlapiOWLOntology)
+  public SWRLParserSupport(@NonNull SWRLAPIOWLOntology swrlapiOWLOntology, @NonNull SWRLParseCache swrlParseCache)
   {
     this.swrlapiOWLOntology = swrlapiOWLOntology;
+    this.swrlParseCache = swrlParseCache;
   }
 
   public boolean isOWLEntity(@NonNull String shortName)
@@ -75,34 +79,36 @@ class SWRLParserSupport
 
   public boolean isOWLClass(@NonNull String shortName)
   {
-    IRI classIRI = prefixedName2IRI(shortName);
+    return isEntityKind(shortName, SWRLParseCache.CLASS, () -> {
+      IRI classIRI = prefixedName2IRI(shortName);
 
-    return getOWLOntology().containsClassInSignature(classIRI, Imports.INCLUDED) || classIRI
-      .equals(OWLRDFVocabulary.OWL_THING.getIRI()) || classIRI.equals(OWLRDFVocabulary.OWL_NOTHING.getIRI());
+      return getOWLOntology().containsClassInSignature(classIRI, Imports.INCLUDED) || classIRI
+        .equals(OWLRDFVocabulary.OWL_THING.getIRI()) || classIRI.equals(OWLRDFVocabulary.OWL_NOTHING.getIRI());
+    });
   }
 
   public boolean isOWLNamedIndividual(@NonNull String shortName)
   {
-    IRI individualIRI = prefixedName2IRI(shortName);
-    return getOWLOntology().containsIndividualInSignature(individualIRI, Imports.INCLUDED);
+    return isEntityKind(shortName, SWRLParseCache.NAMED_INDIVIDUAL,
+      () -> getOWLOntology().containsIndividualInSignature(prefixedName2IRI(shortName), Imports.INCLUDED));
   }
 
   public boolean isOWLObjectProperty(@NonNull String shortName)
   {
-    IRI propertyIRI = prefixedName2IRI(shortName);
-    return getOWLOntology().containsObjectPropertyInSignature(propertyIRI, Imports.INCLUDED);
+    return isEntityKind(shortName, SWRLParseCache.OBJECT_PROPERTY,
+      () -> getOWLOntology().containsObjectPropertyInSignature(prefixedName2IRI(shortName), Imports.INCLUDED));
   }
 
   public boolean isOWLDataProperty(@NonNull String shortName)
   {
-    IRI propertyIRI = prefixedName2IRI(shortName);
-    return getOWLOntology().containsDataPropertyInSignature(propertyIRI, Imports.INCLUDED);
+    return isEntityKind(shortName, SWRLParseCache.DATA_PROPERTY,
+      () -> getOWLOntology().containsDataPropertyInSignature(prefixedName2IRI(shortName), Imports.INCLUDED));
   }
 
   public boolean isOWLAnnotationProperty(@NonNull String shortName)
   {
-    IRI propertyIRI = prefixedName2IRI(shortName);
-    return getOWLOntology().containsAnnotationPropertyInSignature(propertyIRI, Imports.INCLUDED);
+    return isEntityKind(shortName, SWRLParseCache.ANNOTATION_PROPERTY,
+      () -> getOWLOntology().containsAnnotationPropertyInSignature(prefixedName2IRI(shortName), Imports.INCLUDED));
   }
 
   // TODO This is very arbitrary. See if we can loadExternalSWRLBuiltInLibraries a method in the OWLAPI to determine if a shortName is a datatype.
@@ -111,17 +117,29 @@ class SWRLParserSupport
     if (shortName.equals("rdf:PlainLiteral") || shortName.equals("rdfs:Literal") || shortName.equals("rdf:XMLLiteral"))
       return true;
     else
-      try {
-        XSDVocabulary.parseShortName(shortName);
-        return true;
-      } catch (IllegalArgumentException e) {
-        return false;
-      }
+      return isEntityKind(shortName, SWRLParseCache.DATATYPE, () -> {
+        try {
+          XSDVocabulary.parseShortName(shortName);
+          return true;
+        } catch (IllegalArgumentException e) {
+          return false;
+        }
+      });
+  }
+
+  /**
+   * SWRL rules are not counted so that adding parsed rules to the ontology does not invalidate the parse cache.
+   */
+  public int getNonSWRLRuleOWLAxiomCount()
+  {
+    return getOWLOntology().getAxiomCount(Imports.INCLUDED) - getOWLOntology()
+      .getAxiomCount(AxiomType.SWRL_RULE, Imports.INCLUDED);
   }
 
   public boolean isSWRLBuiltIn(@NonNull String prefixedName)
   {
-    return getSWRLAPIOWLOntology().isSWRLBuiltIn(prefixedName);
+    return isEntityKind(prefixedName, SWRLParseCache.BUILT_IN,
+      () -> getSWRLAPIOWLOntology().isSWRLBuiltIn(prefixedName));
   }
 
   public Optional<@NonNull IRI> swrlBuiltInPrefixedName2IRI(@NonNull String prefixedName)
@@ -289,42 +307,42 @@ class SWRLParserSupport
     throws SWRLParseException
   {
     OWLClass cls = createOWLClass(classShortName);
-    return getSWRLBuiltInArgumentFactory().getClassBuiltInArgument(cls);
+    return getSWRLBuiltInArgumentFactory().getCanonicalClassBuiltInArgument(cls);
   }
 
   @NonNull public SWRLNamedIndividualBuiltInArgument createSWRLNamedIndividualBuiltInArgument(
     @NonNull String individualShortName) throws SWRLParseException
   {
     OWLNamedIndividual individual = createOWLNamedIndividual(individualShortName);
-    return getSWRLBuiltInArgumentFactory().getNamedIndividualBuiltInArgument(individual);
+    return getSWRLBuiltInArgumentFactory().getCanonicalNamedIndividualBuiltInArgument(individual);
   }
 
   @NonNull public SWRLObjectPropertyBuiltInArgument createSWRLObjectPropertyBuiltInArgument(
     @NonNull String propertyShortName) throws SWRLParseException
   {
     OWLObjectProperty property = createOWLObjectProperty(propertyShortName);
-    return getSWRLBuiltInArgumentFactory().getObjectPropertyBuiltInArgument(property);
+    return getSWRLBuiltInArgumentFactory().getCanonicalObjectPropertyBuiltInArgument(property);
   }
 
   @NonNull public SWRLDataPropertyBuiltInArgument createSWRLDataPropertyBuiltInArgument(
     @NonNull String propertyShortName) throws SWRLParseException
   {
     OWLDataProperty property = createOWLDataProperty(propertyShortName);
-    return getSWRLBuiltInArgumentFactory().getDataPropertyBuiltInArgument(property);
+    return getSWRLBuiltInArgumentFactory().getCanonicalDataPropertyBuiltInArgument(property);
   }
 
   @NonNull public SWRLAnnotationPropertyBuiltInArgument createSWRLAnnotationPropertyBuiltInArgument(
     @NonNull String propertyShortName) throws SWRLParseException
   {
     OWLAnnotationProperty property = createOWLAnnotationProperty(propertyShortName);
-    return getSWRLBuiltInArgumentFactory().getAnnotationPropertyBuiltInArgument(property);
+    return getSWRLBuiltInArgumentFactory().getCanonicalAnnotationPropertyBuiltInArgument(property);
   }
 
   @NonNull public SWRLDatatypeBuiltInArgument createSWRLDatatypeBuiltInArgument(@NonNull String datatypeShortName)
     throws SWRLParseException
   {
     OWLDatatype datatype = createOWLDatatype(datatypeShortName);
-    return getSWRLBuiltInArgumentFactory().getDatatypeBuiltInArgument(datatype);
+    return getSWRLBuiltInArgumentFactory().getCanonicalDatatypeBuiltInArgument(datatype);
   }
 
   @NonNull public String getShortNameFromIRI(@NonNull String iriString, boolean interactiveParseOnly)
@@ -452,15 +470,38 @@ class SWRLParserSupport
 
   @NonNull private IRI prefixedName2IRI(String prefixedName)
   {
+    Optional<@NonNull IRI> cachedIRI = this.swrlParseCache.getIRI(prefixedName);
+
+    if (cachedIRI.isPresent())
+      return cachedIRI.get();
+
     Optional<@NonNull IRI> iri = getIRIResolver().prefixedName2IRI(prefixedName);
 
-    if (iri.isPresent())
+    if (iri.isPresent()) {
+      this.swrlParseCache.putIRI(prefixedName, iri.get());
       return iri.get();
-    else
+    } else
       throw new IllegalArgumentException(
         "could not loadExternalSWRLBuiltInLibraries IRI for prefixed name " + prefixedName);
   }
 
+  /**
+   * Entity kind lookups are memoized in the parse cache. Lookups that fail with an exception are not recorded.
+   */
+  private boolean isEntityKind(@NonNull String shortName, int entityKind, @NonNull BooleanSupplier lookup)
+  {
+    Optional<@NonNull Boolean> cachedIsEntityKind = this.swrlParseCache.isEntityKind(shortName, entityKind);
+
+    if (cachedIsEntityKind.isPresent())
+      return cachedIsEntityKind.get();
+
+    boolean isEntityKind = lookup.getAsBoolean();
+
+    this.swrlParseCache.putEntityKind(shortName, entityKind, isEntityKind);
+
+    return isEntityKind;
+  }
+
   /**
    * Check that a variable name is a valid SWRL variable. Somewhat arbitrary at the moment.
    * We allow the same characters as a Java variable plus the ':' and '-' characters.
@@ -3,12 +3,8 @@ package org.swrlapi.parser;
 import org.checkerframework.checker.initialization.qual.UnderInitialization;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
-import java.io.IOException;
-import java.io.Reader;
-import java.io.StreamTokenizer;
-import java.io.StringReader;
-import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -17,6 +13,11 @@ import java.util.Set;
  * Tokenizer generates a {@link org.swrlapi.parser.SWRLParseException} for invalid input and a
  * {@link org.swrlapi.parser.SWRLIncompleteRuleException} (which is a subclass of
  * {@link org.swrlapi.parser.SWRLParseException}) for valid but incomplete input.
+ * <p>
+ * The tokenizer scans the supplied character sequence directly. Its character classes are those of a
+ * {@link java.io.StreamTokenizer} with number parsing disabled, with the characters in {@link #wordChars} and the
+ * digits added to the word characters, and with the characters in {@link #ordinaryChars} treated as ordinary
+ * characters. Punctuation tokens are shared instances so that only words and quoted strings allocate.
  *
  * @see org.swrlapi.parser.SWRLToken
  * @see org.swrlapi.parser.SWRLParser
@@ -28,43 +29,57 @@ class SWRLTokenizer
   @NonNull private static final char[] wordChars = { ':', '_', '-', '/', '#' };
   @NonNull private static final char[] ordinaryChars = { '.', '^', '<', '>', '(', ')', '?' };
 
-  @NonNull private final MyStreamTokenizer tokenizer;
+  // Raw token types; all other raw token types are the (ordinary or quote) character itself
+  private static final int RAW_END_OF_INPUT = -1;
+  private static final int RAW_WORD = -3;
+
+  @NonNull private static final SWRLToken NOT_TOKEN = new SWRLToken(SWRLToken.SWRLTokenType.NOT, "not");
+  @NonNull private static final SWRLToken AND_TOKEN = new SWRLToken(SWRLToken.SWRLTokenType.AND, "and");
+  @NonNull private static final SWRLToken OR_TOKEN = new SWRLToken(SWRLToken.SWRLTokenType.OR, "or");
+  @NonNull private static final SWRLToken IMP_TOKEN = new SWRLToken(SWRLToken.SWRLTokenType.IMP, "->");
+  @NonNull private static final SWRLToken COMMA_TOKEN = new SWRLToken(SWRLToken.SWRLTokenType.COMMA, ",");
+  @NonNull private static final SWRLToken QUESTION_TOKEN = new SWRLToken(SWRLToken.SWRLTokenType.QUESTION, "?");
+  @NonNull private static final SWRLToken LPAREN_TOKEN = new SWRLToken(SWRLToken.SWRLTokenType.LPAREN, "(");
+  @NonNull private static final SWRLToken RPAREN_TOKEN = new SWRLToken(SWRLToken.SWRLTokenType.RPAREN, ")");
+  @NonNull private static final SWRLToken RING_TOKEN = new SWRLToken(SWRLToken.SWRLTokenType.RING, ".");
+  @NonNull private static final SWRLToken TYPE_QUAL_TOKEN = new SWRLToken(SWRLToken.SWRLTokenType.TYPE_QUAL, "^^");
+  @NonNull private static final SWRLToken CONJUNCTION_TOKEN = new SWRLToken(SWRLToken.SWRLTokenType.CONJUNCTION,
+    "^");
+
+  @NonNull private final CharSequence input;
+  private final int inputLength;
 
   @NonNull private final Set<@NonNull String> swrlVariables;
   @NonNull private final List<@NonNull SWRLToken> tokens;
+  @NonNull private int[] tokenEnds; // Index following each token in the input
   private final boolean interactiveParseOnly;
   private int tokenPosition;
 
-  public SWRLTokenizer(@NonNull String input, boolean interactiveParseOnly) throws SWRLParseException
+  // Scanner state
+  private int inputPosition; // Index of the next unread character
+  private int rawTokenStart; // Index at which the last raw token started; used for push back
+  private int wordStart, wordEnd; // Bounds of the last raw word token
+  @NonNull private String quotedValue; // Value of the last raw quoted string token
+
+  public SWRLTokenizer(@NonNull CharSequence input, boolean interactiveParseOnly) throws SWRLParseException
   {
-    this.tokenizer = new MyStreamTokenizer(new StringReader(input));
+    this.input = input;
+    this.inputLength = input.length();
 
     this.swrlVariables = new HashSet<>();
     this.interactiveParseOnly = interactiveParseOnly;
 
-    for (char wordChar : wordChars)
-      this.tokenizer.wordChars(wordChar, wordChar);
-
-    this.tokenizer.wordChars('0', '9');
-
-    for (char ordinaryChar : ordinaryChars)
-      this.tokenizer.ordinaryChar(ordinaryChar);
+    this.inputPosition = 0;
+    this.rawTokenStart = 0;
+    this.wordStart = 0;
+    this.wordEnd = 0;
+    this.quotedValue = "";
 
+    this.tokenEnds = new int[16];
     this.tokens = generateTokens();
     this.tokenPosition = 0;
   }
 
-  // If we want to list:
-  // this.tokenizer.ordinaryChar('!');
-  // // Skip double quote
-  // this.tokenizer.ordinaryChars('$', '/');
-  // // Skip colon
-  // this.tokenizer.ordinaryChars(';', '@');
-  // this.tokenizer.ordinaryChars('[', '^');
-  // // Skip underscore
-  // this.tokenizer.ordinaryChar('`');
-  // this.tokenizer.ordinaryChars('{', '~');
-
   public void reset()
   {
     this.tokenPosition = 0;
@@ -128,6 +143,19 @@ class SWRLTokenizer
     this.swrlVariables.add(variableName);
   }
 
+  @NonNull Set<@NonNull String> getVariables()
+  {
+    return this.swrlVariables;
+  }
+
+  /**
+   * @return The index in the input following the last token returned
+   */
+  int getConsumedInputLength()
+  {
+    return this.tokenPosition == 0 ? 0 : this.tokenEnds[this.tokenPosition - 1];
+  }
+
   public void checkAndSkipLParen(@NonNull String unexpectedTokenMessage) throws SWRLParseException
   {
     checkAndSkipToken(SWRLToken.SWRLTokenType.LPAREN, unexpectedTokenMessage);
@@ -152,6 +180,44 @@ class SWRLTokenizer
     return false;
   }
 
+  /**
+   * Normalize rule text so that texts that differ only in the amount of white space outside quoted strings are
+   * equal. Leading and trailing white space is removed and every other run of white space is replaced by a single
+   * space.
+   *
+   * @param input The rule text
+   * @return The normalized rule text
+   */
+  @NonNull public static String normalize(@NonNull CharSequence input)
+  {
+    StringBuilder sb = new StringBuilder(input.length());
+    int length = input.length();
+    char quoteChar = 0;
+    boolean pendingSpace = false;
+
+    for (int i = 0; i < length; i++) {
+      char c = input.charAt(i);
+      if (quoteChar != 0) { // In a quoted string
+        sb.append(c);
+        if (c == '\\' && i + 1 < length)
+          sb.append(input.charAt(++i));
+        else if (c == quoteChar || c == '\n' || c == '\r')
+          quoteChar = 0;
+      } else if (isWhitespaceChar(c))
+        pendingSpace = sb.length() != 0;
+      else {
+        if (pendingSpace) {
+          sb.append(' ');
+          pendingSpace = false;
+        }
+        sb.append(c);
+        if (isQuoteChar(c))
+          quoteChar = c;
+      }
+    }
+    return sb.toString();
+  }
+
   @NonNull private SWRLToken getToken() throws SWRLParseException
   {
     if (this.tokenPosition < this.tokens.size())
@@ -177,6 +243,9 @@ class SWRLTokenizer
     List<@NonNull SWRLToken> tokens = new ArrayList<>();
     SWRLToken token = generateToken();
     while (token.getTokenType() != SWRLToken.SWRLTokenType.END_OF_INPUT) {
+      if (tokens.size() == this.tokenEnds.length)
+        this.tokenEnds = Arrays.copyOf(this.tokenEnds, 2 * this.tokenEnds.length);
+      this.tokenEnds[tokens.size()] = this.inputPosition;
       tokens.add(token);
       token = generateToken();
     }
@@ -185,147 +254,270 @@ class SWRLTokenizer
 
   @NonNull private SWRLToken generateToken() throws SWRLParseException
   {
-    try {
-      return convertToken2SWRLToken(this.tokenizer.nextToken());
-    } catch (IOException e) {
-      throw new SWRLParseException("Error tokenizing " + (e.getMessage() != null ? e.getMessage() : ""));
-    }
-  }
+    int rawTokenType = nextRawToken();
 
-  @NonNull private SWRLToken convertToken2SWRLToken(int tokenType) throws SWRLParseException, IOException
-  {
-    switch (tokenType) {
-    case StreamTokenizer.TT_EOF:
-      return new SWRLToken(SWRLToken.SWRLTokenType.END_OF_INPUT, "");
-    case StreamTokenizer.TT_EOL:
+    switch (rawTokenType) {
+    case RAW_END_OF_INPUT:
       return new SWRLToken(SWRLToken.SWRLTokenType.END_OF_INPUT, "");
-    case StreamTokenizer.TT_NUMBER:
-      throw new SWRLParseException("internal error - not expecting a StreamTokenizer.TT_NUMBER");
-    case StreamTokenizer.TT_WORD: {
-      String value = this.tokenizer.getValue();
-      if (value.equalsIgnoreCase("not")) {
-        return new SWRLToken(SWRLToken.SWRLTokenType.NOT, "not");
-      } else if (value.equalsIgnoreCase("and")) {
-        return new SWRLToken(SWRLToken.SWRLTokenType.AND, "and");
-      } else if (value.equalsIgnoreCase("or")) {
-        return new SWRLToken(SWRLToken.SWRLTokenType.OR, "or");
-      } else {
-        boolean negativeNumeric = false;
-        if (value.equals("-")) {
-          int nextTokenType = this.tokenizer.nextToken();
-          if (nextTokenType == '>')
-            return new SWRLToken(SWRLToken.SWRLTokenType.IMP, "->");
-          else if (nextTokenType == StreamTokenizer.TT_EOF)
-            throw generateEndOfRuleException("Expecting '>' or integer or decimal after '-'");
-          else if (nextTokenType != StreamTokenizer.TT_WORD)
-            throw new SWRLParseException("Expecting '>' or integer or decimal after '-'");
+    case RAW_WORD: {
+      if (wordEqualsIgnoreCase("not")) {
+        return NOT_TOKEN;
+      } else if (wordEqualsIgnoreCase("and")) {
+        return AND_TOKEN;
+      } else if (wordEqualsIgnoreCase("or")) {
+        return OR_TOKEN;
+      } else if (this.wordEnd - this.wordStart == 1 && this.input.charAt(this.wordStart) == '-') {
+        int nextTokenType = nextRawToken();
+        if (nextTokenType == '>')
+          return IMP_TOKEN;
+        else if (nextTokenType == RAW_END_OF_INPUT)
+          throw generateEndOfRuleException("Expecting '>' or integer or decimal after '-'");
+        else if (nextTokenType != RAW_WORD)
+          throw new SWRLParseException("Expecting '>' or integer or decimal after '-'");
+        else // A negative number must not have white space between the '-' and its digits
+          throw new SWRLParseException("Expecting integer or decimal");
+      } else if (isInteger(this.wordStart, this.wordEnd)) {
+        String value = getWordValue();
+        // See if it is followed by a '.', in which case it should be a decimal
+        if (nextRawToken() == '.') { // Found a . so expecting rest of decimal
+          int trailingTokenType = nextRawToken();
+          if (trailingTokenType == RAW_WORD && isInteger(this.wordStart, this.wordEnd))
+            return new SWRLToken(SWRLToken.SWRLTokenType.DECIMAL, value + "." + getWordValue());
+          else if (trailingTokenType == RAW_END_OF_INPUT)
+            throw generateEndOfRuleException("Expecting decimal fraction part after '.'");
           else
-            negativeNumeric = true;
+            throw new SWRLParseException("Expecting decimal fraction part after '.'");
+        } else { // No following '.' so it is an integer
+          pushBack();
+          return new SWRLToken(SWRLToken.SWRLTokenType.INTEGER, value);
         }
-        if (isInteger(value)) {
-          // See if it is followed by a '.', in which case it should be a decimal
-          if (this.tokenizer.nextToken() == '.') { // Found a . so expecting rest of decimal
-            int trailingTokenType = this.tokenizer.nextToken();
-            String trailingValue = this.tokenizer.getValue();
-            if (trailingTokenType == StreamTokenizer.TT_WORD && isInteger(trailingValue)) {
-              String decimalValue = value + "." + trailingValue;
-              decimalValue = negativeNumeric ? "-" + decimalValue : decimalValue;
-              return new SWRLToken(SWRLToken.SWRLTokenType.DECIMAL, decimalValue);
-            } else if (trailingTokenType == StreamTokenizer.TT_EOF)
-              throw generateEndOfRuleException("Expecting decimal fraction part after '.'");
-            else
-              throw new SWRLParseException("Expecting decimal fraction part after '.'");
-          } else { // No following '.' so it is an integer
-            this.tokenizer.pushBack();
-            String integerValue = negativeNumeric ? "-" + value : value;
-            return new SWRLToken(SWRLToken.SWRLTokenType.INTEGER, integerValue);
-          }
-        } else { // Value is not an integer
-          if (negativeNumeric) // If negative, value should be an integer or decimal
-            throw new SWRLParseException("Expecting integer or decimal");
-          else // Must be an identifier
-            return new SWRLToken(SWRLToken.SWRLTokenType.SHORTNAME, value);
-        }
-      }
+      } else // Must be an identifier
+        return new SWRLToken(SWRLToken.SWRLTokenType.SHORTNAME, getWordValue());
     }
     case '"':
-      return new SWRLToken(SWRLToken.SWRLTokenType.STRING, this.tokenizer.getValue());
+      return new SWRLToken(SWRLToken.SWRLTokenType.STRING, this.quotedValue);
     case ',':
-      return new SWRLToken(SWRLToken.SWRLTokenType.COMMA, ",");
+      return COMMA_TOKEN;
     case '?':
-      return new SWRLToken(SWRLToken.SWRLTokenType.QUESTION, "?");
+      return QUESTION_TOKEN;
     case '(':
-      return new SWRLToken(SWRLToken.SWRLTokenType.LPAREN, "(");
+      return LPAREN_TOKEN;
     case ')':
-      return new SWRLToken(SWRLToken.SWRLTokenType.RPAREN, ")");
+      return RPAREN_TOKEN;
     case '.':
-      return new SWRLToken(SWRLToken.SWRLTokenType.RING, ".");
+      return RING_TOKEN;
     case '^': {
-      int nextTokenType = this.tokenizer.nextToken();
+      int nextTokenType = nextRawToken();
       if (nextTokenType == '^') {
-        return new SWRLToken(SWRLToken.SWRLTokenType.TYPE_QUAL, "^^");
+        return TYPE_QUAL_TOKEN;
       } else { // Not ^^
-        this.tokenizer.pushBack();
-        return new SWRLToken(SWRLToken.SWRLTokenType.CONJUNCTION, "^");
+        pushBack();
+        return CONJUNCTION_TOKEN;
       }
     }
     case '<': {
-      int nextTokenType = this.tokenizer.nextToken();
-      if (nextTokenType == StreamTokenizer.TT_WORD) {
-        String iri = this.tokenizer.getValue();
-        nextTokenType = this.tokenizer.nextToken();
+      int nextTokenType = nextRawToken();
+      if (nextTokenType == RAW_WORD) {
+        String iri = getWordValue();
+        nextTokenType = nextRawToken();
         if (nextTokenType == '>')
           return new SWRLToken(SWRLToken.SWRLTokenType.IRI, iri);
-        else if (nextTokenType == StreamTokenizer.TT_EOF)
+        else if (nextTokenType == RAW_END_OF_INPUT)
           throw generateEndOfRuleException("Expecting '>' after IRI");
         else
           throw new SWRLParseException("Expecting IRI after '<'");
-      } else if (nextTokenType == StreamTokenizer.TT_EOF)
+      } else if (nextTokenType == RAW_END_OF_INPUT)
         throw generateEndOfRuleException("Expecting IRI after '<'");
       else
         throw new SWRLParseException("Expecting IRI after '<'"); // Some other token
     }
     default:
-      throw new SWRLParseException("Unexpected character '" + String.valueOf(Character.toChars(tokenType)) + "'");
+      throw new SWRLParseException("Unexpected character '" + String.valueOf(Character.toChars(rawTokenType)) + "'");
     }
+  }
+
+  /**
+   * Scan the next raw token. White space is skipped. A word is a maximal run of word characters; its bounds are
+   * recorded in {@link #wordStart} and {@link #wordEnd}. A quoted string runs to the matching quote character, a line
+   * terminator, or the end of input; its unescaped value is recorded in {@link #quotedValue}.
+   *
+   * @return {@link #RAW_END_OF_INPUT}, {@link #RAW_WORD}, or the ordinary or quote character that was read
+   */
+  private int nextRawToken()
+  {
+    int i = this.inputPosition;
 
+    while (i < this.inputLength && isWhitespaceChar(this.input.charAt(i)))
+      i++;
+
+    this.rawTokenStart = i;
+
+    if (i == this.inputLength) {
+      this.inputPosition = i;
+      return RAW_END_OF_INPUT;
+    }
+
+    char c = this.input.charAt(i);
+
+    if (isWordChar(c)) {
+      int start = i++;
+      while (i < this.inputLength && isWordChar(this.input.charAt(i)))
+        i++;
+      this.wordStart = start;
+      this.wordEnd = i;
+      this.inputPosition = i;
+      return RAW_WORD;
+    } else if (isQuoteChar(c)) {
+      this.inputPosition = scanQuotedString(c, i + 1);
+      return c;
+    } else {
+      this.inputPosition = i + 1;
+      return c;
+    }
   }
 
-  @NonNull private SWRLParseException generateEndOfRuleException(@NonNull String message)
+  private void pushBack()
   {
-    if (!this.isInteractiveParseOnly())
-      return new SWRLParseException(message);
-    else
-      return new SWRLIncompleteRuleException(message);
+    this.inputPosition = this.rawTokenStart;
   }
 
-  private boolean isInteger(@NonNull String s)
+  /**
+   * @return The index following the quoted string
+   */
+  private int scanQuotedString(char quoteChar, int start)
   {
-    try {
-      new BigInteger(s);
-      return true;
-    } catch (NumberFormatException e) {
-      return false;
+    int i = start;
+
+    while (i < this.inputLength) { // Fast path for the common case with no escapes
+      char c = this.input.charAt(i);
+      if (c == quoteChar || c == '\n' || c == '\r') {
+        this.quotedValue = this.input.subSequence(start, i).toString();
+        return c == quoteChar ? i + 1 : i;
+      } else if (c == '\\')
+        break;
+      i++;
     }
+
+    if (i == this.inputLength) {
+      this.quotedValue = this.input.subSequence(start, i).toString();
+      return i;
+    }
+
+    StringBuilder sb = new StringBuilder(this.input.subSequence(start, i));
+
+    while (i < this.inputLength) {
+      char c = this.input.charAt(i);
+      if (c == quoteChar || c == '\n' || c == '\r')
+        break;
+      else if (c == '\\' && i + 1 < this.inputLength) {
+        char e = this.input.charAt(i + 1);
+        i += 2;
+        if (e >= '0' && e <= '7') { // Octal escape of up to three digits; three only if the first is at most '3'
+          int value = e - '0';
+          if (i < this.inputLength && this.input.charAt(i) >= '0' && this.input.charAt(i) <= '7') {
+            value = (value << 3) + (this.input.charAt(i++) - '0');
+            if (e <= '3' && i < this.inputLength && this.input.charAt(i) >= '0' && this.input.charAt(i) <= '7')
+              value = (value << 3) + (this.input.charAt(i++) - '0');
+          }
+          sb.append((char)value);
+        } else
+          sb.append(unescape(e));
+      } else {
+        sb.append(c);
+        i++;
+      }
+    }
+    this.quotedValue = sb.toString();
+
+    return (i < this.inputLength && this.input.charAt(i) == quoteChar) ? i + 1 : i;
   }
 
-  private class MyStreamTokenizer extends StreamTokenizer
+  private static char unescape(char c)
   {
-    public MyStreamTokenizer(@NonNull Reader r)
-    {
-      super(r);
+    switch (c) {
+    case 'a':
+      return 0x7;
+    case 'b':
+      return '\b';
+    case 'f':
+      return 0xC;
+    case 'n':
+      return '\n';
+    case 'r':
+      return '\r';
+    case 't':
+      return '\t';
+    case 'v':
+      return 0xB;
+    default:
+      return c;
     }
+  }
 
-    @Override public void parseNumbers()
-    {
+  @NonNull private String getWordValue()
+  {
+    return this.input.subSequence(this.wordStart, this.wordEnd).toString();
+  }
+
+  private boolean wordEqualsIgnoreCase(@NonNull String keyword)
+  {
+    if (this.wordEnd - this.wordStart != keyword.length())
+      return false;
+
+    for (int i = 0; i < keyword.length(); i++) {
+      char c1 = this.input.charAt(this.wordStart + i);
+      char c2 = keyword.charAt(i);
+      if (c1 != c2 && Character.toUpperCase(c1) != Character.toUpperCase(c2)
+        && Character.toLowerCase(c1) != Character.toLowerCase(c2))
+        return false;
     }
+    return true;
+  }
 
-    @NonNull String getValue()
-    {
-      if (super.sval != null)
-        return super.sval;
-      else
-        return "";
+  private boolean isInteger(int start, int end)
+  {
+    int i = start;
+
+    if (i < end && (this.input.charAt(i) == '-' || this.input.charAt(i) == '+'))
+      i++;
+
+    if (i == end)
+      return false;
+
+    for (; i < end; i++) {
+      if (Character.digit(this.input.charAt(i), 10) < 0)
+        return false;
+    }
+    return true;
+  }
+
+  private static boolean isWhitespaceChar(char c)
+  {
+    return c <= ' ';
+  }
+
+  private static boolean isQuoteChar(char c)
+  {
+    return c == '"' || c == '\'';
+  }
+
+  private static boolean isWordChar(char c)
+  {
+    if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c >= 128 + 32)
+      return true;
+
+    for (char wordChar : wordChars) {
+      if (wordChar == c)
+        return true;
     }
+    return false;
+  }
+
+  @NonNull private SWRLParseException generateEndOfRuleException(@NonNull String message)
+  {
+    if (!this.isInteractiveParseOnly())
+      return new SWRLParseException(message);
+    else
+      return new SWRLIncompleteRuleException(message);
   }
 }
@@ -60,6 +60,20 @@ public interface SQWRLQueryEngine extends SWRLRuleEngine
    */
   void runSQWRLQueries() throws SQWRLException;
 
+  /**
+   * Run all enabled SQWRL queries, divided among up to the given number of sessions that run in parallel. The SWRL
+   * rules are applied once and each session runs its share of the queries independently of the others. The
+   * {@link #getSQWRLResult(String)} method can be used to retrieve the results of these queries. Engines that cannot
+   * run queries in parallel run them all with {@link #runSQWRLQueries()}.
+   *
+   * @param numberOfThreads The maximum number of sessions; with one session this is {@link #runSQWRLQueries()}
+   * @throws SQWRLException If an error occurs during processing
+   */
+  default void runSQWRLQueries(int numberOfThreads) throws SQWRLException
+  {
+    runSQWRLQueries();
+  }
+
   /**
    * Get the results from a previously executed SQWRL query.
    * A {@link org.swrlapi.sqwrl.exceptions.SQWRLInvalidQueryNameException} is thrown if no result is present.
@@ -70,6 +84,22 @@ public interface SQWRLQueryEngine extends SWRLRuleEngine
    */
   @NonNull SQWRLResult getSQWRLResult(@NonNull String queryName) throws SQWRLException;
 
+  /**
+   * @return The number of calls to {@link #runSQWRLQuery(String)} answered from the result cache
+   */
+  default long getNumberOfSQWRLResultCacheHits()
+  {
+    return 0;
+  }
+
+  /**
+   * @return The number of calls to {@link #runSQWRLQuery(String)} that ran the query
+   */
+  default long getNumberOfSQWRLResultCacheMisses()
+  {
+    return 0;
+  }
+
   /**
    * Get all the enabled SQWRL queries in the ontology.
    *
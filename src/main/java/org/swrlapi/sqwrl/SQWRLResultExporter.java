@@ -0,0 +1,76 @@
+package org.swrlapi.sqwrl;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.swrlapi.sqwrl.exceptions.SQWRLException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+
+/**
+ * Writes SQWRL results to files or streams without a user interface, so that they can be exported by batch jobs.
+ * <p>
+ * Cells are written as text: an entity as its prefixed name, a literal as its lexical form, and a class or property
+ * expression as its rendering. Three formats are supported:
+ * <ul>
+ * <li>{@link Format#CSV}: comma-separated values as specified by RFC 4180. The first record holds the column names,
+ * records end with CRLF, and a field that contains a comma, double quote, CR or LF is enclosed in double quotes with
+ * each double quote doubled.</li>
+ * <li>{@link Format#TSV}: as CSV, but with fields separated by tabs and quoted if they contain a tab.</li>
+ * <li>{@link Format#BINARY}: a compact length-prefixed format, described below.</li>
+ * </ul>
+ * The binary format starts with the magic bytes <code>SQRB</code> and a version byte of 1, followed by the number of
+ * columns, the column names, and the number of rows. Cells follow row by row. Counts and lengths are unsigned LEB128
+ * variable-length integers and strings are length-prefixed UTF-8. Each column has a dictionary of the values written to
+ * it, so a repeated value costs only a reference. A cell is a code: 0 is followed by a value that is appended to the
+ * dictionary of the column, 1 is followed by a value that is not, and any other code <code>c</code> refers to
+ * dictionary entry <code>c - 2</code>. A value is a type byte, the index of its type in
+ * {@link org.swrlapi.sqwrl.values.SQWRLResultValueType#VALUES}, then, for a literal, a reference to its datatype, and
+ * then its text. Datatype prefixed names are kept in a dictionary shared by all columns: 0 is followed by a new name
+ * and any other value refers to name <code>value - 1</code>.
+ * <p>
+ * Exporting reads the result independently of its cursor.
+ *
+ * @see org.swrlapi.sqwrl.SQWRLResult
+ */
+public interface SQWRLResultExporter
+{
+  enum Format
+  {
+    CSV, TSV, BINARY
+  }
+
+  /**
+   * @param result       A prepared SQWRL result
+   * @param format       The format in which to write the result
+   * @param outputStream The stream to which the result is written; it is flushed but not closed
+   * @throws SQWRLException If the result cannot be read
+   * @throws IOException    If an error occurs writing the result
+   */
+  void export(@NonNull SQWRLResult result, @NonNull Format format, @NonNull OutputStream outputStream)
+    throws SQWRLException, IOException;
+
+  /**
+   * @param result  A prepared SQWRL result
+   * @param format  The format in which to write the result
+   * @param channel The channel, such as a {@link java.nio.channels.FileChannel}, to which the result is written; it is
+   *                not closed
+   * @throws SQWRLException If the result cannot be read
+   * @throws IOException    If an error occurs writing the result
+   */
+  void export(@NonNull SQWRLResult result, @NonNull Format format, @NonNull WritableByteChannel channel)
+    throws SQWRLException, IOException;
+
+  /**
+   * Write a result to a file through a memory-mapped buffer. An existing file is replaced.
+   *
+   * @param result A prepared SQWRL result
+   * @param format The format in which to write the result
+   * @param file   The file to which the result is written
+   * @throws SQWRLException If the result cannot be read
+   * @throws IOException    If an error occurs writing the result
+   */
+  void exportMapped(@NonNull SQWRLResult result, @NonNull Format format, @NonNull Path file)
+    throws SQWRLException, IOException;
+}
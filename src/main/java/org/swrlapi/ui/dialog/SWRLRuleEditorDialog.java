@@ -3,6 +3,7 @@ package org.swrlapi.ui.dialog;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.swrlapi.core.SWRLAPIRule;
 import org.swrlapi.core.SWRLRuleEngine;
 import org.swrlapi.exceptions.SWRLBuiltInException;
 import org.swrlapi.parser.SWRLIncompleteRuleException;
@@ -70,6 +71,7 @@ public class SWRLRuleEditorDialog extends JDialog implements SWRLAPIView
   @NonNull private final SWRLRuleEngineModel swrlRuleEngineModel;
   @NonNull private final SWRLRuleEngineDialogManager dialogManager;
   @NonNull private final SWRLRuleEditorInitialDialogState initialDialogState = new SWRLRuleEditorInitialDialogState();
+  @NonNull private final SWRLRuleEditorValidator validator = new SWRLRuleEditorValidator();
   @NonNull private final JTextField ruleNameTextField, commentTextField, statusTextField;
   @NonNull private final JTextArea ruleTextTextArea;
   @NonNull private final JButton saveButton, cancelButton;
@@ -117,7 +119,8 @@ public class SWRLRuleEditorDialog extends JDialog implements SWRLAPIView
       setInitialDialogState();
       disableAutoCompleteModeIfNecessary();
       updateStatus();
-    }
+    } else
+      this.validator.cancel();
     super.setVisible(b);
   }
 
@@ -152,6 +155,8 @@ public class SWRLRuleEditorDialog extends JDialog implements SWRLAPIView
   {
     String ruleText = getRuleText();
 
+    this.validator.cancel(); // Discard background results for earlier text
+
     if (ruleText.isEmpty()) {
       setInformationalStatusText(STATUS_NO_RULE_TEXT);
       disableSave();
@@ -174,6 +179,43 @@ public class SWRLRuleEditorDialog extends JDialog implements SWRLAPIView
     }
   }
 
+  /**
+   * Check the rule text in the background; the status is updated once typing pauses.
+   */
+  private void requestStatusUpdate()
+  {
+    String ruleText = getRuleText();
+
+    if (ruleText.isEmpty()) {
+      this.validator.cancel();
+      setInformationalStatusText(STATUS_NO_RULE_TEXT);
+      disableSave();
+    } else
+      this.validator.validate(createSWRLParser(), ruleText, this::showValidationResult);
+  }
+
+  private void showValidationResult(SWRLRuleEditorValidator.@NonNull Result result)
+  {
+    switch (result.getStatus()) {
+    case OK:
+      this.ruleTextTextArea.requestFocus();
+      setInformationalStatusText(STATUS_OK);
+      enableSave();
+      break;
+    case INCOMPLETE:
+      setIncompleteStatusText(result.getMessage());
+      disableSave();
+      break;
+    case ERROR:
+      setErrorStatusText(result.getMessage());
+      disableSave();
+      break;
+    default:
+      setInformationalStatusText(result.getMessage());
+      disableSave();
+    }
+  }
+
   private void cancelEditMode()
   {
     this.ruleNameTextField.setText("");
@@ -247,15 +289,21 @@ public class SWRLRuleEditorDialog extends JDialog implements SWRLAPIView
       int textPosition = this.ruleTextTextArea.getCaretPosition();
       int i = SWRLParser.findSplittingPoint(ruleText.substring(0, textPosition));
       String prefix = ruleText.substring(i, textPosition);
-      if (!prefix.equals("")) {
-        List<@NonNull String> expansions = getExpansions(prefix); // All expansions will start with the empty string.
-
-        if (expansions.size() > 1) { // More than the empty string expansion; if not, do not enter autoComplete mode
-          SWRLRuleEditorAutoCompleteState state = new SWRLRuleEditorAutoCompleteState(textPosition, prefix, expansions);
-          insertExpansion(textPosition, prefix, state.getNextExpansion()); // Skip the empty string
-          enableAutoCompleteMode(state);
-        }
-      }
+      if (!prefix.equals("")) // Completions are looked up in the background
+        this.validator.complete(createSWRLAutoCompleter(), prefix, completions -> {
+          if (!isInAutoCompleteMode() && textPosition == this.ruleTextTextArea.getCaretPosition() && ruleText
+            .equals(getRuleText())) { // Ignore completions if the text has been edited in the meantime
+            List<@NonNull String> expansions = getExpansions(completions); // All expansions start with the empty string
+
+            if (expansions.size() > 1) { // More than the empty string expansion; if not, do not enter autoComplete mode
+              SWRLRuleEditorAutoCompleteState state = new SWRLRuleEditorAutoCompleteState(textPosition, prefix,
+                expansions);
+              insertExpansion(textPosition, prefix, state.getNextExpansion()); // Skip the empty string
+              enableAutoCompleteMode(state);
+              requestStatusUpdate();
+            }
+          }
+        });
     } else { // Already in auto-complete mode
       int textPosition = this.autoCompleteState.get().getTextPosition();
       String prefix = this.autoCompleteState.get().getPrefix();
@@ -331,12 +379,12 @@ public class SWRLRuleEditorDialog extends JDialog implements SWRLAPIView
     }
   }
 
-  @NonNull private List<@NonNull String> getExpansions(@NonNull String prefix)
+  @NonNull private List<@NonNull String> getExpansions(@NonNull List<@NonNull String> completions)
   {
     List<@NonNull String> expansions = new ArrayList<>();
 
     expansions.add(""); // Add empty expansion that we can cycle back to
-    expansions.addAll(createSWRLAutoCompleter().getCompletions(prefix));
+    expansions.addAll(completions);
 
     return expansions;
   }
@@ -460,7 +508,7 @@ public class SWRLRuleEditorDialog extends JDialog implements SWRLAPIView
 
     @Override public void keyReleased(@NonNull KeyEvent event)
     {
-      updateStatus();
+      requestStatusUpdate();
     }
   }
 
@@ -524,6 +572,9 @@ public class SWRLRuleEditorDialog extends JDialog implements SWRLAPIView
           if (SWRLRuleEditorDialog.this.editMode) {
             getSWRLRuleEngineModel().getSWRLRuleEngine()
               .replaceSWRLRule(getInitialDialogState().getRuleName(), ruleName, ruleText, comment, true);
+            Optional<@NonNull SWRLAPIRule> rule = getSWRLRuleEngine().getSWRLRule(ruleName);
+            if (rule.isPresent())
+              getSWRLRulesTableModel().replaceSWRLRule(getInitialDialogState().getRuleName(), rule.get());
             getSWRLRulesTableModel().updateView();
             errorOccurred = false;
           } else {
@@ -531,7 +582,8 @@ public class SWRLRuleEditorDialog extends JDialog implements SWRLAPIView
               getDialogManager().showErrorMessageDialog(this.parent, DUPLICATE_RULE_TEXT, DUPLICATE_RULE_TITLE);
               errorOccurred = true;
             } else {
-              getSWRLRuleEngine().createSWRLRule(ruleName, ruleText, comment, true);
+              SWRLAPIRule rule = getSWRLRuleEngine().createSWRLRule(ruleName, ruleText, comment, true);
+              getSWRLRulesTableModel().addSWRLRule(rule);
               getSWRLRulesTableModel().updateView();
               errorOccurred = false;
             }
@@ -0,0 +1,195 @@
+package org.swrlapi.ui.dialog;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.swrlapi.parser.SWRLIncompleteRuleException;
+import org.swrlapi.parser.SWRLParseCheckpoints;
+import org.swrlapi.parser.SWRLParseException;
+import org.swrlapi.parser.SWRLParser;
+import org.swrlapi.ui.model.SWRLAutoCompleter;
+
+import javax.swing.*;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Checks rule text and looks up auto-completions for the {@link SWRLRuleEditorDialog} on a background thread, so that
+ * typing is not held up by parsing on the Event Dispatch Thread.
+ * <p>
+ * Validation requests are debounced: a request is only run once no further request has been made for the debounce
+ * delay, and a request that has not yet started is cancelled by a later one. The result of a request that is superseded
+ * while it runs is discarded. Results are handed to the result executor, which by default runs them on the Event
+ * Dispatch Thread. The rule text is checked incrementally, so after a keystroke only the edited atom and those
+ * following it are parsed again.
+ *
+ * @see org.swrlapi.parser.SWRLParser#parseSWRLRuleIncrementally
+ */
+class SWRLRuleEditorValidator
+{
+  public static final long DEFAULT_DEBOUNCE_DELAY_MILLISECONDS = 150;
+
+  public enum Status
+  {
+    OK, INCOMPLETE, ERROR, INTERNAL_ERROR
+  }
+
+  @NonNull private final ScheduledExecutorService worker;
+  @NonNull private final Executor resultExecutor;
+  private final long debounceDelayMilliseconds;
+  @NonNull private final SWRLParseCheckpoints checkpoints = new SWRLParseCheckpoints(); // Confined to the worker
+  @NonNull private final AtomicLong latestValidationRequest = new AtomicLong();
+  @NonNull private final AtomicLong latestCompletionRequest = new AtomicLong();
+  @Nullable private ScheduledFuture<?> pendingValidation;
+
+  public SWRLRuleEditorValidator()
+  {
+    this(DEFAULT_DEBOUNCE_DELAY_MILLISECONDS, SwingUtilities::invokeLater);
+  }
+
+  /**
+   * @param debounceDelayMilliseconds The time for which requests must stop before one is run
+   * @param resultExecutor            The executor on which results are delivered
+   */
+  public SWRLRuleEditorValidator(long debounceDelayMilliseconds, @NonNull Executor resultExecutor)
+  {
+    this(debounceDelayMilliseconds, resultExecutor, Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "SWRL rule editor validator");
+      thread.setDaemon(true);
+      return thread;
+    }));
+  }
+
+  /**
+   * @param debounceDelayMilliseconds The time for which requests must stop before one is run
+   * @param resultExecutor            The executor on which results are delivered
+   * @param worker                    The single-threaded scheduler on which requests are run and debounced
+   */
+  SWRLRuleEditorValidator(long debounceDelayMilliseconds, @NonNull Executor resultExecutor,
+    @NonNull ScheduledExecutorService worker)
+  {
+    this.debounceDelayMilliseconds = debounceDelayMilliseconds;
+    this.resultExecutor = resultExecutor;
+    this.worker = worker;
+  }
+
+  /**
+   * Request that rule text be checked, superseding any earlier validation request.
+   *
+   * @param parser        The parser with which to check the text
+   * @param ruleText      The rule text
+   * @param resultHandler Receives the result unless a later request has been made by then
+   */
+  public synchronized void validate(@NonNull SWRLParser parser, @NonNull String ruleText,
+    @NonNull Consumer<@NonNull Result> resultHandler)
+  {
+    long request = this.latestValidationRequest.incrementAndGet();
+
+    if (this.pendingValidation != null)
+      this.pendingValidation.cancel(false);
+
+    this.pendingValidation = this.worker.schedule(() -> {
+      if (request == this.latestValidationRequest.get()) {
+        Result result = check(parser, ruleText);
+        deliver(this.latestValidationRequest, request, () -> resultHandler.accept(result));
+      }
+    }, this.debounceDelayMilliseconds, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Request the completions of a prefix, superseding any earlier completion request. Completion requests are not
+   * debounced.
+   *
+   * @param autoCompleter      The auto-completer
+   * @param prefix             The prefix
+   * @param completionsHandler Receives the completions unless a later request has been made by then
+   */
+  public synchronized void complete(@NonNull SWRLAutoCompleter autoCompleter, @NonNull String prefix,
+    @NonNull Consumer<@NonNull List<@NonNull String>> completionsHandler)
+  {
+    long request = this.latestCompletionRequest.incrementAndGet();
+
+    this.worker.execute(() -> {
+      if (request == this.latestCompletionRequest.get()) {
+        List<@NonNull String> completions = autoCompleter.getCompletions(prefix);
+        deliver(this.latestCompletionRequest, request, () -> completionsHandler.accept(completions));
+      }
+    });
+  }
+
+  /**
+   * Discard the results of all outstanding requests.
+   */
+  public synchronized void cancel()
+  {
+    this.latestValidationRequest.incrementAndGet();
+    this.latestCompletionRequest.incrementAndGet();
+
+    if (this.pendingValidation != null)
+      this.pendingValidation.cancel(false);
+  }
+
+  public void shutdown()
+  {
+    cancel();
+    this.worker.shutdown();
+  }
+
+  /**
+   * Check rule text on the calling thread. Only a single thread should check text with a validator at a time, so this
+   * method is only for use by the worker, or while the worker is idle.
+   *
+   * @param parser   The parser with which to check the text
+   * @param ruleText The rule text
+   * @return The result
+   */
+  @NonNull Result check(@NonNull SWRLParser parser, @NonNull String ruleText)
+  {
+    try {
+      parser.parseSWRLRuleIncrementally(ruleText, this.checkpoints);
+      return new Result(Status.OK, "");
+    } catch (SWRLIncompleteRuleException e) {
+      return new Result(Status.INCOMPLETE, e.getMessage() == null ? "" : e.getMessage());
+    } catch (SWRLParseException e) {
+      return new Result(Status.ERROR, e.getMessage() == null ? "" : e.getMessage());
+    } catch (RuntimeException e) {
+      return new Result(Status.INTERNAL_ERROR, e.getMessage() == null ? "" : e.getMessage());
+    }
+  }
+
+  private void deliver(@NonNull AtomicLong latestRequest, long request, @NonNull Runnable handler)
+  {
+    if (request == latestRequest.get())
+      this.resultExecutor.execute(() -> {
+        if (request == latestRequest.get()) // Requests may have been made while the result was queued
+          handler.run();
+      });
+  }
+
+  public static class Result
+  {
+    @NonNull private final Status status;
+    @NonNull private final String message;
+
+    public Result(@NonNull Status status, @NonNull String message)
+    {
+      this.status = status;
+      this.message = message;
+    }
+
+    @NonNull public Status getStatus()
+    {
+      return this.status;
+    }
+
+    @NonNull public String getMessage()
+    {
+      return this.message;
+    }
+  }
+}
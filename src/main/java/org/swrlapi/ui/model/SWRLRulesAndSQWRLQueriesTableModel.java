@@ -1,6 +1,7 @@
 package org.swrlapi.ui.model;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.dataflow.qual.SideEffectFree;
 import org.swrlapi.core.SWRLAPIRule;
 import org.swrlapi.core.SWRLRuleEngine;
@@ -8,14 +9,20 @@ import org.swrlapi.core.SWRLRuleRenderer;
 import org.swrlapi.ui.view.SWRLAPIView;
 
 import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.SortedMap;
-import java.util.TreeMap;
 
 /**
  * This class models a list of SWRL rules and SQWRL queries in an ontology for tabular display.
+ * <p>
+ * Rows are held in an array sorted by rule name, so cell access is constant time. The text of a rule is rendered when
+ * it is first displayed and cached until the rule or the renderer changes. The model is kept in step with the rule
+ * engine through rule-level deltas, each of which fires the matching row insertion, update or deletion event.
  *
  * @see org.swrlapi.ui.view.SWRLRulesTableView
  * @see org.swrlapi.ui.model.SWRLRuleEngineModel
@@ -39,7 +46,9 @@ public class SWRLRulesAndSQWRLQueriesTableModel extends AbstractTableModel imple
 
   @NonNull private SWRLRuleEngine swrlRuleEngine;
   @NonNull private SWRLRuleRenderer swrlRuleRenderer;
-  @NonNull private final SortedMap<@NonNull String, @NonNull SWRLRuleModel> swrlRuleModels; // rule name -> SWRLRuleModel
+  private int swrlRuleRendererGeneration = 0; // Incremented when the renderer changes to invalidate cached rule text
+  @NonNull private final List<@NonNull SWRLRuleModel> swrlRuleModels; // Rows, sorted by rule name
+  @NonNull private final Map<@NonNull String, @NonNull SWRLRuleModel> swrlRuleModelsByName;
   @NonNull private Optional<@NonNull SWRLAPIView> view = Optional.<@NonNull SWRLAPIView>empty();
   private ContentMode contentMode;
 
@@ -49,7 +58,8 @@ public class SWRLRulesAndSQWRLQueriesTableModel extends AbstractTableModel imple
   {
     this.swrlRuleEngine = swrlRuleEngine;
     this.swrlRuleRenderer = this.swrlRuleEngine.createSWRLRuleRenderer();
-    this.swrlRuleModels = new TreeMap<>();
+    this.swrlRuleModels = new ArrayList<>();
+    this.swrlRuleModelsByName = new HashMap<>();
     this.isModified = false;
     this.contentMode = ContentMode.RuleContentOnly;
   }
@@ -60,31 +70,47 @@ public class SWRLRulesAndSQWRLQueriesTableModel extends AbstractTableModel imple
     updateRuleModels();
   }
 
+  /**
+   * Called when the ontology or the rule engine has changed. With a new rule engine all rows are replaced; with the
+   * same engine only the rules that differ are, and rule text is re-rendered lazily.
+   *
+   * @param swrlRuleEngine The rule engine
+   */
   public void updateModel(@NonNull SWRLRuleEngine swrlRuleEngine)
   {
+    boolean isNewRuleEngine = swrlRuleEngine != this.swrlRuleEngine;
+
     this.swrlRuleEngine = swrlRuleEngine;
     this.swrlRuleRenderer = this.swrlRuleEngine.createSWRLRuleRenderer();
-    this.swrlRuleModels.clear();
+    this.swrlRuleRendererGeneration++;
     this.isModified = false;
 
+    if (isNewRuleEngine) {
+      this.swrlRuleModels.clear();
+      this.swrlRuleModelsByName.clear();
+      fireTableDataChanged();
+    } else if (!this.swrlRuleModels.isEmpty())
+      fireTableRowsUpdated(0, this.swrlRuleModels.size() - 1); // Rule text may render differently
+
     updateView();
   }
 
   public void setContentMode(ContentMode contentMode)
   {
     this.contentMode = contentMode;
+    fireTableStructureChanged();
     updateView();
   }
 
   @NonNull public Set<@NonNull SWRLRuleModel> getSWRLRuleModels()
   {
-    return new HashSet<>(this.swrlRuleModels.values());
+    return new HashSet<>(this.swrlRuleModels);
   }
 
   @NonNull public Set<@NonNull SWRLRuleModel> getSWRLRuleModels(boolean isActiveFlag)
   {
     Set<@NonNull SWRLRuleModel> swrlRuleModels = new HashSet<>();
-    for (SWRLRuleModel swrlRuleModel : this.swrlRuleModels.values()) {
+    for (SWRLRuleModel swrlRuleModel : this.swrlRuleModels) {
       if (swrlRuleModel.isActive() == isActiveFlag)
         swrlRuleModels.add(swrlRuleModel);
     }
@@ -128,7 +154,54 @@ public class SWRLRulesAndSQWRLQueriesTableModel extends AbstractTableModel imple
 
   public boolean hasSWRLRule(@NonNull String ruleName)
   {
-    return this.swrlRuleModels.containsKey(ruleName);
+    return this.swrlRuleModelsByName.containsKey(ruleName);
+  }
+
+  /**
+   * Add a row for a rule that has been created in the rule engine. A rule that is already present is replaced.
+   *
+   * @param swrlapiRule The new rule
+   */
+  public void addSWRLRule(@NonNull SWRLAPIRule swrlapiRule)
+  {
+    if (hasSWRLRule(swrlapiRule.getRuleName()))
+      replaceSWRLRule(swrlapiRule.getRuleName(), swrlapiRule);
+    else
+      insertRow(new SWRLRuleModel(swrlapiRule));
+  }
+
+  /**
+   * Replace the row of a rule that has been edited, and possibly renamed, in the rule engine.
+   *
+   * @param originalRuleName The name of the rule before it was edited
+   * @param swrlapiRule      The edited rule
+   */
+  public void replaceSWRLRule(@NonNull String originalRuleName, @NonNull SWRLAPIRule swrlapiRule)
+  {
+    String ruleName = swrlapiRule.getRuleName();
+
+    if (originalRuleName.equals(ruleName) && hasSWRLRule(ruleName)) {
+      int row = findRow(ruleName);
+
+      this.swrlRuleModels.get(row).setRule(swrlapiRule);
+      fireTableRowsUpdated(row, row);
+    } else {
+      deleteSWRLRule(originalRuleName);
+      if (hasSWRLRule(ruleName)) // Renamed over an existing rule
+        deleteSWRLRule(ruleName);
+      insertRow(new SWRLRuleModel(swrlapiRule));
+    }
+  }
+
+  /**
+   * Remove the row of a rule that has been deleted from the rule engine.
+   *
+   * @param ruleName The name of the deleted rule
+   */
+  public void deleteSWRLRule(@NonNull String ruleName)
+  {
+    if (hasSWRLRule(ruleName))
+      deleteRow(findRow(ruleName));
   }
 
   public boolean hasBeenModified()
@@ -209,7 +282,7 @@ public class SWRLRulesAndSQWRLQueriesTableModel extends AbstractTableModel imple
     if ((row < 0 || row >= getRowCount()) || ((column < 0 || column >= getColumnCount())))
       return "<OUT OF BOUNDS>";
     else {
-      SWRLRuleModel swrlRuleModel = (SWRLRuleModel)this.swrlRuleModels.values().toArray()[row];
+      SWRLRuleModel swrlRuleModel = this.swrlRuleModels.get(row);
       if (column == getRuleTextColumnNumber())
         return swrlRuleModel.getRuleText();
       else if (column == getRuleNameColumnNumber())
@@ -225,7 +298,7 @@ public class SWRLRulesAndSQWRLQueriesTableModel extends AbstractTableModel imple
   @Override public boolean isCellEditable(int rowIndex, int columnIndex)
   {
     if (hasRuleActiveColumn() && columnIndex == getRuleActiveColumnNumber()) {
-      SWRLRuleModel swrlRuleModel = (SWRLRuleModel)this.swrlRuleModels.values().toArray()[rowIndex];
+      SWRLRuleModel swrlRuleModel = this.swrlRuleModels.get(rowIndex);
       return !swrlRuleModel.isSQWRLQuery();
     } else
       return false;
@@ -243,7 +316,8 @@ public class SWRLRulesAndSQWRLQueriesTableModel extends AbstractTableModel imple
   @Override public void setValueAt(Object aValue, int rowIndex, int columnIndex)
   {
     if (columnIndex == getRuleActiveColumnNumber()) {
-      ((SWRLRuleModel)this.swrlRuleModels.values().toArray()[rowIndex]).setActive((Boolean)aValue);
+      this.swrlRuleModels.get(rowIndex).setActive((Boolean)aValue);
+      fireTableCellUpdated(rowIndex, columnIndex);
     } else {
       super.setValueAt(aValue, rowIndex, columnIndex);
     }
@@ -261,23 +335,84 @@ public class SWRLRulesAndSQWRLQueriesTableModel extends AbstractTableModel imple
 
   @NonNull private Optional<@NonNull SWRLRuleModel> getSWRLRuleModelByIndex(int ruleIndex)
   {
-    if (ruleIndex >= 0 && ruleIndex < this.swrlRuleModels.values().size())
-      return Optional.of(((SWRLRuleModel)this.swrlRuleModels.values().toArray()[ruleIndex]));
+    if (ruleIndex >= 0 && ruleIndex < this.swrlRuleModels.size())
+      return Optional.of(this.swrlRuleModels.get(ruleIndex));
     else
       return Optional.<@NonNull SWRLRuleModel>empty();
   }
 
+  /**
+   * Bring the rows in step with the rules in the rule engine, applying and firing a delta for each rule that has been
+   * deleted, added, edited or (de)activated. Rows of unchanged rules keep their cached text.
+   */
   private void updateRuleModels()
   {
-    this.swrlRuleModels.clear();
+    Map<@NonNull String, @NonNull SWRLAPIRule> swrlapiRules = new HashMap<>();
+
+    for (SWRLAPIRule swrlapiRule : this.swrlRuleEngine.getSWRLRules())
+      swrlapiRules.put(swrlapiRule.getRuleName(), swrlapiRule);
+
+    for (int row = this.swrlRuleModels.size() - 1; row >= 0; row--) // Backwards so that row indexes stay valid
+      if (!swrlapiRules.containsKey(this.swrlRuleModels.get(row).getRuleName()))
+        deleteRow(row);
 
-    for (SWRLAPIRule swrlapiRule : this.swrlRuleEngine.getSWRLRules()) {
-      String ruleName = swrlapiRule.getRuleName();
-      SWRLRuleModel swrlRuleModel = new SWRLRuleModel(swrlapiRule);
-      this.swrlRuleModels.put(ruleName, swrlRuleModel);
+    for (SWRLAPIRule swrlapiRule : swrlapiRules.values()) {
+      SWRLRuleModel swrlRuleModel = this.swrlRuleModelsByName.get(swrlapiRule.getRuleName());
+
+      if (swrlRuleModel == null)
+        insertRow(new SWRLRuleModel(swrlapiRule));
+      else if (swrlRuleModel.rule != swrlapiRule) {
+        boolean isChanged = !swrlRuleModel.rule.equals(swrlapiRule) || swrlRuleModel.isActive() != swrlapiRule
+          .isActive();
+
+        if (isChanged) {
+          int row = findRow(swrlapiRule.getRuleName());
+
+          swrlRuleModel.setRule(swrlapiRule);
+          fireTableRowsUpdated(row, row);
+        } else
+          swrlRuleModel.setRule(swrlapiRule, false); // Track the engine's instance but keep the cached text
+      }
     }
   }
 
+  private void insertRow(@NonNull SWRLRuleModel swrlRuleModel)
+  {
+    int row = -(findRow(swrlRuleModel.getRuleName()) + 1);
+
+    this.swrlRuleModels.add(row, swrlRuleModel);
+    this.swrlRuleModelsByName.put(swrlRuleModel.getRuleName(), swrlRuleModel);
+    fireTableRowsInserted(row, row);
+  }
+
+  private void deleteRow(int row)
+  {
+    SWRLRuleModel swrlRuleModel = this.swrlRuleModels.remove(row);
+
+    this.swrlRuleModelsByName.remove(swrlRuleModel.getRuleName());
+    fireTableRowsDeleted(row, row);
+  }
+
+  // Binary search on rule name; returns -(insertion point) - 1 if the rule has no row
+  private int findRow(@NonNull String ruleName)
+  {
+    int low = 0;
+    int high = this.swrlRuleModels.size() - 1;
+
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      int comparison = this.swrlRuleModels.get(middle).getRuleName().compareTo(ruleName);
+
+      if (comparison < 0)
+        low = middle + 1;
+      else if (comparison > 0)
+        high = middle - 1;
+      else
+        return middle;
+    }
+    return -(low + 1);
+  }
+
   @Override public String toString()
   {
     return "SWRLRulesAndSQWRLQueriesTableModel{" +
@@ -291,13 +426,27 @@ public class SWRLRulesAndSQWRLQueriesTableModel extends AbstractTableModel imple
 
   private class SWRLRuleModel
   {
-    @NonNull private final SWRLAPIRule rule;
+    @NonNull private SWRLAPIRule rule;
+    @Nullable private String ruleText; // Rendered on first use
+    private int ruleTextGeneration;
 
     public SWRLRuleModel(@NonNull SWRLAPIRule rule)
     {
       this.rule = rule;
     }
 
+    public void setRule(@NonNull SWRLAPIRule rule)
+    {
+      setRule(rule, true);
+    }
+
+    public void setRule(@NonNull SWRLAPIRule rule, boolean hasTextChanged)
+    {
+      this.rule = rule;
+      if (hasTextChanged)
+        this.ruleText = null;
+    }
+
     public void setActive(boolean active)
     {
       this.rule.setActive(active);
@@ -315,7 +464,14 @@ public class SWRLRulesAndSQWRLQueriesTableModel extends AbstractTableModel imple
 
     @NonNull public String getRuleText()
     {
-      return getSWRLRuleRenderer().renderSWRLRule(this.rule);
+      String ruleText = this.ruleText;
+
+      if (ruleText == null || this.ruleTextGeneration != swrlRuleRendererGeneration) {
+        ruleText = getSWRLRuleRenderer().renderSWRLRule(this.rule);
+        this.ruleText = ruleText;
+        this.ruleTextGeneration = swrlRuleRendererGeneration;
+      }
+      return ruleText;
     }
 
     @NonNull public String getRuleName()
@@ -83,8 +83,7 @@ public class SWRLRulesTableView extends JPanel implements SWRLAPIView
 
   @Override public void update()
   {
-    getSWRLRulesTableModel().fireTableDataChanged();
-    validate();
+    validate(); // The table model fires fine-grained row events as rules change
   }
 
   public Optional<@NonNull String> getSelectedSWRLRuleName()
@@ -326,6 +325,7 @@ public class SWRLRulesTableView extends JPanel implements SWRLAPIView
         if (SWRLRulesTableView.this.getSWRLRulesTableModel().hasSWRLRule(selectedRuleName.get()) && this.dialogManager
           .showConfirmDialog(this.parent, "Do you really want to delete the rule?", "Delete Rule")) {
           getSWRLRuleEngineModel().getSWRLRuleEngine().deleteSWRLRule(selectedRuleName.get());
+          getSWRLRulesTableModel().deleteSWRLRule(selectedRuleName.get());
           getSWRLRuleEngineModel().updateView();
         }
       }
@@ -4,8 +4,10 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.swrlapi.factory.SWRLAPIFactory;
 import org.swrlapi.sqwrl.SQWRLQueryEngine;
 import org.swrlapi.sqwrl.SQWRLResult;
+import org.swrlapi.sqwrl.SQWRLResultExporter;
 import org.swrlapi.sqwrl.exceptions.SQWRLException;
 import org.swrlapi.sqwrl.exceptions.SQWRLInvalidQueryNameException;
 import org.swrlapi.sqwrl.values.SQWRLClassExpressionResultValue;
@@ -25,8 +27,6 @@ import java.awt.event.ActionListener;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
-import java.nio.charset.StandardCharsets;
 
 /**
  * A view holding the result for a single SQWRL query.
@@ -165,34 +165,14 @@ public class SQWRLResultView extends JPanel implements SWRLAPIView
         if (returnValue == JFileChooser.APPROVE_OPTION) {
           File selectedFile = this.chooser.getSelectedFile();
           currentDirectory = this.chooser.getCurrentDirectory();
-          OutputStream fileOutputStream = new FileOutputStream(selectedFile);
-          OutputStreamWriter writer = new OutputStreamWriter(fileOutputStream, StandardCharsets.UTF_8);
           SQWRLResultView.this.sqwrlResult = SQWRLResultView.this.getSQWRLQueryEngine()
             .getSQWRLResult(SQWRLResultView.this.queryName);
 
           if (SQWRLResultView.this.sqwrlResult != null) {
-            int numberOfColumns = SQWRLResultView.this.sqwrlResult.getNumberOfColumns();
-            for (int i = 0; i < numberOfColumns; i++) {
-              if (i != 0)
-                writer.write(", ");
-              writer.write(SQWRLResultView.this.sqwrlResult.getColumnName(i));
+            try (OutputStream outputStream = new FileOutputStream(selectedFile)) {
+              SWRLAPIFactory.createSQWRLResultExporter()
+                .export(SQWRLResultView.this.sqwrlResult, SQWRLResultExporter.Format.CSV, outputStream);
             }
-            writer.write("\n");
-
-            while (SQWRLResultView.this.sqwrlResult.next()) {
-              for (int i = 0; i < numberOfColumns; i++) {
-                SQWRLResultValue value = SQWRLResultView.this.sqwrlResult.getValue(i);
-                if (i != 0)
-                  writer.write(", ");
-                if (value instanceof SQWRLLiteralResultValue && ((SQWRLLiteralResultValue)value).isQuotableType())
-                  writer.write("\"" + value + "\"");
-                else
-                  writer.write("" + value);
-              }
-              writer.write("\n");
-            }
-            SQWRLResultView.this.sqwrlResult.reset();
-            writer.close();
             SQWRLResultView.this.sqwrlQueryControlView.appendToConsole(
               "Successfully saved results of query " + SQWRLResultView.this.queryName + " to CSV file " + selectedFile
                 .getPath() + ".\n");
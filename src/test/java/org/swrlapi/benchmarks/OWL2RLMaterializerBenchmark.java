@@ -0,0 +1,165 @@
+package org.swrlapi.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.swrlapi.owl2rl.OWL2RLMaterializer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of the native OWL 2 RL materializer on generated data shaped like the LUBM university
+ * benchmark: universities with departments, research groups, faculty, students and courses, a class hierarchy,
+ * a transitive <code>subOrganizationOf</code>, <code>headOf</code> and <code>worksFor</code> below
+ * <code>memberOf</code>, domains and ranges, an inverse property and a <code>someValuesFrom</code> class
+ * definition. The number of inferred axioms is returned.
+ */
+@State(Scope.Benchmark) @BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5) @Measurement(iterations = 10) @Fork(1) public class OWL2RLMaterializerBenchmark
+{
+  private static final int DEPARTMENTS_PER_UNIVERSITY = 15;
+  private static final int GROUPS_PER_DEPARTMENT = 5;
+  private static final int PROFESSORS_PER_DEPARTMENT = 10;
+  private static final int STUDENTS_PER_DEPARTMENT = 100;
+  private static final int COURSES_PER_DEPARTMENT = 20;
+
+  @Param({ "1", "5", "10" }) public int numberOfUniversities;
+
+  private final List<OWLAxiom> axioms = new ArrayList<>();
+
+  @Setup public void setup()
+  {
+    OWLDataFactory dataFactory = OWLManager.getOWLDataFactory();
+    OWLClass organization = cls(dataFactory, "Organization");
+    OWLClass university = cls(dataFactory, "University");
+    OWLClass department = cls(dataFactory, "Department");
+    OWLClass researchGroup = cls(dataFactory, "ResearchGroup");
+    OWLClass person = cls(dataFactory, "Person");
+    OWLClass employee = cls(dataFactory, "Employee");
+    OWLClass faculty = cls(dataFactory, "Faculty");
+    OWLClass professor = cls(dataFactory, "Professor");
+    OWLClass fullProfessor = cls(dataFactory, "FullProfessor");
+    OWLClass chair = cls(dataFactory, "Chair");
+    OWLClass student = cls(dataFactory, "Student");
+    OWLClass graduateStudent = cls(dataFactory, "GraduateStudent");
+    OWLClass course = cls(dataFactory, "Course");
+    OWLObjectProperty subOrganizationOf = property(dataFactory, "subOrganizationOf");
+    OWLObjectProperty memberOf = property(dataFactory, "memberOf");
+    OWLObjectProperty member = property(dataFactory, "member");
+    OWLObjectProperty worksFor = property(dataFactory, "worksFor");
+    OWLObjectProperty headOf = property(dataFactory, "headOf");
+    OWLObjectProperty advisor = property(dataFactory, "advisor");
+    OWLObjectProperty teacherOf = property(dataFactory, "teacherOf");
+    OWLObjectProperty takesCourse = property(dataFactory, "takesCourse");
+
+    this.axioms.clear();
+    this.axioms.add(dataFactory.getOWLSubClassOfAxiom(university, organization));
+    this.axioms.add(dataFactory.getOWLSubClassOfAxiom(department, organization));
+    this.axioms.add(dataFactory.getOWLSubClassOfAxiom(researchGroup, organization));
+    this.axioms.add(dataFactory.getOWLSubClassOfAxiom(employee, person));
+    this.axioms.add(dataFactory.getOWLSubClassOfAxiom(faculty, employee));
+    this.axioms.add(dataFactory.getOWLSubClassOfAxiom(professor, faculty));
+    this.axioms.add(dataFactory.getOWLSubClassOfAxiom(fullProfessor, professor));
+    this.axioms.add(dataFactory.getOWLSubClassOfAxiom(student, person));
+    this.axioms.add(dataFactory.getOWLSubClassOfAxiom(graduateStudent, student));
+    this.axioms.add(dataFactory.getOWLEquivalentClassesAxiom(chair,
+      dataFactory.getOWLObjectIntersectionOf(person, dataFactory.getOWLObjectSomeValuesFrom(headOf, department))));
+    this.axioms.add(dataFactory.getOWLTransitiveObjectPropertyAxiom(subOrganizationOf));
+    this.axioms.add(dataFactory.getOWLSubObjectPropertyOfAxiom(worksFor, memberOf));
+    this.axioms.add(dataFactory.getOWLSubObjectPropertyOfAxiom(headOf, worksFor));
+    this.axioms.add(dataFactory.getOWLInverseObjectPropertiesAxiom(memberOf, member));
+    this.axioms.add(dataFactory.getOWLObjectPropertyDomainAxiom(advisor, person));
+    this.axioms.add(dataFactory.getOWLObjectPropertyRangeAxiom(advisor, professor));
+    this.axioms.add(dataFactory.getOWLObjectPropertyDomainAxiom(teacherOf, faculty));
+    this.axioms.add(dataFactory.getOWLObjectPropertyRangeAxiom(teacherOf, course));
+    this.axioms.add(dataFactory.getOWLObjectPropertyRangeAxiom(takesCourse, course));
+
+    for (int u = 0; u < this.numberOfUniversities; u++) {
+      OWLNamedIndividual universityIndividual = individual(dataFactory, "u" + u);
+      this.axioms.add(dataFactory.getOWLClassAssertionAxiom(university, universityIndividual));
+
+      for (int d = 0; d < DEPARTMENTS_PER_UNIVERSITY; d++) {
+        String prefix = "u" + u + "d" + d;
+        OWLNamedIndividual departmentIndividual = individual(dataFactory, prefix);
+        this.axioms.add(dataFactory.getOWLClassAssertionAxiom(department, departmentIndividual));
+        this.axioms.add(dataFactory
+          .getOWLObjectPropertyAssertionAxiom(subOrganizationOf, departmentIndividual, universityIndividual));
+
+        for (int g = 0; g < GROUPS_PER_DEPARTMENT; g++) {
+          OWLNamedIndividual group = individual(dataFactory, prefix + "g" + g);
+          this.axioms.add(dataFactory.getOWLClassAssertionAxiom(researchGroup, group));
+          this.axioms.add(dataFactory.getOWLObjectPropertyAssertionAxiom(subOrganizationOf, group,
+            departmentIndividual));
+        }
+
+        for (int p = 0; p < PROFESSORS_PER_DEPARTMENT; p++) {
+          OWLNamedIndividual professorIndividual = individual(dataFactory, prefix + "p" + p);
+          this.axioms.add(dataFactory.getOWLClassAssertionAxiom(p == 0 ? fullProfessor : professor,
+            professorIndividual));
+          this.axioms.add(dataFactory.getOWLObjectPropertyAssertionAxiom(p == 0 ? headOf : worksFor,
+            professorIndividual, departmentIndividual));
+          for (int c = p * 2; c < p * 2 + 2; c++)
+            this.axioms.add(dataFactory.getOWLObjectPropertyAssertionAxiom(teacherOf, professorIndividual,
+              individual(dataFactory, prefix + "c" + c)));
+        }
+
+        for (int s = 0; s < STUDENTS_PER_DEPARTMENT; s++) {
+          OWLNamedIndividual studentIndividual = individual(dataFactory, prefix + "s" + s);
+          this.axioms.add(dataFactory.getOWLClassAssertionAxiom(s % 4 == 0 ? graduateStudent : student,
+            studentIndividual));
+          this.axioms.add(dataFactory.getOWLObjectPropertyAssertionAxiom(memberOf, studentIndividual,
+            departmentIndividual));
+          this.axioms.add(dataFactory.getOWLObjectPropertyAssertionAxiom(advisor, studentIndividual,
+            individual(dataFactory, prefix + "p" + s % PROFESSORS_PER_DEPARTMENT)));
+          for (int c = 0; c < 3; c++)
+            this.axioms.add(dataFactory.getOWLObjectPropertyAssertionAxiom(takesCourse, studentIndividual,
+              individual(dataFactory, prefix + "c" + (s + c * 7) % COURSES_PER_DEPARTMENT)));
+        }
+      }
+    }
+  }
+
+  @Benchmark public int materialize()
+  {
+    OWL2RLMaterializer materializer = new OWL2RLMaterializer(OWLManager.getOWLDataFactory(),
+      OWL2RLMaterializer.getSupportedRules());
+    int[] numberOfInferredAxioms = new int[1];
+
+    materializer.addAxioms(this.axioms);
+    materializer.materialize(axiom -> numberOfInferredAxioms[0]++);
+
+    return numberOfInferredAxioms[0];
+  }
+
+  private static OWLClass cls(OWLDataFactory dataFactory, String name)
+  {
+    return dataFactory.getOWLClass(IRI.create("lubm#" + name));
+  }
+
+  private static OWLObjectProperty property(OWLDataFactory dataFactory, String name)
+  {
+    return dataFactory.getOWLObjectProperty(IRI.create("lubm#" + name));
+  }
+
+  private static OWLNamedIndividual individual(OWLDataFactory dataFactory, String name)
+  {
+    return dataFactory.getOWLNamedIndividual(IRI.create("lubm#" + name));
+  }
+}
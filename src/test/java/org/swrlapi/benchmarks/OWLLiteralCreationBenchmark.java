@@ -0,0 +1,111 @@
+package org.swrlapi.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.model.OWLDatatype;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.swrlapi.factory.OWLDatatypeFactory;
+import org.swrlapi.factory.OWLLiteralFactory;
+import org.swrlapi.factory.SWRLAPIInternalFactory;
+import org.swrlapi.literal.OWLLiteralValidator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures creating 10^6 literals of the core numeric, boolean and temporal datatypes from their lexical forms with
+ * {@link OWLLiteralFactory#getOWLLiteral(String, OWLDatatype)}, which validates each one. <code>validateInvalid</code>
+ * checks 10^6 literals that are invalid for their datatypes.
+ */
+@State(Scope.Benchmark) @BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5) @Measurement(iterations = 10) @Fork(1) public class OWLLiteralCreationBenchmark
+{
+  private static final int NUMBER_OF_LITERALS = 1000000;
+
+  private OWLLiteralFactory literalFactory;
+  private String[] validLiterals;
+  private String[] invalidLiterals;
+  private OWLDatatype[] datatypes;
+
+  @Setup public void setup()
+  {
+    OWLDatatypeFactory datatypeFactory = SWRLAPIInternalFactory.createOWLDatatypeFactory();
+    OWLDatatype[] datatypeCycle = { datatypeFactory.getIntDatatype(), datatypeFactory.getLongDatatype(),
+      datatypeFactory.getDecimalDatatype(), datatypeFactory.getDoubleDatatype(), datatypeFactory.getBooleanDatatype(),
+      datatypeFactory.getDateDatatype(), datatypeFactory.getDateTimeDatatype(), datatypeFactory.getDurationDatatype() };
+
+    this.literalFactory = SWRLAPIInternalFactory.createOWLLiteralFactory();
+    this.validLiterals = new String[NUMBER_OF_LITERALS];
+    this.invalidLiterals = new String[NUMBER_OF_LITERALS];
+    this.datatypes = new OWLDatatype[NUMBER_OF_LITERALS];
+
+    for (int i = 0; i < NUMBER_OF_LITERALS; i++) {
+      int kind = i % datatypeCycle.length;
+      int day = 1 + i % 28;
+
+      this.datatypes[i] = datatypeCycle[kind];
+      switch (kind) {
+      case 0:
+        this.validLiterals[i] = Integer.toString(i);
+        this.invalidLiterals[i] = i + "x";
+        break;
+      case 1:
+        this.validLiterals[i] = Long.toString(-1000000000000L * i);
+        this.invalidLiterals[i] = "9223372036854775808" + i;
+        break;
+      case 2:
+        this.validLiterals[i] = i + ".25";
+        this.invalidLiterals[i] = i + ".25.";
+        break;
+      case 3:
+        this.validLiterals[i] = i + ".5E-3";
+        this.invalidLiterals[i] = i + ".5E";
+        break;
+      case 4:
+        this.validLiterals[i] = i % 2 == 0 ? "true" : "false";
+        this.invalidLiterals[i] = "yes";
+        break;
+      case 5:
+        this.validLiterals[i] = "2016-02-" + (day < 10 ? "0" : "") + day;
+        this.invalidLiterals[i] = "2015-02-" + (29 + i % 3);
+        break;
+      case 6:
+        this.validLiterals[i] = "2016-02-" + (day < 10 ? "0" : "") + day + "T12:30:00.5Z";
+        this.invalidLiterals[i] = "2016-02-10T25:30:00";
+        break;
+      default:
+        this.validLiterals[i] = "P" + i + "DT4H5M6S";
+        this.invalidLiterals[i] = "P" + i + "HT4D";
+      }
+    }
+  }
+
+  @Benchmark public int createValid()
+  {
+    int hash = 0;
+
+    for (int i = 0; i < NUMBER_OF_LITERALS; i++) {
+      OWLLiteral literal = this.literalFactory.getOWLLiteral(this.validLiterals[i], this.datatypes[i]);
+      hash += literal.getLiteral().length();
+    }
+    return hash;
+  }
+
+  @Benchmark public int validateInvalid()
+  {
+    int numberOfInvalidLiterals = 0;
+
+    for (int i = 0; i < NUMBER_OF_LITERALS; i++)
+      if (!OWLLiteralValidator.isValid(this.invalidLiterals[i], this.datatypes[i]))
+        numberOfInvalidLiterals++;
+
+    return numberOfInvalidLiterals;
+  }
+}
@@ -0,0 +1,110 @@
+package org.swrlapi.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.swrlapi.engine.SemiNaiveSWRLRuleEngineCreator;
+import org.swrlapi.factory.SWRLAPIFactory;
+import org.swrlapi.sqwrl.SQWRLQueryEngine;
+import org.swrlapi.sqwrl.exceptions.SQWRLException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of refreshing 64 read-only SQWRL queries with {@link SQWRLQueryEngine#runSQWRLQueries(int)}
+ * for 1 to 16 threads. The ontology has 5,000 individuals in 16 classes, each with an age, and one rule. A quarter of
+ * the queries sort their result and a quarter aggregate over a SQWRL collection, so that preparing the results is a
+ * noticeable part of the work.
+ */
+@State(Scope.Benchmark) @BenchmarkMode(Mode.Throughput) @OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5) @Measurement(iterations = 10) @Fork(1) public class ParallelSQWRLQueryBenchmark
+{
+  private static final int NUMBER_OF_CLASSES = 16;
+  private static final int NUMBER_OF_INDIVIDUALS = 5000;
+  private static final int NUMBER_OF_QUERIES = 64;
+
+  @Param({ "1", "2", "4", "8", "16" }) public int numberOfThreads;
+
+  private SQWRLQueryEngine queryEngine;
+
+  @Setup(Level.Trial) public void setup() throws Exception
+  {
+    OWLOntologyManager ontologyManager = OWLManager.createOWLOntologyManager();
+    OWLDataFactory dataFactory = ontologyManager.getOWLDataFactory();
+    OWLOntology ontology = ontologyManager.createOntology();
+    OWLDataProperty hasAge = dataFactory.getOWLDataProperty(IRI.create("hasAge"));
+
+    ontologyManager.addAxiom(ontology, dataFactory.getOWLDeclarationAxiom(hasAge));
+    ontologyManager
+      .addAxiom(ontology, dataFactory.getOWLDeclarationAxiom(dataFactory.getOWLClass(IRI.create("Adult"))));
+    for (int c = 0; c < NUMBER_OF_CLASSES; c++)
+      ontologyManager.addAxiom(ontology, dataFactory.getOWLDeclarationAxiom(cls(dataFactory, c)));
+
+    for (int i = 0; i < NUMBER_OF_INDIVIDUALS; i++) {
+      OWLNamedIndividual individual = dataFactory.getOWLNamedIndividual(IRI.create("i" + i));
+      ontologyManager.addAxiom(ontology, dataFactory.getOWLClassAssertionAxiom(cls(dataFactory, i % NUMBER_OF_CLASSES),
+        individual));
+      ontologyManager.addAxiom(ontology, dataFactory.getOWLDataPropertyAssertionAxiom(hasAge, individual, i % 90));
+    }
+
+    this.queryEngine = SWRLAPIFactory
+      .createSQWRLQueryEngine(SemiNaiveSWRLRuleEngineCreator.RULE_ENGINE_NAME, ontology);
+    this.queryEngine.createSWRLRule("r1", "hasAge(?x, ?a) ^ swrlb:greaterThan(?a, 17) -> Adult(?x)");
+
+    for (int q = 0; q < NUMBER_OF_QUERIES; q++) {
+      String className = "C" + (q % NUMBER_OF_CLASSES);
+      String query;
+
+      switch (q % 4) {
+      case 0:
+        query = className + "(?x) ^ Adult(?x) -> sqwrl:select(?x)";
+        break;
+      case 1:
+        query = className + "(?x) ^ hasAge(?x, ?a) -> sqwrl:select(?x, ?a) ^ sqwrl:orderByDescending(?a)";
+        break;
+      case 2:
+        query = className + "(?x) ^ hasAge(?x, ?a) . sqwrl:makeBag(?b, ?a) . sqwrl:avg(?avg, ?b) -> sqwrl:select(?avg)";
+        break;
+      default:
+        query = className + "(?x) ^ hasAge(?x, ?a) ^ swrlb:lessThan(?a, 30) -> sqwrl:selectDistinct(?a)";
+      }
+      this.queryEngine.createSQWRLQuery("q" + q, query);
+    }
+    this.queryEngine.runSQWRLQueries(this.numberOfThreads); // Creates the sessions
+  }
+
+  @TearDown(Level.Trial) public void tearDown()
+  {
+    this.queryEngine.close();
+  }
+
+  @Benchmark public int runSQWRLQueries() throws SQWRLException
+  {
+    this.queryEngine.runSQWRLQueries(this.numberOfThreads);
+
+    return this.queryEngine.getSQWRLResult("q0").getNumberOfRows();
+  }
+
+  private static OWLClass cls(OWLDataFactory dataFactory, int classIndex)
+  {
+    return dataFactory.getOWLClass(IRI.create("C" + classIndex));
+  }
+}
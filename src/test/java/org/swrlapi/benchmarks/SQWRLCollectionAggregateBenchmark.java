@@ -0,0 +1,132 @@
+package org.swrlapi.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.swrlapi.bridge.SWRLBridge;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLLiteralBuiltInArgument;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.exceptions.SWRLBuiltInException;
+import org.swrlapi.factory.SWRLBuiltInArgumentFactory;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.swrlapi.factory.SWRLAPIInternalFactory.createOWL2RLPersistenceLayer;
+import static org.swrlapi.factory.SWRLAPIInternalFactory.createSWRLAPIOntology;
+import static org.swrlapi.factory.SWRLAPIInternalFactory.createSWRLBridge;
+
+/**
+ * Invokes SQWRL aggregates and a set operation on grouped bags of 10^4 elements through a bridge, as a query does
+ * once for each binding of its body. Aggregates are answered from running state kept as the bags are built, and the
+ * union is computed once and reused. The cost of summing a bag element by element, which each invocation used to
+ * pay, is measured for comparison.
+ */
+@State(Scope.Benchmark) @BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5) @Measurement(iterations = 10) @Fork(1) public class SQWRLCollectionAggregateBenchmark
+{
+  private static final int NUMBER_OF_GROUPS = 10;
+  private static final int NUMBER_OF_GROUP_ELEMENTS = 10000;
+
+  private static final String QUERY_NAME = "q1";
+
+  private SWRLBuiltInArgumentFactory argumentFactory;
+  private SWRLBridge bridge;
+  private SWRLLiteralBuiltInArgument[] groups;
+  private SWRLLiteralBuiltInArgument[][] groupElements;
+
+  @Setup public void setup() throws Exception
+  {
+    OWLOntology ontology = OWLManager.createOWLOntologyManager().createOntology();
+    SWRLAPIOWLOntology swrlapiOWLOntology = createSWRLAPIOntology(ontology);
+
+    this.argumentFactory = swrlapiOWLOntology.getSWRLAPIOWLDataFactory().getSWRLBuiltInArgumentFactory();
+    this.bridge = createSWRLBridge(swrlapiOWLOntology, createOWL2RLPersistenceLayer(ontology));
+    this.groups = new SWRLLiteralBuiltInArgument[NUMBER_OF_GROUPS];
+    this.groupElements = new SWRLLiteralBuiltInArgument[NUMBER_OF_GROUPS][NUMBER_OF_GROUP_ELEMENTS];
+
+    for (int g = 0; g < NUMBER_OF_GROUPS; g++) {
+      this.groups[g] = this.argumentFactory.getLiteralBuiltInArgument("g" + g);
+      for (int i = 0; i < NUMBER_OF_GROUP_ELEMENTS; i++) {
+        this.groupElements[g][i] = this.argumentFactory.getLiteralBuiltInArgument(i * NUMBER_OF_GROUPS + g);
+        invoke("sqwrl:makeBag", variable("s"), this.groupElements[g][i], this.groups[g]);
+      }
+    }
+  }
+
+  @Benchmark @OperationsPerInvocation(NUMBER_OF_GROUPS) public long sum() throws SWRLBuiltInException
+  {
+    return aggregate("sqwrl:sum");
+  }
+
+  @Benchmark @OperationsPerInvocation(NUMBER_OF_GROUPS) public long avg() throws SWRLBuiltInException
+  {
+    return aggregate("sqwrl:avg");
+  }
+
+  @Benchmark @OperationsPerInvocation(NUMBER_OF_GROUPS) public long max() throws SWRLBuiltInException
+  {
+    return aggregate("sqwrl:max");
+  }
+
+  @Benchmark @OperationsPerInvocation(NUMBER_OF_GROUPS) public long union() throws SWRLBuiltInException
+  {
+    long numberOfResults = 0;
+
+    for (SWRLLiteralBuiltInArgument group : this.groups)
+      numberOfResults += invoke("sqwrl:union", variable("u"), variable("s"), variable("s"), group, group);
+
+    return numberOfResults;
+  }
+
+  @Benchmark @OperationsPerInvocation(NUMBER_OF_GROUPS) public BigDecimal iteratedSum()
+  {
+    BigDecimal sumValue = BigDecimal.ZERO;
+
+    for (SWRLLiteralBuiltInArgument[] elements : this.groupElements)
+      for (SWRLLiteralBuiltInArgument element : elements)
+        sumValue = sumValue.add(new BigDecimal(element.getLiteral().getLiteral()));
+
+    return sumValue;
+  }
+
+  /**
+   * @return The number of result bindings of the aggregate, of the form <code>builtIn(?r, ?s, group)</code>, over
+   * every group
+   */
+  private long aggregate(String builtInName) throws SWRLBuiltInException
+  {
+    long numberOfResults = 0;
+
+    for (SWRLLiteralBuiltInArgument group : this.groups)
+      numberOfResults += invoke(builtInName, variable("r"), variable("s"), group);
+
+    return numberOfResults;
+  }
+
+  private long invoke(String builtInName, SWRLBuiltInArgument... arguments) throws SWRLBuiltInException
+  {
+    List<SWRLBuiltInArgument> argumentList = Arrays.asList(arguments);
+
+    return this.bridge.invokeSWRLBuiltIn(QUERY_NAME, builtInName, 0, false, argumentList).size();
+  }
+
+  private SWRLBuiltInArgument variable(String name)
+  {
+    return this.argumentFactory.getUnboundVariableBuiltInArgument(IRI.create(name));
+  }
+}
@@ -0,0 +1,108 @@
+package org.swrlapi.benchmarks;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.swrlapi.factory.SQWRLResultValueFactory;
+import org.swrlapi.factory.SWRLAPIFactory;
+import org.swrlapi.factory.SWRLAPIInternalFactory;
+import org.swrlapi.sqwrl.values.SQWRLResultValue;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures creating the literal values of a result of 10^6 rows and 4 columns (a boolean, a small integer, an integer
+ * and a string) with a {@link SQWRLResultValueFactory}, which returns canonical instances of recurring values. With
+ * 1,000 distinct values per column most values are shared; with 10^6 every integer and string value is distinct, which
+ * is the cost of creating values without canonicalization. The heap retained by the values of a row and the hits and
+ * misses of the literal value cache are reported as secondary results.
+ */
+@State(Scope.Thread) @BenchmarkMode(Mode.SingleShotTime) @OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5) @Measurement(iterations = 10) @Fork(1) public class SQWRLLiteralValueCacheBenchmark
+{
+  private static final int NUMBER_OF_ROWS = 1000000;
+  private static final int NUMBER_OF_COLUMNS = 4;
+
+  @Param({ "1000", "1000000" }) public int numberOfDistinctValues;
+
+  private SQWRLResultValueFactory valueFactory;
+  private String[] strings;
+  private SQWRLResultValue[] values;
+
+  @Setup(Level.Trial) public void setup()
+  {
+    this.valueFactory = SWRLAPIInternalFactory.createSQWRLResultValueFactory(SWRLAPIFactory.createIRIResolver());
+    this.strings = new String[this.numberOfDistinctValues];
+    this.values = new SQWRLResultValue[NUMBER_OF_ROWS * NUMBER_OF_COLUMNS];
+
+    for (int i = 0; i < this.numberOfDistinctValues; i++)
+      this.strings[i] = "value " + i;
+  }
+
+  @Setup(Level.Iteration) public void clearValues()
+  {
+    Arrays.fill(this.values, null);
+  }
+
+  @Benchmark public int createLiteralValues(CacheStatistics cacheStatistics)
+  {
+    long usedBefore = cacheStatistics.usedHeapAfterGC();
+    long hitsBefore = this.valueFactory.getNumberOfLiteralValueCacheHits();
+    long missesBefore = this.valueFactory.getNumberOfLiteralValueCacheMisses();
+    int v = 0;
+
+    for (int r = 0; r < NUMBER_OF_ROWS; r++) {
+      int i = r % this.numberOfDistinctValues;
+
+      this.values[v++] = this.valueFactory.getLiteralValue(r % 2 == 0);
+      this.values[v++] = this.valueFactory.getLiteralValue(r % 100);
+      this.values[v++] = this.valueFactory.getLiteralValue(100000 + i);
+      this.values[v++] = this.valueFactory.getLiteralValue(this.strings[i]);
+    }
+
+    cacheStatistics.bytesPerRow = (cacheStatistics.usedHeapAfterGC() - usedBefore) / NUMBER_OF_ROWS;
+    cacheStatistics.cacheHits = this.valueFactory.getNumberOfLiteralValueCacheHits() - hitsBefore;
+    cacheStatistics.cacheMisses = this.valueFactory.getNumberOfLiteralValueCacheMisses() - missesBefore;
+
+    return v;
+  }
+
+  /**
+   * Reports the heap retained per row and the literal value cache statistics as secondary results of
+   * {@link #createLiteralValues}.
+   */
+  @State(Scope.Thread) @AuxCounters(AuxCounters.Type.EVENTS) public static class CacheStatistics
+  {
+    private final MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+
+    public long bytesPerRow;
+    public long cacheHits;
+    public long cacheMisses;
+
+    @Setup(Level.Iteration) public void clean()
+    {
+      this.bytesPerRow = 0;
+      this.cacheHits = 0;
+      this.cacheMisses = 0;
+    }
+
+    long usedHeapAfterGC()
+    {
+      System.gc();
+      return this.memoryMXBean.getHeapMemoryUsage().getUsed();
+    }
+  }
+}
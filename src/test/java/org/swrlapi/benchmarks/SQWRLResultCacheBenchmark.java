@@ -0,0 +1,104 @@
+package org.swrlapi.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.swrlapi.engine.SemiNaiveSWRLRuleEngineCreator;
+import org.swrlapi.factory.SWRLAPIFactory;
+import org.swrlapi.sqwrl.SQWRLQueryEngine;
+import org.swrlapi.sqwrl.exceptions.SQWRLException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures an application polling the same SQWRL query (<code>Person(?p) ^ Employee(?p) -&gt; sqwrl:select(?p)</code>)
+ * while the ontology is edited between polls. <code>pollUnchanged</code> makes no edits, so every poll after the first
+ * is answered from the result cache; <code>pollAfterUnrelatedChange</code> asserts an instance of a class the query
+ * does not depend on before each poll, which also keeps the cached result; <code>pollAfterRelevantChange</code>
+ * asserts a new <code>Person</code>, so every poll re-runs the query.
+ */
+@State(Scope.Benchmark) @BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5) @Measurement(iterations = 10) @Fork(1) public class SQWRLResultCacheBenchmark
+{
+  @Param({ "1000", "10000" }) public int numberOfIndividuals;
+
+  private OWLOntologyManager ontologyManager;
+  private OWLDataFactory dataFactory;
+  private OWLOntology ontology;
+  private SQWRLQueryEngine queryEngine;
+  private int numberOfUpdates;
+
+  @Setup(Level.Iteration) public void setup() throws Exception
+  {
+    this.ontologyManager = OWLManager.createOWLOntologyManager();
+    this.dataFactory = this.ontologyManager.getOWLDataFactory();
+    this.ontology = this.ontologyManager.createOntology();
+
+    for (String className : new String[] { "Person", "Employee", "Vehicle" })
+      this.ontologyManager.addAxiom(this.ontology, this.dataFactory.getOWLDeclarationAxiom(cls(className)));
+
+    for (int i = 0; i < this.numberOfIndividuals; i++) {
+      this.ontologyManager.addAxiom(this.ontology,
+        this.dataFactory.getOWLClassAssertionAxiom(cls("Person"), individual("p" + i)));
+      if (i % 2 == 0)
+        this.ontologyManager.addAxiom(this.ontology,
+          this.dataFactory.getOWLClassAssertionAxiom(cls("Employee"), individual("p" + i)));
+    }
+
+    this.queryEngine = SWRLAPIFactory
+      .createSQWRLQueryEngine(SemiNaiveSWRLRuleEngineCreator.RULE_ENGINE_NAME, this.ontology);
+    this.queryEngine.runSQWRLQuery("q1", "Person(?p) ^ Employee(?p) -> sqwrl:select(?p)");
+    this.numberOfUpdates = 0;
+  }
+
+  @Benchmark public int pollUnchanged() throws SQWRLException
+  {
+    return this.queryEngine.runSQWRLQuery("q1").getNumberOfRows();
+  }
+
+  @Benchmark public int pollAfterUnrelatedChange() throws SQWRLException
+  {
+    update("Vehicle");
+
+    return this.queryEngine.runSQWRLQuery("q1").getNumberOfRows();
+  }
+
+  @Benchmark public int pollAfterRelevantChange() throws SQWRLException
+  {
+    update("Person");
+
+    return this.queryEngine.runSQWRLQuery("q1").getNumberOfRows();
+  }
+
+  private void update(String className)
+  {
+    this.ontologyManager.addAxiom(this.ontology, this.dataFactory
+      .getOWLClassAssertionAxiom(cls(className), individual("u" + this.numberOfUpdates++)));
+  }
+
+  private OWLClass cls(String className)
+  {
+    return this.dataFactory.getOWLClass(IRI.create(className));
+  }
+
+  private OWLNamedIndividual individual(String individualName)
+  {
+    return this.dataFactory.getOWLNamedIndividual(IRI.create(individualName));
+  }
+}
@@ -0,0 +1,106 @@
+package org.swrlapi.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.model.IRI;
+import org.swrlapi.core.IRIResolver;
+import org.swrlapi.factory.SQWRLResultValueFactory;
+import org.swrlapi.factory.SWRLAPIFactory;
+import org.swrlapi.factory.SWRLAPIInternalFactory;
+import org.swrlapi.sqwrl.SQWRLResultExporter;
+import org.swrlapi.sqwrl.SQWRLResultManager;
+import org.swrlapi.sqwrl.exceptions.SQWRLException;
+import org.swrlapi.sqwrl.values.SQWRLResultValue;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures exporting a result of 10^6 rows and 10 columns to a file. Columns alternate between named individuals drawn
+ * from 1,000 names, which the binary format writes as dictionary references, and distinct integer and string literals,
+ * some of which contain commas and so are quoted in CSV. <code>exportToChannel</code> writes through a
+ * {@link FileChannel}; <code>exportMapped</code> writes through memory-mapped regions of the file.
+ */
+@State(Scope.Benchmark) @BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5) @Measurement(iterations = 10) @Fork(1) public class SQWRLResultExportBenchmark
+{
+  private static final int NUMBER_OF_ROWS = 1000000;
+  private static final int NUMBER_OF_COLUMNS = 10;
+  private static final int NUMBER_OF_INDIVIDUALS = 1000;
+
+  @Param({ "CSV", "TSV", "BINARY" }) public SQWRLResultExporter.Format format;
+
+  private SQWRLResultManager result;
+  private SQWRLResultExporter exporter;
+  private Path file;
+
+  @Setup public void setup() throws SQWRLException, IOException
+  {
+    IRIResolver iriResolver = SWRLAPIFactory.createIRIResolver();
+    SQWRLResultValueFactory valueFactory = SWRLAPIInternalFactory.createSQWRLResultValueFactory(iriResolver);
+    List<String> columnNames = new ArrayList<>();
+
+    for (int c = 0; c < NUMBER_OF_COLUMNS; c++)
+      columnNames.add("c" + c);
+
+    this.result = SWRLAPIInternalFactory.createSQWRLResultManager(iriResolver);
+    this.result.addColumns(columnNames);
+    this.result.configured();
+
+    for (int r = 0; r < NUMBER_OF_ROWS; r++) {
+      List<SQWRLResultValue> row = new ArrayList<>(NUMBER_OF_COLUMNS);
+
+      for (int c = 0; c < NUMBER_OF_COLUMNS; c++) {
+        if (c % 2 == 0)
+          row.add(valueFactory.getNamedIndividualValue(IRI.create("i" + (r + c) % NUMBER_OF_INDIVIDUALS)));
+        else if (c % 4 == 1)
+          row.add(valueFactory.getLiteralValue(r * NUMBER_OF_COLUMNS + c));
+        else
+          row.add(valueFactory.getLiteralValue("r" + r + (r % 10 == 0 ? ", c" : " c") + c));
+      }
+      this.result.addRow(row);
+    }
+    this.result.prepared();
+
+    this.exporter = SWRLAPIFactory.createSQWRLResultExporter();
+    this.file = Files.createTempFile("sqwrl-export", ".out");
+  }
+
+  @TearDown public void tearDown() throws IOException
+  {
+    Files.deleteIfExists(this.file);
+  }
+
+  @Benchmark public long exportToChannel() throws SQWRLException, IOException
+  {
+    try (FileChannel channel = FileChannel
+      .open(this.file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      this.exporter.export(this.result, this.format, channel);
+
+      return channel.size();
+    }
+  }
+
+  @Benchmark public long exportMapped() throws SQWRLException, IOException
+  {
+    this.exporter.exportMapped(this.result, this.format, this.file);
+
+    return Files.size(this.file);
+  }
+}
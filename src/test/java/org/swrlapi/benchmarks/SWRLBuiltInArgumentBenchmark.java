@@ -0,0 +1,101 @@
+package org.swrlapi.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.exceptions.SWRLBuiltInException;
+import org.swrlapi.factory.SWRLAPIFactory;
+import org.swrlapi.factory.SWRLBuiltInArgumentFactory;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.swrlapi.factory.SWRLAPIInternalFactory.createSWRLAPIOntology;
+import static org.swrlapi.factory.SWRLAPIInternalFactory.createSWRLBuiltInArgumentFactory;
+
+/**
+ * Compares freshly allocated and canonical (interned) named built-in arguments on a built-in-heavy workload: acquiring
+ * and comparing class arguments, and processing an ontology whose rules pass classes to built-ins. Allocation rates
+ * are reported by the GC profiler.
+ */
+@State(Scope.Benchmark) @BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5) @Measurement(iterations = 10) @Fork(1) public class SWRLBuiltInArgumentBenchmark
+{
+  @Param({ "100", "1000" }) public int numberOfRules;
+
+  private SWRLBuiltInArgumentFactory argumentFactory;
+  private OWLClass[] classes;
+  private SWRLAPIOWLOntology swrlapiOWLOntology;
+
+  @Setup public void setup() throws Exception
+  {
+    OWLOntologyManager ontologyManager = OWLManager.createOWLOntologyManager();
+    OWLDataFactory dataFactory = ontologyManager.getOWLDataFactory();
+    OWLOntology ontology = ontologyManager.createOntology();
+
+    this.argumentFactory = createSWRLBuiltInArgumentFactory(SWRLAPIFactory.createIRIResolver());
+    this.classes = new OWLClass[this.numberOfRules];
+    for (int i = 0; i < this.numberOfRules; i++) {
+      this.classes[i] = dataFactory.getOWLClass(IRI.create("C" + i));
+      ontologyManager.addAxiom(ontology, dataFactory.getOWLDeclarationAxiom(this.classes[i]));
+    }
+
+    SWRLAPIOWLOntology rulesOntology = createSWRLAPIOntology(ontology);
+    for (int i = 0; i < this.numberOfRules; i++)
+      rulesOntology.createSWRLRule("r" + i,
+        "C" + i + "(?x) ^ abox:caa(C" + i + ", ?x) ^ tbox:sca(C" + i + ", C" + (i + 1) % this.numberOfRules + ") -> C"
+          + (i + 1) % this.numberOfRules + "(?x)");
+
+    this.swrlapiOWLOntology = rulesOntology;
+  }
+
+  @Benchmark public int freshArguments()
+  {
+    int matches = 0;
+    SWRLBuiltInArgument previous = this.argumentFactory.getClassBuiltInArgument(this.classes[0]);
+
+    for (OWLClass cls : this.classes) {
+      SWRLBuiltInArgument argument = this.argumentFactory.getClassBuiltInArgument(cls);
+      if (argument.equals(previous) || argument.equals(this.argumentFactory.getClassBuiltInArgument(cls)))
+        matches++;
+      previous = argument;
+    }
+    return matches;
+  }
+
+  @Benchmark public int canonicalArguments()
+  {
+    int matches = 0;
+    SWRLBuiltInArgument previous = this.argumentFactory.getCanonicalClassBuiltInArgument(this.classes[0]);
+
+    for (OWLClass cls : this.classes) {
+      SWRLBuiltInArgument argument = this.argumentFactory.getCanonicalClassBuiltInArgument(cls);
+      if (argument.equals(previous) || argument.equals(this.argumentFactory.getCanonicalClassBuiltInArgument(cls)))
+        matches++;
+      previous = argument;
+    }
+    return matches;
+  }
+
+  @Benchmark public int processBuiltInHeavyRules() throws SWRLBuiltInException
+  {
+    this.swrlapiOWLOntology.processOntology();
+
+    return this.swrlapiOWLOntology.getNumberOfSWRLRules();
+  }
+}
@@ -0,0 +1,97 @@
+package org.swrlapi.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.swrlapi.builtins.SWRLBuiltInArgumentPatternIterator;
+import org.swrlapi.builtins.SWRLBuiltInBridge;
+import org.swrlapi.builtins.SWRLBuiltInLibraryManager;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.exceptions.SWRLBuiltInException;
+import org.swrlapi.factory.SWRLBuiltInArgumentFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.swrlapi.factory.SWRLAPIInternalFactory.createOWL2RLPersistenceLayer;
+import static org.swrlapi.factory.SWRLAPIInternalFactory.createSWRLAPIOntology;
+import static org.swrlapi.factory.SWRLAPIInternalFactory.createSWRLBridge;
+import static org.swrlapi.factory.SWRLAPIInternalFactory.createSWRLBuiltInArgumentFactory;
+
+/**
+ * Measures consuming the argument patterns of a built-in that binds two arguments to many values:
+ * <code>tbox:sca(?sub, ?super)</code> over an ontology with <code>numberOfAxioms</code> subclass axioms.
+ * <code>iterate</code> pulls the patterns one at a time through a reused buffer; <code>copyToList</code> copies every
+ * pattern into a list first, as <code>invokeSWRLBuiltIn</code> does. The built-in result itself is memoized, so both
+ * measure pattern expansion rather than the ontology scan.
+ */
+@State(Scope.Benchmark) @BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5) @Measurement(iterations = 10) @Fork(1) public class SWRLBuiltInArgumentPatternBenchmark
+{
+  @Param({ "1000", "100000" }) public int numberOfAxioms;
+
+  private SWRLBuiltInBridge bridge;
+  private SWRLBuiltInLibraryManager manager;
+  private SWRLBuiltInArgumentFactory argumentFactory;
+
+  @Setup(Level.Trial) public void setup() throws Exception
+  {
+    OWLOntologyManager ontologyManager = OWLManager.createOWLOntologyManager();
+    OWLDataFactory dataFactory = ontologyManager.getOWLDataFactory();
+    OWLOntology ontology = ontologyManager.createOntology();
+
+    for (int i = 0; i < this.numberOfAxioms; i++)
+      ontologyManager.addAxiom(ontology, dataFactory
+        .getOWLSubClassOfAxiom(dataFactory.getOWLClass(IRI.create("C" + (i + 1))),
+          dataFactory.getOWLClass(IRI.create("C" + i))));
+
+    SWRLAPIOWLOntology swrlapiOWLOntology = createSWRLAPIOntology(ontology);
+
+    this.bridge = createSWRLBridge(swrlapiOWLOntology, createOWL2RLPersistenceLayer(ontology));
+    this.manager = swrlapiOWLOntology.getSWRLBuiltInLibraryManager();
+    this.argumentFactory = createSWRLBuiltInArgumentFactory(swrlapiOWLOntology.getIRIResolver());
+  }
+
+  @Benchmark public int iterate() throws SWRLBuiltInException
+  {
+    SWRLBuiltInArgumentPatternIterator iterator = this.manager
+      .invokeSWRLBuiltInLazily(this.bridge, "r1", "tbox:sca", 0, false, createArguments());
+    int numberOfPatterns = 0;
+
+    while (iterator.next())
+      numberOfPatterns++;
+
+    return numberOfPatterns;
+  }
+
+  @Benchmark public int copyToList() throws SWRLBuiltInException
+  {
+    return this.manager.invokeSWRLBuiltIn(this.bridge, "r1", "tbox:sca", 0, false, createArguments()).size();
+  }
+
+  private List<SWRLBuiltInArgument> createArguments()
+  {
+    List<SWRLBuiltInArgument> arguments = new ArrayList<>(2);
+
+    arguments.add(this.argumentFactory.getUnboundVariableBuiltInArgument(IRI.create("sub")));
+    arguments.add(this.argumentFactory.getUnboundVariableBuiltInArgument(IRI.create("super")));
+
+    return arguments;
+  }
+}
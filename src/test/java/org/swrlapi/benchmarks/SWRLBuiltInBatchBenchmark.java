@@ -0,0 +1,151 @@
+package org.swrlapi.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.swrlapi.builtins.SWRLBuiltInArgumentBlock;
+import org.swrlapi.builtins.SWRLBuiltInArgumentPatternIterator;
+import org.swrlapi.builtins.SWRLBuiltInBridge;
+import org.swrlapi.builtins.SWRLBuiltInLibraryManager;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.exceptions.SWRLBuiltInException;
+import org.swrlapi.factory.SWRLBuiltInArgumentFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.swrlapi.factory.SWRLAPIInternalFactory.createOWL2RLPersistenceLayer;
+import static org.swrlapi.factory.SWRLAPIInternalFactory.createSWRLAPIOntology;
+import static org.swrlapi.factory.SWRLAPIInternalFactory.createSWRLBridge;
+import static org.swrlapi.factory.SWRLAPIInternalFactory.createSWRLBuiltInArgumentFactory;
+
+/**
+ * Measures evaluating built-ins over 1024 binding tuples, either in blocks of <code>blockSize</code> tuples through
+ * <code>invokeSWRLBuiltInBatch</code> or one tuple at a time through <code>invokeSWRLBuiltInLazily</code>. The
+ * built-ins are a comparison (<code>swrlb:lessThan(?a, 500)</code>), arithmetic that binds a result
+ * (<code>swrlb:add(?n, ?a, 1)</code>) and a string function (<code>swrlb:upperCase(?u, ?s)</code>). A block size of 1
+ * shows the fixed cost of a batch invocation. Per-tuple invocations of the two deterministic built-ins are answered
+ * from the built-in memo after the first iteration, while batch kernels bypass it; <code>perTuple</code> does not
+ * depend on the block size.
+ */
+@State(Scope.Benchmark) @BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5) @Measurement(iterations = 10) @Fork(1) public class SWRLBuiltInBatchBenchmark
+{
+  private static final int NUMBER_OF_TUPLES = 1024;
+
+  @Param({ "1", "64", "1024" }) public int blockSize;
+
+  private SWRLBuiltInBridge bridge;
+  private SWRLBuiltInLibraryManager manager;
+  private SWRLBuiltInArgumentFactory argumentFactory;
+  private SWRLBuiltInArgument[] ages;
+  private SWRLBuiltInArgument[] names;
+  private SWRLBuiltInArgument limit;
+  private SWRLBuiltInArgument one;
+
+  @Setup(Level.Trial) public void setup() throws Exception
+  {
+    OWLOntology ontology = OWLManager.createOWLOntologyManager().createOntology();
+    SWRLAPIOWLOntology swrlapiOWLOntology = createSWRLAPIOntology(ontology);
+
+    this.bridge = createSWRLBridge(swrlapiOWLOntology, createOWL2RLPersistenceLayer(ontology));
+    this.manager = swrlapiOWLOntology.getSWRLBuiltInLibraryManager();
+    this.argumentFactory = createSWRLBuiltInArgumentFactory(swrlapiOWLOntology.getIRIResolver());
+    this.ages = new SWRLBuiltInArgument[NUMBER_OF_TUPLES];
+    this.names = new SWRLBuiltInArgument[NUMBER_OF_TUPLES];
+    this.limit = this.argumentFactory.getLiteralBuiltInArgument(500);
+    this.one = this.argumentFactory.getLiteralBuiltInArgument(1);
+
+    for (int i = 0; i < NUMBER_OF_TUPLES; i++) {
+      this.ages[i] = this.argumentFactory.getLiteralBuiltInArgument(i);
+      this.names[i] = this.argumentFactory.getLiteralBuiltInArgument("name" + i);
+    }
+  }
+
+  @Benchmark public int batch() throws SWRLBuiltInException
+  {
+    int numberOfRows = 0;
+
+    for (int start = 0; start < NUMBER_OF_TUPLES; start += this.blockSize) {
+      SWRLBuiltInArgument[] ageColumn = column(this.ages, start);
+      SWRLBuiltInArgument[] nameColumn = column(this.names, start);
+      SWRLBuiltInArgumentBlock comparisonBlock = new SWRLBuiltInArgumentBlock(ageColumn.length);
+      SWRLBuiltInArgumentBlock additionBlock = new SWRLBuiltInArgumentBlock(ageColumn.length);
+      SWRLBuiltInArgumentBlock upperCaseBlock = new SWRLBuiltInArgumentBlock(nameColumn.length);
+
+      comparisonBlock.addColumn(ageColumn);
+      comparisonBlock.addConstant(this.limit);
+      additionBlock.addConstant(unbound("n"));
+      additionBlock.addColumn(ageColumn);
+      additionBlock.addConstant(this.one);
+      upperCaseBlock.addConstant(unbound("u"));
+      upperCaseBlock.addColumn(nameColumn);
+
+      numberOfRows += this.manager.invokeSWRLBuiltInBatch(this.bridge, "r1", "swrlb:lessThan", 0, false,
+        comparisonBlock).getNumberOfRows();
+      numberOfRows += this.manager.invokeSWRLBuiltInBatch(this.bridge, "r1", "swrlb:add", 1, false, additionBlock)
+        .getNumberOfRows();
+      numberOfRows += this.manager.invokeSWRLBuiltInBatch(this.bridge, "r1", "swrlb:upperCase", 2, false,
+        upperCaseBlock).getNumberOfRows();
+    }
+    return numberOfRows;
+  }
+
+  @Benchmark public int perTuple() throws SWRLBuiltInException
+  {
+    int numberOfRows = 0;
+
+    for (int i = 0; i < NUMBER_OF_TUPLES; i++) {
+      numberOfRows += countPatterns("swrlb:lessThan", 0, this.ages[i], this.limit);
+      numberOfRows += countPatterns("swrlb:add", 1, unbound("n"), this.ages[i], this.one);
+      numberOfRows += countPatterns("swrlb:upperCase", 2, unbound("u"), this.names[i]);
+    }
+    return numberOfRows;
+  }
+
+  private int countPatterns(String builtInName, int builtInIndex, SWRLBuiltInArgument... arguments)
+    throws SWRLBuiltInException
+  {
+    List<SWRLBuiltInArgument> argumentList = new ArrayList<>(arguments.length);
+    int numberOfPatterns = 0;
+
+    for (SWRLBuiltInArgument argument : arguments)
+      argumentList.add(argument);
+
+    SWRLBuiltInArgumentPatternIterator iterator = this.manager
+      .invokeSWRLBuiltInLazily(this.bridge, "r1", builtInName, builtInIndex, false, argumentList);
+
+    while (iterator.next())
+      numberOfPatterns++;
+
+    return numberOfPatterns;
+  }
+
+  private SWRLBuiltInArgument[] column(SWRLBuiltInArgument[] values, int start)
+  {
+    SWRLBuiltInArgument[] column = new SWRLBuiltInArgument[Math.min(this.blockSize, values.length - start)];
+
+    System.arraycopy(values, start, column, 0, column.length);
+
+    return column;
+  }
+
+  private SWRLBuiltInArgument unbound(String variableName)
+  {
+    return this.argumentFactory.getUnboundVariableBuiltInArgument(IRI.create(variableName));
+  }
+}
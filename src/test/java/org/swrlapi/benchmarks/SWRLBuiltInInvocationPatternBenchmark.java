@@ -0,0 +1,143 @@
+package org.swrlapi.benchmarks;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.swrlapi.bridge.SWRLBridge;
+import org.swrlapi.builtins.SWRLBuiltInInvocationPattern;
+import org.swrlapi.builtins.SWRLBuiltInInvocationPatternMap;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.exceptions.SWRLBuiltInException;
+import org.swrlapi.factory.SWRLBuiltInArgumentFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.swrlapi.factory.SWRLAPIInternalFactory.createOWL2RLPersistenceLayer;
+import static org.swrlapi.factory.SWRLAPIInternalFactory.createSWRLAPIOntology;
+import static org.swrlapi.factory.SWRLAPIInternalFactory.createSWRLBridge;
+
+/**
+ * Measures 10^6 distinct <code>swrlx:makeOWLIndividual</code> invocations through a bridge, and the heap retained by
+ * the invocation pattern maps built for them: string patterns in a hash map (the previous representation) against
+ * structural patterns in a bounded {@link SWRLBuiltInInvocationPatternMap}. Per-invocation times are reported, and
+ * retained heap per pattern is reported as a secondary result.
+ */
+@State(Scope.Thread) @BenchmarkMode(Mode.SingleShotTime) @OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2) @Measurement(iterations = 5) @Fork(1) public class SWRLBuiltInInvocationPatternBenchmark
+{
+  private static final int NUMBER_OF_INVOCATIONS = 1000000;
+  private static final int MAXIMUM_IN_MEMORY_PATTERNS = 100000;
+  private static final String RULE_NAME = "r1";
+
+  private OWLOntology ontology;
+  private SWRLAPIOWLOntology swrlapiOWLOntology;
+  private SWRLBuiltInArgumentFactory argumentFactory;
+  private SWRLBridge bridge;
+
+  @Setup(Level.Trial) public void setup() throws Exception
+  {
+    this.ontology = OWLManager.createOWLOntologyManager().createOntology();
+    this.swrlapiOWLOntology = createSWRLAPIOntology(this.ontology);
+    this.argumentFactory = this.swrlapiOWLOntology.getSWRLAPIOWLDataFactory().getSWRLBuiltInArgumentFactory();
+  }
+
+  @Setup(Level.Invocation) public void createBridge() throws Exception
+  {
+    // Creating a bridge resets the built-in libraries, so every measured invocation creates a new individual
+    this.bridge = createSWRLBridge(this.swrlapiOWLOntology, createOWL2RLPersistenceLayer(this.ontology));
+  }
+
+  @Benchmark @OperationsPerInvocation(NUMBER_OF_INVOCATIONS) public int makeOWLIndividual() throws SWRLBuiltInException
+  {
+    IRI variableIRI = IRI.create("i");
+    int numberOfPatterns = 0;
+
+    for (int i = 0; i < NUMBER_OF_INVOCATIONS; i++) {
+      List<SWRLBuiltInArgument> arguments = Arrays
+        .asList(this.argumentFactory.getUnboundVariableBuiltInArgument(variableIRI),
+          this.argumentFactory.getLiteralBuiltInArgument(i));
+      numberOfPatterns += this.bridge.invokeSWRLBuiltIn(RULE_NAME, "swrlx:makeOWLIndividual", 0, false, arguments)
+        .size();
+    }
+    return numberOfPatterns;
+  }
+
+  @Benchmark @OperationsPerInvocation(NUMBER_OF_INVOCATIONS) public Map<String, IRI> stringPatternMap(
+    RetainedHeap retainedHeap)
+  {
+    Map<String, IRI> patterns = new HashMap<>();
+    long usedBefore = retainedHeap.usedHeapAfterGC();
+
+    for (int i = 0; i < NUMBER_OF_INVOCATIONS; i++) {
+      String pattern = "" + this.bridge.hashCode() + "." + RULE_NAME + "." + 0 + "." + false + "." + i;
+      if (!patterns.containsKey(pattern))
+        patterns.put(pattern, IRI.create("i" + i));
+    }
+
+    retainedHeap.bytesPerPattern = (retainedHeap.usedHeapAfterGC() - usedBefore) / NUMBER_OF_INVOCATIONS;
+
+    return patterns;
+  }
+
+  @Benchmark @OperationsPerInvocation(NUMBER_OF_INVOCATIONS) public int boundedPatternMap(
+    RetainedHeap retainedHeap)
+  {
+    SWRLBuiltInInvocationPatternMap<IRI> patterns = new SWRLBuiltInInvocationPatternMap<>(MAXIMUM_IN_MEMORY_PATTERNS,
+      IRI::toString, IRI::create);
+    long usedBefore = retainedHeap.usedHeapAfterGC();
+
+    for (int i = 0; i < NUMBER_OF_INVOCATIONS; i++) {
+      SWRLBuiltInInvocationPattern pattern = new SWRLBuiltInInvocationPattern(this.bridge, RULE_NAME, 0, false, i);
+      if (!patterns.get(pattern).isPresent())
+        patterns.put(pattern, IRI.create("i" + i));
+    }
+
+    retainedHeap.bytesPerPattern = (retainedHeap.usedHeapAfterGC() - usedBefore) / NUMBER_OF_INVOCATIONS;
+
+    int numberOfPatterns = patterns.size();
+    patterns.close();
+
+    return numberOfPatterns;
+  }
+
+  /**
+   * Reports the heap retained per invocation pattern as a secondary result of the pattern map benchmarks.
+   */
+  @State(Scope.Thread) @AuxCounters(AuxCounters.Type.EVENTS) public static class RetainedHeap
+  {
+    private final MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+
+    public long bytesPerPattern;
+
+    @Setup(Level.Iteration) public void clean()
+    {
+      this.bytesPerPattern = 0;
+    }
+
+    long usedHeapAfterGC()
+    {
+      System.gc();
+      return this.memoryMXBean.getHeapMemoryUsage().getUsed();
+    }
+  }
+}
@@ -0,0 +1,91 @@
+package org.swrlapi.benchmarks;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.swrlapi.builtins.SWRLBuiltInLibraryManager;
+import org.swrlapi.builtins.SWRLBuiltInRegistry;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.swrlapi.factory.SWRLAPIInternalFactory.createSWRLAPIOntology;
+import static org.swrlapi.factory.SWRLAPIInternalFactory.createSWRLBuiltInLibraryManager;
+
+/**
+ * Measures the per-engine cost of the built-in libraries: creating a built-in library manager, creating a SWRLAPI
+ * ontology (which every rule engine wraps), and the heap retained by each ontology. Built-in metadata is resolved once
+ * by {@link org.swrlapi.builtins.SWRLBuiltInRegistry}, so none of these should include reflective library loading.
+ */
+@State(Scope.Benchmark) @BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5) @Measurement(iterations = 10) @Fork(1) public class SWRLBuiltInLibraryManagerBenchmark
+{
+  private static final int NUMBER_OF_RETAINED_ONTOLOGIES = 50;
+
+  private OWLOntology ontology;
+
+  @Setup public void setup() throws Exception
+  {
+    this.ontology = OWLManager.createOWLOntologyManager().createOntology();
+    SWRLBuiltInRegistry.getInstance(); // Resolve the shared metadata outside the measurement
+  }
+
+  @Benchmark public SWRLBuiltInLibraryManager createBuiltInLibraryManager()
+  {
+    return createSWRLBuiltInLibraryManager();
+  }
+
+  @Benchmark public SWRLAPIOWLOntology createOntology()
+  {
+    return createSWRLAPIOntology(this.ontology);
+  }
+
+  @Benchmark public List<SWRLAPIOWLOntology> retainedHeapPerOntology(RetainedHeap retainedHeap)
+  {
+    List<SWRLAPIOWLOntology> ontologies = new ArrayList<>(NUMBER_OF_RETAINED_ONTOLOGIES);
+    long usedBefore = retainedHeap.usedHeapAfterGC();
+
+    for (int i = 0; i < NUMBER_OF_RETAINED_ONTOLOGIES; i++)
+      ontologies.add(createSWRLAPIOntology(this.ontology));
+
+    retainedHeap.bytesPerOntology = (retainedHeap.usedHeapAfterGC() - usedBefore) / NUMBER_OF_RETAINED_ONTOLOGIES;
+
+    return ontologies;
+  }
+
+  /**
+   * Reports the heap retained by a single ontology as a secondary result of {@link #retainedHeapPerOntology}.
+   */
+  @State(Scope.Thread) @AuxCounters(AuxCounters.Type.EVENTS) public static class RetainedHeap
+  {
+    private final MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+
+    public long bytesPerOntology;
+
+    @Setup(Level.Iteration) public void clean()
+    {
+      this.bytesPerOntology = 0;
+    }
+
+    long usedHeapAfterGC()
+    {
+      System.gc();
+      return this.memoryMXBean.getHeapMemoryUsage().getUsed();
+    }
+  }
+}
@@ -0,0 +1,79 @@
+package org.swrlapi.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.swrlapi.core.SWRLRuleEngine;
+import org.swrlapi.engine.SemiNaiveSWRLRuleEngineCreator;
+import org.swrlapi.factory.SWRLAPIFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures rule execution with built-ins that are invoked with heavily repeated arguments. Each of 10,000
+ * individuals has an age and a name drawn from <code>numberOfDistinctValues</code> values, and two rules compute an
+ * age next year with <code>swrlb:add</code> and a label with <code>swrlb:stringConcat</code> and
+ * <code>swrlb:upperCase</code>. With few distinct values almost every invocation is replayed from the built-in memo.
+ * With as many distinct values as individuals the invocations overflow the memo, which is cleared repeatedly, so the
+ * result shows the cost of keying and recording each invocation.
+ */
+@State(Scope.Benchmark) @BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5) @Measurement(iterations = 10) @Fork(1) public class SWRLBuiltInMemoBenchmark
+{
+  private static final int NUMBER_OF_INDIVIDUALS = 10000;
+
+  @Param({ "10", "10000" }) public int numberOfDistinctValues;
+
+  private SWRLRuleEngine ruleEngine;
+
+  @Setup(Level.Trial) public void setup() throws Exception
+  {
+    OWLOntologyManager ontologyManager = OWLManager.createOWLOntologyManager();
+    OWLDataFactory dataFactory = ontologyManager.getOWLDataFactory();
+    OWLOntology ontology = ontologyManager.createOntology();
+    OWLDataProperty hasAge = dataFactory.getOWLDataProperty(IRI.create("hasAge"));
+    OWLDataProperty hasName = dataFactory.getOWLDataProperty(IRI.create("hasName"));
+
+    for (String propertyName : new String[] { "hasAge", "hasName", "hasAgeNextYear", "hasLabel" })
+      ontologyManager.addAxiom(ontology,
+        dataFactory.getOWLDeclarationAxiom(dataFactory.getOWLDataProperty(IRI.create(propertyName))));
+
+    for (int i = 0; i < NUMBER_OF_INDIVIDUALS; i++) {
+      OWLNamedIndividual individual = dataFactory.getOWLNamedIndividual(IRI.create("i" + i));
+      int value = i % this.numberOfDistinctValues;
+
+      ontologyManager.addAxiom(ontology, dataFactory.getOWLDataPropertyAssertionAxiom(hasAge, individual, value));
+      ontologyManager
+        .addAxiom(ontology, dataFactory.getOWLDataPropertyAssertionAxiom(hasName, individual, "name" + value));
+    }
+
+    this.ruleEngine = SWRLAPIFactory.createSWRLRuleEngine(SemiNaiveSWRLRuleEngineCreator.RULE_ENGINE_NAME, ontology);
+    this.ruleEngine.createSWRLRule("r1", "hasAge(?x, ?a) ^ swrlb:add(?n, ?a, 1) -> hasAgeNextYear(?x, ?n)");
+    this.ruleEngine.createSWRLRule("r2",
+      "hasName(?x, ?n) ^ swrlb:stringConcat(?s, ?n, \"-label\") ^ swrlb:upperCase(?l, ?s) -> hasLabel(?x, ?l)");
+  }
+
+  @Benchmark public int run()
+  {
+    this.ruleEngine.importAssertedOWLAxioms();
+    this.ruleEngine.run();
+
+    return this.ruleEngine.getNumberOfInferredOWLAxioms();
+  }
+}
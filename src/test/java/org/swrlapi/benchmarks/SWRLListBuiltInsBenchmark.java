@@ -0,0 +1,140 @@
+package org.swrlapi.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgumentList;
+import org.swrlapi.factory.SWRLAPIFactory;
+import org.swrlapi.factory.SWRLAPIInternalFactory;
+import org.swrlapi.factory.SWRLBuiltInArgumentFactory;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the operations behind the swrlb list built-ins on lists of 10^4 literal arguments: 1,000 membership tests
+ * (<code>member</code>), concatenation (<code>listConcat</code>), intersection and subtraction of two half-overlapping
+ * lists, and walking a list with <code>first</code> and <code>rest</code> while reading its <code>length</code> at
+ * each step. The <code>copying</code> benchmarks perform the same operations on array lists, searching linearly and
+ * copying the rest of the list at each step, as a baseline.
+ */
+@State(Scope.Benchmark) @BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5) @Measurement(iterations = 10) @Fork(1) public class SWRLListBuiltInsBenchmark
+{
+  private static final int LIST_SIZE = 10000;
+  private static final int NUMBER_OF_MEMBER_TESTS = 1000;
+
+  private SWRLBuiltInArgumentList list1;
+  private SWRLBuiltInArgumentList list2;
+  private List<SWRLBuiltInArgument> arrayList1;
+  private List<SWRLBuiltInArgument> arrayList2;
+  private SWRLBuiltInArgument[] candidates;
+
+  @Setup public void setup()
+  {
+    SWRLBuiltInArgumentFactory argumentFactory = SWRLAPIInternalFactory
+      .createSWRLBuiltInArgumentFactory(SWRLAPIFactory.createIRIResolver());
+
+    this.arrayList1 = new ArrayList<>(LIST_SIZE);
+    this.arrayList2 = new ArrayList<>(LIST_SIZE);
+    this.candidates = new SWRLBuiltInArgument[NUMBER_OF_MEMBER_TESTS];
+
+    for (int i = 0; i < LIST_SIZE; i++) {
+      this.arrayList1.add(argumentFactory.getLiteralBuiltInArgument(i));
+      this.arrayList2.add(argumentFactory.getLiteralBuiltInArgument(i + LIST_SIZE / 2));
+    }
+    for (int i = 0; i < NUMBER_OF_MEMBER_TESTS; i++)
+      this.candidates[i] = argumentFactory.getLiteralBuiltInArgument(i * 2 * LIST_SIZE / NUMBER_OF_MEMBER_TESTS);
+
+    this.list1 = SWRLBuiltInArgumentList.of(this.arrayList1);
+    this.list2 = SWRLBuiltInArgumentList.of(this.arrayList2);
+  }
+
+  @Benchmark public int member()
+  {
+    int numberOfMembers = 0;
+
+    for (SWRLBuiltInArgument candidate : this.candidates)
+      if (this.list1.contains(candidate))
+        numberOfMembers++;
+
+    return numberOfMembers;
+  }
+
+  @Benchmark public int copyingMember()
+  {
+    int numberOfMembers = 0;
+
+    for (SWRLBuiltInArgument candidate : this.candidates)
+      if (this.arrayList1.contains(candidate))
+        numberOfMembers++;
+
+    return numberOfMembers;
+  }
+
+  @Benchmark public SWRLBuiltInArgumentList listConcat()
+  {
+    return this.list1.concat(this.list2);
+  }
+
+  @Benchmark public List<SWRLBuiltInArgument> copyingListConcat()
+  {
+    List<SWRLBuiltInArgument> concatenation = new ArrayList<>(this.arrayList1);
+
+    concatenation.addAll(this.arrayList2);
+
+    return concatenation;
+  }
+
+  @Benchmark public int listIntersectionAndSubtraction()
+  {
+    return this.list1.intersection(this.list2).size() + this.list1.subtraction(this.list2).size();
+  }
+
+  @Benchmark public int copyingListIntersectionAndSubtraction()
+  {
+    List<SWRLBuiltInArgument> intersection = new ArrayList<>(this.arrayList1);
+    List<SWRLBuiltInArgument> subtraction = new ArrayList<>(this.arrayList1);
+    Set<SWRLBuiltInArgument> elements2 = new HashSet<>(this.arrayList2);
+
+    intersection.retainAll(elements2);
+    subtraction.removeAll(elements2);
+
+    return intersection.size() + subtraction.size();
+  }
+
+  @Benchmark public int firstRestAndLength()
+  {
+    SWRLBuiltInArgumentList list = this.list1;
+    int hash = 0;
+
+    while (!list.isEmpty()) {
+      hash += list.getFirst().get().hashCode() + list.size();
+      list = list.getRest().get();
+    }
+    return hash;
+  }
+
+  @Benchmark public int copyingFirstRestAndLength()
+  {
+    List<SWRLBuiltInArgument> list = this.arrayList1;
+    int hash = 0;
+
+    while (!list.isEmpty()) {
+      hash += list.get(0).hashCode() + list.size();
+      list = new ArrayList<>(list.subList(1, list.size()));
+    }
+    return hash;
+  }
+}
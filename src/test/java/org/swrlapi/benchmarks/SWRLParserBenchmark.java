@@ -0,0 +1,116 @@
+package org.swrlapi.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.SWRLRule;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.parser.SWRLParseCache;
+import org.swrlapi.parser.SWRLParseException;
+import org.swrlapi.parser.SWRLParser;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.swrlapi.factory.SWRLAPIInternalFactory.createSWRLAPIOntology;
+
+/**
+ * Measures parsing of rules with 5, 20 and 100 atoms. The uncached benchmarks give every parse a fresh parse cache,
+ * which measures the tokenizer and parser; the cached benchmarks share one cache, as the parsers of a
+ * {@link org.swrlapi.core.SWRLAPIOWLOntology} do.
+ */
+@State(Scope.Benchmark) @BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5) @Measurement(iterations = 10) @Fork(1) public class SWRLParserBenchmark
+{
+  private static final int NUMBER_OF_CLASSES = 100;
+
+  @Param({ "5", "20", "100" }) public int numberOfAtoms;
+
+  private SWRLAPIOWLOntology swrlapiOWLOntology;
+  private SWRLParser cachedParser;
+  private String ruleText;
+  private String partialRuleText;
+
+  @Setup public void setup() throws Exception
+  {
+    OWLOntologyManager ontologyManager = OWLManager.createOWLOntologyManager();
+    OWLOntology ontology = ontologyManager.createOntology();
+    OWLDataFactory dataFactory = ontologyManager.getOWLDataFactory();
+
+    for (int i = 0; i < NUMBER_OF_CLASSES; i++)
+      ontologyManager
+        .addAxiom(ontology, dataFactory.getOWLDeclarationAxiom(dataFactory.getOWLClass(IRI.create("C" + i))));
+    ontologyManager.addAxiom(ontology,
+      dataFactory.getOWLDeclarationAxiom(dataFactory.getOWLObjectProperty(IRI.create("hasPart"))));
+    ontologyManager.addAxiom(ontology,
+      dataFactory.getOWLDeclarationAxiom(dataFactory.getOWLDataProperty(IRI.create("hasSize"))));
+
+    this.swrlapiOWLOntology = createSWRLAPIOntology(ontology);
+    this.cachedParser = new SWRLParser(this.swrlapiOWLOntology, new SWRLParseCache());
+    this.ruleText = createRuleText(this.numberOfAtoms);
+    this.partialRuleText = this.ruleText.substring(0, this.ruleText.length() / 2);
+  }
+
+  @Benchmark public Optional<SWRLRule> parseUncached() throws SWRLParseException
+  {
+    return new SWRLParser(this.swrlapiOWLOntology, new SWRLParseCache()).parseSWRLRule(this.ruleText, false, "r", "");
+  }
+
+  @Benchmark public Optional<SWRLRule> parseCached() throws SWRLParseException
+  {
+    return this.cachedParser.parseSWRLRule(this.ruleText, false, "r", "");
+  }
+
+  @Benchmark public boolean interactiveParseUncached()
+  {
+    return new SWRLParser(this.swrlapiOWLOntology, new SWRLParseCache())
+      .isSWRLRuleCorrectButPossiblyIncomplete(this.partialRuleText);
+  }
+
+  @Benchmark public boolean interactiveParseCached()
+  {
+    return this.cachedParser.isSWRLRuleCorrectButPossiblyIncomplete(this.partialRuleText);
+  }
+
+  /**
+   * Body atoms cycle through class, object property, data property and built-in atoms; the head has one atom.
+   */
+  private static String createRuleText(int numberOfAtoms)
+  {
+    StringBuilder sb = new StringBuilder();
+
+    for (int i = 0; i < numberOfAtoms - 1; i++) {
+      if (i != 0)
+        sb.append(" ^ ");
+      switch (i % 4) {
+      case 0:
+        sb.append("C").append(i % NUMBER_OF_CLASSES).append("(?x").append(i).append(")");
+        break;
+      case 1:
+        sb.append("hasPart(?x").append(i - 1).append(", ?x").append(i).append(")");
+        break;
+      case 2:
+        sb.append("hasSize(?x").append(i - 1).append(", ?s").append(i).append(")");
+        break;
+      default:
+        sb.append("swrlb:greaterThan(?s").append(i - 1).append(", 42.5)");
+      }
+    }
+    sb.append(" -> C0(?x0)");
+
+    return sb.toString();
+  }
+}
@@ -0,0 +1,215 @@
+package org.swrlapi.benchmarks;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.SWRLAtom;
+import org.semanticweb.owlapi.model.SWRLBinaryAtom;
+import org.semanticweb.owlapi.model.SWRLClassAtom;
+import org.semanticweb.owlapi.model.SWRLVariable;
+import org.swrlapi.core.SWRLAPIBuiltInAtom;
+import org.swrlapi.core.SWRLAPIRule;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.swrlapi.factory.SWRLAPIInternalFactory.createSWRLAPIOntology;
+
+/**
+ * Evaluates a join over skewed classes (many instances of <code>Big</code>, few of <code>Small</code>) in the source
+ * order of the rule body and in its cost-based evaluation order. A small nested-loop evaluator over the asserted
+ * ABox is used so that the measurement isolates atom order from any rule engine. The number of intermediate
+ * bindings produced, which is the join work, is reported as a secondary result.
+ */
+@State(Scope.Benchmark) @BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5) @Measurement(iterations = 10) @Fork(1) public class SWRLRuleBodyAtomOrderingBenchmark
+{
+  private static final String RULE = "Big(?x) ^ hasAge(?x, ?a) ^ knows(?x, ?y) ^ Small(?y) ^ swrlb:greaterThan(?a, 90) "
+    + "-> Result(?x)";
+
+  @Param({ "1000", "10000" }) public int numberOfBigInstances;
+  @Param({ "10" }) public int numberOfSmallInstances;
+
+  private SWRLAPIRule rule;
+  private final Map<IRI, Set<Object>> classInstances = new HashMap<>();
+  private final Map<IRI, List<Object[]>> propertyAssertions = new HashMap<>();
+
+  @Setup public void setup() throws Exception
+  {
+    OWLOntologyManager ontologyManager = OWLManager.createOWLOntologyManager();
+    OWLDataFactory dataFactory = ontologyManager.getOWLDataFactory();
+    OWLOntology ontology = ontologyManager.createOntology();
+    OWLClass big = dataFactory.getOWLClass(IRI.create("Big"));
+    OWLClass small = dataFactory.getOWLClass(IRI.create("Small"));
+    OWLClass result = dataFactory.getOWLClass(IRI.create("Result"));
+    OWLObjectProperty knows = dataFactory.getOWLObjectProperty(IRI.create("knows"));
+    OWLDataProperty hasAge = dataFactory.getOWLDataProperty(IRI.create("hasAge"));
+
+    ontologyManager.addAxiom(ontology, dataFactory.getOWLDeclarationAxiom(big));
+    ontologyManager.addAxiom(ontology, dataFactory.getOWLDeclarationAxiom(small));
+    ontologyManager.addAxiom(ontology, dataFactory.getOWLDeclarationAxiom(result));
+    ontologyManager.addAxiom(ontology, dataFactory.getOWLDeclarationAxiom(knows));
+    ontologyManager.addAxiom(ontology, dataFactory.getOWLDeclarationAxiom(hasAge));
+
+    // Every Big instance knows one other Big instance; only a few also know a Small instance
+    for (int i = 0; i < this.numberOfSmallInstances; i++) {
+      OWLNamedIndividual s = dataFactory.getOWLNamedIndividual(IRI.create("s" + i));
+      ontologyManager.addAxiom(ontology, dataFactory.getOWLClassAssertionAxiom(small, s));
+      addClassInstance(small.getIRI(), s.getIRI());
+    }
+
+    for (int i = 0; i < this.numberOfBigInstances; i++) {
+      OWLNamedIndividual b = dataFactory.getOWLNamedIndividual(IRI.create("b" + i));
+      OWLNamedIndividual friend = dataFactory
+        .getOWLNamedIndividual(IRI.create("b" + (i + 1) % this.numberOfBigInstances));
+      int age = i % 100;
+
+      ontologyManager.addAxiom(ontology, dataFactory.getOWLClassAssertionAxiom(big, b));
+      ontologyManager.addAxiom(ontology, dataFactory.getOWLDataPropertyAssertionAxiom(hasAge, b, age));
+      ontologyManager.addAxiom(ontology, dataFactory.getOWLObjectPropertyAssertionAxiom(knows, b, friend));
+      addClassInstance(big.getIRI(), b.getIRI());
+      addPropertyAssertion(hasAge.getIRI(), b.getIRI(), age);
+      addPropertyAssertion(knows.getIRI(), b.getIRI(), friend.getIRI());
+
+      if (i < this.numberOfSmallInstances) {
+        OWLNamedIndividual s = dataFactory.getOWLNamedIndividual(IRI.create("s" + i));
+        ontologyManager.addAxiom(ontology, dataFactory.getOWLObjectPropertyAssertionAxiom(knows, b, s));
+        addPropertyAssertion(knows.getIRI(), b.getIRI(), s.getIRI());
+      }
+    }
+
+    this.rule = createSWRLAPIOntology(ontology).createSWRLRule("r1", RULE);
+  }
+
+  @Benchmark public long sourceOrder(JoinWork joinWork)
+  {
+    return evaluate(this.rule.getBodyAtoms(), joinWork);
+  }
+
+  @Benchmark public long evaluationOrder(JoinWork joinWork)
+  {
+    return evaluate(this.rule.getBodyAtomsInEvaluationOrder(), joinWork);
+  }
+
+  /**
+   * Evaluate the atoms left to right by nested loops, returning the number of complete bindings.
+   */
+  private long evaluate(List<SWRLAtom> atoms, JoinWork joinWork)
+  {
+    List<Map<IRI, Object>> bindings = Collections.singletonList(new HashMap<>());
+    long intermediateBindings = 0;
+
+    for (SWRLAtom atom : atoms) {
+      List<Map<IRI, Object>> extendedBindings = new ArrayList<>();
+      for (Map<IRI, Object> binding : bindings)
+        extend(atom, binding, extendedBindings);
+      intermediateBindings += extendedBindings.size();
+      bindings = extendedBindings;
+    }
+
+    joinWork.intermediateBindings = intermediateBindings;
+
+    return bindings.size();
+  }
+
+  private void extend(SWRLAtom atom, Map<IRI, Object> binding, List<Map<IRI, Object>> extendedBindings)
+  {
+    if (atom instanceof SWRLClassAtom) {
+      SWRLClassAtom classAtom = (SWRLClassAtom)atom;
+      Set<Object> instances = this.classInstances
+        .getOrDefault(classAtom.getPredicate().asOWLClass().getIRI(), Collections.emptySet());
+      SWRLVariable variable = (SWRLVariable)classAtom.getArgument();
+      Object value = binding.get(variable.getIRI());
+
+      if (value != null) {
+        if (instances.contains(value))
+          extendedBindings.add(binding);
+      } else
+        for (Object instance : instances)
+          extendedBindings.add(bind(binding, variable, instance));
+    } else if (atom instanceof SWRLBinaryAtom) {
+      SWRLBinaryAtom<?, ?> propertyAtom = (SWRLBinaryAtom<?, ?>)atom;
+      IRI propertyIRI = ((OWLEntity)propertyAtom.getPredicate()).getIRI();
+      SWRLVariable subject = (SWRLVariable)propertyAtom.getFirstArgument();
+      SWRLVariable object = (SWRLVariable)propertyAtom.getSecondArgument();
+
+      for (Object[] assertion : this.propertyAssertions.getOrDefault(propertyIRI, Collections.emptyList())) {
+        if (matches(binding, subject, assertion[0]) && matches(binding, object, assertion[1]))
+          extendedBindings.add(bind(bind(binding, subject, assertion[0]), object, assertion[1]));
+      }
+    } else if (atom instanceof SWRLAPIBuiltInAtom) { // swrlb:greaterThan(?a, constant)
+      IRI variableIRI = ((SWRLAPIBuiltInAtom)atom).getBuiltInArguments().get(0).asVariable().getIRI();
+      Object value = binding.get(variableIRI);
+
+      if (value instanceof Integer && (Integer)value > 90)
+        extendedBindings.add(binding);
+    }
+  }
+
+  private static boolean matches(Map<IRI, Object> binding, SWRLVariable variable, Object value)
+  {
+    Object boundValue = binding.get(variable.getIRI());
+
+    return boundValue == null || boundValue.equals(value);
+  }
+
+  private static Map<IRI, Object> bind(Map<IRI, Object> binding, SWRLVariable variable, Object value)
+  {
+    if (binding.containsKey(variable.getIRI()))
+      return binding;
+
+    Map<IRI, Object> extendedBinding = new HashMap<>(binding);
+    extendedBinding.put(variable.getIRI(), value);
+    return extendedBinding;
+  }
+
+  private void addClassInstance(IRI classIRI, IRI individualIRI)
+  {
+    this.classInstances.computeIfAbsent(classIRI, c -> new HashSet<>()).add(individualIRI);
+  }
+
+  private void addPropertyAssertion(IRI propertyIRI, IRI subjectIRI, Object value)
+  {
+    this.propertyAssertions.computeIfAbsent(propertyIRI, p -> new ArrayList<>())
+      .add(new Object[] { subjectIRI, value });
+  }
+
+  /**
+   * Reports the number of intermediate bindings produced by one evaluation as a secondary result.
+   */
+  @State(Scope.Thread) @AuxCounters(AuxCounters.Type.EVENTS) public static class JoinWork
+  {
+    public long intermediateBindings;
+
+    @Setup(Level.Iteration) public void clean()
+    {
+      this.intermediateBindings = 0;
+    }
+  }
+}
@@ -0,0 +1,159 @@
+package org.swrlapi.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.swrlapi.builtins.SWRLBuiltInBridge;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.builtins.swrlb.SWRLBuiltInLibraryImpl;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.exceptions.SWRLBuiltInException;
+import org.swrlapi.factory.SWRLBuiltInArgumentFactory;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.swrlapi.factory.SWRLAPIInternalFactory.createOWL2RLPersistenceLayer;
+import static org.swrlapi.factory.SWRLAPIInternalFactory.createSWRLAPIOntology;
+import static org.swrlapi.factory.SWRLAPIInternalFactory.createSWRLBridge;
+import static org.swrlapi.factory.SWRLAPIInternalFactory.createSWRLBuiltInArgumentFactory;
+
+/**
+ * Measures 1,000 invocations of each swrlb string built-in on an input of <code>inputLength</code> characters of
+ * mixed-case ASCII text with spaces and punctuation: a short string and a 10 KB string. Each invocation reads its
+ * arguments from literals and binds its result to an unbound variable, so the measurements include argument access
+ * and result creation. <code>stringConcat</code> concatenates five copies of the input, <code>containsIgnoreCase</code>
+ * searches for the upper-cased end of the input, and <code>substringBefore</code> and <code>substringAfter</code>
+ * split the input at its first space.
+ */
+@State(Scope.Benchmark) @BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5) @Measurement(iterations = 10) @Fork(1) public class SWRLStringBuiltInsBenchmark
+{
+  private static final int NUMBER_OF_INVOCATIONS = 1000;
+  private static final String TEXT = "Lorem Ipsum, dolor\tsit  amet; Consectetur ADIPISCING elit. ";
+
+  @Param({ "16", "10240" }) public int inputLength;
+
+  private SWRLBuiltInBridge bridge;
+  private SWRLBuiltInLibraryImpl library;
+  private SWRLBuiltInArgumentFactory argumentFactory;
+  private SWRLBuiltInArgument input;
+  private SWRLBuiltInArgument inputEnd;
+  private SWRLBuiltInArgument separator;
+  private SWRLBuiltInArgument delimiters;
+  private SWRLBuiltInArgument vowels;
+  private SWRLBuiltInArgument upperCaseVowels;
+  private SWRLBuiltInArgument start;
+  private SWRLBuiltInArgument end;
+
+  @Setup(Level.Trial) public void setup() throws Exception
+  {
+    OWLOntology ontology = OWLManager.createOWLOntologyManager().createOntology();
+    SWRLAPIOWLOntology swrlapiOWLOntology = createSWRLAPIOntology(ontology);
+    StringBuilder text = new StringBuilder(this.inputLength);
+
+    while (text.length() < this.inputLength)
+      text.append(TEXT, 0, Math.min(TEXT.length(), this.inputLength - text.length()));
+
+    String inputString = text.toString();
+
+    this.bridge = createSWRLBridge(swrlapiOWLOntology, createOWL2RLPersistenceLayer(ontology));
+    this.library = new SWRLBuiltInLibraryImpl();
+    this.argumentFactory = createSWRLBuiltInArgumentFactory(swrlapiOWLOntology.getIRIResolver());
+    this.input = this.argumentFactory.getLiteralBuiltInArgument(inputString);
+    this.inputEnd = this.argumentFactory
+      .getLiteralBuiltInArgument(inputString.substring(inputString.length() - 8).toUpperCase());
+    this.separator = this.argumentFactory.getLiteralBuiltInArgument(" ");
+    this.delimiters = this.argumentFactory.getLiteralBuiltInArgument(" ,;.");
+    this.vowels = this.argumentFactory.getLiteralBuiltInArgument("aeiou");
+    this.upperCaseVowels = this.argumentFactory.getLiteralBuiltInArgument("AEIOU");
+    this.start = this.argumentFactory.getLiteralBuiltInArgument(this.inputLength / 4);
+    this.end = this.argumentFactory.getLiteralBuiltInArgument(this.inputLength * 3 / 4);
+  }
+
+  @Benchmark public int stringConcat() throws Exception
+  {
+    return invoke("stringConcat", true, this.input, this.input, this.input, this.input, this.input);
+  }
+
+  @Benchmark public int substring() throws Exception
+  {
+    return invoke("substring", true, this.input, this.start, this.end);
+  }
+
+  @Benchmark public int upperCase() throws Exception
+  {
+    return invoke("upperCase", true, this.input);
+  }
+
+  @Benchmark public int lowerCase() throws Exception
+  {
+    return invoke("lowerCase", true, this.input);
+  }
+
+  @Benchmark public int containsIgnoreCase() throws Exception
+  {
+    return invoke("containsIgnoreCase", false, this.input, this.inputEnd);
+  }
+
+  @Benchmark public int translate() throws Exception
+  {
+    return invoke("translate", true, this.input, this.vowels, this.upperCaseVowels);
+  }
+
+  @Benchmark public int substringBefore() throws Exception
+  {
+    return invoke("substringBefore", true, this.input, this.separator);
+  }
+
+  @Benchmark public int substringAfter() throws Exception
+  {
+    return invoke("substringAfter", true, this.input, this.separator);
+  }
+
+  @Benchmark public int normalizeSpace() throws Exception
+  {
+    return invoke("normalizeSpace", true, this.input);
+  }
+
+  @Benchmark public int tokenize() throws Exception
+  {
+    return invoke("tokenize", true, this.input, this.delimiters);
+  }
+
+  // Invokes a built-in repeatedly, with an unbound first argument for its result if it binds one
+  private int invoke(String builtInMethodName, boolean bindsResult, SWRLBuiltInArgument... arguments)
+    throws NoSuchMethodException, SWRLBuiltInException
+  {
+    Method method = SWRLBuiltInLibraryImpl.class.getMethod(builtInMethodName, List.class);
+    int numberOfSuccesses = 0;
+
+    for (int i = 0; i < NUMBER_OF_INVOCATIONS; i++) {
+      List<SWRLBuiltInArgument> argumentList = new ArrayList<>(arguments.length + 1);
+
+      if (bindsResult)
+        argumentList.add(this.argumentFactory.getUnboundVariableBuiltInArgument(IRI.create("r")));
+      for (SWRLBuiltInArgument argument : arguments)
+        argumentList.add(argument);
+
+      if (this.library
+        .invokeBuiltInMethod(method, this.bridge, "r1", "swrlb", builtInMethodName, 0, false, argumentList))
+        numberOfSuccesses++;
+    }
+    return numberOfSuccesses;
+  }
+}
@@ -0,0 +1,84 @@
+package org.swrlapi.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.swrlapi.core.SWRLRuleEngine;
+import org.swrlapi.engine.SemiNaiveSWRLRuleEngineCreator;
+import org.swrlapi.factory.SWRLAPIFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures inference by the semi-naive rule engine over large <code>owl:sameAs</code> cliques. The members of each
+ * clique are stated equal by a chain of <code>SameIndividual</code> axioms, are each asserted to be a
+ * <code>Person</code> and each know a member of the next clique, so a rule joining the two facts only meets equal
+ * individuals through their representatives. The number of facts inferred by one run is returned.
+ */
+@State(Scope.Benchmark) @BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5) @Measurement(iterations = 10) @Fork(1) public class SameIndividualCliqueBenchmark
+{
+  private static final int NUMBER_OF_CLIQUES = 4;
+
+  @Param({ "1000", "10000" }) public int cliqueSize;
+
+  private SWRLRuleEngine ruleEngine;
+
+  @Setup public void setup() throws Exception
+  {
+    OWLOntologyManager ontologyManager = OWLManager.createOWLOntologyManager();
+    OWLDataFactory dataFactory = ontologyManager.getOWLDataFactory();
+    OWLOntology ontology = ontologyManager.createOntology();
+    OWLClass person = dataFactory.getOWLClass(IRI.create("Person"));
+    OWLObjectProperty knows = dataFactory.getOWLObjectProperty(IRI.create("knows"));
+    OWLObjectProperty knowsPerson = dataFactory.getOWLObjectProperty(IRI.create("knowsPerson"));
+
+    ontologyManager.addAxiom(ontology, dataFactory.getOWLDeclarationAxiom(person));
+    ontologyManager.addAxiom(ontology, dataFactory.getOWLDeclarationAxiom(knows));
+    ontologyManager.addAxiom(ontology, dataFactory.getOWLDeclarationAxiom(knowsPerson));
+
+    for (int c = 0; c < NUMBER_OF_CLIQUES; c++) {
+      for (int m = 0; m < this.cliqueSize; m++) {
+        OWLNamedIndividual member = member(dataFactory, c, m);
+        ontologyManager.addAxiom(ontology, dataFactory.getOWLClassAssertionAxiom(person, member));
+        ontologyManager.addAxiom(ontology, dataFactory.getOWLObjectPropertyAssertionAxiom(knows, member,
+          member(dataFactory, (c + 1) % NUMBER_OF_CLIQUES, m)));
+        if (m > 0)
+          ontologyManager.addAxiom(ontology,
+            dataFactory.getOWLSameIndividualAxiom(member(dataFactory, c, m - 1), member));
+      }
+    }
+
+    this.ruleEngine = SWRLAPIFactory.createSWRLRuleEngine(SemiNaiveSWRLRuleEngineCreator.RULE_ENGINE_NAME, ontology);
+    this.ruleEngine.createSWRLRule("r1", "Person(?x) ^ knows(?x, ?y) ^ Person(?y) -> knowsPerson(?x, ?y)");
+  }
+
+  @Benchmark public int inferOverCliques()
+  {
+    this.ruleEngine.importAssertedOWLAxioms();
+    this.ruleEngine.run();
+
+    return this.ruleEngine.getInferredOWLAxioms().size();
+  }
+
+  private static OWLNamedIndividual member(OWLDataFactory dataFactory, int clique, int member)
+  {
+    return dataFactory.getOWLNamedIndividual(IRI.create("c" + clique + "m" + member));
+  }
+}
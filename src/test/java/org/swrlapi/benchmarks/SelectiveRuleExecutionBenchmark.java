@@ -0,0 +1,103 @@
+package org.swrlapi.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.swrlapi.core.SWRLRuleEngine;
+import org.swrlapi.engine.SemiNaiveSWRLRuleEngineCreator;
+import org.swrlapi.factory.SWRLAPIFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures repeated inference after a small ABox update with 500 rules, arranged as 50 independent chains of 10 rules
+ * each (<code>C<i>i</i>_<i>j</i>(?x) -&gt; C<i>i</i>_<i>j+1</i>(?x)</code>). Each update asserts one new instance
+ * of the first class of a few chains, so it touches under 10% of the rules. <code>infer</code> only re-runs the
+ * affected chains; <code>fullInfer</code> imports and runs all rules, as every inference did before.
+ */
+@State(Scope.Benchmark) @BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5) @Measurement(iterations = 10) @Fork(1) public class SelectiveRuleExecutionBenchmark
+{
+  private static final int NUMBER_OF_CHAINS = 50;
+  private static final int CHAIN_LENGTH = 10;
+  private static final int INSTANCES_PER_CHAIN = 100;
+
+  @Param({ "1", "4" }) public int numberOfUpdatedChains;
+
+  private OWLOntologyManager ontologyManager;
+  private OWLDataFactory dataFactory;
+  private OWLOntology ontology;
+  private SWRLRuleEngine ruleEngine;
+  private int numberOfUpdates;
+
+  @Setup(Level.Iteration) public void setup() throws Exception
+  {
+    this.ontologyManager = OWLManager.createOWLOntologyManager();
+    this.dataFactory = this.ontologyManager.getOWLDataFactory();
+    this.ontology = this.ontologyManager.createOntology();
+
+    for (int c = 0; c < NUMBER_OF_CHAINS; c++) {
+      for (int j = 0; j <= CHAIN_LENGTH; j++)
+        this.ontologyManager.addAxiom(this.ontology, this.dataFactory.getOWLDeclarationAxiom(cls(c, j)));
+      for (int i = 0; i < INSTANCES_PER_CHAIN; i++)
+        this.ontologyManager.addAxiom(this.ontology, this.dataFactory
+          .getOWLClassAssertionAxiom(cls(c, 0), this.dataFactory.getOWLNamedIndividual(IRI.create("i" + c + "_" + i))));
+    }
+
+    this.ruleEngine = SWRLAPIFactory
+      .createSWRLRuleEngine(SemiNaiveSWRLRuleEngineCreator.RULE_ENGINE_NAME, this.ontology);
+    for (int c = 0; c < NUMBER_OF_CHAINS; c++)
+      for (int j = 0; j < CHAIN_LENGTH; j++)
+        this.ruleEngine.createSWRLRule("r" + c + "_" + j, "C" + c + "_" + j + "(?x) -> C" + c + "_" + (j + 1) + "(?x)");
+
+    this.ruleEngine.infer();
+    this.numberOfUpdates = 0;
+  }
+
+  @Benchmark public int infer()
+  {
+    update();
+    this.ruleEngine.infer();
+
+    return this.ruleEngine.getInferredOWLAxioms().size();
+  }
+
+  @Benchmark public int fullInfer()
+  {
+    update();
+    this.ruleEngine.importAssertedOWLAxioms();
+    this.ruleEngine.run();
+    this.ruleEngine.exportInferredOWLAxioms();
+
+    return this.ruleEngine.getInferredOWLAxioms().size();
+  }
+
+  private void update()
+  {
+    int update = this.numberOfUpdates++;
+
+    for (int c = 0; c < this.numberOfUpdatedChains; c++)
+      this.ontologyManager.addAxiom(this.ontology, this.dataFactory.getOWLClassAssertionAxiom(
+        cls((update + c) % NUMBER_OF_CHAINS, 0), this.dataFactory.getOWLNamedIndividual(IRI.create("u" + update))));
+  }
+
+  private OWLClass cls(int chain, int position)
+  {
+    return this.dataFactory.getOWLClass(IRI.create("C" + chain + "_" + position));
+  }
+}
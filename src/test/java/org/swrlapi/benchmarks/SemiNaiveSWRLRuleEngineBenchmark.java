@@ -0,0 +1,126 @@
+package org.swrlapi.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.swrlapi.core.SWRLRuleEngine;
+import org.swrlapi.engine.SemiNaiveSWRLRuleEngineCreator;
+import org.swrlapi.factory.SWRLAPIFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures inference by the in-tree semi-naive rule engine on two rule sets as the ABox grows: the transitive closure
+ * of a <code>hasParent</code> chain, where each round only joins the ancestors found in the previous round, and a
+ * join-heavy rule set that joins class, object property and data property atoms with a filter built-in. The number
+ * of facts inferred by one run is returned; inferred facts are not written back to the ontology.
+ */
+@State(Scope.Benchmark) @BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5) @Measurement(iterations = 10) @Fork(1) public class SemiNaiveSWRLRuleEngineBenchmark
+{
+  @Param({ "50", "100", "200" }) public int chainLength;
+  @Param({ "1000", "10000" }) public int numberOfPeople;
+
+  private SWRLRuleEngine transitiveClosureRuleEngine;
+  private SWRLRuleEngine joinRuleEngine;
+
+  @Setup public void setup() throws Exception
+  {
+    this.transitiveClosureRuleEngine = createTransitiveClosureRuleEngine();
+    this.joinRuleEngine = createJoinRuleEngine();
+  }
+
+  @Benchmark public int transitiveClosure()
+  {
+    this.transitiveClosureRuleEngine.importAssertedOWLAxioms();
+    this.transitiveClosureRuleEngine.run();
+
+    return this.transitiveClosureRuleEngine.getInferredOWLAxioms().size();
+  }
+
+  @Benchmark public int joinHeavy()
+  {
+    this.joinRuleEngine.importAssertedOWLAxioms();
+    this.joinRuleEngine.run();
+
+    return this.joinRuleEngine.getInferredOWLAxioms().size();
+  }
+
+  private SWRLRuleEngine createTransitiveClosureRuleEngine() throws Exception
+  {
+    OWLOntologyManager ontologyManager = OWLManager.createOWLOntologyManager();
+    OWLDataFactory dataFactory = ontologyManager.getOWLDataFactory();
+    OWLOntology ontology = ontologyManager.createOntology();
+    OWLObjectProperty hasParent = dataFactory.getOWLObjectProperty(IRI.create("hasParent"));
+    OWLObjectProperty hasAncestor = dataFactory.getOWLObjectProperty(IRI.create("hasAncestor"));
+
+    ontologyManager.addAxiom(ontology, dataFactory.getOWLDeclarationAxiom(hasParent));
+    ontologyManager.addAxiom(ontology, dataFactory.getOWLDeclarationAxiom(hasAncestor));
+
+    for (int i = 0; i < this.chainLength - 1; i++)
+      ontologyManager.addAxiom(ontology, dataFactory
+        .getOWLObjectPropertyAssertionAxiom(hasParent, dataFactory.getOWLNamedIndividual(IRI.create("c" + i)),
+          dataFactory.getOWLNamedIndividual(IRI.create("c" + (i + 1)))));
+
+    SWRLRuleEngine ruleEngine = SWRLAPIFactory
+      .createSWRLRuleEngine(SemiNaiveSWRLRuleEngineCreator.RULE_ENGINE_NAME, ontology);
+    ruleEngine.createSWRLRule("r1", "hasParent(?x, ?y) -> hasAncestor(?x, ?y)");
+    ruleEngine.createSWRLRule("r2", "hasAncestor(?x, ?y) ^ hasParent(?y, ?z) -> hasAncestor(?x, ?z)");
+
+    return ruleEngine;
+  }
+
+  private SWRLRuleEngine createJoinRuleEngine() throws Exception
+  {
+    OWLOntologyManager ontologyManager = OWLManager.createOWLOntologyManager();
+    OWLDataFactory dataFactory = ontologyManager.getOWLDataFactory();
+    OWLOntology ontology = ontologyManager.createOntology();
+    OWLClass person = dataFactory.getOWLClass(IRI.create("Person"));
+    OWLClass adult = dataFactory.getOWLClass(IRI.create("Adult"));
+    OWLObjectProperty knows = dataFactory.getOWLObjectProperty(IRI.create("knows"));
+    OWLObjectProperty knowsAdult = dataFactory.getOWLObjectProperty(IRI.create("knowsAdult"));
+    OWLDataProperty hasAge = dataFactory.getOWLDataProperty(IRI.create("hasAge"));
+
+    ontologyManager.addAxiom(ontology, dataFactory.getOWLDeclarationAxiom(person));
+    ontologyManager.addAxiom(ontology, dataFactory.getOWLDeclarationAxiom(adult));
+    ontologyManager.addAxiom(ontology, dataFactory.getOWLDeclarationAxiom(knows));
+    ontologyManager.addAxiom(ontology, dataFactory.getOWLDeclarationAxiom(knowsAdult));
+    ontologyManager.addAxiom(ontology, dataFactory.getOWLDeclarationAxiom(hasAge));
+
+    // Every person knows the next three people
+    for (int i = 0; i < this.numberOfPeople; i++) {
+      OWLNamedIndividual p = dataFactory.getOWLNamedIndividual(IRI.create("p" + i));
+      ontologyManager.addAxiom(ontology, dataFactory.getOWLClassAssertionAxiom(person, p));
+      ontologyManager.addAxiom(ontology, dataFactory.getOWLDataPropertyAssertionAxiom(hasAge, p, i % 40));
+      for (int j = 1; j <= 3; j++)
+        ontologyManager.addAxiom(ontology, dataFactory.getOWLObjectPropertyAssertionAxiom(knows, p,
+          dataFactory.getOWLNamedIndividual(IRI.create("p" + (i + j) % this.numberOfPeople))));
+    }
+
+    SWRLRuleEngine ruleEngine = SWRLAPIFactory
+      .createSWRLRuleEngine(SemiNaiveSWRLRuleEngineCreator.RULE_ENGINE_NAME, ontology);
+    ruleEngine.createSWRLRule("r1", "Person(?p) ^ hasAge(?p, ?a) ^ swrlb:greaterThan(?a, 17) -> Adult(?p)");
+    ruleEngine.createSWRLRule("r2", "Person(?x) ^ knows(?x, ?y) ^ Adult(?y) -> knowsAdult(?x, ?y)");
+    ruleEngine.createSWRLRule("r3", "knowsAdult(?x, ?y) ^ knows(?y, ?z) ^ hasAge(?z, ?a) ^ swrlb:lessThan(?a, 18) "
+      + "-> knows(?x, ?z)");
+
+    return ruleEngine;
+  }
+}
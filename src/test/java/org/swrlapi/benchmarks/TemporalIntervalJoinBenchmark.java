@@ -0,0 +1,127 @@
+package org.swrlapi.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.swrlapi.bridge.SWRLBridge;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.exceptions.SWRLBuiltInException;
+import org.swrlapi.factory.SWRLBuiltInArgumentFactory;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.swrlapi.factory.SWRLAPIInternalFactory.createOWL2RLPersistenceLayer;
+import static org.swrlapi.factory.SWRLAPIInternalFactory.createSWRLAPIOntology;
+import static org.swrlapi.factory.SWRLAPIInternalFactory.createSWRLBridge;
+
+/**
+ * Finds the periods, among 10^5 <code>ValidPeriod</code> individuals, that fall during a fixed query period. The
+ * interval join, <code>temporal:during(?p, q)</code> with its first argument unbound, is compared with the pairwise
+ * loop it replaces, which invokes the bound form of the built-in once for every period. Periods start an hour apart
+ * and last up to two days, so a few hundred of them match.
+ */
+@State(Scope.Benchmark) @BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5) @Measurement(iterations = 10) @Fork(1) public class TemporalIntervalJoinBenchmark
+{
+  private static final int NUMBER_OF_PERIODS = 100000;
+  private static final int QUERY_START_HOUR = 50000, QUERY_FINISH_HOUR = 50500;
+
+  private static final String TEMPORAL_NAMESPACE = "http://swrl.stanford.edu/ontologies/built-ins/3.3/temporal.owl#";
+  private static final String RULE_NAME = "r1";
+  private static final LocalDateTime EPOCH = LocalDateTime.of(2000, 1, 1, 0, 0);
+  private static final DateTimeFormatter DATETIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+  private SWRLBuiltInArgumentFactory argumentFactory;
+  private SWRLBridge bridge;
+  private OWLNamedIndividual[] periods;
+  private OWLNamedIndividual queryPeriod;
+
+  @Setup public void setup() throws Exception
+  {
+    OWLOntologyManager ontologyManager = OWLManager.createOWLOntologyManager();
+    OWLDataFactory dataFactory = ontologyManager.getOWLDataFactory();
+    OWLOntology ontology = ontologyManager.createOntology();
+    Set<OWLAxiom> axioms = new HashSet<>();
+
+    this.periods = new OWLNamedIndividual[NUMBER_OF_PERIODS];
+    for (int i = 0; i < NUMBER_OF_PERIODS; i++) {
+      this.periods[i] = dataFactory.getOWLNamedIndividual(IRI.create("vp" + i));
+      axioms.addAll(createValidPeriodAxioms(dataFactory, this.periods[i], i, i + i % 48));
+    }
+    this.queryPeriod = dataFactory.getOWLNamedIndividual(IRI.create("q"));
+    axioms.addAll(createValidPeriodAxioms(dataFactory, this.queryPeriod, QUERY_START_HOUR, QUERY_FINISH_HOUR));
+    ontologyManager.addAxioms(ontology, axioms);
+
+    SWRLAPIOWLOntology swrlapiOWLOntology = createSWRLAPIOntology(ontology);
+    this.argumentFactory = swrlapiOWLOntology.getSWRLAPIOWLDataFactory().getSWRLBuiltInArgumentFactory();
+    this.bridge = createSWRLBridge(swrlapiOWLOntology, createOWL2RLPersistenceLayer(ontology));
+
+    joinDuring(); // Build the valid-time and interval indexes outside the measurement
+  }
+
+  /**
+   * @return The number of result bindings of <code>temporal:during(?p, q)</code>
+   */
+  @Benchmark public int joinDuring() throws SWRLBuiltInException
+  {
+    List<SWRLBuiltInArgument> arguments = Arrays
+      .asList(this.argumentFactory.getUnboundVariableBuiltInArgument(IRI.create("p")),
+        this.argumentFactory.getNamedIndividualBuiltInArgument(this.queryPeriod));
+
+    return this.bridge.invokeSWRLBuiltIn(RULE_NAME, "temporal:during", 0, false, arguments).size();
+  }
+
+  /**
+   * @return The number of periods for which <code>temporal:during(p, q)</code> is satisfied
+   */
+  @Benchmark public int pairwiseDuring() throws SWRLBuiltInException
+  {
+    SWRLBuiltInArgument queryArgument = this.argumentFactory.getNamedIndividualBuiltInArgument(this.queryPeriod);
+    int numberOfMatches = 0;
+
+    for (OWLNamedIndividual period : this.periods) {
+      List<SWRLBuiltInArgument> arguments = Arrays
+        .asList(this.argumentFactory.getNamedIndividualBuiltInArgument(period), queryArgument);
+      if (!this.bridge.invokeSWRLBuiltIn(RULE_NAME, "temporal:during", 0, false, arguments).isEmpty())
+        numberOfMatches++;
+    }
+    return numberOfMatches;
+  }
+
+  private static List<OWLAxiom> createValidPeriodAxioms(OWLDataFactory dataFactory, OWLNamedIndividual period,
+    int startHour, int finishHour)
+  {
+    OWLClass validPeriod = dataFactory.getOWLClass(IRI.create(TEMPORAL_NAMESPACE + "ValidPeriod"));
+    OWLDataProperty hasStartTime = dataFactory.getOWLDataProperty(IRI.create(TEMPORAL_NAMESPACE + "hasStartTime"));
+    OWLDataProperty hasFinishTime = dataFactory.getOWLDataProperty(IRI.create(TEMPORAL_NAMESPACE + "hasFinishTime"));
+
+    return Arrays.asList(dataFactory.getOWLClassAssertionAxiom(validPeriod, period),
+      dataFactory.getOWLDataPropertyAssertionAxiom(hasStartTime, period,
+        EPOCH.plusHours(startHour).format(DATETIME_FORMAT)),
+      dataFactory.getOWLDataPropertyAssertionAxiom(hasFinishTime, period,
+        EPOCH.plusHours(finishHour).format(DATETIME_FORMAT)));
+  }
+}
@@ -0,0 +1,159 @@
+package org.swrlapi.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.parameters.Imports;
+import org.swrlapi.bridge.SWRLBridge;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.exceptions.SWRLBuiltInException;
+import org.swrlapi.factory.SWRLBuiltInArgumentFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.swrlapi.factory.SWRLAPIInternalFactory.createOWL2RLPersistenceLayer;
+import static org.swrlapi.factory.SWRLAPIInternalFactory.createSWRLAPIOntology;
+import static org.swrlapi.factory.SWRLAPIInternalFactory.createSWRLBridge;
+
+/**
+ * Resolves the valid times of 10^5 extended propositions, each with a <code>ValidPeriod</code>, through
+ * <code>temporal:duration</code> invoked on a bridge. Lookups through the library's valid-time index are compared
+ * with a per-call scan of the ontology's data property assertions, the cost the index removes. The cost of adding a
+ * new extended proposition and resolving it immediately, which exercises incremental index maintenance, is also
+ * measured.
+ */
+@State(Scope.Benchmark) @BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5) @Measurement(iterations = 10) @Fork(1) public class TemporalValidTimeBenchmark
+{
+  private static final int NUMBER_OF_PROPOSITIONS = 100000;
+  private static final int NUMBER_OF_SCANNED_PROPOSITIONS = 100;
+
+  private static final String TEMPORAL_NAMESPACE = "http://swrl.stanford.edu/ontologies/built-ins/3.3/temporal.owl#";
+  private static final String RULE_NAME = "r1";
+
+  private OWLOntologyManager ontologyManager;
+  private OWLDataFactory dataFactory;
+  private OWLOntology ontology;
+  private SWRLBuiltInArgumentFactory argumentFactory;
+  private SWRLBridge bridge;
+  private OWLNamedIndividual[] propositions;
+  private int nextPropositionNumber = NUMBER_OF_PROPOSITIONS;
+
+  @Setup public void setup() throws Exception
+  {
+    this.ontologyManager = OWLManager.createOWLOntologyManager();
+    this.dataFactory = this.ontologyManager.getOWLDataFactory();
+    this.ontology = this.ontologyManager.createOntology();
+    this.propositions = new OWLNamedIndividual[NUMBER_OF_PROPOSITIONS];
+
+    List<OWLAxiom> axioms = new ArrayList<>();
+    for (int i = 0; i < NUMBER_OF_PROPOSITIONS; i++) {
+      this.propositions[i] = this.dataFactory.getOWLNamedIndividual(IRI.create("p" + i));
+      axioms.addAll(createExtendedPropositionAxioms(this.propositions[i], i));
+    }
+    this.ontologyManager.addAxioms(this.ontology, new HashSet<>(axioms));
+
+    SWRLAPIOWLOntology swrlapiOWLOntology = createSWRLAPIOntology(this.ontology);
+    this.argumentFactory = swrlapiOWLOntology.getSWRLAPIOWLDataFactory().getSWRLBuiltInArgumentFactory();
+    this.bridge = createSWRLBridge(swrlapiOWLOntology, createOWL2RLPersistenceLayer(this.ontology));
+
+    duration(this.propositions[0]); // Build the index outside the measurement
+  }
+
+  @Benchmark @OperationsPerInvocation(NUMBER_OF_PROPOSITIONS) public long indexedValidTimes()
+    throws SWRLBuiltInException
+  {
+    long numberOfResults = 0;
+
+    for (OWLNamedIndividual proposition : this.propositions)
+      numberOfResults += duration(proposition);
+
+    return numberOfResults;
+  }
+
+  @Benchmark @OperationsPerInvocation(NUMBER_OF_SCANNED_PROPOSITIONS) public int scannedValidTimes()
+  {
+    OWLDataProperty hasStartTime = this.dataFactory.getOWLDataProperty(IRI.create(TEMPORAL_NAMESPACE + "hasStartTime"));
+    int numberOfMatches = 0;
+
+    for (int i = 0; i < NUMBER_OF_SCANNED_PROPOSITIONS; i++) {
+      IRI validPeriodIRI = IRI.create("vp" + i);
+      for (OWLDataPropertyAssertionAxiom axiom : this.ontology
+        .getAxioms(AxiomType.DATA_PROPERTY_ASSERTION, Imports.INCLUDED))
+        if (axiom.getProperty().equals(hasStartTime) && axiom.getSubject().isNamed() && axiom.getSubject()
+          .asOWLNamedIndividual().getIRI().equals(validPeriodIRI))
+          numberOfMatches++;
+    }
+    return numberOfMatches;
+  }
+
+  @Benchmark public long addAndResolveProposition() throws SWRLBuiltInException
+  {
+    int propositionNumber = this.nextPropositionNumber++;
+    OWLNamedIndividual proposition = this.dataFactory.getOWLNamedIndividual(IRI.create("p" + propositionNumber));
+    List<OWLAxiom> axioms = createExtendedPropositionAxioms(proposition, propositionNumber);
+
+    this.ontologyManager.addAxioms(this.ontology, new HashSet<>(axioms));
+    long numberOfResults = duration(proposition);
+    this.ontologyManager.removeAxioms(this.ontology, new HashSet<>(axioms));
+
+    return numberOfResults;
+  }
+
+  /**
+   * @return The number of result bindings of <code>temporal:duration(?d, proposition, "days")</code>
+   */
+  private long duration(OWLNamedIndividual proposition) throws SWRLBuiltInException
+  {
+    List<SWRLBuiltInArgument> arguments = Arrays
+      .asList(this.argumentFactory.getUnboundVariableBuiltInArgument(IRI.create("d")),
+        this.argumentFactory.getNamedIndividualBuiltInArgument(proposition),
+        this.argumentFactory.getLiteralBuiltInArgument("days"));
+
+    return this.bridge.invokeSWRLBuiltIn(RULE_NAME, "temporal:duration", 0, false, arguments).size();
+  }
+
+  private List<OWLAxiom> createExtendedPropositionAxioms(OWLNamedIndividual proposition, int propositionNumber)
+  {
+    OWLClass extendedProposition = this.dataFactory.getOWLClass(IRI.create(TEMPORAL_NAMESPACE + "ExtendedProposition"));
+    OWLClass validPeriod = this.dataFactory.getOWLClass(IRI.create(TEMPORAL_NAMESPACE + "ValidPeriod"));
+    OWLObjectProperty hasValidTime = this.dataFactory
+      .getOWLObjectProperty(IRI.create(TEMPORAL_NAMESPACE + "hasValidTime"));
+    OWLDataProperty hasStartTime = this.dataFactory.getOWLDataProperty(IRI.create(TEMPORAL_NAMESPACE + "hasStartTime"));
+    OWLDataProperty hasFinishTime = this.dataFactory
+      .getOWLDataProperty(IRI.create(TEMPORAL_NAMESPACE + "hasFinishTime"));
+    OWLNamedIndividual period = this.dataFactory.getOWLNamedIndividual(IRI.create("vp" + propositionNumber));
+    int year = 1900 + propositionNumber % 100;
+
+    return Arrays.asList(this.dataFactory.getOWLClassAssertionAxiom(extendedProposition, proposition),
+      this.dataFactory.getOWLClassAssertionAxiom(validPeriod, period),
+      this.dataFactory.getOWLObjectPropertyAssertionAxiom(hasValidTime, proposition, period),
+      this.dataFactory.getOWLDataPropertyAssertionAxiom(hasStartTime, period, year + "-01-01T00:00:00"),
+      this.dataFactory.getOWLDataPropertyAssertionAxiom(hasFinishTime, period, year + "-12-31T00:00:00"));
+  }
+}
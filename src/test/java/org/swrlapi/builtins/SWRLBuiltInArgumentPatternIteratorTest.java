@@ -0,0 +1,109 @@
+package org.swrlapi.builtins;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLMultiValueVariableBuiltInArgument;
+import org.swrlapi.factory.SWRLBuiltInArgumentFactory;
+import org.swrlapi.test.IntegrationTestBase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.swrlapi.factory.SWRLAPIInternalFactory.createSWRLAPIOntology;
+import static org.swrlapi.factory.SWRLAPIInternalFactory.createSWRLBuiltInArgumentFactory;
+
+public class SWRLBuiltInArgumentPatternIteratorTest extends IntegrationTestBase
+{
+  private SWRLBuiltInArgumentFactory argumentFactory;
+
+  @Before public void setUp() throws Exception
+  {
+    OWLOntology ontology = OWLManager.createOWLOntologyManager().createOntology();
+
+    this.argumentFactory = createSWRLBuiltInArgumentFactory(createSWRLAPIOntology(ontology).getIRIResolver());
+  }
+
+  @Test public void TestSinglePatternWithoutMultiValueArguments()
+  {
+    SWRLBuiltInArgumentPatternIterator iterator = createIterator(1, literal(1), literal(2));
+
+    assertTrue(iterator.next());
+    assertEquals(Arrays.asList(literal(1), literal(2)), iterator.getArgumentPattern());
+    assertFalse(iterator.next());
+  }
+
+  @Test public void TestPatternsAreGeneratedInOrderInOneBuffer()
+  {
+    SWRLBuiltInArgumentPatternIterator iterator = createIterator(3, multiValue("x", 1, 2, 3), literal(0));
+    List<SWRLBuiltInArgument> buffer = null;
+
+    for (int value = 1; value <= 3; value++) {
+      assertTrue(iterator.next());
+      assertEquals(Arrays.asList(literal(value), literal(0)), iterator.getArgumentPattern());
+      if (buffer != null)
+        assertSame(buffer, iterator.getArgumentPattern());
+      buffer = iterator.getArgumentPattern();
+    }
+    assertFalse(iterator.next());
+  }
+
+  @Test public void TestDuplicatePatternsAreSkipped()
+  {
+    List<List<SWRLBuiltInArgument>> patterns = createIterator(4, multiValue("x", 1, 2, 1, 2), literal(0)).toList();
+
+    assertEquals(2, patterns.size());
+    assertEquals(Arrays.asList(literal(1), literal(0)), patterns.get(0));
+    assertEquals(Arrays.asList(literal(2), literal(0)), patterns.get(1));
+  }
+
+  @Test public void TestMultiValueArgumentsAreIteratedTogether()
+  {
+    List<List<SWRLBuiltInArgument>> patterns = createIterator(3, multiValue("x", 1, 1, 2), multiValue("y", 3, 4, 3))
+      .toList();
+
+    assertEquals(3, patterns.size()); // No pair of values is repeated
+    assertEquals(Arrays.asList(literal(1), literal(4)), patterns.get(1));
+  }
+
+  @Test public void TestEmptyIteratorHasNoPatterns()
+  {
+    assertFalse(SWRLBuiltInArgumentPatternIterator.empty().next());
+    assertTrue(SWRLBuiltInArgumentPatternIterator.empty().toList().isEmpty());
+  }
+
+  private SWRLBuiltInArgumentPatternIterator createIterator(int numberOfPatterns, SWRLBuiltInArgument... arguments)
+  {
+    List<Integer> multiValueArgumentIndexes = new ArrayList<>();
+
+    for (int i = 0; i < arguments.length; i++)
+      if (arguments[i] instanceof SWRLMultiValueVariableBuiltInArgument)
+        multiValueArgumentIndexes.add(i);
+
+    return new SWRLBuiltInArgumentPatternIterator(Arrays.asList(arguments),
+      multiValueArgumentIndexes.stream().mapToInt(Integer::intValue).toArray(), numberOfPatterns);
+  }
+
+  private SWRLMultiValueVariableBuiltInArgument multiValue(String variableName, int... values)
+  {
+    SWRLMultiValueVariableBuiltInArgument argument = this.argumentFactory
+      .getMultiValueVariableBuiltInArgument(iri(variableName));
+
+    for (int value : values)
+      argument.addArgument(literal(value));
+
+    return argument;
+  }
+
+  private SWRLBuiltInArgument literal(int value)
+  {
+    return this.argumentFactory.getLiteralBuiltInArgument(value);
+  }
+}
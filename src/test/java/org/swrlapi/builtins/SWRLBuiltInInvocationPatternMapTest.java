@@ -0,0 +1,106 @@
+package org.swrlapi.builtins;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.swrlapi.test.IntegrationTestBase;
+
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.swrlapi.factory.SWRLAPIInternalFactory.createOWL2RLPersistenceLayer;
+import static org.swrlapi.factory.SWRLAPIInternalFactory.createSWRLAPIOntology;
+import static org.swrlapi.factory.SWRLAPIInternalFactory.createSWRLBridge;
+
+public class SWRLBuiltInInvocationPatternMapTest extends IntegrationTestBase
+{
+  private static final int MAXIMUM_IN_MEMORY_PATTERNS = 2;
+  private static final int NUMBER_OF_PATTERNS = 10;
+
+  private SWRLBuiltInBridge bridge;
+  private SWRLBuiltInInvocationPatternMap<IRI> invocationPatternMap;
+
+  @Before public void setUp() throws Exception
+  {
+    OWLOntology ontology = OWLManager.createOWLOntologyManager().createOntology();
+
+    this.bridge = createSWRLBridge(createSWRLAPIOntology(ontology), createOWL2RLPersistenceLayer(ontology));
+    this.invocationPatternMap = new SWRLBuiltInInvocationPatternMap<>(MAXIMUM_IN_MEMORY_PATTERNS, IRI::toString,
+      IRI::create);
+  }
+
+  @After public void tearDown()
+  {
+    this.invocationPatternMap.close();
+  }
+
+  @Test public void TestEqualInvocationsHaveEqualPatterns()
+  {
+    assertEquals(createPattern(1), createPattern(1));
+    assertEquals(createPattern(1).hashCode(), createPattern(1).hashCode());
+    assertNotEquals(createPattern(1), createPattern(2));
+    assertNotEquals(createPattern(1), new SWRLBuiltInInvocationPattern(this.bridge, "r1", 0, false, 1L));
+  }
+
+  @Test public void TestPatternsBeyondMaximumAreSpilled()
+  {
+    for (int i = 0; i < NUMBER_OF_PATTERNS; i++)
+      this.invocationPatternMap.put(createPattern(i), iri("i" + i));
+
+    assertEquals(NUMBER_OF_PATTERNS, this.invocationPatternMap.size());
+    assertEquals(NUMBER_OF_PATTERNS - MAXIMUM_IN_MEMORY_PATTERNS,
+      this.invocationPatternMap.getNumberOfSpilledPatterns());
+
+    for (int i = 0; i < NUMBER_OF_PATTERNS; i++)
+      assertEquals(Optional.of(iri("i" + i)), this.invocationPatternMap.get(createPattern(i)));
+    assertFalse(this.invocationPatternMap.get(createPattern(NUMBER_OF_PATTERNS)).isPresent());
+  }
+
+  @Test public void TestClearRemovesSpilledPatterns()
+  {
+    for (int i = 0; i < NUMBER_OF_PATTERNS; i++)
+      this.invocationPatternMap.put(createPattern(i), iri("i" + i));
+
+    this.invocationPatternMap.clear();
+
+    assertEquals(0, this.invocationPatternMap.size());
+    assertFalse(this.invocationPatternMap.get(createPattern(0)).isPresent());
+  }
+
+  @Test public void TestClosedMapCanBeReused()
+  {
+    for (int i = 0; i < NUMBER_OF_PATTERNS; i++)
+      this.invocationPatternMap.put(createPattern(i), iri("i" + i));
+
+    this.invocationPatternMap.close();
+
+    for (int i = 0; i < NUMBER_OF_PATTERNS; i++)
+      this.invocationPatternMap.put(createPattern(i), iri("j" + i));
+
+    assertEquals(Optional.of(iri("j0")), this.invocationPatternMap.get(createPattern(0)));
+  }
+
+  @Test public void TestNumericValuesAreSpilled()
+  {
+    SWRLBuiltInInvocationPatternMap<Long> patternIDs = new SWRLBuiltInInvocationPatternMap<>(
+      MAXIMUM_IN_MEMORY_PATTERNS, String::valueOf, Long::valueOf);
+
+    for (int i = 0; i < NUMBER_OF_PATTERNS; i++)
+      patternIDs.put(createPattern(i), (long)i);
+
+    for (int i = 0; i < NUMBER_OF_PATTERNS; i++)
+      assertEquals(Optional.of((long)i), patternIDs.get(createPattern(i)));
+
+    patternIDs.close();
+  }
+
+  private SWRLBuiltInInvocationPattern createPattern(int value)
+  {
+    return new SWRLBuiltInInvocationPattern(this.bridge, "r1", 0, false, value, IRI.create("http://example.org#c"));
+  }
+}
@@ -0,0 +1,282 @@
+package org.swrlapi.builtins;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLLiteralBuiltInArgument;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.factory.SWRLBuiltInArgumentFactory;
+import org.swrlapi.test.IntegrationTestBase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.DataProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.DataPropertyAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Declaration;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Literal;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.NamedIndividual;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectPropertyAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.SubClassOf;
+import static org.swrlapi.factory.SWRLAPIInternalFactory.createOWL2RLPersistenceLayer;
+import static org.swrlapi.factory.SWRLAPIInternalFactory.createSWRLAPIOntology;
+import static org.swrlapi.factory.SWRLAPIInternalFactory.createSWRLBridge;
+import static org.swrlapi.factory.SWRLAPIInternalFactory.createSWRLBuiltInArgumentFactory;
+
+public class SWRLBuiltInLibraryManagerTest extends IntegrationTestBase
+{
+  private static final OWLClass A = Class(iri("A"));
+  private static final OWLClass B = Class(iri("B"));
+  private static final OWLClass C = Class(iri("C"));
+
+  private OWLOntology ontology;
+  private SWRLBuiltInBridge bridge;
+  private SWRLBuiltInLibraryManager manager;
+  private SWRLBuiltInArgumentFactory argumentFactory;
+
+  @Before public void setUp() throws Exception
+  {
+    this.ontology = OWLManager.createOWLOntologyManager().createOntology();
+    addOWLAxioms(this.ontology, Declaration(A), Declaration(B), Declaration(C), SubClassOf(B, A));
+
+    SWRLAPIOWLOntology swrlapiOWLOntology = createSWRLAPIOntology(this.ontology);
+
+    this.bridge = createSWRLBridge(swrlapiOWLOntology, createOWL2RLPersistenceLayer(this.ontology));
+    this.manager = swrlapiOWLOntology.getSWRLBuiltInLibraryManager();
+    this.argumentFactory = createSWRLBuiltInArgumentFactory(swrlapiOWLOntology.getIRIResolver());
+  }
+
+  @Test public void TestRepeatedInvocationIsReplayed() throws Exception
+  {
+    List<List<SWRLBuiltInArgument>> first = invoke("swrlb:add", unbound("n"), literal(10), literal(1));
+    List<List<SWRLBuiltInArgument>> second = invoke("swrlb:add", unbound("n"), literal(10), literal(1));
+
+    assertEquals(1, this.manager.getNumberOfSWRLBuiltInMemoMisses());
+    assertEquals(1, this.manager.getNumberOfSWRLBuiltInMemoHits());
+    assertEquals(first, second);
+    assertEquals("11", ((SWRLLiteralBuiltInArgument)second.get(0).get(0)).getLiteral().getLiteral());
+  }
+
+  @Test public void TestUnsatisfiedInvocationIsReplayed() throws Exception
+  {
+    invoke("swrlb:add", literal(12), literal(10), literal(1));
+
+    assertTrue(invoke("swrlb:add", literal(12), literal(10), literal(1)).isEmpty());
+    assertEquals(1, this.manager.getNumberOfSWRLBuiltInMemoHits());
+  }
+
+  @Test public void TestDifferentUnboundArgumentsAreNotShared() throws Exception
+  {
+    invoke("swrlb:add", unbound("n"), literal(10), literal(1));
+
+    assertEquals(1, invoke("swrlb:add", literal(11), literal(10), literal(1)).size());
+    assertEquals(0, this.manager.getNumberOfSWRLBuiltInMemoHits());
+    assertEquals(2, this.manager.getNumberOfSWRLBuiltInMemoMisses());
+  }
+
+  @Test public void TestNonDeterministicBuiltInsAreNotMemoized() throws Exception
+  {
+    invoke("swrlb:greaterThan", literal(2), literal(1));
+    invoke("swrlb:greaterThan", literal(2), literal(1));
+
+    assertEquals(0, this.manager.getNumberOfSWRLBuiltInMemoHits() + this.manager.getNumberOfSWRLBuiltInMemoMisses());
+  }
+
+  @Test public void TestOntologyChangeClearsOntologyDependentResults() throws Exception
+  {
+    assertEquals(1, invoke("tbox:sca", unbound("s"), this.argumentFactory.getClassBuiltInArgument(A)).size());
+    assertEquals(1, invoke("tbox:sca", unbound("s"), this.argumentFactory.getClassBuiltInArgument(A)).size());
+
+    addOWLAxioms(this.ontology, SubClassOf(C, A));
+
+    assertEquals(2, invoke("tbox:sca", unbound("s"), this.argumentFactory.getClassBuiltInArgument(A)).size());
+    assertEquals(1, this.manager.getNumberOfSWRLBuiltInMemoHits());
+    assertEquals(2, this.manager.getNumberOfSWRLBuiltInMemoMisses());
+  }
+
+  @Test public void TestClosedManagerListensAgainWhenUsed() throws Exception
+  {
+    invoke("tbox:sca", unbound("s"), this.argumentFactory.getClassBuiltInArgument(A));
+    this.manager.close();
+    assertEquals(1, invoke("tbox:sca", unbound("s"), this.argumentFactory.getClassBuiltInArgument(A)).size());
+
+    addOWLAxioms(this.ontology, SubClassOf(C, A));
+
+    assertEquals(2, invoke("tbox:sca", unbound("s"), this.argumentFactory.getClassBuiltInArgument(A)).size());
+    assertEquals(0, this.manager.getNumberOfSWRLBuiltInMemoHits());
+    assertEquals(3, this.manager.getNumberOfSWRLBuiltInMemoMisses());
+  }
+
+  @Test public void TestChangedRDFListIsSeenByListBuiltIns() throws Exception
+  {
+    OWLDataProperty first = DataProperty(OWLRDFVocabulary.RDF_FIRST.getIRI());
+    OWLObjectProperty rest = ObjectProperty(OWLRDFVocabulary.RDF_REST.getIRI());
+    OWLNamedIndividual nil = NamedIndividual(OWLRDFVocabulary.RDF_NIL.getIRI());
+    OWLNamedIndividual list = NamedIndividual(iri("list")), tail = NamedIndividual(iri("tail"));
+    SWRLBuiltInArgument listArgument = this.argumentFactory.getNamedIndividualBuiltInArgument(list);
+
+    addOWLAxioms(this.ontology, DataPropertyAssertion(first, list, Literal(1)),
+      ObjectPropertyAssertion(rest, list, nil));
+    assertEquals("1", getLiteral(invoke("swrlb:length", unbound("n"), listArgument)));
+
+    this.ontology.getOWLOntologyManager().removeAxiom(this.ontology, ObjectPropertyAssertion(rest, list, nil));
+    addOWLAxioms(this.ontology, ObjectPropertyAssertion(rest, list, tail),
+      DataPropertyAssertion(first, tail, Literal(2)), ObjectPropertyAssertion(rest, tail, nil));
+
+    assertEquals("2", getLiteral(invoke("swrlb:length", unbound("n"), listArgument)));
+    assertEquals(0, this.manager.getNumberOfSWRLBuiltInMemoHits());
+  }
+
+  @Test public void TestLibraryResetClearsLibraryDependentResults() throws Exception
+  {
+    invoke("temporal:add", unbound("t"), literal("1999-01-01T00:00:00"), literal(1), literal("Years"));
+    this.manager.invokeAllBuiltInLibrariesResetMethod(this.bridge);
+    invoke("temporal:add", unbound("t"), literal("1999-01-01T00:00:00"), literal(1), literal("Years"));
+
+    assertEquals(0, this.manager.getNumberOfSWRLBuiltInMemoHits());
+    assertEquals(2, this.manager.getNumberOfSWRLBuiltInMemoMisses());
+  }
+
+  @Test public void TestBatchComparisonSelectsSatisfiedTuples() throws Exception
+  {
+    SWRLBuiltInArgumentBlock block = new SWRLBuiltInArgumentBlock(4);
+    block.addColumn(new SWRLBuiltInArgument[] { literal(3), literal(7), literal(5), literal(9) });
+    block.addConstant(literal(5));
+
+    SWRLBuiltInBatchResult result = invokeBatch("swrlb:greaterThan", block);
+
+    BitSet expectedSelection = new BitSet();
+    expectedSelection.set(1);
+    expectedSelection.set(3);
+    assertEquals(expectedSelection, result.getSelection());
+    assertEquals(2, result.getNumberOfRows());
+  }
+
+  @Test public void TestBatchArithmeticBindsOutputColumn() throws Exception
+  {
+    SWRLBuiltInArgumentBlock block = new SWRLBuiltInArgumentBlock(3);
+    block.addConstant(unbound("n"));
+    block.addColumn(new SWRLBuiltInArgument[] { literal(1), literal(2), literal(3) });
+    block.addConstant(literal(10));
+
+    SWRLBuiltInBatchResult result = invokeBatch("swrlb:add", block);
+
+    assertEquals(3, result.getNumberOfRows());
+    for (int row = 0; row < 3; row++) {
+      assertEquals(row, result.getTupleIndex(row));
+      assertEquals(invoke("swrlb:add", unbound("n"), literal(row + 1), literal(10)).get(0).get(0),
+        result.getOutputArgument(row, 0));
+    }
+  }
+
+  @Test public void TestBatchFallbackTuplesKeepTupleOrder() throws Exception
+  {
+    SWRLBuiltInArgumentBlock block = new SWRLBuiltInArgumentBlock(3);
+    block.addConstant(unbound("n"));
+    block.addColumn(new SWRLBuiltInArgument[] { literal(1L), literal(Long.MAX_VALUE), literal(2L) });
+    block.addConstant(literal(1L));
+
+    SWRLBuiltInBatchResult result = invokeBatch("swrlb:add", block); // Overflowing tuple is invoked on its own
+
+    assertEquals(3, result.getNumberOfRows());
+    for (int row = 0; row < 3; row++)
+      assertEquals(row, result.getTupleIndex(row));
+    assertEquals(invoke("swrlb:add", unbound("n"), literal(Long.MAX_VALUE), literal(1L)).get(0).get(0),
+      result.getOutputArgument(1, 0));
+  }
+
+  @Test public void TestBatchStringFunctionMatchesBuiltInMethod() throws Exception
+  {
+    SWRLBuiltInArgumentBlock block = new SWRLBuiltInArgumentBlock(2);
+    block.addConstant(unbound("s"));
+    block.addColumn(new SWRLBuiltInArgument[] { literal("a"), literal("Bc") });
+
+    SWRLBuiltInBatchResult result = invokeBatch("swrlb:upperCase", block);
+
+    assertEquals(invoke("swrlb:upperCase", unbound("s"), literal("Bc")).get(0).get(0),
+      result.getOutputArgument(1, 0));
+  }
+
+  @Test public void TestBatchWithoutKernelIsInvokedPerTuple() throws Exception
+  {
+    SWRLBuiltInArgumentBlock block = new SWRLBuiltInArgumentBlock(2);
+    block.addConstant(unbound("s"));
+    block.addColumn(new SWRLBuiltInArgument[] { this.argumentFactory.getClassBuiltInArgument(A),
+      this.argumentFactory.getClassBuiltInArgument(C) });
+
+    SWRLBuiltInBatchResult result = invokeBatch("tbox:sca", block);
+
+    assertEquals(1, result.getNumberOfRows()); // Only A has a subclass
+    assertEquals(0, result.getTupleIndex(0));
+    assertEquals(this.argumentFactory.getClassBuiltInArgument(B), result.getOutputArgument(0, 0));
+  }
+
+  @Test public void TestPerTupleBatchMatchesKernelBatch() throws Exception
+  {
+    SWRLBuiltInArgumentBlock block = new SWRLBuiltInArgumentBlock(3);
+    block.addConstant(unbound("n"));
+    block.addColumn(new SWRLBuiltInArgument[] { literal(1), literal(2), literal(3) });
+    block.addConstant(literal(10));
+
+    SWRLBuiltInBatchResult perTupleResult = SWRLBuiltInBatchResult.invokePerTuple(block, this.argumentFactory,
+      arguments -> this.manager.invokeSWRLBuiltInLazily(this.bridge, "r1", "swrlb:add", 0, false, arguments));
+    SWRLBuiltInBatchResult kernelResult = invokeBatch("swrlb:add", block);
+
+    assertEquals(kernelResult.getSelection(), perTupleResult.getSelection());
+    assertEquals(kernelResult.getNumberOfRows(), perTupleResult.getNumberOfRows());
+    for (int row = 0; row < kernelResult.getNumberOfRows(); row++) {
+      assertEquals(kernelResult.getTupleIndex(row), perTupleResult.getTupleIndex(row));
+      assertEquals(kernelResult.getOutputArgument(row, 0), perTupleResult.getOutputArgument(row, 0));
+    }
+  }
+
+  private SWRLBuiltInBatchResult invokeBatch(String builtInName, SWRLBuiltInArgumentBlock block) throws Exception
+  {
+    return this.manager.invokeSWRLBuiltInBatch(this.bridge, "r1", builtInName, 0, false, block);
+  }
+
+  private List<List<SWRLBuiltInArgument>> invoke(String builtInName, SWRLBuiltInArgument... arguments)
+    throws Exception
+  {
+    return this.manager.invokeSWRLBuiltIn(this.bridge, "r1", builtInName, 0, false,
+      new ArrayList<>(Arrays.asList(arguments)));
+  }
+
+  private String getLiteral(List<List<SWRLBuiltInArgument>> patterns)
+  {
+    return ((SWRLLiteralBuiltInArgument)patterns.get(0).get(0)).getLiteral().getLiteral();
+  }
+
+  private SWRLBuiltInArgument unbound(String variableName)
+  {
+    return this.argumentFactory.getUnboundVariableBuiltInArgument(iri(variableName));
+  }
+
+  private SWRLBuiltInArgument literal(int value)
+  {
+    return this.argumentFactory.getLiteralBuiltInArgument(value);
+  }
+
+  private SWRLBuiltInArgument literal(long value)
+  {
+    return this.argumentFactory.getLiteralBuiltInArgument(value);
+  }
+
+  private SWRLBuiltInArgument literal(String value)
+  {
+    return this.argumentFactory.getLiteralBuiltInArgument(value);
+  }
+}
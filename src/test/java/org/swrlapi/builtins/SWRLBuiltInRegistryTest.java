@@ -0,0 +1,43 @@
+package org.swrlapi.builtins;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.swrlapi.exceptions.SWRLBuiltInLibraryException;
+import org.swrlapi.exceptions.UnresolvedSWRLBuiltInClassException;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SWRLBuiltInRegistryTest
+{
+  private SWRLBuiltInRegistry registry;
+
+  @Before public void setUp()
+  {
+    this.registry = new SWRLBuiltInRegistry(new LinkedHashSet<>(Arrays.asList("swrlb", "nosuchlibrary")));
+  }
+
+  @Test public void TestLoadFailureDoesNotAffectOtherLibraries()
+  {
+    assertTrue(this.registry.hasSWRLBuiltInLibrary("swrlb"));
+    assertTrue(this.registry.isSWRLBuiltIn("swrlb:add"));
+    assertEquals("swrlb", this.registry.createSWRLBuiltInLibrary("swrlb").getPrefix());
+  }
+
+  @Test public void TestLoadFailureIsRaisedWhenLibraryIsLookedUp()
+  {
+    assertFalse(this.registry.hasSWRLBuiltInLibrary("nosuchlibrary"));
+
+    try {
+      this.registry.createSWRLBuiltInLibrary("nosuchlibrary");
+      fail("expected the load failure to be raised");
+    } catch (SWRLBuiltInLibraryException e) {
+      assertTrue(e.getCause() instanceof UnresolvedSWRLBuiltInClassException);
+    }
+  }
+}
@@ -0,0 +1,136 @@
+package org.swrlapi.builtins.arguments;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.swrlapi.factory.SWRLAPIFactory;
+import org.swrlapi.factory.SWRLAPIInternalFactory;
+import org.swrlapi.factory.SWRLBuiltInArgumentFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @see SWRLBuiltInArgumentList
+ */
+public class SWRLBuiltInArgumentListTest
+{
+  private SWRLBuiltInArgumentFactory builtInArgumentFactory;
+
+  @Before public void setUp()
+  {
+    this.builtInArgumentFactory = SWRLAPIInternalFactory
+      .createSWRLBuiltInArgumentFactory(SWRLAPIFactory.createIRIResolver());
+  }
+
+  @Test public void testFirstRestAndSize()
+  {
+    SWRLBuiltInArgumentList list = list(1, 2, 3);
+
+    assertEquals(3, list.size());
+    assertEquals(argument(1), list.getFirst().get());
+    assertEquals(list(2, 3), list.getRest().get());
+    assertFalse(SWRLBuiltInArgumentList.EMPTY.getFirst().isPresent());
+    assertFalse(SWRLBuiltInArgumentList.EMPTY.getRest().isPresent());
+    assertTrue(list(1).getRest().get().isEmpty());
+  }
+
+  @Test public void testEqualsAndHashCodeFollowElements()
+  {
+    assertEquals(list(1, 2, 3), list(1, 2, 3));
+    assertEquals(list(1, 2, 3).hashCode(), list(1, 2, 3).hashCode());
+    assertEquals(Arrays.asList(argument(1), argument(2)).hashCode(), list(1, 2).hashCode());
+    assertEquals(SWRLBuiltInArgumentList.EMPTY, list());
+    assertNotEquals(list(1, 2, 3), list(1, 3, 2));
+    assertNotEquals(list(1, 2), list(1, 2, 3));
+  }
+
+  @Test public void testContainsOnShortAndIndexedLists()
+  {
+    SWRLBuiltInArgumentList longList = range(1000);
+
+    assertTrue(list(1, 2, 3).contains(argument(2)));
+    assertFalse(list(1, 2, 3).contains(argument(4)));
+    assertTrue(longList.contains(argument(999)));
+    assertFalse(longList.contains(argument(1000)));
+  }
+
+  @Test public void testConcatSharesRightList()
+  {
+    SWRLBuiltInArgumentList right = list(3, 4);
+    SWRLBuiltInArgumentList concatenation = list(1, 2).concat(right);
+
+    assertEquals(list(1, 2, 3, 4), concatenation);
+    assertSame(right, concatenation.getRest().get().getRest().get());
+    assertEquals(right, SWRLBuiltInArgumentList.EMPTY.concat(right));
+  }
+
+  @Test public void testSubList()
+  {
+    SWRLBuiltInArgumentList list = list(1, 2, 3, 4);
+
+    assertEquals(list(2, 3), list.subList(1, 3));
+    assertSame(list.getRest().get(), list.subList(1, 4));
+    assertTrue(list.subList(2, 2).isEmpty());
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class) public void testSubListOutOfRange()
+  {
+    list(1, 2).subList(1, 3);
+  }
+
+  @Test public void testIntersectionAndSubtractionKeepOrder()
+  {
+    SWRLBuiltInArgumentList list = list(5, 1, 4, 2, 3);
+
+    assertEquals(list(1, 2, 3), list.intersection(list(3, 2, 1)));
+    assertEquals(list(5, 4), list.subtraction(list(3, 2, 1)));
+    assertSame(list, list.subtraction(list(6)));
+    assertTrue(list.intersection(SWRLBuiltInArgumentList.EMPTY).isEmpty());
+  }
+
+  @Test public void testSubtractionSharesRetainedSuffix()
+  {
+    SWRLBuiltInArgumentList list = list(1, 2, 3, 4);
+    SWRLBuiltInArgumentList difference = list.subtraction(list(2));
+
+    assertEquals(list(1, 3, 4), difference);
+    assertSame(list.subList(2, 4), difference.getRest().get());
+  }
+
+  @Test public void testToSetRemovesDuplicates()
+  {
+    assertEquals(Arrays.asList(argument(2), argument(1)), new ArrayList<>(list(2, 1, 2).toSet()));
+  }
+
+  private SWRLBuiltInArgumentList list(int... values)
+  {
+    List<SWRLBuiltInArgument> arguments = new ArrayList<>();
+
+    for (int value : values)
+      arguments.add(argument(value));
+
+    return SWRLBuiltInArgumentList.of(arguments);
+  }
+
+  private SWRLBuiltInArgumentList range(int size)
+  {
+    List<SWRLBuiltInArgument> arguments = new ArrayList<>();
+
+    for (int i = 0; i < size; i++)
+      arguments.add(argument(i));
+
+    return SWRLBuiltInArgumentList.of(arguments);
+  }
+
+  private SWRLBuiltInArgument argument(int value)
+  {
+    return this.builtInArgumentFactory.getLiteralBuiltInArgument(value);
+  }
+}
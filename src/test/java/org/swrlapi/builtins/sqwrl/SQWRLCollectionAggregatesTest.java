@@ -0,0 +1,255 @@
+package org.swrlapi.builtins.sqwrl;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.swrlapi.bridge.SWRLBridge;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLLiteralBuiltInArgument;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.engine.SemiNaiveSWRLRuleEngineCreator;
+import org.swrlapi.factory.SWRLAPIFactory;
+import org.swrlapi.factory.SWRLAPIInternalFactory;
+import org.swrlapi.factory.SWRLBuiltInArgumentFactory;
+import org.swrlapi.sqwrl.SQWRLQueryEngine;
+import org.swrlapi.sqwrl.SQWRLResult;
+import org.swrlapi.test.IntegrationTestBase;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ClassAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.DataProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.DataPropertyAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Declaration;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Literal;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.NamedIndividual;
+import static org.swrlapi.factory.SWRLAPIInternalFactory.createOWL2RLPersistenceLayer;
+import static org.swrlapi.factory.SWRLAPIInternalFactory.createSWRLAPIOntology;
+import static org.swrlapi.factory.SWRLAPIInternalFactory.createSWRLBridge;
+
+/**
+ * @see SQWRLCollectionAggregates
+ */
+public class SQWRLCollectionAggregatesTest extends IntegrationTestBase
+{
+  private static final OWLClass PERSON = Class(iri("Person"));
+  private static final OWLClass ADULT = Class(iri("Adult"));
+  private static final OWLDataProperty HAS_AGE = DataProperty(iri("hasAge"));
+  private static final OWLNamedIndividual P1 = NamedIndividual(iri("p1"));
+  private static final OWLNamedIndividual P2 = NamedIndividual(iri("p2"));
+  private static final OWLNamedIndividual P3 = NamedIndividual(iri("p3"));
+  private static final OWLNamedIndividual A1 = NamedIndividual(iri("a1"));
+
+  private OWLOntology ontology;
+  private SWRLBuiltInArgumentFactory builtInArgumentFactory;
+
+  @Before public void setUp() throws Exception
+  {
+    this.ontology = OWLManager.createOWLOntologyManager().createOntology();
+    addOWLAxioms(this.ontology, Declaration(PERSON), Declaration(ADULT), Declaration(HAS_AGE), Declaration(P1),
+      Declaration(P2), Declaration(P3), Declaration(A1), ClassAssertion(PERSON, P1), ClassAssertion(PERSON, P2),
+      ClassAssertion(PERSON, P3), ClassAssertion(ADULT, P2), ClassAssertion(ADULT, P3), ClassAssertion(ADULT, A1),
+      DataPropertyAssertion(HAS_AGE, P1, Literal(10)), DataPropertyAssertion(HAS_AGE, P2, Literal(20)),
+      DataPropertyAssertion(HAS_AGE, P3, Literal(30)));
+
+    this.builtInArgumentFactory = SWRLAPIInternalFactory
+      .createSWRLBuiltInArgumentFactory(SWRLAPIFactory.createIRIResolver());
+  }
+
+  @Test public void TestAggregateBuiltInsInQuery() throws Exception
+  {
+    SQWRLQueryEngine queryEngine = createQueryEngine();
+    String body = "Person(?p) ^ hasAge(?p, ?a) . sqwrl:makeBag(?b, ?a) . ";
+
+    assertEquals(60, runSingleValueQuery(queryEngine, "q1", body + "sqwrl:sum(?r, ?b) -> sqwrl:select(?r)"));
+    assertEquals(20, runSingleValueQuery(queryEngine, "q2", body + "sqwrl:avg(?r, ?b) -> sqwrl:select(?r)"));
+    assertEquals(10, runSingleValueQuery(queryEngine, "q3", body + "sqwrl:min(?r, ?b) -> sqwrl:select(?r)"));
+    assertEquals(30, runSingleValueQuery(queryEngine, "q4", body + "sqwrl:max(?r, ?b) -> sqwrl:select(?r)"));
+  }
+
+  @Test public void TestSetOperationsInQuery() throws Exception
+  {
+    SQWRLQueryEngine queryEngine = createQueryEngine();
+    String body = "Person(?p) ^ Adult(?q) . sqwrl:makeSet(?s1, ?p) ^ sqwrl:makeSet(?s2, ?q) . ";
+
+    assertEquals(2, runSingleValueQuery(queryEngine, "q1",
+      body + "sqwrl:intersection(?s3, ?s1, ?s2) ^ sqwrl:size(?r, ?s3) -> sqwrl:select(?r)"));
+    assertEquals(4, runSingleValueQuery(queryEngine, "q2",
+      body + "sqwrl:union(?s3, ?s1, ?s2) ^ sqwrl:size(?r, ?s3) -> sqwrl:select(?r)"));
+    assertEquals(1, runSingleValueQuery(queryEngine, "q3",
+      body + "sqwrl:difference(?s3, ?s1, ?s2) ^ sqwrl:size(?r, ?s3) -> sqwrl:select(?r)"));
+  }
+
+  @Test public void TestQueryAggregatesFollowOntologyChanges() throws Exception
+  {
+    SQWRLQueryEngine queryEngine = createQueryEngine();
+    queryEngine.createSQWRLQuery("q1", "Person(?p) ^ hasAge(?p, ?a) . sqwrl:makeBag(?b, ?a) . sqwrl:sum(?r, ?b) "
+      + "-> sqwrl:select(?r)");
+    queryEngine.createSQWRLQuery("q2", "Person(?p) ^ Adult(?q) . sqwrl:makeSet(?s1, ?p) ^ sqwrl:makeSet(?s2, ?q) . "
+      + "sqwrl:intersection(?s3, ?s1, ?s2) ^ sqwrl:size(?r, ?s3) -> sqwrl:select(?r)");
+
+    assertEquals(60, runSingleValueQuery(queryEngine, "q1"));
+    assertEquals(2, runSingleValueQuery(queryEngine, "q2"));
+
+    OWLNamedIndividual p4 = NamedIndividual(iri("p4"));
+    addOWLAxioms(this.ontology, Declaration(p4), ClassAssertion(PERSON, p4), ClassAssertion(ADULT, p4),
+      DataPropertyAssertion(HAS_AGE, p4, Literal(40)));
+
+    assertEquals(100, runSingleValueQuery(queryEngine, "q1"));
+    assertEquals(3, runSingleValueQuery(queryEngine, "q2"));
+  }
+
+  @Test public void TestAggregateBuiltInFollowsAddedElements() throws Exception
+  {
+    SWRLBridge bridge = createBridge();
+
+    invoke(bridge, "sqwrl:makeBag", variable("b"), literal(1));
+    invoke(bridge, "sqwrl:makeBag", variable("b"), literal(2));
+    assertEquals(3, value(invoke(bridge, "sqwrl:sum", variable("r"), variable("b"))));
+
+    invoke(bridge, "sqwrl:makeBag", variable("b"), literal(4));
+    assertEquals(7, value(invoke(bridge, "sqwrl:sum", variable("r"), variable("b"))));
+    assertEquals(4, value(invoke(bridge, "sqwrl:max", variable("r"), variable("b"))));
+    assertEquals(1, value(invoke(bridge, "sqwrl:min", variable("r"), variable("b"))));
+  }
+
+  @Test public void TestSetOperationIsRecomputedAfterOperandChanges() throws Exception
+  {
+    SWRLBridge bridge = createBridge();
+
+    invoke(bridge, "sqwrl:makeSet", variable("s"), literal(1));
+    invoke(bridge, "sqwrl:union", variable("u"), variable("s"), variable("s"));
+    assertEquals(1, value(invoke(bridge, "sqwrl:size", variable("n"), variable("u"))));
+
+    invoke(bridge, "sqwrl:union", variable("u"), variable("s"), variable("s")); // Recorded result is reused
+    assertEquals(1, value(invoke(bridge, "sqwrl:size", variable("n"), variable("u"))));
+
+    invoke(bridge, "sqwrl:makeSet", variable("s"), literal(2));
+    invoke(bridge, "sqwrl:union", variable("u"), variable("s"), variable("s"));
+    assertEquals(2, value(invoke(bridge, "sqwrl:size", variable("n"), variable("u"))));
+  }
+
+  @Test public void TestAggregatesFollowAddedElements()
+  {
+    SQWRLCollectionAggregates aggregates = new SQWRLCollectionAggregates();
+
+    add(aggregates, 3);
+    add(aggregates, 1);
+    add(aggregates, 2);
+
+    assertEquals(new BigDecimal(6), aggregates.getSum().get());
+    assertEquals(this.builtInArgumentFactory.getLiteralBuiltInArgument(1), aggregates.getLeast().get());
+    assertEquals(this.builtInArgumentFactory.getLiteralBuiltInArgument(3), aggregates.getGreatest().get());
+    assertEquals(3, aggregates.getVersion());
+  }
+
+  @Test public void TestNonNumericElementLeavesAggregatesToCollection()
+  {
+    SQWRLCollectionAggregates aggregates = new SQWRLCollectionAggregates();
+    SWRLBuiltInArgument individual = this.builtInArgumentFactory.getNamedIndividualBuiltInArgument(
+      OWLManager.getOWLDataFactory().getOWLNamedIndividual(IRI.create("http://example.org#i")));
+
+    add(aggregates, 1);
+    aggregates.add(individual, null);
+
+    assertFalse(aggregates.getSum().isPresent());
+    assertFalse(aggregates.getLeast().isPresent());
+    assertFalse(aggregates.getGreatest().isPresent());
+  }
+
+  @Test public void TestOperationResultIsStaleAfterOperandChanges()
+  {
+    SQWRLCollectionAggregates operand1 = new SQWRLCollectionAggregates();
+    SQWRLCollectionAggregates operand2 = new SQWRLCollectionAggregates();
+    SQWRLCollectionAggregates result = new SQWRLCollectionAggregates();
+
+    add(operand1, 1);
+    result.setOperands(operand1, operand2);
+
+    assertTrue(result.isOperationResult());
+    assertTrue(result.hasOperands(operand1, operand2));
+
+    add(operand2, 2);
+
+    assertFalse(result.hasOperands(operand1, operand2));
+  }
+
+  private void add(SQWRLCollectionAggregates aggregates, int value)
+  {
+    aggregates.add(this.builtInArgumentFactory.getLiteralBuiltInArgument(value), new BigDecimal(value));
+  }
+
+  private SQWRLQueryEngine createQueryEngine()
+  {
+    return SWRLAPIFactory.createSQWRLQueryEngine(SemiNaiveSWRLRuleEngineCreator.RULE_ENGINE_NAME, this.ontology);
+  }
+
+  private SWRLBridge createBridge()
+  {
+    SWRLAPIOWLOntology swrlapiOWLOntology = createSWRLAPIOntology(this.ontology);
+
+    return createSWRLBridge(swrlapiOWLOntology, createOWL2RLPersistenceLayer(this.ontology));
+  }
+
+  /**
+   * @return The value of the single row of a query that selects <code>?r</code>
+   */
+  private int runSingleValueQuery(SQWRLQueryEngine queryEngine, String queryName, String queryText) throws Exception
+  {
+    queryEngine.createSQWRLQuery(queryName, queryText);
+
+    return runSingleValueQuery(queryEngine, queryName);
+  }
+
+  private int runSingleValueQuery(SQWRLQueryEngine queryEngine, String queryName) throws Exception
+  {
+    SQWRLResult result = queryEngine.runSQWRLQuery(queryName);
+
+    assertTrue(result.next());
+    int value = result.getLiteral("r").getDecimal().intValueExact();
+    assertFalse(result.next());
+
+    return value;
+  }
+
+  /**
+   * @return The value bound to the first argument of the built-in, which must be satisfied
+   */
+  private SWRLBuiltInArgument invoke(SWRLBridge bridge, String builtInName, SWRLBuiltInArgument... arguments)
+    throws Exception
+  {
+    List<List<SWRLBuiltInArgument>> argumentPatterns = bridge
+      .invokeSWRLBuiltIn("q1", builtInName, 0, false, new ArrayList<>(Arrays.asList(arguments)));
+
+    assertEquals(1, argumentPatterns.size());
+
+    return argumentPatterns.get(0).get(0);
+  }
+
+  private int value(SWRLBuiltInArgument argument)
+  {
+    return new BigDecimal(((SWRLLiteralBuiltInArgument)argument).getLiteral().getLiteral()).intValueExact();
+  }
+
+  private SWRLLiteralBuiltInArgument literal(int value)
+  {
+    return this.builtInArgumentFactory.getLiteralBuiltInArgument(value);
+  }
+
+  private SWRLBuiltInArgument variable(String name)
+  {
+    return this.builtInArgumentFactory.getUnboundVariableBuiltInArgument(iri(name));
+  }
+}
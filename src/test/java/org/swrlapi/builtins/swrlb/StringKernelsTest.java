@@ -0,0 +1,72 @@
+package org.swrlapi.builtins.swrlb;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @see StringKernels
+ */
+public class StringKernelsTest
+{
+  @Test public void testConcat()
+  {
+    assertEquals("abcdef", StringKernels.concat(new String[] { "ab", "", "cd", "ef" }));
+    assertEquals("", StringKernels.concat(new String[] {}));
+  }
+
+  @Test public void testCaseMapping()
+  {
+    assertEquals("ABC-123", StringKernels.upperCase("abC-123"));
+    assertEquals("abc-123", StringKernels.lowerCase("AbC-123"));
+    assertEquals("STRASSE ÉTÉ", StringKernels.upperCase("straße été"));
+    assertEquals("été", StringKernels.lowerCase("ÉTÉ"));
+  }
+
+  @Test public void testUnchangedStringIsReturned()
+  {
+    String s = "ABC-123";
+
+    assertSame(s, StringKernels.upperCase(s));
+    assertSame(s, StringKernels.translate(s, "xyz", "XYZ"));
+    assertSame(s, StringKernels.normalizeSpace(s));
+  }
+
+  @Test public void testContainsIgnoreCase()
+  {
+    assertTrue(StringKernels.containsIgnoreCase("Hello World", "lo wOR"));
+    assertTrue(StringKernels.containsIgnoreCase("Hello", ""));
+    assertFalse(StringKernels.containsIgnoreCase("Hello", "Help"));
+    assertFalse(StringKernels.containsIgnoreCase("He", "Hello"));
+    assertTrue(StringKernels.containsIgnoreCase("Grüße", "RÜ"));
+  }
+
+  @Test public void testTranslateFollowsXPath()
+  {
+    assertEquals("BAr", StringKernels.translate("bar", "abc", "ABC"));
+    assertEquals("AAA", StringKernels.translate("--aaa--", "abc-", "ABC"));
+    assertEquals("ABdAB", StringKernels.translate("abcdabc", "abc", "AB"));
+    assertEquals("xxb", StringKernels.translate("aab", "aa", "xy"));
+    assertEquals("yxb", StringKernels.translate("a😀b", "😀a", "xy"));
+  }
+
+  @Test public void testNormalizeSpace()
+  {
+    assertEquals("a b c", StringKernels.normalizeSpace("  a \t b\n\nc  "));
+    assertEquals("a b", StringKernels.normalizeSpace(" a b "));
+    assertEquals("", StringKernels.normalizeSpace(" \t "));
+  }
+
+  @Test public void testTokenize()
+  {
+    assertEquals(Arrays.asList("a", "b", "c"), StringKernels.tokenize(" a,,b;c ", ",;"));
+    assertEquals(Collections.singletonList("a b"), StringKernels.tokenize("a b", ","));
+    assertEquals(Collections.emptyList(), StringKernels.tokenize(",;,", ",;"));
+  }
+}
@@ -0,0 +1,213 @@
+package org.swrlapi.builtins.temporal;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.swrlapi.builtins.SWRLBuiltInBridge;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.factory.SWRLBuiltInArgumentFactory;
+import org.swrlapi.test.IntegrationTestBase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ClassAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.DataProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.DataPropertyAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Literal;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.NamedIndividual;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectPropertyAssertion;
+import static org.swrlapi.factory.SWRLAPIInternalFactory.createOWL2RLPersistenceLayer;
+import static org.swrlapi.factory.SWRLAPIInternalFactory.createSWRLAPIOntology;
+import static org.swrlapi.factory.SWRLAPIInternalFactory.createSWRLBridge;
+
+/**
+ * Temporal built-ins whose arguments are valid periods and extended propositions, which are looked up in the library's
+ * {@link ValidTimeIndex}.
+ */
+public class SWRLBuiltInLibraryImplTest extends IntegrationTestBase
+{
+  private static final OWLNamedIndividual P1 = NamedIndividual(iri(NS + "p1"));
+  private static final OWLNamedIndividual P2 = NamedIndividual(iri(NS + "p2"));
+  private static final OWLNamedIndividual P3 = NamedIndividual(iri(NS + "p3"));
+  private static final OWLNamedIndividual E2 = NamedIndividual(iri(NS + "e2"));
+
+  private OWLOntology ontology;
+  private SWRLBuiltInBridge bridge;
+  private SWRLBuiltInArgumentFactory argumentFactory;
+  private SWRLBuiltInLibraryImpl library;
+
+  @Before public void setUp() throws Exception
+  {
+    this.ontology = OWLManager.createOWLOntologyManager().createOntology();
+    addValidPeriod(this.ontology, P1, "2000-01-01T00:00:00", "2000-01-10T00:00:00");
+    addValidPeriod(this.ontology, P2, "2000-01-03T00:00:00", "2000-01-05T00:00:00");
+    addOWLAxioms(this.ontology,
+      ClassAssertion(Class(iri(SWRLBuiltInLibraryImpl.ExtendedPropositionClassName)), E2),
+      ObjectPropertyAssertion(ObjectProperty(iri(SWRLBuiltInLibraryImpl.HasValidTimePropertyName)), E2, P2));
+
+    SWRLAPIOWLOntology swrlapiOWLOntology = createSWRLAPIOntology(this.ontology);
+
+    this.bridge = createSWRLBridge(swrlapiOWLOntology, createOWL2RLPersistenceLayer(this.ontology));
+    this.argumentFactory = swrlapiOWLOntology.getSWRLAPIOWLDataFactory().getSWRLBuiltInArgumentFactory();
+    this.library = new SWRLBuiltInLibraryImpl();
+    this.library.invokeResetMethod(this.bridge);
+  }
+
+  @After public void tearDown()
+  {
+    this.library.close();
+  }
+
+  @Test public void TestValidPeriodArguments() throws Exception
+  {
+    assertTrue(invoke("during", individual(P2), individual(P1)));
+    assertFalse(invoke("during", individual(P1), individual(P2)));
+    assertTrue(invoke("contains", individual(P1), individual(P2)));
+  }
+
+  @Test public void TestExtendedPropositionArguments() throws Exception
+  {
+    assertTrue(invoke("during", individual(E2), individual(P1)));
+    assertFalse(invoke("before", individual(E2), individual(P1)));
+  }
+
+  @Test public void TestChangedValidTimesAreSeen() throws Exception
+  {
+    assertTrue(invoke("during", individual(P2), individual(P1)));
+
+    changeFinishTime(P2, "2000-01-05T00:00:00", "2000-01-20T00:00:00");
+
+    assertFalse(invoke("during", individual(P2), individual(P1)));
+    assertTrue(invoke("overlaps", individual(P1), individual(P2)));
+  }
+
+  @Test public void TestResetLibraryRebuildsTheIndex() throws Exception
+  {
+    assertTrue(invoke("during", individual(P2), individual(P1)));
+
+    this.library.invokeResetMethod(this.bridge);
+    changeFinishTime(P2, "2000-01-05T00:00:00", "2000-01-20T00:00:00");
+
+    assertFalse(invoke("during", individual(P2), individual(P1)));
+  }
+
+  @Test public void TestIntervalJoinWithUnboundFirstArgument() throws Exception
+  {
+    assertEquals(iris(P2, E2), join(this.bridge, "during", unbound("p"), individual(P1)));
+    assertEquals(iris(P1), join(this.bridge, "contains", unbound("p"), individual(P2)));
+    assertEquals(iris(), join(this.bridge, "before", unbound("p"), individual(P1)));
+  }
+
+  @Test public void TestIntervalJoinWithUnboundSecondArgument() throws Exception
+  {
+    assertEquals(iris(P2, E2), join(this.bridge, "contains", individual(P1), unbound("p")));
+    assertEquals(iris(P1), join(this.bridge, "during", individual(E2), unbound("p")));
+  }
+
+  @Test public void TestIntervalJoinSeesChangedValidTimes() throws Exception
+  {
+    assertEquals(iris(P2, E2), join(this.bridge, "during", unbound("p"), individual(P1)));
+
+    addValidPeriod(this.ontology, P3, "2000-01-04T00:00:00", "2000-01-06T00:00:00");
+    changeFinishTime(P2, "2000-01-05T00:00:00", "2000-01-20T00:00:00");
+
+    assertEquals(iris(P3), join(this.bridge, "during", unbound("p"), individual(P1)));
+  }
+
+  @Test public void TestIntervalJoinOnAnotherOntology() throws Exception
+  {
+    OWLOntology otherOntology = OWLManager.createOWLOntologyManager().createOntology();
+    addValidPeriod(otherOntology, P1, "2000-01-01T00:00:00", "2000-01-10T00:00:00");
+    addValidPeriod(otherOntology, P3, "2000-01-04T00:00:00", "2000-01-06T00:00:00");
+    SWRLBuiltInBridge otherBridge = createSWRLBridge(createSWRLAPIOntology(otherOntology),
+      createOWL2RLPersistenceLayer(otherOntology));
+
+    assertEquals(iris(P2, E2), join(this.bridge, "during", unbound("p"), individual(P1)));
+    assertEquals(iris(P3), join(otherBridge, "during", unbound("p"), individual(P1))); // Also at version 0
+    assertEquals(iris(P2, E2), join(this.bridge, "during", unbound("p"), individual(P1)));
+  }
+
+  private boolean invoke(String builtInMethodName, SWRLBuiltInArgument... arguments) throws Exception
+  {
+    return invoke(this.bridge, builtInMethodName, new ArrayList<>(Arrays.asList(arguments)));
+  }
+
+  private boolean invoke(SWRLBuiltInBridge bridge, String builtInMethodName, List<SWRLBuiltInArgument> arguments)
+    throws Exception
+  {
+    return this.library.invokeBuiltInMethod(SWRLBuiltInLibraryImpl.class.getMethod(builtInMethodName, List.class),
+      bridge, "r1", "temporal", builtInMethodName, 0, false, arguments);
+  }
+
+  /**
+   * @return The individuals bound to the single unbound argument of an interval join
+   */
+  private Set<IRI> join(SWRLBuiltInBridge bridge, String builtInMethodName, SWRLBuiltInArgument... arguments)
+    throws Exception
+  {
+    List<SWRLBuiltInArgument> argumentList = new ArrayList<>(Arrays.asList(arguments));
+    Set<IRI> partners = new HashSet<>();
+
+    if (invoke(bridge, builtInMethodName, argumentList)) {
+      for (SWRLBuiltInArgument argument : argumentList)
+        if (argument.isVariable() && argument.asVariable().hasBuiltInResult())
+          for (SWRLBuiltInArgument partner : argument.asVariable().getBuiltInResult().get().asMultiValueVariable()
+            .getArguments())
+            partners.add(partner.asSWRLNamedBuiltInArgument().getIRI());
+    }
+    return partners;
+  }
+
+  private Set<IRI> iris(OWLNamedIndividual... individuals)
+  {
+    Set<IRI> iris = new HashSet<>();
+
+    for (OWLNamedIndividual individual : individuals)
+      iris.add(individual.getIRI());
+
+    return iris;
+  }
+
+  private SWRLBuiltInArgument unbound(String variableName)
+  {
+    return this.argumentFactory.getUnboundVariableBuiltInArgument(iri(variableName));
+  }
+
+  private SWRLBuiltInArgument individual(OWLNamedIndividual individual)
+  {
+    return this.argumentFactory.getNamedIndividualBuiltInArgument(individual);
+  }
+
+  private void addValidPeriod(OWLOntology ontology, OWLNamedIndividual period, String startTime, String finishTime)
+  {
+    addOWLAxioms(ontology, ClassAssertion(Class(iri(SWRLBuiltInLibraryImpl.ValidPeriodClassName)), period),
+      DataPropertyAssertion(DataProperty(iri(SWRLBuiltInLibraryImpl.HasStartTimePropertyName)), period,
+        Literal(startTime)),
+      DataPropertyAssertion(DataProperty(iri(SWRLBuiltInLibraryImpl.HasFinishTimePropertyName)), period,
+        Literal(finishTime)));
+  }
+
+  private void changeFinishTime(OWLNamedIndividual period, String finishTime, String newFinishTime)
+  {
+    this.ontology.getOWLOntologyManager().removeAxiom(this.ontology,
+      DataPropertyAssertion(DataProperty(iri(SWRLBuiltInLibraryImpl.HasFinishTimePropertyName)), period,
+        Literal(finishTime)));
+    addOWLAxioms(this.ontology,
+      DataPropertyAssertion(DataProperty(iri(SWRLBuiltInLibraryImpl.HasFinishTimePropertyName)), period,
+        Literal(newFinishTime)));
+  }
+}
@@ -0,0 +1,146 @@
+package org.swrlapi.builtins.temporal;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.swrlapi.test.IntegrationTestBase;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ClassAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.DataProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.DataPropertyAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Literal;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.NamedIndividual;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectPropertyAssertion;
+
+/**
+ * @see ValidTimeIndex
+ */
+public class ValidTimeIndexTest extends IntegrationTestBase
+{
+  private static final OWLClass VALID_INSTANT = Class(iri(SWRLBuiltInLibraryImpl.ValidInstantClassName));
+  private static final OWLClass VALID_PERIOD = Class(iri(SWRLBuiltInLibraryImpl.ValidPeriodClassName));
+  private static final OWLClass EXTENDED_PROPOSITION = Class(iri(SWRLBuiltInLibraryImpl.ExtendedPropositionClassName));
+  private static final OWLDataProperty HAS_TIME = DataProperty(iri(SWRLBuiltInLibraryImpl.HasTimePropertyName));
+  private static final OWLDataProperty HAS_START_TIME = DataProperty(
+    iri(SWRLBuiltInLibraryImpl.HasStartTimePropertyName));
+  private static final OWLDataProperty HAS_FINISH_TIME = DataProperty(
+    iri(SWRLBuiltInLibraryImpl.HasFinishTimePropertyName));
+  private static final OWLObjectProperty HAS_VALID_TIME = ObjectProperty(
+    iri(SWRLBuiltInLibraryImpl.HasValidTimePropertyName));
+
+  private static final OWLNamedIndividual I1 = NamedIndividual(iri(NS + "i1"));
+  private static final OWLNamedIndividual P1 = NamedIndividual(iri(NS + "p1"));
+  private static final OWLNamedIndividual E1 = NamedIndividual(iri(NS + "e1"));
+
+  private static final String TIME = "2000-01-02T12:00:00";
+  private static final String START_TIME = "2000-01-01T00:00:00";
+  private static final String FINISH_TIME = "2000-01-10T00:00:00";
+
+  private OWLOntology ontology;
+  private Temporal temporal;
+  private ValidTimeIndex index;
+
+  @Before public void setUp() throws Exception
+  {
+    this.ontology = OWLManager.createOWLOntologyManager().createOntology();
+    addOWLAxioms(this.ontology, ClassAssertion(VALID_INSTANT, I1), DataPropertyAssertion(HAS_TIME, I1, Literal(TIME)),
+      ClassAssertion(VALID_PERIOD, P1), DataPropertyAssertion(HAS_START_TIME, P1, Literal(START_TIME)),
+      DataPropertyAssertion(HAS_FINISH_TIME, P1, Literal(FINISH_TIME)), ClassAssertion(EXTENDED_PROPOSITION, E1),
+      ObjectPropertyAssertion(HAS_VALID_TIME, E1, P1));
+
+    this.temporal = new Temporal(new XSDDateTimeStringProcessor());
+    this.temporal.setNow();
+    this.index = new ValidTimeIndex(this.temporal, this.ontology);
+  }
+
+  @After public void tearDown()
+  {
+    this.index.close();
+  }
+
+  @Test public void TestTypesAndValidTimes()
+  {
+    assertEquals(3, this.index.size());
+    assertEquals(new HashSet<>(Arrays.asList(I1.getIRI(), P1.getIRI(), E1.getIRI())),
+      new HashSet<>(this.index.getTemporalIndividualIRIs()));
+    assertTrue(this.index.isOfType(I1.getIRI(), VALID_INSTANT.getIRI()));
+    assertFalse(this.index.isOfType(I1.getIRI(), VALID_PERIOD.getIRI()));
+    assertTrue(this.index.isOfType(P1.getIRI(), VALID_PERIOD.getIRI()));
+    assertTrue(this.index.isOfType(E1.getIRI(), EXTENDED_PROPOSITION.getIRI()));
+    assertEquals(P1.getIRI(), this.index.getValidTime(E1.getIRI()).get());
+    assertFalse(this.index.getValidTime(I1.getIRI()).isPresent());
+  }
+
+  @Test public void TestInstantsAtEachGranularity() throws Exception
+  {
+    for (int granularity = Temporal.YEARS; granularity <= Temporal.FINEST; granularity++) {
+      assertEquals(new Instant(this.temporal, TIME, granularity).getGranuleCount(granularity),
+        this.index.getInstant(I1.getIRI(), granularity).get().getGranuleCount(granularity));
+      assertEquals(new Instant(this.temporal, TIME, granularity).getGranuleCount(granularity),
+        this.index.getInstant(I1.getIRI(), granularity).get().getGranuleCount(granularity)); // Parsed once
+    }
+    assertFalse(this.index.getInstant(P1.getIRI(), Temporal.DAYS).isPresent());
+  }
+
+  @Test public void TestPeriodsAtEachGranularity() throws Exception
+  {
+    for (int granularity = Temporal.YEARS; granularity <= Temporal.FINEST; granularity++) {
+      Period expected = new Period(this.temporal, START_TIME, FINISH_TIME);
+      Period period = this.index.getPeriod(P1.getIRI(), granularity).get();
+
+      assertEquals(expected.getStartGranuleCount(granularity), period.getStartGranuleCount(granularity));
+      assertEquals(expected.getFinishGranuleCount(granularity), period.getFinishGranuleCount(granularity));
+    }
+    assertFalse(this.index.getPeriod(I1.getIRI(), Temporal.DAYS).isPresent());
+  }
+
+  @Test public void TestChangedAssertionsUpdateTheIndex() throws Exception
+  {
+    long version = this.index.getVersion();
+    String newFinishTime = "2000-02-01T00:00:00";
+
+    this.index.getPeriod(P1.getIRI(), Temporal.DAYS); // Parse the original finish time
+    this.ontology.getOWLOntologyManager()
+      .removeAxiom(this.ontology, DataPropertyAssertion(HAS_FINISH_TIME, P1, Literal(FINISH_TIME)));
+    addOWLAxioms(this.ontology, DataPropertyAssertion(HAS_FINISH_TIME, P1, Literal(newFinishTime)));
+
+    assertNotEquals(version, this.index.getVersion());
+    assertEquals(new Instant(this.temporal, newFinishTime, Temporal.DAYS).getGranuleCount(Temporal.DAYS),
+      this.index.getPeriod(P1.getIRI(), Temporal.DAYS).get().getFinishGranuleCount(Temporal.DAYS));
+  }
+
+  @Test public void TestUnrelatedAssertionsKeepTheVersion()
+  {
+    long version = this.index.getVersion();
+
+    addOWLAxioms(this.ontology, ClassAssertion(Class(iri(NS + "A")), I1));
+
+    assertEquals(version, this.index.getVersion());
+  }
+
+  @Test public void TestClosedIndexIsNotUpdated()
+  {
+    long version = this.index.getVersion();
+
+    this.index.close();
+    addOWLAxioms(this.ontology, ClassAssertion(VALID_PERIOD, I1));
+
+    assertEquals(version, this.index.getVersion());
+    assertFalse(this.index.isOfType(I1.getIRI(), VALID_PERIOD.getIRI()));
+  }
+}
@@ -0,0 +1,246 @@
+package org.swrlapi.engine;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.SWRLRule;
+import org.swrlapi.core.SWRLRuleEngine;
+import org.swrlapi.factory.SWRLAPIFactory;
+import org.swrlapi.sqwrl.SQWRLQueryEngine;
+import org.swrlapi.sqwrl.SQWRLResult;
+import org.swrlapi.test.IntegrationTestBase;
+
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ClassAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.DataProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.DataPropertyAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Declaration;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Literal;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.NamedIndividual;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectPropertyAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.SameIndividual;
+
+/**
+ * @see SemiNaiveSWRLRuleEngine
+ */
+public class SemiNaiveSWRLRuleEngineTest extends IntegrationTestBase
+{
+  private static final OWLClass PERSON = Class(iri("Person"));
+  private static final OWLClass ADULT = Class(iri("Adult"));
+  private static final OWLObjectProperty HAS_PARENT = ObjectProperty(iri("hasParent"));
+  private static final OWLObjectProperty HAS_ANCESTOR = ObjectProperty(iri("hasAncestor"));
+  private static final OWLDataProperty HAS_AGE = DataProperty(iri("hasAge"));
+  private static final OWLDataProperty HAS_AGE_NEXT_YEAR = DataProperty(iri("hasAgeNextYear"));
+  private static final OWLNamedIndividual P1 = NamedIndividual(iri("p1"));
+  private static final OWLNamedIndividual P2 = NamedIndividual(iri("p2"));
+
+  private OWLOntology ontology;
+
+  @Before public void setUp() throws Exception
+  {
+    this.ontology = OWLManager.createOWLOntologyManager().createOntology();
+
+    addOWLAxioms(this.ontology, Declaration(PERSON), Declaration(ADULT), Declaration(HAS_PARENT),
+      Declaration(HAS_ANCESTOR), Declaration(HAS_AGE), Declaration(HAS_AGE_NEXT_YEAR), Declaration(P1),
+      Declaration(P2), ClassAssertion(PERSON, P1), ClassAssertion(PERSON, P2),
+      DataPropertyAssertion(HAS_AGE, P1, Literal(10)), DataPropertyAssertion(HAS_AGE, P2, Literal(20)));
+  }
+
+  @Test public void TestTransitiveClosure() throws Exception
+  {
+    final int chainLength = 20;
+
+    for (int i = 0; i < chainLength; i++)
+      addOWLAxioms(this.ontology, Declaration(NamedIndividual(iri("c" + i))));
+    for (int i = 0; i < chainLength - 1; i++)
+      addOWLAxioms(this.ontology,
+        ObjectPropertyAssertion(HAS_PARENT, NamedIndividual(iri("c" + i)), NamedIndividual(iri("c" + (i + 1)))));
+
+    SWRLRuleEngine ruleEngine = createRuleEngine();
+    ruleEngine.createSWRLRule("r1", "hasParent(?x, ?y) -> hasAncestor(?x, ?y)");
+    ruleEngine.createSWRLRule("r2", "hasAncestor(?x, ?y) ^ hasAncestor(?y, ?z) -> hasAncestor(?x, ?z)");
+    ruleEngine.infer();
+
+    assertEquals(chainLength * (chainLength - 1) / 2, countObjectPropertyAssertions(ruleEngine, HAS_ANCESTOR));
+  }
+
+  @Test public void TestJoinWithFilterBuiltIn() throws Exception
+  {
+    SWRLRuleEngine ruleEngine = createRuleEngine();
+    ruleEngine.createSWRLRule("r1", "Person(?p) ^ hasAge(?p, ?a) ^ swrlb:greaterThan(?a, 17) -> Adult(?p)");
+    ruleEngine.infer();
+
+    Set<OWLAxiom> inferredAxioms = ruleEngine.getInferredOWLAxioms();
+
+    assertTrue(inferredAxioms.contains(ClassAssertion(ADULT, P2)));
+    assertFalse(inferredAxioms.contains(ClassAssertion(ADULT, P1)));
+  }
+
+  @Test public void TestRuleActivationChangeIsSeenByNextInference() throws Exception
+  {
+    SWRLRuleEngine ruleEngine = createRuleEngine();
+    ruleEngine.createSWRLRule("r1", "Person(?p) ^ hasAge(?p, ?a) ^ swrlb:greaterThan(?a, 17) -> Adult(?p)");
+    setRuleEnabled(ruleEngine, false);
+    ruleEngine.infer();
+
+    assertFalse(ruleEngine.getInferredOWLAxioms().contains(ClassAssertion(ADULT, P2)));
+
+    setRuleEnabled(ruleEngine, true); // No asserted axiom changes
+    ruleEngine.infer();
+
+    assertTrue(ruleEngine.getInferredOWLAxioms().contains(ClassAssertion(ADULT, P2)));
+  }
+
+  @Test public void TestBuiltInBindsVariable() throws Exception
+  {
+    SWRLRuleEngine ruleEngine = createRuleEngine();
+    ruleEngine.createSWRLRule("r1", "Person(?p) ^ hasAge(?p, ?a) ^ swrlb:add(?n, ?a, 1) -> hasAgeNextYear(?p, ?n)");
+    ruleEngine.infer();
+
+    long count = ruleEngine.getInferredOWLAxioms().stream()
+      .filter(axiom -> axiom instanceof OWLDataPropertyAssertionAxiom)
+      .filter(axiom -> ((OWLDataPropertyAssertionAxiom)axiom).getProperty().equals(HAS_AGE_NEXT_YEAR)).count();
+
+    assertEquals(2, count);
+  }
+
+  @Test public void TestSQWRLSelect() throws Exception
+  {
+    SQWRLQueryEngine queryEngine = createQueryEngine();
+    SQWRLResult result = queryEngine.runSQWRLQuery("q1", "Person(?p) ^ hasAge(?p, ?a) -> sqwrl:select(?p, ?a)");
+
+    assertEquals(2, result.getNumberOfRows());
+  }
+
+  @Test public void TestSQWRLSelectAfterRuleInference() throws Exception
+  {
+    SQWRLQueryEngine queryEngine = createQueryEngine();
+    queryEngine.createSWRLRule("r1", "Person(?p) ^ hasAge(?p, ?a) ^ swrlb:greaterThan(?a, 17) -> Adult(?p)");
+    SQWRLResult result = queryEngine.runSQWRLQuery("q1", "Adult(?p) -> sqwrl:select(?p)");
+
+    assertTrue(result.next());
+    assertEquals(P2.getIRI(), result.getNamedIndividual("p").getIRI());
+    assertFalse(result.next());
+  }
+
+  @Test public void TestSQWRLCollectionSize() throws Exception
+  {
+    SQWRLQueryEngine queryEngine = createQueryEngine();
+    SQWRLResult result = queryEngine
+      .runSQWRLQuery("q1", "Person(?p) . sqwrl:makeSet(?s, ?p) . sqwrl:size(?n, ?s) -> sqwrl:select(?n)");
+
+    assertTrue(result.next());
+    assertEquals(2, result.getLiteral("n").getInt());
+    assertFalse(result.next());
+  }
+
+  @Test public void TestSameIndividualFactsAreJoined() throws Exception
+  {
+    OWLNamedIndividual p3 = NamedIndividual(iri("p3"));
+    addOWLAxioms(this.ontology, Declaration(p3), SameIndividual(P2, p3), ObjectPropertyAssertion(HAS_PARENT, p3, P1));
+
+    SQWRLQueryEngine queryEngine = createQueryEngine();
+    queryEngine.createSWRLRule("r1",
+      "Person(?x) ^ hasAge(?x, ?a) ^ swrlb:greaterThan(?a, 17) ^ hasParent(?x, ?y) -> hasAncestor(?x, ?y)");
+    SQWRLResult result = queryEngine.runSQWRLQuery("q1", "hasAncestor(?x, ?y) -> sqwrl:select(?x, ?y)");
+
+    assertEquals(2, result.getNumberOfRows()); // One for each of p2 and p3
+  }
+
+  @Test public void TestInferredSameIndividual() throws Exception
+  {
+    OWLNamedIndividual c1 = NamedIndividual(iri("c1")), c2 = NamedIndividual(iri("c2"));
+    addOWLAxioms(this.ontology, Declaration(c1), Declaration(c2), ObjectPropertyAssertion(HAS_PARENT, c1, P1),
+      ObjectPropertyAssertion(HAS_PARENT, c1, P2), ObjectPropertyAssertion(HAS_PARENT, c2, P1));
+
+    SQWRLQueryEngine queryEngine = createQueryEngine();
+    queryEngine.createSWRLRule("r1", "hasParent(?x, ?y) ^ hasParent(?x, ?z) -> sameAs(?y, ?z)");
+    SQWRLResult result = queryEngine.runSQWRLQuery("q1", "hasParent(c2, ?p) -> sqwrl:select(?p)");
+
+    assertEquals(2, result.getNumberOfRows()); // p1 and p2, which are the same
+  }
+
+  @Test public void TestParallelSQWRLQueries() throws Exception
+  {
+    SQWRLQueryEngine queryEngine = createQueryEngine();
+    queryEngine.createSWRLRule("r1", "Person(?p) ^ hasAge(?p, ?a) ^ swrlb:greaterThan(?a, 17) -> Adult(?p)");
+    queryEngine.createSQWRLQuery("q1", "Adult(?p) -> sqwrl:select(?p)");
+    queryEngine.createSQWRLQuery("q2", "Person(?p) ^ hasAge(?p, ?a) -> sqwrl:select(?p, ?a)");
+    queryEngine.createSQWRLQuery("q3", "Person(?p) . sqwrl:makeSet(?s, ?p) . sqwrl:size(?n, ?s) -> sqwrl:select(?n)");
+    queryEngine.createSQWRLQuery("q4", "Adult(?p) . sqwrl:makeSet(?s, ?p) . sqwrl:size(?n, ?s) -> sqwrl:select(?n)");
+    queryEngine.runSQWRLQueries(3);
+
+    assertEquals(1, queryEngine.getSQWRLResult("q1").getNumberOfRows());
+    assertEquals(2, queryEngine.getSQWRLResult("q2").getNumberOfRows());
+
+    SQWRLResult q3Result = queryEngine.getSQWRLResult("q3"), q4Result = queryEngine.getSQWRLResult("q4");
+
+    assertTrue(q3Result.next());
+    assertEquals(2, q3Result.getLiteral("n").getInt());
+    assertTrue(q4Result.next());
+    assertEquals(1, q4Result.getLiteral("n").getInt());
+  }
+
+  @Test public void TestParallelSQWRLQueriesSeeOntologyChanges() throws Exception
+  {
+    OWLNamedIndividual p3 = NamedIndividual(iri("p3"));
+    SQWRLQueryEngine queryEngine = createQueryEngine();
+    queryEngine.createSWRLRule("r1", "Person(?p) ^ hasAge(?p, ?a) ^ swrlb:greaterThan(?a, 17) -> Adult(?p)");
+    queryEngine.createSQWRLQuery("q1", "Adult(?p) -> sqwrl:select(?p)");
+    queryEngine.createSQWRLQuery("q2", "Person(?p) -> sqwrl:select(?p)");
+    queryEngine.runSQWRLQueries(2);
+
+    addOWLAxioms(this.ontology, Declaration(p3), ClassAssertion(PERSON, p3),
+      DataPropertyAssertion(HAS_AGE, p3, Literal(30)));
+    queryEngine.runSQWRLQueries(2); // Reuses the sessions
+
+    assertEquals(2, queryEngine.getSQWRLResult("q1").getNumberOfRows());
+    assertEquals(3, queryEngine.getSQWRLResult("q2").getNumberOfRows());
+
+    queryEngine.close();
+  }
+
+  private SWRLRuleEngine createRuleEngine()
+  {
+    return SWRLAPIFactory.createSWRLRuleEngine(SemiNaiveSWRLRuleEngineCreator.RULE_ENGINE_NAME, this.ontology);
+  }
+
+  private SQWRLQueryEngine createQueryEngine()
+  {
+    return SWRLAPIFactory.createSQWRLQueryEngine(SemiNaiveSWRLRuleEngineCreator.RULE_ENGINE_NAME, this.ontology);
+  }
+
+  /**
+   * Replace the single rule of the ontology with a copy whose enabled annotation has the given value
+   */
+  private void setRuleEnabled(SWRLRuleEngine ruleEngine, boolean isRuleEnabled)
+  {
+    SWRLRule rule = this.ontology.getAxioms(AxiomType.SWRL_RULE).iterator().next();
+    SWRLRule annotatedRule = rule.getAxiomWithoutAnnotations()
+      .getAnnotatedAxiom(ruleEngine.getSWRLAPIOWLOntology().generateRuleAnnotations("r1", "", isRuleEnabled));
+
+    this.ontology.getOWLOntologyManager().removeAxiom(this.ontology, rule);
+    addOWLAxioms(this.ontology, annotatedRule);
+  }
+
+  private static long countObjectPropertyAssertions(SWRLRuleEngine ruleEngine, OWLObjectProperty property)
+  {
+    return ruleEngine.getInferredOWLAxioms().stream().filter(axiom -> axiom instanceof OWLObjectPropertyAssertionAxiom)
+      .filter(axiom -> ((OWLObjectPropertyAssertionAxiom)axiom).getProperty().equals(property)).count();
+  }
+}
@@ -0,0 +1,226 @@
+package org.swrlapi.factory;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.swrlapi.core.IRIResolver;
+import org.swrlapi.sqwrl.SQWRLResultExporter;
+import org.swrlapi.sqwrl.values.SQWRLClassResultValue;
+import org.swrlapi.sqwrl.values.SQWRLResultValue;
+import org.swrlapi.sqwrl.values.SQWRLResultValueType;
+import org.swrlapi.test.IntegrationTestBase;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DefaultSQWRLResultExporterTest extends IntegrationTestBase
+{
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private SQWRLResultValueFactory valueFactory;
+  private DefaultSQWRLResultManager result;
+  private SQWRLResultExporter exporter;
+
+  @Before public void setUp()
+  {
+    IRIResolver iriResolver = SWRLAPIFactory.createIRIResolver();
+
+    this.valueFactory = SWRLAPIInternalFactory.createSQWRLResultValueFactory(iriResolver);
+    this.result = new DefaultSQWRLResultManager(iriResolver);
+    this.exporter = SWRLAPIFactory.createSQWRLResultExporter();
+  }
+
+  @Test public void TestCSVQuotesFieldsAsRFC4180Requires() throws Exception
+  {
+    prepare(Arrays.asList("name", "note"), row(literal("a,b"), literal("say \"hi\"")),
+      row(literal("plain"), literal("line\nbreak")));
+
+    assertEquals("name,note\r\n\"a,b\",\"say \"\"hi\"\"\"\r\nplain,\"line\nbreak\"\r\n",
+      export(SQWRLResultExporter.Format.CSV));
+  }
+
+  @Test public void TestTSVQuotesOnlyFieldsContainingTabs() throws Exception
+  {
+    prepare(Arrays.asList("name", "note"), row(literal("a,b"), literal("a\tb")));
+
+    assertEquals("name\tnote\r\na,b\t\"a\tb\"\r\n", export(SQWRLResultExporter.Format.TSV));
+  }
+
+  @Test public void TestNonASCIITextIsEncodedAsUTF8() throws Exception
+  {
+    String text = "caf\u00e9 \u20ac \ud83d\ude00";
+
+    prepare(Arrays.asList("c"), row(literal(text)));
+
+    assertEquals("c\r\n" + text + "\r\n", export(SQWRLResultExporter.Format.CSV));
+  }
+
+  @Test public void TestEntitiesAreWrittenAsPrefixedNames() throws Exception
+  {
+    SQWRLClassResultValue cls = this.valueFactory.getClassValue(iri("A"));
+
+    prepare(Arrays.asList("c"), row(cls));
+
+    assertEquals("c\r\n" + cls.getPrefixedName() + "\r\n", export(SQWRLResultExporter.Format.CSV));
+  }
+
+  @Test public void TestExportDoesNotMoveCursor() throws Exception
+  {
+    prepare(Arrays.asList("c"), row(literal("x")), row(literal("y")));
+    this.result.next();
+
+    export(SQWRLResultExporter.Format.CSV);
+
+    assertEquals("x", this.result.getValue(0).asLiteralResult().getValue());
+    assertTrue(this.result.next());
+    assertEquals("y", this.result.getValue(0).asLiteralResult().getValue());
+  }
+
+  @Test public void TestBinaryRepeatedValuesAreDictionaryReferences() throws Exception
+  {
+    SQWRLClassResultValue cls = this.valueFactory.getClassValue(iri("A"));
+
+    prepare(Arrays.asList("c", "n"), row(cls, this.valueFactory.getLiteralValue(1)),
+      row(cls, this.valueFactory.getLiteralValue(1)), row(cls, this.valueFactory.getLiteralValue(2)));
+    ByteBuffer buffer = ByteBuffer.wrap(exportBytes(SQWRLResultExporter.Format.BINARY));
+
+    assertEquals("SQRB", new String(bytes(buffer, 4), StandardCharsets.US_ASCII));
+    assertEquals(1, buffer.get());
+    assertEquals(2, readVarint(buffer));
+    assertEquals("c", readString(buffer));
+    assertEquals("n", readString(buffer));
+    assertEquals(3, readVarint(buffer));
+
+    // Row 1: both values are new
+    assertEquals(0, readVarint(buffer));
+    assertEquals(SQWRLResultValueType.VALUES.indexOf(SQWRLResultValueType.CLASS), buffer.get());
+    assertEquals(cls.getPrefixedName(), readString(buffer));
+    assertEquals(0, readVarint(buffer));
+    assertEquals(SQWRLResultValueType.VALUES.indexOf(SQWRLResultValueType.LITERAL), buffer.get());
+    assertEquals(0, readVarint(buffer));
+    String datatype = readString(buffer);
+    assertEquals("1", readString(buffer));
+
+    // Row 2: both values refer to the first entries of their column dictionaries
+    assertEquals(2, readVarint(buffer));
+    assertEquals(2, readVarint(buffer));
+
+    // Row 3: a new literal whose datatype refers to the datatype dictionary
+    assertEquals(2, readVarint(buffer));
+    assertEquals(0, readVarint(buffer));
+    assertEquals(SQWRLResultValueType.VALUES.indexOf(SQWRLResultValueType.LITERAL), buffer.get());
+    assertEquals(1, readVarint(buffer));
+    assertEquals("2", readString(buffer));
+    assertEquals(0, buffer.remaining());
+    assertEquals(this.valueFactory.getLiteralValue(1).getDatatypePrefixedName(), datatype);
+  }
+
+  @Test public void TestBinarySameTextOfDifferentDatatypeIsNotShared() throws Exception
+  {
+    prepare(Arrays.asList("c"), row(literal("1")), row(this.valueFactory.getLiteralValue(1)), row(literal("1")),
+      row(this.valueFactory.getLiteralValue(1)));
+    ByteBuffer buffer = ByteBuffer.wrap(exportBytes(SQWRLResultExporter.Format.BINARY));
+
+    buffer.position(4 + 1 + 1 + 2 + 1); // Magic, version, column count, column name, row count
+    assertEquals(0, readVarint(buffer));
+    buffer.get();
+    assertEquals(0, readVarint(buffer));
+    readString(buffer);
+    assertEquals("1", readString(buffer));
+
+    assertEquals(0, readVarint(buffer)); // Not a reference to the string literal
+    buffer.get();
+    assertEquals(0, readVarint(buffer)); // A second datatype
+    readString(buffer);
+    assertEquals("1", readString(buffer));
+
+    assertEquals(2, readVarint(buffer)); // Both values refer to their own entries
+    assertEquals(3, readVarint(buffer));
+    assertEquals(0, buffer.remaining());
+  }
+
+  @Test public void TestMappedExportMatchesStreamExport() throws Exception
+  {
+    prepare(Arrays.asList("name", "note"), row(literal("a,b"), this.valueFactory.getLiteralValue(42)),
+      row(literal("c"), this.valueFactory.getClassValue(iri("A"))));
+    Path file = this.temporaryFolder.newFile().toPath();
+
+    for (SQWRLResultExporter.Format format : SQWRLResultExporter.Format.values()) {
+      this.exporter.exportMapped(this.result, format, file);
+
+      assertArrayEquals(format.toString(), exportBytes(format), Files.readAllBytes(file));
+    }
+  }
+
+  @SafeVarargs private final void prepare(List<String> columnNames, List<SQWRLResultValue>... rows) throws Exception
+  {
+    this.result.addColumns(columnNames);
+    this.result.configured();
+    for (List<SQWRLResultValue> row : rows)
+      this.result.addRow(row);
+    this.result.prepared();
+  }
+
+  private List<SQWRLResultValue> row(SQWRLResultValue... values)
+  {
+    return Arrays.asList(values);
+  }
+
+  private SQWRLResultValue literal(String s)
+  {
+    return this.valueFactory.getLiteralValue(s);
+  }
+
+  private String export(SQWRLResultExporter.Format format) throws Exception
+  {
+    return new String(exportBytes(format), StandardCharsets.UTF_8);
+  }
+
+  private byte[] exportBytes(SQWRLResultExporter.Format format) throws Exception
+  {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    this.exporter.export(this.result, format, outputStream);
+
+    return outputStream.toByteArray();
+  }
+
+  private static int readVarint(ByteBuffer buffer)
+  {
+    int value = 0;
+    int shift = 0;
+    byte b;
+
+    do {
+      b = buffer.get();
+      value |= (b & 0x7F) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0);
+
+    return value;
+  }
+
+  private static String readString(ByteBuffer buffer)
+  {
+    return new String(bytes(buffer, readVarint(buffer)), StandardCharsets.UTF_8);
+  }
+
+  private static byte[] bytes(ByteBuffer buffer, int length)
+  {
+    byte[] bytes = new byte[length];
+
+    buffer.get(bytes);
+
+    return bytes;
+  }
+}
@@ -3,6 +3,7 @@ package org.swrlapi.factory;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
 import org.semanticweb.owlapi.model.OWLLiteral;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 
@@ -30,4 +31,37 @@ public class OWLLiteralFactoryTest
     Assert.assertTrue(literal.isBoolean());
     Assert.assertEquals(literal.getLiteral(), "true");
   }
+
+  @Test public void testGetOWLLiteralReturnsCanonicalInstances() throws Exception
+  {
+    Assert.assertSame(this.literalFactory.getOWLLiteral(true), this.literalFactory.getOWLLiteral(true));
+    Assert.assertSame(this.literalFactory.getOWLLiteral(42), this.literalFactory.getOWLLiteral(42));
+    Assert.assertSame(this.literalFactory.getOWLLiteral("a string"), this.literalFactory.getOWLLiteral("a string"));
+    Assert.assertSame(this.literalFactory.getOWLLiteral(42),
+      this.literalFactory.getOWLLiteral("42", this.datatypeFactory.getIntDatatype()));
+  }
+
+  @Test public void testCanonicalOWLLiteralsEqualFreshLiterals() throws Exception
+  {
+    OWLLiteral fresh = OWLManager.getOWLDataFactory()
+      .getOWLLiteral("123456789", this.datatypeFactory.getLongDatatype());
+
+    Assert.assertEquals(fresh, this.literalFactory.getOWLLiteral(123456789L));
+    Assert.assertEquals(fresh, this.literalFactory.getOWLLiteral(123456789L));
+    Assert.assertNotEquals(this.literalFactory.getOWLLiteral(1), this.literalFactory.getOWLLiteral(1L));
+  }
+
+  @Test public void testOWLLiteralCacheCountsHitsAndMisses() throws Exception
+  {
+    String s = "uncached " + System.nanoTime();
+    long misses = this.literalFactory.getNumberOfOWLLiteralCacheMisses();
+
+    this.literalFactory.getOWLLiteral(s);
+    Assert.assertTrue(this.literalFactory.getNumberOfOWLLiteralCacheMisses() > misses);
+
+    long hits = this.literalFactory.getNumberOfOWLLiteralCacheHits();
+
+    this.literalFactory.getOWLLiteral(s);
+    Assert.assertTrue(this.literalFactory.getNumberOfOWLLiteralCacheHits() > hits);
+  }
 }
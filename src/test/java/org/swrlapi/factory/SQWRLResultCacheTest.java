@@ -0,0 +1,125 @@
+package org.swrlapi.factory;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.swrlapi.engine.SemiNaiveSWRLRuleEngineCreator;
+import org.swrlapi.sqwrl.SQWRLResult;
+import org.swrlapi.sqwrl.exceptions.SQWRLException;
+import org.swrlapi.test.IntegrationTestBase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ClassAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Declaration;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.NamedIndividual;
+
+public class SQWRLResultCacheTest extends IntegrationTestBase
+{
+  private static final OWLClass A = Class(iri("A"));
+  private static final OWLClass B = Class(iri("B"));
+  private static final OWLClass C = Class(iri("C"));
+  private static final OWLNamedIndividual I1 = NamedIndividual(iri("i1"));
+  private static final OWLNamedIndividual I2 = NamedIndividual(iri("i2"));
+
+  private OWLOntology ontology;
+  private DefaultSWRLRuleAndQueryEngine queryEngine;
+
+  @Before public void setUp() throws Exception
+  {
+    this.ontology = OWLManager.createOWLOntologyManager().createOntology();
+    addOWLAxioms(this.ontology, Declaration(A), Declaration(B), Declaration(C), Declaration(I1), Declaration(I2),
+      ClassAssertion(A, I1));
+
+    this.queryEngine = (DefaultSWRLRuleAndQueryEngine)SWRLAPIFactory
+      .createSWRLRuleEngine(SemiNaiveSWRLRuleEngineCreator.RULE_ENGINE_NAME, this.ontology);
+    this.queryEngine.createSWRLRule("r1", "A(?x) -> B(?x)");
+    this.queryEngine.createSQWRLQuery("q1", "B(?x) -> sqwrl:select(?x)");
+  }
+
+  @After public void tearDown()
+  {
+    this.queryEngine.close();
+  }
+
+  @Test public void TestRepeatedQueryIsAnsweredFromCache() throws Exception
+  {
+    assertEquals(1, countRows(this.queryEngine.runSQWRLQuery("q1")));
+    assertEquals(0, this.queryEngine.getNumberOfSQWRLResultCacheHits());
+
+    SQWRLResult result = this.queryEngine.runSQWRLQuery("q1");
+
+    assertEquals(1, this.queryEngine.getNumberOfSQWRLResultCacheHits());
+    assertEquals(1, countRows(result));
+    assertTrue(result.next());
+    assertEquals(I1.getIRI(), result.getNamedIndividual(0).getIRI());
+  }
+
+  @Test public void TestUnrelatedAssertionKeepsResult() throws Exception
+  {
+    this.queryEngine.runSQWRLQuery("q1");
+    addOWLAxioms(this.ontology, ClassAssertion(C, I2));
+    this.queryEngine.runSQWRLQuery("q1");
+
+    assertEquals(1, this.queryEngine.getNumberOfSQWRLResultCacheHits());
+  }
+
+  @Test public void TestRelatedAssertionInvalidatesResult() throws Exception
+  {
+    this.queryEngine.runSQWRLQuery("q1");
+    addOWLAxioms(this.ontology, ClassAssertion(A, I2));
+    SQWRLResult result = this.queryEngine.runSQWRLQuery("q1");
+
+    assertEquals(0, this.queryEngine.getNumberOfSQWRLResultCacheHits());
+    assertEquals(2, countRows(result));
+  }
+
+  @Test public void TestRuleSelectionChangeInvalidatesResult() throws Exception
+  {
+    this.queryEngine.runSQWRLQuery("q1");
+    this.queryEngine.getOWL2RLEngine().disableAll();
+    this.queryEngine.runSQWRLQuery("q1");
+
+    assertEquals(0, this.queryEngine.getNumberOfSQWRLResultCacheHits());
+    assertEquals(2, this.queryEngine.getNumberOfSQWRLResultCacheMisses());
+  }
+
+  @Test public void TestRuleActivationChangeInvalidatesResult() throws Exception
+  {
+    this.queryEngine.runSQWRLQuery("q1");
+    this.queryEngine.replaceSWRLRule("r1", "r1", "A(?x) -> B(?x)", "", false);
+    SQWRLResult result = this.queryEngine.runSQWRLQuery("q1");
+
+    assertEquals(0, this.queryEngine.getNumberOfSQWRLResultCacheHits());
+    assertEquals(0, countRows(result));
+  }
+
+  @Test public void TestViewsHaveIndependentCursors() throws Exception
+  {
+    this.queryEngine.runSQWRLQuery("q1");
+    SQWRLResult first = this.queryEngine.runSQWRLQuery("q1");
+    SQWRLResult second = this.queryEngine.runSQWRLQuery("q1");
+
+    assertTrue(first.next());
+    assertFalse(first.next());
+    assertTrue(second.next());
+  }
+
+  private int countRows(SQWRLResult result) throws SQWRLException
+  {
+    int numberOfRows = 0;
+
+    result.reset();
+    while (result.next())
+      numberOfRows++;
+    result.reset();
+
+    return numberOfRows;
+  }
+}
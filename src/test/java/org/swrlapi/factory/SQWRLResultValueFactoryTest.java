@@ -11,8 +11,12 @@ import org.semanticweb.owlapi.model.OWLOntologyManager;
 import org.swrlapi.builtins.arguments.SWRLClassBuiltInArgument;
 import org.swrlapi.core.IRIResolver;
 import org.swrlapi.sqwrl.values.SQWRLClassResultValue;
+import org.swrlapi.sqwrl.values.SQWRLLiteralResultValue;
 
 import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertNotSame;
+import static junit.framework.TestCase.assertSame;
+import static junit.framework.TestCase.assertTrue;
 
 /**
  * @see SQWRLResultValueFactory
@@ -56,4 +60,58 @@ public class SQWRLResultValueFactoryTest
 
     assertEquals(classIRI, value.getIRI());
   }
+
+  @Test public void testGetLiteralValueReturnsCanonicalInstances() throws Exception
+  {
+    assertSame(this.resultValueFactory.getLiteralValue(false), this.resultValueFactory.getLiteralValue(false));
+    assertSame(this.resultValueFactory.getLiteralValue(7), this.resultValueFactory.getLiteralValue(7));
+    assertSame(this.resultValueFactory.getLiteralValue("Fred"), this.resultValueFactory.getLiteralValue("Fred"));
+    assertSame(this.resultValueFactory.getLiteralValue(7),
+      this.resultValueFactory.getLiteralValue(this.dataFactory.getOWLLiteral(7)));
+  }
+
+  @Test public void testCanonicalLiteralValuesEqualFreshValues() throws Exception
+  {
+    SQWRLLiteralResultValue value = this.resultValueFactory.getLiteralValue(2.5);
+    SQWRLLiteralResultValue fresh = SWRLAPIInternalFactory.createSQWRLResultValueFactory(this.iriResolver)
+      .getLiteralValue(this.dataFactory.getOWLLiteral(2.5));
+
+    assertEquals(fresh, value);
+    assertEquals(fresh.hashCode(), value.hashCode());
+  }
+
+  @Test public void testLanguageTaggedLiteralValuesAreNotCanonicalized() throws Exception
+  {
+    SQWRLLiteralResultValue english = this.resultValueFactory
+      .getLiteralValue(this.dataFactory.getOWLLiteral("chat", "en"));
+    SQWRLLiteralResultValue french = this.resultValueFactory
+      .getLiteralValue(this.dataFactory.getOWLLiteral("chat", "fr"));
+
+    assertNotSame(english, french);
+    assertEquals("en", english.getOWLLiteral().getLang());
+    assertEquals("fr", french.getOWLLiteral().getLang());
+  }
+
+  @Test public void testLiteralValueCacheCountsHits() throws Exception
+  {
+    String s = "cached " + System.nanoTime();
+
+    this.resultValueFactory.getLiteralValue(s);
+    long hits = this.resultValueFactory.getNumberOfLiteralValueCacheHits();
+    this.resultValueFactory.getLiteralValue(s);
+
+    assertTrue(this.resultValueFactory.getNumberOfLiteralValueCacheHits() > hits);
+  }
+
+  @Test public void testAlwaysCanonicalValuesAreNotCounted() throws Exception
+  {
+    long hits = this.resultValueFactory.getNumberOfLiteralValueCacheHits();
+    long misses = this.resultValueFactory.getNumberOfLiteralValueCacheMisses();
+
+    this.resultValueFactory.getLiteralValue(true);
+    this.resultValueFactory.getLiteralValue(42);
+
+    assertEquals(hits, this.resultValueFactory.getNumberOfLiteralValueCacheHits());
+    assertEquals(misses, this.resultValueFactory.getNumberOfLiteralValueCacheMisses());
+  }
 }
@@ -0,0 +1,164 @@
+package org.swrlapi.factory;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.AddImport;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.parameters.Imports;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgumentType;
+import org.swrlapi.core.SWRLAPIBuiltInAtom;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.core.SWRLAPIRule;
+import org.swrlapi.test.IntegrationTestBase;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.DataProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Declaration;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.NamedIndividual;
+import static org.swrlapi.factory.SWRLAPIInternalFactory.createSWRLAPIOntology;
+
+public class SWRLAPIOntologySnapshotTest extends IntegrationTestBase
+{
+  private static final OWLClass PERSON = Class(iri("Person"));
+  private static final OWLClass ADULT = Class(iri("Adult"));
+  private static final OWLDataProperty HAS_AGE = DataProperty(iri("hasAge"));
+
+  private static final byte[] CONTENT_HASH = "content".getBytes(StandardCharsets.UTF_8);
+
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private OWLOntology ontology;
+  private Path snapshotFile;
+
+  @Before public void setUp() throws Exception
+  {
+    this.ontology = OWLManager.createOWLOntologyManager().createOntology();
+    addOWLAxioms(this.ontology, Declaration(PERSON), Declaration(ADULT), Declaration(HAS_AGE));
+
+    createSWRLAPIOntology(this.ontology)
+      .createSWRLRule("r1", "Person(?p) ^ hasAge(?p, ?a) ^ swrlb:greaterThan(?a, 17) -> Adult(?p)");
+
+    this.snapshotFile = this.temporaryFolder.getRoot().toPath().resolve("ontology.snapshot");
+  }
+
+  @Test public void TestSnapshotWrittenOnFullLoad() throws Exception
+  {
+    createSWRLAPIOntology(this.ontology, SWRLAPIFactory.createIRIResolver(), this.snapshotFile, CONTENT_HASH);
+
+    assertTrue(Files.exists(this.snapshotFile));
+  }
+
+  @Test public void TestWarmStartRestoresBuiltInAtoms() throws Exception
+  {
+    SWRLAPIRule coldRule = getRule(
+      createSWRLAPIOntology(this.ontology, SWRLAPIFactory.createIRIResolver(), this.snapshotFile, CONTENT_HASH));
+    SWRLAPIRule warmRule = getRule(
+      createSWRLAPIOntology(this.ontology, SWRLAPIFactory.createIRIResolver(), this.snapshotFile, CONTENT_HASH));
+
+    assertEquals(coldRule.getBodyAtoms(), warmRule.getBodyAtoms());
+    assertEquals(coldRule.getHeadAtoms(), warmRule.getHeadAtoms());
+    assertEquals(1, warmRule.getBuiltInAtomsFromBody().size());
+    assertThat(warmRule.getBuiltInAtomsFromBody().get(0), instanceOf(SWRLAPIBuiltInAtom.class));
+    assertEquals("swrlb:greaterThan", warmRule.getBuiltInAtomsFromBody().get(0).getBuiltInPrefixedName());
+  }
+
+  @Test public void TestContentHashMismatchFallsBackToFullLoad() throws Exception
+  {
+    createSWRLAPIOntology(this.ontology, SWRLAPIFactory.createIRIResolver(), this.snapshotFile, CONTENT_HASH);
+
+    SWRLAPIRule rule = getRule(createSWRLAPIOntology(this.ontology, SWRLAPIFactory.createIRIResolver(),
+      this.snapshotFile, "other".getBytes(StandardCharsets.UTF_8)));
+
+    assertEquals(3, rule.getBodyAtoms().size());
+    assertEquals(1, rule.getBuiltInAtomsFromBody().size());
+  }
+
+  @Test public void TestCorruptSnapshotFallsBackToFullLoad() throws Exception
+  {
+    Files.write(this.snapshotFile, new byte[] { 1, 2, 3 });
+
+    SWRLAPIRule rule = getRule(
+      createSWRLAPIOntology(this.ontology, SWRLAPIFactory.createIRIResolver(), this.snapshotFile, CONTENT_HASH));
+
+    assertEquals(1, rule.getBuiltInAtomsFromBody().size());
+    assertTrue(Files.size(this.snapshotFile) > 3);
+  }
+
+  @Test public void TestImportChangeFallsBackToFullLoad() throws Exception
+  {
+    OWLOntologyManager manager = this.ontology.getOWLOntologyManager();
+    IRI importedOntologyIRI = IRI.create("http://org.swrlapi.test/imported");
+    OWLOntology importedOntology = manager.createOntology(importedOntologyIRI);
+
+    manager.applyChange(
+      new AddImport(this.ontology, manager.getOWLDataFactory().getOWLImportsDeclaration(importedOntologyIRI)));
+    addOWLAxioms(importedOntology, Declaration(Class(iri("Teenager"))));
+    createSWRLAPIOntology(this.ontology, SWRLAPIFactory.createIRIResolver(), this.snapshotFile, CONTENT_HASH);
+
+    int axiomCount = this.ontology.getAxiomCount(Imports.INCLUDED);
+    byte[] contentHash = SWRLAPIOntologySnapshot.contentHash(CONTENT_HASH, this.ontology);
+
+    assertTrue(SWRLAPIOntologySnapshot.read(this.snapshotFile, contentHash, axiomCount).isPresent());
+
+    // Change the imported ontology only, keeping its axiom count
+    manager.removeAxiom(importedOntology, Declaration(Class(iri("Teenager"))));
+    addOWLAxioms(importedOntology, Declaration(Class(iri("Child"))));
+
+    byte[] changedContentHash = SWRLAPIOntologySnapshot.contentHash(CONTENT_HASH, this.ontology);
+
+    assertEquals(axiomCount, this.ontology.getAxiomCount(Imports.INCLUDED));
+    assertFalse(Arrays.equals(contentHash, changedContentHash));
+    assertFalse(SWRLAPIOntologySnapshot.read(this.snapshotFile, changedContentHash, axiomCount).isPresent());
+  }
+
+  @Test public void TestRedeclaredEntityArgumentIsNotRestored() throws Exception
+  {
+    addOWLAxioms(this.ontology, Declaration(NamedIndividual(iri("fred"))));
+    createSWRLAPIOntology(this.ontology).createSWRLRule("r2", "Person(?p) ^ swrlb:equal(fred, fred) -> Adult(?p)");
+
+    SWRLAPIRule coldRule = getRule(
+      createSWRLAPIOntology(this.ontology, SWRLAPIFactory.createIRIResolver(), this.snapshotFile, CONTENT_HASH), "r2");
+
+    assertEquals(SWRLBuiltInArgumentType.NAMED_INDIVIDUAL,
+      coldRule.getBuiltInAtomsFromBody().get(0).getBuiltInArguments().get(0).getSWRLBuiltInArgumentType());
+
+    // Redeclare the individual as a class, keeping the axiom count, so only the axiom hash tells the ontologies apart
+    this.ontology.getOWLOntologyManager().removeAxiom(this.ontology, Declaration(NamedIndividual(iri("fred"))));
+    addOWLAxioms(this.ontology, Declaration(Class(iri("fred"))));
+
+    SWRLAPIRule warmRule = getRule(
+      createSWRLAPIOntology(this.ontology, SWRLAPIFactory.createIRIResolver(), this.snapshotFile, CONTENT_HASH), "r2");
+
+    assertEquals(SWRLBuiltInArgumentType.CLASS,
+      warmRule.getBuiltInAtomsFromBody().get(0).getBuiltInArguments().get(0).getSWRLBuiltInArgumentType());
+  }
+
+  private SWRLAPIRule getRule(SWRLAPIOWLOntology swrlapiOWLOntology) throws Exception
+  {
+    return getRule(swrlapiOWLOntology, "r1");
+  }
+
+  private SWRLAPIRule getRule(SWRLAPIOWLOntology swrlapiOWLOntology, String ruleName) throws Exception
+  {
+    assertTrue(swrlapiOWLOntology.getSWRLRule(ruleName).isPresent());
+
+    return swrlapiOWLOntology.getSWRLRule(ruleName).get();
+  }
+}
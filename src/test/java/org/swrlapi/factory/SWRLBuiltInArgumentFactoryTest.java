@@ -10,8 +10,11 @@ import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
 import org.swrlapi.builtins.arguments.SWRLClassBuiltInArgument;
 import org.swrlapi.core.IRIResolver;
+import org.swrlapi.exceptions.SWRLAPIException;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
 
 /**
  * @see SWRLBuiltInArgumentFactory
@@ -43,4 +46,22 @@ public class SWRLBuiltInArgumentFactoryTest
 
     assertEquals(classIRI, classBuiltInArgument.getIRI());
   }
+
+  @Test public void testCanonicalClassArgumentIsShared() throws Exception
+  {
+    OWLClass cls = this.dataFactory.getOWLClass(IRI.create(TEST_NAMESPACE + "AClass"));
+    SWRLClassBuiltInArgument canonicalArgument = this.builtInArgumentFactory.getCanonicalClassBuiltInArgument(cls);
+
+    assertSame(canonicalArgument, this.builtInArgumentFactory.getCanonicalClassBuiltInArgument(cls));
+    assertEquals(this.builtInArgumentFactory.getClassBuiltInArgument(cls), canonicalArgument);
+    assertNotEquals(canonicalArgument, this.builtInArgumentFactory
+      .getCanonicalClassBuiltInArgument(this.dataFactory.getOWLClass(IRI.create(TEST_NAMESPACE + "AnotherClass"))));
+  }
+
+  @Test(expected = SWRLAPIException.class) public void testCanonicalArgumentCannotBeBound() throws Exception
+  {
+    OWLClass cls = this.dataFactory.getOWLClass(IRI.create(TEST_NAMESPACE + "AClass"));
+
+    this.builtInArgumentFactory.getCanonicalClassBuiltInArgument(cls).setBoundVariableName("c");
+  }
 }
@@ -0,0 +1,109 @@
+package org.swrlapi.factory;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.SWRLAtom;
+import org.semanticweb.owlapi.model.SWRLClassAtom;
+import org.swrlapi.core.SWRLAPIBuiltInAtom;
+import org.swrlapi.core.SWRLAPIRule;
+import org.swrlapi.test.IntegrationTestBase;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ClassAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.DataProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.DataPropertyAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Declaration;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Literal;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.NamedIndividual;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectPropertyAssertion;
+import static org.swrlapi.factory.SWRLAPIInternalFactory.createSWRLAPIOntology;
+
+public class SWRLRuleBodyAtomOrdererTest extends IntegrationTestBase
+{
+  private static final OWLClass BIG = Class(iri("Big"));
+  private static final OWLClass SMALL = Class(iri("Small"));
+  private static final OWLClass RESULT = Class(iri("Result"));
+  private static final OWLObjectProperty KNOWS = ObjectProperty(iri("knows"));
+  private static final OWLDataProperty HAS_AGE = DataProperty(iri("hasAge"));
+
+  private static final int NUMBER_OF_BIG_INSTANCES = 20;
+  private static final int NUMBER_OF_SMALL_INSTANCES = 2;
+
+  private static final String RULE = "Big(?x) ^ hasAge(?x, ?a) ^ knows(?x, ?y) ^ Small(?y) ^ swrlb:greaterThan(?a, 90) "
+    + "-> Result(?x)";
+
+  private OWLOntology ontology;
+
+  @Before public void setUp() throws Exception
+  {
+    this.ontology = OWLManager.createOWLOntologyManager().createOntology();
+    addOWLAxioms(this.ontology, Declaration(BIG), Declaration(SMALL), Declaration(RESULT), Declaration(KNOWS),
+      Declaration(HAS_AGE));
+
+    for (int i = 0; i < NUMBER_OF_SMALL_INSTANCES; i++)
+      addOWLAxioms(this.ontology, ClassAssertion(SMALL, NamedIndividual(iri("s" + i))));
+
+    for (int i = 0; i < NUMBER_OF_BIG_INSTANCES; i++) {
+      OWLNamedIndividual b = NamedIndividual(iri("b" + i));
+      addOWLAxioms(this.ontology, ClassAssertion(BIG, b), DataPropertyAssertion(HAS_AGE, b, Literal(i)),
+        ObjectPropertyAssertion(KNOWS, b, NamedIndividual(iri("s" + i % NUMBER_OF_SMALL_INSTANCES))));
+    }
+  }
+
+  @Test public void TestSmallClassIsEvaluatedFirst() throws Exception
+  {
+    SWRLAPIRule rule = createSWRLAPIOntology(this.ontology).createSWRLRule("r1", RULE);
+    List<SWRLAtom> orderedAtoms = rule.getBodyAtomsInEvaluationOrder();
+
+    assertTrue(orderedAtoms.get(0) instanceof SWRLClassAtom);
+    assertEquals(SMALL, ((SWRLClassAtom)orderedAtoms.get(0)).getPredicate());
+  }
+
+  @Test public void TestFilterFollowsItsLastInput() throws Exception
+  {
+    SWRLAPIRule rule = createSWRLAPIOntology(this.ontology).createSWRLRule("r1", RULE);
+    List<SWRLAtom> orderedAtoms = rule.getBodyAtomsInEvaluationOrder();
+    int filterIndex = indexOfBuiltIn(orderedAtoms, "swrlb:greaterThan");
+
+    assertEquals(HAS_AGE, orderedAtoms.get(filterIndex - 1).getPredicate());
+  }
+
+  @Test public void TestSourceOrderIsPreserved() throws Exception
+  {
+    SWRLAPIRule rule = createSWRLAPIOntology(this.ontology).createSWRLRule("r1", RULE);
+
+    assertEquals(rule.getBodyAtoms().size(), rule.getBodyAtomsInEvaluationOrder().size());
+    assertTrue(rule.getBodyAtomsInEvaluationOrder().containsAll(rule.getBodyAtoms()));
+    assertEquals(BIG, rule.getBodyAtoms().get(0).getPredicate());
+  }
+
+  @Test public void TestBindingBuiltInKeepsItsPosition() throws Exception
+  {
+    SWRLAPIRule rule = createSWRLAPIOntology(this.ontology)
+      .createSWRLRule("r2", "Big(?x) ^ hasAge(?x, ?a) ^ swrlb:add(?b, ?a, 1) ^ swrlb:greaterThan(?b, 9) -> Result(?x)");
+    List<SWRLAtom> orderedAtoms = rule.getBodyAtomsInEvaluationOrder();
+
+    assertEquals(2, indexOfBuiltIn(orderedAtoms, "swrlb:add"));
+    assertEquals(3, indexOfBuiltIn(orderedAtoms, "swrlb:greaterThan"));
+  }
+
+  private static int indexOfBuiltIn(List<SWRLAtom> atoms, String prefixedName)
+  {
+    for (int i = 0; i < atoms.size(); i++)
+      if (atoms.get(i) instanceof SWRLAPIBuiltInAtom && ((SWRLAPIBuiltInAtom)atoms.get(i)).getBuiltInPrefixedName()
+        .equals(prefixedName))
+        return i;
+    return -1;
+  }
+}
@@ -0,0 +1,167 @@
+package org.swrlapi.factory;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.core.SWRLAPIRule;
+import org.swrlapi.core.SWRLRuleEngine;
+import org.swrlapi.engine.SemiNaiveSWRLRuleEngineCreator;
+import org.swrlapi.test.IntegrationTestBase;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ClassAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Declaration;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.NamedIndividual;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectPropertyAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.SubClassOf;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.TransitiveObjectProperty;
+import static org.swrlapi.factory.SWRLAPIInternalFactory.createSWRLAPIOntology;
+
+public class SWRLRuleDependencyGraphTest extends IntegrationTestBase
+{
+  private static final OWLClass A = Class(iri("A"));
+  private static final OWLClass B = Class(iri("B"));
+  private static final OWLClass C = Class(iri("C"));
+  private static final OWLClass D = Class(iri("D"));
+  private static final OWLClass E = Class(iri("E"));
+  private static final OWLClass F = Class(iri("F"));
+  private static final OWLClass G = Class(iri("G"));
+  private static final OWLObjectProperty P = ObjectProperty(iri("p"));
+  private static final OWLObjectProperty Q = ObjectProperty(iri("q"));
+
+  private OWLOntology ontology;
+  private SWRLAPIRule r1, r2, r3, r4;
+
+  @Before public void setUp() throws Exception
+  {
+    this.ontology = OWLManager.createOWLOntologyManager().createOntology();
+    addOWLAxioms(this.ontology, Declaration(A), Declaration(B), Declaration(C), Declaration(D), Declaration(E),
+      Declaration(F), Declaration(G), Declaration(P), Declaration(Q));
+
+    SWRLAPIOWLOntology swrlapiOWLOntology = createSWRLAPIOntology(this.ontology);
+    this.r1 = swrlapiOWLOntology.createSWRLRule("r1", "A(?x) -> B(?x)");
+    this.r2 = swrlapiOWLOntology.createSWRLRule("r2", "B(?x) -> C(?x)");
+    this.r3 = swrlapiOWLOntology.createSWRLRule("r3", "C(?x) ^ p(?x, ?y) -> B(?y)");
+    this.r4 = swrlapiOWLOntology.createSWRLRule("r4", "D(?x) -> E(?x)");
+  }
+
+  @Test public void TestRecursivePredicatesShareAStratum()
+  {
+    SWRLRuleDependencyGraph graph = createGraph(Collections.emptyList());
+
+    assertEquals(0, graph.getStratum(A.getIRI()));
+    assertEquals(1, graph.getStratum(B.getIRI()));
+    assertEquals(1, graph.getStratum(C.getIRI()));
+    assertEquals(1, graph.getStratum(this.r1));
+    assertEquals(1, graph.getStratum(this.r4));
+  }
+
+  @Test public void TestOnlyAffectedRulesAreSelected()
+  {
+    SWRLRuleDependencyGraph graph = createGraph(Collections.emptyList());
+
+    assertEquals(Collections.singletonList(this.r4), graph.getAffectedRules(Collections.singleton(D.getIRI())).get());
+    assertEquals(3, graph.getAffectedRules(Collections.singleton(A.getIRI())).get().size());
+    assertEquals(2, graph.getAffectedRules(Collections.singleton(P.getIRI())).get().size());
+    assertTrue(graph.getAffectedRules(Collections.singleton(E.getIRI())).get().isEmpty());
+  }
+
+  @Test public void TestSchemaAxiomLinksPredicates()
+  {
+    SWRLRuleDependencyGraph graph = createGraph(Collections.singletonList(SubClassOf(F, D)));
+    Optional<List<SWRLAPIRule>> affectedRules = graph.getAffectedRules(Collections.singleton(F.getIRI()));
+
+    assertEquals(Collections.singletonList(this.r4), affectedRules.get());
+    assertTrue(graph.getInputPredicates(Collections.singleton(F.getIRI()), affectedRules.get()).contains(F.getIRI()));
+  }
+
+  @Test public void TestChangedPredicatesAreInputsWithoutAffectedRules()
+  {
+    SWRLRuleDependencyGraph graph = createGraph(Collections.singletonList(SubClassOf(F, G)));
+    Optional<List<SWRLAPIRule>> affectedRules = graph.getAffectedRules(Collections.singleton(F.getIRI()));
+
+    assertTrue(affectedRules.get().isEmpty());
+    assertEquals(new HashSet<>(Arrays.asList(F.getIRI(), G.getIRI())),
+      graph.getInputPredicates(Collections.singleton(F.getIRI()), affectedRules.get()));
+  }
+
+  @Test public void TestSameAsHeadRequiresFullRun() throws Exception
+  {
+    SWRLAPIRule r5 = createSWRLAPIOntology(this.ontology).createSWRLRule("r5", "E(?x) ^ E(?y) -> sameAs(?x, ?y)");
+    SWRLRuleDependencyGraph graph = new SWRLRuleDependencyGraph(Arrays.asList(this.r1, this.r4, r5),
+      Collections.emptyList());
+
+    assertFalse(graph.getAffectedRules(Collections.singleton(D.getIRI())).isPresent());
+    assertTrue(graph.getAffectedRules(Collections.singleton(A.getIRI())).isPresent());
+  }
+
+  @Test public void TestSelectiveInferIsComplete() throws Exception
+  {
+    OWLNamedIndividual a1 = NamedIndividual(iri("a1")), a2 = NamedIndividual(iri("a2"));
+    OWLNamedIndividual d1 = NamedIndividual(iri("d1"));
+    addOWLAxioms(this.ontology, ClassAssertion(A, a1), ClassAssertion(D, d1));
+
+    SWRLRuleEngine ruleEngine = createRuleEngine();
+    ruleEngine.infer();
+    addOWLAxioms(this.ontology, ClassAssertion(A, a2));
+    ruleEngine.infer();
+
+    assertTrue(this.ontology.containsAxiom(ClassAssertion(C, a1)));
+    assertTrue(this.ontology.containsAxiom(ClassAssertion(C, a2)));
+    assertTrue(this.ontology.containsAxiom(ClassAssertion(E, d1)));
+    assertTrue(ruleEngine.getInferredOWLAxioms().contains(ClassAssertion(B, a2)));
+  }
+
+  @Test public void TestSelectiveInferKeepsOWL2RLConsequencesOfNewFacts() throws Exception
+  {
+    OWLNamedIndividual f1 = NamedIndividual(iri("f1"));
+    addOWLAxioms(this.ontology, SubClassOf(F, G));
+
+    SWRLRuleEngine ruleEngine = createRuleEngine();
+    ruleEngine.infer();
+    addOWLAxioms(this.ontology, ClassAssertion(F, f1)); // No rule reads F or G
+    ruleEngine.infer();
+
+    assertTrue(ruleEngine.getInferredOWLAxioms().contains(ClassAssertion(G, f1)));
+  }
+
+  @Test public void TestSelectiveInferCombinesNewAndExistingFacts() throws Exception
+  {
+    OWLNamedIndividual q1 = NamedIndividual(iri("q1")), q2 = NamedIndividual(iri("q2"));
+    OWLNamedIndividual q3 = NamedIndividual(iri("q3"));
+    addOWLAxioms(this.ontology, TransitiveObjectProperty(Q), ObjectPropertyAssertion(Q, q1, q2));
+
+    SWRLRuleEngine ruleEngine = createRuleEngine();
+    ruleEngine.infer();
+    addOWLAxioms(this.ontology, ObjectPropertyAssertion(Q, q2, q3));
+    ruleEngine.infer();
+
+    assertTrue(ruleEngine.getInferredOWLAxioms().contains(ObjectPropertyAssertion(Q, q1, q3)));
+  }
+
+  private SWRLRuleDependencyGraph createGraph(List<OWLAxiom> axioms)
+  {
+    return new SWRLRuleDependencyGraph(Arrays.asList(this.r1, this.r2, this.r3, this.r4), axioms);
+  }
+
+  private SWRLRuleEngine createRuleEngine()
+  {
+    return SWRLAPIFactory.createSWRLRuleEngine(SemiNaiveSWRLRuleEngineCreator.RULE_ENGINE_NAME, this.ontology);
+  }
+}
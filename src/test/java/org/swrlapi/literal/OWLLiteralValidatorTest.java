@@ -1,10 +1,14 @@
 package org.swrlapi.literal;
 
 import org.junit.Test;
+import org.semanticweb.owlapi.model.OWLLiteral;
 import org.swrlapi.factory.OWLDatatypeFactory;
 import org.swrlapi.factory.SWRLAPIInternalFactory;
 
+import java.math.BigDecimal;
+
 import static junit.framework.TestCase.assertTrue;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 
 /**
@@ -144,4 +148,62 @@ public class OWLLiteralValidatorTest
     assertFalse(OWLLiteralValidator.isValid("43Y", this.datatypeFactory.getDurationDatatype()));
   }
 
-}
\ No newline at end of file
+  @Test public void testIsInvalidOutOfRangeByte() throws Exception
+  {
+    assertTrue(OWLLiteralValidator.isValid("-128", this.datatypeFactory.getByteDatatype()));
+    assertFalse(OWLLiteralValidator.isValid("128", this.datatypeFactory.getByteDatatype()));
+  }
+
+  @Test public void testIsInvalidOutOfRangeLong() throws Exception
+  {
+    assertTrue(OWLLiteralValidator.isValid("-9223372036854775808", this.datatypeFactory.getLongDatatype()));
+    assertFalse(OWLLiteralValidator.isValid("9223372036854775808", this.datatypeFactory.getLongDatatype()));
+  }
+
+  @Test public void testIsValidUnboundedInteger() throws Exception
+  {
+    assertTrue(OWLLiteralValidator.isValid("-99999999999999999999999", this.datatypeFactory.getIntegerDatatype()));
+  }
+
+  @Test public void testIsValidSpecialDouble() throws Exception
+  {
+    assertTrue(OWLLiteralValidator.isValid("-INF", this.datatypeFactory.getDoubleDatatype()));
+    assertTrue(OWLLiteralValidator.isValid("NaN", this.datatypeFactory.getDoubleDatatype()));
+    assertTrue(OWLLiteralValidator.isValid("1.5E-3", this.datatypeFactory.getDoubleDatatype()));
+    assertFalse(OWLLiteralValidator.isValid("1e", this.datatypeFactory.getDoubleDatatype()));
+  }
+
+  @Test public void testIsInvalidLeapDay() throws Exception
+  {
+    assertTrue(OWLLiteralValidator.isValid("2000-02-29", this.datatypeFactory.getDateDatatype()));
+    assertFalse(OWLLiteralValidator.isValid("1999-02-29", this.datatypeFactory.getDateDatatype()));
+  }
+
+  @Test public void testIsValidDateTimeWithTimezone() throws Exception
+  {
+    assertTrue(OWLLiteralValidator.isValid("1999-04-03T12:12:12-05:00", this.datatypeFactory.getDateTimeDatatype()));
+    assertFalse(OWLLiteralValidator.isValid("1999-04-03T12:12:12+15:00", this.datatypeFactory.getDateTimeDatatype()));
+  }
+
+  @Test public void testIsInvalidDurationOrder() throws Exception
+  {
+    assertTrue(OWLLiteralValidator.isValid("-P1Y2M3DT4H5M6.7S", this.datatypeFactory.getDurationDatatype()));
+    assertFalse(OWLLiteralValidator.isValid("P1M1Y", this.datatypeFactory.getDurationDatatype()));
+    assertFalse(OWLLiteralValidator.isValid("P1YT", this.datatypeFactory.getDurationDatatype()));
+  }
+
+  @Test public void testIsInvalidURI() throws Exception
+  {
+    assertTrue(OWLLiteralValidator.isValid("http://example.org/a#b", this.datatypeFactory.getURIDatatype()));
+    assertFalse(OWLLiteralValidator.isValid("a b", this.datatypeFactory.getURIDatatype()));
+    assertFalse(OWLLiteralValidator.isValid("http://example.org/%zz", this.datatypeFactory.getURIDatatype()));
+  }
+
+  @Test public void testIsValidFactoryDecimal() throws Exception
+  {
+    OWLLiteral literal = SWRLAPIInternalFactory.createOWLLiteralFactory().getOWLLiteral(new BigDecimal("1E+3"));
+
+    assertEquals("1000", literal.getLiteral());
+    assertTrue(OWLLiteralValidator.isValid(literal.getLiteral(), this.datatypeFactory.getDecimalDatatype()));
+  }
+}
@@ -0,0 +1,155 @@
+package org.swrlapi.owl2rl;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ClassAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.DisjointClasses;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.FunctionalObjectProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.NamedIndividual;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectPropertyAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectSomeValuesFrom;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.SameIndividual;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.SubClassOf;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.TransitiveObjectProperty;
+
+/**
+ * @see OWL2RLMaterializer
+ */
+public class OWL2RLMaterializerTest
+{
+  private static final OWLClass PERSON = Class(iri("Person"));
+  private static final OWLClass STUDENT = Class(iri("Student"));
+  private static final OWLClass GRADUATE_STUDENT = Class(iri("GraduateStudent"));
+  private static final OWLClass COURSE = Class(iri("Course"));
+  private static final OWLClass TEACHER = Class(iri("Teacher"));
+  private static final OWLObjectProperty SUB_ORGANIZATION_OF = ObjectProperty(iri("subOrganizationOf"));
+  private static final OWLObjectProperty HAS_ADVISOR = ObjectProperty(iri("hasAdvisor"));
+  private static final OWLObjectProperty TEACHES = ObjectProperty(iri("teaches"));
+  private static final OWLObjectProperty WORKS_FOR = ObjectProperty(iri("worksFor"));
+  private static final OWLNamedIndividual I1 = NamedIndividual(iri("i1"));
+  private static final OWLNamedIndividual I2 = NamedIndividual(iri("i2"));
+  private static final OWLNamedIndividual I3 = NamedIndividual(iri("i3"));
+  private static final OWLNamedIndividual I4 = NamedIndividual(iri("i4"));
+
+  private OWL2RLMaterializer materializer;
+  private Set<OWLAxiom> inferredAxioms;
+
+  @Before public void setUp()
+  {
+    this.materializer = new OWL2RLMaterializer(OWLManager.getOWLDataFactory(),
+      OWL2RLMaterializer.getSupportedRules());
+    this.inferredAxioms = new HashSet<>();
+  }
+
+  @Test public void TestSubClassClosure()
+  {
+    materialize(SubClassOf(GRADUATE_STUDENT, STUDENT), SubClassOf(STUDENT, PERSON),
+      ClassAssertion(GRADUATE_STUDENT, I1));
+
+    assertTrue(this.inferredAxioms.contains(ClassAssertion(STUDENT, I1)));
+    assertTrue(this.inferredAxioms.contains(ClassAssertion(PERSON, I1)));
+    assertTrue(this.inferredAxioms.contains(SubClassOf(GRADUATE_STUDENT, PERSON)));
+    assertFalse(this.inferredAxioms.contains(ClassAssertion(GRADUATE_STUDENT, I1)));
+  }
+
+  @Test public void TestTransitiveProperty()
+  {
+    final int chainLength = 20;
+
+    this.materializer.addAxiom(TransitiveObjectProperty(SUB_ORGANIZATION_OF));
+    for (int i = 0; i < chainLength - 1; i++)
+      this.materializer.addAxiom(
+        ObjectPropertyAssertion(SUB_ORGANIZATION_OF, NamedIndividual(iri("o" + i)),
+          NamedIndividual(iri("o" + (i + 1)))));
+    this.materializer.materialize(this.inferredAxioms::add);
+
+    // Every pair in the chain except the asserted ones
+    assertEquals(chainLength * (chainLength - 1) / 2 - (chainLength - 1), this.inferredAxioms.size());
+    assertTrue(this.inferredAxioms.contains(ObjectPropertyAssertion(SUB_ORGANIZATION_OF, NamedIndividual(iri("o0")),
+      NamedIndividual(iri("o" + (chainLength - 1))))));
+  }
+
+  @Test public void TestFunctionalPropertyEquality()
+  {
+    materialize(FunctionalObjectProperty(HAS_ADVISOR), ObjectPropertyAssertion(HAS_ADVISOR, I1, I2),
+      ObjectPropertyAssertion(HAS_ADVISOR, I1, I3), ObjectPropertyAssertion(WORKS_FOR, I3, I4));
+
+    assertTrue(this.inferredAxioms.contains(SameIndividual(I2, I3)));
+    assertTrue(this.inferredAxioms.contains(ObjectPropertyAssertion(WORKS_FOR, I2, I4)));
+  }
+
+  @Test public void TestIncrementalEquality()
+  {
+    materialize(SubClassOf(STUDENT, PERSON), ClassAssertion(STUDENT, I1));
+    this.inferredAxioms.clear();
+    materialize(SameIndividual(I1, I2));
+
+    assertTrue(this.inferredAxioms.contains(ClassAssertion(STUDENT, I2)));
+    assertTrue(this.inferredAxioms.contains(ClassAssertion(PERSON, I2)));
+    assertFalse(this.inferredAxioms.contains(ClassAssertion(PERSON, I1))); // Reported by the first run
+  }
+
+  @Test public void TestSomeValuesFrom()
+  {
+    materialize(SubClassOf(ObjectSomeValuesFrom(TEACHES, COURSE), TEACHER), ObjectPropertyAssertion(TEACHES, I1, I2));
+
+    assertFalse(this.inferredAxioms.contains(ClassAssertion(TEACHER, I1)));
+
+    materialize(ClassAssertion(COURSE, I2));
+
+    assertTrue(this.inferredAxioms.contains(ClassAssertion(TEACHER, I1)));
+  }
+
+  @Test public void TestDisjointClassesInconsistency()
+  {
+    materialize(DisjointClasses(STUDENT, TEACHER), SubClassOf(GRADUATE_STUDENT, STUDENT),
+      ClassAssertion(GRADUATE_STUDENT, I1), ClassAssertion(TEACHER, I1));
+
+    assertEquals(1, this.materializer.getInconsistencies().size());
+
+    OWL2RLInconsistency inconsistency = this.materializer.getInconsistencies().iterator().next();
+
+    assertEquals(OWL2RLNames.OWL2RLRule.CAX_DW, inconsistency.getRule());
+    assertEquals(new HashSet<>(Arrays.asList(STUDENT, TEACHER)), new HashSet<>(inconsistency.getClasses()));
+    assertEquals(Collections.singletonList(I1), inconsistency.getIndividuals());
+  }
+
+  @Test public void TestDisabledRule()
+  {
+    Set<OWL2RLNames.OWL2RLRule> enabledRules = new HashSet<>(OWL2RLMaterializer.getSupportedRules());
+    enabledRules.remove(OWL2RLNames.OWL2RLRule.CAX_SCO);
+    this.materializer = new OWL2RLMaterializer(OWLManager.getOWLDataFactory(), enabledRules);
+
+    materialize(SubClassOf(STUDENT, PERSON), ClassAssertion(STUDENT, I1));
+
+    assertFalse(this.inferredAxioms.contains(ClassAssertion(PERSON, I1)));
+  }
+
+  private void materialize(OWLAxiom... axioms)
+  {
+    this.materializer.addAxioms(Arrays.asList(axioms));
+    this.materializer.materialize(this.inferredAxioms::add);
+  }
+
+  private static IRI iri(String name)
+  {
+    return IRI.create("http://example.org/owl2rl#" + name);
+  }
+}
@@ -21,6 +21,8 @@ import org.swrlapi.test.IntegrationTestBase;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
 import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.DataProperty;
 import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Declaration;
@@ -786,4 +788,34 @@ public class SWRLParserTest extends IntegrationTestBase
 
     swrlapiOWLOntology.createSWRLRule("r1", "Person(?p) ^ hasID(?p, \"p7ID\") -> hasFirstName(?p, \"Angela\")");
   }
+
+  @Test public void TestRuleReparsedAfterSignatureChange()
+    throws SWRLParseException, OWLOntologyCreationException, SWRLBuiltInException
+  {
+    OWLOntology ontology = OWLManager.createOWLOntologyManager().createOntology();
+    SWRLAPIOWLOntology swrlapiOWLOntology = createSWRLAPIOntology(ontology);
+    SWRLParser parser = swrlapiOWLOntology.createSWRLParser();
+
+    assertFalse(parser.isSWRLRuleCorrectAndComplete("Person(?p) -> Male(?p)"));
+
+    addOWLAxioms(ontology, Declaration(PERSON), Declaration(MALE));
+
+    assertTrue(parser.isSWRLRuleCorrectAndComplete("Person(?p) -> Male(?p)"));
+  }
+
+  @Test public void TestRulesDifferingInWhitespaceParseIdentically()
+    throws SWRLParseException, OWLOntologyCreationException, SWRLBuiltInException
+  {
+    OWLOntology ontology = OWLManager.createOWLOntologyManager().createOntology();
+    SWRLAPIOWLOntology swrlapiOWLOntology = createSWRLAPIOntology(ontology);
+
+    addOWLAxioms(ontology, Declaration(PERSON), Declaration(HAS_NAME));
+
+    SWRLAPIRule rule1 = swrlapiOWLOntology.createSWRLRule("r1", "Person(?p) ^ hasName(?p, \"A  B\") -> Person(?p)");
+    SWRLAPIRule rule2 = swrlapiOWLOntology
+      .createSWRLRule("r2", "  Person( ?p )^hasName(?p,\n \"A  B\")   ->\tPerson(?p) ");
+
+    assertEquals(rule1.getBodyAtoms(), rule2.getBodyAtoms());
+    assertEquals(rule1.getHeadAtoms(), rule2.getHeadAtoms());
+  }
 }
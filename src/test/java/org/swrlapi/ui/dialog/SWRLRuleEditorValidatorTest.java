@@ -0,0 +1,226 @@
+package org.swrlapi.ui.dialog;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.factory.SWRLAPIInternalFactory;
+import org.swrlapi.parser.SWRLIncompleteRuleException;
+import org.swrlapi.parser.SWRLParseException;
+import org.swrlapi.parser.SWRLParser;
+import org.swrlapi.test.IntegrationTestBase;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Declaration;
+
+/**
+ * Simulates typing a 50-atom rule into the rule editor against an ontology with 10^5 classes, with results delivered
+ * directly on the worker thread in place of the Event Dispatch Thread.
+ */
+public class SWRLRuleEditorValidatorTest extends IntegrationTestBase
+{
+  private static final int NUMBER_OF_CLASSES = 100000;
+  private static final int NUMBER_OF_ATOMS = 50;
+  private static final long DEBOUNCE_DELAY_MILLISECONDS = 50;
+
+  private SWRLParser parser;
+  private SWRLRuleEditorValidator validator;
+  private String ruleText;
+
+  @Before public void setUp() throws Exception
+  {
+    OWLOntology ontology = OWLManager.createOWLOntologyManager().createOntology();
+    SWRLAPIOWLOntology swrlapiOWLOntology = SWRLAPIInternalFactory.createSWRLAPIOntology(ontology);
+    OWLAxiom[] declarations = new OWLAxiom[NUMBER_OF_CLASSES];
+    StringBuilder sb = new StringBuilder();
+
+    for (int i = 0; i < NUMBER_OF_CLASSES; i++)
+      declarations[i] = Declaration(Class(iri("C" + i)));
+    addOWLAxioms(ontology, declarations);
+
+    for (int atom = 0; atom < NUMBER_OF_ATOMS; atom++) {
+      if (atom == NUMBER_OF_ATOMS - 1)
+        sb.append(" -> ");
+      else if (atom != 0)
+        sb.append(" ^ ");
+      sb.append("C").append(atom * (NUMBER_OF_CLASSES / NUMBER_OF_ATOMS)).append("(?x)");
+    }
+
+    this.parser = swrlapiOWLOntology.createSWRLParser();
+    this.validator = new SWRLRuleEditorValidator(DEBOUNCE_DELAY_MILLISECONDS, Runnable::run);
+    this.ruleText = sb.toString();
+  }
+
+  @After public void tearDown()
+  {
+    this.validator.shutdown();
+  }
+
+  @Test public void TestRapidTypingIsDebounced() throws Exception
+  {
+    ManualScheduler scheduler = new ManualScheduler();
+    SWRLRuleEditorValidator debouncingValidator = new SWRLRuleEditorValidator(DEBOUNCE_DELAY_MILLISECONDS,
+      Runnable::run, scheduler);
+    List<SWRLRuleEditorValidator.Result> results = new ArrayList<>();
+
+    for (int length = 1; length <= this.ruleText.length(); length++)
+      debouncingValidator.validate(this.parser, this.ruleText.substring(0, length), results::add);
+
+    assertEquals(1, scheduler.getNumberOfPendingTasks()); // Each keystroke cancelled the request before it
+
+    scheduler.runTasksDueBy(DEBOUNCE_DELAY_MILLISECONDS - 1);
+    assertTrue(results.isEmpty());
+
+    scheduler.runTasksDueBy(DEBOUNCE_DELAY_MILLISECONDS);
+    assertEquals(1, results.size());
+    assertEquals(SWRLRuleEditorValidator.Status.OK, results.get(0).getStatus());
+    assertEquals("", results.get(0).getMessage());
+  }
+
+  @Test public void TestIncrementalValidationAgreesWithFullParse() throws Exception
+  {
+    for (int length = 1; length <= this.ruleText.length(); length++) {
+      String prefix = this.ruleText.substring(0, length);
+
+      assertEquals(prefix, fullParseStatus(prefix), this.validator.check(this.parser, prefix).getStatus());
+    }
+  }
+
+  @Test public void TestEditInMiddleOfRule() throws Exception
+  {
+    String invalidRuleText = this.ruleText.replace("C20000(?x)", "C20000(?x"); // Unbalanced parenthesis
+
+    assertEquals(SWRLRuleEditorValidator.Status.OK, this.validator.check(this.parser, this.ruleText).getStatus());
+    assertEquals(SWRLRuleEditorValidator.Status.ERROR,
+      this.validator.check(this.parser, invalidRuleText).getStatus());
+    assertEquals(SWRLRuleEditorValidator.Status.OK, this.validator.check(this.parser, this.ruleText).getStatus());
+  }
+
+  private SWRLRuleEditorValidator.Status fullParseStatus(String ruleText)
+  {
+    try {
+      this.parser.parseSWRLRule(ruleText, true, "r1", "");
+      return SWRLRuleEditorValidator.Status.OK;
+    } catch (SWRLIncompleteRuleException e) {
+      return SWRLRuleEditorValidator.Status.INCOMPLETE;
+    } catch (SWRLParseException e) {
+      return SWRLRuleEditorValidator.Status.ERROR;
+    }
+  }
+
+  /**
+   * A scheduler on which time only passes when a test says so. Tasks are run on the calling thread.
+   */
+  private static class ManualScheduler extends AbstractExecutorService implements ScheduledExecutorService
+  {
+    private final List<ManualFuture> tasks = new ArrayList<>();
+    private boolean shutdown;
+
+    int getNumberOfPendingTasks()
+    {
+      return (int)this.tasks.stream().filter(task -> !task.isDone()).count();
+    }
+
+    /**
+     * Run the pending tasks whose delay is at most the given time since they were scheduled.
+     */
+    void runTasksDueBy(long milliseconds)
+    {
+      for (ManualFuture task : new ArrayList<>(this.tasks))
+        if (!task.isDone() && task.getDelay(TimeUnit.MILLISECONDS) <= milliseconds)
+          task.run();
+    }
+
+    @Override public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit)
+    {
+      ManualFuture task = new ManualFuture(command, unit.toMillis(delay));
+      this.tasks.add(task);
+      return task;
+    }
+
+    @Override public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit)
+    {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period,
+      TimeUnit unit)
+    {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay,
+      TimeUnit unit)
+    {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override public void execute(Runnable command)
+    {
+      schedule(command, 0, TimeUnit.MILLISECONDS);
+    }
+
+    @Override public void shutdown()
+    {
+      this.shutdown = true;
+    }
+
+    @Override public List<Runnable> shutdownNow()
+    {
+      this.shutdown = true;
+      return Collections.emptyList();
+    }
+
+    @Override public boolean isShutdown()
+    {
+      return this.shutdown;
+    }
+
+    @Override public boolean isTerminated()
+    {
+      return this.shutdown;
+    }
+
+    @Override public boolean awaitTermination(long timeout, TimeUnit unit)
+    {
+      return this.shutdown;
+    }
+  }
+
+  private static class ManualFuture extends FutureTask<Void> implements ScheduledFuture<Void>
+  {
+    private final long delayMilliseconds;
+
+    ManualFuture(Runnable command, long delayMilliseconds)
+    {
+      super(command, null);
+      this.delayMilliseconds = delayMilliseconds;
+    }
+
+    @Override public long getDelay(TimeUnit unit)
+    {
+      return unit.convert(this.delayMilliseconds, TimeUnit.MILLISECONDS);
+    }
+
+    @Override public int compareTo(Delayed other)
+    {
+      return Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+    }
+  }
+}
@@ -0,0 +1,115 @@
+package org.swrlapi.ui.model;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.swrlapi.core.SWRLAPIRule;
+import org.swrlapi.core.SWRLRuleEngine;
+import org.swrlapi.engine.SemiNaiveSWRLRuleEngineCreator;
+import org.swrlapi.factory.SWRLAPIFactory;
+import org.swrlapi.test.IntegrationTestBase;
+import org.swrlapi.ui.view.SWRLAPIView;
+
+import javax.swing.event.TableModelEvent;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Declaration;
+
+public class SWRLRulesAndSQWRLQueriesTableModelTest extends IntegrationTestBase
+{
+  private static final OWLClass A = Class(iri("A"));
+  private static final OWLClass B = Class(iri("B"));
+
+  private SWRLRuleEngine ruleEngine;
+  private SWRLRulesAndSQWRLQueriesTableModel tableModel;
+  private List<TableModelEvent> events;
+
+  @Before public void setUp() throws Exception
+  {
+    OWLOntology ontology = OWLManager.createOWLOntologyManager().createOntology();
+    addOWLAxioms(ontology, Declaration(A), Declaration(B));
+
+    this.ruleEngine = SWRLAPIFactory.createSWRLRuleEngine(SemiNaiveSWRLRuleEngineCreator.RULE_ENGINE_NAME, ontology);
+    this.ruleEngine.createSWRLRule("r2", "A(?x) -> B(?x)");
+    this.ruleEngine.createSWRLRule("r1", "B(?x) -> A(?x)");
+
+    this.tableModel = new SWRLRulesAndSQWRLQueriesTableModel(this.ruleEngine);
+    this.tableModel.setView(new SWRLAPIView()
+    {
+      @Override public void initialize() { }
+
+      @Override public void update() { }
+    });
+    this.events = new ArrayList<>();
+    this.tableModel.addTableModelListener(this.events::add);
+  }
+
+  @Test public void TestRowsSortedByRuleName() throws Exception
+  {
+    assertEquals(2, this.tableModel.getRowCount());
+    assertEquals("r1", this.tableModel.getSWRLRuleNameByIndex(0));
+    assertEquals("r2", this.tableModel.getSWRLRuleNameByIndex(1));
+  }
+
+  @Test public void TestAddFiresRowInserted() throws Exception
+  {
+    SWRLAPIRule rule = this.ruleEngine.createSWRLRule("r0", "A(?x) -> A(?x)");
+
+    this.tableModel.addSWRLRule(rule);
+    this.tableModel.updateView();
+
+    assertEquals(3, this.tableModel.getRowCount());
+    assertEquals("r0", this.tableModel.getSWRLRuleNameByIndex(0));
+    assertEquals(1, this.events.size());
+    assertEvent(TableModelEvent.INSERT, 0, this.events.get(0));
+  }
+
+  @Test public void TestDeleteFiresRowDeleted() throws Exception
+  {
+    this.ruleEngine.deleteSWRLRule("r2");
+    this.tableModel.updateView();
+
+    assertFalse(this.tableModel.hasSWRLRule("r2"));
+    assertEquals(1, this.events.size());
+    assertEvent(TableModelEvent.DELETE, 1, this.events.get(0));
+  }
+
+  @Test public void TestReplaceFiresRowUpdated() throws Exception
+  {
+    this.ruleEngine.replaceSWRLRule("r1", "r1", "B(?y) -> A(?y)", "", true);
+    this.tableModel.updateView();
+
+    assertEquals(1, this.events.size());
+    assertEvent(TableModelEvent.UPDATE, 0, this.events.get(0));
+    assertEquals("r1", this.tableModel.getSWRLRuleNameByIndex(0));
+  }
+
+  @Test public void TestUnchangedRulesFireNoEvents() throws Exception
+  {
+    this.tableModel.updateView();
+
+    assertEquals(0, this.events.size());
+  }
+
+  @Test public void TestActivationFiresCellUpdated() throws Exception
+  {
+    this.tableModel.setValueAt(false, 1, this.tableModel.getRuleActiveColumnNumber());
+
+    assertEquals(1, this.events.size());
+    assertEvent(TableModelEvent.UPDATE, 1, this.events.get(0));
+    assertEquals(false, this.tableModel.getValueAt(1, this.tableModel.getRuleActiveColumnNumber()));
+  }
+
+  private static void assertEvent(int type, int row, TableModelEvent event)
+  {
+    assertEquals(type, event.getType());
+    assertEquals(row, event.getFirstRow());
+    assertEquals(row, event.getLastRow());
+  }
+}